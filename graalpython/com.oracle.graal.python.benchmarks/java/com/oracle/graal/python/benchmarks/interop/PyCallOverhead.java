@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.benchmarks.interop;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the overhead of calls that transfer the exception state and the current frame reference
+ * through the thread state, once with a single thread and once with several Python threads running
+ * the same workload in the same context.
+ */
+public class PyCallOverhead extends BenchRunner {
+
+    @Param({"1", "4"}) public int arg1;
+    @Param({"1000000"}) public int arg2;
+
+    private Value run;
+
+    public PyCallOverhead() {
+        this.context = Context.newBuilder().allowIO(true).allowCreateThread(true).build();
+    }
+
+    @Setup
+    public void setup() {
+        System.out.println("### setup ...");
+        this.run = this.context.eval("python", //
+                        "import sys, threading\n" + //
+                                        "def callee(a, b):\n" + //
+                                        "    return a + b\n" + //
+                                        "def raising(i):\n" + //
+                                        "    try:\n" + //
+                                        "        raise ValueError(i)\n" + //
+                                        "    except ValueError as e:\n" + //
+                                        "        return e.args[0]\n" + //
+                                        "def work(n):\n" + //
+                                        "    s = 0\n" + //
+                                        "    for i in range(n):\n" + //
+                                        "        s = callee(s, i) & 0xffff\n" + //
+                                        "        s += raising(i) & 1\n" + //
+                                        "        s += sys.exc_info()[0] is None\n" + //
+                                        "        s += sys._getframe(0).f_lineno & 1\n" + //
+                                        "    return s\n" + //
+                                        "def run(nthreads, n):\n" + //
+                                        "    if nthreads == 1:\n" + //
+                                        "        return work(n)\n" + //
+                                        "    results = [0] * nthreads\n" + //
+                                        "    def target(idx):\n" + //
+                                        "        results[idx] = work(n)\n" + //
+                                        "    threads = [threading.Thread(target=target, args=(i,)) for i in range(nthreads)]\n" + //
+                                        "    for t in threads:\n" + //
+                                        "        t.start()\n" + //
+                                        "    for t in threads:\n" + //
+                                        "        t.join()\n" + //
+                                        "    return sum(results)\n" + //
+                                        "run");
+    }
+
+    @Benchmark
+    public void callOverhead(Blackhole bh) {
+        int result = run.execute(arg1, arg2).asInt();
+        bh.consume(result);
+        System.out.println("result: " + result);
+    }
+}
@@ -55,6 +55,7 @@
 #include <fcntl.h>
 #include <netdb.h>
 #include <netinet/in.h>
+#include <poll.h>
 #include <signal.h>
 #include <stdio.h>
 #include <stdint.h>
@@ -70,8 +71,14 @@
 #include <sys/wait.h>
 #include <sys/file.h>
 #include <sys/mman.h>
+#include <sys/uio.h>
 #include <unistd.h>
 
+#ifdef __gnu_linux__
+#include <sys/epoll.h>
+#include <sys/sendfile.h>
+#endif
+
 
 int64_t call_getpid() {
     return getpid();
@@ -122,6 +129,45 @@ int64_t call_write(int32_t fd, void *buf, uint64_t count) {
     return write(fd, buf, count);
 }
 
+int64_t call_pread(int32_t fd, void *buf, uint64_t count, int64_t offset) {
+    return pread(fd, buf, count, offset);
+}
+
+int64_t call_pwrite(int32_t fd, void *buf, uint64_t count, int64_t offset) {
+    return pwrite(fd, buf, count, offset);
+}
+
+// a negative offset means that the current file position of in_fd is used and updated
+int64_t call_sendfile(int32_t out_fd, int32_t in_fd, int64_t offset, uint64_t count) {
+#ifdef __gnu_linux__
+    if (offset < 0) {
+        return sendfile(out_fd, in_fd, NULL, count);
+    }
+    off_t off = offset;
+    return sendfile(out_fd, in_fd, &off, count);
+#elif defined(__APPLE__)
+    int update_pos = offset < 0;
+    if (update_pos) {
+        offset = lseek(in_fd, 0, SEEK_CUR);
+        if (offset < 0) {
+            return -1;
+        }
+    }
+    off_t len = count;
+    int res = sendfile(in_fd, out_fd, offset, &len, NULL, 0);
+    if (res < 0 && len == 0) {
+        return -1;
+    }
+    if (update_pos && lseek(in_fd, offset + len, SEEK_SET) < 0) {
+        return -1;
+    }
+    return len;
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
 int32_t call_dup(int32_t fd) {
     return fcntl(fd, F_DUPFD_CLOEXEC, 0);
 }
@@ -200,6 +246,73 @@ int32_t call_select(int32_t nfds, int32_t* readfds, int32_t readfdsLen,
     return (int32_t) result;
 }
 
+int32_t call_poll(int32_t *fds, int32_t *events, int32_t *revents, int32_t nfds, int32_t timeout) {
+    struct pollfd *pfds = malloc(nfds * sizeof(struct pollfd));
+    if (pfds == NULL && nfds > 0) {
+        errno = ENOMEM;
+        return -1;
+    }
+    for (int i = 0; i < nfds; i++) {
+        pfds[i].fd = fds[i];
+        pfds[i].events = (short) events[i];
+        pfds[i].revents = 0;
+    }
+    int result = poll(pfds, nfds, timeout);
+    int saved_errno = errno;
+    if (result >= 0) {
+        for (int i = 0; i < nfds; i++) {
+            revents[i] = (uint16_t) pfds[i].revents;
+        }
+    }
+    free(pfds);
+    errno = saved_errno;
+    return result;
+}
+
+int32_t call_epoll_create() {
+#ifdef __gnu_linux__
+    return epoll_create1(EPOLL_CLOEXEC);
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
+int32_t call_epoll_ctl(int32_t epfd, int32_t op, int32_t fd, int32_t events) {
+#ifdef __gnu_linux__
+    struct epoll_event ev;
+    memset(&ev, 0, sizeof(ev));
+    ev.events = (uint32_t) events;
+    ev.data.fd = fd;
+    return epoll_ctl(epfd, op, fd, &ev);
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
+int32_t call_epoll_wait(int32_t epfd, int32_t *fds, int32_t *events, int32_t maxevents, int32_t timeout) {
+#ifdef __gnu_linux__
+    struct epoll_event *evs = malloc(maxevents * sizeof(struct epoll_event));
+    if (evs == NULL) {
+        errno = ENOMEM;
+        return -1;
+    }
+    int result = epoll_wait(epfd, evs, maxevents, timeout);
+    int saved_errno = errno;
+    for (int i = 0; i < result; i++) {
+        fds[i] = evs[i].data.fd;
+        events[i] = (int32_t) evs[i].events;
+    }
+    free(evs);
+    errno = saved_errno;
+    return result;
+#else
+    errno = ENOSYS;
+    return -1;
+#endif
+}
+
 int64_t call_lseek(int32_t fd, int64_t offset, int32_t whence) {
     return lseek(fd, offset, whence);
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.shell;
+
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+
+/**
+ * A pool of pre-initialized Python contexts for embedders that want an isolated context per request
+ * without paying for the full context initialization each time. All contexts share the given
+ * engine, and are initialized, warmed up with an optional source, and then snapshot (see
+ * {@code __graalpython__.snapshot_context}). When a context is {@link #release released}, it is
+ * reset to that snapshot and handed out again. Contexts that fail to reset are closed and replaced.
+ *
+ * Note that the reset only restores the module state (loaded modules, module attributes, and lists
+ * and dicts directly referenced by those), so requests must not rely on stronger isolation than that.
+ */
+public final class PythonContextPool implements AutoCloseable {
+    private static final String PYTHON = "python";
+
+    private final Engine engine;
+    private final Consumer<Context.Builder> configurator;
+    private final Source warmup;
+    private final LinkedBlockingDeque<Context> idle;
+    private volatile boolean closed;
+
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong resetCount = new AtomicLong();
+    private final AtomicLong failedResetCount = new AtomicLong();
+    private final AtomicLong totalResetNanos = new AtomicLong();
+    private final AtomicLong maxResetNanos = new AtomicLong();
+
+    /**
+     * Creates a pool that keeps up to {@code size} idle contexts and eagerly creates them.
+     *
+     * @param configurator called on the builder of each new context, e.g. to set options or access
+     *            rights; the engine is set by the pool
+     * @param warmup run once in each new context before the snapshot is taken, e.g. to import
+     *            commonly used modules; may be {@code null}
+     */
+    public PythonContextPool(Engine engine, int size, Consumer<Context.Builder> configurator, Source warmup) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("pool size must be positive");
+        }
+        this.engine = engine;
+        this.configurator = configurator;
+        this.warmup = warmup;
+        this.idle = new LinkedBlockingDeque<>(size);
+        for (int i = 0; i < size; i++) {
+            idle.add(createContext());
+        }
+    }
+
+    private Context createContext() {
+        Context.Builder builder = Context.newBuilder(PYTHON).engine(engine);
+        if (configurator != null) {
+            configurator.accept(builder);
+        }
+        Context context = builder.build();
+        try {
+            context.initialize(PYTHON);
+            if (warmup != null) {
+                context.eval(warmup);
+            }
+            context.eval(PYTHON, "__graalpython__.snapshot_context()");
+        } catch (RuntimeException e) {
+            context.close(true);
+            throw e;
+        }
+        createdCount.incrementAndGet();
+        return context;
+    }
+
+    /**
+     * Returns an idle context, or a new one if all contexts are in use.
+     */
+    public Context acquire() {
+        if (closed) {
+            throw new IllegalStateException("pool is closed");
+        }
+        Context context = idle.pollFirst();
+        return context != null ? context : createContext();
+    }
+
+    /**
+     * Resets the context and returns it to the pool. The context must not be used by the caller
+     * anymore.
+     */
+    public void release(Context context) {
+        long start = System.nanoTime();
+        try {
+            context.eval(PYTHON, "__graalpython__.reset_context()");
+        } catch (PolyglotException e) {
+            failedResetCount.incrementAndGet();
+            context.close(true);
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        resetCount.incrementAndGet();
+        totalResetNanos.addAndGet(duration);
+        maxResetNanos.accumulateAndGet(duration, Math::max);
+        if (closed || !idle.offerFirst(context)) {
+            context.close();
+        }
+    }
+
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    public long getResetCount() {
+        return resetCount.get();
+    }
+
+    public long getFailedResetCount() {
+        return failedResetCount.get();
+    }
+
+    /**
+     * The total time spent in {@link #release}, measured on the host side, in nanoseconds.
+     */
+    public long getTotalResetNanos() {
+        return totalResetNanos.get();
+    }
+
+    public long getMaxResetNanos() {
+        return maxResetNanos.get();
+    }
+
+    /**
+     * Closes all idle contexts. Contexts that are currently acquired are closed when they are
+     * released. The engine is not closed.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Context context;
+        while ((context = idle.pollFirst()) != null) {
+            context.close();
+        }
+    }
+}
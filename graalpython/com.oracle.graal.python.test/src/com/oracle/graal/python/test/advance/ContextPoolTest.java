@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.test.advance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.Source;
+import org.junit.Test;
+
+import com.oracle.graal.python.shell.PythonContextPool;
+import com.oracle.graal.python.test.PythonTests;
+
+public class ContextPoolTest extends PythonTests {
+    @Test
+    public void testResetRestoresModuleState() {
+        Engine engine = Engine.newBuilder().build();
+        Source warmup = Source.create("python", "import json\nX = 1");
+        try (PythonContextPool pool = new PythonContextPool(engine, 1, b -> b.allowExperimentalOptions(true).allowAllAccess(true), warmup)) {
+            Context context = pool.acquire();
+            context.eval("python", "import sys, base64\n" +
+                            "X = 2\n" +
+                            "Y = 3\n" +
+                            "json.injected = True\n" +
+                            "sys.path.append('/nonexistent')\n" +
+                            "import builtins\n" +
+                            "builtins.leaked = 42");
+            pool.release(context);
+
+            Context reused = pool.acquire();
+            assertSame(context, reused);
+            assertEquals(1, reused.eval("python", "X").asInt());
+            assertFalse(reused.eval("python", "'Y' in globals()").asBoolean());
+            assertTrue(reused.eval("python", "'json' in __import__('sys').modules").asBoolean());
+            assertFalse(reused.eval("python", "'base64' in __import__('sys').modules").asBoolean());
+            assertFalse(reused.eval("python", "hasattr(json, 'injected')").asBoolean());
+            assertFalse(reused.eval("python", "'/nonexistent' in __import__('sys').path").asBoolean());
+            assertFalse(reused.eval("python", "hasattr(__import__('builtins'), 'leaked')").asBoolean());
+            pool.release(reused);
+
+            assertEquals(1, pool.getCreatedCount());
+            assertEquals(2, pool.getResetCount());
+            assertEquals(0, pool.getFailedResetCount());
+            assertTrue(pool.getMaxResetNanos() > 0);
+        }
+    }
+
+    @Test
+    public void testPoolGrowsOnDemand() {
+        Engine engine = Engine.newBuilder().build();
+        try (PythonContextPool pool = new PythonContextPool(engine, 1, b -> b.allowExperimentalOptions(true).allowAllAccess(true), null)) {
+            Context c1 = pool.acquire();
+            Context c2 = pool.acquire();
+            assertEquals(2, pool.getCreatedCount());
+            assertEquals(2, c1.eval("python", "1 + 1").asInt());
+            assertEquals(2, c2.eval("python", "1 + 1").asInt());
+            pool.release(c1);
+            // the pool only keeps one idle context, so this one is closed
+            pool.release(c2);
+            assertSame(c1, pool.acquire());
+        }
+    }
+}
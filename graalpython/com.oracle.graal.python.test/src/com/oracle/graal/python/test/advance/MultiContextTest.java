@@ -40,6 +40,13 @@
  */
 package com.oracle.graal.python.test.advance;
 
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 import org.junit.Test;
@@ -85,6 +92,38 @@ public class MultiContextTest extends PythonTests {
         }
     }
 
+    @Test
+    public void testIsolatedThreadContexts() throws Exception {
+        Engine engine = Engine.newBuilder().allowExperimentalOptions(true).option("python.IsolatedThreadContexts", "true").build();
+        int nThreads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+        try {
+            @SuppressWarnings("unchecked")
+            Future<Integer>[] results = new Future[nThreads];
+            for (int i = 0; i < nThreads; i++) {
+                final int n = i;
+                results[i] = executor.submit(() -> {
+                    try (Context context = newContext(engine)) {
+                        return context.eval("python", "import _thread\n" +
+                                        "try:\n" +
+                                        "    _thread.start_new_thread(print, ())\n" +
+                                        "except RuntimeError:\n" +
+                                        "    pass\n" +
+                                        "else:\n" +
+                                        "    raise AssertionError('threads must not start')\n" +
+                                        "sum(range(" + n + " * 1000))").asInt();
+                    }
+                });
+            }
+            for (int i = 0; i < nThreads; i++) {
+                int expected = (i * 1000) * (i * 1000 - 1) / 2;
+                assertEquals(expected, (int) results[i].get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private static Context newContext(Engine engine) {
         return Context.newBuilder().allowExperimentalOptions(true).allowAllAccess(true).engine(engine).build();
     }
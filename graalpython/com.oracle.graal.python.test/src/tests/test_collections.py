@@ -57,3 +57,51 @@ def test_import():
     except ImportError:
         imported = False
     assert imported
+
+
+def test_defaultdict():
+    from collections import defaultdict
+    d = defaultdict(list)
+    d['a'].append(1)
+    d['a'].append(2)
+    assert d['a'] == [1, 2]
+    assert 'b' not in d
+    assert d.get('b') is None
+    assert len(d) == 1
+
+    d = defaultdict(None, {'x': 1}, y=2)
+    assert d.default_factory is None
+    assert d == {'x': 1, 'y': 2}
+    assert_raises(KeyError, lambda: d['z'])
+    assert_raises(TypeError, defaultdict, 1)
+
+    d.default_factory = lambda: 42
+    assert d['z'] == 42
+    assert d['z'] == 42
+    assert isinstance(d, dict)
+    assert defaultdict.__module__ == 'collections'
+
+
+def test_defaultdict_subclass_missing():
+    from collections import defaultdict
+
+    class MyDefaultDict(defaultdict):
+        def __missing__(self, key):
+            return key * 2
+
+    d = MyDefaultDict(int)
+    assert d[21] == 42
+    assert 21 not in d
+
+
+def test_defaultdict_copy_repr():
+    import copy
+    from collections import defaultdict
+    d = defaultdict(int, a=1)
+    for c in (d.copy(), copy.copy(d), copy.deepcopy(d)):
+        assert type(c) is defaultdict
+        assert c.default_factory is int
+        assert c == d
+        assert c is not d
+    assert repr(d) == "defaultdict(<class 'int'>, {'a': 1})"
+    assert repr(defaultdict()) == "defaultdict(None, {})"
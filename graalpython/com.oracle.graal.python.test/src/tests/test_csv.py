@@ -0,0 +1,127 @@
+# Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+
+import csv
+import io
+import unittest
+
+
+class TestCsv(unittest.TestCase):
+
+    def test_reader_basic(self):
+        data = ['a,b,c\r\n', '1,"x,y",3\n', '"multi\n', 'line",""""\n']
+        self.assertEqual(list(csv.reader(data)), [['a', 'b', 'c'], ['1', 'x,y', '3'], ['multi\nline', '"']])
+
+    def test_reader_textio(self):
+        text = "h1;h2\n" + "".join("%d;'v %d'\n" % (i, i) for i in range(1000))
+        buf = io.TextIOWrapper(io.BytesIO(text.encode()), encoding="utf-8", newline="")
+        rows = list(csv.reader(buf, delimiter=";", quotechar="'"))
+        self.assertEqual(len(rows), 1001)
+        self.assertEqual(rows[0], ['h1', 'h2'])
+        self.assertEqual(rows[-1], ['999', 'v 999'])
+
+    def test_reader_line_num_and_eof(self):
+        r = csv.reader(['a,b\n', 'c,d\n'])
+        next(r)
+        self.assertEqual(r.line_num, 1)
+        next(r)
+        self.assertEqual(r.line_num, 2)
+        self.assertRaises(StopIteration, next, r)
+        self.assertEqual(list(csv.reader(['"unterminated'])), [['unterminated']])
+        self.assertRaises(csv.Error, list, csv.reader(['"unterminated'], strict=True))
+        self.assertRaises(csv.Error, list, csv.reader([b'a,b']))
+
+    def test_reader_options(self):
+        self.assertEqual(list(csv.reader(['a, b,  c'], skipinitialspace=True)), [['a', 'b', 'c']])
+        self.assertEqual(list(csv.reader(['a\\,b,c'], escapechar='\\')), [['a,b', 'c']])
+        self.assertEqual(list(csv.reader(['1,"a",2.5'], quoting=csv.QUOTE_NONNUMERIC)), [[1.0, 'a', 2.5]])
+        self.assertEqual(list(csv.reader(['"a",b'], quoting=csv.QUOTE_NONE)), [['"a"', 'b']])
+
+    def test_field_size_limit(self):
+        old = csv.field_size_limit()
+        try:
+            self.assertEqual(csv.field_size_limit(5), old)
+            self.assertEqual(list(csv.reader(['12345'])), [['12345']])
+            self.assertRaises(csv.Error, list, csv.reader(['123456']))
+            self.assertRaises(TypeError, csv.field_size_limit, 1.0)
+        finally:
+            csv.field_size_limit(old)
+
+    def test_writer(self):
+        out = io.StringIO()
+        w = csv.writer(out)
+        w.writerow(['a', 'b,c', 'd"e', None, 1, 2.5, 'f\ng'])
+        w.writerows([[''], []])
+        self.assertEqual(out.getvalue(), 'a,"b,c","d""e",,1,2.5,"f\ng"\r\n""\r\n\r\n')
+
+    def test_writer_quoting(self):
+        out = io.StringIO()
+        w = csv.writer(out, quoting=csv.QUOTE_NONNUMERIC, lineterminator='\n')
+        w.writerow(['a', 1, 2.0])
+        w = csv.writer(out, quoting=csv.QUOTE_ALL, lineterminator='\n')
+        w.writerow(['a', 1])
+        w = csv.writer(out, quoting=csv.QUOTE_NONE, escapechar='\\', lineterminator='\n')
+        w.writerow(['a,b', 'c"d'])
+        self.assertEqual(out.getvalue(), '"a",1,2.0\n"a","1"\na\\,b,c\\"d\n')
+        w = csv.writer(out, quoting=csv.QUOTE_NONE)
+        self.assertRaises(csv.Error, w.writerow, ['a,b'])
+        self.assertRaises(csv.Error, w.writerow, [''])
+        self.assertRaises(csv.Error, w.writerow, 1)
+        self.assertRaises(TypeError, w.writerows, 1)
+        self.assertRaises(TypeError, csv.writer, object())
+
+    def test_dialects(self):
+        csv.register_dialect('testsemi', delimiter=';')
+        try:
+            self.assertIn('testsemi', csv.list_dialects())
+            d = csv.get_dialect('testsemi')
+            self.assertEqual(d.delimiter, ';')
+            self.assertRaises(AttributeError, setattr, d, 'delimiter', ',')
+            self.assertEqual(list(csv.reader(['a;b'], 'testsemi')), [['a', 'b']])
+        finally:
+            csv.unregister_dialect('testsemi')
+        self.assertRaises(csv.Error, csv.get_dialect, 'testsemi')
+        self.assertRaises(TypeError, csv.register_dialect, 1)
+        self.assertRaises(TypeError, csv.reader, [], delimiter='ab')
+        self.assertRaises(TypeError, csv.reader, [], quoting=10)
+
+
+if __name__ == '__main__':
+    unittest.main()
@@ -0,0 +1,334 @@
+# Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import datetime
+import pickle
+import unittest
+from datetime import date, datetime as dt, time, timedelta, timezone, tzinfo
+
+
+class _FixedOffset(tzinfo):
+    def __init__(self, minutes=0, name=None):
+        self._offset = timedelta(minutes=minutes)
+        self._name = name
+
+    def utcoffset(self, d):
+        return self._offset
+
+    def tzname(self, d):
+        return self._name
+
+    def dst(self, d):
+        return timedelta(0)
+
+
+class TestTimeDelta(unittest.TestCase):
+
+    def test_normalization(self):
+        td = timedelta(days=1, hours=-1, minutes=30, seconds=1.5, microseconds=-2)
+        self.assertEqual((td.days, td.seconds, td.microseconds), (0, 84601, 499998))
+        self.assertEqual(timedelta(weeks=1, milliseconds=1), timedelta(days=7, microseconds=1000))
+        self.assertEqual(timedelta(microseconds=0.5), timedelta(0))
+        self.assertEqual(timedelta(microseconds=1.5), timedelta(microseconds=2))
+        self.assertEqual(timedelta(-1).days, -1)
+        self.assertRaises(OverflowError, timedelta, 1000000000)
+        self.assertRaises(TypeError, timedelta, "1")
+
+    def test_str_repr(self):
+        self.assertEqual(str(timedelta(days=-1, seconds=3600, microseconds=5)), "-1 day, 1:00:00.000005")
+        self.assertEqual(str(timedelta(days=2)), "2 days, 0:00:00")
+        self.assertEqual(repr(timedelta(1, 2, 3)), "datetime.timedelta(days=1, seconds=2, microseconds=3)")
+        self.assertEqual(repr(timedelta(0)), "datetime.timedelta(0)")
+
+    def test_arithmetic(self):
+        a = timedelta(days=1, seconds=7)
+        b = timedelta(hours=5)
+        self.assertEqual(a + b, timedelta(days=1, seconds=18007))
+        self.assertEqual(a - b, timedelta(seconds=68407))
+        self.assertEqual(-a, timedelta(days=-2, seconds=86393))
+        self.assertEqual(abs(-a), a)
+        self.assertEqual(a * 2, 2 * a)
+        self.assertEqual(b * 0.5, timedelta(hours=2, minutes=30))
+        self.assertEqual(a // 2, timedelta(seconds=43203, microseconds=500000))
+        self.assertEqual(a / b, 4.800388888888889)
+        self.assertEqual(a // b, 4)
+        self.assertEqual(a % b, timedelta(seconds=14407))
+        self.assertEqual(divmod(a, b), (4, timedelta(seconds=14407)))
+        self.assertEqual(timedelta(microseconds=3) / 2, timedelta(microseconds=2))
+        self.assertEqual(a.total_seconds(), 86407.0)
+        self.assertRaises(ZeroDivisionError, lambda: a // 0)
+        self.assertRaises(ZeroDivisionError, lambda: a / timedelta(0))
+
+    def test_compare_hash(self):
+        self.assertTrue(timedelta(1) > timedelta(seconds=86399))
+        self.assertEqual(hash(timedelta(seconds=86400)), hash(timedelta(1)))
+        self.assertFalse(timedelta(0))
+        self.assertNotEqual(timedelta(0), 0)
+        self.assertEqual(timedelta.max + timedelta.min, timedelta(seconds=86399, microseconds=999999))
+
+
+class TestDate(unittest.TestCase):
+
+    def test_fields(self):
+        d = date(2020, 2, 29)
+        self.assertEqual((d.year, d.month, d.day), (2020, 2, 29))
+        self.assertEqual(d.toordinal(), 737484)
+        self.assertEqual(date.fromordinal(737484), d)
+        self.assertEqual(d.weekday(), 5)
+        self.assertEqual(d.isoweekday(), 6)
+        self.assertEqual(tuple(d.isocalendar()), (2020, 9, 6))
+        self.assertEqual(date.fromisocalendar(2020, 9, 6), d)
+        self.assertRaises(ValueError, date, 2019, 2, 29)
+        self.assertRaises(ValueError, date, 0, 1, 1)
+        self.assertRaises(ValueError, date, 2020, 13, 1)
+
+    def test_format(self):
+        d = date(2002, 3, 4)
+        self.assertEqual(d.isoformat(), "2002-03-04")
+        self.assertEqual(str(d), "2002-03-04")
+        self.assertEqual(repr(d), "datetime.date(2002, 3, 4)")
+        self.assertEqual(d.ctime(), "Mon Mar  4 00:00:00 2002")
+        self.assertEqual(d.strftime("%Y/%m/%d %j"), "2002/03/04 063")
+        self.assertEqual(format(d, "%d.%m."), "04.03.")
+        self.assertEqual(format(d, ""), "2002-03-04")
+        self.assertEqual(tuple(d.timetuple()), (2002, 3, 4, 0, 0, 0, 0, 63, -1))
+        self.assertEqual(date.fromisoformat("2002-03-04"), d)
+        self.assertRaises(ValueError, date.fromisoformat, "2002-3-4")
+
+    def test_arithmetic(self):
+        d = date(2000, 12, 31)
+        self.assertEqual(d + timedelta(days=1, hours=23), date(2001, 1, 1))
+        self.assertEqual(timedelta(days=-366) + d, date(1999, 12, 31))
+        self.assertEqual(d - date(2000, 1, 1), timedelta(days=365))
+        self.assertEqual(d - timedelta(days=31), date(2000, 11, 30))
+        self.assertRaises(OverflowError, lambda: date.max + timedelta(1))
+        self.assertTrue(date(2000, 1, 1) < d)
+        self.assertEqual(hash(date(2000, 12, 31)), hash(d))
+
+    def test_replace_and_subclass(self):
+        class MyDate(date):
+            pass
+        d = MyDate(2000, 1, 31)
+        self.assertEqual(d.replace(day=1), date(2000, 1, 1))
+        self.assertIs(type(d.replace(day=1)), MyDate)
+        self.assertIs(type(d + timedelta(1)), MyDate)
+        self.assertEqual(repr(d), "MyDate(2000, 1, 31)")
+        self.assertRaises(ValueError, d.replace, month=2)
+
+
+class TestTime(unittest.TestCase):
+
+    def test_fields_and_format(self):
+        t = time(12, 30, 5, 1500)
+        self.assertEqual((t.hour, t.minute, t.second, t.microsecond, t.tzinfo, t.fold), (12, 30, 5, 1500, None, 0))
+        self.assertEqual(t.isoformat(), "12:30:05.001500")
+        self.assertEqual(t.isoformat("milliseconds"), "12:30:05.001")
+        self.assertEqual(t.isoformat(timespec="minutes"), "12:30")
+        self.assertRaises(ValueError, t.isoformat, "days")
+        self.assertEqual(str(time(1, 2)), "01:02:00")
+        self.assertEqual(repr(time(1, 2)), "datetime.time(1, 2)")
+        self.assertEqual(repr(time(1, 2, 0, 7, fold=1)), "datetime.time(1, 2, 0, 7, fold=1)")
+        self.assertEqual(t.strftime("%H-%M-%S.%f"), "12-30-05.001500")
+        self.assertEqual(time.fromisoformat("12:30:05.001500"), t)
+        self.assertRaises(ValueError, time, 24)
+
+    def test_aware(self):
+        tz = timezone(timedelta(hours=2))
+        t = time(12, 0, tzinfo=tz)
+        self.assertEqual(t.utcoffset(), timedelta(hours=2))
+        self.assertEqual(t.isoformat(), "12:00:00+02:00")
+        self.assertEqual(t, time(10, 0, tzinfo=timezone.utc))
+        self.assertEqual(hash(t), hash(time(10, 0, tzinfo=timezone.utc)))
+        self.assertTrue(t < time(11, 0, tzinfo=timezone.utc))
+        self.assertNotEqual(t, time(12, 0))
+        self.assertRaises(TypeError, lambda: t < time(12, 0))
+        self.assertEqual(time.fromisoformat("12:00:00+02:00"), t)
+
+
+class TestDateTime(unittest.TestCase):
+
+    def test_fields_and_format(self):
+        d = dt(2021, 5, 17, 8, 9, 10, 11)
+        self.assertEqual((d.year, d.month, d.day, d.hour, d.minute, d.second, d.microsecond), (2021, 5, 17, 8, 9, 10, 11))
+        self.assertIsInstance(d, date)
+        self.assertEqual(d.date(), date(2021, 5, 17))
+        self.assertEqual(d.time(), time(8, 9, 10, 11))
+        self.assertEqual(d.isoformat(), "2021-05-17T08:09:10.000011")
+        self.assertEqual(d.isoformat(" ", "seconds"), "2021-05-17 08:09:10")
+        self.assertEqual(str(d), "2021-05-17 08:09:10.000011")
+        self.assertEqual(repr(d), "datetime.datetime(2021, 5, 17, 8, 9, 10, 11)")
+        self.assertEqual(repr(dt(2021, 5, 17)), "datetime.datetime(2021, 5, 17, 0, 0)")
+        self.assertEqual(d.ctime(), "Mon May 17 08:09:10 2021")
+        self.assertEqual(d.strftime("%Y-%m-%d %H:%M:%S.%f %z%Z"), "2021-05-17 08:09:10.000011 ")
+        self.assertEqual(format(d, "%H"), "08")
+        self.assertEqual(tuple(d.timetuple()), (2021, 5, 17, 8, 9, 10, 0, 137, -1))
+
+    def test_fromisoformat(self):
+        self.assertEqual(dt.fromisoformat("2021-05-17"), dt(2021, 5, 17))
+        self.assertEqual(dt.fromisoformat("2021-05-17T08:09"), dt(2021, 5, 17, 8, 9))
+        self.assertEqual(dt.fromisoformat("2021-05-17 08:09:10.123"), dt(2021, 5, 17, 8, 9, 10, 123000))
+        aware = dt.fromisoformat("2021-05-17T08:09:10+00:00")
+        self.assertIs(aware.tzinfo, timezone.utc)
+        self.assertEqual(dt.fromisoformat("2021-05-17T08:09:10-05:30").utcoffset(), -timedelta(hours=5, minutes=30))
+        self.assertRaises(ValueError, dt.fromisoformat, "2021-05-17T")
+        self.assertRaises(ValueError, dt.fromisoformat, "2021-05-17T25:00")
+        self.assertRaises(TypeError, dt.fromisoformat, b"2021-05-17")
+
+    def test_arithmetic(self):
+        d = dt(2020, 12, 31, 23, 59, 59, 999999)
+        self.assertEqual(d + timedelta(microseconds=1), dt(2021, 1, 1))
+        self.assertEqual(timedelta(days=-1) + d, dt(2020, 12, 30, 23, 59, 59, 999999))
+        self.assertEqual(d - timedelta(hours=24), dt(2020, 12, 30, 23, 59, 59, 999999))
+        self.assertEqual(dt(2021, 1, 1) - d, timedelta(microseconds=1))
+        self.assertRaises(OverflowError, lambda: dt.max + timedelta(microseconds=1))
+        self.assertRaises(TypeError, lambda: d - date(2020, 1, 1))
+
+    def test_aware(self):
+        utc = timezone.utc
+        plus2 = timezone(timedelta(hours=2), "CEST")
+        a = dt(2021, 5, 17, 10, 0, tzinfo=plus2)
+        b = dt(2021, 5, 17, 8, 0, tzinfo=utc)
+        self.assertEqual(a, b)
+        self.assertEqual(hash(a), hash(b))
+        self.assertEqual(a - b, timedelta(0))
+        self.assertEqual(a.astimezone(utc), b)
+        self.assertEqual(a.astimezone(utc).tzinfo, utc)
+        self.assertEqual(b.astimezone(plus2).hour, 10)
+        self.assertEqual(a.tzname(), "CEST")
+        self.assertEqual(a.isoformat(), "2021-05-17T10:00:00+02:00")
+        self.assertEqual(a.strftime("%z %Z"), "+0200 CEST")
+        self.assertEqual(repr(b), "datetime.datetime(2021, 5, 17, 8, 0, tzinfo=datetime.timezone.utc)")
+        self.assertEqual(a.timestamp(), 1621238400.0)
+        self.assertEqual(tuple(a.utctimetuple())[:6], (2021, 5, 17, 8, 0, 0))
+        naive = dt(2021, 5, 17, 8, 0)
+        self.assertNotEqual(naive, b)
+        self.assertRaises(TypeError, lambda: naive < b)
+        self.assertRaises(TypeError, lambda: naive - b)
+        self.assertFalse(naive == date(2021, 5, 17))
+        self.assertRaises(TypeError, lambda: naive < date(2021, 5, 17))
+
+    def test_custom_tzinfo(self):
+        tz = _FixedOffset(-90, "X")
+        d = dt(2000, 1, 1, 12, tzinfo=tz)
+        self.assertEqual(d.utcoffset(), timedelta(minutes=-90))
+        self.assertEqual(d.astimezone(timezone.utc), dt(2000, 1, 1, 13, 30, tzinfo=timezone.utc))
+        self.assertEqual(dt.fromtimestamp(946733400, tz), d)
+        self.assertEqual(d.dst(), timedelta(0))
+        self.assertEqual(d.timetuple().tm_isdst, 0)
+
+    def test_timestamps(self):
+        self.assertEqual(dt.utcfromtimestamp(0), dt(1970, 1, 1))
+        self.assertEqual(dt.utcfromtimestamp(1.5), dt(1970, 1, 1, 0, 0, 1, 500000))
+        self.assertEqual(dt.fromtimestamp(86400, timezone.utc), dt(1970, 1, 2, tzinfo=timezone.utc))
+        self.assertEqual(dt.fromtimestamp(-0.0000005, timezone.utc), dt(1970, 1, 1, tzinfo=timezone.utc))
+        local = dt.fromtimestamp(1000000000)
+        self.assertEqual(local.timestamp(), 1000000000.0)
+        self.assertEqual(local.astimezone().replace(tzinfo=None), local)
+        self.assertIsNotNone(dt.now(timezone.utc).tzinfo)
+        self.assertIsNone(dt.utcnow().tzinfo)
+        self.assertRaises(ValueError, dt.utcfromtimestamp, float("nan"))
+
+    def test_combine_replace_strptime(self):
+        tz = timezone(timedelta(hours=1))
+        d = dt.combine(date(2000, 2, 3), time(4, 5, tzinfo=tz))
+        self.assertEqual(d, dt(2000, 2, 3, 4, 5, tzinfo=tz))
+        self.assertIsNone(dt.combine(date(2000, 2, 3), time(4, 5), tzinfo=None).tzinfo)
+        self.assertRaises(TypeError, dt.combine, time(4, 5), date(2000, 2, 3))
+        self.assertEqual(d.replace(hour=6, tzinfo=None), dt(2000, 2, 3, 6, 5))
+        self.assertEqual(d.replace(fold=1).fold, 1)
+        self.assertEqual(dt.strptime("2000-02-03 04:05", "%Y-%m-%d %H:%M"), dt(2000, 2, 3, 4, 5))
+
+    def test_subclass(self):
+        class MyDateTime(dt):
+            def __new__(cls, *args, **kwargs):
+                self = dt.__new__(cls, *args, **kwargs)
+                self.extra = 1
+                return self
+        d = MyDateTime(2000, 1, 1)
+        self.assertEqual(repr(d), "MyDateTime(2000, 1, 1, 0, 0)")
+        self.assertIs(type(d + timedelta(1)), MyDateTime)
+        self.assertEqual((d + timedelta(1)).extra, 1)
+        self.assertIs(type(MyDateTime.fromtimestamp(0)), MyDateTime)
+
+
+class TestTimeZone(unittest.TestCase):
+
+    def test_timezone(self):
+        tz = timezone(timedelta(hours=-3, minutes=-30))
+        self.assertEqual(str(tz), "UTC-03:30")
+        self.assertEqual(tz.tzname(None), "UTC-03:30")
+        self.assertEqual(repr(tz), "datetime.timezone(datetime.timedelta(days=-1, seconds=73800))")
+        self.assertEqual(repr(timezone(timedelta(hours=1), "A")), "datetime.timezone(datetime.timedelta(seconds=3600), 'A')")
+        self.assertEqual(str(timezone.utc), "UTC")
+        self.assertIs(timezone(timedelta(0)), timezone.utc)
+        self.assertEqual(timezone(timedelta(0), "Z"), timezone.utc)
+        self.assertRaises(ValueError, timezone, timedelta(hours=24))
+        self.assertRaises(TypeError, tz.utcoffset, 1)
+        self.assertEqual(tz.fromutc(dt(2000, 1, 1, tzinfo=tz)), dt(1999, 12, 31, 20, 30, tzinfo=tz))
+        self.assertRaises(ValueError, tz.fromutc, dt(2000, 1, 1))
+
+    def test_tzinfo_base(self):
+        self.assertRaises(NotImplementedError, tzinfo().utcoffset, None)
+        self.assertRaises(TypeError, timezone, 1)
+
+
+class TestPickle(unittest.TestCase):
+
+    def test_roundtrip(self):
+        tz = timezone(timedelta(hours=5), "X")
+        values = [timedelta(1, 2, 3), date(2000, 1, 2), dt(2000, 1, 2, 3, 4, 5, 6, tz), dt(2000, 1, 2, fold=1),
+                  time(1, 2, 3, 4, tz), time(1, fold=1), tz, timezone.utc, _FixedOffset(5, "F")]
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            for value in values:
+                res = pickle.loads(pickle.dumps(value, protocol=proto))
+                if isinstance(value, _FixedOffset):
+                    self.assertEqual(res.utcoffset(None), value.utcoffset(None))
+                else:
+                    self.assertEqual(res, value)
+                    if proto > 3 or not getattr(value, "fold", 0):
+                        self.assertEqual(repr(res), repr(value))
+        self.assertIs(pickle.loads(pickle.dumps(timezone.utc)), timezone.utc)
+
+    def test_bad_state(self):
+        self.assertRaisesRegex(TypeError, "bad tzinfo state arg", dt, dt(2000, 1, 2).__reduce__()[1][0], 1)
+        self.assertRaisesRegex(TypeError, "bad tzinfo state arg", time, time(1).__reduce__()[1][0], 1)
+
+
+if __name__ == '__main__':
+    unittest.main()
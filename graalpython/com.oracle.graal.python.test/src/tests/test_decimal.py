@@ -0,0 +1,257 @@
+# Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+
+import decimal
+import pickle
+import unittest
+from decimal import Decimal, Context, localcontext
+
+
+class TestDecimal(unittest.TestCase):
+
+    def test_module(self):
+        self.assertEqual(decimal.__version__, "1.70")
+        self.assertTrue(decimal.__doc__)
+        self.assertEqual(Decimal.__module__, "decimal")
+        self.assertIs(decimal.Decimal, Decimal)
+
+    def test_pydecimal_is_separate(self):
+        import _pydecimal
+        self.assertIsNot(_pydecimal.Decimal, Decimal)
+        self.assertIsNot(_pydecimal.getcontext(), decimal.getcontext())
+        self.assertIs(type(_pydecimal.Decimal("1.5") + 1), _pydecimal.Decimal)
+        self.assertEqual(str(_pydecimal.Decimal("1.5") + 1), "2.5")
+        self.assertIsInstance(Decimal("1.5") + 1, Decimal)
+
+    def test_from_string(self):
+        self.assertEqual(Decimal("1.10").as_tuple(), (0, (1, 1, 0), -2))
+        self.assertEqual(Decimal(" -0.00\n").as_tuple(), (1, (0,), -2))
+        self.assertEqual(Decimal("1_000.5e-3").as_tuple(), (0, (1, 0, 0, 0, 5), -4))
+        self.assertEqual(Decimal(".5E+2").as_tuple(), (0, (5,), 1))
+        self.assertEqual(Decimal("12345678901234567890123456789").as_tuple()[2], 0)
+        self.assertEqual(str(Decimal("1e999999999999")), "1E+999999999999")
+        self.assertTrue(Decimal("-Infinity").is_infinite())
+        self.assertTrue(Decimal("nan").is_nan())
+        for invalid in ["", ".", "1e", "1e+", "+-1", "1.2.3", "1 2", "e5"]:
+            self.assertRaises(decimal.InvalidOperation, Decimal, invalid)
+        with localcontext() as ctx:
+            ctx.traps[decimal.InvalidOperation] = False
+            self.assertTrue(Decimal("abc").is_nan())
+
+    def test_add_sub(self):
+        self.assertEqual(str(Decimal("1.10") + Decimal("2.205")), "3.305")
+        self.assertEqual(str(Decimal("0.1") + Decimal("0.2") - Decimal("0.3")), "0.0")
+        self.assertEqual(str(Decimal("5") - Decimal("5.00")), "0.00")
+        self.assertEqual(str(sum(Decimal("0.01") for _ in range(100))), "1.00")
+        self.assertEqual(str(Decimal(1) + 2), "3")
+        self.assertEqual(str(2 - Decimal("0.5")), "1.5")
+        with localcontext(Context(prec=5, rounding=decimal.ROUND_FLOOR)):
+            self.assertEqual(str(Decimal("1.5") - Decimal("1.5")), "-0.0")
+            self.assertEqual(str(Decimal("12345") + Decimal("0.9")), "12345")
+            self.assertEqual(str(Decimal("-12345") - Decimal("0.1")), "-12346")
+            self.assertEqual(str(Decimal("99999") + Decimal("1")), "1.0000E+5")
+
+    def test_mul_div(self):
+        self.assertEqual(str(Decimal("19.99") * 3), "59.97")
+        self.assertEqual(str(Decimal("1.5") * Decimal("-0")), "-0.0")
+        self.assertEqual(str(Decimal(1) / Decimal(3)), "0.3333333333333333333333333333")
+        self.assertEqual(str(Decimal(2) / Decimal(3)), "0.6666666666666666666666666667")
+        self.assertEqual(str(Decimal("1.00") / Decimal(4)), "0.25")
+        self.assertEqual(str(Decimal(100) / Decimal("0.1")), "1.00E+3")
+        self.assertEqual(str(Decimal(0) / Decimal("0.5")), "0E+1")
+        self.assertEqual(str(Decimal(10**30) * Decimal(10**30)), "1.000000000000000000000000000E+60")
+        self.assertRaises(decimal.DivisionByZero, Decimal(1).__truediv__, Decimal(0))
+        self.assertRaises(decimal.InvalidOperation, Decimal(0).__truediv__, Decimal(0))
+
+    def test_rounding_modes(self):
+        expected = {
+            decimal.ROUND_DOWN: ["1.23", "-1.23", "1.25", "1.20"],
+            decimal.ROUND_UP: ["1.24", "-1.24", "1.26", "1.21"],
+            decimal.ROUND_HALF_UP: ["1.24", "-1.24", "1.26", "1.20"],
+            decimal.ROUND_HALF_DOWN: ["1.23", "-1.23", "1.26", "1.20"],
+            decimal.ROUND_HALF_EVEN: ["1.24", "-1.24", "1.26", "1.20"],
+            decimal.ROUND_CEILING: ["1.24", "-1.23", "1.26", "1.21"],
+            decimal.ROUND_FLOOR: ["1.23", "-1.24", "1.25", "1.20"],
+            decimal.ROUND_05UP: ["1.23", "-1.23", "1.26", "1.21"],
+        }
+        for rounding, results in expected.items():
+            with localcontext(Context(prec=3, rounding=rounding)):
+                actual = [str(Decimal("1.235") + 0), str(Decimal("-1.235") + 0),
+                          str(Decimal("1.2551") * 1), str(Decimal("1.2001") / 1)]
+            self.assertEqual(actual, results, rounding)
+
+    def test_signals(self):
+        ctx = Context(prec=3)
+        self.assertEqual(str(ctx.add(Decimal("1.23"), Decimal("1"))), "2.23")
+        self.assertFalse(ctx.flags[decimal.Rounded])
+        self.assertEqual(str(ctx.add(Decimal("1.23"), Decimal("10"))), "11.2")
+        self.assertTrue(ctx.flags[decimal.Rounded])
+        self.assertTrue(ctx.flags[decimal.Inexact])
+        ctx.clear_flags()
+        self.assertEqual(str(ctx.multiply(Decimal("1.20"), Decimal("10"))), "12.0")
+        self.assertFalse(ctx.flags[decimal.Inexact])
+        self.assertEqual(str(ctx.multiply(Decimal("1.25"), Decimal("100"))), "125")
+        self.assertTrue(ctx.flags[decimal.Rounded])
+        self.assertFalse(ctx.flags[decimal.Inexact])
+        ctx.traps[decimal.Inexact] = True
+        self.assertRaises(decimal.Inexact, ctx.divide, Decimal(1), Decimal(3))
+        self.assertEqual(str(ctx.divide(Decimal(1), Decimal(4))), "0.25")
+
+    def test_exponent_limits(self):
+        ctx = Context(prec=3, Emin=-5, Emax=5, traps=[])
+        self.assertEqual(str(ctx.multiply(Decimal("1e5"), Decimal(10))), "Infinity")
+        self.assertTrue(ctx.flags[decimal.Overflow])
+        self.assertEqual(str(ctx.multiply(Decimal("1.23e-5"), Decimal("0.1"))), "0.0000012")
+        self.assertTrue(ctx.flags[decimal.Subnormal])
+        self.assertTrue(ctx.flags[decimal.Underflow])
+        ctx = Context(prec=3, Emin=-5, Emax=5, clamp=1)
+        self.assertEqual(ctx.multiply(Decimal("1e5"), Decimal(1)).as_tuple(), (0, (1, 0, 0), 3))
+        self.assertTrue(ctx.flags[decimal.Clamped])
+
+    def test_quantize(self):
+        self.assertEqual(str(Decimal("19.995").quantize(Decimal("0.01"))), "20.00")
+        self.assertEqual(str(Decimal("2.675").quantize(Decimal("0.01"), rounding=decimal.ROUND_DOWN)), "2.67")
+        self.assertEqual(str(Decimal("7").quantize(Decimal("0.001"))), "7.000")
+        self.assertEqual(str(Decimal("-0.004").quantize(Decimal("0.01"))), "-0.00")
+        self.assertEqual(str(Decimal("0.004").quantize(Decimal("1"), rounding=decimal.ROUND_UP)), "1")
+        ctx = Context(prec=3)
+        self.assertEqual(str(ctx.quantize(Decimal("1.2345"), Decimal("0.01"))), "1.23")
+        self.assertTrue(ctx.flags[decimal.Inexact])
+        self.assertRaises(decimal.InvalidOperation, ctx.quantize, Decimal("1234"), Decimal("0.1"))
+        self.assertRaises(decimal.InvalidOperation, ctx.quantize, Decimal("999.9"), Decimal("1"))
+        self.assertRaises(decimal.InvalidOperation, Decimal(1).quantize, Decimal("Infinity"))
+
+    def test_compare(self):
+        self.assertEqual(Decimal("1.0"), Decimal("1.00"))
+        self.assertEqual(Decimal("0"), Decimal("-0.000"))
+        self.assertLess(Decimal("-1"), Decimal("-0.5"))
+        self.assertLess(Decimal("0.999"), Decimal(1))
+        self.assertGreater(Decimal("1e3"), Decimal("999.99"))
+        self.assertLess(Decimal("12"), Decimal("12.000001"))
+        self.assertEqual(Decimal("2.5"), 2.5)
+        self.assertEqual(sorted([Decimal("10"), Decimal("-2"), Decimal("1.5"), Decimal("1e-3")]),
+                         [Decimal("-2"), Decimal("0.001"), Decimal("1.5"), Decimal("10")])
+        self.assertEqual(max(Decimal("1.10"), Decimal("1.1")).as_tuple().exponent, -2)
+        self.assertFalse(Decimal("NaN") == Decimal("NaN"))
+        self.assertLess(Decimal("-Infinity"), Decimal("-1e999"))
+
+    def test_subclass_and_pickle(self):
+        class MyDecimal(Decimal):
+            pass
+        d = MyDecimal("3.14")
+        self.assertIs(type(d), MyDecimal)
+        self.assertEqual(d, Decimal("3.14"))
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            self.assertEqual(pickle.loads(pickle.dumps(Decimal("-1.50"), protocol=proto)).as_tuple(), (1, (1, 5, 0), -2))
+
+    def test_builtin_types(self):
+        self.assertIs(type(Decimal), type)
+        self.assertIs(type(Context), type)
+        self.assertFalse(hasattr(Decimal("1"), "__dict__"))
+        self.assertEqual(Context.__module__, "decimal")
+        self.assertTrue(issubclass(decimal.DivisionByZero, ZeroDivisionError))
+        self.assertTrue(issubclass(decimal.FloatOperation, TypeError))
+        self.assertTrue(issubclass(decimal.Underflow, decimal.Subnormal))
+        import numbers
+        self.assertIsInstance(Decimal(1), numbers.Number)
+
+    def test_thread_local_context(self):
+        import threading
+        results = []
+
+        def work():
+            decimal.getcontext().prec = 5
+            results.append(str(Decimal(1) / Decimal(3)))
+
+        decimal.getcontext().prec = 28
+        t = threading.Thread(target=work)
+        t.start()
+        t.join()
+        self.assertEqual(results, ["0.33333"])
+        self.assertEqual(decimal.getcontext().prec, 28)
+
+    def test_setcontext(self):
+        saved = decimal.getcontext()
+        try:
+            decimal.setcontext(decimal.BasicContext)
+            self.assertIsNot(decimal.getcontext(), decimal.BasicContext)
+            self.assertEqual(decimal.getcontext().prec, 9)
+            self.assertRaises(TypeError, decimal.setcontext, 1)
+        finally:
+            decimal.setcontext(saved)
+        self.assertIs(decimal.getcontext(), saved)
+
+    def test_exception_args(self):
+        with self.assertRaises(decimal.DivisionByZero) as cm:
+            Decimal(1) / 0
+        self.assertEqual(cm.exception.args, ([decimal.DivisionByZero],))
+        with self.assertRaises(decimal.InvalidOperation) as cm:
+            Decimal("x")
+        self.assertEqual(cm.exception.args, ([decimal.ConversionSyntax],))
+
+    def test_signal_dict(self):
+        ctx = Context()
+        self.assertEqual(len(ctx.traps), 9)
+        self.assertEqual(list(ctx.traps)[0], decimal.InvalidOperation)
+        self.assertTrue(ctx.traps[decimal.DivisionByZero])
+        ctx.traps[decimal.DivisionByZero] = False
+        self.assertFalse(ctx.traps[decimal.DivisionByZero])
+        self.assertRaises(KeyError, ctx.traps.__getitem__, ValueError)
+        self.assertRaises(ValueError, ctx.traps.__delitem__, decimal.Inexact)
+        self.assertEqual(ctx.flags.copy(), dict.fromkeys(ctx.flags, False))
+        ctx.flags = dict.fromkeys(ctx.flags, True)
+        self.assertTrue(all(ctx.flags.values()))
+        self.assertRaises(AttributeError, delattr, ctx, "prec")
+
+    def test_context(self):
+        ctx = Context(prec=5, traps=[decimal.Overflow])
+        self.assertEqual(repr(ctx), "Context(prec=5, rounding=ROUND_HALF_EVEN, Emin=-999999, Emax=999999, "
+                                    "capitals=1, clamp=0, flags=[], traps=[Overflow])")
+        self.assertEqual(str(ctx.create_decimal("1.234567")), "1.2346")
+        self.assertTrue(ctx.flags[decimal.Inexact])
+        self.assertEqual(str(ctx.create_decimal_from_float(0.1)), "0.10000")
+        self.assertEqual(repr(pickle.loads(pickle.dumps(ctx))), repr(ctx))
+        self.assertRaises(ValueError, setattr, ctx, "prec", 0)
+        self.assertRaises(TypeError, setattr, ctx, "rounding", 1)
+        self.assertEqual(ctx.copy().prec, 5)
+
+
+if __name__ == '__main__':
+    unittest.main()
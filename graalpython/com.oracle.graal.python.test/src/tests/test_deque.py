@@ -629,3 +629,43 @@ class TestBasic(unittest.TestCase):
         klass = type(reversed(deque()))
         for s in ('abcd', range(2000)):
             self.assertEqual(list(klass(deque(s))), list(reversed(s)))
+
+    def test_insert(self):
+        for i in range(-10, 10):
+            d = deque('abcdefgh')
+            s = list('abcdefgh')
+            d.insert(i, 'X')
+            s.insert(i, 'X')
+            self.assertEqual(list(d), s)
+
+        d = deque('abc', maxlen=3)
+        self.assertRaises(IndexError, d.insert, 1, 'X')
+        self.assertEqual(list(d), list('abc'))
+
+    def test_iterator_mutation(self):
+        d = deque(range(10))
+        it = iter(d)
+        next(it)
+        d.append(10)
+        self.assertRaises(RuntimeError, next, it)
+
+        it = reversed(d)
+        self.assertEqual(it.__length_hint__(), 11)
+        self.assertEqual(next(it), 10)
+        self.assertEqual(it.__length_hint__(), 10)
+
+    def test_rotate_wraparound(self):
+        # fill the ring buffer completely, then make it wrap around
+        d = deque(range(16))
+        s = list(range(16))
+        for n in (3, -5, 16, -17, 100):
+            d.rotate(n)
+            k = n % len(s)
+            s = s[-k:] + s[:-k] if k else s
+            self.assertEqual(list(d), s)
+        d.popleft()
+        d.append(16)
+        d.rotate(7)
+        s = s[1:] + [16]
+        s = s[-7:] + s[:-7]
+        self.assertEqual(list(d), s)
@@ -52,6 +52,7 @@ import tempfile
 import time
 import unittest
 import sys
+import threading
 
 PREFIX = 'select_graalpython_test'
 TEMP_DIR = tempfile.gettempdir()
@@ -110,3 +111,30 @@ class FcntlTests(unittest.TestCase):
         finally:
             fcntl.flock(file, fcntl.LOCK_UN)
             os.close(file)
+
+    @unittest.skipUnless(__graalpython__.posix_module_backend() != 'java', 'No support in Truffle API (GR-28740)')
+    def test_flock_blocking_releases_gil(self):
+        os.close(os.open(TEST_FILENAME_FULL_PATH, os.O_WRONLY | os.O_CREAT))
+        file1 = os.open(TEST_FILENAME_FULL_PATH, os.O_WRONLY)
+        file2 = os.open(TEST_FILENAME_FULL_PATH, os.O_WRONLY)
+        acquired = threading.Event()
+
+        def locker():
+            fcntl.flock(file2, fcntl.LOCK_EX)
+            acquired.set()
+            fcntl.flock(file2, fcntl.LOCK_UN)
+
+        try:
+            fcntl.flock(file1, fcntl.LOCK_EX)
+            t = threading.Thread(target=locker)
+            t.start()
+            # the other thread is now blocked in flock, this only continues if it let go of the GIL
+            time.sleep(0.25)
+            self.assertFalse(acquired.is_set())
+            fcntl.flock(file1, fcntl.LOCK_UN)
+            t.join(10)
+            self.assertTrue(acquired.is_set())
+        finally:
+            fcntl.flock(file1, fcntl.LOCK_UN)
+            os.close(file1)
+            os.close(file2)
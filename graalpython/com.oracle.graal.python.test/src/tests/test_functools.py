@@ -0,0 +1,175 @@
+# Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import functools
+import pickle
+import unittest
+
+
+def capture(*args, **kw):
+    return args, kw
+
+
+class PartialTests(unittest.TestCase):
+
+    def test_call(self):
+        p = functools.partial(capture, 1, 2, a=10)
+        self.assertEqual(p(3, b=20), ((1, 2, 3), {'a': 10, 'b': 20}))
+        self.assertEqual(p(a=30), ((1, 2), {'a': 30}))
+        self.assertEqual(p.func, capture)
+        self.assertEqual(p.args, (1, 2))
+        self.assertEqual(p.keywords, {'a': 10})
+
+    def test_flatten(self):
+        p = functools.partial(functools.partial(capture, 1, a=1), 2, b=2)
+        self.assertIs(p.func, capture)
+        self.assertEqual(p.args, (1, 2))
+        self.assertEqual(p.keywords, {'a': 1, 'b': 2})
+
+    def test_errors(self):
+        self.assertRaises(TypeError, functools.partial)
+        self.assertRaises(TypeError, functools.partial, 1)
+        p = functools.partial(capture)
+        with self.assertRaises(AttributeError):
+            p.func = len
+
+    def test_repr(self):
+        p = functools.partial(capture, 1, a=2)
+        self.assertEqual(repr(p), "functools.partial(%r, 1, a=2)" % capture)
+
+        class MyPartial(functools.partial):
+            pass
+        self.assertEqual(repr(MyPartial(capture)), "MyPartial(%r)" % capture)
+
+    def test_pickle(self):
+        p = functools.partial(capture, 1, a=2)
+        p.attr = 'x'
+        q = pickle.loads(pickle.dumps(p))
+        self.assertEqual(q(3), ((1, 3), {'a': 2}))
+        self.assertEqual(q.attr, 'x')
+
+    def test_setstate(self):
+        p = functools.partial(capture)
+        p.__setstate__((capture, (1,), {'a': 2}, None))
+        self.assertEqual(p(), ((1,), {'a': 2}))
+        self.assertRaises(TypeError, p.__setstate__, [capture, (), None, None])
+        self.assertRaises(TypeError, p.__setstate__, (capture, (), None))
+        self.assertRaises(TypeError, p.__setstate__, (capture, [], None, None))
+
+
+class ReduceTests(unittest.TestCase):
+
+    def test_reduce(self):
+        add = lambda a, b: a + b
+        self.assertEqual(functools.reduce(add, [1, 2, 3]), 6)
+        self.assertEqual(functools.reduce(add, [1, 2, 3], 10), 16)
+        self.assertEqual(functools.reduce(add, [], 10), 10)
+        self.assertEqual(functools.reduce(add, iter(['a', 'b'])), 'ab')
+        self.assertIsNone(functools.reduce(add, [], None))
+        self.assertRaises(TypeError, functools.reduce, add, [])
+
+
+class CmpToKeyTests(unittest.TestCase):
+
+    def test_sort(self):
+        key = functools.cmp_to_key(lambda a, b: b - a)
+        self.assertEqual(sorted([3, 1, 2], key=key), [3, 2, 1])
+        self.assertEqual(key(3).obj, 3)
+        self.assertTrue(key(1) > key(2))
+        self.assertTrue(key(1) == key(1))
+        self.assertRaises(TypeError, lambda: key(1) < 1)
+        self.assertRaises(TypeError, hash, key(1))
+
+
+class LruCacheTests(unittest.TestCase):
+
+    def test_bounded(self):
+        calls = []
+
+        @functools.lru_cache(maxsize=2)
+        def f(x):
+            calls.append(x)
+            return x * 2
+
+        self.assertEqual([f(1), f(2), f(1), f(3), f(2)], [2, 4, 2, 6, 4])
+        self.assertEqual(calls, [1, 2, 3, 2])
+        info = f.cache_info()
+        self.assertEqual((info.hits, info.misses, info.maxsize, info.currsize), (1, 4, 2, 2))
+        f.cache_clear()
+        self.assertEqual(f.cache_info(), (0, 0, 2, 0))
+
+    def test_unbounded(self):
+        @functools.lru_cache(maxsize=None)
+        def f(*args, **kw):
+            return len(args) + len(kw)
+
+        self.assertEqual(f(1, a=2), 2)
+        self.assertEqual(f(1, a=2), 2)
+        self.assertEqual(f(1, b=2), 2)
+        self.assertEqual(f.cache_info(), (1, 2, None, 2))
+
+    def test_typed(self):
+        @functools.lru_cache(typed=True)
+        def f(x):
+            return type(x)
+
+        self.assertIs(f(1), int)
+        self.assertIs(f(1.0), float)
+        self.assertEqual(f.cache_info().currsize, 2)
+
+    def test_zero_size(self):
+        @functools.lru_cache(maxsize=0)
+        def f(x):
+            return x
+
+        f(1)
+        f(1)
+        self.assertEqual(f.cache_info(), (0, 2, 0, 0))
+
+    def test_method(self):
+        class A:
+            @functools.lru_cache()
+            def f(self, x):
+                return (self, x)
+
+        a = A()
+        self.assertEqual(a.f(1), (a, 1))
+        self.assertEqual(a.f(1), (a, 1))
+        self.assertEqual(A.f.cache_info().hits, 1)
+        self.assertEqual(A.f.__wrapped__.__name__, 'f')
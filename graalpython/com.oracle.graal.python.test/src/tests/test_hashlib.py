@@ -0,0 +1,119 @@
+# Copyright (c) 2018, 2021, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+
+import hashlib
+import hmac
+import unittest
+
+
+class HashlibTests(unittest.TestCase):
+
+    def test_known_digests(self):
+        data = b"Nobody inspects the spammish repetition"
+        self.assertEqual(hashlib.md5(data).hexdigest(), "bb649c83dd1ea5c9d9dec9a18df0ffe9")
+        self.assertEqual(hashlib.sha1(b"abc").hexdigest(), "a9993e364706816aba3e25717850c26c9cd0d89d")
+        self.assertEqual(hashlib.sha224(data).hexdigest(), "a4337bc45a8fc544c03f52dc550cd6e1e87021bc896588bd79e901e2")
+        self.assertEqual(hashlib.sha256(b"").hexdigest(), "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855")
+        self.assertEqual(hashlib.new("SHA256", b"abc").digest(), bytes.fromhex("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"))
+        self.assertEqual(hashlib.sha512(b"abc").hexdigest()[:32], "ddaf35a193617abacc417349ae204131")
+
+    def test_attributes(self):
+        h = hashlib.sha256()
+        self.assertEqual(h.name, "sha256")
+        self.assertEqual(h.digest_size, 32)
+        self.assertEqual(h.block_size, 64)
+        h = hashlib.new("sha384")
+        self.assertEqual(h.digest_size, 48)
+        self.assertEqual(h.block_size, 128)
+
+    def test_update_and_copy(self):
+        h = hashlib.sha1(b"a")
+        c = h.copy()
+        h.update(b"bc")
+        self.assertEqual(h.hexdigest(), "a9993e364706816aba3e25717850c26c9cd0d89d")
+        self.assertEqual(c.hexdigest(), hashlib.sha1(b"a").hexdigest())
+        # digest() does not reset the state
+        self.assertEqual(h.digest(), h.digest())
+
+    def test_buffer_inputs(self):
+        data = bytes(range(256)) * 100
+        expected = hashlib.sha256(data).digest()
+        self.assertEqual(hashlib.sha256(bytearray(data)).digest(), expected)
+        self.assertEqual(hashlib.sha256(memoryview(data)).digest(), expected)
+        h = hashlib.sha256(memoryview(b"xx" + data)[2:])
+        self.assertEqual(h.digest(), expected)
+        h = hashlib.sha256()
+        for i in range(0, len(data), 3000):
+            h.update(data[i:i + 3000])
+        self.assertEqual(h.digest(), expected)
+        import array
+        self.assertEqual(hashlib.md5(array.array('b', [1, 2, 3])).digest(), hashlib.md5(b"\x01\x02\x03").digest())
+
+    def test_errors(self):
+        self.assertRaises(TypeError, hashlib.sha256, "str")
+        self.assertRaises(TypeError, hashlib.sha256().update, "str")
+        self.assertRaises(TypeError, hashlib.sha256, 1)
+        self.assertRaises(ValueError, hashlib.new, "no-such-hash")
+
+    def test_sha3(self):
+        if "sha3_256" not in hashlib.algorithms_available:
+            return
+        self.assertEqual(hashlib.new("sha3_256", b"abc").hexdigest(), "3a985da74fe225b2045c172d6bd390bd855f086e3e9d525b46bfe24511431532")
+
+    def test_pbkdf2_hmac(self):
+        self.assertEqual(hashlib.pbkdf2_hmac("sha1", b"password", b"salt", 1).hex(), "0c60c80f961f0e71f3a9b524af6012062fe037a6")
+        self.assertEqual(hashlib.pbkdf2_hmac("sha1", b"password", b"salt", 2).hex(), "ea6c014dc72d6f8ccd1ed92ace1d41f0d8de8957")
+        self.assertEqual(hashlib.pbkdf2_hmac("sha256", b"passwordPASSWORDpassword", b"saltSALTsaltSALTsaltSALTsaltSALTsalt", 4096, 40).hex(),
+                         "348c89dbcbd32b2f32d814b8116e84cf2b17347ebc1800181c4e2a1fb8dd53e1c635518c7dac47e9")
+        self.assertRaises(ValueError, hashlib.pbkdf2_hmac, "sha1", b"p", b"s", 0)
+        self.assertRaises(ValueError, hashlib.pbkdf2_hmac, "sha1", b"p", b"s", 1, 0)
+        self.assertRaises(ValueError, hashlib.pbkdf2_hmac, "no-such-hash", b"p", b"s", 1)
+
+    def test_hmac_digest(self):
+        key = b"key"
+        msg = b"The quick brown fox jumps over the lazy dog"
+        self.assertEqual(hmac.digest(key, msg, "sha256").hex(), "f7bc83f430538424b13298e6aa6fb143ef4d59a14946175997479dbc2d1a3cd8")
+        self.assertEqual(hmac.digest(key, msg, "md5"), hmac.new(key, msg, "md5").digest())
+        long_key = b"k" * 200
+        self.assertEqual(hmac.digest(long_key, msg * 100, "sha512"), hmac.new(long_key, msg * 100, "sha512").digest())
+
+
+if __name__ == '__main__':
+    unittest.main()
@@ -0,0 +1,165 @@
+# Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import bisect
+import heapq
+import random
+import unittest
+
+
+def check_invariant(test, heap, max_heap=False):
+    for pos, item in enumerate(heap):
+        if pos:
+            parent = heap[(pos - 1) >> 1]
+            if max_heap:
+                test.assertTrue(item <= parent)
+            else:
+                test.assertTrue(parent <= item)
+
+
+class HeapqTests(unittest.TestCase):
+
+    def check_heapsort(self, data):
+        heap = []
+        for item in data:
+            heapq.heappush(heap, item)
+            check_invariant(self, heap)
+        self.assertEqual([heapq.heappop(heap) for _ in range(len(heap))], sorted(data))
+        heap = list(data)
+        heapq.heapify(heap)
+        check_invariant(self, heap)
+        self.assertEqual([heapq.heappop(heap) for _ in range(len(heap))], sorted(data))
+
+    def test_storages(self):
+        rnd = random.Random(42)
+        self.check_heapsort([rnd.randrange(1000) for _ in range(200)])
+        self.check_heapsort([rnd.randrange(2**40) for _ in range(200)])
+        self.check_heapsort([rnd.random() for _ in range(200)])
+        self.check_heapsort([str(rnd.randrange(1000)) for _ in range(200)])
+        self.check_heapsort([(rnd.randrange(10), i) for i in range(200)])
+        self.check_heapsort([(rnd.random(), str(i)) for i in range(200)])
+        self.check_heapsort([1, 2.5, 2**70, -3, True])
+
+    def test_generalizing_push(self):
+        heap = [3, 1, 2]
+        heapq.heapify(heap)
+        heapq.heappush(heap, 0.5)
+        heapq.heappush(heap, 2**80)
+        self.assertEqual([heapq.heappop(heap) for _ in range(5)], [0.5, 1, 2, 3, 2**80])
+
+    def test_replace_and_pushpop(self):
+        heap = [1, 3, 5]
+        self.assertEqual(heapq.heapreplace(heap, 4), 1)
+        self.assertEqual(heap[0], 3)
+        self.assertEqual(heapq.heappushpop(heap, 0), 0)
+        self.assertEqual(heapq.heappushpop(heap, 10), 3)
+        self.assertEqual(sorted(heap), [4, 5, 10])
+        self.assertEqual(heapq.heappushpop([], 'x'), 'x')
+        self.assertRaises(IndexError, heapq.heapreplace, [], 1)
+        self.assertRaises(IndexError, heapq.heappop, [])
+
+    def test_max_heap(self):
+        data = [5, 1, 8, 3, 9, 2]
+        heap = list(data)
+        heapq._heapify_max(heap)
+        check_invariant(self, heap, max_heap=True)
+        self.assertEqual(heapq._heapreplace_max(heap, 0), 9)
+        self.assertEqual([heapq._heappop_max(heap) for _ in range(len(heap))], [8, 5, 3, 2, 1, 0])
+        self.assertEqual(heapq.nlargest(3, data), [9, 8, 5])
+        self.assertEqual(list(heapq.merge([1, 4], [2, 3], reverse=False)), [1, 2, 3, 4])
+
+    def test_errors(self):
+        self.assertRaises(TypeError, heapq.heappush, (), 1)
+        self.assertRaises(TypeError, heapq.heapify, None)
+        self.assertRaises(TypeError, heapq.heappush, [1], 'a')
+
+        heap = []
+
+        class Evil:
+            def __lt__(self, other):
+                heap.clear()
+                return False
+
+        heap.extend([Evil(), Evil()])
+        self.assertRaises(RuntimeError, heapq.heappush, heap, Evil())
+
+
+class BisectTests(unittest.TestCase):
+
+    def check_bisect(self, data, probes):
+        for x in probes:
+            for lo, hi in ((0, None), (1, len(data) - 1)):
+                expected_left = lo
+                while expected_left < (len(data) if hi is None else hi) and data[expected_left] < x:
+                    expected_left += 1
+                expected_right = expected_left
+                while expected_right < (len(data) if hi is None else hi) and not x < data[expected_right]:
+                    expected_right += 1
+                self.assertEqual(bisect.bisect_left(data, x, lo, hi), expected_left)
+                self.assertEqual(bisect.bisect_right(data, x, lo, hi), expected_right)
+
+    def test_storages(self):
+        self.check_bisect([1, 2, 2, 2, 5, 7], [0, 1, 2, 3, 7, 8, 2.5])
+        self.check_bisect([1, 2, 2**40, 2**40, 2**41], [0, 2, 2**40, 2**42])
+        self.check_bisect([0.5, 1.5, 1.5, 3.0], [0.0, 1.5, 2, 4.0])
+        self.check_bisect(['a', 'b', 'b', 'd'], ['', 'b', 'c', 'e'])
+        self.check_bisect([(1, 'a'), (1, 'b'), (2, 'a')], [(1, 'a'), (1, 'c'), (0,), (3,)])
+        self.check_bisect((1, 3, 5), [0, 3, 6])
+
+    def test_insort(self):
+        data = []
+        for x in [5, 1, 4, 1, 2.5]:
+            bisect.insort(data, x)
+        self.assertEqual(data, [1, 1, 2.5, 4, 5])
+        bisect.insort_left(data, 1)
+        self.assertEqual(data, [1, 1, 1, 2.5, 4, 5])
+
+        class MyList(list):
+            def insert(self, index, item):
+                list.insert(self, index, item * 10)
+
+        lst = MyList([1, 2, 3])
+        bisect.insort(lst, 2)
+        self.assertEqual(lst, [1, 2, 20, 3])
+
+    def test_errors(self):
+        self.assertRaises(ValueError, bisect.bisect_left, [1, 2], 1, -1)
+        self.assertRaises(TypeError, bisect.bisect_right, [1, 2], 'a')
+        self.assertRaises(IndexError, bisect.bisect_left, [1, 2], 5, 0, 10)
+        self.assertEqual(bisect.bisect_right([1, 2], 1, 0, None), 1)
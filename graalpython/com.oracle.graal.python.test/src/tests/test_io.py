@@ -263,5 +263,130 @@ class IOBaseTests(unittest.TestCase):
         self.assertRaises(AttributeError, _io._IOBase().writelines, ['aaa', 'bbb'])
 
 
+class ReadintoTests(unittest.TestCase):
+
+    def setUp(self):
+        import tempfile
+        self.data = bytes(range(256)) * 64
+        fd, self.path = tempfile.mkstemp()
+        with _io.FileIO(fd, 'w') as f:
+            f.write(self.data)
+
+    def tearDown(self):
+        import os
+        os.unlink(self.path)
+
+    def test_fileio_readinto(self):
+        with _io.FileIO(self.path, 'r') as f:
+            buf = bytearray(100)
+            self.assertEqual(100, f.readinto(buf))
+            self.assertEqual(self.data[:100], buf)
+            view = memoryview(buf)[10:20]
+            self.assertEqual(10, f.readinto(view))
+            self.assertEqual(self.data[100:110], buf[10:20])
+            self.assertEqual(self.data[:10], buf[:10])
+            f.seek(len(self.data) - 5)
+            self.assertEqual(5, f.readinto(buf))
+            self.assertEqual(0, f.readinto(buf))
+
+    def test_buffered_read_larger_than_buffer(self):
+        with _io.open(self.path, 'rb', buffering=1024) as f:
+            self.assertEqual(self.data[:10], f.read(10))
+            self.assertEqual(self.data[10:5000], f.read(4990))
+            buf = bytearray(5000)
+            self.assertEqual(5000, f.readinto(memoryview(buf)))
+            self.assertEqual(self.data[5000:10000], buf)
+            self.assertEqual(self.data[10000:], f.read())
+            self.assertEqual(len(self.data), f.tell())
+
+    def test_buffered_readinto_subclass(self):
+        class MyFileIO(_io.FileIO):
+            def readinto(self, b):
+                return super().readinto(b)
+
+        with _io.BufferedReader(MyFileIO(self.path, 'r'), 512) as f:
+            buf = bytearray(2000)
+            self.assertEqual(2000, f.readinto(buf))
+            self.assertEqual(self.data[:2000], buf)
+            self.assertEqual(self.data[2000:], f.read())
+
+
+class TextIOWrapperDecodeTests(unittest.TestCase):
+
+    def setUp(self):
+        import tempfile
+        self.text = ''.join('line %d \u00e4\u20ac\U0001f600\r\nnext\rlast\n' % i for i in range(300))
+        fd, self.path = tempfile.mkstemp()
+        with _io.FileIO(fd, 'w') as f:
+            f.write(self.text.encode('utf-8'))
+
+    def tearDown(self):
+        import os
+        os.unlink(self.path)
+
+    def open(self, chunk_size, **kwargs):
+        f = _io.open(self.path, 'r', encoding='utf-8', buffering=100, **kwargs)
+        f._CHUNK_SIZE = chunk_size
+        return f
+
+    def test_read_translated(self):
+        expected = self.text.replace('\r\n', '\n').replace('\r', '\n')
+        for chunk_size in (1, 3, 7, 64, 8192):
+            with self.open(chunk_size) as f:
+                self.assertEqual(expected[:5], f.read(5))
+                self.assertEqual(expected[5:], f.read())
+                self.assertEqual(('\r', '\n', '\r\n'), f.newlines)
+
+    def test_readlines_untranslated(self):
+        expected = self.text.splitlines(keepends=True)
+        for chunk_size in (1, 5, 8192):
+            with self.open(chunk_size, newline='') as f:
+                self.assertEqual(expected, list(f))
+            with self.open(chunk_size, newline='\r\n') as f:
+                self.assertEqual(self.text.split('\r\n')[1] + '\r\n', f.readlines()[1])
+
+    def test_tell_seek(self):
+        with self.open(5) as f:
+            positions = []
+            lines = []
+            while True:
+                positions.append(f.tell())
+                line = f.readline()
+                if not line:
+                    break
+                lines.append(line)
+            for i in (0, 1, 17, 300, len(lines) - 1):
+                f.seek(positions[i])
+                self.assertEqual(lines[i], f.readline())
+            f.seek(positions[3])
+            f.read(3)
+            pos = f.tell()
+            rest = f.read()
+            f.seek(pos)
+            self.assertEqual(rest, f.read())
+
+    def test_latin1_ascii(self):
+        data = bytes(range(256)) * 10
+        for encoding in ('latin-1', 'iso8859_1', 'ascii', 'us-ascii'):
+            f = _io.TextIOWrapper(_io.BytesIO(data), encoding=encoding, newline='')
+            f._CHUNK_SIZE = 7
+            if encoding.endswith('ascii'):
+                self.assertEqual(data[:128].decode('ascii'), f.read(128))
+                self.assertRaises(UnicodeDecodeError, f.read)
+            else:
+                self.assertEqual(data.decode('latin-1'), f.read())
+
+    def test_malformed(self):
+        data = 'abc\u20ac'.encode('utf-8') * 10 + b'\xff' + b'xyz'
+        f = _io.TextIOWrapper(_io.BytesIO(data), encoding='utf-8')
+        f._CHUNK_SIZE = 6
+        self.assertEqual('abc\u20ac' * 2, f.read(8))
+        self.assertRaises(UnicodeDecodeError, f.read)
+        f = _io.TextIOWrapper(_io.BytesIO(b'ab\xe2\x82'), encoding='utf-8')
+        self.assertRaises(UnicodeDecodeError, f.read)
+        f = _io.TextIOWrapper(_io.BytesIO(b'ab\xe2\x82'), encoding='utf-8', errors='replace')
+        self.assertEqual('ab\ufffd', f.read())
+
+
 if __name__ == '__main__':
     unittest.main()
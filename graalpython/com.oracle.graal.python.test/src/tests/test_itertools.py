@@ -101,3 +101,121 @@ class CombinationsTests(unittest.TestCase):
 
         data = [None, None, None, 20]
         assert list(map(lambda x: x[0], list(groupby(data)))) == [None, 20]
+
+
+class IteratorTests(unittest.TestCase):
+
+    def test_repeat(self):
+        self.assertEqual(list(repeat('a', 3)), ['a', 'a', 'a'])
+        self.assertEqual(list(repeat('a', -1)), [])
+        self.assertEqual(list(zip(range(3), repeat('b'))), [(0, 'b'), (1, 'b'), (2, 'b')])
+        self.assertEqual(repeat(1, 5).__length_hint__(), 5)
+        self.assertRaises(TypeError, repeat(1).__length_hint__)
+        self.assertRaises(TypeError, repeat, 1, 'a')
+        self.assertEqual(repr(repeat('a', 2)), "repeat('a', 2)")
+        self.assertEqual(repr(repeat('a')), "repeat('a')")
+        self.assertEqual(repeat(1, 2 ** 31).__length_hint__(), 2 ** 31)
+        self.assertEqual(repr(repeat('a', 2 ** 40)), "repeat('a', %d)" % 2 ** 40)
+        self.assertRaises(OverflowError, repeat, 1, 2 ** 64)
+
+    def test_chain(self):
+        self.assertEqual(list(chain('ab', [], (1, 2))), ['a', 'b', 1, 2])
+        self.assertEqual(list(chain.from_iterable(['ab', 'cd'])), ['a', 'b', 'c', 'd'])
+        self.assertRaises(TypeError, list, chain(1))
+
+    def test_islice(self):
+        self.assertEqual(list(islice(range(10), 3)), [0, 1, 2])
+        self.assertEqual(list(islice(range(10), 2, 8, 3)), [2, 5])
+        self.assertEqual(list(islice(range(10), 5, None)), [5, 6, 7, 8, 9])
+        self.assertRaises(ValueError, islice, range(10), -1)
+        self.assertRaises(ValueError, islice, range(10), 0, 5, 0)
+        it = iter(range(10))
+        self.assertEqual(list(islice(it, 3)), [0, 1, 2])
+        self.assertEqual(next(it), 3)
+        self.assertEqual(list(islice(range(10), 2 ** 40, None)), [])
+        self.assertEqual(list(islice(range(10), 8, 2 ** 40)), [8, 9])
+        self.assertEqual(list(islice(range(10), 0, None, 2 ** 40)), [0])
+        it = islice(range(2 ** 40), 2 ** 35, None, 2 ** 36)
+        self.assertEqual(it.__reduce__()[1][1:], (2 ** 35, None, 2 ** 36))
+
+    def test_count(self):
+        self.assertEqual(list(islice(count(), 3)), [0, 1, 2])
+        self.assertEqual(list(islice(count(10, 2.5), 3)), [10, 12.5, 15.0])
+        self.assertEqual(repr(count(3)), 'count(3)')
+        self.assertEqual(repr(count(3, 2)), 'count(3, 2)')
+        self.assertRaises(TypeError, count, 'a')
+
+    def test_accumulate(self):
+        self.assertEqual(list(accumulate([1, 2, 3, 4])), [1, 3, 6, 10])
+        self.assertEqual(list(accumulate([1, 2, 3], initial=10)), [10, 11, 13, 16])
+        self.assertEqual(list(accumulate([3, 1, 2], max)), [3, 3, 3])
+        self.assertEqual(list(accumulate([])), [])
+
+    def test_filters(self):
+        self.assertEqual(list(dropwhile(lambda x: x < 3, [1, 2, 3, 1])), [3, 1])
+        self.assertEqual(list(takewhile(lambda x: x < 3, [1, 2, 3, 1])), [1, 2])
+        self.assertEqual(list(filterfalse(None, [0, 1, '', 'a'])), [0, ''])
+        self.assertEqual(list(compress('abcd', [1, 0, 1])), ['a', 'c'])
+        self.assertEqual(list(starmap(pow, [(2, 3), (3, 2)])), [8, 9])
+
+    def test_zip_longest(self):
+        self.assertEqual(list(zip_longest('ab', 'xyz')), [('a', 'x'), ('b', 'y'), (None, 'z')])
+        self.assertEqual(list(zip_longest('ab', 'x', fillvalue=0)), [('a', 'x'), ('b', 0)])
+        self.assertEqual(list(zip_longest()), [])
+
+    def test_cycle(self):
+        self.assertEqual(list(islice(cycle('abc'), 7)), ['a', 'b', 'c', 'a', 'b', 'c', 'a'])
+        self.assertEqual(list(cycle([])), [])
+
+    def test_product(self):
+        self.assertEqual(list(product('ab', range(2))), [('a', 0), ('a', 1), ('b', 0), ('b', 1)])
+        self.assertEqual(list(product([0, 1], repeat=2)), [(0, 0), (0, 1), (1, 0), (1, 1)])
+        self.assertEqual(list(product()), [()])
+        self.assertEqual(list(product('ab', [])), [])
+        self.assertRaises(ValueError, product, 'ab', repeat=-1)
+
+    def test_permutations(self):
+        self.assertEqual(list(permutations(range(3), 2)), [(0, 1), (0, 2), (1, 0), (1, 2), (2, 0), (2, 1)])
+        self.assertEqual(len(list(permutations(range(4)))), 24)
+        self.assertEqual(list(permutations('ab', 3)), [])
+        self.assertRaises(ValueError, permutations, 'ab', -1)
+        self.assertRaises(TypeError, permutations, 'ab', 'x')
+
+    def test_tee(self):
+        a, b = tee(range(300))
+        self.assertEqual(list(a), list(range(300)))
+        self.assertEqual(list(b), list(range(300)))
+        a, b, c = tee('abc', 3)
+        self.assertEqual(next(a), 'a')
+        d = a.__copy__()
+        self.assertEqual(list(d), ['b', 'c'])
+        self.assertEqual(list(a), ['b', 'c'])
+        self.assertEqual(list(c), ['a', 'b', 'c'])
+        self.assertEqual(tee('abc', 0), ())
+        self.assertRaises(ValueError, tee, 'abc', -1)
+
+    def test_reduce(self):
+        def roundtrip(it):
+            cls, args, *state = it.__reduce__()
+            copy = cls(*args)
+            if state:
+                copy.__setstate__(state[0])
+            return copy
+        it = islice(range(10), 2, 8, 2)
+        next(it)
+        self.assertEqual(list(roundtrip(it)), [4, 6])
+        it = cycle('ab')
+        next(it)
+        self.assertEqual(list(islice(roundtrip(it), 3)), ['b', 'a', 'b'])
+        it = product('ab', repeat=2)
+        next(it)
+        self.assertEqual(list(roundtrip(it)), [('a', 'b'), ('b', 'a'), ('b', 'b')])
+        it = permutations('abc', 2)
+        next(it)
+        self.assertEqual(list(roundtrip(it))[:2], [('a', 'c'), ('b', 'a')])
+        it = accumulate([1, 2, 3])
+        next(it)
+        self.assertEqual(list(roundtrip(it)), [3, 6])
+        it = count(5)
+        next(it)
+        self.assertEqual(next(roundtrip(it)), 6)
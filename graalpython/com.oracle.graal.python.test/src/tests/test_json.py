@@ -83,3 +83,45 @@ class JsonTest(unittest.TestCase):
             1521583201347000000,
             10,
         }
+
+    def test_roundtrip(self):
+        import json
+        data = {"a": [1, 2.5, -3, 1 << 70, True, False, None], "b": {"c": "xé𝄞\n\"", "d": []}, "e": {}}
+        for ensure_ascii in (True, False):
+            assert json.loads(json.dumps(data, ensure_ascii=ensure_ascii)) == data
+        assert json.dumps(data, sort_keys=True, separators=(',', ':')) == \
+            '{"a":[1,2.5,-3,1180591620717411303424,true,false,null],"b":{"c":"x\\u00e9\\ud834\\udd1e\\n\\"","d":[]},"e":{}}'
+
+    def test_dumps_keys(self):
+        import json
+        assert json.dumps({1: 1, 2.5: 2, False: 3, None: 4}) == '{"1": 1, "2.5": 2, "false": 3, "null": 4}'
+        assert json.dumps({(1,): 1, "a": 2}, skipkeys=True) == '{"a": 2}'
+        self.assertRaises(TypeError, json.dumps, {(1,): 1})
+
+    def test_dumps_errors(self):
+        import json
+        lst = []
+        lst.append(lst)
+        self.assertRaises(ValueError, json.dumps, lst)
+        self.assertRaises(ValueError, json.dumps, float('nan'), allow_nan=False)
+        assert json.dumps([float('inf'), float('-inf')]) == '[Infinity, -Infinity]'
+        assert json.dumps(object(), default=lambda o: "obj") == '"obj"'
+
+    def test_loads_hooks(self):
+        import json
+        from collections import OrderedDict
+        assert json.loads('{"b": 1, "a": 2}', object_pairs_hook=list) == [("b", 1), ("a", 2)]
+        assert json.loads('{"a": 1}', object_hook=lambda d: len(d)) == 1
+        assert json.loads('[1.5, 2]', parse_float=str, parse_int=str) == ["1.5", "2"]
+        assert json.loads('[NaN]', parse_constant=lambda c: c) == ["NaN"]
+        assert isinstance(json.loads('{"a": 1}', object_pairs_hook=OrderedDict), OrderedDict)
+
+    def test_loads_errors(self):
+        import json
+        for doc, pos in (('[1,', 3), ('{"a" 1}', 5), ('"abc', 0), ('[1 2]', 3), ('"\\x"', 1), ('', 0)):
+            try:
+                json.loads(doc)
+            except json.JSONDecodeError as e:
+                assert e.pos == pos, (doc, e.pos)
+            else:
+                assert False, doc
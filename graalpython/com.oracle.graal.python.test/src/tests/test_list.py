@@ -729,6 +729,68 @@ class ListTest(list_tests.CommonTest):
         l.extend(l)
         self.assertEqual([1,2,3,4,10,20,30,40], l)
 
+    def test_sort_key_reverse(self):
+        records = [(3, 'c'), (1, 'a'), (2, 'b'), (1, 'z'), (3, 'a')]
+        l = list(records)
+        l.sort(key=lambda r: r[0])
+        self.assertEqual([(1, 'a'), (1, 'z'), (2, 'b'), (3, 'c'), (3, 'a')], l)
+        l = list(records)
+        l.sort(key=lambda r: r[0], reverse=True)
+        self.assertEqual([(3, 'c'), (3, 'a'), (2, 'b'), (1, 'a'), (1, 'z')], l)
+        l = list(records)
+        l.sort()
+        self.assertEqual(sorted(records), l)
+        self.assertEqual(['C', 'b', 'a'], sorted(['a', 'C', 'b'], key=str.lower, reverse=True))
+        self.assertEqual([3.5, 2.0, -1.0], sorted([2.0, -1.0, 3.5], reverse=True))
+
+    def test_sort_large(self):
+        import random
+        r = random.Random(42)
+        data = [(r.randrange(100), i) for i in range(2000)]
+        l = list(data)
+        l.sort(key=lambda x: x[0])
+        self.assertEqual(l, sorted(data, key=lambda x: (x[0], x[1])))
+        l.sort(key=lambda x: x[1], reverse=True)
+        self.assertEqual(list(reversed(data)), l)
+        ints = [r.randrange(-1000, 1000) for i in range(3000)]
+        self.assertEqual(sorted(ints, key=lambda x: -x), sorted(ints, reverse=True))
+
+    def test_sort_errors(self):
+        l = [3, 1, 2]
+        self.assertRaises(TypeError, l.sort, 1)
+        self.assertRaises(TypeError, l.sort, foo=1)
+        self.assertRaises(TypeError, [1, 'a', 2].sort)
+
+        def bad_key(x):
+            if x == 2:
+                raise KeyError
+            return x
+        self.assertRaises(KeyError, l.sort, key=bad_key)
+        self.assertEqual([3, 1, 2], l)
+
+        class Cmp:
+            def __init__(self, v):
+                self.v = v
+            def __lt__(self, other):
+                if self.v == 7 or other.v == 7:
+                    raise ValueError
+                return self.v < other.v
+        objs = [Cmp(i) for i in [5, 9, 1, 7, 3, 8, 2]]
+        self.assertRaises(ValueError, objs.sort)
+        self.assertEqual([1, 2, 3, 5, 7, 8, 9], sorted(o.v for o in objs))
+
+    def test_sort_mutation(self):
+        l = [3, 1, 2]
+        seen = []
+
+        def key(x):
+            seen.append(len(l))
+            l.append(x)
+            return x
+        self.assertRaises(ValueError, l.sort, key=key)
+        self.assertEqual(0, seen[0])
+        self.assertEqual([1, 2, 3], l)
+
 class ListCompareTest(CompareTest):
 
     def test_compare(self):
@@ -0,0 +1,103 @@
+# Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+
+import asyncio
+import selectors
+import socket
+import sys
+import threading
+import unittest
+
+
+@unittest.skipUnless(sys.implementation.name == 'graalpython', 'nio_asyncio is specific to GraalPython')
+class NioSelectorTests(unittest.TestCase):
+    def test_register_select(self):
+        import nio_asyncio
+        a, b = socket.socketpair()
+        with nio_asyncio.NioSelector() as sel:
+            key = sel.register(a, selectors.EVENT_READ | selectors.EVENT_WRITE, 'data')
+            self.assertEqual(sel.select(0), [(key, selectors.EVENT_WRITE)])
+            b.send(b'x')
+            self.assertEqual(sel.select(1), [(key, selectors.EVENT_READ | selectors.EVENT_WRITE)])
+            key = sel.modify(a, selectors.EVENT_READ, 'other')
+            self.assertEqual(sel.select(), [(key, selectors.EVENT_READ)])
+            self.assertEqual(key.data, 'other')
+            sel.unregister(a)
+            self.assertEqual(sel.select(0), [])
+            self.assertRaises(KeyError, sel.unregister, a)
+        a.close()
+        b.close()
+
+
+@unittest.skipUnless(sys.implementation.name == 'graalpython', 'nio_asyncio is specific to GraalPython')
+class NioEventLoopTests(unittest.TestCase):
+    def setUp(self):
+        import nio_asyncio
+        self.loop = nio_asyncio.NioEventLoop()
+
+    def tearDown(self):
+        self.loop.close()
+
+    def test_echo(self):
+        async def handle(reader, writer):
+            writer.write((await reader.readline()).upper())
+            await writer.drain()
+            writer.close()
+
+        async def main():
+            server = await asyncio.start_server(handle, '127.0.0.1', 0)
+            port = server.sockets[0].getsockname()[1]
+            result = []
+            for i in range(10):
+                reader, writer = await asyncio.open_connection('127.0.0.1', port)
+                writer.write(b'hello %d\n' % i)
+                result.append(await reader.readline())
+                writer.close()
+            server.close()
+            await server.wait_closed()
+            return result
+
+        self.assertEqual(self.loop.run_until_complete(main()), [b'HELLO %d\n' % i for i in range(10)])
+
+    def test_call_soon_threadsafe_wakes_up_loop(self):
+        fut = self.loop.create_future()
+        t = threading.Timer(0.1, lambda: self.loop.call_soon_threadsafe(fut.set_result, 42))
+        t.start()
+        self.assertEqual(self.loop.run_until_complete(asyncio.wait_for(fut, 10)), 42)
+        t.join()
@@ -66,5 +66,84 @@ class TestPickle(unittest.TestCase):
         assert [16,17,18,19] == [next(teeit2) for i in range(1, 5)]
         assert [16,17,18,19] == [next(teeit) for i in range(1, 5)]
 
+    def test_roundtrip_all_protocols(self):
+        data = [None, True, False, 0, -1, 255, 65536, -2**31, 2**100, -2**70, 1.5, float('inf'),
+                "", "abc", "€\U0001f600\n\\", b"", b"bytes", bytearray(b"ba"), (), (1,), (1, 2, 3, 4),
+                {"a": 1, 2: [3]}, {1, 2}, frozenset([3]), [len, Exception, type(None)]]
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            self.assertEqual(pickle.loads(pickle.dumps(data, protocol=proto)), data)
+
+    def test_memo_and_recursion(self):
+        shared = [1, 2]
+        lst = [shared, shared]
+        lst.append(lst)
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            res = pickle.loads(pickle.dumps(lst, protocol=proto))
+            self.assertIs(res[0], res[1])
+            self.assertIs(res[2], res)
+            t = ([],)
+            t[0].append(t)
+            res = pickle.loads(pickle.dumps(t, protocol=proto))
+            self.assertIs(res[0][0], res)
+
+    def test_file_and_frames(self):
+        import io
+        big = b"x" * 200000
+        obj = [big, "y" * 70000, list(range(10000))]
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            f = io.BytesIO()
+            pickle.dump(obj, f, protocol=proto)
+            pickle.dump("second", f, protocol=proto)
+            self.assertEqual(f.getvalue(), pickle.dumps(obj, protocol=proto) + pickle.dumps("second", protocol=proto))
+            f.seek(0)
+            unpickler = pickle.Unpickler(f)
+            self.assertEqual(unpickler.load(), obj)
+            self.assertEqual(unpickler.load(), "second")
+            self.assertRaises(EOFError, unpickler.load)
+
+    def test_picklebuffer(self):
+        ba = bytearray(b"abcdef")
+        pb = pickle.PickleBuffer(ba)
+        self.assertEqual(bytes(pb.raw()), b"abcdef")
+        self.assertRaises(pickle.PicklingError, pickle.dumps, pb, protocol=4)
+        inband = pickle.loads(pickle.dumps(pb, protocol=5))
+        self.assertEqual(inband, ba)
+        self.assertIsInstance(inband, bytearray)
+
+        buffers = []
+        data = pickle.dumps([pb, pickle.PickleBuffer(b"ro")], protocol=5, buffer_callback=buffers.append)
+        self.assertEqual(len(buffers), 2)
+        res = pickle.loads(data, buffers=buffers)
+        self.assertIs(res[0], buffers[0])
+        self.assertEqual(bytes(res[0]), b"abcdef")
+        self.assertEqual(bytes(res[1]), b"ro")
+        self.assertTrue(memoryview(res[1]).readonly)
+        self.assertRaises(pickle.UnpicklingError, pickle.loads, data)
+        self.assertRaises(pickle.UnpicklingError, pickle.loads, data, buffers=[])
+        pb.release()
+        self.assertRaises(ValueError, pb.raw)
+
+    def test_reduce_and_state(self):
+        import collections
+        for proto in range(pickle.HIGHEST_PROTOCOL + 1):
+            d = collections.OrderedDict(a=1)
+            self.assertEqual(pickle.loads(pickle.dumps(d, protocol=proto)), d)
+            obj = _Stateful(3)
+            self.assertEqual(pickle.loads(pickle.dumps(obj, protocol=proto)).value, 3)
+
+    def test_errors(self):
+        self.assertRaises(EOFError, pickle.loads, b"")
+        self.assertRaises(pickle.UnpicklingError, pickle.loads, b"\x80\x04\x95")
+        self.assertRaises(pickle.UnpicklingError, pickle.loads, b"z")
+        self.assertRaises(ValueError, pickle.dumps, 1, protocol=6)
+        def local():
+            pass
+        self.assertRaises((AttributeError, pickle.PicklingError), pickle.dumps, local)
+
+
+class _Stateful:
+    def __init__(self, value):
+        self.value = value
+
 if __name__ == '__main__':
     unittest.main()
@@ -406,6 +406,54 @@ class WithTempFilesTests(unittest.TestCase):
         self.assertEqual(TEST_FULL_PATH1, os.readlink(TEST_FILENAME2, dir_fd=self.tmp_fd))
         self.assertEqual(os.fsencode(TEST_FULL_PATH1), os.readlink(os.fsencode(TEST_FILENAME2), dir_fd=self.tmp_fd))
 
+    def test_pread_pwrite(self):
+        with open(TEST_FULL_PATH1, os.O_RDWR) as fd:
+            self.assertEqual(6, os.write(fd, b'abcdef'))
+            self.assertEqual(2, os.pwrite(fd, b'XY', 1))
+            self.assertEqual(6, os.lseek(fd, 0, os.SEEK_CUR))   # position is not affected
+            self.assertEqual(b'XYd', os.pread(fd, 3, 1))
+            self.assertEqual(b'', os.pread(fd, 3, 10))
+            self.assertEqual(6, os.lseek(fd, 0, os.SEEK_CUR))
+
+    def test_readv_writev(self):
+        with open(TEST_FULL_PATH1, os.O_RDWR) as fd:
+            self.assertEqual(7, os.writev(fd, [b'abc', bytearray(b'de'), memoryview(b'fg')]))
+            os.lseek(fd, 0, os.SEEK_SET)
+            b1 = bytearray(2)
+            b2 = bytearray(4)
+            b3 = bytearray(5)
+            self.assertEqual(7, os.readv(fd, [b1, memoryview(b2)[1:], b3]))
+            self.assertEqual(b'ab', b1)
+            self.assertEqual(b'\0cde', b2)
+            self.assertEqual(b'fg\0\0\0', b3)
+            with self.assertRaises((TypeError, BufferError)):
+                os.readv(fd, [b'abc'])
+
+    def test_readv_short_read(self):
+        with open(TEST_FULL_PATH1, os.O_RDWR) as fd:
+            os.write(fd, b'abcd')
+            os.lseek(fd, 0, os.SEEK_SET)
+            b1 = bytearray(b'xx')
+            b2 = bytearray(b'yyyyy')
+            b3 = bytearray(b'zzz')
+            self.assertEqual(4, os.readv(fd, [b1, memoryview(b2)[1:], memoryview(b3)[1:]]))
+            self.assertEqual(b'ab', b1)
+            self.assertEqual(b'ycdyy', b2)
+            self.assertEqual(b'zzz', b3)
+
+    @unittest.skipUnless(sys.platform == 'linux', 'sendfile to a regular file is only supported on Linux')
+    def test_sendfile(self):
+        with open(TEST_FULL_PATH1, os.O_RDWR) as fd:
+            os.write(fd, b'0123456789')
+            r, w = os.pipe()
+            with auto_close(r), auto_close(w):
+                self.assertEqual(4, os.sendfile(w, fd, 2, 4))
+                self.assertEqual(b'2345', os.read(r, 10))
+                os.lseek(fd, 7, os.SEEK_SET)
+                self.assertEqual(3, os.sendfile(w, fd, None, 5))
+                self.assertEqual(b'789', os.read(r, 10))
+                self.assertEqual(10, os.lseek(fd, 0, os.SEEK_CUR))
+
 
 class ChdirTests(unittest.TestCase):
 
@@ -1,4 +1,4 @@
-# Copyright (c) 2019, 2021, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # The Universal Permissive License (UPL), Version 1.0
@@ -37,10 +37,60 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
+import queue
+import threading
+import time
+import unittest
 
-class Empty(Exception):
-    'Exception raised by Queue.get(block=0)/get_nowait().'
-    pass
+import _queue
 
 
-SimpleQueue = None
+class SimpleQueueTests(unittest.TestCase):
+
+    def test_put_get(self):
+        q = _queue.SimpleQueue()
+        self.assertTrue(q.empty())
+        self.assertEqual(q.qsize(), 0)
+        for i in range(5):
+            q.put(i)
+        q.put_nowait(None)
+        self.assertFalse(q.empty())
+        self.assertEqual(q.qsize(), 6)
+        self.assertEqual([q.get() for i in range(5)], list(range(5)))
+        self.assertIsNone(q.get_nowait())
+        self.assertTrue(q.empty())
+
+    def test_empty_raises(self):
+        q = _queue.SimpleQueue()
+        self.assertIs(queue.Empty, _queue.Empty)
+        self.assertRaises(_queue.Empty, q.get_nowait)
+        self.assertRaises(_queue.Empty, q.get, False)
+        self.assertRaises(_queue.Empty, q.get, timeout=0)
+        t = time.time()
+        self.assertRaises(_queue.Empty, q.get, timeout=0.05)
+        self.assertGreaterEqual(time.time() - t, 0.04)
+        self.assertRaises(ValueError, q.get, timeout=-1)
+
+    def test_blocking_get(self):
+        q = _queue.SimpleQueue()
+        results = []
+
+        def consumer():
+            for i in range(100):
+                results.append(q.get())
+
+        t = threading.Thread(target=consumer)
+        t.start()
+        for i in range(100):
+            q.put(i, block=True, timeout=None)
+            if i % 10 == 0:
+                time.sleep(0.001)
+        t.join()
+        self.assertEqual(results, list(range(100)))
+
+    def test_queue_module_uses_native(self):
+        self.assertIs(queue.SimpleQueue, _queue.SimpleQueue)
+
+
+if __name__ == '__main__':
+    unittest.main()
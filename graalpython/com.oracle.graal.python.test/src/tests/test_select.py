@@ -37,6 +37,7 @@
 # OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
 # SOFTWARE.
 
+import errno
 import os
 import select
 import sys
@@ -95,3 +96,87 @@ class SelectTests(unittest.TestCase):
             fds = [F(f.fileno()), F(stdout_fd), F(f.fileno())]
             res = select.select(fds, [], [], 1)
             assert res == ([fds[0], fds[2]], [], [])
+
+
+class PollTests(unittest.TestCase):
+    def setUp(self):
+        self.r, self.w = os.pipe()
+
+    def tearDown(self):
+        os.close(self.r)
+        os.close(self.w)
+
+    def test_poll_pipe(self):
+        p = select.poll()
+        p.register(self.r, select.POLLIN)
+        p.register(self.w, select.POLLOUT)
+        self.assertEqual(p.poll(0), [(self.w, select.POLLOUT)])
+        os.write(self.w, b'x')
+        self.assertEqual(sorted(p.poll(1000)), sorted([(self.r, select.POLLIN), (self.w, select.POLLOUT)]))
+        p.unregister(self.w)
+        self.assertEqual(p.poll(), [(self.r, select.POLLIN)])
+        p.modify(self.r, select.POLLOUT)
+        self.assertEqual(p.poll(0), [])
+
+    def test_poll_errors(self):
+        p = select.poll()
+        self.assertRaises(KeyError, p.unregister, self.r)
+        with self.assertRaises(OSError) as cm:
+            p.modify(self.r, select.POLLIN)
+        self.assertEqual(cm.exception.errno, errno.ENOENT)
+        self.assertRaises(TypeError, p.register, 'abc')
+        self.assertRaises(ValueError, p.register, -1)
+        self.assertRaises(ValueError, p.register, self.r, -1)
+        self.assertRaises(OverflowError, p.register, self.r, 1 << 16)
+
+
+@unittest.skipUnless(hasattr(select, 'epoll'), 'epoll is only available on Linux')
+class EpollTests(unittest.TestCase):
+    def setUp(self):
+        self.r, self.w = os.pipe()
+
+    def tearDown(self):
+        os.close(self.r)
+        os.close(self.w)
+
+    def test_epoll_pipe(self):
+        with select.epoll() as ep:
+            ep.register(self.r, select.EPOLLIN)
+            ep.register(self.w, select.EPOLLOUT)
+            self.assertEqual(ep.poll(0), [(self.w, select.EPOLLOUT)])
+            os.write(self.w, b'x')
+            self.assertEqual(sorted(ep.poll(1)), sorted([(self.r, select.EPOLLIN), (self.w, select.EPOLLOUT)]))
+            self.assertEqual(len(ep.poll(1, 1)), 1)
+            ep.unregister(self.w)
+            self.assertEqual(ep.poll(None), [(self.r, select.EPOLLIN)])
+            ep.modify(self.r, select.EPOLLOUT)
+            self.assertEqual(ep.poll(0), [])
+        self.assertTrue(ep.closed)
+
+    def test_epoll_edge_triggered(self):
+        self.assertEqual(select.EPOLLET, 1 << 31)
+        with select.epoll() as ep:
+            ep.register(self.r, select.EPOLLIN | select.EPOLLET)
+            os.write(self.w, b'x')
+            self.assertEqual(ep.poll(1), [(self.r, select.EPOLLIN)])
+            self.assertEqual(ep.poll(0), [])
+            ep.modify(self.r, select.EPOLLIN | select.EPOLLET | select.EPOLLONESHOT)
+
+    def test_epoll_errors(self):
+        ep = select.epoll()
+        self.assertFalse(ep.closed)
+        self.assertIsInstance(ep.fileno(), int)
+        ep.register(self.r)
+        with self.assertRaises(OSError) as cm:
+            ep.register(self.r)
+        self.assertEqual(cm.exception.errno, errno.EEXIST)
+        with self.assertRaises(OSError) as cm:
+            ep.modify(self.w, select.EPOLLIN)
+        self.assertEqual(cm.exception.errno, errno.ENOENT)
+        self.assertRaises(ValueError, ep.poll, 0, 0)
+        ep.close()
+        ep.close()
+        self.assertTrue(ep.closed)
+        self.assertRaises(ValueError, ep.fileno)
+        self.assertRaises(ValueError, ep.poll)
+        self.assertRaises(ValueError, ep.register, self.r)
@@ -78,3 +78,36 @@ def test_alarm2():
 
     assert triggered[0] == _signal.SIGALRM
     assert triggered[1].f_code.co_name == "test_alarm2", triggered[1].f_code
+
+
+def test_raise_signal_async_action_statistics():
+    try:
+        import _signal
+    except ImportError:
+        import signal as _signal
+    import time
+
+    triggered = []
+
+    def handler(signal, frame):
+        triggered.append(signal)
+
+    if sys.implementation.name == "graalpython":
+        before = __graalpython__.async_action_statistics()
+    oldhandler = _signal.signal(_signal.SIGALRM, handler)
+    try:
+        _signal.raise_signal(_signal.SIGALRM)
+        waited = 0
+        while not triggered and waited < 100:
+            time.sleep(0.1)
+            waited += 1
+        assert triggered == [_signal.SIGALRM], triggered
+    finally:
+        _signal.signal(_signal.SIGALRM, oldhandler)
+
+    if sys.implementation.name == "graalpython":
+        after = __graalpython__.async_action_statistics()
+        assert after["posted"] > before["posted"], (before, after)
+        assert after["processed"] > before["processed"], (before, after)
+        assert after["max_latency_ns"] >= 0
+        assert after["queue_depth"] >= 0
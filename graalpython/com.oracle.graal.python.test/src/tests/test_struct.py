@@ -257,3 +257,30 @@ def test_iter_unpack():
     assert lh(it) == 0
     assert_raises(StopIteration, next, it)
     assert lh(it) == 0
+
+
+def test_struct_object():
+    s = struct.Struct('<hq')
+    assert s.format == '<hq'
+    assert s.size == 10
+    assert struct.Struct(b'<hq').format == '<hq'
+    assert s.pack(1, -2) == b'\x01\x00\xfe\xff\xff\xff\xff\xff\xff\xff'
+    assert s.unpack(b'\x01\x00\xfe\xff\xff\xff\xff\xff\xff\xff') == (1, -2)
+    assert_raises(struct.error, s.pack, 1)
+    assert_raises(struct.error, s.unpack, b'\x00')
+    assert_raises(struct.error, struct.Struct, 'z')
+    assert_raises(TypeError, struct.Struct, 42)
+    assert struct.calcsize('@bq') == 16
+    assert struct.calcsize('=bq') == 9
+    struct._clearcache()
+    assert struct.calcsize('@bq') == 16
+
+
+def test_memoryview():
+    buf = bytearray(12)
+    view = memoryview(buf)[4:]
+    struct.pack_into('>I', view, 2, 0x01020304)
+    assert buf == bytearray(b'\x00' * 6 + b'\x01\x02\x03\x04' + b'\x00' * 2)
+    assert struct.unpack_from('>I', view, 2) == (0x01020304,)
+    assert struct.unpack('>Q', view) == (0x0102030400,)
+    assert_raises((TypeError, struct.error), struct.pack_into, '>I', memoryview(b'abcd'), 0, 1)
@@ -513,3 +513,112 @@ if syscfg.get_config_var('WITH_THREAD'):
             lock.release()
             self.assertFalse(lock.locked())
             self.assertTrue(lock.acquire(blocking=False))
+
+        def test_release_unlocked(self):
+            lock = self.locktype()
+            self.assertRaises(RuntimeError, lock.release)
+            lock.acquire()
+            lock.release()
+            self.assertRaises(RuntimeError, lock.release)
+            self.assertFalse(lock.locked())
+
+        def test_contended_handoff(self):
+            # two threads hand the same pair of locks back and forth
+            ping = self.locktype()
+            pong = self.locktype()
+            ping.acquire()
+            pong.acquire()
+            N = 1000
+            count = []
+
+            def f():
+                for i in range(N):
+                    ping.acquire()
+                    count.append(i)
+                    pong.release()
+            t = threading.Thread(target=f)
+            t.start()
+            for i in range(N):
+                ping.release()
+                self.assertTrue(pong.acquire(timeout=10))
+            t.join()
+            self.assertEqual(len(count), N)
+            self.assertFalse(ping.locked())
+            self.assertTrue(pong.locked())
+
+
+    class RLockTests(BaseTestCase):
+
+        def test_reentrant_count(self):
+            lock = threading.RLock()
+            for i in range(3):
+                self.assertTrue(lock.acquire())
+            self.assertTrue(lock._is_owned())
+            self.assertRegexpMatches(repr(lock), "count=3")
+            state = lock._release_save()
+            self.assertEqual(state[0], 3)
+            self.assertFalse(lock._is_owned())
+            lock._acquire_restore(state)
+            self.assertRegexpMatches(repr(lock), "count=3")
+            for i in range(3):
+                lock.release()
+            self.assertFalse(lock._is_owned())
+            self.assertRaises(RuntimeError, lock.release)
+
+        def test_contended_timeout(self):
+            lock = threading.RLock()
+            lock.acquire()
+            results = []
+
+            def f():
+                results.append(lock.acquire(timeout=0.01))
+                results.append(lock.acquire(blocking=False))
+            Bunch(f, 1).wait_for_finished()
+            self.assertEqual(results, [False, False])
+            lock.release()
+            Bunch(f, 1).wait_for_finished()
+            self.assertEqual(results[2:], [True, True])
+
+
+    class SwitchIntervalTests(unittest.TestCase):
+
+        def test_get_set(self):
+            orig = sys.getswitchinterval()
+            try:
+                self.assertEqual(orig, 0.005)
+                sys.setswitchinterval(0.001)
+                self.assertEqual(sys.getswitchinterval(), 0.001)
+                sys.setswitchinterval(1)
+                self.assertEqual(sys.getswitchinterval(), 1.0)
+                self.assertRaises(ValueError, sys.setswitchinterval, 0)
+                self.assertRaises(ValueError, sys.setswitchinterval, -1.0)
+                self.assertRaises(TypeError, sys.setswitchinterval, "1")
+            finally:
+                sys.setswitchinterval(orig)
+
+        def test_cpu_bound_threads_alternate(self):
+            # a busy thread must hand the GIL over to a waiting one within a few intervals
+            stop = []
+            progress = [0, 0]
+
+            def spin(idx):
+                while not stop:
+                    progress[idx] += 1
+
+            orig = sys.getswitchinterval()
+            sys.setswitchinterval(0.001)
+            try:
+                t1 = threading.Thread(target=spin, args=(0,))
+                t2 = threading.Thread(target=spin, args=(1,))
+                t1.start()
+                t2.start()
+                deadline = time.time() + 10
+                while (progress[0] == 0 or progress[1] == 0) and time.time() < deadline:
+                    time.sleep(POLL_SLEEP)
+                stop.append(True)
+                t1.join()
+                t2.join()
+                self.assertGreater(progress[0], 0)
+                self.assertGreater(progress[1], 0)
+            finally:
+                sys.setswitchinterval(orig)
@@ -56,6 +56,7 @@ import com.oracle.graal.python.nodes.control.TopLevelExceptionHandler;
 import com.oracle.graal.python.nodes.expression.ExpressionNode;
 import com.oracle.graal.python.nodes.util.BadOPCodeNode;
 import com.oracle.graal.python.parser.PythonParserImpl;
+import com.oracle.graal.python.runtime.AsyncActionScheduler;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.PythonContext;
 import com.oracle.graal.python.runtime.PythonCore;
@@ -183,6 +184,12 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
      */
     public final ConcurrentHashMap<String, Semaphore> namedSemaphores = new ConcurrentHashMap<>();
 
+    /**
+     * Runs the periodic async action polling of all contexts in this engine, so that we do not need
+     * threads per context for that.
+     */
+    private final AsyncActionScheduler asyncActionScheduler = new AsyncActionScheduler();
+
     @CompilationFinal(dimensions = 1) private volatile Object[] engineOptionsStorage;
     @CompilationFinal private volatile OptionValues engineOptions;
 
@@ -216,6 +223,10 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
         return nodeFactory;
     }
 
+    public AsyncActionScheduler getAsyncActionScheduler() {
+        return asyncActionScheduler;
+    }
+
     @Override
     protected void finalizeContext(PythonContext context) {
         context.finalizeContext();
@@ -261,6 +272,15 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
         return context;
     }
 
+    /**
+     * Returns {@code true} if every thread runs in its own context (see
+     * {@link PythonOptions#IsolatedThreadContexts}). Such contexts are never entered by more than one
+     * thread, so they do not need a GIL and {@link GilNode} folds away.
+     */
+    public boolean isGilFree() {
+        return getEngineOption(PythonOptions.IsolatedThreadContexts);
+    }
+
     public <T> T getEngineOption(OptionKey<T> key) {
         assert engineOptions != null;
         if (CompilerDirectives.inInterpreter()) {
@@ -751,17 +771,22 @@ public final class PythonLanguage extends TruffleLanguage<PythonContext> {
 
     @Override
     protected boolean isThreadAccessAllowed(Thread thread, boolean singleThreaded) {
-        if (singleThreaded) {
+        if (singleThreaded || isIsolatedThreadContexts()) {
             return super.isThreadAccessAllowed(thread, singleThreaded);
         }
         return true;
     }
 
+    private boolean isIsolatedThreadContexts() {
+        // this may be asked before the first context was created
+        OptionValues options = engineOptions;
+        return options != null && options.get(PythonOptions.IsolatedThreadContexts);
+    }
+
     @Override
     protected void initializeMultiThreading(PythonContext context) {
         if (singleThreadedAssumption.isValid()) {
             singleThreadedAssumption.invalidate();
-            context.initializeMultiThreading();
         }
     }
 
@@ -51,6 +51,7 @@ import com.oracle.graal.python.builtins.modules.ArrayModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.AstModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.AtexitModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.BinasciiModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.BisectModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.BuiltinConstructors;
 import com.oracle.graal.python.builtins.modules.BuiltinFunctions;
 import com.oracle.graal.python.builtins.modules.CmathModuleBuiltins;
@@ -66,6 +67,7 @@ import com.oracle.graal.python.builtins.modules.FcntlModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.FunctoolsModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.GcModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.GraalPythonModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.HeapqModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ImpModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.ItertoolsModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.JArrayModuleBuiltins;
@@ -76,6 +78,7 @@ import com.oracle.graal.python.builtins.modules.MMapModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.MarshalModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.MathModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.MultiprocessingModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.NioSelectorModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.OperatorModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.PolyglotModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins;
@@ -106,6 +109,24 @@ import com.oracle.graal.python.builtins.modules.ZipImportModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.bz2.BZ2CompressorBuiltins;
 import com.oracle.graal.python.builtins.modules.bz2.BZ2DecompressorBuiltins;
 import com.oracle.graal.python.builtins.modules.bz2.BZ2ModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.csv.CSVDialectBuiltins;
+import com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.csv.CSVReaderBuiltins;
+import com.oracle.graal.python.builtins.modules.csv.CSVWriterBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.DateBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.DateTimeBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.DateTimeModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.TimeBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.TimeDeltaBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.TimeZoneBuiltins;
+import com.oracle.graal.python.builtins.modules.datetime.TzInfoBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalContextBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalContextManagerBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalSignalDictBuiltins;
+import com.oracle.graal.python.builtins.modules.hashlib.HashObjectBuiltins;
+import com.oracle.graal.python.builtins.modules.hashlib.HashlibModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.io.BufferedIOBaseBuiltins;
 import com.oracle.graal.python.builtins.modules.io.BufferedIOMixinBuiltins;
 import com.oracle.graal.python.builtins.modules.io.BufferedRWPairBuiltins;
@@ -124,9 +145,19 @@ import com.oracle.graal.python.builtins.modules.io.RawIOBaseBuiltins;
 import com.oracle.graal.python.builtins.modules.io.StringIOBuiltins;
 import com.oracle.graal.python.builtins.modules.io.TextIOBaseBuiltins;
 import com.oracle.graal.python.builtins.modules.io.TextIOWrapperBuiltins;
+import com.oracle.graal.python.builtins.modules.json.JSONEncoderBuiltins;
+import com.oracle.graal.python.builtins.modules.json.JSONModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.json.JSONScannerBuiltins;
 import com.oracle.graal.python.builtins.modules.lzma.LZMACompressorBuiltins;
 import com.oracle.graal.python.builtins.modules.lzma.LZMADecompressorBuiltins;
 import com.oracle.graal.python.builtins.modules.lzma.LZMAModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.pickle.PickleBufferBuiltins;
+import com.oracle.graal.python.builtins.modules.pickle.PickleModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.pickle.PicklerBuiltins;
+import com.oracle.graal.python.builtins.modules.pickle.UnpicklerBuiltins;
+import com.oracle.graal.python.builtins.modules.struct.StructBuiltins;
+import com.oracle.graal.python.builtins.modules.struct.StructModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.struct.StructUnpackIteratorBuiltins;
 import com.oracle.graal.python.builtins.modules.zlib.ZLibModuleBuiltins;
 import com.oracle.graal.python.builtins.modules.zlib.ZlibCompressBuiltins;
 import com.oracle.graal.python.builtins.modules.zlib.ZlibDecompressBuiltins;
@@ -139,6 +170,9 @@ import com.oracle.graal.python.builtins.objects.bytes.BytesBuiltins;
 import com.oracle.graal.python.builtins.objects.cell.CellBuiltins;
 import com.oracle.graal.python.builtins.objects.code.CodeBuiltins;
 import com.oracle.graal.python.builtins.objects.complex.ComplexBuiltins;
+import com.oracle.graal.python.builtins.objects.deque.DequeBuiltins;
+import com.oracle.graal.python.builtins.objects.deque.DequeIterBuiltins;
+import com.oracle.graal.python.builtins.objects.dict.DefaultDictBuiltins;
 import com.oracle.graal.python.builtins.objects.dict.DictBuiltins;
 import com.oracle.graal.python.builtins.objects.dict.DictReprBuiltin;
 import com.oracle.graal.python.builtins.objects.dict.DictValuesBuiltins;
@@ -157,6 +191,9 @@ import com.oracle.graal.python.builtins.objects.function.BuiltinFunctionBuiltins
 import com.oracle.graal.python.builtins.objects.function.FunctionBuiltins;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
+import com.oracle.graal.python.builtins.objects.functools.KeyWrapperBuiltins;
+import com.oracle.graal.python.builtins.objects.functools.LruCacheWrapperBuiltins;
+import com.oracle.graal.python.builtins.objects.functools.PartialBuiltins;
 import com.oracle.graal.python.builtins.objects.generator.GeneratorBuiltins;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.DescriptorBuiltins;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.GetSetDescriptorTypeBuiltins;
@@ -167,6 +204,25 @@ import com.oracle.graal.python.builtins.objects.iterator.ForeignIteratorBuiltins
 import com.oracle.graal.python.builtins.objects.iterator.IteratorBuiltins;
 import com.oracle.graal.python.builtins.objects.iterator.PZipBuiltins;
 import com.oracle.graal.python.builtins.objects.iterator.SentinelIteratorBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.AccumulateBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.ChainBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.CombinationsBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.CompressBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.CountBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.CycleBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.DropwhileBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.FilterfalseBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.GroupByBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.GrouperBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.IsliceBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.PermutationsBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.ProductBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.RepeatBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.StarmapBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.TakewhileBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.TeeBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.TeeDataObjectBuiltins;
+import com.oracle.graal.python.builtins.objects.itertools.ZipLongestBuiltins;
 import com.oracle.graal.python.builtins.objects.list.ListBuiltins;
 import com.oracle.graal.python.builtins.objects.map.MapBuiltins;
 import com.oracle.graal.python.builtins.objects.mappingproxy.MappingproxyBuiltins;
@@ -188,10 +244,14 @@ import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
 import com.oracle.graal.python.builtins.objects.posix.DirEntryBuiltins;
 import com.oracle.graal.python.builtins.objects.posix.ScandirIteratorBuiltins;
 import com.oracle.graal.python.builtins.objects.property.PropertyBuiltins;
+import com.oracle.graal.python.builtins.objects.queue.SimpleQueueBuiltins;
 import com.oracle.graal.python.builtins.objects.random.RandomBuiltins;
 import com.oracle.graal.python.builtins.objects.range.RangeBuiltins;
 import com.oracle.graal.python.builtins.objects.referencetype.ReferenceTypeBuiltins;
 import com.oracle.graal.python.builtins.objects.reversed.ReversedBuiltins;
+import com.oracle.graal.python.builtins.objects.select.EpollBuiltins;
+import com.oracle.graal.python.builtins.objects.select.NioSelectorBuiltins;
+import com.oracle.graal.python.builtins.objects.select.PollBuiltins;
 import com.oracle.graal.python.builtins.objects.set.BaseSetBuiltins;
 import com.oracle.graal.python.builtins.objects.set.FrozenSetBuiltins;
 import com.oracle.graal.python.builtins.objects.set.SetBuiltins;
@@ -262,7 +322,6 @@ public final class Python3Core implements PythonCore {
                         "type",
                         "_imp",
                         "function",
-                        "_functools",
                         "method",
                         "code",
                         "_io",
@@ -270,12 +329,9 @@ public final class Python3Core implements PythonCore {
                         "classes",
                         "__graalpython__",
                         "_weakref",
-                        "itertools",
                         "faulthandler",
                         "base_exception",
                         PythonCextBuiltins.PYTHON_CEXT,
-                        "_collections",
-                        "list",
                         "_codecs",
                         "_codecs_truffle",
                         "bytes",
@@ -291,16 +347,15 @@ public final class Python3Core implements PythonCore {
                         "termios",
                         "zipimport",
                         "mmap",
-                        "_queue",
                         "_ast",
                         "java",
                         "pyio_patches",
                         "_contextvars",
                         "pip_hook",
                         "marshal",
-                        "_struct",
                         "bool",
-                        "_posixshmem"));
+                        "_posixshmem",
+                        "_decimal"));
         // add service loader defined python file extensions
         if (!ImageInfo.inImageRuntimeCode()) {
             ServiceLoader<PythonBuiltins> providers = ServiceLoader.load(PythonBuiltins.class, Python3Core.class.getClassLoader());
@@ -359,6 +414,7 @@ public final class Python3Core implements PythonCore {
                         new DictReprBuiltin(),
                         new DictViewBuiltins(),
                         new DictValuesBuiltins(),
+                        new DefaultDictBuiltins(),
                         new RangeBuiltins(),
                         new SliceBuiltins(),
                         new TupleBuiltins(),
@@ -431,16 +487,46 @@ public final class Python3Core implements PythonCore {
 
                         new StringModuleBuiltins(),
                         new ItertoolsModuleBuiltins(),
+                        new RepeatBuiltins(),
+                        new ChainBuiltins(),
+                        new StarmapBuiltins(),
+                        new IsliceBuiltins(),
+                        new CountBuiltins(),
+                        new AccumulateBuiltins(),
+                        new DropwhileBuiltins(),
+                        new TakewhileBuiltins(),
+                        new FilterfalseBuiltins(),
+                        new CompressBuiltins(),
+                        new ZipLongestBuiltins(),
+                        new CycleBuiltins(),
+                        new ProductBuiltins(),
+                        new PermutationsBuiltins(),
+                        new CombinationsBuiltins(),
+                        new GroupByBuiltins(),
+                        new GrouperBuiltins(),
+                        new TeeBuiltins(),
+                        new TeeDataObjectBuiltins(),
                         new FunctoolsModuleBuiltins(),
+                        new PartialBuiltins(),
+                        new KeyWrapperBuiltins(),
+                        new LruCacheWrapperBuiltins(),
+                        new HeapqModuleBuiltins(),
+                        new BisectModuleBuiltins(),
                         new ErrnoModuleBuiltins(),
                         new CodecsModuleBuiltins(),
                         new CodecsTruffleModuleBuiltins(),
                         new CollectionsModuleBuiltins(),
+                        new DequeBuiltins(),
+                        new DequeIterBuiltins(),
                         new JavaModuleBuiltins(),
                         new JArrayModuleBuiltins(),
                         new SREModuleBuiltins(),
                         new AstModuleBuiltins(),
                         new SelectModuleBuiltins(),
+                        new PollBuiltins(),
+                        new EpollBuiltins(),
+                        new NioSelectorModuleBuiltins(),
+                        new NioSelectorBuiltins(),
                         new SocketModuleBuiltins(),
                         new SocketBuiltins(),
                         new SignalModuleBuiltins(),
@@ -475,10 +561,53 @@ public final class Python3Core implements PythonCore {
                         new ZlibCompressBuiltins(),
                         new ZlibDecompressBuiltins(),
 
+                        // json
+                        new JSONModuleBuiltins(),
+                        new JSONScannerBuiltins(),
+                        new JSONEncoderBuiltins(),
+
+                        // csv
+                        new CSVModuleBuiltins(),
+                        new CSVDialectBuiltins(),
+                        new CSVReaderBuiltins(),
+                        new CSVWriterBuiltins(),
+
+                        // pickle
+                        new PickleModuleBuiltins(),
+                        new PicklerBuiltins(),
+                        new UnpicklerBuiltins(),
+                        new PickleBufferBuiltins(),
+
+                        // struct
+                        new StructModuleBuiltins(),
+                        new StructBuiltins(),
+                        new StructUnpackIteratorBuiltins(),
+
+                        // hashlib
+                        new HashlibModuleBuiltins(),
+                        new HashObjectBuiltins(),
+
+                        // datetime
+                        new DateTimeModuleBuiltins(),
+                        new TimeDeltaBuiltins(),
+                        new DateBuiltins(),
+                        new DateTimeBuiltins(),
+                        new TimeBuiltins(),
+                        new TzInfoBuiltins(),
+                        new TimeZoneBuiltins(),
+
+                        // decimal
+                        new DecimalModuleBuiltins(),
+                        new DecimalBuiltins(),
+                        new DecimalContextBuiltins(),
+                        new DecimalSignalDictBuiltins(),
+                        new DecimalContextManagerBuiltins(),
+
                         new MMapModuleBuiltins(),
                         new FcntlModuleBuiltins(),
                         new MMapBuiltins(),
                         new QueueModuleBuiltins(),
+                        new SimpleQueueBuiltins(),
                         new ThreadModuleBuiltins(),
                         new ThreadBuiltins(),
                         new ThreadLocalBuiltins(),
@@ -145,7 +145,38 @@ public enum PythonBuiltinClassType implements TruffleObject {
     PLock("LockType", "_thread"),
     PRLock("RLock", "_thread"),
     PSemLock("SemLock", "_multiprocessing"),
+    PSimpleQueue("SimpleQueue", "_queue"),
+    PDeque("deque", "_collections"),
+    PDequeIter("_deque_iterator", "_collections", Flags.PUBLIC_DERIVED_WODICT),
+    PDequeRevIter("_deque_reverse_iterator", "_collections", Flags.PUBLIC_DERIVED_WODICT),
+    PDefaultDict("defaultdict", "collections"),
+    PPartial("partial", "_functools", Flags.PUBLIC_BASE_WDICT),
+    PKeyWrapper("KeyWrapper", "functools", Flags.PRIVATE_DERIVED_WODICT),
+    PLruCacheWrapper("_lru_cache_wrapper", "_functools", Flags.PUBLIC_BASE_WDICT),
+    PRepeat("repeat", "itertools"),
+    PChain("chain", "itertools"),
+    PStarmap("starmap", "itertools"),
+    PIslice("islice", "itertools"),
+    PCount("count", "itertools"),
+    PAccumulate("accumulate", "itertools"),
+    PDropwhile("dropwhile", "itertools"),
+    PTakewhile("takewhile", "itertools"),
+    PFilterfalse("filterfalse", "itertools"),
+    PCompress("compress", "itertools"),
+    PZipLongest("zip_longest", "itertools"),
+    PCycle("cycle", "itertools"),
+    PProduct("product", "itertools"),
+    PPermutations("permutations", "itertools"),
+    PCombinations("combinations", "itertools"),
+    PCombinationsWithReplacement("combinations_with_replacement", "itertools"),
+    PGroupBy("groupby", "itertools"),
+    PGrouper("_grouper", "itertools", Flags.PUBLIC_DERIVED_WODICT),
+    PTee("_tee", "itertools", Flags.PUBLIC_DERIVED_WODICT),
+    PTeeDataObject("_tee_dataobject", "itertools", Flags.PUBLIC_DERIVED_WODICT),
     PSocket("socket", "_socket"),
+    PPoll("poll", "select", Flags.PRIVATE_DERIVED_WODICT),
+    PEpoll("epoll", "select", Flags.PRIVATE_BASE_WODICT),
+    PNioSelector("Selector", "_nio_selector", Flags.PUBLIC_DERIVED_WODICT),
     PStaticmethod("staticmethod", BUILTINS, Flags.PUBLIC_BASE_WDICT),
     PClassmethod("classmethod", BUILTINS, Flags.PUBLIC_BASE_WDICT),
     PScandirIterator("ScandirIterator", "posix", Flags.PRIVATE_DERIVED_WODICT),
@@ -166,6 +197,37 @@ public enum PythonBuiltinClassType implements TruffleObject {
     ZlibCompress("Compress", "zlib"),
     ZlibDecompress("Decompress", "zlib"),
 
+    // json
+    PJSONScanner("Scanner", "_json"),
+    PJSONEncoder("Encoder", "_json"),
+
+    // csv
+    CSVDialect("Dialect", "_csv"),
+    CSVReader("reader", "_csv", Flags.PRIVATE_DERIVED_WODICT),
+    CSVWriter("writer", "_csv", Flags.PRIVATE_DERIVED_WODICT),
+
+    // pickle
+    Pickler("Pickler", "_pickle", Flags.PUBLIC_BASE_WDICT),
+    Unpickler("Unpickler", "_pickle", Flags.PUBLIC_BASE_WDICT),
+    PickleBuffer("PickleBuffer", "_pickle"),
+
+    // hashlib
+    HashlibHash("HASH", "_hashlib"),
+
+    // datetime
+    PDate("date", "_datetime"),
+    PDateTime("datetime", "_datetime"),
+    PTime("time", "_datetime"),
+    PTimeDelta("timedelta", "_datetime"),
+    PTzInfo("tzinfo", "_datetime"),
+    PTimeZone("timezone", "_datetime", Flags.PUBLIC_DERIVED_WODICT),
+
+    // decimal
+    PDecimal("Decimal", "decimal"),
+    PDecimalContext("Context", "decimal"),
+    PDecimalSignalDict("SignalDict", "decimal", Flags.PRIVATE_DERIVED_WODICT),
+    PDecimalContextManager("ContextManager", "decimal", Flags.PRIVATE_DERIVED_WODICT),
+
     // io
     PIOBase("_IOBase", "_io", Flags.PUBLIC_BASE_WDICT),
     PRawIOBase("_RawIOBase", "_io"),
@@ -247,7 +309,12 @@ public enum PythonBuiltinClassType implements TruffleObject {
     ZipImportError("ZipImportError", "zipimport", Flags.EXCEPTION),
     ZLibError("error", "zlib", Flags.EXCEPTION),
     LZMAError("LZMAError", "_lzma", Flags.EXCEPTION),
+    PickleError("PickleError", "_pickle", Flags.EXCEPTION),
+    PicklingError("PicklingError", "_pickle", Flags.EXCEPTION),
+    UnpicklingError("UnpicklingError", "_pickle", Flags.EXCEPTION),
     StructError("StructError", "_struct", Flags.EXCEPTION),
+    CSVError("Error", "_csv", Flags.EXCEPTION),
+    QueueEmpty("Empty", "_queue", Flags.EXCEPTION),
     SocketGAIError("gaierror", "_socket", Flags.EXCEPTION),
     SocketHError("herror", "_socket", Flags.EXCEPTION),
     SocketTimeout("timeout", "_socket", Flags.EXCEPTION),
@@ -260,6 +327,20 @@ public enum PythonBuiltinClassType implements TruffleObject {
     SSLSyscallError("SSLSyscallError", "_ssl", Flags.EXCEPTION),
     SSLEOFError("SSLEOFError", "_ssl", Flags.EXCEPTION),
     SSLCertVerificationError("SSLCertVerificationError", "_ssl", Flags.EXCEPTION),
+    DecimalException("DecimalException", "decimal", Flags.EXCEPTION),
+    DecimalClamped("Clamped", "decimal", Flags.EXCEPTION),
+    DecimalInvalidOperation("InvalidOperation", "decimal", Flags.EXCEPTION),
+    DecimalConversionSyntax("ConversionSyntax", "decimal", Flags.EXCEPTION),
+    DecimalDivisionByZero("DivisionByZero", "decimal", Flags.EXCEPTION),
+    DecimalDivisionImpossible("DivisionImpossible", "decimal", Flags.EXCEPTION),
+    DecimalDivisionUndefined("DivisionUndefined", "decimal", Flags.EXCEPTION),
+    DecimalInexact("Inexact", "decimal", Flags.EXCEPTION),
+    DecimalInvalidContext("InvalidContext", "decimal", Flags.EXCEPTION),
+    DecimalRounded("Rounded", "decimal", Flags.EXCEPTION),
+    DecimalSubnormal("Subnormal", "decimal", Flags.EXCEPTION),
+    DecimalOverflow("Overflow", "decimal", Flags.EXCEPTION),
+    DecimalUnderflow("Underflow", "decimal", Flags.EXCEPTION),
+    DecimalFloatOperation("FloatOperation", "decimal", Flags.EXCEPTION),
 
     // todo: all OS errors
 
@@ -522,6 +603,9 @@ public enum PythonBuiltinClassType implements TruffleObject {
         ZipImportError.base = ImportError;
         ZLibError.base = Exception;
         LZMAError.base = Exception;
+        PickleError.base = Exception;
+        PicklingError.base = PickleError;
+        UnpicklingError.base = PickleError;
         SocketGAIError.base = OSError;
         SocketHError.base = OSError;
         SocketTimeout.base = OSError;
@@ -534,6 +618,22 @@ public enum PythonBuiltinClassType implements TruffleObject {
         SSLCertVerificationError.base = SSLError;
         SSLEOFError.base = SSLError;
 
+        DecimalException.base = ArithmeticError;
+        DecimalClamped.base = DecimalException;
+        DecimalInvalidOperation.base = DecimalException;
+        DecimalConversionSyntax.base = DecimalInvalidOperation;
+        DecimalDivisionImpossible.base = DecimalInvalidOperation;
+        DecimalInvalidContext.base = DecimalInvalidOperation;
+        DecimalInexact.base = DecimalException;
+        DecimalRounded.base = DecimalException;
+        DecimalSubnormal.base = DecimalException;
+        // the signals with several bases get the others in DecimalModuleBuiltins
+        DecimalDivisionByZero.base = DecimalException;
+        DecimalDivisionUndefined.base = DecimalInvalidOperation;
+        DecimalOverflow.base = DecimalInexact;
+        DecimalUnderflow.base = DecimalInexact;
+        DecimalFloatOperation.base = DecimalException;
+
         ReferenceError.base = Exception;
         RuntimeError.base = Exception;
         NotImplementedError.base = RuntimeError;
@@ -549,6 +649,8 @@ public enum PythonBuiltinClassType implements TruffleObject {
         UnicodeTranslateError.base = UnicodeError;
         RecursionError.base = RuntimeError;
         StructError.base = Exception;
+        CSVError.base = Exception;
+        QueueEmpty.base = Exception;
         BinasciiError.base = ValueError;
         BinasciiIncomplete.base = Exception;
 
@@ -580,6 +682,9 @@ public enum PythonBuiltinClassType implements TruffleObject {
         PHashInfo.base = PTuple;
         PThreadInfo.base = PTuple;
         PUnraisableHookArgs.base = PTuple;
+        PDefaultDict.base = PDict;
+        PDateTime.base = PDate;
+        PTimeZone.base = PTzInfo;
 
         // _io.UnsupportedOperation inherits from ValueError and OSError
         // done currently within IOModuleBuiltins class
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.BisectModuleBuiltinsFactory.BisectNodeGen;
+import com.oracle.graal.python.builtins.modules.BisectModuleBuiltinsFactory.ListBisectNodeGen;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.builtins.ListNodes.ItemLessThanNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.subscript.GetItemNode;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+/**
+ * The {@code _bisect} accelerator module. Lists whose {@code __getitem__} cannot be overridden are
+ * searched directly on their storage, on the primitive arrays for ints and floats. Other sequences
+ * are indexed through {@code __getitem__}.
+ */
+@CoreFunctions(defineModule = "_bisect")
+public class BisectModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return BisectModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Returns the index where {@code x} would be inserted into {@code a[lo:hi]}, before any equal
+     * items or after them if {@code right} is set.
+     */
+    @ImportStatic(PGuards.class)
+    abstract static class BisectNode extends PNodeWithRaise {
+
+        abstract int execute(VirtualFrame frame, Object a, Object x, int lo, int hi, boolean right);
+
+        @Specialization(guards = "cannotBeOverridden(lib.getLazyPythonClass(a))", limit = "3")
+        static int doList(VirtualFrame frame, PList a, Object x, int lo, int hi, boolean right,
+                        @SuppressWarnings("unused") @CachedLibrary("a") PythonObjectLibrary lib,
+                        @Cached ListBisectNode listBisectNode) {
+            return listBisectNode.execute(frame, a, a.getSequenceStorage(), x, lo, hi, right);
+        }
+
+        @Specialization(replaces = "doList")
+        static int doGeneric(VirtualFrame frame, Object a, Object x, int lo, int hi, boolean right,
+                        @Cached GetItemNode getItemNode,
+                        @Cached ItemLessThanNode ltNode) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                Object item = getItemNode.execute(frame, a, mid);
+                if (right ? ltNode.execute(frame, x, item) : !ltNode.execute(frame, item, x)) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        static BisectNode create() {
+            return BisectNodeGen.create();
+        }
+    }
+
+    /**
+     * Binary search over the storage of a list. Since a rich comparison may modify the list, the
+     * generic case re-reads the storage for every probe.
+     */
+    abstract static class ListBisectNode extends PNodeWithRaise {
+
+        abstract int execute(VirtualFrame frame, PList a, SequenceStorage storage, Object x, int lo, int hi, boolean right);
+
+        @Specialization
+        int doInt(@SuppressWarnings("unused") PList a, IntSequenceStorage storage, int x, int lo, int hi, boolean right) {
+            int[] array = storage.getInternalIntArray();
+            int length = storage.length();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                checkIndex(mid, length);
+                if (right ? x < array[mid] : !(array[mid] < x)) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        @Specialization
+        int doLong(@SuppressWarnings("unused") PList a, LongSequenceStorage storage, long x, int lo, int hi, boolean right) {
+            long[] array = storage.getInternalLongArray();
+            int length = storage.length();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                checkIndex(mid, length);
+                if (right ? x < array[mid] : !(array[mid] < x)) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        @Specialization
+        int doLongInt(PList a, LongSequenceStorage storage, int x, int lo, int hi, boolean right) {
+            return doLong(a, storage, x, lo, hi, right);
+        }
+
+        @Specialization
+        int doDouble(@SuppressWarnings("unused") PList a, DoubleSequenceStorage storage, double x, int lo, int hi, boolean right) {
+            double[] array = storage.getInternalDoubleArray();
+            int length = storage.length();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                checkIndex(mid, length);
+                if (right ? x < array[mid] : !(array[mid] < x)) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        @Specialization
+        int doGeneric(VirtualFrame frame, PList a, @SuppressWarnings("unused") SequenceStorage storage, Object x, int lo, int hi, boolean right,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached ItemLessThanNode ltNode) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                SequenceStorage s = a.getSequenceStorage();
+                checkIndex(mid, s.length());
+                Object item = getItemNode.execute(s, mid);
+                if (right ? ltNode.execute(frame, x, item) : !ltNode.execute(frame, item, x)) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo;
+        }
+
+        private void checkIndex(int index, int length) {
+            if (index >= length) {
+                throw raise(IndexError, ErrorMessages.LIST_INDEX_OUT_OF_RANGE);
+            }
+        }
+
+        static ListBisectNode create() {
+            return ListBisectNodeGen.create();
+        }
+    }
+
+    abstract static class BisectBaseNode extends PythonQuaternaryClinicBuiltinNode {
+
+        protected abstract boolean isRight();
+
+        @Specialization(limit = "3")
+        int bisect(VirtualFrame frame, Object a, Object x, int lo, int hi,
+                        @CachedLibrary("a") PythonObjectLibrary lib,
+                        @Cached BisectNode bisectNode) {
+            return search(this, frame, a, x, lo, hi, isRight(), lib, bisectNode);
+        }
+    }
+
+    abstract static class InsortBaseNode extends PythonQuaternaryClinicBuiltinNode {
+
+        protected abstract boolean isRight();
+
+        @Specialization(limit = "3")
+        PNone insort(VirtualFrame frame, Object a, Object x, int lo, int hi,
+                        @CachedLibrary("a") PythonObjectLibrary lib,
+                        @Cached BisectNode bisectNode,
+                        @Cached IsBuiltinClassProfile isListProfile,
+                        @Cached SequenceStorageNodes.InsertItemNode insertItemNode) {
+            int index = search(this, frame, a, x, lo, hi, isRight(), lib, bisectNode);
+            if (isListProfile.profileObject(a, PythonBuiltinClassType.PList)) {
+                PList list = (PList) a;
+                SequenceStorage storage = list.getSequenceStorage();
+                list.setSequenceStorage(insertItemNode.execute(storage, Math.min(index, storage.length()), x));
+            } else {
+                lib.lookupAndCallRegularMethod(a, frame, "insert", index, x);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    private static int search(PNodeWithRaise node, VirtualFrame frame, Object a, Object x, int lo, int hi, boolean right, PythonObjectLibrary lib, BisectNode bisectNode) {
+        if (lo < 0) {
+            throw node.raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "lo");
+        }
+        return bisectNode.execute(frame, a, x, lo, hi == -1 ? lib.lengthWithFrame(a, frame) : hi, right);
+    }
+
+    @Builtin(name = "bisect_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"})
+    @ArgumentClinic(name = "lo", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    public abstract static class BisectRightNode extends BisectBaseNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.BisectRightNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Override
+        protected boolean isRight() {
+            return true;
+        }
+    }
+
+    @Builtin(name = "bisect_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"})
+    @ArgumentClinic(name = "lo", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    public abstract static class BisectLeftNode extends BisectBaseNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.BisectLeftNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Override
+        protected boolean isRight() {
+            return false;
+        }
+    }
+
+    @Builtin(name = "insort_right", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"})
+    @ArgumentClinic(name = "lo", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    public abstract static class InsortRightNode extends InsortBaseNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.InsortRightNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Override
+        protected boolean isRight() {
+            return true;
+        }
+    }
+
+    @Builtin(name = "insort_left", minNumOfPositionalArgs = 2, parameterNames = {"a", "x", "lo", "hi"})
+    @ArgumentClinic(name = "lo", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "0")
+    @ArgumentClinic(name = "hi", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "-1", useDefaultForNone = true)
+    @GenerateNodeFactory
+    public abstract static class InsortLeftNode extends InsortBaseNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return BisectModuleBuiltinsClinicProviders.InsortLeftNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Override
+        protected boolean isRight() {
+            return false;
+        }
+    }
+}
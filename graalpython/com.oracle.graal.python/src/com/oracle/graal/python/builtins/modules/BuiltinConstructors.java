@@ -115,6 +115,7 @@ import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.modules.WarningsModuleBuiltins.WarnNode;
 import com.oracle.graal.python.builtins.modules.WeakRefModuleBuiltins.GetWeakRefsNode;
+import com.oracle.graal.python.builtins.modules.pickle.PPickleBuffer;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PNotImplemented;
 import com.oracle.graal.python.builtins.objects.array.PArray;
@@ -3506,6 +3507,16 @@ public final class BuiltinConstructors extends PythonBuiltins {
                             object.getBufferSuboffsets(), object.getFlags());
         }
 
+        @Specialization
+        PMemoryView fromPickleBuffer(Object cls, PPickleBuffer object,
+                        @Shared("c") @CachedContext(PythonLanguage.class) PythonContext context) {
+            PMemoryView view = object.getView();
+            if (view == null) {
+                throw raise(ValueError, ErrorMessages.PICKLEBUFFER_RELEASED);
+            }
+            return fromMemoryView(cls, view, context);
+        }
+
         @Specialization
         PMemoryView fromNative(VirtualFrame frame, @SuppressWarnings("unused") Object cls, PythonAbstractNativeObject object,
                         @Cached CExtNodes.ToSulongNode toSulongNode,
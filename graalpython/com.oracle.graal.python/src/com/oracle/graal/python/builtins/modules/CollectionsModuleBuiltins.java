@@ -40,18 +40,98 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.deque.PDeque;
+import com.oracle.graal.python.builtins.objects.deque.PDequeIter;
+import com.oracle.graal.python.builtins.objects.dict.PDefaultDict;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
 
 @CoreFunctions(defineModule = "_collections")
 public class CollectionsModuleBuiltins extends PythonBuiltins {
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
-        return new ArrayList<>();
+        return CollectionsModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        // defaultdict reports "collections" as its module, like in CPython
+        builtinConstants.put(PythonBuiltinClassType.PDefaultDict.getName(), core.lookupType(PythonBuiltinClassType.PDefaultDict));
+        super.initialize(core);
+    }
+
+    // deque([iterable[, maxlen]])
+    @Builtin(name = "deque", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PDeque)
+    @GenerateNodeFactory
+    abstract static class DequeNode extends PythonBuiltinNode {
+        @Specialization
+        PDeque construct(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] kwargs) {
+            return factory().createDeque(cls);
+        }
+    }
+
+    // _deque_iterator(deque[, index])
+    @Builtin(name = "_deque_iterator", minNumOfPositionalArgs = 2, parameterNames = {"cls", "deque", "index"}, constructsClass = PythonBuiltinClassType.PDequeIter)
+    @GenerateNodeFactory
+    abstract static class DequeIterNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PDequeIter construct(@SuppressWarnings("unused") Object cls, PDeque deque, @SuppressWarnings("unused") PNone index) {
+            return factory().createDequeIter(deque);
+        }
+
+        @Specialization(guards = "!isPNone(index)")
+        PDequeIter construct(VirtualFrame frame, @SuppressWarnings("unused") Object cls, PDeque deque, Object index,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            return skip(factory().createDequeIter(deque), asSizeNode.executeExact(frame, index));
+        }
+    }
+
+    // _deque_reverse_iterator(deque[, index])
+    @Builtin(name = "_deque_reverse_iterator", minNumOfPositionalArgs = 2, parameterNames = {"cls", "deque", "index"}, constructsClass = PythonBuiltinClassType.PDequeRevIter)
+    @GenerateNodeFactory
+    abstract static class DequeRevIterNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PDequeIter construct(@SuppressWarnings("unused") Object cls, PDeque deque, @SuppressWarnings("unused") PNone index) {
+            return factory().createDequeRevIter(deque);
+        }
+
+        @Specialization(guards = "!isPNone(index)")
+        PDequeIter construct(VirtualFrame frame, @SuppressWarnings("unused") Object cls, PDeque deque, Object index,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            return skip(factory().createDequeRevIter(deque), asSizeNode.executeExact(frame, index));
+        }
+    }
+
+    private static PDequeIter skip(PDequeIter iterator, int count) {
+        for (int i = 0; i < count && iterator.getRemaining() > 0; i++) {
+            iterator.next();
+        }
+        return iterator;
+    }
+
+    // defaultdict([default_factory[, ...]])
+    @Builtin(name = "defaultdict", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PDefaultDict)
+    @GenerateNodeFactory
+    abstract static class DefaultDictNode extends PythonBuiltinNode {
+        @Specialization
+        PDefaultDict construct(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] kwargs) {
+            return factory().createDefaultDict(cls);
+        }
     }
 }
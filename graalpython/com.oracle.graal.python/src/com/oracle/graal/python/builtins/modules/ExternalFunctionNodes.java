@@ -548,7 +548,7 @@ public abstract class ExternalFunctionNodes {
             } finally {
                 // special case after calling a C function: transfer caught exception back to frame
                 // to simulate the global state semantics
-                PArguments.setException(frame, ctx.getCaughtException());
+                PArguments.setException(frame, ctx.getCaughtException(PArguments.getThreadStateFromCaller(frame)));
                 IndirectCallContext.exit(frame, ctx, state);
             }
         }
@@ -40,18 +40,144 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
-import java.util.ArrayList;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
 import java.util.List;
 
+import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.functools.PKeyWrapper;
+import com.oracle.graal.python.builtins.objects.functools.PLruCacheWrapper;
+import com.oracle.graal.python.builtins.objects.functools.PPartial;
+import com.oracle.graal.python.builtins.objects.functools.PartialBuiltins;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.argument.keywords.ExpandKeywordStarargsNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @CoreFunctions(defineModule = "_functools")
 public class FunctoolsModuleBuiltins extends PythonBuiltins {
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
-        return new ArrayList<>();
+        return FunctoolsModuleBuiltinsFactory.getFactories();
+    }
+
+    // reduce(function, sequence[, initial])
+    @Builtin(name = "reduce", minNumOfPositionalArgs = 2, parameterNames = {"function", "sequence", "initial"})
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonTernaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object reduce(VirtualFrame frame, Object function, Object sequence, Object initial,
+                        @CachedLibrary("sequence") PythonObjectLibrary lib,
+                        @Cached GetNextNode nextNode,
+                        @Cached CallNode callNode,
+                        @Cached IsBuiltinClassProfile stopIterationProfile,
+                        @Cached ConditionProfile hasInitialProfile) {
+            Object iterator = lib.getIteratorWithState(sequence, PArguments.getThreadState(frame));
+            Object value = initial;
+            if (hasInitialProfile.profile(initial == PNone.NO_VALUE)) {
+                try {
+                    value = nextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(stopIterationProfile);
+                    throw raise(TypeError, ErrorMessages.REDUCE_EMPTY_SEQ);
+                }
+            }
+            while (true) {
+                Object element;
+                try {
+                    element = nextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(stopIterationProfile);
+                    return value;
+                }
+                value = callNode.execute(frame, function, value, element);
+            }
+        }
+    }
+
+    // cmp_to_key(mycmp)
+    @Builtin(name = "cmp_to_key", minNumOfPositionalArgs = 1, parameterNames = {"mycmp"})
+    @GenerateNodeFactory
+    abstract static class CmpToKeyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PKeyWrapper cmpToKey(Object mycmp) {
+            return factory().createKeyWrapper(mycmp, null);
+        }
+    }
+
+    // partial(func, *args, **keywords)
+    @Builtin(name = "partial", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PPartial)
+    @GenerateNodeFactory
+    abstract static class PartialNode extends PythonBuiltinNode {
+        @Specialization
+        PPartial construct(Object cls, Object[] args, PKeyword[] keywords,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached ExpandKeywordStarargsNode expandKeywordsNode,
+                        @Cached IsBuiltinClassProfile isPartialClassProfile,
+                        @Cached ConditionProfile flattenProfile) {
+            if (args.length == 0) {
+                throw raise(TypeError, ErrorMessages.TYPE_S_TAKES_AT_LEAST_ONE_ARG, "partial");
+            }
+            Object function = args[0];
+            if (!lib.isCallable(function)) {
+                throw raise(TypeError, ErrorMessages.THE_FIRST_ARG_MUST_BE_CALLABLE);
+            }
+            Object[] partialArgs = PythonUtils.arrayCopyOfRange(args, 1, args.length);
+            PKeyword[] partialKeywords = keywords;
+            // a partial of a plain builtin partial is flattened into a single one
+            if (flattenProfile.profile(function instanceof PPartial && isPartialClassProfile.profileClass(cls, PythonBuiltinClassType.PPartial) &&
+                            lib.getLazyPythonClass(function) == PythonBuiltinClassType.PPartial && lib.getDict(function) == null)) {
+                PPartial inner = (PPartial) function;
+                partialArgs = PartialBuiltins.concatArgs(inner.getArgs(), partialArgs);
+                partialKeywords = PartialBuiltins.mergeKeywords(expandKeywordsNode.execute(inner.getKw()), keywords);
+                function = inner.getFn();
+            }
+            return factory().createPartial(cls, function, partialArgs, factory().createDict(partialKeywords));
+        }
+    }
+
+    // _lru_cache_wrapper(user_function, maxsize, typed, cache_info_type)
+    @Builtin(name = "_lru_cache_wrapper", minNumOfPositionalArgs = 5, parameterNames = {"cls", "user_function", "maxsize", "typed", "cache_info_type"}, constructsClass = PythonBuiltinClassType.PLruCacheWrapper)
+    @GenerateNodeFactory
+    abstract static class LruCacheWrapperNode extends PythonBuiltinNode {
+        @Specialization
+        PLruCacheWrapper construct(VirtualFrame frame, Object cls, Object userFunction, Object maxSize, Object typed, Object cacheInfoType,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            if (!lib.isCallable(userFunction)) {
+                throw raise(TypeError, ErrorMessages.THE_FIRST_ARG_MUST_BE_CALLABLE);
+            }
+            int size;
+            if (maxSize == PNone.NONE) {
+                size = -1;
+            } else if (lib.canBeIndex(maxSize)) {
+                size = Math.max(asSizeNode.executeExact(frame, maxSize), 0);
+            } else {
+                throw raise(TypeError, ErrorMessages.MAXSIZE_SHOULD_BE_INTEGER_OR_NONE);
+            }
+            return factory().createLruCacheWrapper(cls, userFunction, size, lib.isTrue(typed, frame), cacheInfoType);
+        }
     }
 }
@@ -70,6 +70,7 @@ import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum.ErrorAndMessagePair;
 import com.oracle.graal.python.builtins.objects.function.PFunction;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.function.Signature;
 import com.oracle.graal.python.builtins.objects.generator.PGenerator;
 import com.oracle.graal.python.builtins.objects.list.PList;
@@ -593,6 +594,79 @@ public class GraalPythonModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "gil_statistics", minNumOfPositionalArgs = 0, doc = "Returns a dict with counters of GIL acquisitions, waits, drop requests and hand-offs.")
+    @GenerateNodeFactory
+    public abstract static class GilStatisticsNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        PDict doIt() {
+            long[] stats = getContext().getGlobalInterpreterLock().getStatistics();
+            return factory().createDict(new PKeyword[]{
+                            new PKeyword("acquires", stats[0]),
+                            new PKeyword("waits", stats[1]),
+                            new PKeyword("drop_requests", stats[2]),
+                            new PKeyword("hand_offs", stats[3])});
+        }
+    }
+
+    @Builtin(name = "snapshot_context", minNumOfPositionalArgs = 0, doc = "Takes a snapshot of the loaded modules and their state that the context can later be reset to.")
+    @GenerateNodeFactory
+    public abstract static class SnapshotContextNode extends PythonBuiltinNode {
+        @Specialization
+        PNone doIt() {
+            getContext().captureSnapshot();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "reset_context", minNumOfPositionalArgs = 0, doc = "Resets the context to the last snapshot and returns the time this took in nanoseconds.")
+    @GenerateNodeFactory
+    public abstract static class ResetContextNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        long doIt() {
+            PythonContext context = getContext();
+            if (!context.hasSnapshot()) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.NO_CONTEXT_SNAPSHOT);
+            }
+            if (context.getThreads().length > 1) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.CANNOT_RESET_CONTEXT_WITH_THREADS);
+            }
+            return context.resetToSnapshot();
+        }
+    }
+
+    @Builtin(name = "context_reset_statistics", minNumOfPositionalArgs = 0, doc = "Returns a dict with the number of context resets and their cost in nanoseconds.")
+    @GenerateNodeFactory
+    public abstract static class ContextResetStatisticsNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        PDict doIt() {
+            long[] stats = getContext().getResetStatistics();
+            return factory().createDict(new PKeyword[]{
+                            new PKeyword("resets", stats[0]),
+                            new PKeyword("total_ns", stats[1]),
+                            new PKeyword("max_ns", stats[2])});
+        }
+    }
+
+    @Builtin(name = "async_action_statistics", minNumOfPositionalArgs = 0, doc = "Returns a dict with the queue depth and latency counters of this context's async actions.")
+    @GenerateNodeFactory
+    public abstract static class AsyncActionStatisticsNode extends PythonBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        PDict doIt() {
+            long[] stats = getContext().getAsyncHandler().getStatistics();
+            return factory().createDict(new PKeyword[]{
+                            new PKeyword("queue_depth", stats[0]),
+                            new PKeyword("max_queue_depth", stats[1]),
+                            new PKeyword("posted", stats[2]),
+                            new PKeyword("processed", stats[3]),
+                            new PKeyword("total_latency_ns", stats[4]),
+                            new PKeyword("max_latency_ns", stats[5])});
+        }
+    }
+
     // Internal builtin used for testing: changes strategy of newly allocated set or map
     @Builtin(name = "set_storage_strategy", minNumOfPositionalArgs = 2)
     @GenerateNodeFactory
@@ -0,0 +1,475 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.RuntimeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.HeapqModuleBuiltinsFactory.SiftDownNodeGen;
+import com.oracle.graal.python.builtins.modules.HeapqModuleBuiltinsFactory.SiftUpNodeGen;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.IndexNodes.NormalizeIndexNode;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes.ListGeneralizationNode;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.builtins.ListNodes;
+import com.oracle.graal.python.nodes.builtins.ListNodes.ItemLessThanNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.sequence.storage.DoubleSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.IntSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.LongSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+/**
+ * The {@code _heapq} accelerator module. The heap is sifted directly on the storage of the list:
+ * heaps of ints and floats are sifted on the primitive arrays without boxing, other storages
+ * compare their items with {@link ItemLessThanNode} and, like CPython, fail if a comparison
+ * changes the size of the list.
+ */
+@CoreFunctions(defineModule = "_heapq")
+public class HeapqModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return HeapqModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Moves the item at {@code pos} up towards {@code startPos} while it is smaller than its parent
+     * (greater for max-heaps), like {@code heapq._siftdown}.
+     */
+    abstract static class SiftDownNode extends PNodeWithRaise {
+
+        abstract void execute(VirtualFrame frame, PList heap, SequenceStorage storage, int startPos, int pos, boolean max);
+
+        @Specialization
+        static void doInt(@SuppressWarnings("unused") PList heap, IntSequenceStorage storage, int startPos, int pos, boolean max) {
+            siftDown(storage.getInternalIntArray(), startPos, pos, max);
+        }
+
+        @Specialization
+        static void doLong(@SuppressWarnings("unused") PList heap, LongSequenceStorage storage, int startPos, int pos, boolean max) {
+            siftDown(storage.getInternalLongArray(), startPos, pos, max);
+        }
+
+        @Specialization
+        static void doDouble(@SuppressWarnings("unused") PList heap, DoubleSequenceStorage storage, int startPos, int pos, boolean max) {
+            siftDown(storage.getInternalDoubleArray(), startPos, pos, max);
+        }
+
+        @Specialization
+        void doGeneric(VirtualFrame frame, PList heap, SequenceStorage storage, int startPos, int pos, boolean max,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached ItemLessThanNode ltNode) {
+            SequenceStorage s = storage;
+            int size = s.length();
+            while (pos > startPos) {
+                int parentPos = (pos - 1) >> 1;
+                Object newItem = getItemNode.execute(s, pos);
+                Object parent = getItemNode.execute(s, parentPos);
+                boolean lower = max ? ltNode.execute(frame, parent, newItem) : ltNode.execute(frame, newItem, parent);
+                s = checkUnchanged(this, heap, size);
+                if (!lower) {
+                    break;
+                }
+                swap(s, pos, parentPos, getItemNode, setItemNode);
+                pos = parentPos;
+            }
+        }
+
+        static SiftDownNode create() {
+            return SiftDownNodeGen.create();
+        }
+    }
+
+    /**
+     * Moves the smaller child (greater for max-heaps) of {@code pos} up until a leaf is reached and
+     * then sifts the item that was at {@code pos} back down, like {@code heapq._siftup}.
+     */
+    abstract static class SiftUpNode extends PNodeWithRaise {
+
+        abstract void execute(VirtualFrame frame, PList heap, SequenceStorage storage, int pos, boolean max);
+
+        @Specialization
+        static void doInt(@SuppressWarnings("unused") PList heap, IntSequenceStorage storage, int pos, boolean max) {
+            int[] array = storage.getInternalIntArray();
+            int size = storage.length();
+            int startPos = pos;
+            int newItem = array[pos];
+            int limit = size >> 1;
+            while (pos < limit) {
+                int childPos = 2 * pos + 1;
+                if (childPos + 1 < size && !(max ? array[childPos + 1] < array[childPos] : array[childPos] < array[childPos + 1])) {
+                    childPos++;
+                }
+                array[pos] = array[childPos];
+                pos = childPos;
+            }
+            array[pos] = newItem;
+            siftDown(array, startPos, pos, max);
+        }
+
+        @Specialization
+        static void doLong(@SuppressWarnings("unused") PList heap, LongSequenceStorage storage, int pos, boolean max) {
+            long[] array = storage.getInternalLongArray();
+            int size = storage.length();
+            int startPos = pos;
+            long newItem = array[pos];
+            int limit = size >> 1;
+            while (pos < limit) {
+                int childPos = 2 * pos + 1;
+                if (childPos + 1 < size && !(max ? array[childPos + 1] < array[childPos] : array[childPos] < array[childPos + 1])) {
+                    childPos++;
+                }
+                array[pos] = array[childPos];
+                pos = childPos;
+            }
+            array[pos] = newItem;
+            siftDown(array, startPos, pos, max);
+        }
+
+        @Specialization
+        static void doDouble(@SuppressWarnings("unused") PList heap, DoubleSequenceStorage storage, int pos, boolean max) {
+            double[] array = storage.getInternalDoubleArray();
+            int size = storage.length();
+            int startPos = pos;
+            double newItem = array[pos];
+            int limit = size >> 1;
+            while (pos < limit) {
+                int childPos = 2 * pos + 1;
+                if (childPos + 1 < size && !(max ? array[childPos + 1] < array[childPos] : array[childPos] < array[childPos + 1])) {
+                    childPos++;
+                }
+                array[pos] = array[childPos];
+                pos = childPos;
+            }
+            array[pos] = newItem;
+            siftDown(array, startPos, pos, max);
+        }
+
+        @Specialization
+        void doGeneric(VirtualFrame frame, PList heap, SequenceStorage storage, int pos, boolean max,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached ItemLessThanNode ltNode,
+                        @Cached SiftDownNode siftDownNode) {
+            SequenceStorage s = storage;
+            int size = s.length();
+            int startPos = pos;
+            int limit = size >> 1;
+            while (pos < limit) {
+                int childPos = 2 * pos + 1;
+                if (childPos + 1 < size) {
+                    Object left = getItemNode.execute(s, childPos);
+                    Object right = getItemNode.execute(s, childPos + 1);
+                    boolean leftFirst = max ? ltNode.execute(frame, right, left) : ltNode.execute(frame, left, right);
+                    s = checkUnchanged(this, heap, size);
+                    if (!leftFirst) {
+                        childPos++;
+                    }
+                }
+                swap(s, pos, childPos, getItemNode, setItemNode);
+                pos = childPos;
+            }
+            siftDownNode.execute(frame, heap, s, startPos, pos, max);
+        }
+
+        static SiftUpNode create() {
+            return SiftUpNodeGen.create();
+        }
+    }
+
+    private static void siftDown(int[] array, int startPos, int pos, boolean max) {
+        int newItem = array[pos];
+        while (pos > startPos) {
+            int parentPos = (pos - 1) >> 1;
+            int parent = array[parentPos];
+            if (!(max ? parent < newItem : newItem < parent)) {
+                break;
+            }
+            array[pos] = parent;
+            pos = parentPos;
+        }
+        array[pos] = newItem;
+    }
+
+    private static void siftDown(long[] array, int startPos, int pos, boolean max) {
+        long newItem = array[pos];
+        while (pos > startPos) {
+            int parentPos = (pos - 1) >> 1;
+            long parent = array[parentPos];
+            if (!(max ? parent < newItem : newItem < parent)) {
+                break;
+            }
+            array[pos] = parent;
+            pos = parentPos;
+        }
+        array[pos] = newItem;
+    }
+
+    private static void siftDown(double[] array, int startPos, int pos, boolean max) {
+        double newItem = array[pos];
+        while (pos > startPos) {
+            int parentPos = (pos - 1) >> 1;
+            double parent = array[parentPos];
+            if (!(max ? parent < newItem : newItem < parent)) {
+                break;
+            }
+            array[pos] = parent;
+            pos = parentPos;
+        }
+        array[pos] = newItem;
+    }
+
+    private static SequenceStorage checkUnchanged(PNodeWithRaise node, PList heap, int size) {
+        SequenceStorage storage = heap.getSequenceStorage();
+        if (storage.length() != size) {
+            throw node.raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "list");
+        }
+        return storage;
+    }
+
+    private static void swap(SequenceStorage storage, int i, int j, SequenceStorageNodes.GetItemScalarNode getItemNode, SequenceStorageNodes.SetItemScalarNode setItemNode) {
+        Object tmp = getItemNode.execute(storage, i);
+        setItemNode.execute(storage, i, getItemNode.execute(storage, j));
+        setItemNode.execute(storage, j, tmp);
+    }
+
+    @Builtin(name = "heappush", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class HeapPushNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static PNone push(VirtualFrame frame, PList heap, Object item,
+                        @Cached ListNodes.AppendNode appendNode,
+                        @Cached SiftDownNode siftDownNode) {
+            appendNode.execute(heap, item);
+            SequenceStorage storage = heap.getSequenceStorage();
+            siftDownNode.execute(frame, heap, storage, 0, storage.length() - 1, false);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap, @SuppressWarnings("unused") Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    abstract static class HeapPopBaseNode extends PythonUnaryBuiltinNode {
+
+        protected abstract boolean isMax();
+
+        @Specialization
+        Object pop(VirtualFrame frame, PList heap,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached SequenceStorageNodes.SetItemScalarNode setItemNode,
+                        @Cached SequenceStorageNodes.SetLenNode setLenNode,
+                        @Cached SiftUpNode siftUpNode) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            int size = storage.length();
+            if (size == 0) {
+                throw raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+            }
+            Object last = getItemNode.execute(storage, size - 1);
+            setLenNode.execute(storage, size - 1);
+            if (size == 1) {
+                return last;
+            }
+            Object result = getItemNode.execute(storage, 0);
+            setItemNode.execute(storage, 0, last);
+            siftUpNode.execute(frame, heap, storage, 0, isMax());
+            return result;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "heappop", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class HeapPopNode extends HeapPopBaseNode {
+        @Override
+        protected boolean isMax() {
+            return false;
+        }
+    }
+
+    @Builtin(name = "_heappop_max", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class HeapPopMaxNode extends HeapPopBaseNode {
+        @Override
+        protected boolean isMax() {
+            return true;
+        }
+    }
+
+    abstract static class HeapReplaceBaseNode extends PythonBinaryBuiltinNode {
+
+        protected abstract boolean isMax();
+
+        @Specialization
+        Object replace(VirtualFrame frame, PList heap, Object item,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached("createSetItem()") SequenceStorageNodes.SetItemNode setItemNode,
+                        @Cached SiftUpNode siftUpNode) {
+            return HeapqModuleBuiltins.replace(this, frame, heap, item, isMax(), getItemNode, setItemNode, siftUpNode);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap, @SuppressWarnings("unused") Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "heapreplace", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class HeapReplaceNode extends HeapReplaceBaseNode {
+        @Override
+        protected boolean isMax() {
+            return false;
+        }
+    }
+
+    @Builtin(name = "_heapreplace_max", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class HeapReplaceMaxNode extends HeapReplaceBaseNode {
+        @Override
+        protected boolean isMax() {
+            return true;
+        }
+    }
+
+    @Builtin(name = "heappushpop", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class HeapPushPopNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        Object pushPop(VirtualFrame frame, PList heap, Object item,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Cached ItemLessThanNode ltNode,
+                        @Cached("createSetItem()") SequenceStorageNodes.SetItemNode setItemNode,
+                        @Cached SiftUpNode siftUpNode) {
+            SequenceStorage storage = heap.getSequenceStorage();
+            if (storage.length() == 0 || !ltNode.execute(frame, getItemNode.execute(storage, 0), item)) {
+                return item;
+            }
+            return replace(this, frame, heap, item, false, getItemNode, setItemNode, siftUpNode);
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap, @SuppressWarnings("unused") Object item) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    private static Object replace(PNodeWithRaise node, VirtualFrame frame, PList heap, Object item, boolean max, SequenceStorageNodes.GetItemScalarNode getItemNode,
+                    SequenceStorageNodes.SetItemNode setItemNode, SiftUpNode siftUpNode) {
+        SequenceStorage storage = heap.getSequenceStorage();
+        if (storage.length() == 0) {
+            throw node.raise(IndexError, ErrorMessages.INDEX_OUT_OF_RANGE);
+        }
+        Object result = getItemNode.execute(storage, 0);
+        storage = setItemNode.executeInt(frame, storage, 0, item);
+        heap.setSequenceStorage(storage);
+        siftUpNode.execute(frame, heap, storage, 0, max);
+        return result;
+    }
+
+    protected static SequenceStorageNodes.SetItemNode createSetItem() {
+        return SequenceStorageNodes.SetItemNode.create(NormalizeIndexNode.forListAssign(), () -> ListGeneralizationNode.create());
+    }
+
+    abstract static class HeapifyBaseNode extends PythonUnaryBuiltinNode {
+
+        protected abstract boolean isMax();
+
+        @Specialization
+        PNone heapify(VirtualFrame frame, PList heap,
+                        @Cached SiftUpNode siftUpNode) {
+            for (int i = heap.getSequenceStorage().length() / 2 - 1; i >= 0; i--) {
+                siftUpNode.execute(frame, heap, heap.getSequenceStorage(), i, isMax());
+            }
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object error(@SuppressWarnings("unused") Object heap) {
+            throw raise(TypeError, ErrorMessages.HEAP_ARGUMENT_MUST_BE_A_LIST);
+        }
+    }
+
+    @Builtin(name = "heapify", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class HeapifyNode extends HeapifyBaseNode {
+        @Override
+        protected boolean isMax() {
+            return false;
+        }
+    }
+
+    @Builtin(name = "_heapify_max", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class HeapifyMaxNode extends HeapifyBaseNode {
+        @Override
+        protected boolean isMax() {
+            return true;
+        }
+    }
+}
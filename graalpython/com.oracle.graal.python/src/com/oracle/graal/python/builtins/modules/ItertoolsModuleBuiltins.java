@@ -25,19 +25,495 @@
  */
 package com.oracle.graal.python.builtins.modules;
 
-import java.util.Collections;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__COPY__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.MemoryError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
 import java.util.List;
 
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes.GetObjectArrayNode;
+import com.oracle.graal.python.builtins.objects.complex.PComplex;
+import com.oracle.graal.python.builtins.objects.itertools.PAccumulate;
+import com.oracle.graal.python.builtins.objects.itertools.PChain;
+import com.oracle.graal.python.builtins.objects.itertools.PCombinations;
+import com.oracle.graal.python.builtins.objects.itertools.PCompress;
+import com.oracle.graal.python.builtins.objects.itertools.PCount;
+import com.oracle.graal.python.builtins.objects.itertools.PCycle;
+import com.oracle.graal.python.builtins.objects.itertools.PDropwhile;
+import com.oracle.graal.python.builtins.objects.itertools.PFilterfalse;
+import com.oracle.graal.python.builtins.objects.itertools.PGroupBy;
+import com.oracle.graal.python.builtins.objects.itertools.PIslice;
+import com.oracle.graal.python.builtins.objects.itertools.PPermutations;
+import com.oracle.graal.python.builtins.objects.itertools.PProduct;
+import com.oracle.graal.python.builtins.objects.itertools.PRepeat;
+import com.oracle.graal.python.builtins.objects.itertools.PStarmap;
+import com.oracle.graal.python.builtins.objects.itertools.PTakewhile;
+import com.oracle.graal.python.builtins.objects.itertools.PTee;
+import com.oracle.graal.python.builtins.objects.itertools.PTeeDataObject;
+import com.oracle.graal.python.builtins.objects.itertools.PZipLongest;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.lib.PyNumberIndexNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.builtins.TupleNodes.ConstructTupleNode;
+import com.oracle.graal.python.nodes.call.CallNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.util.CastToJavaLongExactNode;
+import com.oracle.graal.python.nodes.util.CastToJavaLongLossyNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
 
 @CoreFunctions(defineModule = "itertools")
 public final class ItertoolsModuleBuiltins extends PythonBuiltins {
 
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
-        return Collections.emptyList();
+        return ItertoolsModuleBuiltinsFactory.getFactories();
+    }
+
+    // repeat(object[, times])
+    @Builtin(name = "repeat", minNumOfPositionalArgs = 2, parameterNames = {"cls", "object", "times"}, constructsClass = PythonBuiltinClassType.PRepeat)
+    @GenerateNodeFactory
+    abstract static class RepeatNode extends PythonBuiltinNode {
+        @Specialization
+        PRepeat construct(VirtualFrame frame, Object cls, Object object, Object times,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached PyNumberIndexNode indexNode,
+                        @Cached CastToJavaLongExactNode castNode) {
+            PRepeat self = factory().createRepeat(cls);
+            self.setElement(object);
+            if (PGuards.isPNone(times)) {
+                self.setCnt(-1);
+            } else if (lib.canBeIndex(times)) {
+                self.setCnt(Math.max(castNode.execute(indexNode.execute(frame, times)), 0));
+            } else {
+                throw raise(TypeError, ErrorMessages.INTEGER_ARG_EXPECTED_GOT_P, times);
+            }
+            return self;
+        }
+    }
+
+    // chain(*iterables)
+    @Builtin(name = "chain", minNumOfPositionalArgs = 1, takesVarArgs = true, constructsClass = PythonBuiltinClassType.PChain)
+    @GenerateNodeFactory
+    abstract static class ChainNode extends PythonBuiltinNode {
+        @Specialization
+        PChain construct(VirtualFrame frame, Object cls, Object[] iterables,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary lib) {
+            PChain self = factory().createChain(cls);
+            self.setSource(lib.getIteratorWithFrame(factory().createTuple(iterables), frame));
+            return self;
+        }
+    }
+
+    // starmap(function, iterable)
+    @Builtin(name = "starmap", minNumOfPositionalArgs = 3, parameterNames = {"cls", "function", "iterable"}, constructsClass = PythonBuiltinClassType.PStarmap)
+    @GenerateNodeFactory
+    abstract static class StarmapNode extends PythonBuiltinNode {
+        @Specialization
+        PStarmap construct(VirtualFrame frame, Object cls, Object function, Object iterable,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            PStarmap self = factory().createStarmap(cls);
+            self.setFun(function);
+            self.setIterable(lib.getIteratorWithFrame(iterable, frame));
+            return self;
+        }
+    }
+
+    // islice(iterable, stop)
+    // islice(iterable, start, stop[, step])
+    @Builtin(name = "islice", minNumOfPositionalArgs = 2, parameterNames = {"cls", "iterable"}, takesVarArgs = true, constructsClass = PythonBuiltinClassType.PIslice)
+    @GenerateNodeFactory
+    abstract static class IsliceNode extends PythonBuiltinNode {
+        @Specialization
+        PIslice construct(VirtualFrame frame, Object cls, Object iterable, Object[] args,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached PyNumberIndexNode indexNode,
+                        @Cached CastToJavaLongLossyNode castNode) {
+            if (args.length < 1 || args.length > 3) {
+                throw raise(TypeError, ErrorMessages.ISLICE_WRONG_ARGS);
+            }
+            Object startArg = args.length > 1 ? args[0] : PNone.NONE;
+            Object stopArg = args.length > 1 ? args[1] : args[0];
+            Object stepArg = args.length > 2 ? args[2] : PNone.NONE;
+            long start = 0;
+            long stop = -1;
+            long step = 1;
+            if (stopArg != PNone.NONE) {
+                stop = asIndex(frame, stopArg, lib, indexNode, castNode);
+                if (stop < 0) {
+                    throw raise(ValueError, ErrorMessages.ISLICE_STOP_MUST_BE_NONE_OR_INT);
+                }
+            }
+            if (startArg != PNone.NONE) {
+                start = asIndex(frame, startArg, lib, indexNode, castNode);
+                if (start < 0) {
+                    throw raise(ValueError, ErrorMessages.ISLICE_INDICES_MUST_BE_NONE_OR_INT);
+                }
+            }
+            if (stepArg != PNone.NONE) {
+                step = asIndex(frame, stepArg, lib, indexNode, castNode);
+                if (step < 1) {
+                    throw raise(ValueError, ErrorMessages.ISLICE_STEP_MUST_BE_POSITIVE);
+                }
+            }
+            PIslice self = factory().createIslice(cls);
+            self.setIterable(lib.getIteratorWithFrame(iterable, frame));
+            self.setNext(start);
+            self.setStop(stop);
+            self.setStep(step);
+            return self;
+        }
+
+        /**
+         * Converts an index argument clamping it to the long range, like CPython clamps it to
+         * {@code Py_ssize_t}, or returns {@code -1} if the argument is not an integer.
+         */
+        private static long asIndex(VirtualFrame frame, Object arg, PythonObjectLibrary lib, PyNumberIndexNode indexNode, CastToJavaLongLossyNode castNode) {
+            if (!lib.canBeIndex(arg)) {
+                return -1;
+            }
+            return castNode.execute(indexNode.execute(frame, arg));
+        }
+    }
+
+    // count(start=0, step=1)
+    @Builtin(name = "count", minNumOfPositionalArgs = 1, parameterNames = {"cls", "start", "step"}, constructsClass = PythonBuiltinClassType.PCount)
+    @GenerateNodeFactory
+    abstract static class CountNode extends PythonBuiltinNode {
+        @Specialization
+        PCount construct(Object cls, Object start, Object step,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            Object cnt = start == PNone.NO_VALUE ? 0 : start;
+            Object stepValue = step == PNone.NO_VALUE ? 1 : step;
+            if (!isNumber(cnt, lib) || !isNumber(stepValue, lib)) {
+                throw raise(TypeError, ErrorMessages.A_NUMBER_IS_REQUIRED);
+            }
+            PCount self = factory().createCount(cls);
+            self.setCnt(cnt);
+            self.setStep(stepValue);
+            return self;
+        }
+
+        private static boolean isNumber(Object value, PythonObjectLibrary lib) {
+            return value instanceof PComplex || lib.canBePInt(value) || lib.canBeJavaDouble(value);
+        }
+    }
+
+    // accumulate(iterable[, func, *, initial=None])
+    @Builtin(name = "accumulate", minNumOfPositionalArgs = 2, parameterNames = {"cls", "iterable", "func"}, varArgsMarker = true, keywordOnlyNames = {"initial"}, constructsClass = PythonBuiltinClassType.PAccumulate)
+    @GenerateNodeFactory
+    abstract static class AccumulateNode extends PythonBuiltinNode {
+        @Specialization
+        PAccumulate construct(VirtualFrame frame, Object cls, Object iterable, Object func, Object initial,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            PAccumulate self = factory().createAccumulate(cls);
+            self.setIterable(lib.getIteratorWithFrame(iterable, frame));
+            self.setFunc(PGuards.isPNone(func) ? null : func);
+            self.setInitial(PGuards.isPNone(initial) ? null : initial);
+            return self;
+        }
+    }
+
+    // dropwhile(predicate, iterable)
+    @Builtin(name = "dropwhile", minNumOfPositionalArgs = 3, parameterNames = {"cls", "predicate", "iterable"}, constructsClass = PythonBuiltinClassType.PDropwhile)
+    @GenerateNodeFactory
+    abstract static class DropwhileNode extends PythonBuiltinNode {
+        @Specialization
+        PDropwhile construct(VirtualFrame frame, Object cls, Object predicate, Object iterable,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            PDropwhile self = factory().createDropwhile(cls);
+            self.setPredicate(predicate);
+            self.setIterable(lib.getIteratorWithFrame(iterable, frame));
+            return self;
+        }
+    }
+
+    // takewhile(predicate, iterable)
+    @Builtin(name = "takewhile", minNumOfPositionalArgs = 3, parameterNames = {"cls", "predicate", "iterable"}, constructsClass = PythonBuiltinClassType.PTakewhile)
+    @GenerateNodeFactory
+    abstract static class TakewhileNode extends PythonBuiltinNode {
+        @Specialization
+        PTakewhile construct(VirtualFrame frame, Object cls, Object predicate, Object iterable,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            PTakewhile self = factory().createTakewhile(cls);
+            self.setPredicate(predicate);
+            self.setIterable(lib.getIteratorWithFrame(iterable, frame));
+            return self;
+        }
+    }
+
+    // filterfalse(function or None, iterable)
+    @Builtin(name = "filterfalse", minNumOfPositionalArgs = 3, parameterNames = {"cls", "function", "iterable"}, constructsClass = PythonBuiltinClassType.PFilterfalse)
+    @GenerateNodeFactory
+    abstract static class FilterfalseNode extends PythonBuiltinNode {
+        @Specialization
+        PFilterfalse construct(VirtualFrame frame, Object cls, Object function, Object iterable,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            PFilterfalse self = factory().createFilterfalse(cls);
+            self.setFunc(function == PNone.NONE ? null : function);
+            self.setIterable(lib.getIteratorWithFrame(iterable, frame));
+            return self;
+        }
+    }
+
+    // compress(data, selectors)
+    @Builtin(name = "compress", minNumOfPositionalArgs = 3, parameterNames = {"cls", "data", "selectors"}, constructsClass = PythonBuiltinClassType.PCompress)
+    @GenerateNodeFactory
+    abstract static class CompressNode extends PythonBuiltinNode {
+        @Specialization
+        PCompress construct(VirtualFrame frame, Object cls, Object data, Object selectors,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            PCompress self = factory().createCompress(cls);
+            self.setData(lib.getIteratorWithFrame(data, frame));
+            self.setSelectors(lib.getIteratorWithFrame(selectors, frame));
+            return self;
+        }
+    }
+
+    // zip_longest(*iterables, fillvalue=None)
+    @Builtin(name = "zip_longest", minNumOfPositionalArgs = 1, takesVarArgs = true, keywordOnlyNames = {"fillvalue"}, constructsClass = PythonBuiltinClassType.PZipLongest)
+    @GenerateNodeFactory
+    abstract static class ZipLongestNode extends PythonBuiltinNode {
+        @Specialization
+        PZipLongest construct(VirtualFrame frame, Object cls, Object[] iterables, Object fillValue,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            Object[] iterators = new Object[iterables.length];
+            for (int i = 0; i < iterables.length; i++) {
+                iterators[i] = lib.getIteratorWithFrame(iterables[i], frame);
+            }
+            PZipLongest self = factory().createZipLongest(cls);
+            self.setIterators(iterators);
+            self.setFillValue(fillValue == PNone.NO_VALUE ? PNone.NONE : fillValue);
+            return self;
+        }
+    }
+
+    // cycle(iterable)
+    @Builtin(name = "cycle", minNumOfPositionalArgs = 2, parameterNames = {"cls", "iterable"}, constructsClass = PythonBuiltinClassType.PCycle)
+    @GenerateNodeFactory
+    abstract static class CycleNode extends PythonBuiltinNode {
+        @Specialization
+        PCycle construct(VirtualFrame frame, Object cls, Object iterable,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            PCycle self = factory().createCycle(cls);
+            self.setIterable(lib.getIteratorWithFrame(iterable, frame));
+            return self;
+        }
+    }
+
+    // product(*iterables, repeat=1)
+    @Builtin(name = "product", minNumOfPositionalArgs = 1, takesVarArgs = true, keywordOnlyNames = {"repeat"}, constructsClass = PythonBuiltinClassType.PProduct)
+    @GenerateNodeFactory
+    abstract static class ProductNode extends PythonBuiltinNode {
+        @Specialization
+        PProduct construct(VirtualFrame frame, Object cls, Object[] iterables, Object repeat,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached ConstructTupleNode constructTupleNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode) {
+            int repeatCount = repeat == PNone.NO_VALUE ? 1 : asSizeNode.executeExact(frame, repeat);
+            if (repeatCount < 0) {
+                throw raise(ValueError, ErrorMessages.REPEAT_ARG_CANNOT_BE_NEGATIVE);
+            }
+            Object[][] pools = new Object[iterables.length][];
+            for (int i = 0; i < iterables.length; i++) {
+                pools[i] = getObjectArrayNode.execute(constructTupleNode.execute(frame, iterables[i]));
+            }
+            long gearCount = (long) pools.length * repeatCount;
+            if (gearCount > Integer.MAX_VALUE) {
+                throw raise(MemoryError);
+            }
+            Object[][] gears = new Object[(int) gearCount][];
+            for (int i = 0; i < gears.length; i++) {
+                gears[i] = pools[i % pools.length];
+            }
+            PProduct self = factory().createProduct(cls);
+            self.setGears(gears);
+            return self;
+        }
+    }
+
+    // permutations(iterable, r=None)
+    @Builtin(name = "permutations", minNumOfPositionalArgs = 2, parameterNames = {"cls", "iterable", "r"}, constructsClass = PythonBuiltinClassType.PPermutations)
+    @GenerateNodeFactory
+    abstract static class PermutationsNode extends PythonBuiltinNode {
+        @Specialization
+        PPermutations construct(VirtualFrame frame, Object cls, Object iterable, Object rArg,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached ConstructTupleNode constructTupleNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode) {
+            Object[] pool = getObjectArrayNode.execute(constructTupleNode.execute(frame, iterable));
+            int r;
+            if (PGuards.isPNone(rArg)) {
+                r = pool.length;
+            } else if (lib.canBeIndex(rArg)) {
+                r = asSizeNode.executeExact(frame, rArg);
+                if (r < 0) {
+                    throw raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "r");
+                }
+            } else {
+                throw raise(TypeError, ErrorMessages.EXPECTED_INT_AS_R);
+            }
+            PPermutations self = factory().createPermutations(cls);
+            self.init(pool, r);
+            return self;
+        }
+    }
+
+    // combinations(iterable, r)
+    @Builtin(name = "combinations", minNumOfPositionalArgs = 3, parameterNames = {"cls", "iterable", "r"}, constructsClass = PythonBuiltinClassType.PCombinations)
+    @GenerateNodeFactory
+    abstract static class CombinationsNode extends PythonBuiltinNode {
+        @Specialization
+        PCombinations construct(VirtualFrame frame, Object cls, Object iterable, Object rArg,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached ConstructTupleNode constructTupleNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode) {
+            Object[] pool = getObjectArrayNode.execute(constructTupleNode.execute(frame, iterable));
+            int r = asSizeNode.executeExact(frame, rArg);
+            if (r < 0) {
+                throw raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "r");
+            }
+            PCombinations self = factory().createCombinations(cls);
+            self.init(pool, r);
+            return self;
+        }
+    }
+
+    // combinations_with_replacement(iterable, r)
+    @Builtin(name = "combinations_with_replacement", minNumOfPositionalArgs = 3, parameterNames = {"cls", "iterable", "r"}, constructsClass = PythonBuiltinClassType.PCombinationsWithReplacement)
+    @GenerateNodeFactory
+    abstract static class CombinationsWithReplacementNode extends PythonBuiltinNode {
+        @Specialization
+        PCombinations construct(VirtualFrame frame, Object cls, Object iterable, Object rArg,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached ConstructTupleNode constructTupleNode,
+                        @Cached GetObjectArrayNode getObjectArrayNode) {
+            Object[] pool = getObjectArrayNode.execute(constructTupleNode.execute(frame, iterable));
+            int r = asSizeNode.executeExact(frame, rArg);
+            if (r < 0) {
+                throw raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "r");
+            }
+            PCombinations self = factory().createCombinationsWithReplacement(cls);
+            self.init(pool, r);
+            return self;
+        }
+    }
+
+    // groupby(iterable, key=None)
+    @Builtin(name = "groupby", minNumOfPositionalArgs = 2, parameterNames = {"cls", "iterable", "key"}, constructsClass = PythonBuiltinClassType.PGroupBy)
+    @GenerateNodeFactory
+    abstract static class GroupByNode extends PythonBuiltinNode {
+        @Specialization
+        PGroupBy construct(VirtualFrame frame, Object cls, Object iterable, Object key,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            PGroupBy self = factory().createGroupBy(cls);
+            self.setIterable(lib.getIteratorWithFrame(iterable, frame));
+            self.setKeyFunc(PGuards.isPNone(key) ? null : key);
+            return self;
+        }
+    }
+
+    // _tee(iterable)
+    @Builtin(name = "_tee", minNumOfPositionalArgs = 2, parameterNames = {"cls", "iterable"}, constructsClass = PythonBuiltinClassType.PTee)
+    @GenerateNodeFactory
+    abstract static class TeeNode extends PythonBuiltinNode {
+        @Specialization
+        PTee construct(VirtualFrame frame, @SuppressWarnings("unused") Object cls, Object iterable,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            Object it = lib.getIteratorWithFrame(iterable, frame);
+            if (it instanceof PTee) {
+                return factory().createTee(((PTee) it).getDataObj(), ((PTee) it).getIndex());
+            }
+            PTeeDataObject dataObj = factory().createTeeDataObject();
+            dataObj.setIterable(it);
+            return factory().createTee(dataObj, 0);
+        }
+    }
+
+    // _tee_dataobject(it, values, next)
+    @Builtin(name = "_tee_dataobject", minNumOfPositionalArgs = 4, parameterNames = {"cls", "it", "values", "next"}, constructsClass = PythonBuiltinClassType.PTeeDataObject)
+    @GenerateNodeFactory
+    abstract static class TeeDataObjectNode extends PythonBuiltinNode {
+        @Specialization
+        PTeeDataObject construct(Object cls, Object it, PList values, Object next,
+                        @Cached GetObjectArrayNode getObjectArrayNode) {
+            Object[] items = getObjectArrayNode.execute(values);
+            if (items.length > PTeeDataObject.LINKCELLS) {
+                throw raise(ValueError, ErrorMessages.TEE_DATAOBJECT_SHOULD_NOT_HAVE_MORE_LINKS, PTeeDataObject.LINKCELLS);
+            }
+            PTeeDataObject self = factory().createTeeDataObject(cls);
+            if (next != PNone.NONE) {
+                if (items.length < PTeeDataObject.LINKCELLS) {
+                    throw raise(ValueError, ErrorMessages.TEE_DATAOBJECT_SHOULD_NOT_HAVE_NEXT);
+                }
+                if (!(next instanceof PTeeDataObject)) {
+                    throw raise(TypeError, ErrorMessages.TEE_DATAOBJECT_NEXT_MUST_BE_TEE_DATAOBJECT);
+                }
+                self.setNextLink((PTeeDataObject) next);
+            }
+            self.setIterable(it);
+            self.setValues(items);
+            return self;
+        }
+
+        @Fallback
+        Object notList(@SuppressWarnings("unused") Object cls, @SuppressWarnings("unused") Object it, Object values, @SuppressWarnings("unused") Object next) {
+            throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "_tee_dataobject()", 2, "list", values);
+        }
+    }
+
+    // tee(iterable, n=2)
+    @Builtin(name = "tee", minNumOfPositionalArgs = 1, parameterNames = {"iterable", "n"})
+    @ArgumentClinic(name = "n", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "2")
+    @GenerateNodeFactory
+    abstract static class TeeFunctionNode extends PythonBinaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return ItertoolsModuleBuiltinsClinicProviders.TeeFunctionNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object tee(VirtualFrame frame, Object iterable, int n,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached CallNode callNode) {
+            if (n < 0) {
+                throw raise(ValueError, ErrorMessages.N_MUST_BE_AT_LEAST_ZERO);
+            }
+            Object[] result = new Object[n];
+            if (n == 0) {
+                return factory().createTuple(result);
+            }
+            Object copyable = lib.getIteratorWithFrame(iterable, frame);
+            if (!lib.isCallable(lib.lookupAttribute(copyable, frame, __COPY__))) {
+                PTeeDataObject dataObj = factory().createTeeDataObject();
+                dataObj.setIterable(copyable);
+                copyable = factory().createTee(dataObj, 0);
+            }
+            result[0] = copyable;
+            for (int i = 1; i < n; i++) {
+                copyable = callNode.execute(frame, lib.lookupAttribute(copyable, frame, __COPY__));
+                result[i] = copyable;
+            }
+            return factory().createTuple(result);
+        }
     }
 }
@@ -54,6 +54,7 @@ import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.modules.SysModuleBuiltins.AuditNode;
+import com.oracle.graal.python.builtins.modules.io.IONodes;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
 import com.oracle.graal.python.builtins.objects.bytes.BytesUtils;
@@ -80,12 +81,14 @@ import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.PNodeWithRaise;
 import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.builtins.ListNodes.FastConstructListNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallBinaryNode;
 import com.oracle.graal.python.nodes.expression.BinaryArithmetic;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
@@ -590,6 +593,34 @@ public class PosixModuleBuiltins extends PythonBuiltins {
                 gil.acquire();
             }
         }
+
+        /**
+         * Like {@link #read}, but stores the data directly in {@code buf[offset:offset + length]}
+         * and returns the number of bytes read.
+         */
+        public int readInto(int fd, byte[] buf, int offset, int length,
+                        PosixSupportLibrary posixLib,
+                        BranchProfile errorProfile, GilNode gil) throws PosixException {
+            gil.release(true);
+            try {
+                while (true) {
+                    try {
+                        return (int) posixLib.readInto(getPosixSupport(), fd, buf, offset, length);
+                    } catch (PosixException e) {
+                        errorProfile.enter();
+                        if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                            gil.acquire(); // need gil to trigger actions or construct OSError
+                            getContext().triggerAsyncActions();
+                            gil.release(true); // continue read loop without gil
+                        } else {
+                            throw e;
+                        }
+                    }
+                }
+            } finally {
+                gil.acquire();
+            }
+        }
     }
 
     @Builtin(name = "write", minNumOfPositionalArgs = 2, parameterNames = {"fd", "data"})
@@ -641,6 +672,269 @@ public class PosixModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "pread", minNumOfPositionalArgs = 3, parameterNames = {"fd", "length", "offset"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "length", conversion = ClinicConversion.Index)
+    @ArgumentClinic(name = "offset", conversionClass = OffsetConversionNode.class)
+    @GenerateNodeFactory
+    abstract static class PreadNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.PreadNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PBytes pread(VirtualFrame frame, int fd, int length, long offset,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            if (length < 0) {
+                int error = OSErrorEnum.EINVAL.getNumber();
+                throw raiseOSError(frame, error, posixLib.strerror(getPosixSupport(), error));
+            }
+            try {
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            Buffer result = posixLib.pread(getPosixSupport(), fd, length, offset);
+                            return factory().createBytes(result.data, 0, (int) result.length);
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                gil.acquire();
+                                getContext().triggerAsyncActions();
+                                gil.release(true);
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+        }
+    }
+
+    @Builtin(name = "pwrite", minNumOfPositionalArgs = 3, parameterNames = {"fd", "data", "offset"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "data", conversion = ClinicConversion.Buffer)
+    @ArgumentClinic(name = "offset", conversionClass = OffsetConversionNode.class)
+    @GenerateNodeFactory
+    abstract static class PwriteNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.PwriteNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        long pwrite(VirtualFrame frame, int fd, byte[] data, long offset,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            try {
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            return posixLib.pwrite(getPosixSupport(), fd, Buffer.wrap(data), offset);
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                gil.acquire();
+                                getContext().triggerAsyncActions();
+                                gil.release(true);
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+        }
+    }
+
+    @Builtin(name = "readv", minNumOfPositionalArgs = 2, parameterNames = {"fd", "buffers"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    abstract static class ReadvNode extends PythonBinaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.ReadvNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        long readv(VirtualFrame frame, int fd, Object buffers,
+                        @Cached FastConstructListNode constructListNode,
+                        @Cached ToArrayNode toArrayNode,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            Object[] items = toArrayNode.execute(constructListNode.execute(frame, buffers).getSequenceStorage());
+            Buffer[] dest = new Buffer[items.length];
+            for (int i = 0; i < items.length; i++) {
+                if (!IONodes.isDirectWritableBuffer(items[i])) {
+                    throw raise(TypeError, ErrorMessages.RW_BYTESLIKE_OBJ_REQUIRED, items[i]);
+                }
+                // read into temporary arrays, the bytearrays may be resized while the GIL is
+                // released
+                int len = IONodes.getDirectBufferLength(items[i]);
+                dest[i] = new Buffer(new byte[len], len);
+            }
+            long n;
+            try {
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            n = posixLib.readv(getPosixSupport(), fd, dest);
+                            break;
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                gil.acquire();
+                                getContext().triggerAsyncActions();
+                                gil.release(true);
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+            long remaining = n;
+            for (int i = 0; i < items.length && remaining > 0; i++) {
+                int count = (int) Math.min(dest[i].data.length, remaining);
+                remaining -= count;
+                IONodes.copyToDirectBuffer(items[i], 0, dest[i].data, count);
+            }
+            return n;
+        }
+    }
+
+    @Builtin(name = "writev", minNumOfPositionalArgs = 2, parameterNames = {"fd", "buffers"})
+    @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    abstract static class WritevNode extends PythonBinaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.WritevNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        long writev(VirtualFrame frame, int fd, Object buffers,
+                        @Cached FastConstructListNode constructListNode,
+                        @Cached ToArrayNode toArrayNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary bufferLib,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            Object[] items = toArrayNode.execute(constructListNode.execute(frame, buffers).getSequenceStorage());
+            Buffer[] src = new Buffer[items.length];
+            for (int i = 0; i < items.length; i++) {
+                if (!bufferLib.isBuffer(items[i])) {
+                    throw raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, items[i]);
+                }
+                try {
+                    src[i] = Buffer.wrap(bufferLib.getBufferBytes(items[i]));
+                } catch (UnsupportedMessageException e) {
+                    throw CompilerDirectives.shouldNotReachHere(e);
+                }
+            }
+            try {
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            return posixLib.writev(getPosixSupport(), fd, src);
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                gil.acquire();
+                                getContext().triggerAsyncActions();
+                                gil.release(true);
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+        }
+    }
+
+    @Builtin(name = "sendfile", minNumOfPositionalArgs = 4, parameterNames = {"out_fd", "in_fd", "offset", "count"})
+    @ArgumentClinic(name = "out_fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "in_fd", conversion = ClinicConversion.Int)
+    @ArgumentClinic(name = "count", conversion = ClinicConversion.Index)
+    @GenerateNodeFactory
+    abstract static class SendfileNode extends PythonQuaternaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PosixModuleBuiltinsClinicProviders.SendfileNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        long sendfile(VirtualFrame frame, int outFd, int inFd, Object offsetObj, int count,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary offsetLib,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            // None means "use and update the current position of in_fd"
+            long offset = -1;
+            if (!PGuards.isPNone(offsetObj)) {
+                offset = offsetLib.asJavaLongWithState(offsetObj, PArguments.getThreadState(frame));
+                if (offset < 0) {
+                    int error = OSErrorEnum.EINVAL.getNumber();
+                    throw raiseOSError(frame, error, posixLib.strerror(getPosixSupport(), error));
+                }
+            }
+            try {
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            return posixLib.sendfile(getPosixSupport(), outFd, inFd, offset, count);
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                gil.acquire();
+                                getContext().triggerAsyncActions();
+                                gil.release(true);
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+        }
+    }
+
     @Builtin(name = "dup", minNumOfPositionalArgs = 1, parameterNames = {"fd"})
     @ArgumentClinic(name = "fd", conversion = ClinicConversion.Int)
     @GenerateNodeFactory
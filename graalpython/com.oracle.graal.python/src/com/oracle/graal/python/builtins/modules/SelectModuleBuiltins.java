@@ -42,20 +42,27 @@ package com.oracle.graal.python.builtins.modules;
 
 import static com.oracle.graal.python.nodes.ErrorMessages.INVALID_VALUE_NAN;
 import static com.oracle.graal.python.nodes.ErrorMessages.TOO_LARGE_TO_CONVERT_TO;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CLOEXEC;
 import static com.oracle.graal.python.runtime.PosixConstants.FD_SETSIZE;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
 
 import java.util.List;
 
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
 import com.oracle.graal.python.builtins.objects.floats.PFloat;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.select.PEpoll;
+import com.oracle.graal.python.builtins.objects.select.PPoll;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PGuards;
@@ -65,7 +72,11 @@ import com.oracle.graal.python.nodes.builtins.ListNodes.FastConstructListNode;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallBinaryNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.runtime.EmulatedPosixSupport;
+import com.oracle.graal.python.runtime.PosixConstants;
+import com.oracle.graal.python.runtime.PosixConstants.IntConstant;
 import com.oracle.graal.python.runtime.PosixResources;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.ChannelNotSelectableException;
@@ -73,6 +84,7 @@ import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.SelectResult;
 import com.oracle.graal.python.runtime.PosixSupportLibrary.Timeval;
 import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PythonCore;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.runtime.exception.PythonErrorType;
 import com.oracle.graal.python.runtime.sequence.PSequence;
@@ -101,6 +113,72 @@ public class SelectModuleBuiltins extends PythonBuiltins {
         return SelectModuleBuiltinsFactory.getFactories();
     }
 
+    @Override
+    public void initialize(PythonCore core) {
+        for (IntConstant c : PosixConstants.pollEvents) {
+            if (c.defined) {
+                builtinConstants.put(c.name, c.getValueIfDefined());
+            }
+        }
+        if (EPOLLIN.defined) {
+            for (IntConstant c : PosixConstants.epollEvents) {
+                if (c.defined) {
+                    builtinConstants.put(c.name, toUnsignedMask(c.getValueIfDefined()));
+                }
+            }
+            builtinConstants.put(EPOLL_CLOEXEC.name, EPOLL_CLOEXEC.getValueIfDefined());
+            builtinConstants.put("epoll", core.lookupType(PythonBuiltinClassType.PEpoll));
+        }
+        super.initialize(core);
+    }
+
+    /**
+     * Epoll event masks are {@code unsigned int} in C, e.g. {@code EPOLLET} is {@code 1 << 31}.
+     */
+    public static Object toUnsignedMask(int mask) {
+        if (mask < 0) {
+            return Integer.toUnsignedLong(mask);
+        }
+        return mask;
+    }
+
+    @Builtin(name = "poll")
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonBuiltinNode {
+        @Specialization
+        PPoll poll() {
+            return factory().createPoll();
+        }
+    }
+
+    @Builtin(name = "epoll", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "sizehint", "flags"}, constructsClass = PythonBuiltinClassType.PEpoll)
+    @ArgumentClinic(name = "sizehint", conversion = ClinicConversion.Int, defaultValue = "-1")
+    @ArgumentClinic(name = "flags", conversion = ClinicConversion.Int, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class EpollNode extends PythonTernaryClinicBuiltinNode {
+        @Specialization
+        PEpoll epoll(VirtualFrame frame, Object cls, int sizehint, int flags,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib) {
+            if (sizehint != -1 && sizehint <= 0) {
+                throw raise(ValueError, ErrorMessages.NEGATIVE_SIZEHINT);
+            }
+            // the epoll instance is always created with EPOLL_CLOEXEC
+            if (flags != 0 && flags != EPOLL_CLOEXEC.getValueIfDefined()) {
+                throw raiseOSError(frame, OSErrorEnum.EINVAL);
+            }
+            try {
+                return factory().createEpoll(cls, posixLib.epollCreate(getPosixSupport()));
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return SelectModuleBuiltinsClinicProviders.EpollNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
     @Builtin(name = "select", minNumOfPositionalArgs = 3, parameterNames = {"rlist", "wlist", "xlist", "timeout"})
     @GenerateNodeFactory
     abstract static class SelectNode extends PythonBuiltinNode {
@@ -231,8 +309,8 @@ public class SelectModuleBuiltins extends PythonBuiltins {
     static final long US_TO_NS = 1000L;
     static final long MS_TO_US = 1000L;
     static final long SEC_TO_MS = 1000L;
-    static final long MS_TO_NS = MS_TO_US * US_TO_NS;
-    static final long SEC_TO_NS = SEC_TO_MS * MS_TO_NS;
+    public static final long MS_TO_NS = MS_TO_US * US_TO_NS;
+    public static final long SEC_TO_NS = SEC_TO_MS * MS_TO_NS;
     static final long SEC_TO_US = SEC_TO_MS * MS_TO_US;
 
     static Timeval timeAsTimeval(long t) {
@@ -265,8 +343,8 @@ public class SelectModuleBuiltins extends PythonBuiltins {
     /**
      * Equivalent of {@code _PyTime_FromObject} from CPython.
      */
-    abstract static class PyTimeFromObjectNode extends PNodeWithRaise {
-        abstract long execute(VirtualFrame frame, Object obj, long unitToNs);
+    public abstract static class PyTimeFromObjectNode extends PNodeWithRaise {
+        public abstract long execute(VirtualFrame frame, Object obj, long unitToNs);
 
         @Specialization
         long doDouble(double d, long unitToNs) {
@@ -301,5 +379,9 @@ public class SelectModuleBuiltins extends PythonBuiltins {
         private PException raiseTimeOverflow() {
             throw raise(PythonBuiltinClassType.OverflowError, TOO_LARGE_TO_CONVERT_TO, "timestamp", "long");
         }
+
+        public static PyTimeFromObjectNode create() {
+            return SelectModuleBuiltinsFactory.PyTimeFromObjectNodeGen.create();
+        }
     }
 }
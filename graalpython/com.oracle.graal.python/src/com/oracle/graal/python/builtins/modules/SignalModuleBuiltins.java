@@ -42,8 +42,6 @@ package com.oracle.graal.python.builtins.modules;
 
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.Semaphore;
 
 import com.oracle.graal.python.annotations.ArgumentClinic;
 import com.oracle.graal.python.builtins.Builtin;
@@ -56,7 +54,6 @@ import com.oracle.graal.python.builtins.objects.module.PythonModule;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
 import com.oracle.graal.python.lib.PyNumberAsSizeNode;
 import com.oracle.graal.python.nodes.ErrorMessages;
-import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
@@ -79,7 +76,6 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.dsl.TypeSystemReference;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
-import com.oracle.truffle.api.object.HiddenKey;
 
 import sun.misc.Signal;
 import sun.misc.SignalHandler;
@@ -89,11 +85,6 @@ public class SignalModuleBuiltins extends PythonBuiltins {
     private static final ConcurrentHashMap<Integer, Object> signalHandlers = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<Integer, SignalHandler> defaultSignalHandlers = new ConcurrentHashMap<>();
 
-    private static final HiddenKey signalQueueKey = new HiddenKey("signalQueue");
-    private final ConcurrentLinkedDeque<SignalTriggerAction> signalQueue = new ConcurrentLinkedDeque<>();
-    private static final HiddenKey signalSemaKey = new HiddenKey("signalQueue");
-    private final Semaphore signalSema = new Semaphore(0);
-
     @Override
     protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
         return SignalModuleBuiltinsFactory.getFactories();
@@ -112,28 +103,6 @@ public class SignalModuleBuiltins extends PythonBuiltins {
         }
     }
 
-    @Override
-    public void postInitialize(PythonCore core) {
-        super.postInitialize(core);
-
-        PythonModule signalModule = core.lookupBuiltinModule("_signal");
-        signalModule.setAttribute(signalQueueKey, signalQueue);
-        signalModule.setAttribute(signalSemaKey, signalSema);
-
-        core.getContext().registerAsyncAction(() -> {
-            SignalTriggerAction poll = signalQueue.poll();
-            try {
-                while (poll == null) {
-                    signalSema.acquire();
-                    poll = signalQueue.poll();
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            return poll;
-        });
-    }
-
     private static class SignalTriggerAction extends AsyncHandler.AsyncPythonAction {
         private final Object callableObject;
         private final int signum;
@@ -260,25 +229,20 @@ public class SignalModuleBuiltins extends PythonBuiltins {
         }
 
         @Specialization(guards = "handlerLib.isCallable(handler)", limit = "1")
-        Object signalHandler(VirtualFrame frame, PythonModule self, Object signal, Object handler,
+        Object signalHandler(VirtualFrame frame, @SuppressWarnings("unused") PythonModule self, Object signal, Object handler,
                         @SuppressWarnings("unused") @CachedLibrary("handler") PythonObjectLibrary handlerLib,
-                        @Cached PyNumberAsSizeNode asSizeNode,
-                        @Cached ReadAttributeFromObjectNode readQueueNode,
-                        @Cached ReadAttributeFromObjectNode readSemaNode) {
-            return signal(self, asSizeNode.executeExact(frame, signal), handler, readQueueNode, readSemaNode);
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            return signal(asSizeNode.executeExact(frame, signal), handler);
         }
 
         @TruffleBoundary
-        private Object signal(PythonModule self, int signum, Object handler, ReadAttributeFromObjectNode readQueueNode, ReadAttributeFromObjectNode readSemaNode) {
-            ConcurrentLinkedDeque<SignalTriggerAction> queue = getQueue(self, readQueueNode);
-            Semaphore semaphore = getSemaphore(self, readSemaNode);
+        private Object signal(int signum, Object handler) {
+            // the signal is delivered on a Java thread; we post the action right from there
+            AsyncHandler asyncHandler = getContext().getAsyncHandler();
             SignalHandler oldHandler;
             SignalTriggerAction signalTrigger = new SignalTriggerAction(handler, signum);
             try {
-                oldHandler = Signals.setSignalHandler(signum, () -> {
-                    queue.add(signalTrigger);
-                    semaphore.release();
-                });
+                oldHandler = Signals.setSignalHandler(signum, () -> asyncHandler.postAction(signalTrigger));
             } catch (IllegalArgumentException e) {
                 throw raise(PythonErrorType.ValueError, e);
             }
@@ -286,26 +250,6 @@ public class SignalModuleBuiltins extends PythonBuiltins {
             signalHandlers.put(signum, handler);
             return result;
         }
-
-        @SuppressWarnings("unchecked")
-        private static ConcurrentLinkedDeque<SignalTriggerAction> getQueue(PythonModule self, ReadAttributeFromObjectNode readNode) {
-            Object queueObject = readNode.execute(self, signalQueueKey);
-            if (queueObject instanceof ConcurrentLinkedDeque) {
-                ConcurrentLinkedDeque<SignalTriggerAction> queue = (ConcurrentLinkedDeque<SignalTriggerAction>) queueObject;
-                return queue;
-            } else {
-                throw new IllegalStateException("the signal trigger queue was modified!");
-            }
-        }
-
-        private static Semaphore getSemaphore(PythonModule self, ReadAttributeFromObjectNode readNode) {
-            Object semaphore = readNode.execute(self, signalSemaKey);
-            if (semaphore instanceof Semaphore) {
-                return (Semaphore) semaphore;
-            } else {
-                throw new IllegalStateException("the signal trigger semaphore was modified!");
-            }
-        }
     }
 
     @Builtin(name = "set_wakeup_fd", minNumOfPositionalArgs = 1, parameterNames = {"", "warn_on_full_buffer"})
@@ -61,6 +61,7 @@ import com.oracle.graal.python.builtins.CoreFunctions;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.PythonBuiltins;
 import com.oracle.graal.python.builtins.modules.SysModuleBuiltinsClinicProviders.GetFrameNodeClinicProviderGen;
+import com.oracle.graal.python.builtins.modules.SysModuleBuiltinsClinicProviders.SetSwitchIntervalNodeClinicProviderGen;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.exception.PBaseException;
 import com.oracle.graal.python.builtins.objects.frame.PFrame;
@@ -85,6 +86,7 @@ import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryClinicBuiltinNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
 import com.oracle.graal.python.nodes.object.GetClassNode;
 import com.oracle.graal.python.nodes.util.ExceptionStateNodes.GetCaughtExceptionNode;
@@ -681,4 +683,36 @@ public class SysModuleBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "getswitchinterval")
+    @GenerateNodeFactory
+    public abstract static class GetSwitchIntervalNode extends PythonBuiltinNode {
+        @Specialization
+        static double doGeneric(
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            return context.getGlobalInterpreterLock().getSwitchIntervalNanos() / 1e9;
+        }
+    }
+
+    @Builtin(name = "setswitchinterval", parameterNames = "interval")
+    @ArgumentClinic(name = "interval", conversion = ClinicConversion.Double)
+    @GenerateNodeFactory
+    public abstract static class SetSwitchIntervalNode extends PythonUnaryClinicBuiltinNode {
+        private static final long MIN_SWITCH_INTERVAL_NS = 1000;
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return SetSwitchIntervalNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object doGeneric(double interval,
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            if (interval <= 0) {
+                throw raise(ValueError, ErrorMessages.SWITCH_INTERVAL_MUST_BE_POSITIVE);
+            }
+            // like CPython, we use at least a microsecond
+            context.getGlobalInterpreterLock().setSwitchIntervalNanos(Math.max(MIN_SWITCH_INTERVAL_NS, (long) (interval * 1e9)));
+            return PNone.NONE;
+        }
+    }
 }
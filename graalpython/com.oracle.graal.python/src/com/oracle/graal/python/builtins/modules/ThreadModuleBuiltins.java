@@ -188,6 +188,9 @@ public class ThreadModuleBuiltins extends PythonBuiltins {
                         @Cached ExecutePositionalStarargsNode getArgsNode,
                         @Cached ExpandKeywordStarargsNode getKwArgsNode) {
             PythonContext context = getContext();
+            if (context.isGilFree()) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.CANNOT_START_THREAD_IN_ISOLATED_CONTEXT);
+            }
             TruffleLanguage.Env env = context.getEnv();
 
             // TODO: python thread stack size != java thread stack size
@@ -102,7 +102,7 @@ public final class TimeModuleBuiltins extends PythonBuiltins {
 
     private static final HiddenKey TIME_SLEPT = new HiddenKey("timeSlept");
 
-    private static final StructSequence.Descriptor STRUCT_TIME_DESC = new StructSequence.Descriptor(
+    public static final StructSequence.Descriptor STRUCT_TIME_DESC = new StructSequence.Descriptor(
                     PythonBuiltinClassType.PStructTime,
                     // @formatter:off The formatter joins these lines making it less readable
                     "The time value as returned by gmtime(), localtime(), and strptime(), and\n" +
@@ -725,7 +725,7 @@ public final class TimeModuleBuiltins extends PythonBuiltins {
         // This taken from JPython + some switches were corrected to provide the
         // same result as CPython
         @TruffleBoundary
-        private static String format(String format, int[] date) {
+        public static String format(String format, int[] date) {
             String s = "";
             int lastc = 0;
             int j;
@@ -42,6 +42,7 @@ package com.oracle.graal.python.builtins.modules;
 
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.oracle.graal.python.builtins.Builtin;
@@ -117,17 +118,14 @@ public class WeakRefModuleBuiltins extends PythonBuiltins {
             if (!ctx.isGcEnabled()) {
                 return null;
             }
-            Reference<? extends Object> reference = null;
-            try {
-                reference = weakRefQueue.remove();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            if (reference instanceof PReferenceType.WeakRefStorage) {
-                return new WeakrefCallbackAction((PReferenceType.WeakRefStorage) reference);
-            } else {
-                return null;
+            ArrayList<AsyncHandler.AsyncAction> actions = new ArrayList<>();
+            Reference<? extends Object> reference;
+            while ((reference = weakRefQueue.poll()) != null) {
+                if (reference instanceof PReferenceType.WeakRefStorage) {
+                    actions.add(new WeakrefCallbackAction((PReferenceType.WeakRefStorage) reference));
+                }
             }
+            return AsyncHandler.batch(actions);
         });
     }
 
@@ -0,0 +1,506 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.csv;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.CSVError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.SpecialAttributeNames;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
+import com.oracle.graal.python.nodes.builtins.ListNodes.ConstructListNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaLongExactNode;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.object.HiddenKey;
+
+@CoreFunctions(defineModule = CSVModuleBuiltins.MODULE_NAME)
+public final class CSVModuleBuiltins extends PythonBuiltins {
+
+    static final String MODULE_NAME = "_csv";
+
+    static final int QUOTE_MINIMAL = 0;
+    static final int QUOTE_ALL = 1;
+    static final int QUOTE_NONNUMERIC = 2;
+    static final int QUOTE_NONE = 3;
+
+    /**
+     * Marks an unset special character of a dialect, i.e., {@code None} on the Python side.
+     */
+    static final int NOT_SET = 0;
+
+    private static final HiddenKey STATE = new HiddenKey("state");
+
+    /**
+     * The state shared by all readers of a context. Like in CPython, the field size limit is read
+     * whenever a character is added to a field, so changing it affects existing readers.
+     */
+    public static final class ModuleState {
+        private final PDict dialects;
+        private long fieldLimit = 128 * 1024;
+
+        ModuleState(PDict dialects) {
+            this.dialects = dialects;
+        }
+
+        PDict getDialects() {
+            return dialects;
+        }
+
+        long getFieldLimit() {
+            return fieldLimit;
+        }
+
+        void setFieldLimit(long fieldLimit) {
+            this.fieldLimit = fieldLimit;
+        }
+    }
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return CSVModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        builtinConstants.put(SpecialAttributeNames.__DOC__, //
+                    "CSV parsing and writing.\n" +
+                    "\n" +
+                    "This module provides classes that assist in the reading and writing\n" +
+                    "of Comma Separated Value (CSV) files, and implements the interface\n" +
+                    "described by PEP 305.  Although many CSV files are simple to parse,\n" +
+                    "the format is not formally defined by a stable specification and\n" +
+                    "is subtle enough that parsing lines of a CSV file with something\n" +
+                    "like line.split(\",\") is bound to fail.  The module supports three\n" +
+                    "basic APIs: reading, writing, and registration of dialects.\n" +
+                    "\n" +
+                    "\n" +
+                    "DIALECT REGISTRATION:\n" +
+                    "\n" +
+                    "Readers and writers support a dialect argument, which is a convenient\n" +
+                    "handle on a group of settings.  When the dialect argument is a string,\n" +
+                    "it identifies one of the dialects previously registered with the module.\n" +
+                    "If it is a class or instance, the attributes of the argument are used as\n" +
+                    "the settings for the reader or writer:\n" +
+                    "\n" +
+                    "    class excel:\n" +
+                    "        delimiter = ','\n" +
+                    "        quotechar = '\"'\n" +
+                    "        escapechar = None\n" +
+                    "        doublequote = True\n" +
+                    "        skipinitialspace = False\n" +
+                    "        lineterminator = '\\r\\n'\n" +
+                    "        quoting = QUOTE_MINIMAL\n" +
+                    "\n" +
+                    "SETTINGS:\n" +
+                    "\n" +
+                    "    * quotechar - specifies a one-character string to use as the\n" +
+                    "        quoting character.  It defaults to '\"'.\n" +
+                    "    * delimiter - specifies a one-character string to use as the\n" +
+                    "        field separator.  It defaults to ','.\n" +
+                    "    * skipinitialspace - specifies how to interpret whitespace which\n" +
+                    "        immediately follows a delimiter.  It defaults to False, which\n" +
+                    "        means that whitespace immediately following a delimiter is part\n" +
+                    "        of the following field.\n" +
+                    "    * lineterminator -  specifies the character sequence which should\n" +
+                    "        terminate rows.\n" +
+                    "    * quoting - controls when quotes should be generated by the writer.\n" +
+                    "        It can take on any of the following module constants:\n" +
+                    "\n" +
+                    "        csv.QUOTE_MINIMAL means only when required, for example, when a\n" +
+                    "            field contains either the quotechar or the delimiter\n" +
+                    "        csv.QUOTE_ALL means that quotes are always placed around fields.\n" +
+                    "        csv.QUOTE_NONNUMERIC means that quotes are always placed around\n" +
+                    "            fields which do not parse as integers or floating point\n" +
+                    "            numbers.\n" +
+                    "        csv.QUOTE_NONE means that quotes are never placed around fields.\n" +
+                    "    * escapechar - specifies a one-character string used to escape\n" +
+                    "        the delimiter when quoting is set to QUOTE_NONE.\n" +
+                    "    * doublequote - controls the handling of quotes inside fields.  When\n" +
+                    "        True, two consecutive quotes are interpreted as one during read,\n" +
+                    "        and when writing, each quote character embedded in the data is\n" +
+                    "        written as two quotes.");
+        builtinConstants.put("__version__", "1.0");
+        builtinConstants.put("QUOTE_MINIMAL", QUOTE_MINIMAL);
+        builtinConstants.put("QUOTE_ALL", QUOTE_ALL);
+        builtinConstants.put("QUOTE_NONNUMERIC", QUOTE_NONNUMERIC);
+        builtinConstants.put("QUOTE_NONE", QUOTE_NONE);
+        super.initialize(core);
+    }
+
+    @Override
+    public void postInitialize(PythonCore core) {
+        super.postInitialize(core);
+        PythonModule module = core.lookupBuiltinModule(MODULE_NAME);
+        PDict dialects = core.factory().createDict();
+        module.setAttribute("_dialects", dialects);
+        module.setAttribute(STATE, new ModuleState(dialects));
+    }
+
+    static ModuleState getState(PythonModule module, ReadAttributeFromObjectNode readNode) {
+        return (ModuleState) readNode.execute(module, STATE);
+    }
+
+    @TruffleBoundary
+    static ModuleState getState(PythonContext context) {
+        return (ModuleState) ReadAttributeFromObjectNode.getUncached().execute(context.getCore().lookupBuiltinModule(MODULE_NAME), STATE);
+    }
+
+    /**
+     * Equivalent of CPython's {@code _call_dialect}, which lets the {@code Dialect} constructor
+     * resolve and validate the dialect argument and the format parameters.
+     */
+    static PCSVDialect callDialect(VirtualFrame frame, CallNode callNode, Object dialect, PKeyword[] kwargs) {
+        Object[] args = dialect == PNone.NO_VALUE ? PythonUtils.EMPTY_OBJECT_ARRAY : new Object[]{dialect};
+        return (PCSVDialect) callNode.execute(frame, PythonBuiltinClassType.CSVDialect, args, kwargs);
+    }
+
+    static Object getDialectFromRegistry(PNodeWithRaise node, ModuleState state, Object name, HashingStorageLibrary hlib) {
+        Object dialect = hlib.getItem(state.getDialects().getDictStorage(), name);
+        if (dialect == null) {
+            throw node.raise(CSVError, ErrorMessages.UNKNOWN_DIALECT);
+        }
+        return dialect;
+    }
+
+    @Builtin(name = "Dialect", minNumOfPositionalArgs = 1, parameterNames = {"$cls", "dialect", "delimiter", "doublequote", "escapechar", "lineterminator", "quotechar", "quoting",
+                    "skipinitialspace", "strict"}, constructsClass = PythonBuiltinClassType.CSVDialect)
+    @GenerateNodeFactory
+    abstract static class DialectNode extends PythonBuiltinNode {
+
+        @Specialization
+        Object doNew(VirtualFrame frame, Object cls, Object dialectArg, Object delimiterArg, Object doublequoteArg, Object escapecharArg, Object lineterminatorArg, Object quotecharArg,
+                        Object quotingArg, Object skipinitialspaceArg, Object strictArg,
+                        @CachedContext(PythonLanguage.class) PythonContext context,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "1") HashingStorageLibrary hlib,
+                        @Cached IsSubtypeNode isSubtypeNode,
+                        @Cached IsBuiltinClassProfile isIntProfile,
+                        @Cached CastToJavaStringNode castToStringNode,
+                        @Cached CastToJavaLongExactNode castToLongNode) {
+            Object dialect = dialectArg;
+            Object delimiter = delimiterArg;
+            Object doublequote = doublequoteArg;
+            Object escapechar = escapecharArg;
+            Object lineterminator = lineterminatorArg;
+            Object quotechar = quotecharArg;
+            Object quoting = quotingArg;
+            Object skipinitialspace = skipinitialspaceArg;
+            Object strict = strictArg;
+            if (dialect != PNone.NO_VALUE) {
+                if (PGuards.isString(dialect)) {
+                    dialect = getDialectFromRegistry(this, getState(context), dialect, hlib);
+                }
+                // can we reuse this instance?
+                if (isSubtypeNode.execute(frame, lib.getLazyPythonClass(dialect), PythonBuiltinClassType.CSVDialect) && delimiter == PNone.NO_VALUE && doublequote == PNone.NO_VALUE &&
+                                escapechar == PNone.NO_VALUE && lineterminator == PNone.NO_VALUE && quotechar == PNone.NO_VALUE && quoting == PNone.NO_VALUE &&
+                                skipinitialspace == PNone.NO_VALUE && strict == PNone.NO_VALUE) {
+                    return dialect;
+                }
+                delimiter = getAttr(frame, dialect, delimiter, "delimiter", lib);
+                doublequote = getAttr(frame, dialect, doublequote, "doublequote", lib);
+                escapechar = getAttr(frame, dialect, escapechar, "escapechar", lib);
+                lineterminator = getAttr(frame, dialect, lineterminator, "lineterminator", lib);
+                quotechar = getAttr(frame, dialect, quotechar, "quotechar", lib);
+                quoting = getAttr(frame, dialect, quoting, "quoting", lib);
+                skipinitialspace = getAttr(frame, dialect, skipinitialspace, "skipinitialspace", lib);
+                strict = getAttr(frame, dialect, strict, "strict", lib);
+            }
+
+            int delimiterValue = getChar("delimiter", delimiter, ',', castToStringNode);
+            boolean doublequoteValue = getBool(frame, doublequote, true, lib);
+            int escapecharValue = getChar("escapechar", escapechar, NOT_SET, castToStringNode);
+            String lineterminatorValue = getString("lineterminator", lineterminator, "\r\n", castToStringNode);
+            int quotecharValue = getChar("quotechar", quotechar, '"', castToStringNode);
+            int quotingValue = getInt("quoting", quoting, QUOTE_MINIMAL, isIntProfile, castToLongNode);
+            boolean skipinitialspaceValue = getBool(frame, skipinitialspace, false, lib);
+            boolean strictValue = getBool(frame, strict, false, lib);
+
+            // validate options
+            if (quotingValue < QUOTE_MINIMAL || quotingValue > QUOTE_NONE) {
+                throw raise(TypeError, ErrorMessages.BAD_QUOTING_VALUE);
+            }
+            if (delimiterValue == NOT_SET) {
+                throw raise(TypeError, ErrorMessages.CSV_MUST_BE_1_CHAR_STRING, "delimiter");
+            }
+            if (quotechar == PNone.NONE && quoting == PNone.NO_VALUE) {
+                quotingValue = QUOTE_NONE;
+            }
+            if (quotingValue != QUOTE_NONE && quotecharValue == NOT_SET) {
+                throw raise(TypeError, ErrorMessages.QUOTECHAR_MUST_BE_SET_IF_QUOTING_ENABLED);
+            }
+            if (lineterminatorValue == null) {
+                throw raise(TypeError, ErrorMessages.LINETERMINATOR_MUST_BE_SET);
+            }
+            return factory().createCSVDialect(cls, delimiterValue, doublequoteValue, escapecharValue, lineterminatorValue, quotecharValue, quotingValue, skipinitialspaceValue, strictValue);
+        }
+
+        private static Object getAttr(VirtualFrame frame, Object dialect, Object value, String name, PythonObjectLibrary lib) {
+            if (value == PNone.NO_VALUE) {
+                return lib.lookupAttribute(dialect, frame, name);
+            }
+            return value;
+        }
+
+        private static boolean getBool(VirtualFrame frame, Object src, boolean dflt, PythonObjectLibrary lib) {
+            if (src == PNone.NO_VALUE) {
+                return dflt;
+            }
+            return lib.isTrue(src, frame);
+        }
+
+        private int getInt(String name, Object src, int dflt, IsBuiltinClassProfile isIntProfile, CastToJavaLongExactNode castToLongNode) {
+            if (src == PNone.NO_VALUE) {
+                return dflt;
+            }
+            if (!isIntProfile.profileObject(src, PythonBuiltinClassType.PInt)) {
+                throw raise(TypeError, ErrorMessages.CSV_MUST_BE_AN_INTEGER, name);
+            }
+            long value = castToLongNode.execute(src);
+            if (value != (int) value) {
+                throw raise(OverflowError, ErrorMessages.PYTHON_INT_TOO_LARGE_TO_CONV_TO, "C int");
+            }
+            return (int) value;
+        }
+
+        private int getChar(String name, Object src, int dflt, CastToJavaStringNode castToStringNode) {
+            if (src == PNone.NO_VALUE) {
+                return dflt;
+            } else if (src == PNone.NONE) {
+                return NOT_SET;
+            }
+            String str;
+            try {
+                str = castToStringNode.execute(src);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.CSV_MUST_BE_STRING_NOT_P, name, src);
+            }
+            int c = singleCodePoint(str);
+            if (c < 0) {
+                throw raise(TypeError, ErrorMessages.CSV_MUST_BE_1_CHAR_STRING, name);
+            }
+            return c;
+        }
+
+        private String getString(String name, Object src, String dflt, CastToJavaStringNode castToStringNode) {
+            if (src == PNone.NO_VALUE) {
+                return dflt;
+            } else if (src == PNone.NONE) {
+                return null;
+            }
+            try {
+                return castToStringNode.execute(src);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.CSV_MUST_BE_A_STRING, name);
+            }
+        }
+
+        /**
+         * Returns the only code point of the string, {@link #NOT_SET} for an empty string and
+         * {@code -1} if the string is longer than one character.
+         */
+        @TruffleBoundary
+        private static int singleCodePoint(String str) {
+            if (str.isEmpty()) {
+                return NOT_SET;
+            }
+            int c = str.codePointAt(0);
+            return Character.charCount(c) == str.length() ? c : -1;
+        }
+    }
+
+    @Builtin(name = "reader", minNumOfPositionalArgs = 2, parameterNames = {"$mod", "csvfile", "dialect"}, takesVarKeywordArgs = true, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class ReaderNode extends PythonBuiltinNode {
+
+        @Specialization(limit = "3")
+        Object reader(VirtualFrame frame, PythonModule self, Object csvfile, Object dialect, PKeyword[] kwargs,
+                        @CachedLibrary("csvfile") PythonObjectLibrary lib,
+                        @Cached IsBuiltinClassProfile typeErrorProfile,
+                        @Cached ReadAttributeFromObjectNode readStateNode,
+                        @Cached CallNode callNode) {
+            Object inputIter;
+            try {
+                inputIter = lib.getIteratorWithFrame(csvfile, frame);
+            } catch (PException e) {
+                e.expect(TypeError, typeErrorProfile);
+                throw raise(TypeError, ErrorMessages.ARG_1_MUST_BE_AN_ITERATOR);
+            }
+            return factory().createCSVReader(inputIter, callDialect(frame, callNode, dialect, kwargs), getState(self, readStateNode));
+        }
+    }
+
+    @Builtin(name = "writer", minNumOfPositionalArgs = 1, parameterNames = {"fileobj", "dialect"}, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class WriterNode extends PythonBuiltinNode {
+
+        @Specialization(limit = "3")
+        Object writer(VirtualFrame frame, Object fileobj, Object dialect, PKeyword[] kwargs,
+                        @CachedLibrary("fileobj") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary writeLib,
+                        @Cached CallNode callNode) {
+            Object write = lib.lookupAttribute(fileobj, frame, "write");
+            if (write == PNone.NO_VALUE || !writeLib.isCallable(write)) {
+                throw raise(TypeError, ErrorMessages.ARG_1_MUST_HAVE_A_WRITE_METHOD);
+            }
+            return factory().createCSVWriter(write, callDialect(frame, callNode, dialect, kwargs));
+        }
+    }
+
+    @Builtin(name = "register_dialect", minNumOfPositionalArgs = 2, parameterNames = {"$mod", "name", "dialect"}, takesVarKeywordArgs = true, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class RegisterDialectNode extends PythonBuiltinNode {
+
+        @Specialization
+        PNone register(VirtualFrame frame, PythonModule self, Object name, Object dialect, PKeyword[] kwargs,
+                        @Cached ReadAttributeFromObjectNode readStateNode,
+                        @Cached CallNode callNode,
+                        @CachedLibrary(limit = "1") HashingStorageLibrary hlib) {
+            if (!PGuards.isString(name)) {
+                throw raise(TypeError, ErrorMessages.DIALECT_NAME_MUST_BE_A_STRING);
+            }
+            PCSVDialect value = callDialect(frame, callNode, dialect, kwargs);
+            PDict dialects = getState(self, readStateNode).getDialects();
+            dialects.setDictStorage(hlib.setItem(dialects.getDictStorage(), name, value));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unregister_dialect", minNumOfPositionalArgs = 2, parameterNames = {"$mod", "name"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class UnregisterDialectNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        PNone unregister(PythonModule self, Object name,
+                        @Cached ReadAttributeFromObjectNode readStateNode,
+                        @CachedLibrary(limit = "1") HashingStorageLibrary hlib) {
+            PDict dialects = getState(self, readStateNode).getDialects();
+            HashingStorage storage = dialects.getDictStorage();
+            if (!hlib.hasKey(storage, name)) {
+                throw raise(CSVError, ErrorMessages.UNKNOWN_DIALECT);
+            }
+            dialects.setDictStorage(hlib.delItem(storage, name));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "get_dialect", minNumOfPositionalArgs = 2, parameterNames = {"$mod", "name"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class GetDialectNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        Object get(PythonModule self, Object name,
+                        @Cached ReadAttributeFromObjectNode readStateNode,
+                        @CachedLibrary(limit = "1") HashingStorageLibrary hlib) {
+            return getDialectFromRegistry(this, getState(self, readStateNode), name, hlib);
+        }
+    }
+
+    @Builtin(name = "list_dialects", minNumOfPositionalArgs = 1, parameterNames = {"$mod"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class ListDialectsNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static PList list(VirtualFrame frame, PythonModule self,
+                        @Cached ReadAttributeFromObjectNode readStateNode,
+                        @Cached ConstructListNode constructListNode) {
+            return constructListNode.execute(frame, getState(self, readStateNode).getDialects());
+        }
+    }
+
+    @Builtin(name = "field_size_limit", minNumOfPositionalArgs = 1, parameterNames = {"$mod", "new_limit"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class FieldSizeLimitNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        long limit(PythonModule self, Object newLimit,
+                        @Cached ReadAttributeFromObjectNode readStateNode,
+                        @Cached IsBuiltinClassProfile isIntProfile,
+                        @Cached CastToJavaLongExactNode castToLongNode) {
+            ModuleState state = getState(self, readStateNode);
+            long oldLimit = state.getFieldLimit();
+            if (newLimit != PNone.NO_VALUE) {
+                if (!isIntProfile.profileObject(newLimit, PythonBuiltinClassType.PInt)) {
+                    throw raise(TypeError, ErrorMessages.LIMIT_MUST_BE_AN_INTEGER);
+                }
+                state.setFieldLimit(castToLongNode.execute(newLimit));
+            }
+            return oldLimit;
+        }
+    }
+}
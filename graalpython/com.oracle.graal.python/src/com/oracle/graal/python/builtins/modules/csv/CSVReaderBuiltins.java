@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.csv;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.CSVError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StopIteration;
+import static com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins.QUOTE_NONE;
+import static com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins.QUOTE_NONNUMERIC;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.csv.PCSVReader.State;
+import com.oracle.graal.python.builtins.modules.io.PTextIO;
+import com.oracle.graal.python.builtins.modules.io.TextIOWrapperNodes;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.CSVReader)
+public final class CSVReaderBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return CSVReaderBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PCSVReader iter(PCSVReader self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class NextNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        PList next(VirtualFrame frame, PCSVReader self,
+                        @Cached GetNextLineNode getNextLineNode,
+                        @Cached CastToJavaStringNode castToStringNode) {
+            self.parseReset();
+            do {
+                Object lineObj = getNextLineNode.execute(frame, self.getInputIter());
+                if (lineObj == null) {
+                    // end of input
+                    if (self.fieldLen != 0 || self.state == State.IN_QUOTED_FIELD) {
+                        if (self.getDialect().isStrict()) {
+                            throw raise(CSVError, ErrorMessages.UNEXPECTED_END_OF_DATA);
+                        }
+                        saveField(self);
+                        break;
+                    }
+                    throw raise(StopIteration);
+                }
+                String line;
+                try {
+                    line = castToStringNode.execute(lineObj);
+                } catch (CannotCastException e) {
+                    throw raise(CSVError, ErrorMessages.ITERATOR_SHOULD_RETURN_STRINGS_NOT_P, lineObj);
+                }
+                self.incrementLineNum();
+                parseLine(self, line);
+            } while (self.state != State.START_RECORD);
+            return factory().createList(self.takeFields());
+        }
+
+        /**
+         * Feeds a whole line to the state machine. Runs of ordinary characters inside a field are
+         * copied at once instead of going through {@link #processChar} one by one.
+         */
+        @TruffleBoundary
+        private void parseLine(PCSVReader self, String line) {
+            PCSVDialect dialect = self.getDialect();
+            int len = line.length();
+            int pos = 0;
+            while (pos < len) {
+                if (self.state == State.IN_FIELD || self.state == State.IN_QUOTED_FIELD) {
+                    boolean quoted = self.state == State.IN_QUOTED_FIELD;
+                    int end = pos;
+                    int count = 0;
+                    while (end < len) {
+                        int c = line.codePointAt(end);
+                        if (isSpecial(dialect, quoted, c)) {
+                            break;
+                        }
+                        end += Character.charCount(c);
+                        count++;
+                    }
+                    if (count > 0) {
+                        addChars(self, line, pos, end, count);
+                        pos = end;
+                        continue;
+                    }
+                }
+                int c = line.codePointAt(pos);
+                if (c == 0) {
+                    throw raise(CSVError, ErrorMessages.LINE_CONTAINS_NUL);
+                }
+                processChar(self, c);
+                pos += Character.charCount(c);
+            }
+            processChar(self, 0);
+        }
+
+        private static boolean isSpecial(PCSVDialect dialect, boolean quoted, int c) {
+            if (c == 0 || c == dialect.getEscapechar()) {
+                return true;
+            } else if (quoted) {
+                return c == dialect.getQuotechar() && dialect.getQuoting() != QUOTE_NONE;
+            } else {
+                return c == '\n' || c == '\r' || c == dialect.getDelimiter();
+            }
+        }
+
+        @SuppressWarnings("fallthrough")
+        private void processChar(PCSVReader self, int chr) {
+            PCSVDialect dialect = self.getDialect();
+            int c = chr;
+            switch (self.state) {
+                case START_RECORD:
+                    // start of record
+                    if (c == 0) {
+                        // empty line - return []
+                        break;
+                    } else if (c == '\n' || c == '\r') {
+                        self.state = State.EAT_CRNL;
+                        break;
+                    }
+                    // normal character - handle as START_FIELD
+                    self.state = State.START_FIELD;
+                    // fallthrough
+                case START_FIELD:
+                    // expecting field
+                    if (c == '\n' || c == '\r' || c == 0) {
+                        // save empty field - return [fields]
+                        saveField(self);
+                        self.state = c == 0 ? State.START_RECORD : State.EAT_CRNL;
+                    } else if (c == dialect.getQuotechar() && dialect.getQuoting() != QUOTE_NONE) {
+                        // start quoted field
+                        self.state = State.IN_QUOTED_FIELD;
+                    } else if (c == dialect.getEscapechar()) {
+                        // possible escaped character
+                        self.state = State.ESCAPED_CHAR;
+                    } else if (c == ' ' && dialect.isSkipinitialspace()) {
+                        // ignore space at start of field
+                    } else if (c == dialect.getDelimiter()) {
+                        // save empty field
+                        saveField(self);
+                    } else {
+                        // begin new unquoted field
+                        if (dialect.getQuoting() == QUOTE_NONNUMERIC) {
+                            self.numericField = true;
+                        }
+                        addChar(self, c);
+                        self.state = State.IN_FIELD;
+                    }
+                    break;
+                case ESCAPED_CHAR:
+                    if (c == '\n' || c == '\r') {
+                        addChar(self, c);
+                        self.state = State.AFTER_ESCAPED_CRNL;
+                        break;
+                    }
+                    if (c == 0) {
+                        c = '\n';
+                    }
+                    addChar(self, c);
+                    self.state = State.IN_FIELD;
+                    break;
+                case AFTER_ESCAPED_CRNL:
+                    if (c == 0) {
+                        break;
+                    }
+                    // fallthrough
+                case IN_FIELD:
+                    // in unquoted field
+                    if (c == '\n' || c == '\r' || c == 0) {
+                        // end of line - return [fields]
+                        saveField(self);
+                        self.state = c == 0 ? State.START_RECORD : State.EAT_CRNL;
+                    } else if (c == dialect.getEscapechar()) {
+                        // possible escaped character
+                        self.state = State.ESCAPED_CHAR;
+                    } else if (c == dialect.getDelimiter()) {
+                        // save field - wait for new field
+                        saveField(self);
+                        self.state = State.START_FIELD;
+                    } else {
+                        // normal character - save in field
+                        addChar(self, c);
+                    }
+                    break;
+                case IN_QUOTED_FIELD:
+                    // in quoted field
+                    if (c == 0) {
+                        // line break inside the quoted field
+                    } else if (c == dialect.getEscapechar()) {
+                        // possible escape character
+                        self.state = State.ESCAPE_IN_QUOTED_FIELD;
+                    } else if (c == dialect.getQuotechar() && dialect.getQuoting() != QUOTE_NONE) {
+                        if (dialect.isDoublequote()) {
+                            // doublequote; " represented by ""
+                            self.state = State.QUOTE_IN_QUOTED_FIELD;
+                        } else {
+                            // end of quote part of field
+                            self.state = State.IN_FIELD;
+                        }
+                    } else {
+                        // normal character - save in field
+                        addChar(self, c);
+                    }
+                    break;
+                case ESCAPE_IN_QUOTED_FIELD:
+                    if (c == 0) {
+                        c = '\n';
+                    }
+                    addChar(self, c);
+                    self.state = State.IN_QUOTED_FIELD;
+                    break;
+                case QUOTE_IN_QUOTED_FIELD:
+                    // doublequote - seen a quote in a quoted field
+                    if (dialect.getQuoting() != QUOTE_NONE && c == dialect.getQuotechar()) {
+                        // save "" as "
+                        addChar(self, c);
+                        self.state = State.IN_QUOTED_FIELD;
+                    } else if (c == dialect.getDelimiter()) {
+                        // save field - wait for new field
+                        saveField(self);
+                        self.state = State.START_FIELD;
+                    } else if (c == '\n' || c == '\r' || c == 0) {
+                        // end of line - return [fields]
+                        saveField(self);
+                        self.state = c == 0 ? State.START_RECORD : State.EAT_CRNL;
+                    } else if (!dialect.isStrict()) {
+                        addChar(self, c);
+                        self.state = State.IN_FIELD;
+                    } else {
+                        // illegal
+                        throw raise(CSVError, ErrorMessages.S_EXPECTED_AFTER_S, CSVDialectBuiltins.charToObject(dialect.getDelimiter()),
+                                        CSVDialectBuiltins.charToObject(dialect.getQuotechar()));
+                    }
+                    break;
+                case EAT_CRNL:
+                    if (c == '\n' || c == '\r') {
+                        // skip the rest of the line break
+                    } else if (c == 0) {
+                        self.state = State.START_RECORD;
+                    } else {
+                        throw raise(CSVError, ErrorMessages.NEW_LINE_IN_UNQUOTED_FIELD);
+                    }
+                    break;
+            }
+        }
+
+        private void addChar(PCSVReader self, int c) {
+            long fieldLimit = self.getModuleState().getFieldLimit();
+            if (self.fieldLen >= fieldLimit) {
+                throw raise(CSVError, ErrorMessages.FIELD_LARGER_THAN_FIELD_LIMIT, fieldLimit);
+            }
+            self.field.appendCodePoint(c);
+            self.fieldLen++;
+        }
+
+        private void addChars(PCSVReader self, String line, int start, int end, int count) {
+            long fieldLimit = self.getModuleState().getFieldLimit();
+            if (self.fieldLen + (long) count > fieldLimit) {
+                throw raise(CSVError, ErrorMessages.FIELD_LARGER_THAN_FIELD_LIMIT, fieldLimit);
+            }
+            self.field.append(line, start, end);
+            self.fieldLen += count;
+        }
+
+        @TruffleBoundary
+        private static void saveField(PCSVReader self) {
+            Object field = self.field.toString();
+            self.field.setLength(0);
+            self.fieldLen = 0;
+            if (self.numericField) {
+                self.numericField = false;
+                field = CallNode.getUncached().execute(PythonBuiltinClassType.PFloat, field);
+            }
+            self.fields.add(field);
+        }
+    }
+
+    /**
+     * Fetches the next line from the input iterator or returns {@code null} at its end. An exact
+     * {@code TextIOWrapper} is read directly instead of dispatching to its {@code __next__}.
+     */
+    abstract static class GetNextLineNode extends PNodeWithRaise {
+
+        abstract Object execute(VirtualFrame frame, Object iterator);
+
+        @Specialization(guards = {"isExactTextIO(iterator, isTextIOProfile)", "iterator.isOK()", "!iterator.isDetached()"})
+        static Object doTextIO(VirtualFrame frame, PTextIO iterator,
+                        @SuppressWarnings("unused") @Cached IsBuiltinClassProfile isTextIOProfile,
+                        @Cached TextIOWrapperNodes.CheckClosedNode checkClosedNode,
+                        @Cached TextIOWrapperNodes.IternextNode iternextNode) {
+            checkClosedNode.execute(frame, iterator);
+            String line = iternextNode.execute(frame, iterator);
+            return line.isEmpty() ? null : line;
+        }
+
+        @Specialization
+        static Object doGeneric(VirtualFrame frame, Object iterator,
+                        @Cached GetNextNode getNextNode,
+                        @Cached IsBuiltinClassProfile stopIterationProfile) {
+            try {
+                return getNextNode.execute(frame, iterator);
+            } catch (PException e) {
+                e.expectStopIteration(stopIterationProfile);
+                return null;
+            }
+        }
+
+        static boolean isExactTextIO(PTextIO iterator, IsBuiltinClassProfile isTextIOProfile) {
+            return isTextIOProfile.profileObject(iterator, PythonBuiltinClassType.PTextIOWrapper);
+        }
+    }
+
+    @Builtin(name = "dialect", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class DialectNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PCSVDialect get(PCSVReader self) {
+            return self.getDialect();
+        }
+    }
+
+    @Builtin(name = "line_num", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class LineNumNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(PCSVReader self) {
+            return self.getLineNum();
+        }
+    }
+}
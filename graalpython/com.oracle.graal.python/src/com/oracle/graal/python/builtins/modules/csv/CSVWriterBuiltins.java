@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.csv;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.CSVError;
+import static com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins.NOT_SET;
+import static com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins.QUOTE_ALL;
+import static com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins.QUOTE_NONE;
+import static com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins.QUOTE_NONNUMERIC;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.complex.PComplex;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.CSVWriter)
+public final class CSVWriterBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return CSVWriterBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "writerow", minNumOfPositionalArgs = 2, parameterNames = {"$self", "row"})
+    @GenerateNodeFactory
+    abstract static class WriteRowNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object writeRow(VirtualFrame frame, PCSVWriter self, Object row,
+                        @Cached JoinRowNode joinRowNode,
+                        @Cached CallNode callNode) {
+            return callNode.execute(frame, self.getWrite(), joinRowNode.execute(frame, self.getDialect(), row));
+        }
+    }
+
+    @Builtin(name = "writerows", minNumOfPositionalArgs = 2, parameterNames = {"$self", "rows"})
+    @GenerateNodeFactory
+    abstract static class WriteRowsNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object writeRows(VirtualFrame frame, PCSVWriter self, Object rows,
+                        @CachedLibrary("rows") PythonObjectLibrary lib,
+                        @Cached GetNextNode getNextNode,
+                        @Cached IsBuiltinClassProfile typeErrorProfile,
+                        @Cached IsBuiltinClassProfile stopIterationProfile,
+                        @Cached JoinRowNode joinRowNode,
+                        @Cached CallNode callNode) {
+            Object iterator;
+            try {
+                iterator = lib.getIteratorWithFrame(rows, frame);
+            } catch (PException e) {
+                e.expect(TypeError, typeErrorProfile);
+                throw raise(TypeError, ErrorMessages.WRITEROWS_ARG_MUST_BE_ITERABLE);
+            }
+            while (true) {
+                Object row;
+                try {
+                    row = getNextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(stopIterationProfile);
+                    return PNone.NONE;
+                }
+                callNode.execute(frame, self.getWrite(), joinRowNode.execute(frame, self.getDialect(), row));
+            }
+        }
+    }
+
+    /**
+     * Joins the fields of a row including the line terminator into a single string, following
+     * CPython's {@code csv_writerow}.
+     */
+    abstract static class JoinRowNode extends PNodeWithRaise {
+
+        abstract String execute(VirtualFrame frame, PCSVDialect dialect, Object row);
+
+        @Specialization(limit = "3")
+        String join(VirtualFrame frame, PCSVDialect dialect, Object row,
+                        @CachedLibrary("row") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary fieldLib,
+                        @Cached GetNextNode getNextNode,
+                        @Cached IsBuiltinClassProfile typeErrorProfile,
+                        @Cached IsBuiltinClassProfile stopIterationProfile,
+                        @Cached CastToJavaStringNode castToStringNode) {
+            Object iterator;
+            try {
+                iterator = lib.getIteratorWithFrame(row, frame);
+            } catch (PException e) {
+                e.expect(TypeError, typeErrorProfile);
+                throw raise(CSVError, ErrorMessages.ITERABLE_EXPECTED_NOT_P, row);
+            }
+            StringBuilder rec = newStringBuilder();
+            int numFields = 0;
+            while (true) {
+                Object field;
+                try {
+                    field = getNextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(stopIterationProfile);
+                    break;
+                }
+                boolean quoted;
+                switch (dialect.getQuoting()) {
+                    case QUOTE_NONNUMERIC:
+                        quoted = !isNumber(field, fieldLib);
+                        break;
+                    case QUOTE_ALL:
+                        quoted = true;
+                        break;
+                    default:
+                        quoted = false;
+                        break;
+                }
+                String str;
+                if (field == PNone.NONE) {
+                    str = null;
+                } else {
+                    try {
+                        str = castToStringNode.execute(field);
+                    } catch (CannotCastException e) {
+                        str = castToStringNode.execute(fieldLib.asPStringWithState(field, PArguments.getThreadState(frame)));
+                    }
+                }
+                joinAppend(rec, dialect, str, quoted, numFields > 0);
+                numFields++;
+            }
+            return finishRecord(rec, dialect, numFields);
+        }
+
+        private static boolean isNumber(Object field, PythonObjectLibrary lib) {
+            return lib.canBeJavaDouble(field) || lib.canBePInt(field) || field instanceof PComplex;
+        }
+
+        @TruffleBoundary
+        private static StringBuilder newStringBuilder() {
+            return new StringBuilder();
+        }
+
+        @TruffleBoundary
+        private String finishRecord(StringBuilder rec, PCSVDialect dialect, int numFields) {
+            if (numFields > 0 && rec.length() == 0) {
+                if (dialect.getQuoting() == QUOTE_NONE) {
+                    throw raise(CSVError, ErrorMessages.SINGLE_EMPTY_FIELD_RECORD_MUST_BE_QUOTED);
+                }
+                joinAppend(rec, dialect, null, true, false);
+            }
+            rec.append(dialect.getLineterminator());
+            return rec.toString();
+        }
+
+        /**
+         * Appends a field to the record, escaping and quoting it as required by the dialect.
+         */
+        @TruffleBoundary
+        private void joinAppend(StringBuilder rec, PCSVDialect dialect, String field, boolean quotedArg, boolean needsDelimiter) {
+            boolean quoted = quotedArg;
+            if (needsDelimiter) {
+                rec.appendCodePoint(dialect.getDelimiter());
+            }
+            int start = rec.length();
+            if (field != null) {
+                int quotechar = dialect.getQuotechar();
+                int escapechar = dialect.getEscapechar();
+                for (int i = 0; i < field.length();) {
+                    int c = field.codePointAt(i);
+                    if (c == dialect.getDelimiter() || c == escapechar || c == quotechar || dialect.getLineterminator().indexOf(c) >= 0) {
+                        boolean wantEscape = false;
+                        if (dialect.getQuoting() == QUOTE_NONE) {
+                            wantEscape = true;
+                        } else {
+                            if (c == quotechar) {
+                                if (dialect.isDoublequote()) {
+                                    rec.appendCodePoint(quotechar);
+                                } else {
+                                    wantEscape = true;
+                                }
+                            } else if (c == escapechar) {
+                                wantEscape = true;
+                            }
+                            if (!wantEscape) {
+                                quoted = true;
+                            }
+                        }
+                        if (wantEscape) {
+                            if (escapechar == NOT_SET) {
+                                throw raise(CSVError, ErrorMessages.NEED_TO_ESCAPE_NO_ESCAPECHAR_SET);
+                            }
+                            rec.appendCodePoint(escapechar);
+                        }
+                    }
+                    rec.appendCodePoint(c);
+                    i += Character.charCount(c);
+                }
+            }
+            if (quoted) {
+                rec.insert(start, Character.toChars(dialect.getQuotechar()));
+                rec.appendCodePoint(dialect.getQuotechar());
+            }
+        }
+    }
+
+    @Builtin(name = "dialect", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class DialectNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PCSVDialect get(PCSVWriter self) {
+            return self.getDialect();
+        }
+    }
+}
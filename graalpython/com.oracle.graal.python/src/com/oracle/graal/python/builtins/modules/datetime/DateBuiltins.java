@@ -0,0 +1,595 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__FORMAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SUB__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.TimeModuleBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.StringBuiltins;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetNameNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDate)
+public final class DateBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DateBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        builtinConstants.put("min", core.factory().createDate(PythonBuiltinClassType.PDate, DateTimeUtils.MINYEAR, 1, 1));
+        builtinConstants.put("max", core.factory().createDate(PythonBuiltinClassType.PDate, DateTimeUtils.MAXYEAR, 12, 31));
+        builtinConstants.put("resolution", core.factory().createTimeDelta(1, 0, 0));
+        super.initialize(core);
+    }
+
+    static boolean isDateTime(Object object) {
+        return object instanceof PDateTime;
+    }
+
+    /**
+     * Returns the qualified name for the builtin type and the plain name for subclasses, which is
+     * what CPython's reprs use.
+     */
+    static String getTypeName(Object cls, PythonBuiltinClassType type, String qualifiedName, IsBuiltinClassProfile isTypeProfile, GetNameNode getNameNode) {
+        return isTypeProfile.profileClass(cls, type) ? qualifiedName : getNameNode.execute(cls);
+    }
+
+    static String castFormat(PNodeWithRaise node, String method, Object format, CastToJavaStringNode castToStringNode) {
+        try {
+            return castToStringNode.execute(format);
+        } catch (CannotCastException e) {
+            throw node.raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, method, 1, "str", format);
+        }
+    }
+
+    /**
+     * Formats the fields with {@code time.strftime} after replacing the directives only known to
+     * the datetime objects.
+     */
+    static String strftime(String format, int year, int month, int day, int hour, int minute, int second, int microsecond, int isDst, PTimeDelta utcOffset, String tzName) {
+        String timeFormat = DateTimeUtils.wrapStrftime(format, microsecond, utcOffset, tzName);
+        int[] tm = {year, month, day, hour, minute, second, DateTimeUtils.weekday(year, month, day), DateTimeUtils.daysBeforeMonth(year, month) + day, isDst};
+        return TimeModuleBuiltins.StrfTimeNode.format(timeFormat, tm);
+    }
+
+    static PTuple createTimeTuple(PythonObjectFactory factory, int year, int month, int day, int hour, int minute, int second, int isDst) {
+        return factory.createStructSeq(TimeModuleBuiltins.STRUCT_TIME_DESC, year, month, day, hour, minute, second, DateTimeUtils.weekday(year, month, day),
+                        DateTimeUtils.daysBeforeMonth(year, month) + day, isDst, PNone.NONE, PNone.NONE);
+    }
+
+    @Builtin(name = "year", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class YearNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int year(PDate self) {
+            return self.getYear();
+        }
+    }
+
+    @Builtin(name = "month", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MonthNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int month(PDate self) {
+            return self.getMonth();
+        }
+    }
+
+    @Builtin(name = "day", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class DayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int day(PDate self) {
+            return self.getDay();
+        }
+    }
+
+    @Builtin(name = "today", minNumOfPositionalArgs = 1, isClassmethod = true, doc = "Current date or datetime:  same as self.__class__.fromtimestamp(time.time()).")
+    @GenerateNodeFactory
+    abstract static class TodayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object today(VirtualFrame frame, Object cls,
+                        @Cached IsBuiltinClassProfile isDateProfile,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            long[] now = DateTimeNodes.currentTime();
+            if (isDateProfile.profileClass(cls, PythonBuiltinClassType.PDate)) {
+                int[] fields = DateTimeNodes.epochToFields(now[0], true);
+                return factory().createDate(cls, fields[0], fields[1], fields[2]);
+            }
+            Object fromTimestamp = lib.lookupAttributeStrict(cls, frame, "fromtimestamp");
+            return lib.callObject(fromTimestamp, frame, now[0] + now[1] / 1e6);
+        }
+    }
+
+    @Builtin(name = "fromtimestamp", minNumOfPositionalArgs = 2, isClassmethod = true, doc = "Create a date from a POSIX timestamp.")
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class FromTimestampNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromTimestamp(VirtualFrame frame, Object cls, long timestamp,
+                        @Cached DateTimeNodes.NewDateNode newDateNode) {
+            int[] fields = DateTimeNodes.epochToFields(timestamp, true);
+            if (fields == null) {
+                throw raise(OverflowError, ErrorMessages.TIMESTAMP_OUT_OF_RANGE);
+            }
+            return newDateNode.execute(frame, cls, fields[0], fields[1], fields[2]);
+        }
+
+        @Specialization
+        Object fromTimestamp(VirtualFrame frame, Object cls, double timestamp,
+                        @Cached DateTimeNodes.NewDateNode newDateNode) {
+            if (Double.isNaN(timestamp)) {
+                throw raise(ValueError, ErrorMessages.INVALID_VALUE_NAN);
+            }
+            double seconds = Math.floor(timestamp);
+            if (!(seconds >= Long.MIN_VALUE && seconds < Long.MAX_VALUE)) {
+                throw raise(OverflowError, ErrorMessages.TIMESTAMP_OUT_OF_RANGE);
+            }
+            return fromTimestamp(frame, cls, (long) seconds, newDateNode);
+        }
+
+        @Specialization
+        @SuppressWarnings("unused")
+        Object fromTimestamp(Object cls, PInt timestamp) {
+            throw raise(OverflowError, ErrorMessages.TIMESTAMP_OUT_OF_RANGE);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object fromTimestamp(Object cls, Object timestamp) {
+            throw raise(TypeError, ErrorMessages.OBJ_CANNOT_BE_INTERPRETED_AS_INTEGER, timestamp);
+        }
+    }
+
+    @Builtin(name = "fromordinal", minNumOfPositionalArgs = 2, isClassmethod = true, doc = "int -> date corresponding to a proleptic Gregorian ordinal.")
+    @GenerateNodeFactory
+    abstract static class FromOrdinalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromOrdinal(VirtualFrame frame, Object cls, Object ordinal,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached DateTimeNodes.NewDateNode newDateNode) {
+            int n = asSizeNode.executeExact(frame, ordinal, OverflowError);
+            if (n < 1) {
+                throw raise(ValueError, ErrorMessages.ORDINAL_MUST_BE_GE_1);
+            } else if (n > DateTimeUtils.MAX_ORDINAL) {
+                throw raise(ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, DateTimeUtils.MAXYEAR + 1);
+            }
+            int[] ymd = DateTimeUtils.ordToYmd(n);
+            return newDateNode.execute(frame, cls, ymd[0], ymd[1], ymd[2]);
+        }
+    }
+
+    @Builtin(name = "fromisoformat", minNumOfPositionalArgs = 2, isClassmethod = true, doc = "str -> Construct a date from the output of date.isoformat()")
+    @GenerateNodeFactory
+    abstract static class FromIsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromIsoFormat(VirtualFrame frame, Object cls, Object string,
+                        @Cached CastToJavaStringNode castToStringNode,
+                        @Cached DateTimeNodes.NewDateNode newDateNode) {
+            String s;
+            try {
+                s = castToStringNode.execute(string);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.FROMISOFORMAT_ARGUMENT_MUST_BE_STR);
+            }
+            int[] ymd = new int[3];
+            if (s.length() != 10 || !DateTimeUtils.parseIsoDate(s, ymd)) {
+                throw raise(ValueError, ErrorMessages.INVALID_ISOFORMAT_STRING_S, StringBuiltins.ReprNode.repr(s));
+            }
+            return newDateNode.execute(frame, cls, ymd[0], ymd[1], ymd[2]);
+        }
+    }
+
+    @Builtin(name = "fromisocalendar", minNumOfPositionalArgs = 4, isClassmethod = true, parameterNames = {"cls", "year", "week",
+                    "day"}, doc = "int, int, int -> Construct a date from the ISO year, week number and weekday.\n\nThis is the inverse of the date.isocalendar() function")
+    @GenerateNodeFactory
+    abstract static class FromIsoCalendarNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        Object fromIsoCalendar(VirtualFrame frame, Object cls, Object yearObj, Object weekObj, Object dayObj,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached DateTimeNodes.NewDateNode newDateNode) {
+            int year = asSizeNode.executeExact(frame, yearObj, OverflowError);
+            int week = asSizeNode.executeExact(frame, weekObj, OverflowError);
+            int day = asSizeNode.executeExact(frame, dayObj, OverflowError);
+            if (year < DateTimeUtils.MINYEAR || year > DateTimeUtils.MAXYEAR) {
+                throw raise(ValueError, ErrorMessages.YEAR_IS_OUT_OF_RANGE_D, year);
+            } else if (!DateTimeUtils.isValidIsoWeek(year, week)) {
+                throw raise(ValueError, ErrorMessages.INVALID_WEEK_D, week);
+            } else if (day < 1 || day > 7) {
+                throw raise(ValueError, ErrorMessages.INVALID_WEEKDAY_D_RANGE_IS_1_7, day);
+            }
+            int ordinal = DateTimeUtils.isoToOrd(year, week, day);
+            if (ordinal < 1 || ordinal > DateTimeUtils.MAX_ORDINAL) {
+                throw raise(ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, ordinal < 1 ? DateTimeUtils.MINYEAR - 1 : DateTimeUtils.MAXYEAR + 1);
+            }
+            int[] ymd = DateTimeUtils.ordToYmd(ordinal);
+            return newDateNode.execute(frame, cls, ymd[0], ymd[1], ymd[2]);
+        }
+    }
+
+    @Builtin(name = "toordinal", minNumOfPositionalArgs = 1, doc = "Return proleptic Gregorian ordinal.  January 1 of year 1 is day 1.")
+    @GenerateNodeFactory
+    abstract static class ToOrdinalNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int toOrdinal(PDate self) {
+            return self.toOrdinal();
+        }
+    }
+
+    @Builtin(name = "weekday", minNumOfPositionalArgs = 1, doc = "Return the day of the week represented by the date.\nMonday == 0 ... Sunday == 6")
+    @GenerateNodeFactory
+    abstract static class WeekdayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int weekday(PDate self) {
+            return DateTimeUtils.weekday(self.getYear(), self.getMonth(), self.getDay());
+        }
+    }
+
+    @Builtin(name = "isoweekday", minNumOfPositionalArgs = 1, doc = "Return the day of the week represented by the date.\nMonday == 1 ... Sunday == 7")
+    @GenerateNodeFactory
+    abstract static class IsoWeekdayNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int isoWeekday(PDate self) {
+            return DateTimeUtils.weekday(self.getYear(), self.getMonth(), self.getDay()) + 1;
+        }
+    }
+
+    @Builtin(name = "isocalendar", minNumOfPositionalArgs = 1, doc = "Return a 3-tuple containing ISO year, week number, and weekday.")
+    @GenerateNodeFactory
+    abstract static class IsoCalendarNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTuple isoCalendar(PDate self) {
+            int[] isoCalendar = DateTimeUtils.isoCalendar(self.getYear(), self.getMonth(), self.getDay());
+            return factory().createTuple(new Object[]{isoCalendar[0], isoCalendar[1], isoCalendar[2]});
+        }
+    }
+
+    @Builtin(name = "isoformat", minNumOfPositionalArgs = 1, doc = "Return string in ISO 8601 format, YYYY-MM-DD.")
+    @GenerateNodeFactory
+    abstract static class IsoFormatNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static String isoFormat(PDate self) {
+            StringBuilder sb = new StringBuilder(10);
+            DateTimeUtils.appendIsoDate(sb, self.getYear(), self.getMonth(), self.getDay());
+            return sb.toString();
+        }
+    }
+
+    @Builtin(name = __STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        static Object str(VirtualFrame frame, PDate self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached IsBuiltinClassProfile isDateProfile) {
+            if (isDateProfile.profileClass(lib.getLazyPythonClass(self), PythonBuiltinClassType.PDate)) {
+                return IsoFormatNode.isoFormat(self);
+            }
+            return lib.lookupAndCallRegularMethod(self, frame, "isoformat");
+        }
+    }
+
+    @Builtin(name = "ctime", minNumOfPositionalArgs = 1, doc = "Return ctime() style string.")
+    @GenerateNodeFactory
+    abstract static class CTimeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static String ctime(PDate self) {
+            return DateTimeUtils.ctime(self.getYear(), self.getMonth(), self.getDay(), 0, 0, 0);
+        }
+    }
+
+    @Builtin(name = "strftime", minNumOfPositionalArgs = 2, parameterNames = {"$self", "format"}, doc = "format -> strftime() style string.")
+    @GenerateNodeFactory
+    abstract static class StrfTimeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        String strftime(PDate self, Object format,
+                        @Cached CastToJavaStringNode castToStringNode) {
+            String fmt = castFormat(this, "strftime()", format, castToStringNode);
+            return DateBuiltins.strftime(fmt, self.getYear(), self.getMonth(), self.getDay(), 0, 0, 0, 0, -1, null, null);
+        }
+    }
+
+    @Builtin(name = __FORMAT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class FormatNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object format(VirtualFrame frame, Object self, Object format,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached CastToJavaStringNode castToStringNode) {
+            String fmt = castFormat(this, "__format__()", format, castToStringNode);
+            if (fmt.isEmpty()) {
+                return lib.asPString(self);
+            }
+            return lib.lookupAndCallRegularMethod(self, frame, "strftime", fmt);
+        }
+    }
+
+    @Builtin(name = "timetuple", minNumOfPositionalArgs = 1, doc = "Return time tuple, compatible with time.localtime().")
+    @GenerateNodeFactory
+    abstract static class TimeTupleNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTuple timeTuple(PDate self) {
+            return createTimeTuple(factory(), self.getYear(), self.getMonth(), self.getDay(), 0, 0, 0, -1);
+        }
+    }
+
+    @Builtin(name = "replace", minNumOfPositionalArgs = 1, parameterNames = {"$self", "year", "month", "day"}, doc = "Return date with new specified fields.")
+    @GenerateNodeFactory
+    abstract static class ReplaceNode extends PythonQuaternaryBuiltinNode {
+        @Specialization(limit = "3")
+        PDate replace(VirtualFrame frame, PDate self, Object year, Object month, Object day,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            int y = year == PNone.NO_VALUE ? self.getYear() : asSizeNode.executeExact(frame, year, OverflowError);
+            int m = month == PNone.NO_VALUE ? self.getMonth() : asSizeNode.executeExact(frame, month, OverflowError);
+            int d = day == PNone.NO_VALUE ? self.getDay() : asSizeNode.executeExact(frame, day, OverflowError);
+            DateTimeNodes.checkDateFields(this, y, m, d);
+            return factory().createDate(lib.getLazyPythonClass(self), y, m, d);
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        static String repr(PDate self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached IsBuiltinClassProfile isDateProfile,
+                        @Cached GetNameNode getNameNode) {
+            String name = getTypeName(lib.getLazyPythonClass(self), PythonBuiltinClassType.PDate, "datetime.date", isDateProfile, getNameNode);
+            return repr(name, self);
+        }
+
+        @TruffleBoundary
+        private static String repr(String name, PDate self) {
+            return name + "(" + self.getYear() + ", " + self.getMonth() + ", " + self.getDay() + ")";
+        }
+    }
+
+    @Builtin(name = __HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(PDate self) {
+            return DateTimeUtils.hashFields(self.getYear(), self.getMonth(), self.getDay());
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1, doc = "__reduce__() -> (cls, state)")
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object reduce(PDate self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            byte[] state = {(byte) (self.getYear() >> 8), (byte) self.getYear(), (byte) self.getMonth(), (byte) self.getDay()};
+            Object args = factory().createTuple(new Object[]{factory().createBytes(state)});
+            return factory().createTuple(new Object[]{lib.getLazyPythonClass(self), args});
+        }
+    }
+
+    abstract static class AbstractComparisonNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean cmp(PDate self, PDate other) {
+            return compareResult(self.compareDate(other));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object cmp(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @SuppressWarnings("unused")
+        protected boolean compareResult(int result) {
+            throw new AbstractMethodError("compareResult");
+        }
+    }
+
+    @Builtin(name = __EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result == 0;
+        }
+    }
+
+    @Builtin(name = __NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result != 0;
+        }
+    }
+
+    @Builtin(name = __LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result < 0;
+        }
+    }
+
+    @Builtin(name = __LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result <= 0;
+        }
+    }
+
+    @Builtin(name = __GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result > 0;
+        }
+    }
+
+    @Builtin(name = __GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result >= 0;
+        }
+    }
+
+    /**
+     * Adds the days of a delta to a date, the seconds and microseconds are ignored.
+     */
+    static Object addDays(VirtualFrame frame, PNodeWithRaise node, PDate date, int days, PythonObjectLibrary lib, DateTimeNodes.NewDateNode newDateNode) {
+        long ordinal = (long) date.toOrdinal() + days;
+        if (ordinal < 1 || ordinal > DateTimeUtils.MAX_ORDINAL) {
+            throw node.raise(OverflowError, ErrorMessages.DATE_VALUE_OUT_OF_RANGE);
+        }
+        int[] ymd = DateTimeUtils.ordToYmd((int) ordinal);
+        return newDateNode.execute(frame, lib.getLazyPythonClass(date), ymd[0], ymd[1], ymd[2]);
+    }
+
+    @Builtin(name = __RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __ADD__, minNumOfPositionalArgs = 2)
+    @ImportStatic(DateBuiltins.class)
+    @GenerateNodeFactory
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "!isDateTime(left)")
+        Object add(VirtualFrame frame, PDate left, PTimeDelta right,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached DateTimeNodes.NewDateNode newDateNode) {
+            return addDays(frame, this, left, right.getDays(), lib, newDateNode);
+        }
+
+        @Specialization(guards = "!isDateTime(right)")
+        Object add(VirtualFrame frame, PTimeDelta left, PDate right,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached DateTimeNodes.NewDateNode newDateNode) {
+            return addDays(frame, this, right, left.getDays(), lib, newDateNode);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object add(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __SUB__, minNumOfPositionalArgs = 2)
+    @ImportStatic(DateBuiltins.class)
+    @GenerateNodeFactory
+    abstract static class SubNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = {"!isDateTime(left)", "!isDateTime(right)"})
+        PTimeDelta sub(PDate left, PDate right) {
+            return factory().createTimeDelta(left.toOrdinal() - right.toOrdinal(), 0, 0);
+        }
+
+        @Specialization(guards = "!isDateTime(left)")
+        Object sub(VirtualFrame frame, PDate left, PTimeDelta right,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached DateTimeNodes.NewDateNode newDateNode) {
+            return addDays(frame, this, left, -right.getDays(), lib, newDateNode);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object sub(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+}
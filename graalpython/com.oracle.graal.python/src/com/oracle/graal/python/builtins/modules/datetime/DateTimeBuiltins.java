@@ -0,0 +1,944 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE_EX__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SUB__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.StringBuiltins;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetNameNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.statement.AbstractImportNode;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDateTime)
+public final class DateTimeBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DateTimeBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        builtinConstants.put("min", core.factory().createDateTime(PythonBuiltinClassType.PDateTime, DateTimeUtils.MINYEAR, 1, 1, 0, 0, 0, 0, PNone.NONE, 0));
+        builtinConstants.put("max", core.factory().createDateTime(PythonBuiltinClassType.PDateTime, DateTimeUtils.MAXYEAR, 12, 31, 23, 59, 59, 999999, PNone.NONE, 0));
+        builtinConstants.put("resolution", core.factory().createTimeDelta(0, 0, 1));
+        super.initialize(core);
+    }
+
+    /**
+     * Returns the offset of a datetime as Java object, which is {@code null} if it is naive.
+     */
+    private static PTimeDelta getUtcOffset(VirtualFrame frame, PDateTime self, DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+        Object offset = utcOffsetNode.execute(frame, self.getTzInfo(), self);
+        return offset == PNone.NONE ? null : (PTimeDelta) offset;
+    }
+
+    /**
+     * The microseconds since the epoch if the fields are interpreted as UTC time.
+     */
+    private static long toEpochMicroseconds(PDateTime self) {
+        long seconds = (self.toOrdinal() - DateTimeUtils.EPOCH_ORDINAL) * (long) DateTimeUtils.SECONDS_PER_DAY + self.secondsOfDay();
+        return seconds * DateTimeUtils.MICROSECONDS_PER_SECOND + self.getMicrosecond();
+    }
+
+    /**
+     * Splits seconds since the epoch into the UTC fields {@code [year, month, day, hour, minute,
+     * second]}, raising an {@code OverflowError} if the date is out of range.
+     */
+    private static int[] toUtcFields(PNodeWithRaise node, long epochSeconds) {
+        long ordinal = DateTimeUtils.EPOCH_ORDINAL + Math.floorDiv(epochSeconds, DateTimeUtils.SECONDS_PER_DAY);
+        if (ordinal < 1 || ordinal > DateTimeUtils.MAX_ORDINAL) {
+            throw node.raise(OverflowError, ErrorMessages.DATE_VALUE_OUT_OF_RANGE);
+        }
+        int[] ymd = DateTimeUtils.ordToYmd((int) ordinal);
+        int secondsOfDay = (int) Math.floorMod(epochSeconds, (long) DateTimeUtils.SECONDS_PER_DAY);
+        return new int[]{ymd[0], ymd[1], ymd[2], secondsOfDay / 3600, secondsOfDay / 60 % 60, secondsOfDay % 60};
+    }
+
+    private static Object reduce(PythonObjectFactory factory, PythonObjectLibrary lib, PDateTime self, int proto) {
+        int month = self.getMonth();
+        if (proto > 3 && self.getFold() != 0) {
+            month += 128;
+        }
+        int us = self.getMicrosecond();
+        byte[] state = {(byte) (self.getYear() >> 8), (byte) self.getYear(), (byte) month, (byte) self.getDay(), (byte) self.getHour(), (byte) self.getMinute(), (byte) self.getSecond(),
+                        (byte) (us >> 16), (byte) (us >> 8), (byte) us};
+        Object[] args;
+        if (self.hasTzInfo()) {
+            args = new Object[]{factory.createBytes(state), self.getTzInfo()};
+        } else {
+            args = new Object[]{factory.createBytes(state)};
+        }
+        return factory.createTuple(new Object[]{lib.getLazyPythonClass(self), factory.createTuple(args)});
+    }
+
+    /**
+     * Creates a {@code datetime} of the given class from seconds since the epoch. Without a time
+     * zone the local or the UTC time is used, otherwise the UTC time is converted by
+     * {@code tz.fromutc}.
+     */
+    abstract static class FromEpochNode extends PNodeWithRaise {
+        abstract Object execute(VirtualFrame frame, Object cls, long seconds, int microsecond, Object tzInfo, boolean local);
+
+        @Specialization
+        Object fromEpoch(VirtualFrame frame, Object cls, long seconds, int microsecond, Object tzInfo, boolean local,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached IsSubtypeNode isSubtypeNode,
+                        @Cached DateTimeNodes.NewDateTimeNode newDateTimeNode) {
+            Object tz = tzInfo == PNone.NO_VALUE ? PNone.NONE : tzInfo;
+            DateTimeNodes.checkTzInfo(this, tz, lib, isSubtypeNode);
+            int[] fields = DateTimeNodes.epochToFields(seconds, local && tz == PNone.NONE);
+            if (fields == null) {
+                throw raise(OverflowError, ErrorMessages.TIMESTAMP_OUT_OF_RANGE);
+            }
+            if (tz == PNone.NONE) {
+                return newDateTimeNode.execute(frame, cls, fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], microsecond, PNone.NONE, fields[6]);
+            }
+            Object utc = newDateTimeNode.execute(frame, cls, fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], microsecond, tz, 0);
+            return lib.lookupAndCallRegularMethod(tz, frame, "fromutc", utc);
+        }
+
+        static FromEpochNode create() {
+            return DateTimeBuiltinsFactory.FromEpochNodeGen.create();
+        }
+    }
+
+    @Builtin(name = "hour", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class HourNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int hour(PDateTime self) {
+            return self.getHour();
+        }
+    }
+
+    @Builtin(name = "minute", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MinuteNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int minute(PDateTime self) {
+            return self.getMinute();
+        }
+    }
+
+    @Builtin(name = "second", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int second(PDateTime self) {
+            return self.getSecond();
+        }
+    }
+
+    @Builtin(name = "microsecond", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MicrosecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int microsecond(PDateTime self) {
+            return self.getMicrosecond();
+        }
+    }
+
+    @Builtin(name = "tzinfo", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class TzInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object tzinfo(PDateTime self) {
+            return self.getTzInfo();
+        }
+    }
+
+    @Builtin(name = "fold", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class FoldNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int fold(PDateTime self) {
+            return self.getFold();
+        }
+    }
+
+    @Builtin(name = "now", minNumOfPositionalArgs = 1, isClassmethod = true, parameterNames = {"cls", "tz"}, doc = "Returns new datetime object representing current time local to tz.\n\n" +
+                    "  tz\n    Timezone object.\n\nIf no tz is specified, uses local timezone.")
+    @GenerateNodeFactory
+    abstract static class NowNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object now(VirtualFrame frame, Object cls, Object tz,
+                        @Cached FromEpochNode fromEpochNode) {
+            long[] now = DateTimeNodes.currentTime();
+            return fromEpochNode.execute(frame, cls, now[0], (int) now[1], tz, true);
+        }
+    }
+
+    @Builtin(name = "utcnow", minNumOfPositionalArgs = 1, isClassmethod = true, doc = "Return a new datetime representing UTC day and time.")
+    @GenerateNodeFactory
+    abstract static class UtcNowNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object utcnow(VirtualFrame frame, Object cls,
+                        @Cached FromEpochNode fromEpochNode) {
+            long[] now = DateTimeNodes.currentTime();
+            return fromEpochNode.execute(frame, cls, now[0], (int) now[1], PNone.NONE, false);
+        }
+    }
+
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    abstract static class AbstractFromTimestampNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object fromTimestamp(VirtualFrame frame, Object cls, long timestamp, Object tz,
+                        @Cached FromEpochNode fromEpochNode) {
+            return fromEpochNode.execute(frame, cls, timestamp, 0, tz, isLocal());
+        }
+
+        @Specialization
+        Object fromTimestamp(VirtualFrame frame, Object cls, double timestamp, Object tz,
+                        @Cached FromEpochNode fromEpochNode) {
+            long[] split = DateTimeNodes.splitTimestamp(this, timestamp);
+            return fromEpochNode.execute(frame, cls, split[0], (int) split[1], tz, isLocal());
+        }
+
+        @Specialization
+        @SuppressWarnings("unused")
+        Object fromTimestamp(Object cls, PInt timestamp, Object tz) {
+            throw raise(OverflowError, ErrorMessages.TIMESTAMP_OUT_OF_RANGE);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object fromTimestamp(Object cls, Object timestamp, Object tz) {
+            throw raise(TypeError, ErrorMessages.OBJ_CANNOT_BE_INTERPRETED_AS_INTEGER, timestamp);
+        }
+
+        protected boolean isLocal() {
+            throw new AbstractMethodError("isLocal");
+        }
+    }
+
+    @Builtin(name = "fromtimestamp", minNumOfPositionalArgs = 2, isClassmethod = true, parameterNames = {"cls", "timestamp",
+                    "tz"}, doc = "timestamp[, tz] -> tz's local time from POSIX timestamp.")
+    @GenerateNodeFactory
+    abstract static class FromTimestampNode extends AbstractFromTimestampNode {
+        @Override
+        protected boolean isLocal() {
+            return true;
+        }
+    }
+
+    @Builtin(name = "utcfromtimestamp", minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 2, isClassmethod = true, doc = "Construct a naive UTC datetime from a POSIX timestamp.")
+    @GenerateNodeFactory
+    abstract static class UtcFromTimestampNode extends AbstractFromTimestampNode {
+        @Override
+        protected boolean isLocal() {
+            return false;
+        }
+    }
+
+    @Builtin(name = "strptime", minNumOfPositionalArgs = 3, isClassmethod = true, doc = "string, format -> new datetime parsed from a string (like time.strptime()).")
+    @GenerateNodeFactory
+    abstract static class StrpTimeNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        static Object strptime(VirtualFrame frame, Object cls, Object string, Object format,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary lib) {
+            Object module = AbstractImportNode.importModule("_strptime");
+            return lib.lookupAndCallRegularMethod(module, frame, "_strptime_datetime", cls, string, format);
+        }
+    }
+
+    @Builtin(name = "combine", minNumOfPositionalArgs = 3, isClassmethod = true, parameterNames = {"cls", "date", "time",
+                    "tzinfo"}, doc = "date, time -> datetime with same date and time fields")
+    @GenerateNodeFactory
+    abstract static class CombineNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        Object combine(VirtualFrame frame, Object cls, PDate date, PTime time, Object tzInfo,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached IsSubtypeNode isSubtypeNode,
+                        @Cached DateTimeNodes.NewDateTimeNode newDateTimeNode) {
+            Object tz = time.getTzInfo();
+            if (tzInfo != PNone.NO_VALUE) {
+                DateTimeNodes.checkTzInfo(this, tzInfo, lib, isSubtypeNode);
+                tz = tzInfo;
+            }
+            return newDateTimeNode.execute(frame, cls, date.getYear(), date.getMonth(), date.getDay(), time.getHour(), time.getMinute(), time.getSecond(), time.getMicrosecond(), tz,
+                            time.getFold());
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object combine(Object cls, Object date, Object time, Object tzInfo) {
+            if (!(date instanceof PDate)) {
+                throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "combine()", 1, "datetime.date", date);
+            }
+            throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "combine()", 2, "datetime.time", time);
+        }
+    }
+
+    @Builtin(name = "fromisoformat", minNumOfPositionalArgs = 2, isClassmethod = true, doc = "string -> datetime from datetime.isoformat() output")
+    @GenerateNodeFactory
+    abstract static class FromIsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromIsoFormat(VirtualFrame frame, Object cls, Object string,
+                        @Cached CastToJavaStringNode castToStringNode,
+                        @Cached DateTimeNodes.IsoTzInfoNode isoTzInfoNode,
+                        @Cached DateTimeNodes.NewDateTimeNode newDateTimeNode) {
+            String s;
+            try {
+                s = castToStringNode.execute(string);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.FROMISOFORMAT_ARGUMENT_MUST_BE_STR);
+            }
+            int[] ymd = new int[3];
+            int[] fields = new int[6];
+            int result = 0;
+            boolean valid = DateTimeUtils.parseIsoDate(s, ymd);
+            if (valid && s.length() > 10) {
+                // the separator may be any character, including a surrogate pair
+                int start = 10 + Character.charCount(s.codePointAt(10));
+                result = DateTimeUtils.parseIsoTime(s, start, fields);
+                valid = result >= 0;
+            }
+            if (!valid) {
+                throw raise(ValueError, ErrorMessages.INVALID_ISOFORMAT_STRING_S, StringBuiltins.ReprNode.repr(s));
+            }
+            Object tzInfo = isoTzInfoNode.execute(result, fields[4], fields[5]);
+            return newDateTimeNode.execute(frame, cls, ymd[0], ymd[1], ymd[2], fields[0], fields[1], fields[2], fields[3], tzInfo, 0);
+        }
+    }
+
+    @Builtin(name = "date", minNumOfPositionalArgs = 1, doc = "Return date object with same year, month and day.")
+    @GenerateNodeFactory
+    abstract static class DateNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDate date(PDateTime self) {
+            return factory().createDate(PythonBuiltinClassType.PDate, self.getYear(), self.getMonth(), self.getDay());
+        }
+    }
+
+    @Builtin(name = "time", minNumOfPositionalArgs = 1, doc = "Return time object with same time but with tzinfo=None.")
+    @GenerateNodeFactory
+    abstract static class TimeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTime time(PDateTime self) {
+            return factory().createTime(PythonBuiltinClassType.PTime, self.getHour(), self.getMinute(), self.getSecond(), self.getMicrosecond(), PNone.NONE, self.getFold());
+        }
+    }
+
+    @Builtin(name = "timetz", minNumOfPositionalArgs = 1, doc = "Return time object with same time and tzinfo.")
+    @GenerateNodeFactory
+    abstract static class TimeTzNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTime timetz(PDateTime self) {
+            return factory().createTime(PythonBuiltinClassType.PTime, self.getHour(), self.getMinute(), self.getSecond(), self.getMicrosecond(), self.getTzInfo(), self.getFold());
+        }
+    }
+
+    @Builtin(name = "replace", minNumOfPositionalArgs = 1, parameterNames = {"$self", "year", "month", "day", "hour", "minute", "second", "microsecond", "tzinfo"}, keywordOnlyNames = {
+                    "fold"}, doc = "Return datetime with new specified fields.")
+    @GenerateNodeFactory
+    abstract static class ReplaceNode extends PythonBuiltinNode {
+        @Specialization(limit = "3")
+        PDateTime replace(VirtualFrame frame, PDateTime self, Object year, Object month, Object day, Object hour, Object minute, Object second, Object microsecond, Object tzInfo, Object fold,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached IsSubtypeNode isSubtypeNode,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            int y = year == PNone.NO_VALUE ? self.getYear() : asSizeNode.executeExact(frame, year, OverflowError);
+            int m = month == PNone.NO_VALUE ? self.getMonth() : asSizeNode.executeExact(frame, month, OverflowError);
+            int d = day == PNone.NO_VALUE ? self.getDay() : asSizeNode.executeExact(frame, day, OverflowError);
+            int h = hour == PNone.NO_VALUE ? self.getHour() : asSizeNode.executeExact(frame, hour, OverflowError);
+            int mi = minute == PNone.NO_VALUE ? self.getMinute() : asSizeNode.executeExact(frame, minute, OverflowError);
+            int s = second == PNone.NO_VALUE ? self.getSecond() : asSizeNode.executeExact(frame, second, OverflowError);
+            int us = microsecond == PNone.NO_VALUE ? self.getMicrosecond() : asSizeNode.executeExact(frame, microsecond, OverflowError);
+            int f = fold == PNone.NO_VALUE ? self.getFold() : asSizeNode.executeExact(frame, fold, OverflowError);
+            Object tz = tzInfo == PNone.NO_VALUE ? self.getTzInfo() : tzInfo;
+            DateTimeNodes.checkDateFields(this, y, m, d);
+            DateTimeNodes.checkTimeFields(this, h, mi, s, us, f);
+            DateTimeNodes.checkTzInfo(this, tz, lib, isSubtypeNode);
+            return factory().createDateTime(lib.getLazyPythonClass(self), y, m, d, h, mi, s, us, tz, f);
+        }
+    }
+
+    @Builtin(name = "astimezone", minNumOfPositionalArgs = 1, parameterNames = {"$self", "tz"}, doc = "tz -> convert to local time in new timezone tz\n")
+    @GenerateNodeFactory
+    abstract static class AsTimeZoneNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object astimezone(VirtualFrame frame, PDateTime self, Object tzArg,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached IsSubtypeNode isSubtypeNode,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode,
+                        @Cached DateTimeNodes.NewDateTimeNode newDateTimeNode) {
+            Object tz = tzArg == PNone.NO_VALUE ? PNone.NONE : tzArg;
+            DateTimeNodes.checkTzInfo(this, tz, lib, isSubtypeNode);
+            if (tz != PNone.NONE && tz == self.getTzInfo()) {
+                return self;
+            }
+            PTimeDelta offset = self.hasTzInfo() ? getUtcOffset(frame, self, utcOffsetNode) : null;
+            long epochMicroseconds;
+            if (offset != null) {
+                epochMicroseconds = toEpochMicroseconds(self) - offset.toMicroseconds();
+            } else {
+                // naive times are local times
+                long seconds = DateTimeNodes.localToEpoch(self.getYear(), self.getMonth(), self.getDay(), self.getHour(), self.getMinute(), self.getSecond(), self.getFold());
+                epochMicroseconds = seconds * DateTimeUtils.MICROSECONDS_PER_SECOND + self.getMicrosecond();
+            }
+            long epochSeconds = Math.floorDiv(epochMicroseconds, DateTimeUtils.MICROSECONDS_PER_SECOND);
+            int[] fields = toUtcFields(this, epochSeconds);
+            if (tz == PNone.NONE) {
+                tz = DateTimeNodes.createLocalTimeZone(this, factory(), epochSeconds);
+            }
+            Object utc = newDateTimeNode.execute(frame, lib.getLazyPythonClass(self), fields[0], fields[1], fields[2], fields[3], fields[4], fields[5],
+                            (int) Math.floorMod(epochMicroseconds, DateTimeUtils.MICROSECONDS_PER_SECOND), tz, 0);
+            return lib.lookupAndCallRegularMethod(tz, frame, "fromutc", utc);
+        }
+    }
+
+    @Builtin(name = "utcoffset", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.utcoffset(self).")
+    @GenerateNodeFactory
+    abstract static class UtcOffsetNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object utcoffset(VirtualFrame frame, PDateTime self,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            return utcOffsetNode.execute(frame, self.getTzInfo(), self);
+        }
+    }
+
+    @Builtin(name = "dst", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.dst(self).")
+    @GenerateNodeFactory
+    abstract static class DstNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object dst(VirtualFrame frame, PDateTime self,
+                        @Cached DateTimeNodes.DstNode dstNode) {
+            return dstNode.execute(frame, self.getTzInfo(), self);
+        }
+    }
+
+    @Builtin(name = "tzname", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.tzname(self).")
+    @GenerateNodeFactory
+    abstract static class TzNameNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object tzname(VirtualFrame frame, PDateTime self,
+                        @Cached DateTimeNodes.TzNameNode tzNameNode) {
+            String name = tzNameNode.execute(frame, self.getTzInfo(), self);
+            return name == null ? PNone.NONE : name;
+        }
+    }
+
+    @Builtin(name = "timetuple", minNumOfPositionalArgs = 1, doc = "Return time tuple, compatible with time.localtime().")
+    @GenerateNodeFactory
+    abstract static class TimeTupleNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTuple timeTuple(VirtualFrame frame, PDateTime self,
+                        @Cached DateTimeNodes.DstNode dstNode) {
+            Object dst = dstNode.execute(frame, self.getTzInfo(), self);
+            int isDst = dst == PNone.NONE ? -1 : ((PTimeDelta) dst).isZero() ? 0 : 1;
+            return DateBuiltins.createTimeTuple(factory(), self.getYear(), self.getMonth(), self.getDay(), self.getHour(), self.getMinute(), self.getSecond(), isDst);
+        }
+    }
+
+    @Builtin(name = "utctimetuple", minNumOfPositionalArgs = 1, doc = "Return UTC time tuple, compatible with time.localtime().")
+    @GenerateNodeFactory
+    abstract static class UtcTimeTupleNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTuple utcTimeTuple(VirtualFrame frame, PDateTime self,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            PTimeDelta offset = getUtcOffset(frame, self, utcOffsetNode);
+            if (offset == null) {
+                return DateBuiltins.createTimeTuple(factory(), self.getYear(), self.getMonth(), self.getDay(), self.getHour(), self.getMinute(), self.getSecond(), 0);
+            }
+            long epochMicroseconds = toEpochMicroseconds(self) - offset.toMicroseconds();
+            int[] fields = toUtcFields(this, Math.floorDiv(epochMicroseconds, DateTimeUtils.MICROSECONDS_PER_SECOND));
+            return DateBuiltins.createTimeTuple(factory(), fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], 0);
+        }
+    }
+
+    @Builtin(name = "timestamp", minNumOfPositionalArgs = 1, doc = "Return POSIX timestamp as float.")
+    @GenerateNodeFactory
+    abstract static class TimestampNode extends PythonUnaryBuiltinNode {
+        private static final long MAX_EXACT = 1L << 53;
+
+        @Specialization
+        static double timestamp(VirtualFrame frame, PDateTime self,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            PTimeDelta offset = getUtcOffset(frame, self, utcOffsetNode);
+            if (offset == null) {
+                long seconds = DateTimeNodes.localToEpoch(self.getYear(), self.getMonth(), self.getDay(), self.getHour(), self.getMinute(), self.getSecond(), self.getFold());
+                return seconds + self.getMicrosecond() / 1e6;
+            }
+            long us = toEpochMicroseconds(self) - offset.toMicroseconds();
+            if (-MAX_EXACT < us && us < MAX_EXACT) {
+                return us / 1e6;
+            }
+            return timestampBig(us);
+        }
+
+        @TruffleBoundary
+        private static double timestampBig(long us) {
+            // correctly rounded like CPython's division of the timedelta since the epoch
+            return BigDecimal.valueOf(us, 6).doubleValue();
+        }
+    }
+
+    @Builtin(name = "isoformat", minNumOfPositionalArgs = 1, parameterNames = {"$self", "sep", "timespec"}, doc = "[sep] -> string in ISO 8601 format, YYYY-MM-DDT[HH[:MM[:SS[.mmm[uuu]]]]][+HH:MM].\n" +
+                    "sep is used to separate the year from the time, and defaults to 'T'.\n" +
+                    "timespec specifies what components of the time to include (allowed values are 'auto', 'hours', 'minutes', 'seconds', 'milliseconds', and 'microseconds').\n")
+    @GenerateNodeFactory
+    abstract static class IsoFormatNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        String isoFormat(VirtualFrame frame, PDateTime self, Object sepObj, Object timespecObj,
+                        @Cached CastToJavaStringNode castToStringNode,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            String sep = "T";
+            if (sepObj != PNone.NO_VALUE) {
+                sep = castSeparator(sepObj, castToStringNode);
+            }
+            String timespec = "auto";
+            if (timespecObj != PNone.NO_VALUE) {
+                try {
+                    timespec = castToStringNode.execute(timespecObj);
+                } catch (CannotCastException e) {
+                    throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "isoformat()", 2, "str", timespecObj);
+                }
+            }
+            return isoFormat(this, self, sep, timespec, getUtcOffset(frame, self, utcOffsetNode));
+        }
+
+        private String castSeparator(Object sepObj, CastToJavaStringNode castToStringNode) {
+            try {
+                String sep = castToStringNode.execute(sepObj);
+                if (sep.codePointCount(0, sep.length()) == 1) {
+                    return sep;
+                }
+            } catch (CannotCastException e) {
+                // fall through
+            }
+            throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "isoformat()", 1, "a unicode character", sepObj);
+        }
+
+        @TruffleBoundary
+        static String isoFormat(PNodeWithRaise node, PDateTime self, String sep, String timespec, PTimeDelta offset) {
+            StringBuilder sb = new StringBuilder(32);
+            DateTimeUtils.appendIsoDate(sb, self.getYear(), self.getMonth(), self.getDay());
+            sb.append(sep);
+            if (!DateTimeUtils.appendIsoTime(sb, self.getHour(), self.getMinute(), self.getSecond(), self.getMicrosecond(), timespec)) {
+                throw node.raise(ValueError, ErrorMessages.UNKNOWN_TIMESPEC_VALUE);
+            }
+            if (offset != null) {
+                DateTimeUtils.appendUtcOffset(sb, offset, ":");
+            }
+            return sb.toString();
+        }
+    }
+
+    @Builtin(name = __STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        static Object str(VirtualFrame frame, PDateTime self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self, frame, "isoformat", " ");
+        }
+    }
+
+    @Builtin(name = "ctime", minNumOfPositionalArgs = 1, doc = "Return ctime() style string.")
+    @GenerateNodeFactory
+    abstract static class CTimeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static String ctime(PDateTime self) {
+            return DateTimeUtils.ctime(self.getYear(), self.getMonth(), self.getDay(), self.getHour(), self.getMinute(), self.getSecond());
+        }
+    }
+
+    @Builtin(name = "strftime", minNumOfPositionalArgs = 2, parameterNames = {"$self", "format"}, doc = "format -> strftime() style string.")
+    @GenerateNodeFactory
+    abstract static class StrfTimeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        String strftime(VirtualFrame frame, PDateTime self, Object format,
+                        @Cached CastToJavaStringNode castToStringNode,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode,
+                        @Cached DateTimeNodes.TzNameNode tzNameNode) {
+            String fmt = DateBuiltins.castFormat(this, "strftime()", format, castToStringNode);
+            PTimeDelta offset = getUtcOffset(frame, self, utcOffsetNode);
+            String tzName = tzNameNode.execute(frame, self.getTzInfo(), self);
+            return DateBuiltins.strftime(fmt, self.getYear(), self.getMonth(), self.getDay(), self.getHour(), self.getMinute(), self.getSecond(), self.getMicrosecond(), -1, offset,
+                            tzName);
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        String repr(VirtualFrame frame, PDateTime self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached IsBuiltinClassProfile isDateTimeProfile,
+                        @Cached GetNameNode getNameNode,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode,
+                        @Cached CastToJavaStringNode castToStringNode) {
+            String name = DateBuiltins.getTypeName(lib.getLazyPythonClass(self), PythonBuiltinClassType.PDateTime, "datetime.datetime", isDateTimeProfile, getNameNode);
+            String tzInfo = self.hasTzInfo() ? DateTimeNodes.reprToString(frame, this, self.getTzInfo(), reprNode, castToStringNode) : null;
+            return repr(name, self, tzInfo);
+        }
+
+        @TruffleBoundary
+        private static String repr(String name, PDateTime self, String tzInfo) {
+            StringBuilder sb = new StringBuilder(name).append('(').append(self.getYear()).append(", ").append(self.getMonth()).append(", ").append(self.getDay());
+            sb.append(", ").append(self.getHour()).append(", ").append(self.getMinute());
+            if (self.getSecond() != 0 || self.getMicrosecond() != 0) {
+                sb.append(", ").append(self.getSecond());
+            }
+            if (self.getMicrosecond() != 0) {
+                sb.append(", ").append(self.getMicrosecond());
+            }
+            if (self.getFold() != 0) {
+                sb.append(", fold=").append(self.getFold());
+            }
+            if (tzInfo != null) {
+                sb.append(", tzinfo=").append(tzInfo);
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    @Builtin(name = __HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        long hash(VirtualFrame frame, PDateTime self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            PDateTime dateTime = self;
+            if (self.getFold() != 0 && self.hasTzInfo()) {
+                // like CPython, the offset for the first occurrence of the time is used
+                dateTime = factory().createDateTime(lib.getLazyPythonClass(self), self.getYear(), self.getMonth(), self.getDay(), self.getHour(), self.getMinute(), self.getSecond(),
+                                self.getMicrosecond(), self.getTzInfo(), 0);
+            }
+            PTimeDelta offset = getUtcOffset(frame, dateTime, utcOffsetNode);
+            long us = toEpochMicroseconds(self) - (offset == null ? 0 : offset.toMicroseconds());
+            long seconds = Math.floorDiv(us, DateTimeUtils.MICROSECONDS_PER_SECOND);
+            return DateTimeUtils.hashFields(Math.floorDiv(seconds, DateTimeUtils.SECONDS_PER_DAY), Math.floorMod(seconds, DateTimeUtils.SECONDS_PER_DAY),
+                            Math.floorMod(us, DateTimeUtils.MICROSECONDS_PER_SECOND));
+        }
+    }
+
+    @Builtin(name = __REDUCE_EX__, minNumOfPositionalArgs = 2, doc = "__reduce_ex__(proto) -> (cls, state)")
+    @GenerateNodeFactory
+    abstract static class ReduceExNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object reduceEx(VirtualFrame frame, PDateTime self, Object protocol,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            return reduce(factory(), lib, self, asSizeNode.executeExact(frame, protocol, OverflowError));
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1, doc = "__reduce__() -> (cls, state)")
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object reduce(PDateTime self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            return DateTimeBuiltins.reduce(factory(), lib, self, 2);
+        }
+    }
+
+    /**
+     * Compares datetimes like CPython. Datetimes with the same {@code tzinfo} or the same offset
+     * compare their fields, other aware datetimes compare the UTC adjusted times. Comparing a naive
+     * and an aware datetime or a datetime and a date is only allowed for equality. Following PEP
+     * 495, an aware datetime in a fold or gap is never equal to a datetime with another
+     * {@code tzinfo}.
+     */
+    abstract static class AbstractComparisonNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object cmp(VirtualFrame frame, PDateTime self, PDateTime other,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            if (self.getTzInfo() == other.getTzInfo()) {
+                return compareResult(self.compareTime(other));
+            }
+            PTimeDelta offset1 = getUtcOffset(frame, self, utcOffsetNode);
+            PTimeDelta offset2 = getUtcOffset(frame, other, utcOffsetNode);
+            int result;
+            if (offset1 == null && offset2 == null || offset1 != null && offset2 != null && offset1.compareTo(offset2) == 0) {
+                result = self.compareTime(other);
+            } else if (offset1 != null && offset2 != null) {
+                long us1 = toEpochMicroseconds(self) - offset1.toMicroseconds();
+                long us2 = toEpochMicroseconds(other) - offset2.toMicroseconds();
+                result = Long.compare(us1, us2);
+            } else {
+                return compareNaiveAndAware(self, other);
+            }
+            if (result == 0 && isEqualityComparison() && (isFoldDependent(frame, self, offset1, lib, utcOffsetNode) || isFoldDependent(frame, other, offset2, lib, utcOffsetNode))) {
+                result = 1;
+            }
+            return compareResult(result);
+        }
+
+        @Specialization(guards = "!isDateTime(other)")
+        Object cmp(PDateTime self, PDate other) {
+            return compareNaiveAndAware(self, other);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object cmp(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        static boolean isDateTime(Object object) {
+            return object instanceof PDateTime;
+        }
+
+        /**
+         * Checks whether the offset of an aware datetime changes if the fold is flipped, which is
+         * the case for times in a fold or a gap.
+         */
+        private boolean isFoldDependent(VirtualFrame frame, PDateTime dateTime, PTimeDelta offset, PythonObjectLibrary lib, DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            Object tzInfo = dateTime.getTzInfo();
+            if (offset == null || tzInfo instanceof PTimeZone) {
+                return false;
+            }
+            PDateTime flipped = factory().createDateTime(lib.getLazyPythonClass(dateTime), dateTime.getYear(), dateTime.getMonth(), dateTime.getDay(), dateTime.getHour(),
+                            dateTime.getMinute(), dateTime.getSecond(), dateTime.getMicrosecond(), tzInfo, 1 - dateTime.getFold());
+            PTimeDelta flippedOffset = getUtcOffset(frame, flipped, utcOffsetNode);
+            return flippedOffset == null || flippedOffset.compareTo(offset) != 0;
+        }
+
+        @SuppressWarnings("unused")
+        protected boolean compareResult(int result) {
+            throw new AbstractMethodError("compareResult");
+        }
+
+        protected boolean isEqualityComparison() {
+            return false;
+        }
+
+        /**
+         * Handles comparisons of naive and aware datetimes and of datetimes and dates.
+         */
+        protected boolean compareNaiveAndAware(PDateTime self, PDate other) {
+            if (other instanceof PDateTime) {
+                throw raise(TypeError, ErrorMessages.CANT_COMPARE_OFFSET_NAIVE_AND_OFFSET_AWARE_S, "datetimes");
+            }
+            throw raise(TypeError, ErrorMessages.CANT_COMPARE_P_TO_P, self, other);
+        }
+    }
+
+    @Builtin(name = __EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result == 0;
+        }
+
+        @Override
+        protected boolean isEqualityComparison() {
+            return true;
+        }
+
+        @Override
+        protected boolean compareNaiveAndAware(PDateTime self, PDate other) {
+            return false;
+        }
+    }
+
+    @Builtin(name = __NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result != 0;
+        }
+
+        @Override
+        protected boolean isEqualityComparison() {
+            return true;
+        }
+
+        @Override
+        protected boolean compareNaiveAndAware(PDateTime self, PDate other) {
+            return true;
+        }
+    }
+
+    @Builtin(name = __LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result < 0;
+        }
+    }
+
+    @Builtin(name = __LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result <= 0;
+        }
+    }
+
+    @Builtin(name = __GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result > 0;
+        }
+    }
+
+    @Builtin(name = __GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result >= 0;
+        }
+    }
+
+    @Builtin(name = __RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __ADD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object add(VirtualFrame frame, PDateTime left, PTimeDelta right,
+                        @Cached DateTimeNodes.AddTimeDeltaNode addNode) {
+            return addNode.execute(frame, left, right.getDays(), right.getSeconds(), right.getMicroseconds());
+        }
+
+        @Specialization
+        static Object add(VirtualFrame frame, PTimeDelta left, PDateTime right,
+                        @Cached DateTimeNodes.AddTimeDeltaNode addNode) {
+            return addNode.execute(frame, right, left.getDays(), left.getSeconds(), left.getMicroseconds());
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object add(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __SUB__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class SubNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PTimeDelta sub(VirtualFrame frame, PDateTime left, PDateTime right,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            long us = toEpochMicroseconds(left) - toEpochMicroseconds(right);
+            if (left.getTzInfo() != right.getTzInfo()) {
+                PTimeDelta offset1 = getUtcOffset(frame, left, utcOffsetNode);
+                PTimeDelta offset2 = getUtcOffset(frame, right, utcOffsetNode);
+                if ((offset1 == null) != (offset2 == null)) {
+                    throw raise(TypeError, ErrorMessages.CANT_SUBTRACT_OFFSET_NAIVE_AND_OFFSET_AWARE_DATETIMES);
+                } else if (offset1 != null) {
+                    us -= offset1.toMicroseconds() - offset2.toMicroseconds();
+                }
+            }
+            return DateTimeNodes.createTimeDelta(this, factory(), us);
+        }
+
+        @Specialization
+        static Object sub(VirtualFrame frame, PDateTime left, PTimeDelta right,
+                        @Cached DateTimeNodes.AddTimeDeltaNode addNode) {
+            return addNode.execute(frame, left, -right.getDays(), -right.getSeconds(), -right.getMicroseconds());
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object sub(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+}
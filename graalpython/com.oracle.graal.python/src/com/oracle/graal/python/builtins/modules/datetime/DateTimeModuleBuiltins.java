@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.SpecialAttributeNames;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
+import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+/**
+ * The {@code _datetime} module. The {@code date}, {@code datetime}, {@code time},
+ * {@code timedelta} and {@code timezone} objects keep their fields as Java ints, and the pure Python
+ * {@code datetime} module just re-exports them. The constructors are defined here, the methods in
+ * the builtins of the individual types.
+ */
+@CoreFunctions(defineModule = "_datetime")
+public final class DateTimeModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DateTimeModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        builtinConstants.put("MINYEAR", DateTimeUtils.MINYEAR);
+        builtinConstants.put("MAXYEAR", DateTimeUtils.MAXYEAR);
+        builtinConstants.put(SpecialAttributeNames.__DOC__, "Fast implementation of the datetime type.");
+        super.initialize(core);
+    }
+
+    private static int asInt(VirtualFrame frame, Object value, int defaultValue, PyNumberAsSizeNode asSizeNode) {
+        if (value == PNone.NO_VALUE) {
+            return defaultValue;
+        }
+        return asSizeNode.executeExact(frame, value, OverflowError);
+    }
+
+    private static Object asTzInfo(Object value) {
+        return value == PNone.NO_VALUE ? PNone.NONE : value;
+    }
+
+    /**
+     * Returns the pickled state of the given length if the object is one, otherwise {@code null}.
+     * The byte at {@code checkIndex} must be a month (date, datetime) or an hour (time), with the
+     * fold possibly stored in its highest bit.
+     */
+    private static byte[] getState(Object value, int length, int checkIndex, int checkMin, int checkMax, BytesNodes.ToBytesNode toBytesNode) {
+        if (!(value instanceof PBytes)) {
+            return null;
+        }
+        byte[] state = toBytesNode.execute(value);
+        if (state.length != length) {
+            return null;
+        }
+        int check = state[checkIndex] & 0x7f;
+        return check >= checkMin && check <= checkMax ? state : null;
+    }
+
+    private static int getByte(byte[] state, int index) {
+        return state[index] & 0xff;
+    }
+
+    private static int getMicrosecond(byte[] state, int index) {
+        return (getByte(state, index) << 16) | (getByte(state, index + 1) << 8) | getByte(state, index + 2);
+    }
+
+    // timedelta(days=0, seconds=0, microseconds=0, milliseconds=0, minutes=0, hours=0, weeks=0)
+    @Builtin(name = "timedelta", minNumOfPositionalArgs = 1, parameterNames = {"cls", "days", "seconds", "microseconds", "milliseconds", "minutes", "hours",
+                    "weeks"}, constructsClass = PythonBuiltinClassType.PTimeDelta)
+    @GenerateNodeFactory
+    abstract static class TimeDeltaNode extends PythonBuiltinNode {
+        private static final String[] COMPONENTS = {"days", "seconds", "microseconds", "milliseconds", "minutes", "hours", "weeks"};
+        private static final long[] FACTORS = {DateTimeUtils.MICROSECONDS_PER_DAY, DateTimeUtils.MICROSECONDS_PER_SECOND, 1, 1000, 60 * DateTimeUtils.MICROSECONDS_PER_SECOND,
+                        3600 * DateTimeUtils.MICROSECONDS_PER_SECOND, 7 * DateTimeUtils.MICROSECONDS_PER_DAY};
+
+        @Specialization
+        PTimeDelta construct(Object cls, Object days, Object seconds, Object microseconds, Object milliseconds, Object minutes, Object hours, Object weeks,
+                        @Cached IsBuiltinClassProfile isTimeDeltaProfile,
+                        @Cached ConditionProfile exactProfile) {
+            Object[] components = {days, seconds, microseconds, milliseconds, minutes, hours, weeks};
+            long total = 0;
+            boolean exact = true;
+            for (int i = 0; i < components.length; i++) {
+                Object component = components[i];
+                if (component == PNone.NO_VALUE) {
+                    continue;
+                }
+                long value;
+                if (component instanceof Integer) {
+                    value = (int) component;
+                } else if (component instanceof Long) {
+                    value = (long) component;
+                } else if (component instanceof Boolean) {
+                    value = (boolean) component ? 1 : 0;
+                } else {
+                    exact = false;
+                    break;
+                }
+                try {
+                    total = Math.addExact(total, Math.multiplyExact(value, FACTORS[i]));
+                } catch (ArithmeticException e) {
+                    exact = false;
+                    break;
+                }
+            }
+            PTimeDelta delta;
+            if (exactProfile.profile(exact)) {
+                delta = DateTimeNodes.createTimeDelta(this, factory(), total);
+            } else {
+                delta = DateTimeNodes.createTimeDelta(this, factory(), sumComponents(components));
+            }
+            if (isTimeDeltaProfile.profileClass(cls, PythonBuiltinClassType.PTimeDelta)) {
+                return delta;
+            }
+            return factory().createTimeDelta(cls, delta.getDays(), delta.getSeconds(), delta.getMicroseconds());
+        }
+
+        /**
+         * Sums the components exactly and rounds the total number of microseconds half to even.
+         */
+        private BigInteger sumComponents(Object[] components) {
+            BigDecimal total = BigDecimal.ZERO;
+            for (int i = 0; i < components.length; i++) {
+                Object component = components[i];
+                if (component == PNone.NO_VALUE) {
+                    continue;
+                }
+                BigDecimal value;
+                if (component instanceof Integer || component instanceof Long) {
+                    value = toDecimal(((Number) component).longValue());
+                } else if (component instanceof Boolean) {
+                    value = (boolean) component ? BigDecimal.ONE : BigDecimal.ZERO;
+                } else if (component instanceof PInt) {
+                    value = toDecimal(((PInt) component).getValue());
+                } else if (component instanceof Double || component instanceof PFloat) {
+                    double d = component instanceof Double ? (double) component : ((PFloat) component).getValue();
+                    if (Double.isNaN(d)) {
+                        throw raise(ValueError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "float NaN");
+                    } else if (Double.isInfinite(d)) {
+                        throw raise(OverflowError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "float infinity");
+                    }
+                    value = toDecimal(d);
+                } else {
+                    throw raise(TypeError, ErrorMessages.UNSUPPORTED_TYPE_FOR_TIMEDELTA_S_COMPONENT_P, COMPONENTS[i], component);
+                }
+                total = addScaled(total, value, FACTORS[i]);
+            }
+            return roundHalfEven(total);
+        }
+
+        @TruffleBoundary
+        private static BigDecimal toDecimal(long value) {
+            return BigDecimal.valueOf(value);
+        }
+
+        @TruffleBoundary
+        private static BigDecimal toDecimal(BigInteger value) {
+            return new BigDecimal(value);
+        }
+
+        @TruffleBoundary
+        private static BigDecimal toDecimal(double value) {
+            return new BigDecimal(value);
+        }
+
+        @TruffleBoundary
+        private static BigDecimal addScaled(BigDecimal total, BigDecimal value, long factor) {
+            return total.add(value.multiply(BigDecimal.valueOf(factor)));
+        }
+
+        @TruffleBoundary
+        private static BigInteger roundHalfEven(BigDecimal value) {
+            return value.setScale(0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+        }
+    }
+
+    // date(year, month, day)
+    @Builtin(name = "date", minNumOfPositionalArgs = 2, parameterNames = {"cls", "year", "month", "day"}, constructsClass = PythonBuiltinClassType.PDate)
+    @GenerateNodeFactory
+    abstract static class DateNode extends PythonBuiltinNode {
+        @Specialization
+        PDate construct(VirtualFrame frame, Object cls, Object year, Object month, Object day,
+                        @Cached BytesNodes.ToBytesNode toBytesNode,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            if (month == PNone.NO_VALUE && day == PNone.NO_VALUE) {
+                byte[] state = getState(year, 4, 2, 1, 12, toBytesNode);
+                if (state != null) {
+                    return factory().createDate(cls, getByte(state, 0) << 8 | getByte(state, 1), getByte(state, 2), getByte(state, 3));
+                }
+            }
+            if (month == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "date", "month", 2);
+            } else if (day == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "date", "day", 3);
+            }
+            int y = asSizeNode.executeExact(frame, year, OverflowError);
+            int m = asSizeNode.executeExact(frame, month, OverflowError);
+            int d = asSizeNode.executeExact(frame, day, OverflowError);
+            DateTimeNodes.checkDateFields(this, y, m, d);
+            return factory().createDate(cls, y, m, d);
+        }
+    }
+
+    // datetime(year, month, day, hour=0, minute=0, second=0, microsecond=0, tzinfo=None, *, fold=0)
+    @Builtin(name = "datetime", minNumOfPositionalArgs = 2, parameterNames = {"cls", "year", "month", "day", "hour", "minute", "second", "microsecond",
+                    "tzinfo"}, keywordOnlyNames = {"fold"}, constructsClass = PythonBuiltinClassType.PDateTime)
+    @GenerateNodeFactory
+    abstract static class DateTimeNode extends PythonBuiltinNode {
+        @Specialization
+        PDateTime construct(VirtualFrame frame, Object cls, Object year, Object month, Object day, Object hour, Object minute, Object second, Object microsecond, Object tzInfo,
+                        Object fold,
+                        @Cached BytesNodes.ToBytesNode toBytesNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached IsSubtypeNode isSubtypeNode,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            if (day == PNone.NO_VALUE && hour == PNone.NO_VALUE) {
+                byte[] state = getState(year, 10, 2, 1, 12, toBytesNode);
+                if (state != null) {
+                    // the tzinfo is passed as second argument
+                    Object stateTzInfo = asTzInfo(month);
+                    if (!DateTimeNodes.isTzInfo(stateTzInfo, lib, isSubtypeNode)) {
+                        throw raise(TypeError, ErrorMessages.BAD_TZINFO_STATE_ARG);
+                    }
+                    return factory().createDateTime(cls, getByte(state, 0) << 8 | getByte(state, 1), getByte(state, 2) & 0x7f, getByte(state, 3), getByte(state, 4),
+                                    getByte(state, 5), getByte(state, 6), getMicrosecond(state, 7), stateTzInfo, getByte(state, 2) >> 7);
+                }
+            }
+            if (month == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "datetime", "month", 2);
+            } else if (day == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.MISSING_D_REQUIRED_S_ARGUMENT_S_POS, "datetime", "day", 3);
+            }
+            int y = asSizeNode.executeExact(frame, year, OverflowError);
+            int mo = asSizeNode.executeExact(frame, month, OverflowError);
+            int d = asSizeNode.executeExact(frame, day, OverflowError);
+            int h = asInt(frame, hour, 0, asSizeNode);
+            int mi = asInt(frame, minute, 0, asSizeNode);
+            int s = asInt(frame, second, 0, asSizeNode);
+            int us = asInt(frame, microsecond, 0, asSizeNode);
+            int f = asInt(frame, fold, 0, asSizeNode);
+            Object tz = asTzInfo(tzInfo);
+            DateTimeNodes.checkDateFields(this, y, mo, d);
+            DateTimeNodes.checkTimeFields(this, h, mi, s, us, f);
+            DateTimeNodes.checkTzInfo(this, tz, lib, isSubtypeNode);
+            return factory().createDateTime(cls, y, mo, d, h, mi, s, us, tz, f);
+        }
+    }
+
+    // time(hour=0, minute=0, second=0, microsecond=0, tzinfo=None, *, fold=0)
+    @Builtin(name = "time", minNumOfPositionalArgs = 1, parameterNames = {"cls", "hour", "minute", "second", "microsecond", "tzinfo"}, keywordOnlyNames = {
+                    "fold"}, constructsClass = PythonBuiltinClassType.PTime)
+    @GenerateNodeFactory
+    abstract static class TimeNode extends PythonBuiltinNode {
+        @Specialization
+        PTime construct(VirtualFrame frame, Object cls, Object hour, Object minute, Object second, Object microsecond, Object tzInfo, Object fold,
+                        @Cached BytesNodes.ToBytesNode toBytesNode,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached IsSubtypeNode isSubtypeNode,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            if (second == PNone.NO_VALUE && microsecond == PNone.NO_VALUE) {
+                byte[] state = getState(hour, 6, 0, 0, 23, toBytesNode);
+                if (state != null) {
+                    // the tzinfo is passed as second argument
+                    Object stateTzInfo = asTzInfo(minute);
+                    if (!DateTimeNodes.isTzInfo(stateTzInfo, lib, isSubtypeNode)) {
+                        throw raise(TypeError, ErrorMessages.BAD_TZINFO_STATE_ARG);
+                    }
+                    return factory().createTime(cls, getByte(state, 0) & 0x7f, getByte(state, 1), getByte(state, 2), getMicrosecond(state, 3), stateTzInfo,
+                                    getByte(state, 0) >> 7);
+                }
+            }
+            int h = asInt(frame, hour, 0, asSizeNode);
+            int mi = asInt(frame, minute, 0, asSizeNode);
+            int s = asInt(frame, second, 0, asSizeNode);
+            int us = asInt(frame, microsecond, 0, asSizeNode);
+            int f = asInt(frame, fold, 0, asSizeNode);
+            Object tz = asTzInfo(tzInfo);
+            DateTimeNodes.checkTimeFields(this, h, mi, s, us, f);
+            DateTimeNodes.checkTzInfo(this, tz, lib, isSubtypeNode);
+            return factory().createTime(cls, h, mi, s, us, tz, f);
+        }
+    }
+
+    // timezone(offset, name=None)
+    @Builtin(name = "timezone", minNumOfPositionalArgs = 2, parameterNames = {"cls", "offset", "name"}, constructsClass = PythonBuiltinClassType.PTimeZone)
+    @GenerateNodeFactory
+    abstract static class TimeZoneNode extends PythonBuiltinNode {
+        @Specialization
+        Object construct(@SuppressWarnings("unused") Object cls, Object offset, Object name,
+                        @Cached CastToJavaStringNode castToStringNode,
+                        @Cached ReadAttributeFromObjectNode readUtcNode) {
+            if (!(offset instanceof PTimeDelta)) {
+                throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "timezone()", 1, "datetime.timedelta", offset);
+            }
+            PTimeDelta delta = (PTimeDelta) offset;
+            String tzName = null;
+            if (name != PNone.NO_VALUE) {
+                try {
+                    tzName = castToStringNode.execute(name);
+                } catch (CannotCastException e) {
+                    throw raise(TypeError, ErrorMessages.ARG_D_MUST_BE_S_NOT_P, "timezone()", 2, "str", name);
+                }
+            }
+            if (tzName == null && delta.isZero()) {
+                return readUtcNode.execute(getCore().lookupType(PythonBuiltinClassType.PTimeZone), "utc");
+            }
+            return TimeZoneBuiltins.createTimeZone(this, factory(), delta, tzName);
+        }
+    }
+}
@@ -0,0 +1,500 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.TimeZone;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+public abstract class DateTimeNodes {
+
+    private static final BigInteger MICROSECONDS_PER_DAY = BigInteger.valueOf(DateTimeUtils.MICROSECONDS_PER_DAY);
+
+    static void checkDateFields(PNodeWithRaise node, int year, int month, int day) {
+        if (year < DateTimeUtils.MINYEAR || year > DateTimeUtils.MAXYEAR) {
+            throw node.raise(ValueError, ErrorMessages.YEAR_D_IS_OUT_OF_RANGE, year);
+        } else if (month < 1 || month > 12) {
+            throw node.raise(ValueError, ErrorMessages.MONTH_MUST_BE_IN_1_12);
+        } else if (day < 1 || day > DateTimeUtils.daysInMonth(year, month)) {
+            throw node.raise(ValueError, ErrorMessages.DAY_IS_OUT_OF_RANGE_FOR_MONTH);
+        }
+    }
+
+    static void checkTimeFields(PNodeWithRaise node, int hour, int minute, int second, int microsecond, int fold) {
+        if (hour < 0 || hour > 23) {
+            throw node.raise(ValueError, ErrorMessages.HOUR_MUST_BE_IN_0_23);
+        } else if (minute < 0 || minute > 59) {
+            throw node.raise(ValueError, ErrorMessages.MINUTE_MUST_BE_IN_0_59);
+        } else if (second < 0 || second > 59) {
+            throw node.raise(ValueError, ErrorMessages.SECOND_MUST_BE_IN_0_59);
+        } else if (microsecond < 0 || microsecond > 999999) {
+            throw node.raise(ValueError, ErrorMessages.MICROSECOND_MUST_BE_IN_0_999999);
+        } else if (fold != 0 && fold != 1) {
+            throw node.raise(ValueError, ErrorMessages.FOLD_MUST_BE_EITHER_0_OR_1);
+        }
+    }
+
+    static boolean isTzInfo(Object tzInfo, PythonObjectLibrary lib, IsSubtypeNode isSubtypeNode) {
+        return tzInfo == PNone.NONE || tzInfo instanceof PTimeZone || isSubtypeNode.execute(lib.getLazyPythonClass(tzInfo), PythonBuiltinClassType.PTzInfo);
+    }
+
+    static void checkTzInfo(PNodeWithRaise node, Object tzInfo, PythonObjectLibrary lib, IsSubtypeNode isSubtypeNode) {
+        if (!isTzInfo(tzInfo, lib, isSubtypeNode)) {
+            throw node.raise(TypeError, ErrorMessages.TZINFO_ARGUMENT_MUST_BE_NONE_OR_OF_A_TZINFO_SUBCLASS_NOT_TYPE_P, tzInfo);
+        }
+    }
+
+    /**
+     * Creates a normalized {@code timedelta}. The arguments are sums or differences of the fields
+     * of at most a few valid deltas, dates or times, so the normalization cannot overflow.
+     */
+    public static PTimeDelta createTimeDelta(PNodeWithRaise node, PythonObjectFactory factory, long days, long seconds, long microseconds) {
+        long normalizedSeconds = seconds + Math.floorDiv(microseconds, DateTimeUtils.MICROSECONDS_PER_SECOND);
+        long normalizedDays = days + Math.floorDiv(normalizedSeconds, DateTimeUtils.SECONDS_PER_DAY);
+        if (normalizedDays < -DateTimeUtils.MAX_DELTA_DAYS || normalizedDays > DateTimeUtils.MAX_DELTA_DAYS) {
+            throw node.raise(OverflowError, ErrorMessages.DAYS_D_MUST_HAVE_MAGNITUDE_LE_999999999, normalizedDays);
+        }
+        return factory.createTimeDelta((int) normalizedDays, (int) Math.floorMod(normalizedSeconds, DateTimeUtils.SECONDS_PER_DAY),
+                        (int) Math.floorMod(microseconds, DateTimeUtils.MICROSECONDS_PER_SECOND));
+    }
+
+    public static PTimeDelta createTimeDelta(PNodeWithRaise node, PythonObjectFactory factory, long microseconds) {
+        return createTimeDelta(node, factory, 0, 0, microseconds);
+    }
+
+    @TruffleBoundary
+    public static PTimeDelta createTimeDelta(PNodeWithRaise node, PythonObjectFactory factory, BigInteger microseconds) {
+        BigInteger[] daysAndRest = microseconds.divideAndRemainder(MICROSECONDS_PER_DAY);
+        if (daysAndRest[1].signum() < 0) {
+            daysAndRest[0] = daysAndRest[0].subtract(BigInteger.ONE);
+            daysAndRest[1] = daysAndRest[1].add(MICROSECONDS_PER_DAY);
+        }
+        if (daysAndRest[0].bitLength() > 31 || Math.abs(daysAndRest[0].longValue()) > DateTimeUtils.MAX_DELTA_DAYS) {
+            throw node.raise(OverflowError, ErrorMessages.DAYS_D_MUST_HAVE_MAGNITUDE_LE_999999999, daysAndRest[0]);
+        }
+        return createTimeDelta(node, factory, daysAndRest[0].longValue(), 0, daysAndRest[1].longValue());
+    }
+
+    /**
+     * Validates the result of {@code utcoffset()} or {@code dst()}, which must be {@code None} or a
+     * {@code timedelta} strictly between -24 and 24 hours.
+     */
+    static Object checkOffset(PNodeWithRaise node, String method, Object offset) {
+        if (offset == PNone.NONE) {
+            return offset;
+        } else if (!(offset instanceof PTimeDelta)) {
+            throw node.raise(TypeError, ErrorMessages.TZINFO_S_MUST_RETURN_NONE_OR_TIMEDELTA_NOT_P, method, offset);
+        }
+        PTimeDelta delta = (PTimeDelta) offset;
+        if (delta.getDays() < -1 || delta.getDays() >= 1 || (delta.getDays() == -1 && delta.getSeconds() == 0 && delta.getMicroseconds() == 0)) {
+            throw node.raise(ValueError, ErrorMessages.OFFSET_MUST_BE_A_TIMEDELTA_STRICTLY_BETWEEN);
+        }
+        return delta;
+    }
+
+    /**
+     * Converts a timestamp to {@code [seconds, microseconds]} like CPython's
+     * {@code _PyTime_ObjectToTimeval}, rounding the microseconds half to even.
+     */
+    static long[] splitTimestamp(PNodeWithRaise node, double timestamp) {
+        if (Double.isNaN(timestamp)) {
+            throw node.raise(ValueError, ErrorMessages.INVALID_VALUE_NAN);
+        }
+        double seconds = timestamp < 0 ? Math.ceil(timestamp) : Math.floor(timestamp);
+        double microseconds = Math.rint((timestamp - seconds) * 1e6);
+        if (microseconds >= 1e6) {
+            microseconds -= 1e6;
+            seconds += 1.0;
+        } else if (microseconds < 0) {
+            microseconds += 1e6;
+            seconds -= 1.0;
+        }
+        if (!(seconds >= Long.MIN_VALUE && seconds < Long.MAX_VALUE)) {
+            throw node.raise(OverflowError, ErrorMessages.TIMESTAMP_OUT_OF_RANGE);
+        }
+        return new long[]{(long) seconds, (long) microseconds};
+    }
+
+    @TruffleBoundary
+    static long[] currentTime() {
+        Instant now = Instant.now();
+        return new long[]{now.getEpochSecond(), now.getNano() / 1000};
+    }
+
+    @TruffleBoundary
+    private static ZoneId getLocalZone() {
+        return PythonLanguage.getContext().getEnv().getTimeZone();
+    }
+
+    /**
+     * Splits seconds since the epoch into {@code [year, month, day, hour, minute, second, fold]} in
+     * the local time zone or in UTC. The fold is set for the second occurrence of a local time
+     * repeated by a transition. Returns {@code null} if the time cannot be represented.
+     */
+    @TruffleBoundary
+    static int[] epochToFields(long seconds, boolean local) {
+        try {
+            ZoneId zone = local ? getLocalZone() : ZoneOffset.UTC;
+            ZonedDateTime zonedDateTime = Instant.ofEpochSecond(seconds).atZone(zone);
+            LocalDateTime dateTime = zonedDateTime.toLocalDateTime();
+            int fold = 0;
+            if (local) {
+                ZoneOffsetTransition transition = zone.getRules().getTransition(dateTime);
+                if (transition != null && transition.isOverlap() && zonedDateTime.getOffset().equals(transition.getOffsetAfter())) {
+                    fold = 1;
+                }
+            }
+            return new int[]{dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), fold};
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts a naive local time to seconds since the epoch. Like in PEP 495, times in a gap or
+     * in a fold use the offset before the transition if {@code fold} is 0 and the offset after it
+     * otherwise.
+     */
+    @TruffleBoundary
+    static long localToEpoch(int year, int month, int day, int hour, int minute, int second, int fold) {
+        LocalDateTime dateTime = LocalDateTime.of(year, month, day, hour, minute, second);
+        ZoneRules rules = getLocalZone().getRules();
+        ZoneOffsetTransition transition = rules.getTransition(dateTime);
+        ZoneOffset offset;
+        if (transition != null) {
+            offset = fold == 0 ? transition.getOffsetBefore() : transition.getOffsetAfter();
+        } else {
+            offset = rules.getOffset(dateTime);
+        }
+        return dateTime.toEpochSecond(offset);
+    }
+
+    /**
+     * Creates the fixed offset {@code timezone} the local time zone has at the given time.
+     */
+    static PTimeZone createLocalTimeZone(PNodeWithRaise node, PythonObjectFactory factory, long epochSeconds) {
+        int offset = getLocalOffset(epochSeconds);
+        return TimeZoneBuiltins.createTimeZone(node, factory, createTimeDelta(node, factory, 0, offset, 0), getLocalZoneName(epochSeconds));
+    }
+
+    @TruffleBoundary
+    private static int getLocalOffset(long epochSeconds) {
+        return getLocalZone().getRules().getOffset(Instant.ofEpochSecond(epochSeconds)).getTotalSeconds();
+    }
+
+    @TruffleBoundary
+    private static String getLocalZoneName(long epochSeconds) {
+        ZoneId zone = getLocalZone();
+        boolean isDaylightSavings = zone.getRules().isDaylightSavings(Instant.ofEpochSecond(epochSeconds));
+        return TimeZone.getTimeZone(zone).getDisplayName(isDaylightSavings, TimeZone.SHORT);
+    }
+
+    static String reprToString(VirtualFrame frame, PNodeWithRaise node, Object object, LookupAndCallUnaryNode reprNode, CastToJavaStringNode castToStringNode) {
+        Object repr = reprNode.executeObject(frame, object);
+        try {
+            return castToStringNode.execute(repr);
+        } catch (CannotCastException e) {
+            throw node.raise(TypeError, ErrorMessages.RETURNED_NON_STRING, "__repr__", repr);
+        }
+    }
+
+    /**
+     * Creates a {@code date} of the given class. Like in CPython, subclasses are instantiated by
+     * calling them, so that their {@code __new__} and {@code __init__} run.
+     */
+    public abstract static class NewDateNode extends PNodeWithRaise {
+        public abstract Object execute(VirtualFrame frame, Object cls, int year, int month, int day);
+
+        @Specialization
+        Object createDate(VirtualFrame frame, Object cls, int year, int month, int day,
+                        @Cached IsBuiltinClassProfile isDateProfile,
+                        @Cached PythonObjectFactory factory,
+                        @Cached CallNode callNode) {
+            if (isDateProfile.profileClass(cls, PythonBuiltinClassType.PDate)) {
+                checkDateFields(this, year, month, day);
+                return factory.createDate(cls, year, month, day);
+            }
+            return callNode.execute(frame, cls, year, month, day);
+        }
+
+        public static NewDateNode create() {
+            return DateTimeNodesFactory.NewDateNodeGen.create();
+        }
+    }
+
+    /**
+     * Creates a {@code datetime} of the given class, calling subclasses like {@link NewDateNode}.
+     * The fold is passed to subclasses only if it is set.
+     */
+    public abstract static class NewDateTimeNode extends PNodeWithRaise {
+        public abstract Object execute(VirtualFrame frame, Object cls, int year, int month, int day, int hour, int minute, int second, int microsecond, Object tzInfo, int fold);
+
+        @Specialization
+        Object createDateTime(VirtualFrame frame, Object cls, int year, int month, int day, int hour, int minute, int second, int microsecond, Object tzInfo, int fold,
+                        @Cached IsBuiltinClassProfile isDateTimeProfile,
+                        @Cached PythonObjectFactory factory,
+                        @Cached CallNode callNode) {
+            if (isDateTimeProfile.profileClass(cls, PythonBuiltinClassType.PDateTime)) {
+                checkDateFields(this, year, month, day);
+                checkTimeFields(this, hour, minute, second, microsecond, fold);
+                return factory.createDateTime(cls, year, month, day, hour, minute, second, microsecond, tzInfo, fold);
+            }
+            Object[] args = new Object[]{year, month, day, hour, minute, second, microsecond, tzInfo};
+            return callNode.execute(frame, cls, args, fold != 0 ? new PKeyword[]{new PKeyword("fold", fold)} : PKeyword.EMPTY_KEYWORDS);
+        }
+
+        public static NewDateTimeNode create() {
+            return DateTimeNodesFactory.NewDateTimeNodeGen.create();
+        }
+    }
+
+    /**
+     * Creates a {@code time} of the given class, calling subclasses like {@link NewDateNode}.
+     */
+    public abstract static class NewTimeNode extends PNodeWithRaise {
+        public abstract Object execute(VirtualFrame frame, Object cls, int hour, int minute, int second, int microsecond, Object tzInfo);
+
+        @Specialization
+        Object createTime(VirtualFrame frame, Object cls, int hour, int minute, int second, int microsecond, Object tzInfo,
+                        @Cached IsBuiltinClassProfile isTimeProfile,
+                        @Cached PythonObjectFactory factory,
+                        @Cached CallNode callNode) {
+            if (isTimeProfile.profileClass(cls, PythonBuiltinClassType.PTime)) {
+                checkTimeFields(this, hour, minute, second, microsecond, 0);
+                return factory.createTime(cls, hour, minute, second, microsecond, tzInfo, 0);
+            }
+            return callNode.execute(frame, cls, hour, minute, second, microsecond, tzInfo);
+        }
+
+        public static NewTimeNode create() {
+            return DateTimeNodesFactory.NewTimeNodeGen.create();
+        }
+    }
+
+    /**
+     * Adds a time delta to a {@code datetime}. The result keeps the time zone and is an instance of
+     * the same class.
+     */
+    public abstract static class AddTimeDeltaNode extends PNodeWithRaise {
+        public abstract Object execute(VirtualFrame frame, PDateTime dateTime, int days, int seconds, int microseconds);
+
+        @Specialization
+        Object add(VirtualFrame frame, PDateTime dateTime, int days, int seconds, int microseconds,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached NewDateTimeNode newDateTimeNode) {
+            long[] result = DateTimeUtils.addDelta(dateTime.toOrdinal(), dateTime.secondsOfDay(), dateTime.getMicrosecond(), days, seconds, microseconds);
+            if (result[0] < 1 || result[0] > DateTimeUtils.MAX_ORDINAL) {
+                throw raise(OverflowError, ErrorMessages.DATE_VALUE_OUT_OF_RANGE);
+            }
+            int[] ymd = DateTimeUtils.ordToYmd((int) result[0]);
+            int secondsOfDay = (int) result[1];
+            return newDateTimeNode.execute(frame, lib.getLazyPythonClass(dateTime), ymd[0], ymd[1], ymd[2], secondsOfDay / 3600, secondsOfDay / 60 % 60, secondsOfDay % 60,
+                            (int) result[2], dateTime.getTzInfo(), 0);
+        }
+
+        public static AddTimeDeltaNode create() {
+            return DateTimeNodesFactory.AddTimeDeltaNodeGen.create();
+        }
+    }
+
+    /**
+     * Creates the {@code tzinfo} for the result of {@link DateTimeUtils#parseIsoTime}, which is
+     * {@code None} without offset and {@code timezone.utc} for a zero offset.
+     */
+    public abstract static class IsoTzInfoNode extends PNodeWithRaise {
+        public abstract Object execute(int parseResult, int offsetSeconds, int offsetMicroseconds);
+
+        @Specialization
+        Object create(int parseResult, int offsetSeconds, int offsetMicroseconds,
+                        @CachedContext(PythonLanguage.class) PythonContext context,
+                        @Cached PythonObjectFactory factory,
+                        @Cached ReadAttributeFromObjectNode readUtcNode) {
+            if (parseResult == 0) {
+                return PNone.NONE;
+            } else if (offsetSeconds == 0 && offsetMicroseconds == 0) {
+                return readUtcNode.execute(context.getCore().lookupType(PythonBuiltinClassType.PTimeZone), "utc");
+            }
+            return TimeZoneBuiltins.createTimeZone(this, factory, createTimeDelta(this, factory, 0, offsetSeconds, offsetMicroseconds), null);
+        }
+
+        public static IsoTzInfoNode create() {
+            return DateTimeNodesFactory.IsoTzInfoNodeGen.create();
+        }
+    }
+
+    /**
+     * Calls {@code tzinfo.utcoffset(arg)} and returns the validated offset or {@code None}. Fixed
+     * offset {@code timezone} objects are answered directly.
+     */
+    public abstract static class UtcOffsetNode extends PNodeWithRaise {
+        public abstract Object execute(VirtualFrame frame, Object tzInfo, Object arg);
+
+        @Specialization
+        static Object doNone(@SuppressWarnings("unused") PNone tzInfo, @SuppressWarnings("unused") Object arg) {
+            return PNone.NONE;
+        }
+
+        @Specialization
+        static Object doTimeZone(PTimeZone tzInfo, @SuppressWarnings("unused") Object arg) {
+            return tzInfo.getOffset();
+        }
+
+        @Specialization(guards = {"!isPNone(tzInfo)", "!isTimeZone(tzInfo)"}, limit = "3")
+        Object doGeneric(VirtualFrame frame, Object tzInfo, Object arg,
+                        @CachedLibrary("tzInfo") PythonObjectLibrary lib) {
+            return checkOffset(this, "utcoffset", lib.lookupAndCallRegularMethod(tzInfo, frame, "utcoffset", arg));
+        }
+
+        static boolean isTimeZone(Object tzInfo) {
+            return tzInfo instanceof PTimeZone;
+        }
+
+        public static UtcOffsetNode create() {
+            return DateTimeNodesFactory.UtcOffsetNodeGen.create();
+        }
+    }
+
+    /**
+     * Calls {@code tzinfo.dst(arg)} and returns the validated offset or {@code None}.
+     */
+    public abstract static class DstNode extends PNodeWithRaise {
+        public abstract Object execute(VirtualFrame frame, Object tzInfo, Object arg);
+
+        @Specialization
+        static Object doNone(@SuppressWarnings("unused") PNone tzInfo, @SuppressWarnings("unused") Object arg) {
+            return PNone.NONE;
+        }
+
+        @Specialization
+        static Object doTimeZone(@SuppressWarnings("unused") PTimeZone tzInfo, @SuppressWarnings("unused") Object arg) {
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = {"!isPNone(tzInfo)", "!isTimeZone(tzInfo)"}, limit = "3")
+        Object doGeneric(VirtualFrame frame, Object tzInfo, Object arg,
+                        @CachedLibrary("tzInfo") PythonObjectLibrary lib) {
+            return checkOffset(this, "dst", lib.lookupAndCallRegularMethod(tzInfo, frame, "dst", arg));
+        }
+
+        static boolean isTimeZone(Object tzInfo) {
+            return tzInfo instanceof PTimeZone;
+        }
+
+        public static DstNode create() {
+            return DateTimeNodesFactory.DstNodeGen.create();
+        }
+    }
+
+    /**
+     * Calls {@code tzinfo.tzname(arg)} and returns the name as Java string or {@code null} if it
+     * is {@code None}.
+     */
+    public abstract static class TzNameNode extends PNodeWithRaise {
+        public abstract String execute(VirtualFrame frame, Object tzInfo, Object arg);
+
+        @Specialization
+        static String doNone(@SuppressWarnings("unused") PNone tzInfo, @SuppressWarnings("unused") Object arg) {
+            return null;
+        }
+
+        @Specialization
+        static String doTimeZone(PTimeZone tzInfo, @SuppressWarnings("unused") Object arg) {
+            return TimeZoneBuiltins.getName(tzInfo);
+        }
+
+        @Specialization(guards = {"!isPNone(tzInfo)", "!isTimeZone(tzInfo)"}, limit = "3")
+        String doGeneric(VirtualFrame frame, Object tzInfo, Object arg,
+                        @CachedLibrary("tzInfo") PythonObjectLibrary lib,
+                        @Cached CastToJavaStringNode castToStringNode) {
+            Object name = lib.lookupAndCallRegularMethod(tzInfo, frame, "tzname", arg);
+            if (name == PNone.NONE) {
+                return null;
+            }
+            try {
+                return castToStringNode.execute(name);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.TZINFO_TZNAME_MUST_RETURN_NONE_OR_A_STRING_NOT_P, name);
+            }
+        }
+
+        static boolean isTimeZone(Object tzInfo) {
+            return tzInfo instanceof PTimeZone;
+        }
+
+        public static TzNameNode create() {
+            return DateTimeNodesFactory.TzNameNodeGen.create();
+        }
+    }
+}
@@ -0,0 +1,503 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * The calendar arithmetic, formatting and ISO 8601 parsing used by the {@code _datetime} module.
+ * The algorithms are the ones of CPython's {@code _datetimemodule.c}, which uses the proleptic
+ * Gregorian calendar with ordinal 1 being January 1 of year 1.
+ */
+public final class DateTimeUtils {
+    public static final int MINYEAR = 1;
+    public static final int MAXYEAR = 9999;
+    /* date(MAXYEAR, 12, 31).toordinal() */
+    public static final int MAX_ORDINAL = 3652059;
+    /* date(1970, 1, 1).toordinal() */
+    public static final int EPOCH_ORDINAL = 719163;
+    public static final int MAX_DELTA_DAYS = 999999999;
+
+    public static final int SECONDS_PER_DAY = 24 * 3600;
+    public static final long MICROSECONDS_PER_SECOND = 1000000L;
+    public static final long MICROSECONDS_PER_DAY = SECONDS_PER_DAY * MICROSECONDS_PER_SECOND;
+
+    /* number of days in 400, 100 and 4 years */
+    private static final int DI400Y = 146097;
+    private static final int DI100Y = 36524;
+    private static final int DI4Y = 1461;
+
+    private static final int[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+    private static final int[] DAYS_BEFORE_MONTH = {0, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+
+    private static final String[] DAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final String[] MONTH_NAMES = {null, "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    private DateTimeUtils() {
+    }
+
+    public static boolean isLeap(int year) {
+        return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    public static int daysInMonth(int year, int month) {
+        assert 1 <= month && month <= 12;
+        if (month == 2 && isLeap(year)) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month];
+    }
+
+    public static int daysBeforeMonth(int year, int month) {
+        assert 1 <= month && month <= 12;
+        int days = DAYS_BEFORE_MONTH[month];
+        if (month > 2 && isLeap(year)) {
+            days++;
+        }
+        return days;
+    }
+
+    public static int daysBeforeYear(int year) {
+        int y = year - 1;
+        return y * 365 + y / 4 - y / 100 + y / 400;
+    }
+
+    public static int ymdToOrd(int year, int month, int day) {
+        return daysBeforeYear(year) + daysBeforeMonth(year, month) + day;
+    }
+
+    /**
+     * Converts an ordinal in {@code 1..MAX_ORDINAL} to {@code [year, month, day]}.
+     */
+    public static int[] ordToYmd(int ordinal) {
+        int n = ordinal - 1;
+        int n400 = n / DI400Y;
+        n = n % DI400Y;
+        int year = n400 * 400 + 1;
+        int n100 = n / DI100Y;
+        n = n % DI100Y;
+        int n4 = n / DI4Y;
+        n = n % DI4Y;
+        int n1 = n / 365;
+        n = n % 365;
+        year += n100 * 100 + n4 * 4 + n1;
+        if (n1 == 4 || n100 == 4) {
+            // the last day of a 4 or 400 year cycle
+            assert n == 0;
+            return new int[]{year - 1, 12, 31};
+        }
+        // n is now the 0-based day of the year, the estimate of the month may be one too large
+        boolean leap = n1 == 3 && (n4 != 24 || n100 == 3);
+        int month = (n + 50) >> 5;
+        int preceding = DAYS_BEFORE_MONTH[month] + (month > 2 && leap ? 1 : 0);
+        if (preceding > n) {
+            month--;
+            preceding -= DAYS_IN_MONTH[month] + (month == 2 && leap ? 1 : 0);
+        }
+        return new int[]{year, month, n - preceding + 1};
+    }
+
+    /**
+     * Returns the day of the week, Monday being 0.
+     */
+    public static int weekday(int year, int month, int day) {
+        return (ymdToOrd(year, month, day) + 6) % 7;
+    }
+
+    /**
+     * Returns the ordinal of the Monday starting ISO week 1 of the given year.
+     */
+    public static int isoWeek1Monday(int year) {
+        int firstDay = ymdToOrd(year, 1, 1);
+        int firstWeekday = (firstDay + 6) % 7;
+        int week1Monday = firstDay - firstWeekday;
+        if (firstWeekday > 3) {
+            week1Monday += 7;
+        }
+        return week1Monday;
+    }
+
+    /**
+     * Returns the ISO {@code [year, week, weekday]} of a date.
+     */
+    public static int[] isoCalendar(int year, int month, int day) {
+        int isoYear = year;
+        int week1Monday = isoWeek1Monday(isoYear);
+        int today = ymdToOrd(year, month, day);
+        int week = Math.floorDiv(today - week1Monday, 7);
+        int weekday = Math.floorMod(today - week1Monday, 7);
+        if (week < 0) {
+            isoYear--;
+            week1Monday = isoWeek1Monday(isoYear);
+            week = Math.floorDiv(today - week1Monday, 7);
+            weekday = Math.floorMod(today - week1Monday, 7);
+        } else if (week >= 52 && today >= isoWeek1Monday(isoYear + 1)) {
+            isoYear++;
+            week = 0;
+        }
+        return new int[]{isoYear, week + 1, weekday + 1};
+    }
+
+    /**
+     * Whether the ISO week {@code week} exists in {@code year}, which is the case for weeks
+     * {@code 1..52} and for week 53 in years starting on a Thursday or leap years starting on a
+     * Wednesday.
+     */
+    public static boolean isValidIsoWeek(int year, int week) {
+        if (week == 53) {
+            int firstWeekday = weekday(year, 1, 1);
+            return firstWeekday == 3 || (firstWeekday == 2 && isLeap(year));
+        }
+        return 0 < week && week < 53;
+    }
+
+    /**
+     * Returns the ordinal of an ISO calendar date that was validated with
+     * {@link #isValidIsoWeek(int, int)}.
+     */
+    public static int isoToOrd(int year, int week, int day) {
+        return isoWeek1Monday(year) + (week - 1) * 7 + day - 1;
+    }
+
+    /**
+     * Adds a time delta to the given date and time. The result is {@code [ordinal, seconds of the
+     * day, microsecond]} where the ordinal may be out of the supported range.
+     */
+    public static long[] addDelta(int ordinal, int secondsOfDay, int microsecond, int deltaDays, int deltaSeconds, int deltaMicroseconds) {
+        long us = (long) microsecond + deltaMicroseconds;
+        long seconds = (long) secondsOfDay + deltaSeconds + Math.floorDiv(us, MICROSECONDS_PER_SECOND);
+        long days = (long) ordinal + deltaDays + Math.floorDiv(seconds, SECONDS_PER_DAY);
+        return new long[]{days, Math.floorMod(seconds, SECONDS_PER_DAY), Math.floorMod(us, MICROSECONDS_PER_SECOND)};
+    }
+
+    /**
+     * Combines the given fields into a hash value. Equal objects of different types must produce
+     * the same fields to hash alike, e.g. an aware time hashes its UTC adjusted delta.
+     */
+    public static long hashFields(long a, long b, long c) {
+        long h = (a * 1000003L ^ b) * 1000003L ^ c;
+        return h == -1 ? -2 : h;
+    }
+
+    // formatting
+
+    public static void appendPadded(StringBuilder sb, int value, int width) {
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        for (int i = digits; i < width; i++) {
+            sb.append('0');
+        }
+        sb.append(value);
+    }
+
+    public static void appendIsoDate(StringBuilder sb, int year, int month, int day) {
+        appendPadded(sb, year, 4);
+        sb.append('-');
+        appendPadded(sb, month, 2);
+        sb.append('-');
+        appendPadded(sb, day, 2);
+    }
+
+    /**
+     * Appends the time in ISO format with the precision selected by {@code timespec}. Returns
+     * {@code false} if {@code timespec} is unknown.
+     */
+    public static boolean appendIsoTime(StringBuilder sb, int hour, int minute, int second, int microsecond, String timespec) {
+        String spec = timespec;
+        if ("auto".equals(spec)) {
+            spec = microsecond != 0 ? "microseconds" : "seconds";
+        }
+        switch (spec) {
+            case "hours":
+                appendPadded(sb, hour, 2);
+                return true;
+            case "minutes":
+                appendPadded(sb, hour, 2);
+                sb.append(':');
+                appendPadded(sb, minute, 2);
+                return true;
+            case "seconds":
+                appendHms(sb, hour, minute, second);
+                return true;
+            case "milliseconds":
+                appendHms(sb, hour, minute, second);
+                sb.append('.');
+                appendPadded(sb, microsecond / 1000, 3);
+                return true;
+            case "microseconds":
+                appendHms(sb, hour, minute, second);
+                sb.append('.');
+                appendPadded(sb, microsecond, 6);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static void appendHms(StringBuilder sb, int hour, int minute, int second) {
+        appendPadded(sb, hour, 2);
+        sb.append(':');
+        appendPadded(sb, minute, 2);
+        sb.append(':');
+        appendPadded(sb, second, 2);
+    }
+
+    /**
+     * Appends a UTC offset as {@code +HH<sep>MM[<sep>SS[.ffffff]]}.
+     */
+    public static void appendUtcOffset(StringBuilder sb, PTimeDelta offset, String sep) {
+        long us = offset.toMicroseconds();
+        if (us < 0) {
+            sb.append('-');
+            us = -us;
+        } else {
+            sb.append('+');
+        }
+        int microseconds = (int) (us % MICROSECONDS_PER_SECOND);
+        int seconds = (int) (us / MICROSECONDS_PER_SECOND);
+        appendPadded(sb, seconds / 3600, 2);
+        sb.append(sep);
+        appendPadded(sb, seconds / 60 % 60, 2);
+        if (microseconds != 0 || seconds % 60 != 0) {
+            sb.append(sep);
+            appendPadded(sb, seconds % 60, 2);
+            if (microseconds != 0) {
+                sb.append('.');
+                appendPadded(sb, microseconds, 6);
+            }
+        }
+    }
+
+    @TruffleBoundary
+    public static String formatUtcOffset(PTimeDelta offset, String sep) {
+        StringBuilder sb = new StringBuilder(6);
+        appendUtcOffset(sb, offset, sep);
+        return sb.toString();
+    }
+
+    @TruffleBoundary
+    public static String ctime(int year, int month, int day, int hour, int minute, int second) {
+        StringBuilder sb = new StringBuilder(24);
+        sb.append(DAY_NAMES[weekday(year, month, day)]).append(' ').append(MONTH_NAMES[month]).append(' ');
+        if (day < 10) {
+            sb.append(' ');
+        }
+        sb.append(day).append(' ');
+        appendHms(sb, hour, minute, second);
+        sb.append(' ');
+        appendPadded(sb, year, 4);
+        return sb.toString();
+    }
+
+    @TruffleBoundary
+    public static String timeDeltaToString(PTimeDelta delta) {
+        StringBuilder sb = new StringBuilder();
+        int days = delta.getDays();
+        if (days != 0) {
+            sb.append(days).append(days == 1 || days == -1 ? " day, " : " days, ");
+        }
+        int seconds = delta.getSeconds();
+        sb.append(seconds / 3600).append(':');
+        appendPadded(sb, seconds / 60 % 60, 2);
+        sb.append(':');
+        appendPadded(sb, seconds % 60, 2);
+        if (delta.getMicroseconds() != 0) {
+            sb.append('.');
+            appendPadded(sb, delta.getMicroseconds(), 6);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Prepares a format string for {@code time.strftime} by replacing the directives only the
+     * datetime objects know about: {@code %f} by the microseconds, {@code %z} by the UTC offset and
+     * {@code %Z} by the time zone name. The offset and name may be {@code null}.
+     */
+    @TruffleBoundary
+    public static String wrapStrftime(String format, int microsecond, PTimeDelta utcOffset, String tzName) {
+        if (format.indexOf('%') < 0) {
+            return format;
+        }
+        StringBuilder sb = new StringBuilder(format.length() + 8);
+        int length = format.length();
+        for (int i = 0; i < length; i++) {
+            char c = format.charAt(i);
+            if (c != '%' || i + 1 == length) {
+                sb.append(c);
+                continue;
+            }
+            char directive = format.charAt(++i);
+            switch (directive) {
+                case 'f':
+                    appendPadded(sb, microsecond, 6);
+                    break;
+                case 'z':
+                    if (utcOffset != null) {
+                        appendUtcOffset(sb, utcOffset, "");
+                    }
+                    break;
+                case 'Z':
+                    if (tzName != null) {
+                        sb.append(tzName.replace("%", "%%"));
+                    }
+                    break;
+                default:
+                    sb.append('%').append(directive);
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    // ISO 8601 parsing
+
+    private static int parseDigits(String s, int start, int count) {
+        if (start + count > s.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static char charAt(String s, int index) {
+        return index < s.length() ? s.charAt(index) : '\0';
+    }
+
+    /**
+     * Parses {@code YYYY-MM-DD} at the start of {@code s} into {@code out[0..2]}. The values are
+     * not range checked. Returns {@code false} if the string is malformed.
+     */
+    public static boolean parseIsoDate(String s, int[] out) {
+        int year = parseDigits(s, 0, 4);
+        if (year < 0 || charAt(s, 4) != '-') {
+            return false;
+        }
+        int month = parseDigits(s, 5, 2);
+        if (month < 0 || charAt(s, 7) != '-') {
+            return false;
+        }
+        int day = parseDigits(s, 8, 2);
+        if (day < 0) {
+            return false;
+        }
+        out[0] = year;
+        out[1] = month;
+        out[2] = day;
+        return true;
+    }
+
+    /**
+     * Parses {@code HH[:MM[:SS[.fff[fff]]]]} in {@code s[start:end]} into
+     * {@code out[offset..offset+3]}. Returns 0 if the string ends after the time, 1 if there are
+     * more characters, or a negative value if the time is malformed.
+     */
+    private static int parseTime(String s, int start, int end, int[] out, int offset) {
+        int p = start;
+        for (int i = 0; i < 3; i++) {
+            int value = parseDigits(s, p, 2);
+            if (value < 0) {
+                return -3;
+            }
+            out[offset + i] = value;
+            p += 2;
+            char c = charAt(s, p++);
+            if (p >= end) {
+                return c != '\0' ? 1 : 0;
+            } else if (c == '.') {
+                break;
+            } else if (c != ':') {
+                return -4;
+            }
+        }
+        int remaining = end - p;
+        if (remaining != 6 && remaining != 3) {
+            return -3;
+        }
+        int fraction = parseDigits(s, p, remaining);
+        if (fraction < 0) {
+            return -3;
+        }
+        out[offset + 3] = remaining == 3 ? fraction * 1000 : fraction;
+        return charAt(s, p + remaining) != '\0' ? 1 : 0;
+    }
+
+    /**
+     * Parses the time part of an ISO format string starting at {@code start} into {@code out},
+     * which receives hour, minute, second, microsecond, and the UTC offset as seconds and
+     * microseconds. Returns 0 on success without offset, 1 on success with offset and a negative
+     * value if the string is malformed.
+     */
+    public static int parseIsoTime(String s, int start, int[] out) {
+        int end = s.length();
+        int tzPos = start;
+        do {
+            char c = charAt(s, tzPos);
+            if (c == '+' || c == '-') {
+                break;
+            }
+        } while (++tzPos < end);
+        int result = parseTime(s, start, tzPos, out, 0);
+        if (result < 0) {
+            return result;
+        } else if (tzPos == end) {
+            return result == 1 ? -5 : 0;
+        }
+        int tzLength = end - tzPos;
+        if (tzLength != 6 && tzLength != 9 && tzLength != 16) {
+            return -5;
+        }
+        int sign = s.charAt(tzPos) == '-' ? -1 : 1;
+        int[] tz = new int[4];
+        result = parseTime(s, tzPos + 1, end, tz, 0);
+        out[4] = sign * (tz[0] * 3600 + tz[1] * 60 + tz[2]);
+        out[5] = sign * tz[3];
+        return result != 0 ? -5 : 1;
+    }
+}
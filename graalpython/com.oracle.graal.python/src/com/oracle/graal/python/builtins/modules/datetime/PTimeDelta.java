@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import java.math.BigInteger;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code datetime.timedelta} object. Like in CPython, the value is normalized such that
+ * {@code 0 <= seconds < 86400} and {@code 0 <= microseconds < 1000000}, only the days may be
+ * negative.
+ */
+public final class PTimeDelta extends PythonBuiltinObject {
+    /* (10^8 * 86400 + 86399) * 10^6 + 999999 is still below Long.MAX_VALUE */
+    private static final int MAX_LONG_DAYS = 100000000;
+
+    private final int days;
+    private final int seconds;
+    private final int microseconds;
+
+    public PTimeDelta(Object cls, Shape instanceShape, int days, int seconds, int microseconds) {
+        super(cls, instanceShape);
+        this.days = days;
+        this.seconds = seconds;
+        this.microseconds = microseconds;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getSeconds() {
+        return seconds;
+    }
+
+    public int getMicroseconds() {
+        return microseconds;
+    }
+
+    public boolean isZero() {
+        return days == 0 && seconds == 0 && microseconds == 0;
+    }
+
+    /**
+     * Whether the total number of microseconds fits into a {@code long}, which is the case for all
+     * deltas of less than about 270000 years.
+     */
+    public boolean fitsInLongMicroseconds() {
+        return -MAX_LONG_DAYS < days && days < MAX_LONG_DAYS;
+    }
+
+    public long toMicroseconds() {
+        assert fitsInLongMicroseconds();
+        return (days * 86400L + seconds) * 1000000L + microseconds;
+    }
+
+    @TruffleBoundary
+    public BigInteger toBigMicroseconds() {
+        return BigInteger.valueOf(days * 86400L + seconds).multiply(BigInteger.valueOf(1000000)).add(BigInteger.valueOf(microseconds));
+    }
+
+    public int compareTo(PTimeDelta other) {
+        if (days != other.days) {
+            return Integer.compare(days, other.days);
+        } else if (seconds != other.seconds) {
+            return Integer.compare(seconds, other.seconds);
+        }
+        return Integer.compare(microseconds, other.microseconds);
+    }
+}
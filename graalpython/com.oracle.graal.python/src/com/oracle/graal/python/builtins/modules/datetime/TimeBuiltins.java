@@ -0,0 +1,506 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__FORMAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE_EX__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__STR__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.StringBuiltins;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetNameNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.classes.IsSubtypeNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTime)
+public final class TimeBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TimeBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        builtinConstants.put("min", core.factory().createTime(PythonBuiltinClassType.PTime, 0, 0, 0, 0, PNone.NONE, 0));
+        builtinConstants.put("max", core.factory().createTime(PythonBuiltinClassType.PTime, 23, 59, 59, 999999, PNone.NONE, 0));
+        builtinConstants.put("resolution", core.factory().createTimeDelta(0, 0, 1));
+        super.initialize(core);
+    }
+
+    /**
+     * Returns the offset of a time as Java object, which is {@code null} if the time is naive.
+     */
+    private static PTimeDelta getUtcOffset(VirtualFrame frame, PTime self, DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+        Object offset = utcOffsetNode.execute(frame, self.getTzInfo(), PNone.NONE);
+        return offset == PNone.NONE ? null : (PTimeDelta) offset;
+    }
+
+    /**
+     * The seconds of the day adjusted by the UTC offset if there is one. Like CPython, the
+     * microseconds of the offset are ignored.
+     */
+    private static long toUtcSeconds(PTime self, PTimeDelta offset) {
+        long seconds = self.secondsOfDay();
+        return offset == null ? seconds : seconds - offset.getDays() * (long) DateTimeUtils.SECONDS_PER_DAY - offset.getSeconds();
+    }
+
+    private static Object reduce(PythonObjectFactory factory, PythonObjectLibrary lib, PTime self, int proto) {
+        int hour = self.getHour();
+        if (proto > 3 && self.getFold() != 0) {
+            hour += 128;
+        }
+        int us = self.getMicrosecond();
+        byte[] state = {(byte) hour, (byte) self.getMinute(), (byte) self.getSecond(), (byte) (us >> 16), (byte) (us >> 8), (byte) us};
+        Object[] args;
+        if (self.hasTzInfo()) {
+            args = new Object[]{factory.createBytes(state), self.getTzInfo()};
+        } else {
+            args = new Object[]{factory.createBytes(state)};
+        }
+        return factory.createTuple(new Object[]{lib.getLazyPythonClass(self), factory.createTuple(args)});
+    }
+
+    @Builtin(name = "hour", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class HourNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int hour(PTime self) {
+            return self.getHour();
+        }
+    }
+
+    @Builtin(name = "minute", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MinuteNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int minute(PTime self) {
+            return self.getMinute();
+        }
+    }
+
+    @Builtin(name = "second", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int second(PTime self) {
+            return self.getSecond();
+        }
+    }
+
+    @Builtin(name = "microsecond", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MicrosecondNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int microsecond(PTime self) {
+            return self.getMicrosecond();
+        }
+    }
+
+    @Builtin(name = "tzinfo", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class TzInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object tzinfo(PTime self) {
+            return self.getTzInfo();
+        }
+    }
+
+    @Builtin(name = "fold", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class FoldNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int fold(PTime self) {
+            return self.getFold();
+        }
+    }
+
+    @Builtin(name = "fromisoformat", minNumOfPositionalArgs = 2, isClassmethod = true, doc = "string -> time from time.isoformat() output")
+    @GenerateNodeFactory
+    abstract static class FromIsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromIsoFormat(VirtualFrame frame, Object cls, Object string,
+                        @Cached CastToJavaStringNode castToStringNode,
+                        @Cached DateTimeNodes.IsoTzInfoNode isoTzInfoNode,
+                        @Cached DateTimeNodes.NewTimeNode newTimeNode) {
+            String s;
+            try {
+                s = castToStringNode.execute(string);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.FROMISOFORMAT_ARGUMENT_MUST_BE_STR);
+            }
+            int[] fields = new int[6];
+            int result = DateTimeUtils.parseIsoTime(s, 0, fields);
+            if (result < 0) {
+                throw raise(ValueError, ErrorMessages.INVALID_ISOFORMAT_STRING_S, StringBuiltins.ReprNode.repr(s));
+            }
+            Object tzInfo = isoTzInfoNode.execute(result, fields[4], fields[5]);
+            return newTimeNode.execute(frame, cls, fields[0], fields[1], fields[2], fields[3], tzInfo);
+        }
+    }
+
+    @Builtin(name = "isoformat", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timespec"}, doc = "Return string in ISO 8601 format, [HH[:MM[:SS[.mmm[uuu]]]]][+HH:MM].\n\n" +
+                    "timespec specifies what components of the time to include.\n")
+    @GenerateNodeFactory
+    abstract static class IsoFormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        String isoFormat(VirtualFrame frame, PTime self, Object timespec,
+                        @Cached CastToJavaStringNode castToStringNode,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            String spec = timespec == PNone.NO_VALUE ? "auto" : DateBuiltins.castFormat(this, "isoformat()", timespec, castToStringNode);
+            return isoFormat(this, self, spec, getUtcOffset(frame, self, utcOffsetNode));
+        }
+
+        @TruffleBoundary
+        private static String isoFormat(PNodeWithRaise node, PTime self, String timespec, PTimeDelta offset) {
+            StringBuilder sb = new StringBuilder(21);
+            if (!DateTimeUtils.appendIsoTime(sb, self.getHour(), self.getMinute(), self.getSecond(), self.getMicrosecond(), timespec)) {
+                throw node.raise(ValueError, ErrorMessages.UNKNOWN_TIMESPEC_VALUE);
+            }
+            if (offset != null) {
+                DateTimeUtils.appendUtcOffset(sb, offset, ":");
+            }
+            return sb.toString();
+        }
+    }
+
+    @Builtin(name = __STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        static Object str(VirtualFrame frame, PTime self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            return lib.lookupAndCallRegularMethod(self, frame, "isoformat");
+        }
+    }
+
+    @Builtin(name = "strftime", minNumOfPositionalArgs = 2, parameterNames = {"$self", "format"}, doc = "format -> strftime() style string.")
+    @GenerateNodeFactory
+    abstract static class StrfTimeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        String strftime(VirtualFrame frame, PTime self, Object format,
+                        @Cached CastToJavaStringNode castToStringNode,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode,
+                        @Cached DateTimeNodes.TzNameNode tzNameNode) {
+            String fmt = DateBuiltins.castFormat(this, "strftime()", format, castToStringNode);
+            PTimeDelta offset = getUtcOffset(frame, self, utcOffsetNode);
+            String tzName = tzNameNode.execute(frame, self.getTzInfo(), PNone.NONE);
+            // like CPython, the date is January 1, 1900
+            return DateBuiltins.strftime(fmt, 1900, 1, 1, self.getHour(), self.getMinute(), self.getSecond(), self.getMicrosecond(), -1, offset, tzName);
+        }
+    }
+
+    @Builtin(name = __FORMAT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class FormatNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object format(VirtualFrame frame, Object self, Object format,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached CastToJavaStringNode castToStringNode) {
+            String fmt = DateBuiltins.castFormat(this, "__format__()", format, castToStringNode);
+            if (fmt.isEmpty()) {
+                return lib.asPString(self);
+            }
+            return lib.lookupAndCallRegularMethod(self, frame, "strftime", fmt);
+        }
+    }
+
+    @Builtin(name = "utcoffset", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.utcoffset(self).")
+    @GenerateNodeFactory
+    abstract static class UtcOffsetNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object utcoffset(VirtualFrame frame, PTime self,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            return utcOffsetNode.execute(frame, self.getTzInfo(), PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "dst", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.dst(self).")
+    @GenerateNodeFactory
+    abstract static class DstNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object dst(VirtualFrame frame, PTime self,
+                        @Cached DateTimeNodes.DstNode dstNode) {
+            return dstNode.execute(frame, self.getTzInfo(), PNone.NONE);
+        }
+    }
+
+    @Builtin(name = "tzname", minNumOfPositionalArgs = 1, doc = "Return self.tzinfo.tzname(self).")
+    @GenerateNodeFactory
+    abstract static class TzNameNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object tzname(VirtualFrame frame, PTime self,
+                        @Cached DateTimeNodes.TzNameNode tzNameNode) {
+            String name = tzNameNode.execute(frame, self.getTzInfo(), PNone.NONE);
+            return name == null ? PNone.NONE : name;
+        }
+    }
+
+    @Builtin(name = "replace", minNumOfPositionalArgs = 1, parameterNames = {"$self", "hour", "minute", "second", "microsecond", "tzinfo"}, keywordOnlyNames = {
+                    "fold"}, doc = "Return time with new specified fields.")
+    @GenerateNodeFactory
+    abstract static class ReplaceNode extends PythonBuiltinNode {
+        @Specialization(limit = "3")
+        PTime replace(VirtualFrame frame, PTime self, Object hour, Object minute, Object second, Object microsecond, Object tzInfo, Object fold,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached IsSubtypeNode isSubtypeNode,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            int h = hour == PNone.NO_VALUE ? self.getHour() : asSizeNode.executeExact(frame, hour, OverflowError);
+            int mi = minute == PNone.NO_VALUE ? self.getMinute() : asSizeNode.executeExact(frame, minute, OverflowError);
+            int s = second == PNone.NO_VALUE ? self.getSecond() : asSizeNode.executeExact(frame, second, OverflowError);
+            int us = microsecond == PNone.NO_VALUE ? self.getMicrosecond() : asSizeNode.executeExact(frame, microsecond, OverflowError);
+            int f = fold == PNone.NO_VALUE ? self.getFold() : asSizeNode.executeExact(frame, fold, OverflowError);
+            Object tz = tzInfo == PNone.NO_VALUE ? self.getTzInfo() : tzInfo;
+            DateTimeNodes.checkTimeFields(this, h, mi, s, us, f);
+            DateTimeNodes.checkTzInfo(this, tz, lib, isSubtypeNode);
+            return factory().createTime(lib.getLazyPythonClass(self), h, mi, s, us, tz, f);
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        String repr(VirtualFrame frame, PTime self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached IsBuiltinClassProfile isTimeProfile,
+                        @Cached GetNameNode getNameNode,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode,
+                        @Cached CastToJavaStringNode castToStringNode) {
+            String name = DateBuiltins.getTypeName(lib.getLazyPythonClass(self), PythonBuiltinClassType.PTime, "datetime.time", isTimeProfile, getNameNode);
+            String tzInfo = self.hasTzInfo() ? DateTimeNodes.reprToString(frame, this, self.getTzInfo(), reprNode, castToStringNode) : null;
+            return repr(name, self, tzInfo);
+        }
+
+        @TruffleBoundary
+        private static String repr(String name, PTime self, String tzInfo) {
+            StringBuilder sb = new StringBuilder(name).append('(').append(self.getHour()).append(", ").append(self.getMinute());
+            if (self.getSecond() != 0 || self.getMicrosecond() != 0) {
+                sb.append(", ").append(self.getSecond());
+            }
+            if (self.getMicrosecond() != 0) {
+                sb.append(", ").append(self.getMicrosecond());
+            }
+            if (tzInfo != null) {
+                sb.append(", tzinfo=").append(tzInfo);
+            }
+            if (self.getFold() != 0) {
+                sb.append(", fold=").append(self.getFold());
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    @Builtin(name = __HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(VirtualFrame frame, PTime self,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            // the fold is ignored, times only differing in it compare equal
+            return DateTimeUtils.hashFields(toUtcSeconds(self, getUtcOffset(frame, self, utcOffsetNode)), self.getMicrosecond(), 0);
+        }
+    }
+
+    @Builtin(name = __REDUCE_EX__, minNumOfPositionalArgs = 2, doc = "__reduce_ex__(proto) -> (cls, state)")
+    @GenerateNodeFactory
+    abstract static class ReduceExNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object reduceEx(VirtualFrame frame, PTime self, Object protocol,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            return reduce(factory(), lib, self, asSizeNode.executeExact(frame, protocol, OverflowError));
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1, doc = "__reduce__() -> (cls, state)")
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object reduce(PTime self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            return TimeBuiltins.reduce(factory(), lib, self, 2);
+        }
+    }
+
+    /**
+     * Compares times like CPython: naive times and times with the same {@code tzinfo} or the same
+     * offset compare their fields, otherwise the UTC adjusted times are compared. Comparing a naive
+     * and an aware time is only allowed for equality.
+     */
+    abstract static class AbstractComparisonNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object cmp(VirtualFrame frame, PTime self, PTime other,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode) {
+            if (self.getTzInfo() == other.getTzInfo()) {
+                return compareResult(self.compareTime(other));
+            }
+            PTimeDelta offset1 = getUtcOffset(frame, self, utcOffsetNode);
+            PTimeDelta offset2 = getUtcOffset(frame, other, utcOffsetNode);
+            if (offset1 == offset2 || (offset1 != null && offset2 != null && offset1.compareTo(offset2) == 0)) {
+                return compareResult(self.compareTime(other));
+            } else if (offset1 != null && offset2 != null) {
+                int result = Long.compare(toUtcSeconds(self, offset1), toUtcSeconds(other, offset2));
+                return compareResult(result != 0 ? result : Integer.compare(self.getMicrosecond(), other.getMicrosecond()));
+            }
+            return compareNaiveAndAware();
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object cmp(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @SuppressWarnings("unused")
+        protected boolean compareResult(int result) {
+            throw new AbstractMethodError("compareResult");
+        }
+
+        protected boolean compareNaiveAndAware() {
+            throw raise(TypeError, ErrorMessages.CANT_COMPARE_OFFSET_NAIVE_AND_OFFSET_AWARE_S, "times");
+        }
+    }
+
+    @Builtin(name = __EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result == 0;
+        }
+
+        @Override
+        protected boolean compareNaiveAndAware() {
+            return false;
+        }
+    }
+
+    @Builtin(name = __NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result != 0;
+        }
+
+        @Override
+        protected boolean compareNaiveAndAware() {
+            return true;
+        }
+    }
+
+    @Builtin(name = __LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result < 0;
+        }
+    }
+
+    @Builtin(name = __LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result <= 0;
+        }
+    }
+
+    @Builtin(name = __GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result > 0;
+        }
+    }
+
+    @Builtin(name = __GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result >= 0;
+        }
+    }
+}
@@ -0,0 +1,679 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ABS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__BOOL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DIVMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__FLOORDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__MOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__MUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEG__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__POS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__TRUEDIV__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ZeroDivisionError;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetNameNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.dsl.TypeSystemReference;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTimeDelta)
+public final class TimeDeltaBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TimeDeltaBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        builtinConstants.put("min", core.factory().createTimeDelta(-DateTimeUtils.MAX_DELTA_DAYS, 0, 0));
+        builtinConstants.put("max", core.factory().createTimeDelta(DateTimeUtils.MAX_DELTA_DAYS, DateTimeUtils.SECONDS_PER_DAY - 1, 999999));
+        builtinConstants.put("resolution", core.factory().createTimeDelta(0, 0, 1));
+        super.initialize(core);
+    }
+
+    /**
+     * Returns the total number of microseconds as Java {@code long} or {@link BigInteger}.
+     */
+    private static Object toMicroseconds(PTimeDelta delta) {
+        if (delta.fitsInLongMicroseconds()) {
+            return delta.toMicroseconds();
+        }
+        return delta.toBigMicroseconds();
+    }
+
+    @TruffleBoundary
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        } else if (value instanceof PInt) {
+            return ((PInt) value).getValue();
+        }
+        return BigInteger.valueOf((long) value);
+    }
+
+    private static PTimeDelta fromMicroseconds(PNodeWithRaise node, PythonObjectFactory factory, Object microseconds) {
+        if (microseconds instanceof Long) {
+            return DateTimeNodes.createTimeDelta(node, factory, (long) microseconds);
+        }
+        return DateTimeNodes.createTimeDelta(node, factory, (BigInteger) microseconds);
+    }
+
+    /**
+     * Converts a float to an exact decimal like CPython's {@code float.as_integer_ratio}, which is
+     * used for multiplying and dividing deltas.
+     */
+    private static BigDecimal toExactDecimal(PNodeWithRaise node, double value) {
+        if (Double.isNaN(value)) {
+            throw node.raise(ValueError, ErrorMessages.CANNOT_CONVERT_S_TO_INT_RATIO, "NaN");
+        } else if (Double.isInfinite(value)) {
+            throw node.raise(OverflowError, ErrorMessages.CANNOT_CONVERT_S_TO_INT_RATIO, "Infinity");
+        }
+        return newBigDecimal(value);
+    }
+
+    @TruffleBoundary
+    private static BigDecimal newBigDecimal(double value) {
+        return new BigDecimal(value);
+    }
+
+    @TruffleBoundary
+    private static BigInteger roundHalfEven(BigDecimal value) {
+        return value.setScale(0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+    }
+
+    @TruffleBoundary
+    private static BigInteger divideNearest(BigDecimal dividend, BigDecimal divisor) {
+        return dividend.divide(divisor, 0, RoundingMode.HALF_EVEN).toBigIntegerExact();
+    }
+
+    @TruffleBoundary
+    static String repr(String typeName, PTimeDelta self) {
+        StringBuilder sb = new StringBuilder(typeName).append('(');
+        String sep = "";
+        if (self.getDays() != 0) {
+            sb.append("days=").append(self.getDays());
+            sep = ", ";
+        }
+        if (self.getSeconds() != 0) {
+            sb.append(sep).append("seconds=").append(self.getSeconds());
+            sep = ", ";
+        }
+        if (self.getMicroseconds() != 0) {
+            sb.append(sep).append("microseconds=").append(self.getMicroseconds());
+        }
+        if (self.isZero()) {
+            sb.append('0');
+        }
+        return sb.append(')').toString();
+    }
+
+    @Builtin(name = "days", minNumOfPositionalArgs = 1, isGetter = true, doc = "Number of days.")
+    @GenerateNodeFactory
+    abstract static class DaysNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int days(PTimeDelta self) {
+            return self.getDays();
+        }
+    }
+
+    @Builtin(name = "seconds", minNumOfPositionalArgs = 1, isGetter = true, doc = "Number of seconds (>= 0 and less than 1 day).")
+    @GenerateNodeFactory
+    abstract static class SecondsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int seconds(PTimeDelta self) {
+            return self.getSeconds();
+        }
+    }
+
+    @Builtin(name = "microseconds", minNumOfPositionalArgs = 1, isGetter = true, doc = "Number of microseconds (>= 0 and less than 1 second).")
+    @GenerateNodeFactory
+    abstract static class MicrosecondsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int microseconds(PTimeDelta self) {
+            return self.getMicroseconds();
+        }
+    }
+
+    @Builtin(name = "total_seconds", minNumOfPositionalArgs = 1, doc = "Total seconds in the duration.")
+    @GenerateNodeFactory
+    abstract static class TotalSecondsNode extends PythonUnaryBuiltinNode {
+        private static final long MAX_EXACT = 1L << 53;
+
+        @Specialization
+        static double totalSeconds(PTimeDelta self) {
+            if (self.fitsInLongMicroseconds()) {
+                long us = self.toMicroseconds();
+                if (-MAX_EXACT < us && us < MAX_EXACT) {
+                    return us / 1e6;
+                }
+            }
+            return totalSecondsBig(self);
+        }
+
+        @TruffleBoundary
+        private static double totalSecondsBig(PTimeDelta self) {
+            return new BigDecimal(self.toBigMicroseconds()).divide(BigDecimal.valueOf(DateTimeUtils.MICROSECONDS_PER_SECOND), MathContext.DECIMAL128).doubleValue();
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "1")
+        static String repr(PTimeDelta self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached IsBuiltinClassProfile isTimeDeltaProfile,
+                        @Cached GetNameNode getNameNode) {
+            Object cls = lib.getLazyPythonClass(self);
+            String name = isTimeDeltaProfile.profileClass(cls, PythonBuiltinClassType.PTimeDelta) ? "datetime.timedelta" : getNameNode.execute(cls);
+            return TimeDeltaBuiltins.repr(name, self);
+        }
+    }
+
+    @Builtin(name = __STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static String str(PTimeDelta self) {
+            return DateTimeUtils.timeDeltaToString(self);
+        }
+    }
+
+    @Builtin(name = __HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long hash(PTimeDelta self) {
+            return DateTimeUtils.hashFields(self.getDays(), self.getSeconds(), self.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = __BOOL__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class BoolNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean bool(PTimeDelta self) {
+            return !self.isZero();
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object reduce(PTimeDelta self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            Object[] args = new Object[]{self.getDays(), self.getSeconds(), self.getMicroseconds()};
+            return factory().createTuple(new Object[]{lib.getLazyPythonClass(self), factory().createTuple(args)});
+        }
+    }
+
+    abstract static class AbstractComparisonNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean cmp(PTimeDelta self, PTimeDelta other) {
+            return compareResult(self.compareTo(other));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object cmp(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @SuppressWarnings("unused")
+        protected boolean compareResult(int result) {
+            throw new AbstractMethodError("compareResult");
+        }
+    }
+
+    @Builtin(name = __EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result == 0;
+        }
+    }
+
+    @Builtin(name = __NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result != 0;
+        }
+    }
+
+    @Builtin(name = __LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result < 0;
+        }
+    }
+
+    @Builtin(name = __LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result <= 0;
+        }
+    }
+
+    @Builtin(name = __GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result > 0;
+        }
+    }
+
+    @Builtin(name = __GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result >= 0;
+        }
+    }
+
+    @Builtin(name = __RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __ADD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PTimeDelta add(PTimeDelta left, PTimeDelta right) {
+            return DateTimeNodes.createTimeDelta(this, factory(), (long) left.getDays() + right.getDays(), (long) left.getSeconds() + right.getSeconds(),
+                            (long) left.getMicroseconds() + right.getMicroseconds());
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object add(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __SUB__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class SubNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PTimeDelta sub(PTimeDelta left, PTimeDelta right) {
+            return DateTimeNodes.createTimeDelta(this, factory(), (long) left.getDays() - right.getDays(), (long) left.getSeconds() - right.getSeconds(),
+                            (long) left.getMicroseconds() - right.getMicroseconds());
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object sub(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __NEG__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class NegNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTimeDelta neg(PTimeDelta self) {
+            return DateTimeNodes.createTimeDelta(this, factory(), -(long) self.getDays(), -self.getSeconds(), -self.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = __POS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class PosNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTimeDelta pos(PTimeDelta self) {
+            return factory().createTimeDelta(self.getDays(), self.getSeconds(), self.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = __ABS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AbsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTimeDelta abs(PTimeDelta self) {
+            if (self.getDays() < 0) {
+                return DateTimeNodes.createTimeDelta(this, factory(), -(long) self.getDays(), -self.getSeconds(), -self.getMicroseconds());
+            }
+            return factory().createTimeDelta(self.getDays(), self.getSeconds(), self.getMicroseconds());
+        }
+    }
+
+    @Builtin(name = __RMUL__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __MUL__, minNumOfPositionalArgs = 2)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class MulNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PTimeDelta mul(PTimeDelta left, long right) {
+            if (left.fitsInLongMicroseconds()) {
+                try {
+                    return DateTimeNodes.createTimeDelta(this, factory(), Math.multiplyExact(left.toMicroseconds(), right));
+                } catch (ArithmeticException e) {
+                    // fall through to the arbitrary precision multiplication
+                }
+            }
+            return mulBig(left, right);
+        }
+
+        @Specialization
+        PTimeDelta mul(long left, PTimeDelta right) {
+            return mul(right, left);
+        }
+
+        @Specialization
+        PTimeDelta mul(PTimeDelta left, PInt right) {
+            return mulBig(left, right);
+        }
+
+        @Specialization
+        PTimeDelta mul(PInt left, PTimeDelta right) {
+            return mulBig(right, left);
+        }
+
+        @Specialization
+        PTimeDelta mul(PTimeDelta left, double right) {
+            BigDecimal factor = toExactDecimal(this, right);
+            return DateTimeNodes.createTimeDelta(this, factory(), roundHalfEven(multiply(left, factor)));
+        }
+
+        @Specialization
+        PTimeDelta mul(double left, PTimeDelta right) {
+            return mul(right, left);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object mul(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        private PTimeDelta mulBig(PTimeDelta delta, Object factor) {
+            return DateTimeNodes.createTimeDelta(this, factory(), multiply(delta, factor));
+        }
+
+        @TruffleBoundary
+        private static BigInteger multiply(PTimeDelta delta, Object factor) {
+            return delta.toBigMicroseconds().multiply(toBigInteger(factor));
+        }
+
+        @TruffleBoundary
+        private static BigDecimal multiply(PTimeDelta delta, BigDecimal factor) {
+            return new BigDecimal(delta.toBigMicroseconds()).multiply(factor);
+        }
+    }
+
+    @Builtin(name = __FLOORDIV__, minNumOfPositionalArgs = 2)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class FloorDivNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object floorDiv(PTimeDelta left, PTimeDelta right) {
+            if (right.isZero()) {
+                throw raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+            }
+            if (left.fitsInLongMicroseconds() && right.fitsInLongMicroseconds()) {
+                return Math.floorDiv(left.toMicroseconds(), right.toMicroseconds());
+            }
+            return factory().createInt(floorDivBig(left.toBigMicroseconds(), right.toBigMicroseconds()));
+        }
+
+        @Specialization
+        PTimeDelta floorDiv(PTimeDelta left, long right) {
+            if (right == 0) {
+                throw raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+            }
+            if (left.fitsInLongMicroseconds()) {
+                return DateTimeNodes.createTimeDelta(this, factory(), Math.floorDiv(left.toMicroseconds(), right));
+            }
+            return DateTimeNodes.createTimeDelta(this, factory(), floorDivBig(left.toBigMicroseconds(), toBigInteger(right)));
+        }
+
+        @Specialization
+        PTimeDelta floorDiv(PTimeDelta left, PInt right) {
+            // a PInt never fits into a long, so it cannot be zero
+            return DateTimeNodes.createTimeDelta(this, factory(), floorDivBig(left.toBigMicroseconds(), right.getValue()));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object floorDiv(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @TruffleBoundary
+        private static BigInteger floorDivBig(BigInteger left, BigInteger right) {
+            BigInteger[] result = left.divideAndRemainder(right);
+            if (result[1].signum() != 0 && result[1].signum() != right.signum()) {
+                return result[0].subtract(BigInteger.ONE);
+            }
+            return result[0];
+        }
+    }
+
+    @Builtin(name = __TRUEDIV__, minNumOfPositionalArgs = 2)
+    @TypeSystemReference(PythonArithmeticTypes.class)
+    @GenerateNodeFactory
+    abstract static class TrueDivNode extends PythonBinaryBuiltinNode {
+        private static final long MAX_EXACT = 1L << 53;
+
+        @Specialization
+        double div(PTimeDelta left, PTimeDelta right) {
+            if (right.isZero()) {
+                throw raise(ZeroDivisionError, ErrorMessages.DIVISION_BY_ZERO);
+            }
+            if (left.fitsInLongMicroseconds() && right.fitsInLongMicroseconds()) {
+                long dividend = left.toMicroseconds();
+                long divisor = right.toMicroseconds();
+                if (-MAX_EXACT < dividend && dividend < MAX_EXACT && -MAX_EXACT < divisor && divisor < MAX_EXACT) {
+                    return (double) dividend / divisor;
+                }
+            }
+            return divBig(left, right);
+        }
+
+        @Specialization
+        PTimeDelta div(PTimeDelta left, long right) {
+            if (right == 0) {
+                throw raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+            }
+            if (left.fitsInLongMicroseconds() && right != Long.MIN_VALUE) {
+                long dividend = left.toMicroseconds();
+                long quotient = Math.floorDiv(dividend, right);
+                long remainder = Math.abs(Math.floorMod(dividend, right));
+                long rest = Math.abs(right) - remainder;
+                if (remainder > rest || (remainder == rest && (quotient & 1) != 0)) {
+                    quotient++;
+                }
+                return DateTimeNodes.createTimeDelta(this, factory(), quotient);
+            }
+            return DateTimeNodes.createTimeDelta(this, factory(), divideNearest(toDecimal(left), new BigDecimal(toBigInteger(right))));
+        }
+
+        @Specialization
+        PTimeDelta div(PTimeDelta left, PInt right) {
+            return DateTimeNodes.createTimeDelta(this, factory(), divideNearest(toDecimal(left), new BigDecimal(right.getValue())));
+        }
+
+        @Specialization
+        PTimeDelta div(PTimeDelta left, double right) {
+            BigDecimal divisor = toExactDecimal(this, right);
+            if (right == 0) {
+                throw raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+            }
+            return DateTimeNodes.createTimeDelta(this, factory(), divideNearest(toDecimal(left), divisor));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object div(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @TruffleBoundary
+        private static BigDecimal toDecimal(PTimeDelta delta) {
+            return new BigDecimal(delta.toBigMicroseconds());
+        }
+
+        @TruffleBoundary
+        private static double divBig(PTimeDelta left, PTimeDelta right) {
+            return toDecimal(left).divide(toDecimal(right), MathContext.DECIMAL128).doubleValue();
+        }
+    }
+
+    @Builtin(name = __MOD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ModNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PTimeDelta mod(PTimeDelta left, PTimeDelta right) {
+            if (right.isZero()) {
+                throw raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+            }
+            if (left.fitsInLongMicroseconds() && right.fitsInLongMicroseconds()) {
+                return DateTimeNodes.createTimeDelta(this, factory(), Math.floorMod(left.toMicroseconds(), right.toMicroseconds()));
+            }
+            return DateTimeNodes.createTimeDelta(this, factory(), modBig(left, right));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object mod(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @TruffleBoundary
+        static BigInteger modBig(PTimeDelta left, PTimeDelta right) {
+            BigInteger divisor = right.toBigMicroseconds();
+            BigInteger result = left.toBigMicroseconds().mod(divisor.abs());
+            if (divisor.signum() < 0 && result.signum() != 0) {
+                result = result.add(divisor);
+            }
+            return result;
+        }
+    }
+
+    @Builtin(name = __DIVMOD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DivModNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object divmod(PTimeDelta left, PTimeDelta right) {
+            if (right.isZero()) {
+                throw raise(ZeroDivisionError, ErrorMessages.S_DIVISION_OR_MODULO_BY_ZERO, "integer");
+            }
+            Object quotient;
+            PTimeDelta remainder;
+            if (left.fitsInLongMicroseconds() && right.fitsInLongMicroseconds()) {
+                long dividend = left.toMicroseconds();
+                long divisor = right.toMicroseconds();
+                quotient = Math.floorDiv(dividend, divisor);
+                remainder = DateTimeNodes.createTimeDelta(this, factory(), Math.floorMod(dividend, divisor));
+            } else {
+                BigInteger rest = ModNode.modBig(left, right);
+                quotient = factory().createInt(divideExact(left.toBigMicroseconds().subtract(rest), right.toBigMicroseconds()));
+                remainder = DateTimeNodes.createTimeDelta(this, factory(), rest);
+            }
+            return factory().createTuple(new Object[]{quotient, remainder});
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object divmod(Object left, Object right) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        @TruffleBoundary
+        private static BigInteger divideExact(BigInteger dividend, BigInteger divisor) {
+            return dividend.divide(divisor);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.datetime;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.NotImplementedError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PTzInfo)
+public final class TzInfoBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return TzInfoBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "tzname", minNumOfPositionalArgs = 2, doc = "datetime -> string name of time zone.")
+    @GenerateNodeFactory
+    abstract static class TzNameNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object tzname(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object dt) {
+            throw raise(NotImplementedError, ErrorMessages.A_TZINFO_SUBCLASS_MUST_IMPLEMENT_S, "tzname");
+        }
+    }
+
+    @Builtin(name = "utcoffset", minNumOfPositionalArgs = 2, doc = "datetime -> timedelta showing offset from UTC, negative values indicating West of UTC")
+    @GenerateNodeFactory
+    abstract static class UtcOffsetNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object utcoffset(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object dt) {
+            throw raise(NotImplementedError, ErrorMessages.A_TZINFO_SUBCLASS_MUST_IMPLEMENT_S, "utcoffset");
+        }
+    }
+
+    @Builtin(name = "dst", minNumOfPositionalArgs = 2, doc = "datetime -> DST offset as timedelta positive east of UTC.")
+    @GenerateNodeFactory
+    abstract static class DstNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object dst(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object dt) {
+            throw raise(NotImplementedError, ErrorMessages.A_TZINFO_SUBCLASS_MUST_IMPLEMENT_S, "dst");
+        }
+    }
+
+    /**
+     * The default {@code fromutc}, which is correct for time zones whose standard offset does not
+     * change and whose DST transitions are at the same local times, see {@code datetime.py}.
+     */
+    @Builtin(name = "fromutc", minNumOfPositionalArgs = 2, doc = "datetime in UTC -> datetime in local time.")
+    @GenerateNodeFactory
+    abstract static class FromUtcNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromutc(VirtualFrame frame, Object self, PDateTime dt,
+                        @Cached DateTimeNodes.UtcOffsetNode utcOffsetNode,
+                        @Cached DateTimeNodes.DstNode dstNode,
+                        @Cached DateTimeNodes.AddTimeDeltaNode addNode) {
+            if (dt.getTzInfo() != self) {
+                throw raise(ValueError, ErrorMessages.FROMUTC_DT_TZINFO_IS_NOT_SELF);
+            }
+            Object offset = utcOffsetNode.execute(frame, self, dt);
+            if (offset == PNone.NONE) {
+                throw raise(ValueError, ErrorMessages.FROMUTC_NON_NONE_S_RESULT_REQUIRED, "utcoffset");
+            }
+            Object dst = dstNode.execute(frame, self, dt);
+            if (dst == PNone.NONE) {
+                throw raise(ValueError, ErrorMessages.FROMUTC_NON_NONE_S_RESULT_REQUIRED, "dst");
+            }
+            PTimeDelta utcOffset = (PTimeDelta) offset;
+            PTimeDelta dstOffset = (PTimeDelta) dst;
+            Object result = addNode.execute(frame, dt, utcOffset.getDays() - dstOffset.getDays(), utcOffset.getSeconds() - dstOffset.getSeconds(),
+                            utcOffset.getMicroseconds() - dstOffset.getMicroseconds());
+            if (!(result instanceof PDateTime)) {
+                throw raise(TypeError, ErrorMessages.FROMUTC_ARGUMENT_MUST_BE_A_DATETIME);
+            }
+            PDateTime local = (PDateTime) result;
+            dst = dstNode.execute(frame, local.getTzInfo(), local);
+            if (dst == PNone.NONE) {
+                throw raise(ValueError, ErrorMessages.FROMUTC_TZ_DST_GAVE_INCONSISTENT_RESULTS);
+            }
+            dstOffset = (PTimeDelta) dst;
+            return addNode.execute(frame, local, dstOffset.getDays(), dstOffset.getSeconds(), dstOffset.getMicroseconds());
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        Object fromutc(Object self, Object dt) {
+            throw raise(TypeError, ErrorMessages.FROMUTC_ARGUMENT_MUST_BE_A_DATETIME);
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1, doc = "-> (cls, state)")
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "3")
+        Object reduce(VirtualFrame frame, Object self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary callLib) {
+            Object args;
+            Object getInitArgs = lib.lookupAttribute(self, frame, "__getinitargs__");
+            if (getInitArgs != PNone.NO_VALUE) {
+                args = callLib.callObject(getInitArgs, frame);
+            } else {
+                args = factory().createEmptyTuple();
+            }
+            Object state;
+            Object getState = lib.lookupAttribute(self, frame, "__getstate__");
+            if (getState != PNone.NO_VALUE) {
+                state = callLib.callObject(getState, frame);
+            } else {
+                PDict dict = lib.getDict(self);
+                state = dict != null && callLib.length(dict) > 0 ? dict : PNone.NONE;
+            }
+            Object cls = lib.getLazyPythonClass(self);
+            if (state == PNone.NONE) {
+                return factory().createTuple(new Object[]{cls, args});
+            }
+            return factory().createTuple(new Object[]{cls, args, state});
+        }
+    }
+}
@@ -0,0 +1,2527 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalUtils.ROUND_CEILING;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalUtils.ROUND_FLOOR;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalUtils.ROUND_HALF_DOWN;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalUtils.ROUND_HALF_EVEN;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalUtils.ROUND_HALF_UP;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalUtils.ROUND_UP;
+
+import java.math.BigInteger;
+import java.util.Locale;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.modules.SysModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.DecimalUtils.DecimalResult;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * The arithmetic of {@code decimal}, a port of {@code _pydecimal} to {@link PDecimal} values with
+ * {@link BigInteger} coefficients. Finite operands of the basic operations go through the fast
+ * paths of {@link DecimalUtils} first, whose results are used unless they are subnormal, overflow
+ * or need clamping.
+ *
+ * An instance captures the settings of a context for a single operation and collects the signals
+ * raised by it in {@link #getStatus()}, which the caller passes on to
+ * {@link PDecimalContext#addStatus}. Like the C implementation, and unlike {@code _pydecimal}, the
+ * result is always computed as if no signal was trapped and the trap is taken afterwards.
+ */
+final class DecimalArithmetic {
+    /*
+     * The signals and conditions, the bits of the status. The conditions refine the
+     * InvalidOperation signal.
+     */
+    static final int INVALID_OPERATION = 0x1;
+    static final int CONVERSION_SYNTAX = 0x2;
+    static final int DIVISION_IMPOSSIBLE = 0x4;
+    static final int DIVISION_UNDEFINED = 0x8;
+    static final int INVALID_CONTEXT = 0x10;
+    static final int FLOAT_OPERATION = 0x20;
+    static final int DIVISION_BY_ZERO = 0x40;
+    static final int OVERFLOW = 0x80;
+    static final int UNDERFLOW = 0x100;
+    static final int SUBNORMAL = 0x200;
+    static final int INEXACT = 0x400;
+    static final int ROUNDED = 0x800;
+    static final int CLAMPED = 0x1000;
+    /** All conditions that are reported as the {@code InvalidOperation} signal. */
+    static final int IEEE_INVALID_OPERATION = INVALID_OPERATION | CONVERSION_SYNTAX | DIVISION_IMPOSSIBLE | DIVISION_UNDEFINED | INVALID_CONTEXT;
+
+    static final long MAX_PREC = 999999999999999999L;
+    static final long MAX_EMAX = 999999999999999999L;
+    static final long MIN_EMIN = -999999999999999999L;
+    static final long MIN_ETINY = MIN_EMIN - (MAX_PREC - 1);
+
+    /* the number of digits above which a coefficient cannot be represented */
+    private static final long MAX_DIGITS = 600000000L;
+    private static final double LOG10_2 = 0.30102999566398120;
+    private static final BigInteger[] POW10 = new BigInteger[64];
+    private static final BigInteger FIVE = BigInteger.valueOf(5);
+    private static final BigInteger HASH_MODULUS = BigInteger.valueOf(SysModuleBuiltins.HASH_MODULUS);
+    private static final BigInteger HASH_10INV = BigInteger.TEN.modPow(HASH_MODULUS.subtract(BigInteger.valueOf(2)), HASH_MODULUS);
+
+    /* the digits of ln(10), extended when more are needed */
+    private static volatile String log10Digits = "23025850929940456840179914546843642076011014886";
+
+    static {
+        POW10[0] = BigInteger.ONE;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1].multiply(BigInteger.TEN);
+        }
+    }
+
+    private final long prec;
+    private final int rounding;
+    private final long emin;
+    private final long emax;
+    private final boolean clamp;
+    private int status;
+
+    DecimalArithmetic(PDecimalContext context) {
+        this(context.getPrec(), context.getRounding(), context.getEmin(), context.getEmax(), context.getClamp() != 0);
+    }
+
+    DecimalArithmetic(long prec, int rounding, long emin, long emax, boolean clamp) {
+        this.prec = prec;
+        this.rounding = rounding;
+        this.emin = emin;
+        this.emax = emax;
+        this.clamp = clamp;
+    }
+
+    /**
+     * The signals raised so far, a combination of the bits defined in this class.
+     */
+    int getStatus() {
+        return status;
+    }
+
+    long etiny() {
+        return emin - prec + 1;
+    }
+
+    long etop() {
+        return emax - prec + 1;
+    }
+
+    // creation of values
+
+    private static PDecimal finite(int sign, long coefficient, long exponent) {
+        return PythonObjectFactory.getUncached().createDecimal(sign, coefficient, exponent, PDecimal.FINITE);
+    }
+
+    private static PDecimal finite(int sign, BigInteger coefficient, long exponent) {
+        return PythonObjectFactory.getUncached().createDecimal(sign, coefficient, exponent, PDecimal.FINITE);
+    }
+
+    private static PDecimal special(int sign, BigInteger payload, byte kind) {
+        return PythonObjectFactory.getUncached().createDecimal(sign, payload, 0, kind);
+    }
+
+    private static PDecimal infinity(int sign) {
+        return PythonObjectFactory.getUncached().createDecimal(sign, 0, 0, PDecimal.INFINITE);
+    }
+
+    private static PDecimal nan() {
+        return PythonObjectFactory.getUncached().createDecimal(0, 0, 0, PDecimal.QNAN);
+    }
+
+    private static PDecimal fromResult(DecimalResult result) {
+        if (result.getBigCoefficient() != null) {
+            return finite(result.getSign(), result.getBigCoefficient(), result.getExponent());
+        }
+        return finite(result.getSign(), result.getCoefficient(), result.getExponent());
+    }
+
+    /**
+     * Like {@code Decimal(x)} in {@code _pydecimal}: the value itself if it is of type
+     * {@code Decimal}, otherwise a copy of it.
+     */
+    static PDecimal asDecimal(PDecimal x) {
+        if (x.isExact()) {
+            return x;
+        }
+        return PythonObjectFactory.getUncached().createDecimal(x.getSign(), x.getCoefficient(), x.getExponent(), x.getKind());
+    }
+
+    // numbers
+
+    static int digits(BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return DecimalUtils.digits(value.longValue());
+        }
+        // a value of n bits has either this many digits or one more
+        int estimate = (int) ((value.bitLength() - 1) * LOG10_2) + 1;
+        return value.compareTo(pow10(estimate)) >= 0 ? estimate + 1 : estimate;
+    }
+
+    private static int digits(long value) {
+        return DecimalUtils.digits(Math.abs(value));
+    }
+
+    /* like len(str(value)), including the minus sign */
+    private static long strLen(BigInteger value) {
+        return digits(value.abs()) + (value.signum() < 0 ? 1 : 0);
+    }
+
+    static BigInteger pow10(long n) {
+        assert n >= 0;
+        if (n < POW10.length) {
+            return POW10[(int) n];
+        }
+        if (n > MAX_DIGITS) {
+            throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.MemoryError);
+        }
+        return BigInteger.TEN.pow((int) n);
+    }
+
+    /* a number with n nines */
+    private static BigInteger nines(long n) {
+        return pow10(n).subtract(BigInteger.ONE);
+    }
+
+    /* the floor division of Python for a positive divisor */
+    private static BigInteger[] floorDivMod(BigInteger a, BigInteger b) {
+        BigInteger[] qr = a.divideAndRemainder(b);
+        if (qr[1].signum() < 0) {
+            qr[0] = qr[0].subtract(BigInteger.ONE);
+            qr[1] = qr[1].add(b);
+        }
+        return qr;
+    }
+
+    private static BigInteger floorDiv(BigInteger a, BigInteger b) {
+        return floorDivMod(a, b)[0];
+    }
+
+    // the rounding done by _fix and _rescale
+
+    /* the direction of the last rounding done by roundDigits, like the _round_* functions */
+    private int changed;
+
+    /**
+     * Rounds a coefficient with the given number of digits to {@code keep} digits and sets
+     * {@link #changed}. The result may have one digit more than {@code keep} after a carry.
+     */
+    private BigInteger roundDigits(int sign, BigInteger coefficient, long coefficientDigits, long keep, int rnd) {
+        assert keep >= 0 && keep < coefficientDigits;
+        BigInteger m = pow10(coefficientDigits - keep);
+        BigInteger[] qr = coefficient.divideAndRemainder(m);
+        BigInteger q = qr[0];
+        changed = DecimalUtils.roundingDirection(rnd, sign, q.mod(BigInteger.TEN).intValue(), qr[1].shiftLeft(1).compareTo(m), qr[1].signum() == 0);
+        return changed > 0 ? q.add(BigInteger.ONE) : q;
+    }
+
+    /**
+     * {@code Decimal._fix}: rounds the value to the precision of the context and fits it into the
+     * exponent limits.
+     */
+    PDecimal fix(PDecimal x) {
+        return fix(x, rounding);
+    }
+
+    PDecimal fix(PDecimal x, int rnd) {
+        if (x.isSpecial()) {
+            return x.isNaN() ? fixNan(x) : asDecimal(x);
+        }
+        long etiny = etiny();
+        long etop = etop();
+        long exp = x.getExponent();
+        int sign = x.getSign();
+        if (x.isZero()) {
+            long expMax = clamp ? etop : emax;
+            long newExp = Math.min(Math.max(exp, etiny), expMax);
+            if (newExp != exp) {
+                status |= CLAMPED;
+                return finite(sign, 0, newExp);
+            }
+            return asDecimal(x);
+        }
+        long len = x.getDigits();
+        long expMin = len + exp - prec;
+        if (expMin > etop) {
+            status |= OVERFLOW | INEXACT | ROUNDED;
+            return overflow(sign, rnd);
+        }
+        boolean subnormal = expMin < etiny;
+        if (subnormal) {
+            expMin = etiny;
+        }
+        if (exp < expMin) {
+            long keep = len + exp - expMin;
+            BigInteger coefficient = x.getCoefficient();
+            if (keep < 0) {
+                coefficient = BigInteger.ONE;
+                len = 1;
+                keep = 0;
+            }
+            BigInteger coeff = roundDigits(sign, coefficient, len, keep, rnd);
+            int direction = changed;
+            if (direction > 0 && digits(coeff) > prec) {
+                coeff = coeff.divide(BigInteger.TEN);
+                expMin++;
+            }
+            PDecimal ans;
+            if (expMin > etop) {
+                status |= OVERFLOW;
+                ans = overflow(sign, rnd);
+            } else {
+                ans = finite(sign, coeff, expMin);
+            }
+            if (direction != 0 && subnormal) {
+                status |= UNDERFLOW;
+            }
+            if (subnormal) {
+                status |= SUBNORMAL;
+            }
+            if (direction != 0) {
+                status |= INEXACT;
+            }
+            status |= ROUNDED;
+            if (ans.isZero()) {
+                status |= CLAMPED;
+            }
+            return ans;
+        }
+        if (subnormal) {
+            status |= SUBNORMAL;
+        }
+        if (clamp && exp > etop) {
+            status |= CLAMPED;
+            return finite(sign, x.getCoefficient().multiply(pow10(exp - etop)), etop);
+        }
+        return asDecimal(x);
+    }
+
+    /* the result of an overflow, like Overflow.handle */
+    private PDecimal overflow(int sign, int rnd) {
+        if (rnd == ROUND_HALF_UP || rnd == ROUND_HALF_EVEN || rnd == ROUND_HALF_DOWN || rnd == ROUND_UP) {
+            return infinity(sign);
+        }
+        if (sign == 0 ? rnd == ROUND_CEILING : rnd == ROUND_FLOOR) {
+            return infinity(sign);
+        }
+        return finite(sign, nines(prec), emax - prec + 1);
+    }
+
+    /**
+     * {@code Decimal._fix_nan}: shortens the payload of a NaN to the precision.
+     */
+    PDecimal fixNan(PDecimal x) {
+        long maxPayload = prec - (clamp ? 1 : 0);
+        if (x.getDigits() > maxPayload) {
+            return special(x.getSign(), x.getCoefficient().mod(pow10(maxPayload)), x.getKind());
+        }
+        return asDecimal(x);
+    }
+
+    /**
+     * Signals an invalid operation and returns its result, a quiet NaN.
+     */
+    PDecimal invalid() {
+        return condition(INVALID_OPERATION);
+    }
+
+    private PDecimal condition(int condition) {
+        status |= condition;
+        return nan();
+    }
+
+    /* the quiet NaN resulting from a signaling operand */
+    private PDecimal invalidNaN(PDecimal x) {
+        status |= INVALID_OPERATION;
+        return fixNan(special(x.getSign(), x.getCoefficient(), PDecimal.QNAN));
+    }
+
+    /**
+     * {@code Decimal._check_nans}: the result of an operation with NaN operands, {@code null} if
+     * there are none. The second operand may be {@code null}.
+     */
+    PDecimal checkNans(PDecimal a, PDecimal b) {
+        int aNaN = a.nanKind();
+        int bNaN = b == null ? 0 : b.nanKind();
+        if (aNaN != 0 || bNaN != 0) {
+            if (aNaN == 2) {
+                return invalidNaN(a);
+            }
+            if (bNaN == 2) {
+                return invalidNaN(b);
+            }
+            if (aNaN != 0) {
+                return fixNan(a);
+            }
+            return fixNan(b);
+        }
+        return null;
+    }
+
+    /**
+     * {@code Decimal._cmp} of values that are not NaNs.
+     */
+    @TruffleBoundary
+    static int cmp(PDecimal a, PDecimal b) {
+        if (a.isSpecial() || b.isSpecial()) {
+            return Integer.compare(infinitySign(a), infinitySign(b));
+        }
+        try {
+            if (a.fitsLong() && b.fitsLong()) {
+                return DecimalUtils.compare(a.getSign(), a.getLongCoefficient(), a.getExponent(), b.getSign(), b.getLongCoefficient(), b.getExponent());
+            }
+            return DecimalUtils.compare(a.getSign(), a.getCoefficient(), a.getExponent(), b.getSign(), b.getCoefficient(), b.getExponent());
+        } catch (OverflowException e) {
+            // the exponents of finite values are limited so that this cannot happen
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    /* like _isinfinity */
+    private static int infinitySign(PDecimal x) {
+        if (x.isInfinite()) {
+            return x.getSign() == 0 ? 1 : -1;
+        }
+        return 0;
+    }
+
+    private static boolean isInteger(PDecimal x) {
+        if (x.isSpecial()) {
+            return false;
+        }
+        long exp = x.getExponent();
+        if (exp >= 0 || x.isZero()) {
+            return true;
+        }
+        if (-exp >= x.getDigits()) {
+            return false;
+        }
+        return x.getCoefficient().mod(pow10(-exp)).signum() == 0;
+    }
+
+    private static boolean isEven(PDecimal x) {
+        long exp = x.getExponent();
+        if (x.isZero() || exp > 0) {
+            return true;
+        }
+        if (-exp >= x.getDigits()) {
+            // the units digit is an implicit zero
+            return true;
+        }
+        return !x.getCoefficient().divide(pow10(-exp)).testBit(0);
+    }
+
+    // the fast paths
+
+    /**
+     * Converts the result of a fast path, {@code null} if it is outside of the normal range of
+     * the context and the general code has to take care of it.
+     */
+    private PDecimal fitResult(DecimalResult result) {
+        long exp = result.getExponent();
+        if (result.getBigCoefficient() == null && result.getCoefficient() == 0) {
+            if (exp < etiny() || exp > (clamp ? etop() : emax)) {
+                return null;
+            }
+        } else {
+            long adjusted = exp + result.getDigits() - 1;
+            // a rounding carry may have lifted a subnormal value to Emin
+            if ((clamp && exp > etop()) || adjusted <= emin || adjusted > emax) {
+                return null;
+            }
+        }
+        if ((result.getStatus() & DecimalUtils.INEXACT) != 0) {
+            status |= INEXACT;
+        }
+        if ((result.getStatus() & DecimalUtils.ROUNDED) != 0) {
+            status |= ROUNDED;
+        }
+        return fromResult(result);
+    }
+
+    private boolean useFastPath(PDecimal a, PDecimal b) {
+        return a.isFinite() && b.isFinite() && prec <= Integer.MAX_VALUE;
+    }
+
+    private PDecimal addFast(PDecimal a, PDecimal b, int bSign) {
+        try {
+            DecimalResult result;
+            if (a.fitsLong() && b.fitsLong()) {
+                result = DecimalUtils.add(a.getSign(), a.getLongCoefficient(), a.getExponent(), bSign, b.getLongCoefficient(), b.getExponent(), (int) prec, rounding);
+            } else {
+                result = DecimalUtils.add(a.getSign(), a.getCoefficient(), a.getExponent(), bSign, b.getCoefficient(), b.getExponent(), (int) prec, rounding);
+            }
+            return fitResult(result);
+        } catch (OverflowException e) {
+            return null;
+        }
+    }
+
+    // the arithmetic operations
+
+    @TruffleBoundary
+    PDecimal add(PDecimal a, PDecimal b) {
+        if (useFastPath(a, b)) {
+            PDecimal ans = addFast(a, b, b.getSign());
+            if (ans != null) {
+                return ans;
+            }
+        }
+        return add(a, b, rounding);
+    }
+
+    @TruffleBoundary
+    PDecimal subtract(PDecimal a, PDecimal b) {
+        if (useFastPath(a, b)) {
+            PDecimal ans = addFast(a, b, b.getSign() ^ 1);
+            if (ans != null) {
+                return ans;
+            }
+        }
+        return subtract(a, b, rounding);
+    }
+
+    private PDecimal subtract(PDecimal a, PDecimal b, int rnd) {
+        if (a.isSpecial() || b.isSpecial()) {
+            PDecimal ans = checkNans(a, b);
+            if (ans != null) {
+                return ans;
+            }
+        }
+        return add(a, copyNegate(b), rnd);
+    }
+
+    private PDecimal add(PDecimal a, PDecimal b, int rnd) {
+        if (a.isSpecial() || b.isSpecial()) {
+            PDecimal ans = checkNans(a, b);
+            if (ans != null) {
+                return ans;
+            }
+            if (a.isInfinite()) {
+                if (a.getSign() != b.getSign() && b.isInfinite()) {
+                    return invalid();
+                }
+                return asDecimal(a);
+            }
+            if (b.isInfinite()) {
+                return asDecimal(b);
+            }
+        }
+        long exp = Math.min(a.getExponent(), b.getExponent());
+        boolean negativeZero = rnd == ROUND_FLOOR && a.getSign() != b.getSign();
+        if (a.isZero() && b.isZero()) {
+            int sign = negativeZero ? 1 : Math.min(a.getSign(), b.getSign());
+            return fix(finite(sign, 0, exp), rnd);
+        }
+        if (a.isZero()) {
+            exp = Math.max(exp, b.getExponent() - prec - 1);
+            return fix(rescale(b, exp, rnd), rnd);
+        }
+        if (b.isZero()) {
+            exp = Math.max(exp, a.getExponent() - prec - 1);
+            return fix(rescale(a, exp, rnd), rnd);
+        }
+        // _normalize: the operand with the larger exponent is scaled to the exponent of the other
+        boolean firstScaled = a.getExponent() >= b.getExponent();
+        PDecimal scaled = firstScaled ? a : b;
+        PDecimal other = firstScaled ? b : a;
+        BigInteger otherCoefficient = other.getCoefficient();
+        long otherExp = other.getExponent();
+        long minExp = scaled.getExponent() + Math.min(-1, scaled.getDigits() - prec - 2);
+        if (other.getDigits() + otherExp - 1 < minExp) {
+            otherCoefficient = BigInteger.ONE;
+            otherExp = minExp;
+        }
+        BigInteger scaledCoefficient = scaled.getCoefficient().multiply(pow10(scaled.getExponent() - otherExp));
+        BigInteger coeff1 = firstScaled ? scaledCoefficient : otherCoefficient;
+        BigInteger coeff2 = firstScaled ? otherCoefficient : scaledCoefficient;
+        int resultSign;
+        BigInteger resultCoefficient;
+        if (a.getSign() != b.getSign()) {
+            int cmp = coeff1.compareTo(coeff2);
+            if (cmp == 0) {
+                return fix(finite(negativeZero ? 1 : 0, 0, exp), rnd);
+            } else if (cmp > 0) {
+                resultSign = a.getSign();
+                resultCoefficient = coeff1.subtract(coeff2);
+            } else {
+                resultSign = b.getSign();
+                resultCoefficient = coeff2.subtract(coeff1);
+            }
+        } else {
+            resultSign = a.getSign();
+            resultCoefficient = coeff1.add(coeff2);
+        }
+        return fix(finite(resultSign, resultCoefficient, otherExp), rnd);
+    }
+
+    @TruffleBoundary
+    PDecimal multiply(PDecimal a, PDecimal b) {
+        if (useFastPath(a, b)) {
+            try {
+                DecimalResult result;
+                if (a.fitsLong() && b.fitsLong()) {
+                    result = DecimalUtils.multiply(a.getSign(), a.getLongCoefficient(), a.getExponent(), b.getSign(), b.getLongCoefficient(), b.getExponent(), (int) prec, rounding);
+                } else {
+                    result = DecimalUtils.multiply(a.getSign(), a.getCoefficient(), a.getExponent(), b.getSign(), b.getCoefficient(), b.getExponent(), (int) prec, rounding);
+                }
+                PDecimal ans = fitResult(result);
+                if (ans != null) {
+                    return ans;
+                }
+            } catch (OverflowException e) {
+                // continue with the general code
+            }
+        }
+        int sign = a.getSign() ^ b.getSign();
+        if (a.isSpecial() || b.isSpecial()) {
+            PDecimal ans = checkNans(a, b);
+            if (ans != null) {
+                return ans;
+            }
+            if (a.isInfinite()) {
+                if (b.isZero()) {
+                    return invalid();
+                }
+                return infinity(sign);
+            }
+            if (b.isInfinite()) {
+                if (a.isZero()) {
+                    return invalid();
+                }
+                return infinity(sign);
+            }
+        }
+        long exp = a.getExponent() + b.getExponent();
+        if (a.isZero() || b.isZero()) {
+            return fix(finite(sign, 0, exp));
+        }
+        return fix(finite(sign, a.getCoefficient().multiply(b.getCoefficient()), exp));
+    }
+
+    @TruffleBoundary
+    PDecimal divide(PDecimal a, PDecimal b) {
+        if (useFastPath(a, b) && !b.isZero()) {
+            try {
+                DecimalResult result;
+                if (a.fitsLong() && b.fitsLong()) {
+                    result = DecimalUtils.divide(a.getSign(), a.getLongCoefficient(), a.getExponent(), b.getSign(), b.getLongCoefficient(), b.getExponent(), (int) prec, rounding);
+                } else {
+                    result = DecimalUtils.divide(a.getSign(), a.getCoefficient(), a.getExponent(), b.getSign(), b.getCoefficient(), b.getExponent(), (int) prec, rounding);
+                }
+                PDecimal ans = fitResult(result);
+                if (ans != null) {
+                    return ans;
+                }
+            } catch (OverflowException e) {
+                // continue with the general code
+            }
+        }
+        int sign = a.getSign() ^ b.getSign();
+        if (a.isSpecial() || b.isSpecial()) {
+            PDecimal ans = checkNans(a, b);
+            if (ans != null) {
+                return ans;
+            }
+            if (a.isInfinite() && b.isInfinite()) {
+                return invalid();
+            }
+            if (a.isInfinite()) {
+                return infinity(sign);
+            }
+            if (b.isInfinite()) {
+                status |= CLAMPED;
+                return finite(sign, 0, etiny());
+            }
+        }
+        if (b.isZero()) {
+            if (a.isZero()) {
+                return condition(DIVISION_UNDEFINED);
+            }
+            status |= DIVISION_BY_ZERO;
+            return infinity(sign);
+        }
+        BigInteger coeff;
+        long exp;
+        if (a.isZero()) {
+            exp = a.getExponent() - b.getExponent();
+            coeff = BigInteger.ZERO;
+        } else {
+            long shift = b.getDigits() - a.getDigits() + prec + 1;
+            exp = a.getExponent() - b.getExponent() - shift;
+            BigInteger[] qr;
+            if (shift >= 0) {
+                qr = a.getCoefficient().multiply(pow10(shift)).divideAndRemainder(b.getCoefficient());
+            } else {
+                qr = a.getCoefficient().divideAndRemainder(b.getCoefficient().multiply(pow10(-shift)));
+            }
+            coeff = qr[0];
+            if (qr[1].signum() != 0) {
+                if (coeff.mod(FIVE).signum() == 0) {
+                    coeff = coeff.add(BigInteger.ONE);
+                }
+            } else {
+                long idealExp = a.getExponent() - b.getExponent();
+                while (exp < idealExp) {
+                    BigInteger[] dr = coeff.divideAndRemainder(BigInteger.TEN);
+                    if (dr[1].signum() != 0) {
+                        break;
+                    }
+                    coeff = dr[0];
+                    exp++;
+                }
+            }
+        }
+        return fix(finite(sign, coeff, exp));
+    }
+
+    /**
+     * {@code Decimal._divide}: the quotient and remainder of finite operands or a finite dividend
+     * and an infinite divisor.
+     */
+    private PDecimal[] divideInteger(PDecimal a, PDecimal b) {
+        int sign = a.getSign() ^ b.getSign();
+        long idealExp = b.isInfinite() ? a.getExponent() : Math.min(a.getExponent(), b.getExponent());
+        long expDiff = a.adjusted() - b.adjusted();
+        if (a.isZero() || b.isInfinite() || expDiff <= -2) {
+            return new PDecimal[]{finite(sign, 0, 0), rescale(a, idealExp, rounding)};
+        }
+        if (expDiff <= prec) {
+            BigInteger[] qr = divideScaled(a, b);
+            if (digits(qr[0]) <= prec) {
+                return new PDecimal[]{finite(sign, qr[0], 0), finite(a.getSign(), qr[1], idealExp)};
+            }
+        }
+        PDecimal ans = condition(DIVISION_IMPOSSIBLE);
+        return new PDecimal[]{ans, ans};
+    }
+
+    /* the integer quotient and remainder of the coefficients scaled to the same exponent */
+    private static BigInteger[] divideScaled(PDecimal a, PDecimal b) {
+        BigInteger coeff1 = a.getCoefficient();
+        BigInteger coeff2 = b.getCoefficient();
+        if (a.getExponent() >= b.getExponent()) {
+            coeff1 = coeff1.multiply(pow10(a.getExponent() - b.getExponent()));
+        } else {
+            coeff2 = coeff2.multiply(pow10(b.getExponent() - a.getExponent()));
+        }
+        return coeff1.divideAndRemainder(coeff2);
+    }
+
+    @TruffleBoundary
+    PDecimal[] divmod(PDecimal a, PDecimal b) {
+        PDecimal ans = checkNans(a, b);
+        if (ans != null) {
+            return new PDecimal[]{ans, ans};
+        }
+        int sign = a.getSign() ^ b.getSign();
+        if (a.isInfinite()) {
+            if (b.isInfinite()) {
+                ans = invalid();
+                return new PDecimal[]{ans, ans};
+            }
+            return new PDecimal[]{infinity(sign), invalid()};
+        }
+        if (b.isZero()) {
+            if (a.isZero()) {
+                ans = condition(DIVISION_UNDEFINED);
+                return new PDecimal[]{ans, ans};
+            }
+            status |= DIVISION_BY_ZERO;
+            return new PDecimal[]{infinity(sign), invalid()};
+        }
+        PDecimal[] result = divideInteger(a, b);
+        // unlike _pydecimal, the C implementation also fits a finite quotient into the context
+        if (b.isFinite()) {
+            result[0] = fix(result[0]);
+        }
+        result[1] = fix(result[1]);
+        return result;
+    }
+
+    @TruffleBoundary
+    PDecimal remainder(PDecimal a, PDecimal b) {
+        PDecimal ans = checkNans(a, b);
+        if (ans != null) {
+            return ans;
+        }
+        if (a.isInfinite()) {
+            return invalid();
+        } else if (b.isZero()) {
+            if (!a.isZero()) {
+                return invalid();
+            }
+            return condition(DIVISION_UNDEFINED);
+        }
+        return fix(divideInteger(a, b)[1]);
+    }
+
+    @TruffleBoundary
+    PDecimal floorDivide(PDecimal a, PDecimal b) {
+        PDecimal ans = checkNans(a, b);
+        if (ans != null) {
+            return ans;
+        }
+        int sign = a.getSign() ^ b.getSign();
+        if (a.isInfinite()) {
+            if (b.isInfinite()) {
+                return invalid();
+            }
+            return infinity(sign);
+        }
+        if (b.isZero()) {
+            if (!a.isZero()) {
+                status |= DIVISION_BY_ZERO;
+                return infinity(sign);
+            }
+            return condition(DIVISION_UNDEFINED);
+        }
+        PDecimal quotient = divideInteger(a, b)[0];
+        return b.isFinite() ? fix(quotient) : quotient;
+    }
+
+    @TruffleBoundary
+    PDecimal remainderNear(PDecimal a, PDecimal b) {
+        PDecimal ans = checkNans(a, b);
+        if (ans != null) {
+            return ans;
+        }
+        if (a.isInfinite()) {
+            return invalid();
+        }
+        if (b.isZero()) {
+            if (!a.isZero()) {
+                return invalid();
+            }
+            return condition(DIVISION_UNDEFINED);
+        }
+        if (b.isInfinite()) {
+            return fix(a);
+        }
+        long idealExp = Math.min(a.getExponent(), b.getExponent());
+        if (a.isZero()) {
+            return fix(finite(a.getSign(), 0, idealExp));
+        }
+        long expDiff = a.adjusted() - b.adjusted();
+        if (expDiff >= prec + 1) {
+            return condition(DIVISION_IMPOSSIBLE);
+        }
+        if (expDiff <= -2) {
+            return fix(rescale(a, idealExp, rounding));
+        }
+        BigInteger[] qr = divideScaled(a, b);
+        BigInteger q = qr[0];
+        BigInteger r = qr[1];
+        BigInteger divisor = a.getExponent() >= b.getExponent() ? b.getCoefficient() : b.getCoefficient().multiply(pow10(b.getExponent() - a.getExponent()));
+        if (r.shiftLeft(1).add(q.testBit(0) ? BigInteger.ONE : BigInteger.ZERO).compareTo(divisor) > 0) {
+            r = r.subtract(divisor);
+            q = q.add(BigInteger.ONE);
+        }
+        if (digits(q) > prec) {
+            return condition(DIVISION_IMPOSSIBLE);
+        }
+        int sign = a.getSign();
+        if (r.signum() < 0) {
+            sign = 1 - sign;
+            r = r.negate();
+        }
+        return fix(finite(sign, r, idealExp));
+    }
+
+    @TruffleBoundary
+    PDecimal fma(PDecimal a, PDecimal b, PDecimal c) {
+        PDecimal product;
+        if (a.isSpecial() || b.isSpecial()) {
+            if (a.isSNaN()) {
+                return invalidNaN(a);
+            }
+            if (b.isSNaN()) {
+                return invalidNaN(b);
+            }
+            if (a.isQNaN()) {
+                product = a;
+            } else if (b.isQNaN()) {
+                product = b;
+            } else if (a.isInfinite()) {
+                if (b.isZero()) {
+                    return invalid();
+                }
+                product = infinity(a.getSign() ^ b.getSign());
+            } else {
+                if (a.isZero()) {
+                    return invalid();
+                }
+                product = infinity(a.getSign() ^ b.getSign());
+            }
+        } else {
+            product = finite(a.getSign() ^ b.getSign(), a.getCoefficient().multiply(b.getCoefficient()), a.getExponent() + b.getExponent());
+        }
+        return add(product, c, rounding);
+    }
+
+    @TruffleBoundary
+    PDecimal plus(PDecimal a) {
+        if (a.isSpecial()) {
+            PDecimal ans = checkNans(a, null);
+            if (ans != null) {
+                return ans;
+            }
+        }
+        if (a.isZero() && rounding != ROUND_FLOOR) {
+            return fix(copyAbs(a));
+        }
+        return fix(a);
+    }
+
+    @TruffleBoundary
+    PDecimal minus(PDecimal a) {
+        if (a.isSpecial()) {
+            PDecimal ans = checkNans(a, null);
+            if (ans != null) {
+                return ans;
+            }
+        }
+        if (a.isZero() && rounding != ROUND_FLOOR) {
+            return fix(copyAbs(a));
+        }
+        return fix(copyNegate(a));
+    }
+
+    @TruffleBoundary
+    PDecimal abs(PDecimal a) {
+        if (a.isSpecial()) {
+            PDecimal ans = checkNans(a, null);
+            if (ans != null) {
+                return ans;
+            }
+        }
+        return a.getSign() == 1 ? minus(a) : plus(a);
+    }
+
+    // powers, roots and logarithms
+
+    @TruffleBoundary
+    PDecimal powerModulo(PDecimal a, PDecimal b, PDecimal m) {
+        if (a.isNaN() || b.isNaN() || m.isNaN()) {
+            if (a.isSNaN()) {
+                return invalidNaN(a);
+            }
+            if (b.isSNaN()) {
+                return invalidNaN(b);
+            }
+            if (m.isSNaN()) {
+                return invalidNaN(m);
+            }
+            if (a.isNaN()) {
+                return fixNan(a);
+            }
+            if (b.isNaN()) {
+                return fixNan(b);
+            }
+            return fixNan(m);
+        }
+        if (!(isInteger(a) && isInteger(b) && isInteger(m))) {
+            return invalid();
+        }
+        if (b.getSign() == 1 && !b.isZero()) {
+            return invalid();
+        }
+        if (m.isZero()) {
+            return invalid();
+        }
+        if (m.adjusted() >= prec) {
+            return invalid();
+        }
+        if (b.isZero() && a.isZero()) {
+            return invalid();
+        }
+        int sign = isEven(b) ? 0 : a.getSign();
+        BigInteger modulo = toBigInteger(m).abs();
+        BigInteger base = integralCoefficient(a).mod(modulo).multiply(BigInteger.TEN.modPow(BigInteger.valueOf(Math.max(a.getExponent(), 0)), modulo)).mod(modulo);
+        for (long i = 0; i < b.getExponent(); i++) {
+            base = base.modPow(BigInteger.TEN, modulo);
+        }
+        base = base.modPow(integralCoefficient(b), modulo);
+        return finite(sign, base, 0);
+    }
+
+    /* the coefficient of to_integral_value() of an integral value */
+    private static BigInteger integralCoefficient(PDecimal x) {
+        if (x.getExponent() >= 0) {
+            return x.getCoefficient();
+        }
+        return x.getCoefficient().divide(pow10(Math.min(-x.getExponent(), x.getDigits())));
+    }
+
+    @TruffleBoundary
+    PDecimal power(PDecimal a, PDecimal b) {
+        PDecimal ans = checkNans(a, b);
+        if (ans != null) {
+            return ans;
+        }
+        if (b.isZero()) {
+            if (a.isZero()) {
+                return invalid();
+            }
+            return finite(0, 1, 0);
+        }
+        int resultSign = 0;
+        PDecimal x = a;
+        if (a.getSign() == 1) {
+            if (isInteger(b)) {
+                if (!isEven(b)) {
+                    resultSign = 1;
+                }
+            } else if (!a.isZero()) {
+                return invalid();
+            }
+            x = copyNegate(a);
+        }
+        if (x.isZero()) {
+            return b.getSign() == 0 ? finite(resultSign, 0, 0) : infinity(resultSign);
+        }
+        if (x.isInfinite()) {
+            return b.getSign() == 0 ? infinity(resultSign) : finite(resultSign, 0, 0);
+        }
+        if (cmp(x, finite(0, 1, 0)) == 0) {
+            long exp;
+            if (isInteger(b)) {
+                long multiplier;
+                if (b.getSign() == 1) {
+                    multiplier = 0;
+                } else if (cmp(b, finite(0, prec, 0)) > 0) {
+                    multiplier = prec;
+                } else {
+                    multiplier = toBigInteger(b).longValue();
+                }
+                try {
+                    exp = Math.multiplyExact(x.getExponent(), multiplier);
+                } catch (ArithmeticException e) {
+                    exp = Long.MIN_VALUE;
+                }
+                if (exp < 1 - prec) {
+                    exp = 1 - prec;
+                    status |= ROUNDED;
+                }
+            } else {
+                status |= INEXACT | ROUNDED;
+                exp = 1 - prec;
+            }
+            return finite(resultSign, pow10(-exp), exp);
+        }
+        long selfAdjusted = x.adjusted();
+        if (b.isInfinite()) {
+            if ((b.getSign() == 0) == (selfAdjusted < 0)) {
+                return finite(resultSign, 0, 0);
+            }
+            return infinity(resultSign);
+        }
+        boolean exact = false;
+        long bound = log10ExpBound(x) + b.adjusted();
+        if ((selfAdjusted >= 0) == (b.getSign() == 0)) {
+            if (bound >= digits(emax)) {
+                ans = finite(resultSign, 1, emax + 1);
+            }
+        } else {
+            if (bound >= digits(-etiny())) {
+                ans = finite(resultSign, 1, etiny() - 1);
+            }
+        }
+        if (ans == null) {
+            ans = powerExact(x, b, prec + 1);
+            if (ans != null) {
+                if (resultSign == 1) {
+                    ans = finite(1, ans.getCoefficient(), ans.getExponent());
+                }
+                exact = true;
+            }
+        }
+        if (ans == null) {
+            BigInteger yc = b.getSign() == 1 ? b.getCoefficient().negate() : b.getCoefficient();
+            long extra = 3;
+            BigInteger[] result;
+            while (true) {
+                result = dpower(x.getCoefficient(), x.getExponent(), yc, b.getExponent(), prec + extra);
+                if (isCorrectlyRounded(result[0], prec)) {
+                    break;
+                }
+                extra += 3;
+            }
+            ans = finite(resultSign, result[0], result[1].longValue());
+        }
+        if (exact && !isInteger(b)) {
+            if (ans.getDigits() <= prec) {
+                long expDiff = prec + 1 - ans.getDigits();
+                ans = finite(ans.getSign(), ans.getCoefficient().multiply(pow10(expDiff)), ans.getExponent() - expDiff);
+            }
+            DecimalArithmetic local = new DecimalArithmetic(prec, rounding, emin, emax, clamp);
+            ans = local.fix(ans);
+            int localStatus = local.status | INEXACT;
+            if ((localStatus & SUBNORMAL) != 0) {
+                localStatus |= UNDERFLOW;
+            }
+            status |= localStatus & (OVERFLOW | UNDERFLOW | SUBNORMAL | INEXACT | ROUNDED | CLAMPED);
+        } else {
+            ans = fix(ans);
+        }
+        return ans;
+    }
+
+    /*
+     * Whether the digits beyond the precision of a coefficient computed with extra digits allow to
+     * round it correctly.
+     */
+    private static boolean isCorrectlyRounded(BigInteger coeff, long p) {
+        long n = strLen(coeff) - p - 1;
+        return coeff.mod(FIVE.multiply(pow10(Math.max(n, 0)))).signum() != 0;
+    }
+
+    /**
+     * {@code Decimal._power_exact}: the exact result of {@code x**y} for positive {@code x} if it
+     * can be represented with {@code p} digits, otherwise {@code null}.
+     */
+    private static PDecimal powerExact(PDecimal self, PDecimal other, long p) {
+        BigInteger bigP = BigInteger.valueOf(p);
+        BigInteger xc = self.getCoefficient();
+        BigInteger xe = BigInteger.valueOf(self.getExponent());
+        BigInteger[] dr;
+        while ((dr = xc.divideAndRemainder(BigInteger.TEN))[1].signum() == 0) {
+            xc = dr[0];
+            xe = xe.add(BigInteger.ONE);
+        }
+        BigInteger yc = other.getCoefficient();
+        BigInteger ye = BigInteger.valueOf(other.getExponent());
+        while ((dr = yc.divideAndRemainder(BigInteger.TEN))[1].signum() == 0) {
+            yc = dr[0];
+            ye = ye.add(BigInteger.ONE);
+        }
+        if (xc.equals(BigInteger.ONE)) {
+            xe = xe.multiply(yc);
+            while ((dr = xe.divideAndRemainder(BigInteger.TEN))[1].signum() == 0) {
+                xe = dr[0];
+                ye = ye.add(BigInteger.ONE);
+            }
+            if (ye.signum() < 0) {
+                return null;
+            }
+            BigInteger exponent = xe.multiply(pow10(ye.longValueExact()));
+            if (other.getSign() == 1) {
+                exponent = exponent.negate();
+            }
+            BigInteger zeros = BigInteger.ZERO;
+            if (isInteger(other) && other.getSign() == 0) {
+                BigInteger idealExponent = BigInteger.valueOf(self.getExponent()).multiply(toBigInteger(other));
+                zeros = exponent.subtract(idealExponent).min(bigP.subtract(BigInteger.ONE));
+            }
+            return exactResult(pow10(zeros.longValueExact()), exponent.subtract(zeros));
+        }
+        BigInteger e;
+        if (other.getSign() == 1) {
+            int lastDigit = xc.mod(BigInteger.TEN).intValue();
+            BigInteger maxE;
+            if (lastDigit == 2 || lastDigit == 4 || lastDigit == 6 || lastDigit == 8) {
+                if (xc.getLowestSetBit() != xc.bitLength() - 1) {
+                    return null;
+                }
+                e = BigInteger.valueOf(xc.bitLength() - 1);
+                maxE = bigP.multiply(BigInteger.valueOf(93)).divide(BigInteger.valueOf(65));
+            } else if (lastDigit == 5) {
+                e = BigInteger.valueOf(xc.bitLength() * 28L / 65);
+                BigInteger[] qr = FIVE.pow(e.intValueExact()).divideAndRemainder(xc);
+                if (qr[1].signum() != 0) {
+                    return null;
+                }
+                xc = qr[0];
+                while ((dr = xc.divideAndRemainder(FIVE))[1].signum() == 0) {
+                    xc = dr[0];
+                    e = e.subtract(BigInteger.ONE);
+                }
+                maxE = bigP.multiply(BigInteger.TEN).divide(BigInteger.valueOf(3));
+            } else {
+                return null;
+            }
+            if (ye.compareTo(BigInteger.valueOf(strLen(maxE))) >= 0) {
+                return null;
+            }
+            e = decimalShiftExact(e.multiply(yc), ye.intValueExact());
+            xe = decimalShiftExact(xe.multiply(yc), ye.intValueExact());
+            if (e == null || xe == null) {
+                return null;
+            }
+            if (e.compareTo(maxE) > 0) {
+                return null;
+            }
+            xc = lastDigit == 5 ? BigInteger.ONE.shiftLeft(e.intValueExact()) : FIVE.pow(e.intValueExact());
+            if (xc.compareTo(pow10(p)) >= 0) {
+                return null;
+            }
+            xe = e.negate().subtract(xe);
+            return exactResult(xc, xe);
+        }
+        BigInteger m;
+        BigInteger n;
+        long xcBits = 0;
+        if (ye.signum() >= 0) {
+            m = yc.multiply(pow10(ye.longValueExact()));
+            n = BigInteger.ONE;
+        } else {
+            long negYe = ye.negate().longValueExact();
+            if (xe.signum() != 0 && strLen(yc.multiply(xe).abs()) <= negYe) {
+                return null;
+            }
+            xcBits = xc.bitLength();
+            if (!xc.equals(BigInteger.ONE) && strLen(yc.abs().multiply(BigInteger.valueOf(xcBits))) <= negYe) {
+                return null;
+            }
+            m = yc;
+            n = pow10(negYe);
+            while (!m.testBit(0) && !n.testBit(0)) {
+                m = m.shiftRight(1);
+                n = n.shiftRight(1);
+            }
+            while (m.mod(FIVE).signum() == 0 && n.mod(FIVE).signum() == 0) {
+                m = m.divide(FIVE);
+                n = n.divide(FIVE);
+            }
+        }
+        if (n.compareTo(BigInteger.ONE) > 0) {
+            if (!xc.equals(BigInteger.ONE) && BigInteger.valueOf(xcBits).compareTo(n) <= 0) {
+                return null;
+            }
+            BigInteger[] qr = floorDivMod(xe, n);
+            if (qr[1].signum() != 0) {
+                return null;
+            }
+            xe = qr[0];
+            int intN = n.intValueExact();
+            BigInteger root = BigInteger.ONE.shiftLeft((int) -Math.floorDiv(-xc.bitLength(), intN));
+            while (true) {
+                qr = xc.divideAndRemainder(root.pow(intN - 1));
+                if (root.compareTo(qr[0]) <= 0) {
+                    break;
+                }
+                root = root.multiply(BigInteger.valueOf(intN - 1)).add(qr[0]).divide(n);
+            }
+            if (!(root.equals(qr[0]) && qr[1].signum() == 0)) {
+                return null;
+            }
+            xc = root;
+        }
+        if (xc.compareTo(BigInteger.ONE) > 0 && m.compareTo(bigP.multiply(BigInteger.valueOf(100)).divide(BigInteger.valueOf(log10LowerBound(xc)))) > 0) {
+            return null;
+        }
+        if (m.bitLength() >= Integer.SIZE) {
+            throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.MemoryError);
+        }
+        xc = xc.pow(m.intValue());
+        xe = xe.multiply(m);
+        if (xc.compareTo(pow10(p)) > 0) {
+            return null;
+        }
+        BigInteger zeros = BigInteger.ZERO;
+        if (isInteger(other) && other.getSign() == 0) {
+            BigInteger idealExponent = BigInteger.valueOf(self.getExponent()).multiply(toBigInteger(other));
+            zeros = xe.subtract(idealExponent).min(BigInteger.valueOf(p - strLen(xc)));
+        }
+        return exactResult(xc.multiply(pow10(zeros.longValueExact())), xe.subtract(zeros));
+    }
+
+    private static PDecimal exactResult(BigInteger coefficient, BigInteger exponent) {
+        if (exponent.bitLength() >= Long.SIZE) {
+            // not representable, the general code takes care of it
+            return null;
+        }
+        return finite(0, coefficient, exponent.longValue());
+    }
+
+    /* _decimal_lshift_exact */
+    private static BigInteger decimalShiftExact(BigInteger n, int e) {
+        if (n.signum() == 0) {
+            return BigInteger.ZERO;
+        } else if (e >= 0) {
+            return n.multiply(pow10(e));
+        } else {
+            String str = n.abs().toString();
+            int trailingZeros = 0;
+            while (trailingZeros < str.length() && str.charAt(str.length() - 1 - trailingZeros) == '0') {
+                trailingZeros++;
+            }
+            return trailingZeros < -e ? null : floorDiv(n, pow10(-e));
+        }
+    }
+
+    /* _log10_lb: a lower bound for 100 * log10(c) */
+    private static long log10LowerBound(BigInteger c) {
+        assert c.signum() > 0;
+        String str = c.toString();
+        int[] correction = {0, 100, 70, 53, 40, 31, 23, 16, 10, 5};
+        return 100L * str.length() - correction[str.charAt(0) - '0'];
+    }
+
+    /* _sqrt_nearest */
+    private static BigInteger sqrtNearest(BigInteger n, BigInteger a) {
+        BigInteger b = BigInteger.ZERO;
+        while (!a.equals(b)) {
+            b = a;
+            a = a.subtract(floorDiv(n.negate(), a)).shiftRight(1);
+        }
+        return a;
+    }
+
+    /* _rshift_nearest */
+    private static BigInteger rshiftNearest(BigInteger x, long shift) {
+        BigInteger b = BigInteger.ONE.shiftLeft((int) shift);
+        BigInteger q = x.shiftRight((int) shift);
+        BigInteger twiceRest = x.and(b.subtract(BigInteger.ONE)).shiftLeft(1).add(q.testBit(0) ? BigInteger.ONE : BigInteger.ZERO);
+        return twiceRest.compareTo(b) > 0 ? q.add(BigInteger.ONE) : q;
+    }
+
+    /* _div_nearest */
+    private static BigInteger divNearest(BigInteger a, BigInteger b) {
+        BigInteger[] qr = floorDivMod(a, b);
+        BigInteger q = qr[0];
+        BigInteger twiceRest = qr[1].shiftLeft(1).add(q.testBit(0) ? BigInteger.ONE : BigInteger.ZERO);
+        return twiceRest.compareTo(b) > 0 ? q.add(BigInteger.ONE) : q;
+    }
+
+    /* _ilog: an approximation of M*log(x/M) */
+    private static BigInteger ilog(BigInteger x, BigInteger bigM) {
+        final int l = 8;
+        BigInteger y = x.subtract(bigM);
+        int r = 0;
+        while ((r <= l && y.abs().shiftLeft(l - r).compareTo(bigM) >= 0) || (r > l && y.abs().shiftRight(r - l).compareTo(bigM) >= 0)) {
+            y = divNearest(bigM.multiply(y).shiftLeft(1), bigM.add(sqrtNearest(bigM.multiply(bigM.add(rshiftNearest(y, r))), bigM)));
+            r++;
+        }
+        long t = -Math.floorDiv(-10 * strLen(bigM), 3 * l);
+        BigInteger yShift = rshiftNearest(y, r);
+        BigInteger w = divNearest(bigM, BigInteger.valueOf(t));
+        for (long k = t - 1; k > 0; k--) {
+            w = divNearest(bigM, BigInteger.valueOf(k)).subtract(divNearest(yShift.multiply(w), bigM));
+        }
+        return divNearest(w.multiply(y), bigM);
+    }
+
+    /* _dlog10: an approximation of 10**p * log10(c*10**e) */
+    private static BigInteger dlog10(BigInteger c, long e, long p) {
+        p += 2;
+        long len = strLen(c);
+        long f = e + len - (e + len >= 1 ? 1 : 0);
+        BigInteger logD;
+        BigInteger logTenPower;
+        if (p > 0) {
+            BigInteger bigM = pow10(p);
+            long k = e + p - f;
+            if (k >= 0) {
+                c = c.multiply(pow10(k));
+            } else {
+                c = divNearest(c, pow10(-k));
+            }
+            logD = ilog(c, bigM);
+            BigInteger log10 = log10Digits(p);
+            logD = divNearest(logD.multiply(bigM), log10);
+            logTenPower = BigInteger.valueOf(f).multiply(bigM);
+        } else {
+            logD = BigInteger.ZERO;
+            logTenPower = divNearest(BigInteger.valueOf(f), pow10(-p));
+        }
+        return divNearest(logTenPower.add(logD), BigInteger.valueOf(100));
+    }
+
+    /* _dlog: an approximation of 10**p * log(c*10**e) */
+    private static BigInteger dlog(BigInteger c, long e, long p) {
+        p += 2;
+        long len = strLen(c);
+        long f = e + len - (e + len >= 1 ? 1 : 0);
+        BigInteger logD;
+        if (p > 0) {
+            long k = e + p - f;
+            if (k >= 0) {
+                c = c.multiply(pow10(k));
+            } else {
+                c = divNearest(c, pow10(-k));
+            }
+            logD = ilog(c, pow10(p));
+        } else {
+            logD = BigInteger.ZERO;
+        }
+        BigInteger fLogTen;
+        if (f != 0) {
+            long extra = strLen(BigInteger.valueOf(Math.abs(f))) - 1;
+            if (p + extra >= 0) {
+                fLogTen = divNearest(BigInteger.valueOf(f).multiply(log10Digits(p + extra)), pow10(extra));
+            } else {
+                fLogTen = BigInteger.ZERO;
+            }
+        } else {
+            fLogTen = BigInteger.ZERO;
+        }
+        return divNearest(fLogTen.add(logD), BigInteger.valueOf(100));
+    }
+
+    /* _log10_digits: the first p+1 digits of ln(10) */
+    private static BigInteger log10Digits(long p) {
+        String digits = log10Digits;
+        if (p >= digits.length()) {
+            long extra = 3;
+            while (true) {
+                BigInteger bigM = pow10(p + extra + 2);
+                digits = divNearest(ilog(bigM.multiply(BigInteger.TEN), bigM), BigInteger.valueOf(100)).toString();
+                if (!digits.endsWith("000".repeat((int) extra / 3))) {
+                    break;
+                }
+                extra += 3;
+            }
+            int end = digits.length();
+            while (end > 0 && digits.charAt(end - 1) == '0') {
+                end--;
+            }
+            digits = digits.substring(0, end - 1);
+            log10Digits = digits;
+        }
+        return new BigInteger(digits.substring(0, (int) p + 1));
+    }
+
+    /* _iexp: an approximation of M*exp(x/M) */
+    private static BigInteger iexp(BigInteger x, BigInteger bigM) {
+        final int l = 8;
+        int r = floorDiv(x.shiftLeft(l), bigM).abs().bitLength();
+        long t = -Math.floorDiv(-10 * strLen(bigM), 3 * l);
+        BigInteger y = divNearest(x, BigInteger.valueOf(t));
+        BigInteger mShift = bigM.shiftLeft(r);
+        for (long i = t - 1; i > 0; i--) {
+            y = divNearest(x.multiply(mShift.add(y)), mShift.multiply(BigInteger.valueOf(i)));
+        }
+        for (int k = r - 1; k >= 0; k--) {
+            mShift = bigM.shiftLeft(k + 2);
+            y = divNearest(y.multiply(y.add(mShift)), mShift);
+        }
+        return bigM.add(y);
+    }
+
+    /* _dexp: an approximation of exp(c*10**e) as coefficient and exponent */
+    private static BigInteger[] dexp(BigInteger c, long e, long p) {
+        p += 2;
+        long extra = Math.max(0, e + strLen(c) - 1);
+        long q = p + extra;
+        long shift = e + q;
+        BigInteger cShift;
+        if (shift >= 0) {
+            cShift = c.multiply(pow10(shift));
+        } else {
+            cShift = floorDiv(c, pow10(-shift));
+        }
+        BigInteger[] qr = floorDivMod(cShift, log10Digits(q));
+        BigInteger rem = divNearest(qr[1], pow10(extra));
+        return new BigInteger[]{divNearest(iexp(rem, pow10(p)), BigInteger.valueOf(1000)), qr[0].subtract(BigInteger.valueOf(p - 3))};
+    }
+
+    /* _dpower: an approximation of (xc*10**xe)**(yc*10**ye) as coefficient and exponent */
+    private static BigInteger[] dpower(BigInteger xc, long xe, BigInteger yc, long ye, long p) {
+        long b = strLen(yc.abs()) + ye;
+        BigInteger lxc = dlog(xc, xe, p + b + 1);
+        long shift = ye - b;
+        BigInteger pc;
+        if (shift >= 0) {
+            pc = lxc.multiply(yc).multiply(pow10(shift));
+        } else {
+            pc = divNearest(lxc.multiply(yc), pow10(-shift));
+        }
+        if (pc.signum() == 0) {
+            if ((strLen(xc) + xe >= 1) == (yc.signum() > 0)) {
+                return new BigInteger[]{pow10(p - 1).add(BigInteger.ONE), BigInteger.valueOf(1 - p)};
+            } else {
+                return new BigInteger[]{nines(p), BigInteger.valueOf(-p)};
+            }
+        }
+        BigInteger[] result = dexp(pc, -(p + 1), p + 1);
+        return new BigInteger[]{divNearest(result[0], BigInteger.TEN), result[1].add(BigInteger.ONE)};
+    }
+
+    /* _ln_exp_bound: the adjusted exponent of ln(x) is at least this */
+    private static long lnExpBound(PDecimal x) {
+        long adj = x.adjusted();
+        if (adj >= 1) {
+            return strLen(BigInteger.valueOf(adj).multiply(BigInteger.valueOf(23)).divide(BigInteger.TEN)) - 1;
+        }
+        if (adj <= -2) {
+            return strLen(BigInteger.valueOf(-1 - adj).multiply(BigInteger.valueOf(23)).divide(BigInteger.TEN)) - 1;
+        }
+        BigInteger c = x.getCoefficient();
+        long e = x.getExponent();
+        if (adj == 0) {
+            String num = c.subtract(pow10(-e)).toString();
+            String den = c.toString();
+            return num.length() - den.length() - (num.compareTo(den) < 0 ? 1 : 0);
+        }
+        return e + strLen(pow10(-e).subtract(c)) - 1;
+    }
+
+    /* _log10_exp_bound: the adjusted exponent of log10(x) is at least this */
+    private static long log10ExpBound(PDecimal x) {
+        long adj = x.adjusted();
+        if (adj >= 1) {
+            return strLen(BigInteger.valueOf(adj)) - 1;
+        }
+        if (adj <= -2) {
+            return strLen(BigInteger.valueOf(-1 - adj)) - 1;
+        }
+        BigInteger c = x.getCoefficient();
+        long e = x.getExponent();
+        if (adj == 0) {
+            String num = c.subtract(pow10(-e)).toString();
+            String den = c.multiply(BigInteger.valueOf(231)).toString();
+            return num.length() - den.length() - (num.compareTo(den) < 0 ? 1 : 0) + 2;
+        }
+        String num = pow10(-e).subtract(c).toString();
+        return num.length() + e - (num.compareTo("231") < 0 ? 1 : 0) - 1;
+    }
+
+    @TruffleBoundary
+    PDecimal sqrt(PDecimal a) {
+        if (a.isSpecial()) {
+            PDecimal ans = checkNans(a, null);
+            if (ans != null) {
+                return ans;
+            }
+            if (a.isInfinite() && a.getSign() == 0) {
+                return asDecimal(a);
+            }
+        }
+        if (a.isZero()) {
+            return fix(finite(a.getSign(), 0, Math.floorDiv(a.getExponent(), 2)));
+        }
+        if (a.getSign() == 1) {
+            return invalid();
+        }
+        long p = prec + 1;
+        long e = a.getExponent() >> 1;
+        BigInteger c;
+        long l;
+        if ((a.getExponent() & 1) != 0) {
+            c = a.getCoefficient().multiply(BigInteger.TEN);
+            l = (a.getDigits() >> 1) + 1;
+        } else {
+            c = a.getCoefficient();
+            l = (a.getDigits() + 1) >> 1;
+        }
+        long shift = p - l;
+        boolean exact;
+        if (shift >= 0) {
+            c = c.multiply(pow10(2 * shift));
+            exact = true;
+        } else {
+            BigInteger[] qr = c.divideAndRemainder(pow10(-2 * shift));
+            c = qr[0];
+            exact = qr[1].signum() == 0;
+        }
+        e -= shift;
+        BigInteger n = pow10(p);
+        while (true) {
+            BigInteger q = c.divide(n);
+            if (n.compareTo(q) <= 0) {
+                break;
+            }
+            n = n.add(q).shiftRight(1);
+        }
+        exact = exact && n.multiply(n).equals(c);
+        if (exact) {
+            if (shift >= 0) {
+                n = n.divide(pow10(shift));
+            } else {
+                n = n.multiply(pow10(-shift));
+            }
+            e += shift;
+        } else if (n.mod(FIVE).signum() == 0) {
+            n = n.add(BigInteger.ONE);
+        }
+        return fix(finite(0, n, e), ROUND_HALF_EVEN);
+    }
+
+    @TruffleBoundary
+    PDecimal exp(PDecimal a) {
+        PDecimal ans = checkNans(a, null);
+        if (ans != null) {
+            return ans;
+        }
+        if (a.isInfinite()) {
+            return a.getSign() == 1 ? finite(0, 0, 0) : asDecimal(a);
+        }
+        if (a.isZero()) {
+            return finite(0, 1, 0);
+        }
+        long p = prec;
+        long adj = a.adjusted();
+        if (a.getSign() == 0 && adj > digits((emax + 1) * 3)) {
+            ans = finite(0, 1, emax + 1);
+        } else if (a.getSign() == 1 && adj > digits((-etiny() + 1) * 3)) {
+            ans = finite(0, 1, etiny() - 1);
+        } else if (a.getSign() == 0 && adj < -p) {
+            ans = finite(0, pow10(p).add(BigInteger.ONE), -p);
+        } else if (a.getSign() == 1 && adj < -p - 1) {
+            ans = finite(0, nines(p + 1), -p - 1);
+        } else {
+            BigInteger c = a.getSign() == 1 ? a.getCoefficient().negate() : a.getCoefficient();
+            long extra = 3;
+            BigInteger[] result;
+            while (true) {
+                result = dexp(c, a.getExponent(), p + extra);
+                if (isCorrectlyRounded(result[0], p)) {
+                    break;
+                }
+                extra += 3;
+            }
+            ans = finite(0, result[0], result[1].longValueExact());
+        }
+        return fix(ans, ROUND_HALF_EVEN);
+    }
+
+    @TruffleBoundary
+    PDecimal ln(PDecimal a) {
+        PDecimal ans = checkNans(a, null);
+        if (ans != null) {
+            return ans;
+        }
+        if (a.isZero()) {
+            return infinity(1);
+        }
+        if (a.isInfinite() && a.getSign() == 0) {
+            return infinity(0);
+        }
+        if (cmp(a, finite(0, 1, 0)) == 0) {
+            return finite(0, 0, 0);
+        }
+        if (a.getSign() == 1) {
+            return invalid();
+        }
+        long p = prec;
+        long places = p - lnExpBound(a) + 2;
+        BigInteger coeff;
+        while (true) {
+            coeff = dlog(a.getCoefficient(), a.getExponent(), places);
+            if (isCorrectlyRounded(coeff.abs(), p)) {
+                break;
+            }
+            places += 3;
+        }
+        return fix(finite(coeff.signum() < 0 ? 1 : 0, coeff.abs(), -places), ROUND_HALF_EVEN);
+    }
+
+    @TruffleBoundary
+    PDecimal log10(PDecimal a) {
+        PDecimal ans = checkNans(a, null);
+        if (ans != null) {
+            return ans;
+        }
+        if (a.isZero()) {
+            return infinity(1);
+        }
+        if (a.isInfinite() && a.getSign() == 0) {
+            return infinity(0);
+        }
+        if (a.getSign() == 1) {
+            return invalid();
+        }
+        BigInteger c = a.getCoefficient();
+        if (c.equals(pow10(a.getDigits() - 1))) {
+            ans = fromLong(a.adjusted());
+        } else {
+            long p = prec;
+            long places = p - log10ExpBound(a) + 2;
+            BigInteger coeff;
+            while (true) {
+                coeff = dlog10(c, a.getExponent(), places);
+                if (isCorrectlyRounded(coeff.abs(), p)) {
+                    break;
+                }
+                places += 3;
+            }
+            ans = finite(coeff.signum() < 0 ? 1 : 0, coeff.abs(), -places);
+        }
+        return fix(ans, ROUND_HALF_EVEN);
+    }
+
+    // quantization and rounding
+
+    /**
+     * {@code Decimal._rescale}: the value with the given exponent, rounded with {@code rnd}.
+     * Signals nothing.
+     */
+    PDecimal rescale(PDecimal x, long exp, int rnd) {
+        if (x.isSpecial()) {
+            return asDecimal(x);
+        }
+        if (x.isZero()) {
+            return finite(x.getSign(), 0, exp);
+        }
+        if (x.getExponent() >= exp) {
+            return finite(x.getSign(), x.getCoefficient().multiply(pow10(x.getExponent() - exp)), exp);
+        }
+        long len = x.getDigits();
+        long keep = len + x.getExponent() - exp;
+        BigInteger coefficient = x.getCoefficient();
+        if (keep < 0) {
+            coefficient = BigInteger.ONE;
+            len = 1;
+            keep = 0;
+        }
+        return finite(x.getSign(), roundDigits(x.getSign(), coefficient, len, keep, rnd), exp);
+    }
+
+    /**
+     * {@code Decimal._round}: the value rounded to {@code places} significant digits.
+     */
+    PDecimal round(PDecimal x, long places, int rnd) {
+        assert places > 0;
+        if (x.isSpecial() || x.isZero()) {
+            return asDecimal(x);
+        }
+        PDecimal ans = rescale(x, x.adjusted() + 1 - places, rnd);
+        if (ans.adjusted() != x.adjusted()) {
+            ans = rescale(ans, ans.adjusted() + 1 - places, rnd);
+        }
+        return ans;
+    }
+
+    @TruffleBoundary
+    PDecimal quantize(PDecimal a, PDecimal b, int rnd) {
+        if (a.isSpecial() || b.isSpecial()) {
+            PDecimal ans = checkNans(a, b);
+            if (ans != null) {
+                return ans;
+            }
+            if (a.isInfinite() && b.isInfinite()) {
+                return asDecimal(a);
+            }
+            return invalid();
+        }
+        long exp = b.getExponent();
+        if (exp < etiny() || exp > emax) {
+            return invalid();
+        }
+        if (prec <= Integer.MAX_VALUE) {
+            try {
+                DecimalResult result;
+                if (a.fitsLong()) {
+                    result = DecimalUtils.quantize(a.getSign(), a.getLongCoefficient(), a.getExponent(), exp, (int) prec, rnd);
+                } else {
+                    result = DecimalUtils.quantize(a.getSign(), a.getCoefficient(), a.getExponent(), exp, (int) prec, rnd);
+                }
+                PDecimal ans = fitResult(result);
+                if (ans != null) {
+                    return ans;
+                }
+            } catch (OverflowException e) {
+                // continue with the general code
+            }
+        }
+        if (a.isZero()) {
+            return fix(finite(a.getSign(), 0, exp));
+        }
+        long selfAdjusted = a.adjusted();
+        if (selfAdjusted > emax) {
+            return invalid();
+        }
+        if (selfAdjusted - exp + 1 > prec) {
+            return invalid();
+        }
+        PDecimal ans = rescale(a, exp, rnd);
+        if (ans.adjusted() > emax) {
+            return invalid();
+        }
+        if (ans.getDigits() > prec) {
+            return invalid();
+        }
+        if (!ans.isZero() && ans.adjusted() < emin) {
+            status |= SUBNORMAL;
+        }
+        if (ans.getExponent() > a.getExponent()) {
+            if (cmp(ans, a) != 0) {
+                status |= INEXACT;
+            }
+            status |= ROUNDED;
+        }
+        return fix(ans);
+    }
+
+    static boolean sameQuantum(PDecimal a, PDecimal b) {
+        if (a.isSpecial() || b.isSpecial()) {
+            return (a.isNaN() && b.isNaN()) || (a.isInfinite() && b.isInfinite());
+        }
+        return a.getExponent() == b.getExponent();
+    }
+
+    @TruffleBoundary
+    PDecimal toIntegralExact(PDecimal a, int rnd) {
+        if (a.isSpecial()) {
+            PDecimal ans = checkNans(a, null);
+            return ans != null ? ans : asDecimal(a);
+        }
+        if (a.getExponent() >= 0) {
+            return asDecimal(a);
+        }
+        if (a.isZero()) {
+            return finite(a.getSign(), 0, 0);
+        }
+        PDecimal ans = rescale(a, 0, rnd);
+        if (cmp(ans, a) != 0) {
+            status |= INEXACT;
+        }
+        status |= ROUNDED;
+        return ans;
+    }
+
+    @TruffleBoundary
+    PDecimal toIntegralValue(PDecimal a, int rnd) {
+        if (a.isSpecial()) {
+            PDecimal ans = checkNans(a, null);
+            return ans != null ? ans : asDecimal(a);
+        }
+        if (a.getExponent() >= 0) {
+            return asDecimal(a);
+        }
+        return rescale(a, 0, rnd);
+    }
+
+    @TruffleBoundary
+    PDecimal normalize(PDecimal a) {
+        if (a.isSpecial()) {
+            PDecimal ans = checkNans(a, null);
+            if (ans != null) {
+                return ans;
+            }
+        }
+        PDecimal dup = fix(a);
+        if (dup.isInfinite()) {
+            return dup;
+        }
+        if (dup.isZero()) {
+            return finite(dup.getSign(), 0, 0);
+        }
+        long expMax = clamp ? etop() : emax;
+        BigInteger coefficient = dup.getCoefficient();
+        long exp = dup.getExponent();
+        BigInteger[] qr;
+        while (exp < expMax && (qr = coefficient.divideAndRemainder(BigInteger.TEN))[1].signum() == 0) {
+            coefficient = qr[0];
+            exp++;
+        }
+        return finite(dup.getSign(), coefficient, exp);
+    }
+
+    // comparisons
+
+    @TruffleBoundary
+    PDecimal compare(PDecimal a, PDecimal b) {
+        PDecimal ans = checkNans(a, b);
+        if (ans != null) {
+            return ans;
+        }
+        return fromLong(cmp(a, b));
+    }
+
+    @TruffleBoundary
+    PDecimal compareSignal(PDecimal a, PDecimal b) {
+        if (a.isNaN() || b.isNaN()) {
+            status |= INVALID_OPERATION;
+            PDecimal nan = a.isSNaN() || (!b.isSNaN() && a.isNaN()) ? a : b;
+            return fixNan(special(nan.getSign(), nan.getCoefficient(), PDecimal.QNAN));
+        }
+        return fromLong(cmp(a, b));
+    }
+
+    /**
+     * {@code Decimal.compare_total}: the comparison of the abstract representations.
+     */
+    @TruffleBoundary
+    static int compareTotal(PDecimal a, PDecimal b) {
+        if (a.getSign() == 1 && b.getSign() == 0) {
+            return -1;
+        }
+        if (a.getSign() == 0 && b.getSign() == 1) {
+            return 1;
+        }
+        int direction = a.getSign() == 1 ? -1 : 1;
+        int aNaN = a.nanKind();
+        int bNaN = b.nanKind();
+        if (aNaN != 0 || bNaN != 0) {
+            if (aNaN == bNaN) {
+                return direction * a.getCoefficient().compareTo(b.getCoefficient());
+            }
+            // quiet NaNs are greater than signaling ones, which are greater than numbers
+            int aRank = aNaN == 1 ? 2 : aNaN == 2 ? 1 : 0;
+            int bRank = bNaN == 1 ? 2 : bNaN == 2 ? 1 : 0;
+            return direction * Integer.compare(aRank, bRank);
+        }
+        int c = cmp(a, b);
+        if (c != 0) {
+            return c;
+        }
+        return direction * Long.compare(a.getExponent(), b.getExponent());
+    }
+
+    @TruffleBoundary
+    static int compareTotalMag(PDecimal a, PDecimal b) {
+        return compareTotal(copyAbs(a), copyAbs(b));
+    }
+
+    @TruffleBoundary
+    PDecimal max(PDecimal a, PDecimal b) {
+        return maxOrMin(a, b, false, false);
+    }
+
+    @TruffleBoundary
+    PDecimal min(PDecimal a, PDecimal b) {
+        return maxOrMin(a, b, true, false);
+    }
+
+    @TruffleBoundary
+    PDecimal maxMag(PDecimal a, PDecimal b) {
+        return maxOrMin(a, b, false, true);
+    }
+
+    @TruffleBoundary
+    PDecimal minMag(PDecimal a, PDecimal b) {
+        return maxOrMin(a, b, true, true);
+    }
+
+    private PDecimal maxOrMin(PDecimal a, PDecimal b, boolean min, boolean magnitude) {
+        int aNaN = a.nanKind();
+        int bNaN = b.nanKind();
+        if (aNaN != 0 || bNaN != 0) {
+            // a quiet NaN is ignored in favor of a number
+            if (bNaN == 1 && aNaN == 0) {
+                return fix(a);
+            }
+            if (aNaN == 1 && bNaN == 0) {
+                return fix(b);
+            }
+            return checkNans(a, b);
+        }
+        int c = magnitude ? cmp(copyAbs(a), copyAbs(b)) : cmp(a, b);
+        if (c == 0) {
+            c = compareTotal(a, b);
+        }
+        PDecimal ans;
+        if (min) {
+            ans = c == -1 ? a : b;
+        } else {
+            ans = c == -1 ? b : a;
+        }
+        return fix(ans);
+    }
+
+    // sign manipulation
+
+    static PDecimal copyAbs(PDecimal x) {
+        return PythonObjectFactory.getUncached().createDecimal(0, x.getCoefficient(), x.getExponent(), x.getKind());
+    }
+
+    static PDecimal copyNegate(PDecimal x) {
+        return PythonObjectFactory.getUncached().createDecimal(1 - x.getSign(), x.getCoefficient(), x.getExponent(), x.getKind());
+    }
+
+    static PDecimal copySign(PDecimal x, PDecimal other) {
+        return PythonObjectFactory.getUncached().createDecimal(other.getSign(), x.getCoefficient(), x.getExponent(), x.getKind());
+    }
+
+    // miscellaneous operations
+
+    @TruffleBoundary
+    PDecimal logb(PDecimal a) {
+        PDecimal ans = checkNans(a, null);
+        if (ans != null) {
+            return ans;
+        }
+        if (a.isInfinite()) {
+            return infinity(0);
+        }
+        if (a.isZero()) {
+            status |= DIVISION_BY_ZERO;
+            return infinity(1);
+        }
+        return fix(fromLong(a.adjusted()));
+    }
+
+    boolean isNormal(PDecimal a) {
+        return !a.isSpecial() && !a.isZero() && emin <= a.adjusted();
+    }
+
+    boolean isSubnormal(PDecimal a) {
+        return !a.isSpecial() && !a.isZero() && a.adjusted() < emin;
+    }
+
+    @TruffleBoundary
+    String numberClass(PDecimal a) {
+        if (a.isSNaN()) {
+            return "sNaN";
+        }
+        if (a.isQNaN()) {
+            return "NaN";
+        }
+        String sign = a.getSign() == 1 ? "-" : "+";
+        if (a.isInfinite()) {
+            return sign + "Infinity";
+        }
+        if (a.isZero()) {
+            return sign + "Zero";
+        }
+        if (isSubnormal(a)) {
+            return sign + "Subnormal";
+        }
+        return sign + "Normal";
+    }
+
+    /* the digits of a logical operand, or null if it is none */
+    private static String logicalDigits(PDecimal x) {
+        if (x.isSpecial() || x.getSign() != 0 || x.getExponent() != 0) {
+            return null;
+        }
+        String digits = x.getCoefficient().toString();
+        for (int i = 0; i < digits.length(); i++) {
+            char c = digits.charAt(i);
+            if (c != '0' && c != '1') {
+                return null;
+            }
+        }
+        return digits;
+    }
+
+    /* the operand as prec digits, like _fill_logical */
+    private String fillLogical(String digits) {
+        if (prec > MAX_DIGITS) {
+            throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.MemoryError);
+        }
+        int p = (int) prec;
+        if (digits.length() > p) {
+            return digits.substring(digits.length() - p);
+        }
+        return "0".repeat(p - digits.length()) + digits;
+    }
+
+    @TruffleBoundary
+    PDecimal logicalAnd(PDecimal a, PDecimal b) {
+        return logical(a, b, '&');
+    }
+
+    @TruffleBoundary
+    PDecimal logicalOr(PDecimal a, PDecimal b) {
+        return logical(a, b, '|');
+    }
+
+    @TruffleBoundary
+    PDecimal logicalXor(PDecimal a, PDecimal b) {
+        return logical(a, b, '^');
+    }
+
+    @TruffleBoundary
+    PDecimal logicalInvert(PDecimal a) {
+        if (prec > MAX_DIGITS) {
+            throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.MemoryError);
+        }
+        return logical(a, finite(0, new BigInteger("1".repeat((int) prec)), 0), '^');
+    }
+
+    private PDecimal logical(PDecimal a, PDecimal b, char op) {
+        String digitsA = logicalDigits(a);
+        String digitsB = logicalDigits(b);
+        if (digitsA == null || digitsB == null) {
+            return invalid();
+        }
+        String opA = fillLogical(digitsA);
+        String opB = fillLogical(digitsB);
+        StringBuilder result = new StringBuilder(opA.length());
+        for (int i = 0; i < opA.length(); i++) {
+            int x = opA.charAt(i) - '0';
+            int y = opB.charAt(i) - '0';
+            int r = op == '&' ? x & y : op == '|' ? x | y : x ^ y;
+            result.append((char) ('0' + r));
+        }
+        return finite(0, new BigInteger(result.toString()), 0);
+    }
+
+    @TruffleBoundary
+    PDecimal nextMinus(PDecimal a) {
+        PDecimal ans = checkNans(a, null);
+        if (ans != null) {
+            return ans;
+        }
+        if (a.isInfinite()) {
+            return a.getSign() == 1 ? infinity(1) : finite(0, nines(prec), etop());
+        }
+        return nextToward(a, ROUND_FLOOR, 1);
+    }
+
+    @TruffleBoundary
+    PDecimal nextPlus(PDecimal a) {
+        PDecimal ans = checkNans(a, null);
+        if (ans != null) {
+            return ans;
+        }
+        if (a.isInfinite()) {
+            return a.getSign() == 0 ? infinity(0) : finite(1, nines(prec), etop());
+        }
+        return nextToward(a, ROUND_CEILING, 0);
+    }
+
+    /* the neighbour of a finite value in one direction, computed without raising signals */
+    private PDecimal nextToward(PDecimal a, int rnd, int tinySign) {
+        int savedStatus = status;
+        PDecimal ans = fix(a, rnd);
+        if (cmp(ans, a) == 0) {
+            ans = add(a, finite(tinySign, 1, etiny() - 1), rnd);
+        }
+        status = savedStatus;
+        return ans;
+    }
+
+    @TruffleBoundary
+    PDecimal nextToward(PDecimal a, PDecimal b) {
+        PDecimal ans = checkNans(a, b);
+        if (ans != null) {
+            return ans;
+        }
+        int comparison = cmp(a, b);
+        if (comparison == 0) {
+            return copySign(a, b);
+        }
+        ans = comparison == -1 ? nextPlus(a) : nextMinus(a);
+        if (ans.isInfinite()) {
+            status |= OVERFLOW | INEXACT | ROUNDED;
+        } else if (ans.adjusted() < emin) {
+            status |= UNDERFLOW | SUBNORMAL | INEXACT | ROUNDED;
+            if (ans.isZero()) {
+                status |= CLAMPED;
+            }
+        }
+        return ans;
+    }
+
+    /* the digits of a coefficient padded or cut to prec digits, like rotate and shift */
+    private String precisionDigits(PDecimal x) {
+        return fillLogical(x.getCoefficient().toString());
+    }
+
+    /* the integral value of the second operand of rotate, scaleb and shift, or null if invalid */
+    private static BigInteger integralOperand(PDecimal b) {
+        if (b.isSpecial() || b.getExponent() != 0) {
+            return null;
+        }
+        BigInteger value = b.getCoefficient();
+        return b.getSign() == 1 ? value.negate() : value;
+    }
+
+    private static boolean inRange(BigInteger value, long min, long max) {
+        return value.compareTo(BigInteger.valueOf(min)) >= 0 && value.compareTo(BigInteger.valueOf(max)) <= 0;
+    }
+
+    @TruffleBoundary
+    PDecimal rotate(PDecimal a, PDecimal b) {
+        PDecimal ans = checkNans(a, b);
+        if (ans != null) {
+            return ans;
+        }
+        BigInteger amount = integralOperand(b);
+        if (amount == null || !inRange(amount, -prec, prec)) {
+            return invalid();
+        }
+        if (a.isInfinite()) {
+            return asDecimal(a);
+        }
+        String digits = precisionDigits(a);
+        int n = Math.floorMod(amount.intValue(), Math.max(digits.length(), 1));
+        String rotated = digits.substring(n) + digits.substring(0, n);
+        return finite(a.getSign(), new BigInteger(rotated), a.getExponent());
+    }
+
+    @TruffleBoundary
+    PDecimal scaleb(PDecimal a, PDecimal b) {
+        PDecimal ans = checkNans(a, b);
+        if (ans != null) {
+            return ans;
+        }
+        BigInteger amount = integralOperand(b);
+        long limit = 2 * (emax + prec);
+        if (amount == null || !inRange(amount, -limit, limit)) {
+            return invalid();
+        }
+        if (a.isInfinite()) {
+            return asDecimal(a);
+        }
+        return fix(finite(a.getSign(), a.getCoefficient(), a.getExponent() + amount.longValue()));
+    }
+
+    @TruffleBoundary
+    PDecimal shift(PDecimal a, PDecimal b) {
+        PDecimal ans = checkNans(a, b);
+        if (ans != null) {
+            return ans;
+        }
+        BigInteger amount = integralOperand(b);
+        if (amount == null || !inRange(amount, -prec, prec)) {
+            return invalid();
+        }
+        if (a.isInfinite()) {
+            return asDecimal(a);
+        }
+        String digits = precisionDigits(a);
+        int n = amount.intValue();
+        String shifted;
+        if (n < 0) {
+            shifted = digits.substring(0, Math.max(digits.length() + n, 0));
+        } else {
+            shifted = digits + "0".repeat(n);
+            shifted = shifted.substring(shifted.length() - digits.length());
+        }
+        return finite(a.getSign(), shifted.isEmpty() ? BigInteger.ZERO : new BigInteger(shifted), a.getExponent());
+    }
+
+    // conversions
+
+    static PDecimal fromLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            return fromBigInteger(BigInteger.valueOf(value));
+        }
+        return finite(value < 0 ? 1 : 0, Math.abs(value), 0);
+    }
+
+    @TruffleBoundary
+    static PDecimal fromBigInteger(BigInteger value) {
+        return finite(value.signum() < 0 ? 1 : 0, value.abs(), 0);
+    }
+
+    /**
+     * The exact value of a float, like {@code Decimal.from_float}. The sign of a NaN is dropped.
+     */
+    @TruffleBoundary
+    static PDecimal fromDouble(double value) {
+        if (Double.isNaN(value)) {
+            return nan();
+        }
+        int sign = Double.doubleToRawLongBits(value) < 0 ? 1 : 0;
+        if (Double.isInfinite(value)) {
+            return infinity(sign);
+        }
+        long bits = Double.doubleToRawLongBits(value);
+        int biasedExponent = (int) ((bits >> 52) & 0x7ff);
+        long mantissa = bits & 0xfffffffffffffL;
+        if (biasedExponent == 0) {
+            biasedExponent = 1;
+        } else {
+            mantissa |= 1L << 52;
+        }
+        if (mantissa == 0) {
+            return finite(sign, 0, 0);
+        }
+        int exponent = biasedExponent - 1075;
+        if (exponent >= 0) {
+            return finite(sign, BigInteger.valueOf(mantissa).shiftLeft(exponent), 0);
+        }
+        int shift = Math.min(Long.numberOfTrailingZeros(mantissa), -exponent);
+        mantissa >>= shift;
+        int k = -(exponent + shift);
+        if (k == 0) {
+            return finite(sign, mantissa, 0);
+        }
+        return finite(sign, BigInteger.valueOf(mantissa).multiply(FIVE.pow(k)), -k);
+    }
+
+    /**
+     * Parses a numeric string. If {@code exact}, as in the constructor, surrounding whitespace and
+     * all underscores are ignored and the value is kept as it is, which is an invalid operation if
+     * its exponent is out of the limits. Otherwise, as in {@code Context.create_decimal}, the value
+     * is fitted into the context like by {@link #applyContext}. Other than ASCII digits, any decimal
+     * digit is accepted. An invalid literal signals {@code ConversionSyntax} and results in a NaN.
+     */
+    @TruffleBoundary
+    PDecimal fromString(String value, boolean exact) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length();) {
+            int c = value.codePointAt(i);
+            i += Character.charCount(c);
+            if (c == '_' && exact) {
+                continue;
+            }
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c) || c == 0x85) {
+                sb.append(' ');
+            } else if (c < 128) {
+                sb.append((char) c);
+            } else if (Character.getType(c) == Character.DECIMAL_DIGIT_NUMBER) {
+                sb.append((char) ('0' + Character.digit(c, 10)));
+            } else {
+                return condition(CONVERSION_SYNTAX);
+            }
+        }
+        String s = exact ? sb.toString().trim() : sb.toString();
+        int n = s.length();
+        int i = 0;
+        int sign = 0;
+        if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+            sign = s.charAt(i) == '-' ? 1 : 0;
+            i++;
+        }
+        String rest = s.substring(i).toLowerCase(Locale.ROOT);
+        if (rest.equals("inf") || rest.equals("infinity")) {
+            return infinity(sign);
+        }
+        if (rest.startsWith("nan") || rest.startsWith("snan")) {
+            String payload = rest.substring(rest.charAt(0) == 's' ? 4 : 3);
+            if (!isDigits(payload, 0, payload.length())) {
+                return condition(CONVERSION_SYNTAX);
+            }
+            BigInteger coefficient = payload.isEmpty() ? BigInteger.ZERO : new BigInteger(payload);
+            PDecimal nan = special(sign, coefficient, rest.charAt(0) == 's' ? PDecimal.SNAN : PDecimal.QNAN);
+            return exact ? nan : applyContext(nan);
+        }
+        int intStart = i;
+        while (i < n && isDigit(s.charAt(i))) {
+            i++;
+        }
+        String intPart = s.substring(intStart, i);
+        String fracPart = "";
+        if (i < n && s.charAt(i) == '.') {
+            int fracStart = ++i;
+            while (i < n && isDigit(s.charAt(i))) {
+                i++;
+            }
+            fracPart = s.substring(fracStart, i);
+        }
+        if (intPart.isEmpty() && fracPart.isEmpty()) {
+            return condition(CONVERSION_SYNTAX);
+        }
+        BigInteger exp = BigInteger.ZERO;
+        if (i < n && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            int expStart = ++i;
+            if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')) {
+                i++;
+            }
+            if (!isDigits(s, i, n) || i == n) {
+                return condition(CONVERSION_SYNTAX);
+            }
+            exp = new BigInteger(s.substring(expStart, n));
+            i = n;
+        }
+        if (i != n) {
+            return condition(CONVERSION_SYNTAX);
+        }
+        BigInteger coefficient = new BigInteger(intPart + fracPart);
+        exp = exp.subtract(BigInteger.valueOf(fracPart.length()));
+        if (!exact) {
+            /*
+             * Any exponent beyond these bounds overflows or underflows in every context, the
+             * bounds keep the exponent arithmetic of fix within a long.
+             */
+            exp = exp.max(BigInteger.valueOf(2 * MIN_ETINY)).min(BigInteger.valueOf(2 * MAX_EMAX));
+            return fix(finite(sign, coefficient, exp.longValue()));
+        }
+        if (exp.compareTo(BigInteger.valueOf(MIN_ETINY)) < 0 || exp.add(BigInteger.valueOf(digits(coefficient) - 1)).compareTo(BigInteger.valueOf(MAX_EMAX)) > 0) {
+            return invalid();
+        }
+        return finite(sign, coefficient, exp.longValue());
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isDigits(String s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies the context to a value like {@code Context.create_decimal}: a NaN keeps its payload
+     * if it fits into the precision, anything else is rounded.
+     */
+    @TruffleBoundary
+    PDecimal applyContext(PDecimal x) {
+        if (x.isNaN()) {
+            if (x.getDigits() > prec - (clamp ? 1 : 0)) {
+                return condition(CONVERSION_SYNTAX);
+            }
+            return asDecimal(x);
+        }
+        return fix(x);
+    }
+
+    /**
+     * The string representation of {@code Decimal.__str__}, or of {@code to_eng_string} if
+     * {@code eng}.
+     */
+    @TruffleBoundary
+    static String toString(PDecimal x, boolean eng, boolean capitals) {
+        String sign = x.getSign() == 1 ? "-" : "";
+        if (x.isInfinite()) {
+            return sign + "Infinity";
+        }
+        if (x.isNaN()) {
+            String payload = x.getDigits() == 0 ? "" : x.getCoefficient().toString();
+            return sign + (x.isSNaN() ? "sNaN" : "NaN") + payload;
+        }
+        String digits = x.getCoefficient().toString();
+        long exp = x.getExponent();
+        long leftDigits = exp + digits.length();
+        long dotPlace;
+        if (exp <= 0 && leftDigits > -6) {
+            dotPlace = leftDigits;
+        } else if (!eng) {
+            dotPlace = 1;
+        } else if (x.isZero()) {
+            dotPlace = Math.floorMod(leftDigits + 1, 3) - 1;
+        } else {
+            dotPlace = Math.floorMod(leftDigits - 1, 3) + 1;
+        }
+        StringBuilder sb = new StringBuilder(sign);
+        if (dotPlace <= 0) {
+            sb.append("0.");
+            for (long i = 0; i < -dotPlace; i++) {
+                sb.append('0');
+            }
+            sb.append(digits);
+        } else if (dotPlace >= digits.length()) {
+            sb.append(digits);
+            for (long i = digits.length(); i < dotPlace; i++) {
+                sb.append('0');
+            }
+        } else {
+            sb.append(digits, 0, (int) dotPlace).append('.').append(digits, (int) dotPlace, digits.length());
+        }
+        if (leftDigits != dotPlace) {
+            long e = leftDigits - dotPlace;
+            sb.append(capitals ? 'E' : 'e').append(e < 0 ? '-' : '+').append(Math.abs(e));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The hash of a value that is not a signaling NaN, which equals that of equal ints, floats and
+     * fractions.
+     */
+    @TruffleBoundary
+    static long hash(PDecimal x) {
+        assert !x.isSNaN();
+        if (x.isNaN()) {
+            return SysModuleBuiltins.HASH_NAN;
+        }
+        if (x.isInfinite()) {
+            return x.getSign() == 1 ? -SysModuleBuiltins.HASH_INF : SysModuleBuiltins.HASH_INF;
+        }
+        BigInteger expHash;
+        if (x.getExponent() >= 0) {
+            expHash = BigInteger.TEN.modPow(BigInteger.valueOf(x.getExponent()), HASH_MODULUS);
+        } else {
+            expHash = HASH_10INV.modPow(BigInteger.valueOf(-x.getExponent()), HASH_MODULUS);
+        }
+        long hash = x.getCoefficient().multiply(expHash).mod(HASH_MODULUS).longValue();
+        if (x.getSign() == 1) {
+            hash = -hash;
+        }
+        return hash == -1 ? -2 : hash;
+    }
+
+    /**
+     * The integral part of a finite value.
+     */
+    @TruffleBoundary
+    static BigInteger toBigInteger(PDecimal x) {
+        assert x.isFinite();
+        BigInteger value;
+        if (x.getExponent() >= 0) {
+            value = x.getCoefficient().multiply(pow10(x.getExponent()));
+        } else if (-x.getExponent() >= x.getDigits()) {
+            value = BigInteger.ZERO;
+        } else {
+            value = x.getCoefficient().divide(pow10(-x.getExponent()));
+        }
+        return x.getSign() == 1 ? value.negate() : value;
+    }
+
+    /**
+     * The numerator and the positive denominator of a finite value in lowest terms.
+     */
+    @TruffleBoundary
+    static BigInteger[] toIntegerRatio(PDecimal x) {
+        assert x.isFinite();
+        BigInteger n = x.getCoefficient();
+        BigInteger d;
+        if (n.signum() == 0) {
+            return new BigInteger[]{BigInteger.ZERO, BigInteger.ONE};
+        }
+        if (x.getExponent() >= 0) {
+            n = n.multiply(pow10(x.getExponent()));
+            d = BigInteger.ONE;
+        } else {
+            long d5 = -x.getExponent();
+            BigInteger[] qr;
+            while (d5 > 0 && (qr = n.divideAndRemainder(FIVE))[1].signum() == 0) {
+                n = qr[0];
+                d5--;
+            }
+            long d2 = -x.getExponent();
+            int shift2 = (int) Math.min(n.getLowestSetBit(), d2);
+            n = n.shiftRight(shift2);
+            d2 -= shift2;
+            if (d5 > MAX_DIGITS || d2 > Integer.MAX_VALUE) {
+                throw PRaiseNode.getUncached().raise(PythonBuiltinClassType.MemoryError);
+            }
+            d = FIVE.pow((int) d5).shiftLeft((int) d2);
+        }
+        return new BigInteger[]{x.getSign() == 1 ? n.negate() : n, d};
+    }
+
+    /**
+     * The nearest float of a value that is not a signaling NaN.
+     */
+    @TruffleBoundary
+    static double toDouble(PDecimal x) {
+        if (x.isNaN()) {
+            return x.getSign() == 1 ? Double.longBitsToDouble(0xfff8000000000000L) : Double.NaN;
+        }
+        return Double.parseDouble(toString(x, false, true));
+    }
+}
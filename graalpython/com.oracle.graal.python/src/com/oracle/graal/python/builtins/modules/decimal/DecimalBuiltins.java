@@ -0,0 +1,1263 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.FLOAT_OPERATION;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.INVALID_OPERATION;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.addStatus;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.convertOperand;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.convertOperandOrRaise;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.getContext;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.getCurrentContext;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.getRounding;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.toInt;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ABS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__BOOL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CEIL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__COMPLEX__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DEEPCOPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DIVMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__FLOAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__FLOORDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__FLOOR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__FORMAT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__MOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__MUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEG__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__POS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__POW__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RDIVMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RFLOORDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RMOD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ROUND__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RPOW__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RSUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RTRUEDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__STR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SUB__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__TRUEDIV__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__TRUNC__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.complex.PComplex;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaLongExactNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.formatting.InternalFormat;
+import com.oracle.graal.python.runtime.formatting.InternalFormat.Spec;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+/**
+ * The methods of {@code decimal.Decimal}. The operators use the current context and return
+ * {@code NotImplemented} for operands other than decimals and ints, the named methods take an
+ * optional context and raise a {@code TypeError} for such operands.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDecimal)
+public final class DecimalBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * The integral part of a finite value, the errors of {@code int()} otherwise.
+     */
+    private static BigInteger toBigInteger(PythonBuiltinBaseNode node, PDecimal x) {
+        if (x.isNaN()) {
+            throw node.raise(ValueError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "NaN");
+        } else if (x.isInfinite()) {
+            throw node.raise(OverflowError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "Infinity");
+        }
+        return DecimalArithmetic.toBigInteger(x);
+    }
+
+    // operators
+
+    abstract static class BinaryOperatorNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object op(Object left, Object right) {
+            PDecimal a = convertOperand(left);
+            PDecimal b = convertOperand(right);
+            if (a == null || b == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            PDecimalContext context = getCurrentContext(this);
+            DecimalArithmetic arith = new DecimalArithmetic(context);
+            Object result = compute(arith, a, b);
+            addStatus(this, context, arith.getStatus());
+            return result;
+        }
+
+        @SuppressWarnings("unused")
+        protected Object compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            throw new AbstractMethodError("compute");
+        }
+    }
+
+    @Builtin(name = __RADD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __ADD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class AddNode extends BinaryOperatorNode {
+        @Override
+        protected Object compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.add(a, b);
+        }
+    }
+
+    @Builtin(name = __RSUB__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __SUB__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class SubNode extends BinaryOperatorNode {
+        @Override
+        protected Object compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.subtract(a, b);
+        }
+    }
+
+    @Builtin(name = __RMUL__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __MUL__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class MulNode extends BinaryOperatorNode {
+        @Override
+        protected Object compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.multiply(a, b);
+        }
+    }
+
+    @Builtin(name = __RTRUEDIV__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __TRUEDIV__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class TrueDivNode extends BinaryOperatorNode {
+        @Override
+        protected Object compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.divide(a, b);
+        }
+    }
+
+    @Builtin(name = __RFLOORDIV__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __FLOORDIV__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class FloorDivNode extends BinaryOperatorNode {
+        @Override
+        protected Object compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.floorDivide(a, b);
+        }
+    }
+
+    @Builtin(name = __RMOD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __MOD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ModNode extends BinaryOperatorNode {
+        @Override
+        protected Object compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.remainder(a, b);
+        }
+    }
+
+    @Builtin(name = __RDIVMOD__, minNumOfPositionalArgs = 2, reverseOperation = true)
+    @Builtin(name = __DIVMOD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DivModNode extends BinaryOperatorNode {
+        @Override
+        protected Object compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            PDecimal[] result = arith.divmod(a, b);
+            return factory().createTuple(new Object[]{result[0], result[1]});
+        }
+    }
+
+    @Builtin(name = __RPOW__, minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 3, reverseOperation = true)
+    @Builtin(name = __POW__, minNumOfPositionalArgs = 2, maxNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class PowNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object pow(Object left, Object right, Object modulo) {
+            PDecimal a = convertOperand(left);
+            PDecimal b = convertOperand(right);
+            PDecimal m = null;
+            if (modulo != PNone.NO_VALUE && modulo != PNone.NONE) {
+                m = convertOperand(modulo);
+                if (m == null) {
+                    return PNotImplemented.NOT_IMPLEMENTED;
+                }
+            }
+            if (a == null || b == null) {
+                return PNotImplemented.NOT_IMPLEMENTED;
+            }
+            PDecimalContext context = getCurrentContext(this);
+            DecimalArithmetic arith = new DecimalArithmetic(context);
+            PDecimal result = m == null ? arith.power(a, b) : arith.powerModulo(a, b, m);
+            addStatus(this, context, arith.getStatus());
+            return result;
+        }
+    }
+
+    abstract static class UnaryOperatorNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDecimal op(PDecimal self) {
+            PDecimalContext context = getCurrentContext(this);
+            DecimalArithmetic arith = new DecimalArithmetic(context);
+            PDecimal result = compute(arith, self);
+            addStatus(this, context, arith.getStatus());
+            return result;
+        }
+
+        @SuppressWarnings("unused")
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            throw new AbstractMethodError("compute");
+        }
+    }
+
+    @Builtin(name = __NEG__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class NegNode extends UnaryOperatorNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.minus(a);
+        }
+    }
+
+    @Builtin(name = __POS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class PosNode extends UnaryOperatorNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.plus(a);
+        }
+    }
+
+    @Builtin(name = __ABS__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AbsNode extends UnaryOperatorNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.abs(a);
+        }
+    }
+
+    // comparisons
+
+    /**
+     * Compares with decimals, ints, floats, {@code numbers.Rational} and, for (in)equality, complex
+     * numbers without imaginary part. Ordering comparisons with floats and NaNs signal
+     * {@code FloatOperation} and {@code InvalidOperation}, which may be trapped.
+     */
+    abstract static class AbstractComparisonNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object cmp(PDecimal self, Object other) {
+            PDecimalContext context = getCurrentContext(this);
+            PDecimal a = self;
+            PDecimal b = convertOperand(other);
+            if (b == null) {
+                boolean isComplex = other instanceof PComplex && isEquality() && ((PComplex) other).getImag() == 0;
+                if (DecimalNodes.isFloat(other) || isComplex) {
+                    if (isEquality()) {
+                        context.setFlags(context.getFlags() | FLOAT_OPERATION);
+                    } else {
+                        addStatus(this, context, FLOAT_OPERATION);
+                    }
+                    b = DecimalArithmetic.fromDouble(isComplex ? ((PComplex) other).getReal() : DecimalNodes.getFloat(other));
+                } else {
+                    PDecimal[] rational = convertRational(getCore(), self, other);
+                    if (rational == null) {
+                        return PNotImplemented.NOT_IMPLEMENTED;
+                    }
+                    a = rational[0];
+                    b = rational[1];
+                }
+            }
+            if (a.isNaN() || b.isNaN()) {
+                if (a.isSNaN() || b.isSNaN() || !isEquality()) {
+                    addStatus(this, context, INVALID_OPERATION);
+                }
+                // NaNs are unordered, only != holds
+                return compareResult(-1) && compareResult(1);
+            }
+            return compareResult(DecimalArithmetic.cmp(a, b));
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object cmp(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+
+        protected boolean isEquality() {
+            return false;
+        }
+
+        @SuppressWarnings("unused")
+        protected boolean compareResult(int result) {
+            throw new AbstractMethodError("compareResult");
+        }
+
+        /**
+         * If the other operand is a {@code numbers.Rational}, returns the operands to compare
+         * instead, the decimal multiplied by the denominator and the numerator.
+         */
+        @TruffleBoundary
+        private static PDecimal[] convertRational(PythonCore core, PDecimal self, Object other) {
+            PDict modules = core.getContext().getSysModules();
+            Object numbers = modules.getItem("numbers");
+            if (numbers == null) {
+                return null;
+            }
+            PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+            Object rational = lib.lookupAttribute(numbers, null, "Rational");
+            if (rational == PNone.NO_VALUE || !lib.isTrue(lib.callObject(lib.lookupAttributeStrict(rational, null, "__instancecheck__"), null, other))) {
+                return null;
+            }
+            PDecimal numerator = convertOperand(lib.lookupAttributeStrict(other, null, "numerator"));
+            PDecimal denominator = convertOperand(lib.lookupAttributeStrict(other, null, "denominator"));
+            if (numerator == null || denominator == null) {
+                return null;
+            }
+            PDecimal scaled = self;
+            if (self.isFinite()) {
+                scaled = core.factory().createDecimal(self.getSign(), self.getCoefficient().multiply(denominator.getCoefficient()), self.getExponent(), PDecimal.FINITE);
+            }
+            return new PDecimal[]{scaled, numerator};
+        }
+    }
+
+    @Builtin(name = __EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends AbstractComparisonNode {
+        @Override
+        protected boolean isEquality() {
+            return true;
+        }
+
+        @Override
+        protected boolean compareResult(int result) {
+            return result == 0;
+        }
+    }
+
+    @Builtin(name = __NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean isEquality() {
+            return true;
+        }
+
+        @Override
+        protected boolean compareResult(int result) {
+            return result != 0;
+        }
+    }
+
+    @Builtin(name = __LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result < 0;
+        }
+    }
+
+    @Builtin(name = __LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result <= 0;
+        }
+    }
+
+    @Builtin(name = __GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result > 0;
+        }
+    }
+
+    @Builtin(name = __GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends AbstractComparisonNode {
+        @Override
+        protected boolean compareResult(int result) {
+            return result >= 0;
+        }
+    }
+
+    // conversions
+
+    @Builtin(name = __HASH__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class HashNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        long hash(PDecimal self) {
+            if (self.isSNaN()) {
+                throw raise(TypeError, ErrorMessages.CANNOT_HASH_A_SIGNALING_NAN_VALUE);
+            }
+            return DecimalArithmetic.hash(self);
+        }
+    }
+
+    @Builtin(name = __BOOL__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class BoolNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean bool(PDecimal self) {
+            return !self.isZero();
+        }
+    }
+
+    @Builtin(name = __STR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class StrNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        String str(PDecimal self) {
+            return DecimalArithmetic.toString(self, false, getCurrentContext(this).getCapitals() != 0);
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        String repr(PDecimal self) {
+            return repr(DecimalArithmetic.toString(self, false, getCurrentContext(this).getCapitals() != 0));
+        }
+
+        @TruffleBoundary
+        private static String repr(String value) {
+            return "Decimal('" + value + "')";
+        }
+    }
+
+    @Builtin(name = "to_eng_string", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class ToEngStringNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        String toEngString(PDecimal self, Object context) {
+            return DecimalArithmetic.toString(self, true, getContext(this, context).getCapitals() != 0);
+        }
+    }
+
+    @Builtin(name = __FORMAT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class FormatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        String format(PDecimal self, Object formatSpec) {
+            if (!(formatSpec instanceof String || formatSpec instanceof PString)) {
+                throw raise(TypeError, ErrorMessages.FORMAT_ARG_MUST_BE_STR);
+            }
+            Spec spec = InternalFormat.fromText(getRaiseNode(), formatSpec, __FORMAT__);
+            DecimalFormatter.validate(this, spec);
+            return DecimalFormatter.format(self, spec, getCurrentContext(this));
+        }
+    }
+
+    @Builtin(name = __INT__, minNumOfPositionalArgs = 1)
+    @Builtin(name = __TRUNC__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IntNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object toInt(PDecimal self) {
+            return DecimalNodes.toInt(factory(), toBigInteger(this, self));
+        }
+    }
+
+    abstract static class AbstractRoundToIntNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object round(PDecimal self) {
+            if (self.isNaN()) {
+                throw raise(ValueError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "NaN");
+            } else if (self.isInfinite()) {
+                throw raise(OverflowError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "Infinity");
+            }
+            DecimalArithmetic arith = new DecimalArithmetic(getCurrentContext(this));
+            return toInt(factory(), DecimalArithmetic.toBigInteger(arith.toIntegralValue(self, getRounding())));
+        }
+
+        protected int getRounding() {
+            throw new AbstractMethodError("getRounding");
+        }
+    }
+
+    @Builtin(name = __FLOOR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class FloorNode extends AbstractRoundToIntNode {
+        @Override
+        protected int getRounding() {
+            return DecimalUtils.ROUND_FLOOR;
+        }
+    }
+
+    @Builtin(name = __CEIL__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CeilNode extends AbstractRoundToIntNode {
+        @Override
+        protected int getRounding() {
+            return DecimalUtils.ROUND_CEILING;
+        }
+    }
+
+    @Builtin(name = __ROUND__, minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class RoundNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(ndigits)")
+        Object round(PDecimal self, @SuppressWarnings("unused") PNone ndigits) {
+            if (self.isNaN()) {
+                throw raise(ValueError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "NaN");
+            } else if (self.isInfinite()) {
+                throw raise(OverflowError, ErrorMessages.CANNOT_CONVERT_S_TO_INT, "Infinity");
+            }
+            DecimalArithmetic arith = new DecimalArithmetic(getCurrentContext(this));
+            return toInt(factory(), DecimalArithmetic.toBigInteger(arith.toIntegralValue(self, DecimalUtils.ROUND_HALF_EVEN)));
+        }
+
+        @Specialization(guards = "!isNoValue(ndigits)")
+        PDecimal round(PDecimal self, Object ndigits,
+                        @Cached CastToJavaLongExactNode castNode) {
+            long n;
+            try {
+                n = castNode.execute(ndigits);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.OPTIONAL_ARG_MUST_BE_AN_INTEGER);
+            }
+            PDecimalContext context = getCurrentContext(this);
+            DecimalArithmetic arith = new DecimalArithmetic(context);
+            PDecimal quantum = factory().createDecimal(0, 1, n == Long.MIN_VALUE ? Long.MAX_VALUE : -n, PDecimal.FINITE);
+            PDecimal result = arith.quantize(self, quantum, context.getRounding());
+            addStatus(this, context, arith.getStatus());
+            return result;
+        }
+    }
+
+    @Builtin(name = __FLOAT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class FloatNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        double toFloat(PDecimal self) {
+            if (self.isSNaN()) {
+                throw raise(ValueError, ErrorMessages.CANNOT_CONVERT_SIGNALING_NAN_TO_FLOAT);
+            }
+            return DecimalArithmetic.toDouble(self);
+        }
+    }
+
+    @Builtin(name = __COMPLEX__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ComplexNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PComplex toComplex(PDecimal self) {
+            if (self.isSNaN()) {
+                throw raise(ValueError, ErrorMessages.CANNOT_CONVERT_SIGNALING_NAN_TO_FLOAT);
+            }
+            return factory().createComplex(DecimalArithmetic.toDouble(self), 0);
+        }
+    }
+
+    @Builtin(name = "as_integer_ratio", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AsIntegerRatioNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object asIntegerRatio(PDecimal self) {
+            if (self.isNaN()) {
+                throw raise(ValueError, ErrorMessages.CANNOT_CONVERT_S_TO_INT_RATIO, "NaN");
+            } else if (self.isInfinite()) {
+                throw raise(OverflowError, ErrorMessages.CANNOT_CONVERT_S_TO_INT_RATIO, "Infinity");
+            }
+            BigInteger[] ratio = DecimalArithmetic.toIntegerRatio(self);
+            return factory().createTuple(new Object[]{toInt(factory(), ratio[0]), toInt(factory(), ratio[1])});
+        }
+    }
+
+    @Builtin(name = "as_tuple", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AsTupleNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object asTuple(VirtualFrame frame, PDecimal self,
+                        @Cached CallNode callNode) {
+            Object exponent;
+            if (self.isInfinite()) {
+                exponent = "F";
+            } else if (self.isNaN()) {
+                exponent = self.isSNaN() ? "N" : "n";
+            } else {
+                exponent = self.getExponent();
+            }
+            Object digits = factory().createTuple(getDigits(self));
+            Object tupleType = DecimalNodes.getModuleAttribute(getCore(), "DecimalTuple");
+            return callNode.execute(frame, tupleType, self.getSign(), digits, exponent);
+        }
+
+        @TruffleBoundary
+        private static Object[] getDigits(PDecimal self) {
+            if (self.isInfinite()) {
+                return new Object[]{0};
+            } else if (self.isNaN() && self.getDigits() == 0) {
+                return new Object[0];
+            }
+            String s = self.getCoefficient().toString();
+            Object[] digits = new Object[s.length()];
+            for (int i = 0; i < digits.length; i++) {
+                digits[i] = s.charAt(i) - '0';
+            }
+            return digits;
+        }
+    }
+
+    @Builtin(name = "from_float", minNumOfPositionalArgs = 2, isClassmethod = true)
+    @GenerateNodeFactory
+    abstract static class FromFloatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object fromFloat(VirtualFrame frame, Object cls, Object value,
+                        @Cached IsBuiltinClassProfile isDecimalProfile,
+                        @Cached CallNode callNode) {
+            PDecimal result;
+            if (DecimalNodes.isFloat(value)) {
+                result = DecimalArithmetic.fromDouble(DecimalNodes.getFloat(value));
+            } else if (value instanceof Integer || value instanceof Long || value instanceof Boolean || value instanceof PInt) {
+                result = convertOperand(value);
+            } else {
+                throw raise(TypeError, ErrorMessages.ARGUMENT_MUST_BE_INT_OR_FLOAT);
+            }
+            if (isDecimalProfile.profileClass(cls, PythonBuiltinClassType.PDecimal)) {
+                return result;
+            }
+            return callNode.execute(frame, cls, result);
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object reduce(PDecimal self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            Object[] args = new Object[]{DecimalArithmetic.toString(self, false, true)};
+            return factory().createTuple(new Object[]{lib.getLazyPythonClass(self), factory().createTuple(args)});
+        }
+    }
+
+    @Builtin(name = __COPY__, minNumOfPositionalArgs = 1)
+    @Builtin(name = "real", minNumOfPositionalArgs = 1, isGetter = true)
+    @Builtin(name = "canonical", minNumOfPositionalArgs = 1)
+    @Builtin(name = "conjugate", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class SelfNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PDecimal self(PDecimal self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __DEEPCOPY__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DeepCopyNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PDecimal deepCopy(PDecimal self, @SuppressWarnings("unused") Object memo) {
+            return self;
+        }
+    }
+
+    @Builtin(name = "imag", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ImagNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PDecimal imag(@SuppressWarnings("unused") PDecimal self) {
+            return DecimalArithmetic.fromLong(0);
+        }
+    }
+
+    @Builtin(name = "adjusted", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class AdjustedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long adjusted(PDecimal self) {
+            return self.isSpecial() ? 0 : self.adjusted();
+        }
+    }
+
+    @Builtin(name = "radix", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class RadixNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PDecimal radix(@SuppressWarnings("unused") PDecimal self) {
+            return DecimalArithmetic.fromLong(10);
+        }
+    }
+
+    // predicates
+
+    abstract static class PredicateNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        boolean op(PDecimal self) {
+            return test(self);
+        }
+
+        @SuppressWarnings("unused")
+        protected boolean test(PDecimal self) {
+            throw new AbstractMethodError("test");
+        }
+    }
+
+    @Builtin(name = "is_canonical", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsCanonicalNode extends PredicateNode {
+        @Override
+        protected boolean test(PDecimal self) {
+            return true;
+        }
+    }
+
+    @Builtin(name = "is_finite", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsFiniteNode extends PredicateNode {
+        @Override
+        protected boolean test(PDecimal self) {
+            return self.isFinite();
+        }
+    }
+
+    @Builtin(name = "is_infinite", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsInfiniteNode extends PredicateNode {
+        @Override
+        protected boolean test(PDecimal self) {
+            return self.isInfinite();
+        }
+    }
+
+    @Builtin(name = "is_nan", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsNaNNode extends PredicateNode {
+        @Override
+        protected boolean test(PDecimal self) {
+            return self.isNaN();
+        }
+    }
+
+    @Builtin(name = "is_qnan", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsQNaNNode extends PredicateNode {
+        @Override
+        protected boolean test(PDecimal self) {
+            return self.isQNaN();
+        }
+    }
+
+    @Builtin(name = "is_snan", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsSNaNNode extends PredicateNode {
+        @Override
+        protected boolean test(PDecimal self) {
+            return self.isSNaN();
+        }
+    }
+
+    @Builtin(name = "is_signed", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsSignedNode extends PredicateNode {
+        @Override
+        protected boolean test(PDecimal self) {
+            return self.getSign() == 1;
+        }
+    }
+
+    @Builtin(name = "is_zero", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IsZeroNode extends PredicateNode {
+        @Override
+        protected boolean test(PDecimal self) {
+            return self.isZero();
+        }
+    }
+
+    @Builtin(name = "is_normal", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class IsNormalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean isNormal(PDecimal self, Object context) {
+            return new DecimalArithmetic(getContext(this, context)).isNormal(self);
+        }
+    }
+
+    @Builtin(name = "is_subnormal", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class IsSubnormalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean isSubnormal(PDecimal self, Object context) {
+            return new DecimalArithmetic(getContext(this, context)).isSubnormal(self);
+        }
+    }
+
+    @Builtin(name = "number_class", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class NumberClassNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        String numberClass(PDecimal self, Object context) {
+            return new DecimalArithmetic(getContext(this, context)).numberClass(self);
+        }
+    }
+
+    // methods without context
+
+    @Builtin(name = "copy_abs", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyAbsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PDecimal copyAbs(PDecimal self) {
+            return DecimalArithmetic.copyAbs(self);
+        }
+    }
+
+    @Builtin(name = "copy_negate", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNegateNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PDecimal copyNegate(PDecimal self) {
+            return DecimalArithmetic.copyNegate(self);
+        }
+    }
+
+    /**
+     * Base class of the methods with an operand that do not depend on the context, which is only
+     * checked.
+     */
+    abstract static class ExactMethodNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object op(PDecimal self, Object other, Object context) {
+            getContext(this, context);
+            return compute(self, convertOperandOrRaise(this, other));
+        }
+
+        @SuppressWarnings("unused")
+        protected Object compute(PDecimal a, PDecimal b) {
+            throw new AbstractMethodError("compute");
+        }
+    }
+
+    @Builtin(name = "compare_total", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CompareTotalNode extends ExactMethodNode {
+        @Override
+        protected Object compute(PDecimal a, PDecimal b) {
+            return DecimalArithmetic.fromLong(DecimalArithmetic.compareTotal(a, b));
+        }
+    }
+
+    @Builtin(name = "compare_total_mag", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CompareTotalMagNode extends ExactMethodNode {
+        @Override
+        protected Object compute(PDecimal a, PDecimal b) {
+            return DecimalArithmetic.fromLong(DecimalArithmetic.compareTotalMag(a, b));
+        }
+    }
+
+    @Builtin(name = "copy_sign", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CopySignNode extends ExactMethodNode {
+        @Override
+        protected Object compute(PDecimal a, PDecimal b) {
+            return DecimalArithmetic.copySign(a, b);
+        }
+    }
+
+    @Builtin(name = "same_quantum", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class SameQuantumNode extends ExactMethodNode {
+        @Override
+        protected Object compute(PDecimal a, PDecimal b) {
+            return DecimalArithmetic.sameQuantum(a, b);
+        }
+    }
+
+    // methods with context
+
+    abstract static class UnaryMethodNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object op(PDecimal self, Object context) {
+            PDecimalContext ctx = getContext(this, context);
+            DecimalArithmetic arith = new DecimalArithmetic(ctx);
+            PDecimal result = compute(arith, self);
+            addStatus(this, ctx, arith.getStatus());
+            return result;
+        }
+
+        @SuppressWarnings("unused")
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            throw new AbstractMethodError("compute");
+        }
+    }
+
+    @Builtin(name = "exp", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class ExpNode extends UnaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.exp(a);
+        }
+    }
+
+    @Builtin(name = "ln", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class LnNode extends UnaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.ln(a);
+        }
+    }
+
+    @Builtin(name = "log10", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class Log10Node extends UnaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.log10(a);
+        }
+    }
+
+    @Builtin(name = "logb", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class LogbNode extends UnaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.logb(a);
+        }
+    }
+
+    @Builtin(name = "logical_invert", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class LogicalInvertNode extends UnaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.logicalInvert(a);
+        }
+    }
+
+    @Builtin(name = "next_minus", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class NextMinusNode extends UnaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.nextMinus(a);
+        }
+    }
+
+    @Builtin(name = "next_plus", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class NextPlusNode extends UnaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.nextPlus(a);
+        }
+    }
+
+    @Builtin(name = "normalize", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class NormalizeNode extends UnaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.normalize(a);
+        }
+    }
+
+    @Builtin(name = "sqrt", minNumOfPositionalArgs = 1, parameterNames = {"$self", "context"})
+    @GenerateNodeFactory
+    abstract static class SqrtNode extends UnaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a) {
+            return arith.sqrt(a);
+        }
+    }
+
+    abstract static class BinaryMethodNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object op(PDecimal self, Object other, Object context) {
+            PDecimalContext ctx = getContext(this, context);
+            PDecimal b = convertOperandOrRaise(this, other);
+            DecimalArithmetic arith = new DecimalArithmetic(ctx);
+            PDecimal result = compute(arith, self, b);
+            addStatus(this, ctx, arith.getStatus());
+            return result;
+        }
+
+        @SuppressWarnings("unused")
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            throw new AbstractMethodError("compute");
+        }
+    }
+
+    @Builtin(name = "compare", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CompareNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.compare(a, b);
+        }
+    }
+
+    @Builtin(name = "compare_signal", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class CompareSignalNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.compareSignal(a, b);
+        }
+    }
+
+    @Builtin(name = "max", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class MaxNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.max(a, b);
+        }
+    }
+
+    @Builtin(name = "max_mag", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class MaxMagNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.maxMag(a, b);
+        }
+    }
+
+    @Builtin(name = "min", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class MinNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.min(a, b);
+        }
+    }
+
+    @Builtin(name = "min_mag", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class MinMagNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.minMag(a, b);
+        }
+    }
+
+    @Builtin(name = "next_toward", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class NextTowardNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.nextToward(a, b);
+        }
+    }
+
+    @Builtin(name = "remainder_near", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class RemainderNearNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.remainderNear(a, b);
+        }
+    }
+
+    @Builtin(name = "rotate", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class RotateNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.rotate(a, b);
+        }
+    }
+
+    @Builtin(name = "scaleb", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class ScalebNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.scaleb(a, b);
+        }
+    }
+
+    @Builtin(name = "shift", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class ShiftNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.shift(a, b);
+        }
+    }
+
+    @Builtin(name = "logical_and", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class LogicalAndNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.logicalAnd(a, b);
+        }
+    }
+
+    @Builtin(name = "logical_or", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class LogicalOrNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.logicalOr(a, b);
+        }
+    }
+
+    @Builtin(name = "logical_xor", minNumOfPositionalArgs = 2, parameterNames = {"$self", "other", "context"})
+    @GenerateNodeFactory
+    abstract static class LogicalXorNode extends BinaryMethodNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.logicalXor(a, b);
+        }
+    }
+
+    @Builtin(name = "fma", minNumOfPositionalArgs = 3, parameterNames = {"$self", "other", "third", "context"})
+    @GenerateNodeFactory
+    abstract static class FmaNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        PDecimal fma(PDecimal self, Object other, Object third, Object context) {
+            PDecimalContext ctx = getContext(this, context);
+            PDecimal b = convertOperandOrRaise(this, other);
+            PDecimal c = convertOperandOrRaise(this, third);
+            DecimalArithmetic arith = new DecimalArithmetic(ctx);
+            PDecimal result = arith.fma(self, b, c);
+            addStatus(this, ctx, arith.getStatus());
+            return result;
+        }
+    }
+
+    @Builtin(name = "quantize", minNumOfPositionalArgs = 2, parameterNames = {"$self", "exp", "rounding", "context"})
+    @GenerateNodeFactory
+    abstract static class QuantizeNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        PDecimal quantize(PDecimal self, Object exp, Object rounding, Object context) {
+            PDecimalContext ctx = getContext(this, context);
+            int rnd = getRounding(this, rounding, ctx);
+            PDecimal b = convertOperandOrRaise(this, exp);
+            DecimalArithmetic arith = new DecimalArithmetic(ctx);
+            PDecimal result = arith.quantize(self, b, rnd);
+            addStatus(this, ctx, arith.getStatus());
+            return result;
+        }
+    }
+
+    abstract static class AbstractToIntegralNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PDecimal toIntegral(PDecimal self, Object rounding, Object context) {
+            PDecimalContext ctx = getContext(this, context);
+            int rnd = getRounding(this, rounding, ctx);
+            DecimalArithmetic arith = new DecimalArithmetic(ctx);
+            PDecimal result = compute(arith, self, rnd);
+            addStatus(this, ctx, arith.getStatus());
+            return result;
+        }
+
+        @SuppressWarnings("unused")
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, int rounding) {
+            throw new AbstractMethodError("compute");
+        }
+    }
+
+    @Builtin(name = "to_integral", minNumOfPositionalArgs = 1, parameterNames = {"$self", "rounding", "context"})
+    @Builtin(name = "to_integral_value", minNumOfPositionalArgs = 1, parameterNames = {"$self", "rounding", "context"})
+    @GenerateNodeFactory
+    abstract static class ToIntegralValueNode extends AbstractToIntegralNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, int rounding) {
+            return arith.toIntegralValue(a, rounding);
+        }
+    }
+
+    @Builtin(name = "to_integral_exact", minNumOfPositionalArgs = 1, parameterNames = {"$self", "rounding", "context"})
+    @GenerateNodeFactory
+    abstract static class ToIntegralExactNode extends AbstractToIntegralNode {
+        @Override
+        protected PDecimal compute(DecimalArithmetic arith, PDecimal a, int rounding) {
+            return arith.toIntegralExact(a, rounding);
+        }
+    }
+}
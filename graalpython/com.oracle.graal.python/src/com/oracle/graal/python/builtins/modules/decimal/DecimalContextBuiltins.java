@@ -0,0 +1,1035 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.addStatus;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalNodes.convertOperandOrRaise;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DELATTR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.AttributeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaLongExactNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+/**
+ * The methods of {@code decimal.Context}. The arithmetic methods convert their operands like the
+ * named methods of {@code Decimal} and signal on this context.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDecimalContext)
+public final class DecimalContextBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalContextBuiltinsFactory.getFactories();
+    }
+
+    // settings
+
+    private static long toLong(PythonBuiltinBaseNode node, Object value) {
+        try {
+            return CastToJavaLongExactNode.getUncached().execute(value);
+        } catch (CannotCastException e) {
+            throw node.raise(TypeError, ErrorMessages.INTEGER_REQUIRED);
+        }
+    }
+
+    static void setPrec(PythonBuiltinBaseNode node, PDecimalContext context, Object value) {
+        long prec = toLong(node, value);
+        if (prec < 1 || prec > DecimalArithmetic.MAX_PREC) {
+            throw node.raise(ValueError, ErrorMessages.VALID_RANGE_FOR_PREC);
+        }
+        context.setPrec(prec);
+    }
+
+    static void setEmin(PythonBuiltinBaseNode node, PDecimalContext context, Object value) {
+        long emin = toLong(node, value);
+        if (emin < DecimalArithmetic.MIN_EMIN || emin > 0) {
+            throw node.raise(ValueError, ErrorMessages.VALID_RANGE_FOR_EMIN);
+        }
+        context.setEmin(emin);
+    }
+
+    static void setEmax(PythonBuiltinBaseNode node, PDecimalContext context, Object value) {
+        long emax = toLong(node, value);
+        if (emax < 0 || emax > DecimalArithmetic.MAX_EMAX) {
+            throw node.raise(ValueError, ErrorMessages.VALID_RANGE_FOR_EMAX);
+        }
+        context.setEmax(emax);
+    }
+
+    static void setCapitals(PythonBuiltinBaseNode node, PDecimalContext context, Object value) {
+        long capitals = toLong(node, value);
+        if (capitals != 0 && capitals != 1) {
+            throw node.raise(ValueError, ErrorMessages.VALID_VALUES_FOR_CAPITALS);
+        }
+        context.setCapitals((int) capitals);
+    }
+
+    static void setClamp(PythonBuiltinBaseNode node, PDecimalContext context, Object value) {
+        long clamp = toLong(node, value);
+        if (clamp != 0 && clamp != 1) {
+            throw node.raise(ValueError, ErrorMessages.VALID_VALUES_FOR_CLAMP);
+        }
+        context.setClamp((int) clamp);
+    }
+
+    /*
+     * The constructor accepts the flags and traps as list of the signals that are set, or like the
+     * attributes as mapping of all signals to booleans.
+     */
+    private static int signalsAsBits(PythonBuiltinBaseNode node, Object value) {
+        if (value instanceof PList) {
+            return DecimalNodes.listAsBits(node, (PList) value);
+        }
+        return DecimalNodes.dictAsBits(node, value);
+    }
+
+    private static boolean isGiven(Object value) {
+        return value != PNone.NO_VALUE && value != PNone.NONE;
+    }
+
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 1, parameterNames = {"$self", "prec", "rounding", "Emin", "Emax", "capitals", "clamp", "flags", "traps"})
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonBuiltinNode {
+        @Specialization
+        PNone init(PDecimalContext self, Object prec, Object rounding, Object emin, Object emax, Object capitals, Object clamp, Object flags, Object traps) {
+            if (isGiven(prec)) {
+                setPrec(this, self, prec);
+            }
+            if (isGiven(rounding)) {
+                self.setRounding(DecimalNodes.getRounding(this, rounding));
+            }
+            if (isGiven(emin)) {
+                setEmin(this, self, emin);
+            }
+            if (isGiven(emax)) {
+                setEmax(this, self, emax);
+            }
+            if (isGiven(capitals)) {
+                setCapitals(this, self, capitals);
+            }
+            if (isGiven(clamp)) {
+                setClamp(this, self, clamp);
+            }
+            if (isGiven(traps)) {
+                self.setTraps(signalsAsBits(this, traps));
+            }
+            if (isGiven(flags)) {
+                self.setFlags(signalsAsBits(this, flags));
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "prec", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class PrecNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(noValue)")
+        static long get(PDecimalContext self, @SuppressWarnings("unused") PNone noValue) {
+            return self.getPrec();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(PDecimalContext self, Object value) {
+            setPrec(this, self, value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "rounding", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class RoundingNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(noValue)")
+        static String get(PDecimalContext self, @SuppressWarnings("unused") PNone noValue) {
+            return DecimalNodes.ROUNDING_NAMES[self.getRounding()];
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(PDecimalContext self, Object value) {
+            self.setRounding(DecimalNodes.getRounding(this, value));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "Emin", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class EminNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(noValue)")
+        static long get(PDecimalContext self, @SuppressWarnings("unused") PNone noValue) {
+            return self.getEmin();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(PDecimalContext self, Object value) {
+            setEmin(this, self, value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "Emax", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class EmaxNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(noValue)")
+        static long get(PDecimalContext self, @SuppressWarnings("unused") PNone noValue) {
+            return self.getEmax();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(PDecimalContext self, Object value) {
+            setEmax(this, self, value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "capitals", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class CapitalsNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(noValue)")
+        static int get(PDecimalContext self, @SuppressWarnings("unused") PNone noValue) {
+            return self.getCapitals();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(PDecimalContext self, Object value) {
+            setCapitals(this, self, value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "clamp", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class ClampNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(noValue)")
+        static int get(PDecimalContext self, @SuppressWarnings("unused") PNone noValue) {
+            return self.getClamp();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(PDecimalContext self, Object value) {
+            setClamp(this, self, value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "flags", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class FlagsNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(noValue)")
+        PDecimalSignalDict get(PDecimalContext self, @SuppressWarnings("unused") PNone noValue) {
+            PDecimalSignalDict flags = self.getFlagsDict();
+            if (flags == null) {
+                flags = factory().createDecimalSignalDict(self, false);
+                self.setFlagsDict(flags);
+            }
+            return flags;
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(PDecimalContext self, Object value) {
+            self.setFlags(DecimalNodes.dictAsBits(this, value));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "traps", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class TrapsNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(noValue)")
+        PDecimalSignalDict get(PDecimalContext self, @SuppressWarnings("unused") PNone noValue) {
+            PDecimalSignalDict traps = self.getTrapsDict();
+            if (traps == null) {
+                traps = factory().createDecimalSignalDict(self, true);
+                self.setTrapsDict(traps);
+            }
+            return traps;
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        Object set(PDecimalContext self, Object value) {
+            self.setTraps(DecimalNodes.dictAsBits(this, value));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __DELATTR__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DelAttrNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object delAttr(@SuppressWarnings("unused") PDecimalContext self, @SuppressWarnings("unused") Object name) {
+            throw raise(AttributeError, ErrorMessages.CONTEXT_ATTRIBUTES_CANNOT_BE_DELETED);
+        }
+    }
+
+    @Builtin(name = "Etiny", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EtinyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long etiny(PDecimalContext self) {
+            return self.getEmin() - self.getPrec() + 1;
+        }
+    }
+
+    @Builtin(name = "Etop", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EtopNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long etop(PDecimalContext self) {
+            return self.getEmax() - self.getPrec() + 1;
+        }
+    }
+
+    @Builtin(name = "clear_flags", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ClearFlagsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone clearFlags(PDecimalContext self) {
+            self.setFlags(0);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "clear_traps", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ClearTrapsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone clearTraps(PDecimalContext self) {
+            self.setTraps(0);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1)
+    @Builtin(name = __COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDecimalContext copy(PDecimalContext self) {
+            PDecimalContext copy = factory().createDecimalContext(PythonBuiltinClassType.PDecimalContext);
+            copy.setFrom(self);
+            return copy;
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object reduce(PDecimalContext self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            Object[] args = new Object[]{self.getPrec(), DecimalNodes.ROUNDING_NAMES[self.getRounding()], self.getEmin(), self.getEmax(), self.getCapitals(), self.getClamp(),
+                            DecimalNodes.signalsAsList(getCore(), self.getFlags()), DecimalNodes.signalsAsList(getCore(), self.getTraps())};
+            return factory().createTuple(new Object[]{lib.getLazyPythonClass(self), factory().createTuple(args)});
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static String repr(PDecimalContext self) {
+            return "Context(prec=" + self.getPrec() + ", rounding=" + DecimalNodes.ROUNDING_NAMES[self.getRounding()] + ", Emin=" + self.getEmin() + ", Emax=" + self.getEmax() +
+                            ", capitals=" + self.getCapitals() + ", clamp=" + self.getClamp() + ", flags=" + DecimalNodes.signalsToString(self.getFlags()) + ", traps=" +
+                            DecimalNodes.signalsToString(self.getTraps()) + ")";
+        }
+    }
+
+    // conversions
+
+    @Builtin(name = "create_decimal", minNumOfPositionalArgs = 1, parameterNames = {"$self", "num"})
+    @GenerateNodeFactory
+    abstract static class CreateDecimalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PDecimal createDecimal(PDecimalContext self, Object num) {
+            return DecimalNodes.convertValue(this, num, self, false);
+        }
+    }
+
+    @Builtin(name = "create_decimal_from_float", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class CreateDecimalFromFloatNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PDecimal createDecimal(PDecimalContext self, Object value) {
+            PDecimal exact;
+            if (DecimalNodes.isFloat(value)) {
+                exact = DecimalArithmetic.fromDouble(DecimalNodes.getFloat(value));
+            } else {
+                exact = DecimalNodes.convertOperand(value);
+                if (exact == null || value instanceof PDecimal) {
+                    throw raise(TypeError, ErrorMessages.ARGUMENT_MUST_BE_INT_OR_FLOAT);
+                }
+            }
+            DecimalArithmetic arith = new DecimalArithmetic(self);
+            PDecimal result = arith.applyContext(exact);
+            addStatus(this, self, arith.getStatus());
+            return result;
+        }
+    }
+
+    @Builtin(name = "copy_decimal", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class CopyDecimalNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PDecimal copyDecimal(@SuppressWarnings("unused") PDecimalContext self, Object a) {
+            return DecimalArithmetic.asDecimal(convertOperandOrRaise(this, a));
+        }
+    }
+
+    @Builtin(name = "radix", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class RadixNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PDecimal radix(@SuppressWarnings("unused") PDecimalContext self) {
+            return DecimalArithmetic.fromLong(10);
+        }
+    }
+
+    // operations
+
+    abstract static class UnaryOperationNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object op(PDecimalContext self, Object a) {
+            PDecimal x = convertOperandOrRaise(this, a);
+            DecimalArithmetic arith = new DecimalArithmetic(self);
+            Object result = compute(self, arith, x);
+            addStatus(this, self, arith.getStatus());
+            return result;
+        }
+
+        @SuppressWarnings("unused")
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            throw new AbstractMethodError("compute");
+        }
+    }
+
+    @Builtin(name = "abs", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class AbsNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.abs(a);
+        }
+    }
+
+    @Builtin(name = "_apply", minNumOfPositionalArgs = 2)
+    @Builtin(name = "apply", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ApplyNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.applyContext(a);
+        }
+    }
+
+    @Builtin(name = "canonical", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class CanonicalNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return a;
+        }
+    }
+
+    @Builtin(name = "copy_abs", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class CopyAbsNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return DecimalArithmetic.copyAbs(a);
+        }
+    }
+
+    @Builtin(name = "copy_negate", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class CopyNegateNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return DecimalArithmetic.copyNegate(a);
+        }
+    }
+
+    @Builtin(name = "exp", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ExpNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.exp(a);
+        }
+    }
+
+    @Builtin(name = "ln", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LnNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.ln(a);
+        }
+    }
+
+    @Builtin(name = "log10", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class Log10Node extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.log10(a);
+        }
+    }
+
+    @Builtin(name = "logb", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LogbNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.logb(a);
+        }
+    }
+
+    @Builtin(name = "logical_invert", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LogicalInvertNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.logicalInvert(a);
+        }
+    }
+
+    @Builtin(name = "minus", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class MinusNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.minus(a);
+        }
+    }
+
+    @Builtin(name = "next_minus", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NextMinusNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.nextMinus(a);
+        }
+    }
+
+    @Builtin(name = "next_plus", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NextPlusNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.nextPlus(a);
+        }
+    }
+
+    @Builtin(name = "normalize", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NormalizeNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.normalize(a);
+        }
+    }
+
+    @Builtin(name = "plus", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class PlusNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.plus(a);
+        }
+    }
+
+    @Builtin(name = "sqrt", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class SqrtNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.sqrt(a);
+        }
+    }
+
+    @Builtin(name = "to_integral", minNumOfPositionalArgs = 2)
+    @Builtin(name = "to_integral_value", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ToIntegralValueNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.toIntegralValue(a, context.getRounding());
+        }
+    }
+
+    @Builtin(name = "to_integral_exact", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ToIntegralExactNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.toIntegralExact(a, context.getRounding());
+        }
+    }
+
+    @Builtin(name = "to_sci_string", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ToSciStringNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return DecimalArithmetic.toString(a, false, context.getCapitals() != 0);
+        }
+    }
+
+    @Builtin(name = "to_eng_string", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ToEngStringNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return DecimalArithmetic.toString(a, true, context.getCapitals() != 0);
+        }
+    }
+
+    @Builtin(name = "number_class", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NumberClassNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.numberClass(a);
+        }
+    }
+
+    @Builtin(name = "is_canonical", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsCanonicalNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return true;
+        }
+    }
+
+    @Builtin(name = "is_finite", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsFiniteNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return a.isFinite();
+        }
+    }
+
+    @Builtin(name = "is_infinite", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsInfiniteNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return a.isInfinite();
+        }
+    }
+
+    @Builtin(name = "is_nan", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsNaNNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return a.isNaN();
+        }
+    }
+
+    @Builtin(name = "is_normal", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsNormalNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.isNormal(a);
+        }
+    }
+
+    @Builtin(name = "is_qnan", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsQNaNNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return a.isQNaN();
+        }
+    }
+
+    @Builtin(name = "is_signed", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsSignedNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return a.getSign() == 1;
+        }
+    }
+
+    @Builtin(name = "is_snan", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsSNaNNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return a.isSNaN();
+        }
+    }
+
+    @Builtin(name = "is_subnormal", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsSubnormalNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return arith.isSubnormal(a);
+        }
+    }
+
+    @Builtin(name = "is_zero", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IsZeroNode extends UnaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a) {
+            return a.isZero();
+        }
+    }
+
+    abstract static class BinaryOperationNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object op(PDecimalContext self, Object a, Object b) {
+            PDecimal x = convertOperandOrRaise(this, a);
+            PDecimal y = convertOperandOrRaise(this, b);
+            DecimalArithmetic arith = new DecimalArithmetic(self);
+            Object result = compute(self, arith, x, y);
+            addStatus(this, self, arith.getStatus());
+            return result;
+        }
+
+        @SuppressWarnings("unused")
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            throw new AbstractMethodError("compute");
+        }
+    }
+
+    @Builtin(name = "add", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class AddNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.add(a, b);
+        }
+    }
+
+    @Builtin(name = "subtract", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class SubtractNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.subtract(a, b);
+        }
+    }
+
+    @Builtin(name = "multiply", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class MultiplyNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.multiply(a, b);
+        }
+    }
+
+    @Builtin(name = "divide", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class DivideNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.divide(a, b);
+        }
+    }
+
+    @Builtin(name = "divide_int", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class DivideIntNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.floorDivide(a, b);
+        }
+    }
+
+    @Builtin(name = "divmod", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class DivModNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            PDecimal[] result = arith.divmod(a, b);
+            return factory().createTuple(new Object[]{result[0], result[1]});
+        }
+    }
+
+    @Builtin(name = "remainder", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class RemainderNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.remainder(a, b);
+        }
+    }
+
+    @Builtin(name = "remainder_near", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class RemainderNearNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.remainderNear(a, b);
+        }
+    }
+
+    @Builtin(name = "compare", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class CompareNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.compare(a, b);
+        }
+    }
+
+    @Builtin(name = "compare_signal", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class CompareSignalNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.compareSignal(a, b);
+        }
+    }
+
+    @Builtin(name = "compare_total", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class CompareTotalNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return DecimalArithmetic.fromLong(DecimalArithmetic.compareTotal(a, b));
+        }
+    }
+
+    @Builtin(name = "compare_total_mag", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class CompareTotalMagNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return DecimalArithmetic.fromLong(DecimalArithmetic.compareTotalMag(a, b));
+        }
+    }
+
+    @Builtin(name = "copy_sign", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class CopySignNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return DecimalArithmetic.copySign(a, b);
+        }
+    }
+
+    @Builtin(name = "same_quantum", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class SameQuantumNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return DecimalArithmetic.sameQuantum(a, b);
+        }
+    }
+
+    @Builtin(name = "max", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class MaxNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.max(a, b);
+        }
+    }
+
+    @Builtin(name = "max_mag", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class MaxMagNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.maxMag(a, b);
+        }
+    }
+
+    @Builtin(name = "min", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class MinNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.min(a, b);
+        }
+    }
+
+    @Builtin(name = "min_mag", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class MinMagNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.minMag(a, b);
+        }
+    }
+
+    @Builtin(name = "next_toward", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class NextTowardNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.nextToward(a, b);
+        }
+    }
+
+    @Builtin(name = "quantize", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class QuantizeNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.quantize(a, b, context.getRounding());
+        }
+    }
+
+    @Builtin(name = "rotate", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class RotateNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.rotate(a, b);
+        }
+    }
+
+    @Builtin(name = "scaleb", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class ScalebNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.scaleb(a, b);
+        }
+    }
+
+    @Builtin(name = "shift", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class ShiftNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.shift(a, b);
+        }
+    }
+
+    @Builtin(name = "logical_and", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class LogicalAndNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.logicalAnd(a, b);
+        }
+    }
+
+    @Builtin(name = "logical_or", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class LogicalOrNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.logicalOr(a, b);
+        }
+    }
+
+    @Builtin(name = "logical_xor", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class LogicalXorNode extends BinaryOperationNode {
+        @Override
+        protected Object compute(PDecimalContext context, DecimalArithmetic arith, PDecimal a, PDecimal b) {
+            return arith.logicalXor(a, b);
+        }
+    }
+
+    @Builtin(name = "fma", minNumOfPositionalArgs = 4)
+    @GenerateNodeFactory
+    abstract static class FmaNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        PDecimal fma(PDecimalContext self, Object a, Object b, Object c) {
+            PDecimal x = convertOperandOrRaise(this, a);
+            PDecimal y = convertOperandOrRaise(this, b);
+            PDecimal z = convertOperandOrRaise(this, c);
+            DecimalArithmetic arith = new DecimalArithmetic(self);
+            PDecimal result = arith.fma(x, y, z);
+            addStatus(this, self, arith.getStatus());
+            return result;
+        }
+    }
+
+    @Builtin(name = "power", minNumOfPositionalArgs = 3, parameterNames = {"$self", "a", "b", "modulo"})
+    @GenerateNodeFactory
+    abstract static class PowerNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        PDecimal power(PDecimalContext self, Object a, Object b, Object modulo) {
+            PDecimal x = convertOperandOrRaise(this, a);
+            PDecimal y = convertOperandOrRaise(this, b);
+            DecimalArithmetic arith = new DecimalArithmetic(self);
+            PDecimal result;
+            if (isGiven(modulo)) {
+                result = arith.powerModulo(x, y, convertOperandOrRaise(this, modulo));
+            } else {
+                result = arith.power(x, y);
+            }
+            addStatus(this, self, arith.getStatus());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.runtime.formatting.InternalFormat.Spec;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * {@code Decimal.__format__}, a port of the formatting of {@code _pydecimal}. The {@code 'n'} type
+ * is formatted like {@code 'g'}, without the separators of the current locale.
+ */
+final class DecimalFormatter {
+    private DecimalFormatter() {
+    }
+
+    /**
+     * Raises a {@code ValueError} for the parts of a format specification that decimals do not
+     * support.
+     */
+    static void validate(PNodeWithRaise node, Spec spec) {
+        switch (spec.type) {
+            case Spec.NONE:
+            case 'e':
+            case 'E':
+            case 'f':
+            case 'F':
+            case 'g':
+            case 'G':
+            case '%':
+                break;
+            case 'n':
+                if (!Spec.specified(spec.grouping)) {
+                    break;
+                }
+                throw node.raise(ValueError, ErrorMessages.INVALID_FORMAT_STRING);
+            default:
+                throw node.raise(ValueError, ErrorMessages.INVALID_FORMAT_STRING);
+        }
+        if (spec.grouping == '_') {
+            throw node.raise(ValueError, ErrorMessages.INVALID_FORMAT_STRING);
+        }
+    }
+
+    @TruffleBoundary
+    static String format(PDecimal value, Spec spec, PDecimalContext context) {
+        PDecimal x = value;
+        char type = spec.type == 'n' ? 'g' : spec.type;
+        int precision = spec.precision;
+        if (precision == 0 && (type == Spec.NONE || type == 'g' || type == 'G')) {
+            precision = 1;
+        }
+        if (x.isSpecial()) {
+            String body = DecimalArithmetic.toString(DecimalArithmetic.copyAbs(x), false, context.getCapitals() != 0);
+            return align(sign(x.getSign() == 1, spec), type == '%' ? body + '%' : body, spec);
+        }
+        if (type == Spec.NONE) {
+            type = context.getCapitals() != 0 ? 'G' : 'g';
+        }
+        if (type == '%') {
+            x = PythonObjectFactory.getUncached().createDecimal(x.getSign(), x.getCoefficient(), x.getExponent() + 2, PDecimal.FINITE);
+        }
+        DecimalArithmetic arith = new DecimalArithmetic(context);
+        int rounding = context.getRounding();
+        if (Spec.specified(precision)) {
+            if (type == 'e' || type == 'E') {
+                x = arith.round(x, precision + 1L, rounding);
+            } else if (type == 'f' || type == 'F' || type == '%') {
+                x = arith.rescale(x, -precision, rounding);
+            } else if (x.getDigits() > precision) {
+                x = arith.round(x, precision, rounding);
+            }
+        }
+        boolean fixed = type == 'f' || type == 'F' || type == '%';
+        // zeros with a positive exponent cannot be represented in fixed point
+        if (x.isZero() && x.getExponent() > 0 && fixed) {
+            x = arith.rescale(x, 0, rounding);
+        }
+        String digits = x.getCoefficient().toString();
+        long leftDigits = x.getExponent() + digits.length();
+        long dotPlace;
+        if (type == 'e' || type == 'E') {
+            dotPlace = x.isZero() && Spec.specified(precision) ? 1 - precision : 1;
+        } else if (fixed || (x.getExponent() <= 0 && leftDigits > -6)) {
+            dotPlace = leftDigits;
+        } else {
+            dotPlace = 1;
+        }
+        String intPart;
+        String fracPart;
+        if (dotPlace < 0) {
+            intPart = "0";
+            fracPart = "0".repeat((int) -dotPlace) + digits;
+        } else if (dotPlace > digits.length()) {
+            intPart = digits + "0".repeat((int) (dotPlace - digits.length()));
+            fracPart = "";
+        } else {
+            intPart = dotPlace == 0 ? "0" : digits.substring(0, (int) dotPlace);
+            fracPart = digits.substring((int) dotPlace);
+        }
+        return formatNumber(x.getSign() == 1, intPart, fracPart, leftDigits - dotPlace, type, spec);
+    }
+
+    private static String formatNumber(boolean negative, String intPart, String fracPart, long exp, char type, Spec spec) {
+        String sign = sign(negative, spec);
+        StringBuilder frac = new StringBuilder();
+        if (!fracPart.isEmpty() || spec.alternate) {
+            frac.append('.').append(fracPart);
+        }
+        if (exp != 0 || type == 'e' || type == 'E') {
+            frac.append(type == 'E' || type == 'G' ? 'E' : 'e').append(exp < 0 ? '-' : '+').append(Math.abs(exp));
+        }
+        if (type == '%') {
+            frac.append('%');
+        }
+        int minWidth = 0;
+        if (isZeroPadded(spec)) {
+            minWidth = spec.width - frac.length() - sign.length();
+        }
+        return align(sign, insertSeparators(intPart, Spec.specified(spec.grouping) ? "," : "", minWidth) + frac, spec);
+    }
+
+    /* _insert_thousands_sep with groups of three digits */
+    private static String insertSeparators(String intPart, String sep, int minimumWidth) {
+        String digits = intPart;
+        int minWidth = minimumWidth;
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int l = Math.min(Math.max(Math.max(digits.length(), minWidth), 1), 3);
+            String group = "0".repeat(Math.max(l - digits.length(), 0)) + digits.substring(Math.max(digits.length() - l, 0));
+            sb.insert(0, group);
+            digits = digits.substring(0, Math.max(digits.length() - l, 0));
+            minWidth -= l;
+            if (digits.isEmpty() && minWidth <= 0) {
+                break;
+            }
+            minWidth -= sep.length();
+            sb.insert(0, sep);
+        }
+        return sb.toString();
+    }
+
+    private static String sign(boolean negative, Spec spec) {
+        if (negative) {
+            return "-";
+        } else if (spec.sign == '+' || spec.sign == ' ') {
+            return String.valueOf(spec.sign);
+        }
+        return "";
+    }
+
+    /* the '0' flag, which pads the digits themselves */
+    private static boolean isZeroPadded(Spec spec) {
+        return spec.fill == '0' && spec.align == '=';
+    }
+
+    private static String align(String sign, String body, Spec spec) {
+        boolean zeroPadded = isZeroPadded(spec);
+        int width = spec.width - sign.length() - body.length();
+        char fill = Spec.specified(spec.fill) && !zeroPadded ? spec.fill : ' ';
+        String padding = width > 0 ? String.valueOf(fill).repeat(width) : "";
+        switch (zeroPadded ? '>' : spec.align) {
+            case '<':
+                return sign + body + padding;
+            case '=':
+                return sign + padding + body;
+            case '^':
+                int half = padding.length() / 2;
+                return padding.substring(0, half) + sign + body + padding.substring(half);
+            default:
+                return padding + sign + body;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalClamped;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalConversionSyntax;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalDivisionByZero;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalDivisionImpossible;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalDivisionUndefined;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalException;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalFloatOperation;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalInexact;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalInvalidContext;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalInvalidOperation;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalOverflow;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalRounded;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalSubnormal;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalUnderflow;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ZeroDivisionError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.SpecialAttributeNames;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+
+/**
+ * The {@code _decimal} module, which the pure Python {@code decimal} module re-exports. The
+ * {@code Decimal} and {@code Context} types are builtin types backed by DecimalArithmetic; the
+ * constructors and the functions managing the current context are defined here, the methods in
+ * the builtins of the individual types. The current context is kept per thread.
+ */
+@CoreFunctions(defineModule = DecimalNodes.MODULE_NAME)
+public final class DecimalModuleBuiltins extends PythonBuiltins {
+
+    private static final PythonBuiltinClassType[] EXCEPTIONS = {DecimalException, DecimalClamped, DecimalInvalidOperation, DecimalConversionSyntax, DecimalDivisionByZero,
+                    DecimalDivisionImpossible, DecimalDivisionUndefined, DecimalInexact, DecimalInvalidContext, DecimalRounded, DecimalSubnormal, DecimalOverflow, DecimalUnderflow,
+                    DecimalFloatOperation};
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        super.initialize(core);
+        builtinConstants.put(SpecialAttributeNames.__DOC__, "C decimal arithmetic module");
+        builtinConstants.put("__version__", "1.70");
+        builtinConstants.put("__libmpdec_version__", "2.4.2");
+
+        // the signals with several bases, the first one is set in PythonBuiltinClassType
+        core.lookupType(DecimalDivisionByZero).setSuperClass(core.lookupType(DecimalException), core.lookupType(ZeroDivisionError));
+        core.lookupType(DecimalDivisionUndefined).setSuperClass(core.lookupType(DecimalInvalidOperation), core.lookupType(ZeroDivisionError));
+        core.lookupType(DecimalOverflow).setSuperClass(core.lookupType(DecimalInexact), core.lookupType(DecimalRounded));
+        core.lookupType(DecimalUnderflow).setSuperClass(core.lookupType(DecimalInexact), core.lookupType(DecimalRounded), core.lookupType(DecimalSubnormal));
+        core.lookupType(DecimalFloatOperation).setSuperClass(core.lookupType(DecimalException), core.lookupType(TypeError));
+        for (PythonBuiltinClassType exception : EXCEPTIONS) {
+            builtinConstants.put(exception.getName(), core.lookupType(exception));
+        }
+        builtinConstants.put(PythonBuiltinClassType.PDecimal.getName(), core.lookupType(PythonBuiltinClassType.PDecimal));
+        builtinConstants.put(PythonBuiltinClassType.PDecimalContext.getName(), core.lookupType(PythonBuiltinClassType.PDecimalContext));
+
+        builtinConstants.put("MAX_PREC", DecimalArithmetic.MAX_PREC);
+        builtinConstants.put("MAX_EMAX", DecimalArithmetic.MAX_EMAX);
+        builtinConstants.put("MIN_EMIN", DecimalArithmetic.MIN_EMIN);
+        builtinConstants.put("MIN_ETINY", DecimalArithmetic.MIN_ETINY);
+        for (String rounding : DecimalNodes.ROUNDING_NAMES) {
+            builtinConstants.put(rounding, rounding);
+        }
+        builtinConstants.put("HAVE_THREADS", true);
+        builtinConstants.put("HAVE_CONTEXTVAR", false);
+
+        // the templates, which are copied whenever they are installed as current context
+        builtinConstants.put("DefaultContext", core.factory().createDecimalContext(PythonBuiltinClassType.PDecimalContext));
+        PDecimalContext basic = core.factory().createDecimalContext(PythonBuiltinClassType.PDecimalContext);
+        basic.setPrec(9);
+        basic.setRounding(DecimalUtils.ROUND_HALF_UP);
+        basic.setTraps(DecimalArithmetic.CLAMPED | DecimalArithmetic.IEEE_INVALID_OPERATION | DecimalArithmetic.DIVISION_BY_ZERO | DecimalArithmetic.OVERFLOW |
+                        DecimalArithmetic.UNDERFLOW);
+        builtinConstants.put("BasicContext", basic);
+        PDecimalContext extended = core.factory().createDecimalContext(PythonBuiltinClassType.PDecimalContext);
+        extended.setPrec(9);
+        extended.setTraps(0);
+        builtinConstants.put("ExtendedContext", extended);
+    }
+
+    // Decimal(value="0", context=None)
+    @Builtin(name = "Decimal", minNumOfPositionalArgs = 1, parameterNames = {"cls", "value", "context"}, constructsClass = PythonBuiltinClassType.PDecimal)
+    @GenerateNodeFactory
+    abstract static class DecimalNode extends PythonBuiltinNode {
+        @Specialization
+        PDecimal construct(Object cls, Object value, Object context,
+                        @Cached IsBuiltinClassProfile isDecimalProfile) {
+            PDecimal result = DecimalNodes.convertValue(this, value, DecimalNodes.getContext(this, context), true);
+            if (isDecimalProfile.profileClass(cls, PythonBuiltinClassType.PDecimal)) {
+                return result;
+            }
+            return DecimalNodes.createDecimal(factory(), cls, result);
+        }
+    }
+
+    /*
+     * A new context starts out as a copy of DefaultContext, the arguments are applied by
+     * Context.__init__.
+     */
+    @Builtin(name = "Context", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PDecimalContext)
+    @GenerateNodeFactory
+    abstract static class ContextNode extends PythonBuiltinNode {
+        @Specialization
+        PDecimalContext construct(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] keywordArgs) {
+            PDecimalContext context = factory().createDecimalContext(cls);
+            context.setFrom(DecimalNodes.getTemplate(getCore(), "DefaultContext"));
+            return context;
+        }
+    }
+
+    @Builtin(name = "getcontext", minNumOfPositionalArgs = 0)
+    @GenerateNodeFactory
+    abstract static class GetContextNode extends PythonBuiltinNode {
+        @Specialization
+        PDecimalContext getContext() {
+            return DecimalNodes.getCurrentContext(this);
+        }
+    }
+
+    @Builtin(name = "setcontext", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class SetContextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PNone setContext(PDecimalContext context) {
+            if (DecimalNodes.isTemplate(getCore(), context)) {
+                DecimalNodes.setCurrentContext(this, DecimalNodes.copyTemplate(getCore(), context));
+            } else {
+                DecimalNodes.setCurrentContext(this, context);
+            }
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object setContext(@SuppressWarnings("unused") Object context) {
+            throw raise(TypeError, ErrorMessages.ARGUMENT_MUST_BE_A_CONTEXT);
+        }
+    }
+
+    @Builtin(name = "localcontext", minNumOfPositionalArgs = 0, parameterNames = {"ctx"})
+    @GenerateNodeFactory
+    abstract static class LocalContextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDecimalContextManager localContext(Object ctx) {
+            PDecimalContext global = DecimalNodes.getCurrentContext(this);
+            PDecimalContext local = factory().createDecimalContext(PythonBuiltinClassType.PDecimalContext);
+            local.setFrom(DecimalNodes.getContext(this, ctx));
+            return factory().createDecimalContextManager(local, global);
+        }
+    }
+}
@@ -0,0 +1,525 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalClamped;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalConversionSyntax;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalDivisionByZero;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalDivisionImpossible;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalDivisionUndefined;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalFloatOperation;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalInexact;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalInvalidContext;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalInvalidOperation;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalOverflow;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalRounded;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalSubnormal;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.DecimalUnderflow;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.CLAMPED;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.CONVERSION_SYNTAX;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.DIVISION_BY_ZERO;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.DIVISION_IMPOSSIBLE;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.DIVISION_UNDEFINED;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.FLOAT_OPERATION;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.IEEE_INVALID_OPERATION;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.INEXACT;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.INVALID_CONTEXT;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.INVALID_OPERATION;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.OVERFLOW;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.ROUNDED;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.SUBNORMAL;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.UNDERFLOW;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.KeyError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PRaiseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaLongExactNode;
+import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.PSequence;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Helpers of the builtins of the {@code _decimal} module: the current context, the conversion of
+ * operands and arguments and the raising of trapped signals.
+ */
+public abstract class DecimalNodes {
+    static final String MODULE_NAME = "_decimal";
+
+    /** The names of the rounding modes, indexed by the {@code ROUND_*} constants of DecimalUtils. */
+    static final String[] ROUNDING_NAMES = {"ROUND_DOWN", "ROUND_UP", "ROUND_HALF_UP", "ROUND_HALF_DOWN", "ROUND_HALF_EVEN", "ROUND_CEILING", "ROUND_FLOOR", "ROUND_05UP"};
+
+    /** The signals in the order in which the first trapped one is raised. */
+    static final PythonBuiltinClassType[] SIGNALS = {DecimalInvalidOperation, DecimalFloatOperation, DecimalDivisionByZero, DecimalOverflow, DecimalUnderflow, DecimalSubnormal,
+                    DecimalInexact, DecimalRounded, DecimalClamped};
+    static final int[] SIGNAL_BITS = {IEEE_INVALID_OPERATION, FLOAT_OPERATION, DIVISION_BY_ZERO, OVERFLOW, UNDERFLOW, SUBNORMAL, INEXACT, ROUNDED, CLAMPED};
+
+    /* the conditions reported for a trapped InvalidOperation */
+    private static final PythonBuiltinClassType[] CONDITIONS = {DecimalInvalidOperation, DecimalConversionSyntax, DecimalDivisionImpossible, DecimalDivisionUndefined, DecimalInvalidContext};
+    private static final int[] CONDITION_BITS = {INVALID_OPERATION, CONVERSION_SYNTAX, DIVISION_IMPOSSIBLE, DIVISION_UNDEFINED, INVALID_CONTEXT};
+
+    /* the indices of the signals in the order of the repr of a context */
+    private static final int[] REPR_ORDER = {8, 0, 2, 6, 1, 3, 7, 5, 4};
+
+    // contexts
+
+    /**
+     * The current context of the calling thread, a copy of {@code DefaultContext} on first use.
+     */
+    static PDecimalContext getCurrentContext(PythonBuiltinBaseNode node) {
+        PythonThreadState threadState = node.getContext().getThreadState();
+        PDecimalContext context = threadState.getDecimalContext();
+        if (context == null) {
+            context = copyTemplate(node.getCore(), getTemplate(node.getCore(), "DefaultContext"));
+            threadState.setDecimalContext(context);
+        }
+        return context;
+    }
+
+    static void setCurrentContext(PythonBuiltinBaseNode node, PDecimalContext context) {
+        node.getContext().getThreadState().setDecimalContext(context);
+    }
+
+    @TruffleBoundary
+    static Object getModuleAttribute(PythonCore core, String name) {
+        return core.lookupBuiltinModule(MODULE_NAME).getAttribute(name);
+    }
+
+    static PDecimalContext getTemplate(PythonCore core, String name) {
+        return (PDecimalContext) getModuleAttribute(core, name);
+    }
+
+    /**
+     * Whether the context is one of {@code DefaultContext}, {@code BasicContext} and
+     * {@code ExtendedContext}, which are never installed themselves.
+     */
+    @TruffleBoundary
+    static boolean isTemplate(PythonCore core, PDecimalContext context) {
+        return context == getTemplate(core, "DefaultContext") || context == getTemplate(core, "BasicContext") || context == getTemplate(core, "ExtendedContext");
+    }
+
+    /**
+     * A copy of a template with the flags cleared.
+     */
+    static PDecimalContext copyTemplate(PythonCore core, PDecimalContext template) {
+        PDecimalContext context = core.factory().createDecimalContext(PythonBuiltinClassType.PDecimalContext);
+        context.setFrom(template);
+        context.setFlags(0);
+        return context;
+    }
+
+    /**
+     * The context given as optional argument, the current one if it is {@code None} or missing.
+     */
+    static PDecimalContext getContext(PythonBuiltinBaseNode node, Object context) {
+        if (context instanceof PDecimalContext) {
+            return (PDecimalContext) context;
+        } else if (context == PNone.NO_VALUE || context == PNone.NONE) {
+            return getCurrentContext(node);
+        }
+        throw node.raise(TypeError, ErrorMessages.OPTIONAL_ARGUMENT_MUST_BE_A_CONTEXT);
+    }
+
+    /**
+     * Parses the name of a rounding mode into one of the {@code ROUND_*} constants of
+     * {@link DecimalUtils}.
+     */
+    static int getRounding(PythonBuiltinBaseNode node, Object rounding) {
+        String name = null;
+        if (rounding instanceof String) {
+            name = (String) rounding;
+        } else if (rounding instanceof PString) {
+            name = ((PString) rounding).getValue();
+        }
+        int result = name == null ? -1 : findRounding(name);
+        if (result < 0) {
+            throw node.raise(TypeError, ErrorMessages.VALID_VALUES_FOR_ROUNDING);
+        }
+        return result;
+    }
+
+    /**
+     * The rounding mode given as optional argument, that of the context if it is {@code None} or
+     * missing.
+     */
+    static int getRounding(PythonBuiltinBaseNode node, Object rounding, PDecimalContext context) {
+        if (rounding == PNone.NO_VALUE || rounding == PNone.NONE) {
+            return context.getRounding();
+        }
+        return getRounding(node, rounding);
+    }
+
+    @TruffleBoundary
+    private static int findRounding(String name) {
+        for (int i = 0; i < ROUNDING_NAMES.length; i++) {
+            if (ROUNDING_NAMES[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // signals
+
+    /**
+     * Records the signals raised by an operation in the flags of the context and raises the first
+     * one that is trapped. Like in CPython, the arguments of the exception are the list of all
+     * trapped signals, with the conditions reported instead of {@code InvalidOperation}.
+     */
+    static void addStatus(PythonBuiltinBaseNode node, PDecimalContext context, int status) {
+        int trapped = context.addStatus(status);
+        if (trapped != 0) {
+            throw raiseTrapped(node, trapped);
+        }
+    }
+
+    private static PException raiseTrapped(PythonBuiltinBaseNode node, int trapped) {
+        int i = 0;
+        while ((trapped & SIGNAL_BITS[i]) == 0) {
+            i++;
+        }
+        return node.raise(SIGNALS[i], new Object[]{conditionsAsList(node.getCore(), trapped)});
+    }
+
+    @TruffleBoundary
+    private static PList conditionsAsList(PythonCore core, int status) {
+        ArrayList<Object> result = new ArrayList<>();
+        for (int i = 0; i < CONDITIONS.length; i++) {
+            if ((status & CONDITION_BITS[i]) != 0) {
+                result.add(core.lookupType(CONDITIONS[i]));
+            }
+        }
+        // the conditions replace InvalidOperation
+        for (int i = 1; i < SIGNALS.length; i++) {
+            if ((status & SIGNAL_BITS[i]) != 0) {
+                result.add(core.lookupType(SIGNALS[i]));
+            }
+        }
+        return core.factory().createList(result.toArray());
+    }
+
+    /**
+     * The signals set in the status as list of exception types, in the order of {@link #SIGNALS}.
+     */
+    @TruffleBoundary
+    static PList signalsAsList(PythonCore core, int status) {
+        ArrayList<Object> result = new ArrayList<>();
+        for (int i = 0; i < SIGNALS.length; i++) {
+            if ((status & SIGNAL_BITS[i]) != 0) {
+                result.add(core.lookupType(SIGNALS[i]));
+            }
+        }
+        return core.factory().createList(result.toArray());
+    }
+
+    /**
+     * The signals set in the status as they appear in the repr of a context, e.g.
+     * {@code [InvalidOperation, DivisionByZero]}.
+     */
+    @TruffleBoundary
+    static String signalsToString(int status) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int index : REPR_ORDER) {
+            if ((status & SIGNAL_BITS[index]) != 0) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                sb.append(SIGNALS[index].getName());
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * The index of a signal in {@link #SIGNALS}, or -1 if the value is none of them.
+     */
+    static int findSignal(PythonCore core, Object signal) {
+        for (int i = 0; i < SIGNALS.length; i++) {
+            if (signal == SIGNALS[i] || signal == core.lookupType(SIGNALS[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The status bits of a signal used as key of the flags or traps.
+     */
+    static int getSignalBits(PythonBuiltinBaseNode node, Object signal) {
+        int index = findSignal(node.getCore(), signal);
+        if (index < 0) {
+            throw node.raise(KeyError, ErrorMessages.VALID_VALUES_FOR_SIGNALS);
+        }
+        return SIGNAL_BITS[index];
+    }
+
+    /**
+     * The status bits of a list of signals, as accepted for the flags and traps by the
+     * {@code Context} constructor.
+     */
+    @TruffleBoundary
+    static int listAsBits(PythonBuiltinBaseNode node, PList list) {
+        SequenceStorage storage = list.getSequenceStorage();
+        int bits = 0;
+        for (int i = 0; i < storage.length(); i++) {
+            int index = findSignal(node.getCore(), storage.getItemNormalized(i));
+            if (index < 0) {
+                throw PRaiseNode.raiseUncached(node, KeyError, ErrorMessages.VALID_VALUES_FOR_SIGNALS);
+            }
+            bits |= SIGNAL_BITS[index];
+        }
+        return bits;
+    }
+
+    /**
+     * The status bits of a signal dict or of a dict that maps all signals to booleans.
+     */
+    @TruffleBoundary
+    static int dictAsBits(PythonBuiltinBaseNode node, Object value) {
+        if (value instanceof PDecimalSignalDict) {
+            return ((PDecimalSignalDict) value).getBits();
+        } else if (!(value instanceof PDict)) {
+            throw PRaiseNode.raiseUncached(node, TypeError, ErrorMessages.ARGUMENT_MUST_BE_A_SIGNAL_DICT);
+        }
+        HashingStorage storage = ((PDict) value).getDictStorage();
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        if (lib.length(storage) != SIGNALS.length) {
+            throw PRaiseNode.raiseUncached(node, KeyError, ErrorMessages.INVALID_SIGNAL_DICT);
+        }
+        int bits = 0;
+        for (int i = 0; i < SIGNALS.length; i++) {
+            Object item = lib.getItem(storage, node.getCore().lookupType(SIGNALS[i]));
+            if (item == null) {
+                throw PRaiseNode.raiseUncached(node, KeyError, ErrorMessages.INVALID_SIGNAL_DICT);
+            }
+            if (PythonObjectLibrary.getUncached().isTrue(item)) {
+                bits |= SIGNAL_BITS[i];
+            }
+        }
+        return bits;
+    }
+
+    // conversions
+
+    /**
+     * A copy of the value as instance of the given subclass of {@code Decimal}.
+     */
+    static PDecimal createDecimal(PythonObjectFactory factory, Object cls, PDecimal x) {
+        if (x.fitsLong()) {
+            return factory.createDecimal(cls, x.getSign(), x.getLongCoefficient(), x.getExponent(), x.getKind());
+        }
+        return factory.createDecimal(cls, x.getSign(), x.getCoefficient(), x.getExponent(), x.getKind());
+    }
+
+    /**
+     * A Python int with the given value.
+     */
+    @TruffleBoundary
+    static Object toInt(PythonObjectFactory factory, BigInteger value) {
+        if (value.bitLength() < 64) {
+            return value.longValue();
+        }
+        return factory.createInt(value);
+    }
+
+    /**
+     * Converts an operand of the arithmetic, which may be a {@code Decimal} or an int. Returns
+     * {@code null} for any other value.
+     */
+    static PDecimal convertOperand(Object value) {
+        if (value instanceof PDecimal) {
+            return (PDecimal) value;
+        } else if (value instanceof Integer) {
+            return DecimalArithmetic.fromLong((int) value);
+        } else if (value instanceof Long) {
+            return DecimalArithmetic.fromLong((long) value);
+        } else if (value instanceof Boolean) {
+            return DecimalArithmetic.fromLong((boolean) value ? 1 : 0);
+        } else if (value instanceof PInt) {
+            return DecimalArithmetic.fromBigInteger(((PInt) value).getValue());
+        }
+        return null;
+    }
+
+    /**
+     * Converts an operand like {@link #convertOperand}, but raises a {@code TypeError} for values
+     * of other types, as the methods of {@code Context} and the named methods of {@code Decimal}
+     * do.
+     */
+    static PDecimal convertOperandOrRaise(PythonBuiltinBaseNode node, Object value) {
+        PDecimal result = convertOperand(value);
+        if (result == null) {
+            throw node.raise(TypeError, ErrorMessages.CONVERSION_FROM_P_TO_DECIMAL_IS_NOT_SUPPORTED, value);
+        }
+        return result;
+    }
+
+    static boolean isFloat(Object value) {
+        return value instanceof Double || value instanceof PFloat;
+    }
+
+    static double getFloat(Object value) {
+        return value instanceof Double ? (double) value : ((PFloat) value).getValue();
+    }
+
+    /**
+     * Converts a value to a decimal like the {@code Decimal} constructor if {@code exact} and like
+     * {@code Context.create_decimal} otherwise, which fits the result into the context. A float
+     * signals {@code FloatOperation}.
+     */
+    static PDecimal convertValue(PythonBuiltinBaseNode node, Object value, PDecimalContext context, boolean exact) {
+        DecimalArithmetic arith = new DecimalArithmetic(context);
+        PDecimal result;
+        if (value == PNone.NO_VALUE) {
+            result = DecimalArithmetic.fromLong(0);
+        } else if (value instanceof String || value instanceof PString) {
+            String s = value instanceof String ? (String) value : ((PString) value).getValue();
+            result = arith.fromString(s, exact);
+        } else if (isFloat(value)) {
+            addStatus(node, context, FLOAT_OPERATION);
+            result = DecimalArithmetic.fromDouble(getFloat(value));
+            if (!exact) {
+                result = arith.applyContext(result);
+            }
+        } else if (value instanceof PTuple || value instanceof PList) {
+            result = arith.fromString(sequenceToString(node, (PSequence) value), exact);
+        } else {
+            result = convertOperand(value);
+            if (result == null) {
+                throw node.raise(TypeError, ErrorMessages.CONVERSION_FROM_P_TO_DECIMAL_IS_NOT_SUPPORTED, value);
+            }
+            result = exact ? DecimalArithmetic.asDecimal(result) : arith.applyContext(result);
+        }
+        addStatus(node, context, arith.getStatus());
+        return result;
+    }
+
+    /**
+     * Turns a tuple {@code (sign, digits, exponent)} into the equivalent numeric string, like
+     * CPython's {@code dectuple_as_str}.
+     */
+    @TruffleBoundary
+    private static String sequenceToString(PythonBuiltinBaseNode node, PSequence value) {
+        SequenceStorage storage = value.getSequenceStorage();
+        if (storage.length() != 3) {
+            throw PRaiseNode.raiseUncached(node, ValueError, ErrorMessages.ARGUMENT_MUST_BE_A_SEQUENCE_OF_LENGTH_3);
+        }
+        StringBuilder sb = new StringBuilder();
+        long sign = toDigit(node, storage.getItemNormalized(0), ErrorMessages.SIGN_MUST_BE_AN_INTEGER_WITH_THE_VALUE_0_OR_1);
+        if (sign != 0 && sign != 1) {
+            throw PRaiseNode.raiseUncached(node, ValueError, ErrorMessages.SIGN_MUST_BE_AN_INTEGER_WITH_THE_VALUE_0_OR_1);
+        }
+        sb.append(sign == 0 ? '+' : '-');
+        Object exponent = storage.getItemNormalized(2);
+        String special = null;
+        if (exponent instanceof String || exponent instanceof PString) {
+            String s = exponent instanceof String ? (String) exponent : ((PString) exponent).getValue();
+            if (s.equals("F")) {
+                special = "Inf";
+            } else if (s.equals("n")) {
+                special = "NaN";
+            } else if (s.equals("N")) {
+                special = "sNaN";
+            } else {
+                throw PRaiseNode.raiseUncached(node, ValueError, ErrorMessages.STRING_ARG_IN_THIRD_POSITION_MUST_BE_F_N_OR_N);
+            }
+            sb.append(special);
+        } else if (!isInt(exponent)) {
+            throw PRaiseNode.raiseUncached(node, ValueError, ErrorMessages.EXPONENT_MUST_BE_AN_INTEGER);
+        }
+        Object digits = storage.getItemNormalized(1);
+        if (!(digits instanceof PTuple || digits instanceof PList)) {
+            throw PRaiseNode.raiseUncached(node, ValueError, ErrorMessages.COEFFICIENT_MUST_BE_A_TUPLE_OF_DIGITS);
+        }
+        SequenceStorage digitStorage = ((PSequence) digits).getSequenceStorage();
+        StringBuilder coefficient = new StringBuilder();
+        for (int i = 0; i < digitStorage.length(); i++) {
+            long digit = toDigit(node, digitStorage.getItemNormalized(i), ErrorMessages.COEFFICIENT_MUST_BE_A_TUPLE_OF_DIGITS);
+            if (digit < 0 || digit > 9) {
+                throw PRaiseNode.raiseUncached(node, ValueError, ErrorMessages.COEFFICIENT_MUST_BE_A_TUPLE_OF_DIGITS);
+            }
+            coefficient.append((char) ('0' + digit));
+        }
+        if (special == null) {
+            // leading zeros are harmless, an empty coefficient is zero
+            sb.append('0').append(coefficient).append('E').append(CastToJavaLongExactNode.getUncached().execute(exponent));
+        } else if (!special.equals("Inf")) {
+            sb.append(coefficient);
+        }
+        return sb.toString();
+    }
+
+    private static boolean isInt(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Boolean || value instanceof PInt;
+    }
+
+    private static long toDigit(PythonBuiltinBaseNode node, Object value, String message) {
+        if (isInt(value)) {
+            try {
+                return CastToJavaLongExactNode.getUncached().execute(value);
+            } catch (PException | CannotCastException e) {
+                // too large for any valid value
+            }
+        }
+        throw PRaiseNode.raiseUncached(node, ValueError, message);
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.ITEMS;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.KEYS;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.VALUES;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CONTAINS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DELITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LEN__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETITEM__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+/**
+ * The {@code flags} and {@code traps} of a context. Like in CPython, they always contain all
+ * signals, which can be set and cleared but not deleted.
+ */
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDecimalSignalDict)
+public final class DecimalSignalDictBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DecimalSignalDictBuiltinsFactory.getFactories();
+    }
+
+    private static Object[] signalTypes(PythonCore core) {
+        Object[] result = new Object[DecimalNodes.SIGNALS.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = core.lookupType(DecimalNodes.SIGNALS[i]);
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    private static PDict toDict(PythonCore core, PythonObjectFactory factory, PDecimalSignalDict self) {
+        PDict dict = factory.createDict();
+        int bits = self.getBits();
+        for (int i = 0; i < DecimalNodes.SIGNALS.length; i++) {
+            dict.setItem(core.lookupType(DecimalNodes.SIGNALS[i]), (bits & DecimalNodes.SIGNAL_BITS[i]) != 0);
+        }
+        return dict;
+    }
+
+    @Builtin(name = __GETITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GetItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean getItem(PDecimalSignalDict self, Object key) {
+            return (self.getBits() & DecimalNodes.getSignalBits(this, key)) != 0;
+        }
+    }
+
+    @Builtin(name = __SETITEM__, minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class SetItemNode extends PythonTernaryBuiltinNode {
+        @Specialization(limit = "3")
+        PNone setItem(PDecimalSignalDict self, Object key, Object value,
+                        @CachedLibrary("value") PythonObjectLibrary lib) {
+            int bits = DecimalNodes.getSignalBits(this, key);
+            if (lib.isTrue(value)) {
+                self.setBits(self.getBits() | bits);
+            } else {
+                self.setBits(self.getBits() & ~bits);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __DELITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DelItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object delItem(@SuppressWarnings("unused") PDecimalSignalDict self, @SuppressWarnings("unused") Object key) {
+            throw raise(ValueError, ErrorMessages.SIGNAL_KEYS_CANNOT_BE_DELETED);
+        }
+    }
+
+    @Builtin(name = __LEN__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class LenNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int len(@SuppressWarnings("unused") PDecimalSignalDict self) {
+            return DecimalNodes.SIGNALS.length;
+        }
+    }
+
+    @Builtin(name = __CONTAINS__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ContainsNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean contains(@SuppressWarnings("unused") PDecimalSignalDict self, Object key) {
+            return DecimalNodes.findSignal(getCore(), key) >= 0;
+        }
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @Builtin(name = KEYS, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object iter(@SuppressWarnings("unused") PDecimalSignalDict self) {
+            return factory().createSequenceIterator(factory().createTuple(signalTypes(getCore())));
+        }
+    }
+
+    @Builtin(name = VALUES, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ValuesNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object values(PDecimalSignalDict self) {
+            int bits = self.getBits();
+            Object[] values = new Object[DecimalNodes.SIGNALS.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = (bits & DecimalNodes.SIGNAL_BITS[i]) != 0;
+            }
+            return factory().createSequenceIterator(factory().createTuple(values));
+        }
+    }
+
+    @Builtin(name = ITEMS, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ItemsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object items(PDecimalSignalDict self) {
+            int bits = self.getBits();
+            Object[] items = new Object[DecimalNodes.SIGNALS.length];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = factory().createTuple(new Object[]{getCore().lookupType(DecimalNodes.SIGNALS[i]), (bits & DecimalNodes.SIGNAL_BITS[i]) != 0});
+            }
+            return factory().createSequenceIterator(factory().createTuple(items));
+        }
+    }
+
+    @Builtin(name = "get", minNumOfPositionalArgs = 2, parameterNames = {"$self", "key", "default"})
+    @GenerateNodeFactory
+    abstract static class GetNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        Object get(PDecimalSignalDict self, Object key, Object defaultValue) {
+            int index = DecimalNodes.findSignal(getCore(), key);
+            if (index < 0) {
+                return defaultValue == PNone.NO_VALUE ? PNone.NONE : defaultValue;
+            }
+            return (self.getBits() & DecimalNodes.SIGNAL_BITS[index]) != 0;
+        }
+    }
+
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDict copy(PDecimalSignalDict self) {
+            return toDict(getCore(), factory(), self);
+        }
+    }
+
+    @Builtin(name = __EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean eq(PDecimalSignalDict self, PDecimalSignalDict other) {
+            return self.getBits() == other.getBits();
+        }
+
+        @Specialization
+        boolean eq(PDecimalSignalDict self, PDict other) {
+            return equalsDict(toDict(getCore(), factory(), self), other);
+        }
+
+        @TruffleBoundary
+        private static boolean equalsDict(PDict self, PDict other) {
+            PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+            return lib.equals(self, other, lib);
+        }
+
+        @Fallback
+        @SuppressWarnings("unused")
+        static Object eq(Object self, Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        @TruffleBoundary
+        static String repr(PDecimalSignalDict self) {
+            StringBuilder sb = new StringBuilder("{");
+            int bits = self.getBits();
+            for (int i = 0; i < DecimalNodes.SIGNALS.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append("<class 'decimal.").append(DecimalNodes.SIGNALS[i].getName()).append("'>:");
+                sb.append((bits & DecimalNodes.SIGNAL_BITS[i]) != 0 ? "True" : "False");
+            }
+            return sb.append('}').toString();
+        }
+    }
+}
@@ -0,0 +1,625 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import java.math.BigInteger;
+
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Arithmetic on finite decimals given as sign, coefficient and exponent. Every operation follows
+ * its counterpart in {@code _pydecimal} step by step, so that the coefficient, exponent and signals
+ * of the result are the same. The exponent limits of the context are not known here, the caller has
+ * to check that the result is neither subnormal nor overflowing nor subject to clamping.
+ *
+ * Each operation comes in two flavors: one for coefficients that fit into a long, which falls back
+ * to the other one when an intermediate result does not fit, and one for {@link BigInteger}
+ * coefficients. Coefficients must not be negative.
+ *
+ * An {@link OverflowException} means that the operands are outside of what is handled here, e.g.
+ * because the exponents do not fit into a long, and the caller should fall back to the general
+ * algorithms of {@link DecimalArithmetic}.
+ */
+public final class DecimalUtils {
+    /** The {@code Rounded} signal needs to be raised. */
+    public static final int ROUNDED = 1;
+    /** The {@code Inexact} signal needs to be raised. */
+    public static final int INEXACT = 2;
+
+    static final int ROUND_DOWN = 0;
+    static final int ROUND_UP = 1;
+    static final int ROUND_HALF_UP = 2;
+    static final int ROUND_HALF_DOWN = 3;
+    static final int ROUND_HALF_EVEN = 4;
+    static final int ROUND_CEILING = 5;
+    static final int ROUND_FLOOR = 6;
+    static final int ROUND_05UP = 7;
+
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final long[] POW10 = new long[MAX_LONG_DIGITS + 1];
+    private static final double LOG10_2 = 0.30102999566398120;
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private DecimalUtils() {
+    }
+
+    public static final class DecimalResult {
+        private final int sign;
+        private final long coefficient;
+        private final BigInteger bigCoefficient;
+        private final int digits;
+        private final long exponent;
+        private final int status;
+
+        DecimalResult(int sign, long coefficient, int digits, long exponent, int status) {
+            this.sign = sign;
+            this.coefficient = coefficient;
+            this.bigCoefficient = null;
+            this.digits = digits;
+            this.exponent = exponent;
+            this.status = status;
+        }
+
+        DecimalResult(int sign, BigInteger coefficient, int digits, long exponent, int status) {
+            this.sign = sign;
+            if (coefficient.bitLength() < Long.SIZE) {
+                this.coefficient = coefficient.longValue();
+                this.bigCoefficient = null;
+            } else {
+                this.coefficient = -1;
+                this.bigCoefficient = coefficient;
+            }
+            this.digits = digits;
+            this.exponent = exponent;
+            this.status = status;
+        }
+
+        public int getSign() {
+            return sign;
+        }
+
+        /**
+         * The coefficient if it fits into a long, see {@link #getBigCoefficient()}.
+         */
+        public long getCoefficient() {
+            return coefficient;
+        }
+
+        /**
+         * The coefficient if it does not fit into a long, otherwise {@code null}.
+         */
+        public BigInteger getBigCoefficient() {
+            return bigCoefficient;
+        }
+
+        /**
+         * The number of digits of the coefficient, which is 1 for zero.
+         */
+        public int getDigits() {
+            return digits;
+        }
+
+        public long getExponent() {
+            return exponent;
+        }
+
+        /**
+         * The signals to raise, a combination of {@link #ROUNDED} and {@link #INEXACT}.
+         */
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    /**
+     * Like {@code Decimal._cmp} for finite values.
+     */
+    public static int compare(int sign1, long coeff1, long exp1, int sign2, long coeff2, long exp2) throws OverflowException {
+        checkCoefficient(coeff1);
+        checkCoefficient(coeff2);
+        if (coeff1 == 0 || coeff2 == 0) {
+            return compareZero(sign1, coeff1 == 0, sign2, coeff2 == 0);
+        }
+        if (sign1 != sign2) {
+            return sign1 > sign2 ? -1 : 1;
+        }
+        long adjusted1 = addExact(exp1, digits(coeff1) - 1);
+        long adjusted2 = addExact(exp2, digits(coeff2) - 1);
+        int result;
+        if (adjusted1 == adjusted2) {
+            // the exponents differ by less than the number of digits of a long
+            result = exp1 >= exp2 ? compareScaled(coeff1, (int) (exp1 - exp2), coeff2) : -compareScaled(coeff2, (int) (exp2 - exp1), coeff1);
+        } else {
+            result = adjusted1 > adjusted2 ? 1 : -1;
+        }
+        return sign1 == 0 ? result : -result;
+    }
+
+    @TruffleBoundary
+    public static int compare(int sign1, BigInteger coeff1, long exp1, int sign2, BigInteger coeff2, long exp2) throws OverflowException {
+        checkCoefficient(coeff1);
+        checkCoefficient(coeff2);
+        if (coeff1.signum() == 0 || coeff2.signum() == 0) {
+            return compareZero(sign1, coeff1.signum() == 0, sign2, coeff2.signum() == 0);
+        }
+        if (sign1 != sign2) {
+            return sign1 > sign2 ? -1 : 1;
+        }
+        long adjusted1 = addExact(exp1, digits(coeff1) - 1);
+        long adjusted2 = addExact(exp2, digits(coeff2) - 1);
+        int result;
+        if (adjusted1 == adjusted2) {
+            // compare the coefficients scaled to the same exponent
+            if (exp1 >= exp2) {
+                result = coeff1.multiply(pow10(subtractExact(exp1, exp2))).compareTo(coeff2);
+            } else {
+                result = coeff1.compareTo(coeff2.multiply(pow10(subtractExact(exp2, exp1))));
+            }
+        } else {
+            result = adjusted1 > adjusted2 ? 1 : -1;
+        }
+        return sign1 == 0 ? result : -result;
+    }
+
+    private static int compareZero(int sign1, boolean zero1, int sign2, boolean zero2) {
+        if (zero1 && zero2) {
+            return 0;
+        }
+        return zero1 ? (sign2 == 0 ? -1 : 1) : (sign1 == 0 ? 1 : -1);
+    }
+
+    private static int compareScaled(long coeff, int shift, long other) {
+        try {
+            return Long.compare(Math.multiplyExact(coeff, POW10[shift]), other);
+        } catch (ArithmeticException e) {
+            // the scaled coefficient is larger than any long
+            return 1;
+        }
+    }
+
+    /**
+     * {@code Decimal.__add__} of two finite values, including the normalization of the operand
+     * with the smaller exponent done by {@code _normalize}.
+     */
+    public static DecimalResult add(int sign1, long coeff1, long exp1, int sign2, long coeff2, long exp2, int prec, int rounding) throws OverflowException {
+        if (coeff1 > 0 && coeff2 > 0) {
+            // the operand with the larger exponent is scaled to the exponent of the other one
+            boolean firstScaled = exp1 >= exp2;
+            int scaledSign = firstScaled ? sign1 : sign2;
+            long scaledCoeff = firstScaled ? coeff1 : coeff2;
+            long scaledExp = firstScaled ? exp1 : exp2;
+            int otherSign = firstScaled ? sign2 : sign1;
+            long otherCoeff = firstScaled ? coeff2 : coeff1;
+            long otherExp = firstScaled ? exp2 : exp1;
+            long minExp = addExact(scaledExp, Math.min(-1, digits(scaledCoeff) - prec - 2L));
+            if (addExact(otherExp, digits(otherCoeff) - 1) < minExp) {
+                // the other operand is too small to matter except for rounding
+                otherCoeff = 1;
+                otherExp = minExp;
+            }
+            long shift = subtractExact(scaledExp, otherExp);
+            if (shift <= MAX_LONG_DIGITS) {
+                try {
+                    long scaled = Math.multiplyExact(scaledCoeff, POW10[(int) shift]);
+                    if (scaledSign == otherSign) {
+                        return fix(scaledSign, Math.addExact(scaled, otherCoeff), otherExp, prec, rounding);
+                    } else if (scaled == otherCoeff) {
+                        return zero(rounding == ROUND_FLOOR ? 1 : 0, Math.min(exp1, exp2));
+                    } else if (scaled > otherCoeff) {
+                        return fix(scaledSign, scaled - otherCoeff, otherExp, prec, rounding);
+                    } else {
+                        return fix(otherSign, otherCoeff - scaled, otherExp, prec, rounding);
+                    }
+                } catch (ArithmeticException e) {
+                    // continue with big integers
+                }
+            }
+        }
+        return add(sign1, BigInteger.valueOf(coeff1), exp1, sign2, BigInteger.valueOf(coeff2), exp2, prec, rounding);
+    }
+
+    @TruffleBoundary
+    public static DecimalResult add(int sign1, BigInteger coeff1, long exp1, int sign2, BigInteger coeff2, long exp2, int prec, int rounding) throws OverflowException {
+        checkCoefficient(coeff1);
+        checkCoefficient(coeff2);
+        long exp = Math.min(exp1, exp2);
+        int zeroSign = rounding == ROUND_FLOOR && sign1 != sign2 ? 1 : 0;
+        boolean zero1 = coeff1.signum() == 0;
+        boolean zero2 = coeff2.signum() == 0;
+        if (zero1 && zero2) {
+            return zero(zeroSign == 1 ? 1 : Math.min(sign1, sign2), exp);
+        } else if (zero1) {
+            return padAndFix(sign2, coeff2, exp2, Math.max(exp, subtractExact(exp2, prec + 1L)), prec, rounding);
+        } else if (zero2) {
+            return padAndFix(sign1, coeff1, exp1, Math.max(exp, subtractExact(exp1, prec + 1L)), prec, rounding);
+        }
+
+        boolean firstScaled = exp1 >= exp2;
+        int scaledSign = firstScaled ? sign1 : sign2;
+        BigInteger scaledCoeff = firstScaled ? coeff1 : coeff2;
+        long scaledExp = firstScaled ? exp1 : exp2;
+        int otherSign = firstScaled ? sign2 : sign1;
+        BigInteger otherCoeff = firstScaled ? coeff2 : coeff1;
+        long otherExp = firstScaled ? exp2 : exp1;
+        long minExp = addExact(scaledExp, Math.min(-1, digits(scaledCoeff) - prec - 2L));
+        if (addExact(otherExp, digits(otherCoeff) - 1) < minExp) {
+            otherCoeff = BigInteger.ONE;
+            otherExp = minExp;
+        }
+        BigInteger scaled = scaledCoeff.multiply(pow10(subtractExact(scaledExp, otherExp)));
+        if (scaledSign == otherSign) {
+            return fix(scaledSign, scaled.add(otherCoeff), otherExp, prec, rounding);
+        }
+        int cmp = scaled.compareTo(otherCoeff);
+        if (cmp == 0) {
+            return zero(zeroSign, exp);
+        } else if (cmp > 0) {
+            return fix(scaledSign, scaled.subtract(otherCoeff), otherExp, prec, rounding);
+        } else {
+            return fix(otherSign, otherCoeff.subtract(scaled), otherExp, prec, rounding);
+        }
+    }
+
+    /**
+     * {@code Decimal.__mul__} of two finite values.
+     */
+    public static DecimalResult multiply(int sign1, long coeff1, long exp1, int sign2, long coeff2, long exp2, int prec, int rounding) throws OverflowException {
+        if (coeff1 >= 0 && coeff2 >= 0) {
+            try {
+                return fix(sign1 ^ sign2, Math.multiplyExact(coeff1, coeff2), addExact(exp1, exp2), prec, rounding);
+            } catch (ArithmeticException e) {
+                // continue with big integers
+            }
+        }
+        return multiply(sign1, BigInteger.valueOf(coeff1), exp1, sign2, BigInteger.valueOf(coeff2), exp2, prec, rounding);
+    }
+
+    @TruffleBoundary
+    public static DecimalResult multiply(int sign1, BigInteger coeff1, long exp1, int sign2, BigInteger coeff2, long exp2, int prec, int rounding) throws OverflowException {
+        checkCoefficient(coeff1);
+        checkCoefficient(coeff2);
+        return fix(sign1 ^ sign2, coeff1.multiply(coeff2), addExact(exp1, exp2), prec, rounding);
+    }
+
+    /**
+     * {@code Decimal.__truediv__} of two finite values. The quotient is computed to one more digit
+     * than the precision, a remainder is folded into that digit so that the final rounding sees
+     * it.
+     */
+    public static DecimalResult divide(int sign1, long coeff1, long exp1, int sign2, long coeff2, long exp2, int prec, int rounding) throws OverflowException {
+        if (coeff1 > 0 && coeff2 > 0) {
+            long idealExp = subtractExact(exp1, exp2);
+            long shift = digits(coeff2) - digits(coeff1) + prec + 1L;
+            long exp = subtractExact(idealExp, shift);
+            if (shift >= 0 && shift <= MAX_LONG_DIGITS) {
+                try {
+                    long dividend = Math.multiplyExact(coeff1, POW10[(int) shift]);
+                    long quotient = dividend / coeff2;
+                    if (dividend % coeff2 != 0) {
+                        if (quotient % 5 == 0) {
+                            quotient++;
+                        }
+                    } else {
+                        while (exp < idealExp && quotient % 10 == 0) {
+                            quotient /= 10;
+                            exp++;
+                        }
+                    }
+                    return fix(sign1 ^ sign2, quotient, exp, prec, rounding);
+                } catch (ArithmeticException e) {
+                    // continue with big integers
+                }
+            }
+        }
+        return divide(sign1, BigInteger.valueOf(coeff1), exp1, sign2, BigInteger.valueOf(coeff2), exp2, prec, rounding);
+    }
+
+    @TruffleBoundary
+    public static DecimalResult divide(int sign1, BigInteger coeff1, long exp1, int sign2, BigInteger coeff2, long exp2, int prec, int rounding) throws OverflowException {
+        checkCoefficient(coeff1);
+        checkCoefficient(coeff2);
+        if (coeff2.signum() == 0) {
+            // division by zero and 0/0 raise their own signals
+            throw OverflowException.INSTANCE;
+        }
+        int sign = sign1 ^ sign2;
+        long idealExp = subtractExact(exp1, exp2);
+        if (coeff1.signum() == 0) {
+            return zero(sign, idealExp);
+        }
+        long shift = digits(coeff2) - digits(coeff1) + prec + 1L;
+        long exp = subtractExact(idealExp, shift);
+        BigInteger dividend = coeff1;
+        BigInteger divisor = coeff2;
+        if (shift >= 0) {
+            dividend = dividend.multiply(pow10(shift));
+        } else {
+            divisor = divisor.multiply(pow10(-shift));
+        }
+        BigInteger[] qr = dividend.divideAndRemainder(divisor);
+        BigInteger quotient = qr[0];
+        if (qr[1].signum() != 0) {
+            if (quotient.mod(BigInteger.valueOf(5)).signum() == 0) {
+                quotient = quotient.add(BigInteger.ONE);
+            }
+        } else {
+            while (exp < idealExp) {
+                BigInteger[] dr = quotient.divideAndRemainder(BigInteger.TEN);
+                if (dr[1].signum() != 0) {
+                    break;
+                }
+                quotient = dr[0];
+                exp++;
+            }
+        }
+        return fix(sign, quotient, exp, prec, rounding);
+    }
+
+    /**
+     * The rescaling done by {@code Decimal.quantize} once the target exponent is known to be within
+     * the limits of the context. Results with more digits than the precision are left to
+     * {@link DecimalArithmetic#quantize}, which reports them as invalid.
+     */
+    public static DecimalResult quantize(int sign, long coeff, long exp, long targetExp, int prec, int rounding) throws OverflowException {
+        if (coeff == 0) {
+            return zero(sign, targetExp);
+        } else if (coeff > 0) {
+            int digits = digits(coeff);
+            if (subtractExact(addExact(exp, digits - 1), targetExp) + 1 > prec) {
+                throw OverflowException.INSTANCE;
+            }
+            long drop = subtractExact(targetExp, exp);
+            if (drop <= 0) {
+                if (drop >= -MAX_LONG_DIGITS) {
+                    try {
+                        return fix(sign, Math.multiplyExact(coeff, POW10[(int) -drop]), targetExp, prec, rounding);
+                    } catch (ArithmeticException e) {
+                        // continue with big integers
+                    }
+                }
+            } else {
+                long rest = coeff;
+                if (drop > digits) {
+                    // everything is dropped, only the rounding direction of a tiny rest matters
+                    rest = 1;
+                    drop = 1;
+                }
+                if (drop <= MAX_LONG_DIGITS) {
+                    long m = POW10[(int) drop];
+                    long q = rest / m;
+                    long r = rest - q * m;
+                    if (roundingDirection(rounding, sign, (int) (q % 10), Long.compare(r, m - r), r == 0) > 0) {
+                        q++;
+                    }
+                    int resultDigits = digits(q);
+                    if (resultDigits > prec) {
+                        throw OverflowException.INSTANCE;
+                    }
+                    return new DecimalResult(sign, q, resultDigits, targetExp, ROUNDED | (r != 0 ? INEXACT : 0));
+                }
+            }
+        }
+        return quantize(sign, BigInteger.valueOf(coeff), exp, targetExp, prec, rounding);
+    }
+
+    @TruffleBoundary
+    public static DecimalResult quantize(int sign, BigInteger coeff, long exp, long targetExp, int prec, int rounding) throws OverflowException {
+        checkCoefficient(coeff);
+        if (coeff.signum() == 0) {
+            return zero(sign, targetExp);
+        }
+        int digits = digits(coeff);
+        if (subtractExact(addExact(exp, digits - 1), targetExp) + 1 > prec) {
+            throw OverflowException.INSTANCE;
+        }
+        if (exp >= targetExp) {
+            return padAndFix(sign, coeff, exp, targetExp, prec, rounding);
+        }
+        long drop = subtractExact(targetExp, exp);
+        BigInteger rest = coeff;
+        if (drop > digits) {
+            rest = BigInteger.ONE;
+            drop = 1;
+        }
+        BigInteger m = pow10(drop);
+        BigInteger[] qr = rest.divideAndRemainder(m);
+        BigInteger q = qr[0];
+        if (roundingDirection(rounding, sign, q.mod(BigInteger.TEN).intValue(), qr[1].shiftLeft(1).compareTo(m), qr[1].signum() == 0) > 0) {
+            q = q.add(BigInteger.ONE);
+        }
+        int resultDigits = digits(q);
+        if (resultDigits > prec) {
+            throw OverflowException.INSTANCE;
+        }
+        return new DecimalResult(sign, q, resultDigits, targetExp, ROUNDED | (qr[1].signum() != 0 ? INEXACT : 0));
+    }
+
+    /**
+     * Pads the coefficient with zeros down to {@code targetExp}, which must not be larger than
+     * {@code exp}, and rounds the result to the precision.
+     */
+    private static DecimalResult padAndFix(int sign, BigInteger coeff, long exp, long targetExp, int prec, int rounding) throws OverflowException {
+        return fix(sign, coeff.multiply(pow10(subtractExact(exp, targetExp))), targetExp, prec, rounding);
+    }
+
+    private static DecimalResult zero(int sign, long exp) {
+        return new DecimalResult(sign, 0, 1, exp, 0);
+    }
+
+    /**
+     * The rounding part of {@code Decimal._fix} for values that are not subnormal. On a carry the
+     * coefficient is shortened again, exactly like {@code _pydecimal} does.
+     */
+    private static DecimalResult fix(int sign, long coeff, long exp, int prec, int rounding) throws OverflowException {
+        int digits = digits(coeff);
+        if (digits <= prec) {
+            return new DecimalResult(sign, coeff, digits, exp, 0);
+        }
+        int drop = digits - prec;
+        long m = POW10[drop];
+        long q = coeff / m;
+        long r = coeff - q * m;
+        int direction = roundingDirection(rounding, sign, (int) (q % 10), Long.compare(r, m - r), r == 0);
+        if (direction > 0) {
+            q++;
+            if (q == POW10[prec]) {
+                q /= 10;
+                drop++;
+            }
+        }
+        return new DecimalResult(sign, q, prec, addExact(exp, drop), ROUNDED | (direction != 0 ? INEXACT : 0));
+    }
+
+    private static DecimalResult fix(int sign, BigInteger coeff, long exp, int prec, int rounding) throws OverflowException {
+        if (coeff.bitLength() < Long.SIZE) {
+            return fix(sign, coeff.longValue(), exp, prec, rounding);
+        }
+        int digits = digits(coeff);
+        if (digits <= prec) {
+            return new DecimalResult(sign, coeff, digits, exp, 0);
+        }
+        int drop = digits - prec;
+        BigInteger m = pow10(drop);
+        BigInteger[] qr = coeff.divideAndRemainder(m);
+        BigInteger q = qr[0];
+        int direction = roundingDirection(rounding, sign, q.mod(BigInteger.TEN).intValue(), qr[1].shiftLeft(1).compareTo(m), qr[1].signum() == 0);
+        if (direction > 0) {
+            q = q.add(BigInteger.ONE);
+            if (q.equals(pow10(prec))) {
+                q = q.divide(BigInteger.TEN);
+                drop++;
+            }
+        }
+        return new DecimalResult(sign, q, prec, addExact(exp, drop), ROUNDED | (direction != 0 ? INEXACT : 0));
+    }
+
+    /**
+     * Decides how to round a coefficient whose last digits are dropped, like the
+     * {@code _round_*} functions of {@code _pydecimal}: 1 if the kept digits are incremented, 0 if
+     * the dropped digits are all zero and -1 if they are just truncated. {@code halfCmp} compares
+     * the dropped digits with one half of the last kept digit.
+     */
+    static int roundingDirection(int rounding, int sign, int lastKept, int halfCmp, boolean exact) {
+        if (exact) {
+            return 0;
+        }
+        switch (rounding) {
+            case ROUND_DOWN:
+                return -1;
+            case ROUND_UP:
+                return 1;
+            case ROUND_HALF_UP:
+                return halfCmp >= 0 ? 1 : -1;
+            case ROUND_HALF_DOWN:
+                return halfCmp > 0 ? 1 : -1;
+            case ROUND_HALF_EVEN:
+                return halfCmp > 0 || (halfCmp == 0 && (lastKept & 1) != 0) ? 1 : -1;
+            case ROUND_CEILING:
+                return sign == 0 ? 1 : -1;
+            case ROUND_FLOOR:
+                return sign == 0 ? -1 : 1;
+            case ROUND_05UP:
+                return lastKept == 0 || lastKept == 5 ? 1 : -1;
+            default:
+                throw CompilerDirectives.shouldNotReachHere();
+        }
+    }
+
+    private static void checkCoefficient(long coeff) throws OverflowException {
+        if (coeff < 0) {
+            throw OverflowException.INSTANCE;
+        }
+    }
+
+    private static void checkCoefficient(BigInteger coeff) throws OverflowException {
+        if (coeff.signum() < 0) {
+            throw OverflowException.INSTANCE;
+        }
+    }
+
+    static int digits(long value) {
+        int digits = 1;
+        while (digits <= MAX_LONG_DIGITS && value >= POW10[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static int digits(BigInteger value) throws OverflowException {
+        if (value.bitLength() < Long.SIZE) {
+            return digits(value.longValue());
+        }
+        // a value of n bits has either this many digits or one more
+        int estimate = (int) ((value.bitLength() - 1) * LOG10_2) + 1;
+        return value.compareTo(pow10(estimate)) >= 0 ? estimate + 1 : estimate;
+    }
+
+    private static BigInteger pow10(long n) throws OverflowException {
+        if (n > Integer.MAX_VALUE) {
+            throw OverflowException.INSTANCE;
+        }
+        return BigInteger.TEN.pow((int) n);
+    }
+
+    private static long addExact(long a, long b) throws OverflowException {
+        try {
+            return Math.addExact(a, b);
+        } catch (ArithmeticException e) {
+            throw OverflowException.INSTANCE;
+        }
+    }
+
+    private static long subtractExact(long a, long b) throws OverflowException {
+        try {
+            return Math.subtractExact(a, b);
+        } catch (ArithmeticException e) {
+            throw OverflowException.INSTANCE;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import java.math.BigInteger;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.builtins.objects.type.PythonBuiltinClass;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code decimal.Decimal} object. Like in {@code _pydecimal}, a value is either finite, given
+ * by its sign, coefficient and exponent, an infinity or a quiet or signaling NaN, which may carry
+ * a payload in its coefficient. The coefficient is kept as a {@code long} if it fits and as a
+ * {@link BigInteger} otherwise. The exponent always fits into a {@code long} because it is limited
+ * to {@link DecimalArithmetic#MIN_ETINY} and {@link DecimalArithmetic#MAX_EMAX} on creation.
+ */
+public final class PDecimal extends PythonBuiltinObject {
+    static final byte FINITE = 0;
+    static final byte INFINITE = 1;
+    static final byte QNAN = 2;
+    static final byte SNAN = 3;
+
+    private final int sign;
+    private final long coefficient;
+    /* the coefficient if it does not fit into a long, otherwise null */
+    private final BigInteger bigCoefficient;
+    private final long exponent;
+    private final byte kind;
+    private final boolean exact;
+    /* the number of digits of the coefficient, computed on first use */
+    private int digits = -1;
+
+    public PDecimal(Object cls, Shape instanceShape, int sign, long coefficient, long exponent, byte kind) {
+        super(cls, instanceShape);
+        assert coefficient >= 0 && (sign == 0 || sign == 1);
+        this.sign = sign;
+        this.coefficient = coefficient;
+        this.bigCoefficient = null;
+        this.exponent = exponent;
+        this.kind = kind;
+        this.exact = isDecimalClass(cls);
+    }
+
+    public PDecimal(Object cls, Shape instanceShape, int sign, BigInteger coefficient, long exponent, byte kind) {
+        super(cls, instanceShape);
+        assert coefficient.signum() >= 0 && (sign == 0 || sign == 1);
+        this.sign = sign;
+        if (coefficient.bitLength() < Long.SIZE) {
+            this.coefficient = coefficient.longValue();
+            this.bigCoefficient = null;
+        } else {
+            this.coefficient = -1;
+            this.bigCoefficient = coefficient;
+        }
+        this.exponent = exponent;
+        this.kind = kind;
+        this.exact = isDecimalClass(cls);
+    }
+
+    private static boolean isDecimalClass(Object cls) {
+        return cls == PythonBuiltinClassType.PDecimal || cls instanceof PythonBuiltinClass;
+    }
+
+    public int getSign() {
+        return sign;
+    }
+
+    /**
+     * The exponent of a finite value, zero for infinities and NaNs.
+     */
+    public long getExponent() {
+        return exponent;
+    }
+
+    byte getKind() {
+        return kind;
+    }
+
+    /**
+     * Whether this object is of type {@code Decimal} and not of a subclass.
+     */
+    boolean isExact() {
+        return exact;
+    }
+
+    public boolean isFinite() {
+        return kind == FINITE;
+    }
+
+    public boolean isSpecial() {
+        return kind != FINITE;
+    }
+
+    public boolean isInfinite() {
+        return kind == INFINITE;
+    }
+
+    public boolean isNaN() {
+        return kind >= QNAN;
+    }
+
+    public boolean isQNaN() {
+        return kind == QNAN;
+    }
+
+    public boolean isSNaN() {
+        return kind == SNAN;
+    }
+
+    /**
+     * Like {@code _isnan} of {@code _pydecimal}: 0 for numbers, 1 for quiet and 2 for signaling
+     * NaNs.
+     */
+    int nanKind() {
+        return kind >= QNAN ? kind - 1 : 0;
+    }
+
+    /**
+     * Whether this is a finite zero, which is the only value that is false.
+     */
+    public boolean isZero() {
+        return kind == FINITE && coefficient == 0;
+    }
+
+    public boolean fitsLong() {
+        return bigCoefficient == null;
+    }
+
+    /**
+     * The coefficient, or the payload of a NaN, if it fits into a long, see {@link #fitsLong()}.
+     */
+    public long getLongCoefficient() {
+        assert bigCoefficient == null;
+        return coefficient;
+    }
+
+    @TruffleBoundary
+    public BigInteger getCoefficient() {
+        return bigCoefficient != null ? bigCoefficient : BigInteger.valueOf(coefficient);
+    }
+
+    /**
+     * The number of digits of the coefficient, which is 0 for a NaN without payload.
+     */
+    public int getDigits() {
+        int result = digits;
+        if (result < 0) {
+            if (bigCoefficient != null) {
+                result = DecimalArithmetic.digits(bigCoefficient);
+            } else if (coefficient == 0 && kind >= QNAN) {
+                result = 0;
+            } else {
+                result = DecimalUtils.digits(coefficient);
+            }
+            digits = result;
+        }
+        return result;
+    }
+
+    /**
+     * The exponent of the most significant digit of a finite value, zero otherwise.
+     */
+    public long adjusted() {
+        return kind == FINITE ? exponent + getDigits() - 1 : 0;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.decimal;
+
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.DIVISION_BY_ZERO;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.IEEE_INVALID_OPERATION;
+import static com.oracle.graal.python.builtins.modules.decimal.DecimalArithmetic.OVERFLOW;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code decimal.Context} object. The flags and traps are kept as combinations of the status
+ * bits of {@link DecimalArithmetic}, a trapped {@code InvalidOperation} covers all of its
+ * conditions.
+ */
+public final class PDecimalContext extends PythonBuiltinObject {
+    static final long DEFAULT_PREC = 28;
+    static final long DEFAULT_EMIN = -999999;
+    static final long DEFAULT_EMAX = 999999;
+    static final int DEFAULT_TRAPS = IEEE_INVALID_OPERATION | DIVISION_BY_ZERO | OVERFLOW;
+
+    private long prec = DEFAULT_PREC;
+    private int rounding = DecimalUtils.ROUND_HALF_EVEN;
+    private long emin = DEFAULT_EMIN;
+    private long emax = DEFAULT_EMAX;
+    private int capitals = 1;
+    private int clamp;
+    private int flags;
+    private int traps = DEFAULT_TRAPS;
+    /* the views returned by the flags and traps attributes, created on first use */
+    private PDecimalSignalDict flagsDict;
+    private PDecimalSignalDict trapsDict;
+
+    public PDecimalContext(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    /**
+     * Copies the settings, flags and traps of another context.
+     */
+    void setFrom(PDecimalContext other) {
+        prec = other.prec;
+        rounding = other.rounding;
+        emin = other.emin;
+        emax = other.emax;
+        capitals = other.capitals;
+        clamp = other.clamp;
+        flags = other.flags;
+        traps = other.traps;
+    }
+
+    long getPrec() {
+        return prec;
+    }
+
+    void setPrec(long prec) {
+        this.prec = prec;
+    }
+
+    /**
+     * One of the {@code ROUND_*} constants of {@link DecimalUtils}.
+     */
+    int getRounding() {
+        return rounding;
+    }
+
+    void setRounding(int rounding) {
+        this.rounding = rounding;
+    }
+
+    long getEmin() {
+        return emin;
+    }
+
+    void setEmin(long emin) {
+        this.emin = emin;
+    }
+
+    long getEmax() {
+        return emax;
+    }
+
+    void setEmax(long emax) {
+        this.emax = emax;
+    }
+
+    int getCapitals() {
+        return capitals;
+    }
+
+    void setCapitals(int capitals) {
+        this.capitals = capitals;
+    }
+
+    int getClamp() {
+        return clamp;
+    }
+
+    void setClamp(int clamp) {
+        this.clamp = clamp;
+    }
+
+    int getFlags() {
+        return flags;
+    }
+
+    void setFlags(int flags) {
+        this.flags = flags;
+    }
+
+    int getTraps() {
+        return traps;
+    }
+
+    void setTraps(int traps) {
+        this.traps = traps;
+    }
+
+    PDecimalSignalDict getFlagsDict() {
+        return flagsDict;
+    }
+
+    void setFlagsDict(PDecimalSignalDict flagsDict) {
+        this.flagsDict = flagsDict;
+    }
+
+    PDecimalSignalDict getTrapsDict() {
+        return trapsDict;
+    }
+
+    void setTrapsDict(PDecimalSignalDict trapsDict) {
+        this.trapsDict = trapsDict;
+    }
+
+    /**
+     * Records the signals raised by an operation in the flags and returns those that are trapped.
+     */
+    int addStatus(int status) {
+        flags |= status;
+        return status & traps;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.HashlibHash)
+public final class HashObjectBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return HashObjectBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "update", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class UpdateNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static Object update(PHashObject self, Object data,
+                        @Cached HashlibNodes.UpdateNode updateNode) {
+            updateNode.execute(self, data);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "digest", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DigestNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        Object digest(PHashObject self) {
+            return factory().createBytes(self.digest());
+        }
+    }
+
+    @Builtin(name = "hexdigest", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class HexDigestNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static String hexdigest(PHashObject self,
+                        @Cached BytesNodes.ByteToHexNode toHexNode) {
+            byte[] digest = self.digest();
+            return toHexNode.execute(digest, digest.length, (byte) 0, 0);
+        }
+    }
+
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class CopyNode extends PythonUnaryBuiltinNode {
+
+        @Specialization(limit = "1")
+        Object copy(PHashObject self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            return factory().createHashObject(lib.getLazyPythonClass(self), self.getName(), self.getBlockSize(), self.copyDigest());
+        }
+    }
+
+    @Builtin(name = "name", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class NameNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static String name(PHashObject self) {
+            return self.getName();
+        }
+    }
+
+    @Builtin(name = "digest_size", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class DigestSizeNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static int digestSize(PHashObject self) {
+            return self.getDigestSize();
+        }
+    }
+
+    @Builtin(name = "block_size", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class BlockSizeNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static int blockSize(PHashObject self) {
+            return self.getBlockSize();
+        }
+    }
+}
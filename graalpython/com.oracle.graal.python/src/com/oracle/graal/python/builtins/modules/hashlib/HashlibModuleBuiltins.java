@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.OverflowError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Locale;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+/**
+ * The {@code _hashlib} module backed by {@link MessageDigest}. It takes the place of CPython's
+ * OpenSSL bindings, so {@code hashlib} and {@code hmac} pick it up without changes. Algorithms the
+ * running JDK does not provide raise {@code ValueError} and {@code hashlib} falls back to its pure
+ * Python implementations.
+ */
+@CoreFunctions(defineModule = "_hashlib")
+public class HashlibModuleBuiltins extends PythonBuiltins {
+
+    private static final String[] NAMES = {"md5", "sha1", "sha224", "sha256", "sha384", "sha512", "sha512_224", "sha512_256", "sha3_224", "sha3_256", "sha3_384", "sha3_512"};
+    private static final String[] JAVA_NAMES = {"MD5", "SHA-1", "SHA-224", "SHA-256", "SHA-384", "SHA-512", "SHA-512/224", "SHA-512/256", "SHA3-224", "SHA3-256", "SHA3-384", "SHA3-512"};
+    private static final int[] BLOCK_SIZES = {64, 64, 64, 64, 128, 128, 128, 128, 144, 136, 104, 72};
+
+    private static final byte IPAD = 0x36;
+    private static final byte OPAD = 0x5c;
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return HashlibModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void postInitialize(PythonCore core) {
+        super.postInitialize(core);
+        HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+        HashingStorage names = EconomicMapStorage.create(NAMES.length);
+        for (int i = 0; i < NAMES.length; i++) {
+            if (isAvailable(JAVA_NAMES[i])) {
+                names = lib.setItem(names, NAMES[i], PNone.NONE);
+            }
+        }
+        core.lookupBuiltinModule("_hashlib").setAttribute("openssl_md_meth_names", core.factory().createFrozenSet(names));
+    }
+
+    @TruffleBoundary
+    private static boolean isAvailable(String javaName) {
+        try {
+            MessageDigest.getInstance(javaName);
+            return true;
+        } catch (NoSuchAlgorithmException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the index of the algorithm in {@link #NAMES} or {@code -1} if it is not known.
+     */
+    @TruffleBoundary
+    static int lookupAlgorithm(String name) {
+        String lowerName = name.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < NAMES.length; i++) {
+            if (NAMES[i].equals(lowerName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a fresh digest for the algorithm or {@code null} if the JDK does not provide it.
+     */
+    @TruffleBoundary
+    static MessageDigest createDigest(int algorithm) {
+        try {
+            return MessageDigest.getInstance(JAVA_NAMES[algorithm]);
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    @TruffleBoundary
+    static MessageDigest cloneDigest(MessageDigest digest) {
+        try {
+            return (MessageDigest) digest.clone();
+        } catch (CloneNotSupportedException e) {
+            throw CompilerDirectives.shouldNotReachHere(e);
+        }
+    }
+
+    /**
+     * Returns the inner and outer digests of an HMAC keyed with {@code key}, ready to take the
+     * message. Both are fresh copies that may be consumed.
+     */
+    @TruffleBoundary
+    static MessageDigest[] hmacDigests(MessageDigest digest, int blockSize, byte[] key) {
+        byte[] block = new byte[blockSize];
+        if (key.length > blockSize) {
+            MessageDigest keyDigest = cloneDigest(digest);
+            byte[] hashedKey = keyDigest.digest(key);
+            System.arraycopy(hashedKey, 0, block, 0, hashedKey.length);
+        } else {
+            System.arraycopy(key, 0, block, 0, key.length);
+        }
+        MessageDigest inner = cloneDigest(digest);
+        MessageDigest outer = cloneDigest(digest);
+        for (int i = 0; i < blockSize; i++) {
+            inner.update((byte) (block[i] ^ IPAD));
+            outer.update((byte) (block[i] ^ OPAD));
+        }
+        return new MessageDigest[]{inner, outer};
+    }
+
+    @TruffleBoundary
+    static byte[] hmac(MessageDigest inner, MessageDigest outer, byte[] msg) {
+        inner.update(msg);
+        return outer.digest(inner.digest());
+    }
+
+    /**
+     * PBKDF2 as in RFC 8018 with {@code HMAC(hmacDigests)} as the pseudorandom function.
+     */
+    @TruffleBoundary
+    static byte[] pbkdf2(MessageDigest[] hmacDigests, byte[] salt, int iterations, int dklen) {
+        MessageDigest inner = hmacDigests[0];
+        MessageDigest outer = hmacDigests[1];
+        int digestSize = outer.getDigestLength();
+        byte[] key = new byte[dklen];
+        byte[] blockSalt = new byte[salt.length + 4];
+        System.arraycopy(salt, 0, blockSalt, 0, salt.length);
+        for (int block = 1, offset = 0; offset < dklen; block++, offset += digestSize) {
+            blockSalt[salt.length] = (byte) (block >>> 24);
+            blockSalt[salt.length + 1] = (byte) (block >>> 16);
+            blockSalt[salt.length + 2] = (byte) (block >>> 8);
+            blockSalt[salt.length + 3] = (byte) block;
+            byte[] u = hmac(cloneDigest(inner), cloneDigest(outer), blockSalt);
+            byte[] t = u.clone();
+            for (int i = 1; i < iterations; i++) {
+                u = hmac(cloneDigest(inner), cloneDigest(outer), u);
+                for (int j = 0; j < t.length; j++) {
+                    t[j] ^= u[j];
+                }
+            }
+            System.arraycopy(t, 0, key, offset, Math.min(digestSize, dklen - offset));
+        }
+        return key;
+    }
+
+    /**
+     * Returns the digest for a hash name or raises {@code ValueError} if it is not available.
+     */
+    static MessageDigest getDigest(PNodeWithRaise node, int algorithm) {
+        MessageDigest digest = algorithm < 0 ? null : createDigest(algorithm);
+        if (digest == null) {
+            throw node.raise(ValueError, ErrorMessages.UNSUPPORTED_HASH_TYPE);
+        }
+        return digest;
+    }
+
+    static PHashObject createHash(PNodeWithRaise node, PythonObjectFactory factory, int algorithm, Object data, HashlibNodes.UpdateNode updateNode) {
+        MessageDigest digest = getDigest(node, algorithm);
+        PHashObject hash = factory.createHashObject(PythonBuiltinClassType.HashlibHash, NAMES[algorithm], BLOCK_SIZES[algorithm], digest);
+        if (data != PNone.NO_VALUE) {
+            updateNode.execute(hash, data);
+        }
+        return hash;
+    }
+
+    @Builtin(name = "new", minNumOfPositionalArgs = 1, parameterNames = {"name", "string"})
+    @ArgumentClinic(name = "name", conversion = ClinicConversion.String)
+    @GenerateNodeFactory
+    abstract static class NewNode extends PythonBinaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return HashlibModuleBuiltinsClinicProviders.NewNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object doNew(String name, Object data,
+                        @Cached HashlibNodes.UpdateNode updateNode) {
+            return createHash(this, factory(), lookupAlgorithm(name), data, updateNode);
+        }
+    }
+
+    /**
+     * Base class of the named constructors like {@code openssl_sha256}.
+     */
+    abstract static class ConstructorNode extends PythonUnaryBuiltinNode {
+
+        abstract int getAlgorithm();
+
+        @Specialization
+        Object create(Object data,
+                        @Cached HashlibNodes.UpdateNode updateNode) {
+            return createHash(this, factory(), getAlgorithm(), data, updateNode);
+        }
+    }
+
+    @Builtin(name = "openssl_md5", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Md5Node extends ConstructorNode {
+        @Override
+        int getAlgorithm() {
+            return 0;
+        }
+    }
+
+    @Builtin(name = "openssl_sha1", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Sha1Node extends ConstructorNode {
+        @Override
+        int getAlgorithm() {
+            return 1;
+        }
+    }
+
+    @Builtin(name = "openssl_sha224", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Sha224Node extends ConstructorNode {
+        @Override
+        int getAlgorithm() {
+            return 2;
+        }
+    }
+
+    @Builtin(name = "openssl_sha256", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Sha256Node extends ConstructorNode {
+        @Override
+        int getAlgorithm() {
+            return 3;
+        }
+    }
+
+    @Builtin(name = "openssl_sha384", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Sha384Node extends ConstructorNode {
+        @Override
+        int getAlgorithm() {
+            return 4;
+        }
+    }
+
+    @Builtin(name = "openssl_sha512", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Sha512Node extends ConstructorNode {
+        @Override
+        int getAlgorithm() {
+            return 5;
+        }
+    }
+
+    @Builtin(name = "openssl_sha3_224", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Sha3224Node extends ConstructorNode {
+        @Override
+        int getAlgorithm() {
+            return 8;
+        }
+    }
+
+    @Builtin(name = "openssl_sha3_256", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Sha3256Node extends ConstructorNode {
+        @Override
+        int getAlgorithm() {
+            return 9;
+        }
+    }
+
+    @Builtin(name = "openssl_sha3_384", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Sha3384Node extends ConstructorNode {
+        @Override
+        int getAlgorithm() {
+            return 10;
+        }
+    }
+
+    @Builtin(name = "openssl_sha3_512", parameterNames = {"string"})
+    @GenerateNodeFactory
+    abstract static class Sha3512Node extends ConstructorNode {
+        @Override
+        int getAlgorithm() {
+            return 11;
+        }
+    }
+
+    @Builtin(name = "hmac_digest", minNumOfPositionalArgs = 3, parameterNames = {"key", "msg", "digest"})
+    @ArgumentClinic(name = "key", conversion = ClinicConversion.Buffer)
+    @ArgumentClinic(name = "msg", conversion = ClinicConversion.Buffer)
+    @ArgumentClinic(name = "digest", conversion = ClinicConversion.String)
+    @GenerateNodeFactory
+    abstract static class HmacDigestNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return HashlibModuleBuiltinsClinicProviders.HmacDigestNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object hmacDigest(byte[] key, byte[] msg, String digestName,
+                        @Cached GilNode gil) {
+            int algorithm = lookupAlgorithm(digestName);
+            MessageDigest digest = getDigest(this, algorithm);
+            byte[] result;
+            if (msg.length >= HashlibNodes.GIL_MINSIZE) {
+                gil.release(true);
+                try {
+                    MessageDigest[] digests = hmacDigests(digest, BLOCK_SIZES[algorithm], key);
+                    result = hmac(digests[0], digests[1], msg);
+                } finally {
+                    gil.acquire();
+                }
+            } else {
+                MessageDigest[] digests = hmacDigests(digest, BLOCK_SIZES[algorithm], key);
+                result = hmac(digests[0], digests[1], msg);
+            }
+            return factory().createBytes(result);
+        }
+    }
+
+    @Builtin(name = "pbkdf2_hmac", minNumOfPositionalArgs = 4, parameterNames = {"hash_name", "password", "salt", "iterations", "dklen"})
+    @ArgumentClinic(name = "hash_name", conversion = ClinicConversion.String)
+    @ArgumentClinic(name = "password", conversion = ClinicConversion.Buffer)
+    @ArgumentClinic(name = "salt", conversion = ClinicConversion.Buffer)
+    @ArgumentClinic(name = "iterations", conversion = ClinicConversion.Long)
+    @GenerateNodeFactory
+    abstract static class Pbkdf2HmacNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return HashlibModuleBuiltinsClinicProviders.Pbkdf2HmacNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object pbkdf2Hmac(VirtualFrame frame, String hashName, byte[] password, byte[] salt, long iterations, Object dklenObj,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached GilNode gil) {
+            int algorithm = lookupAlgorithm(hashName);
+            MessageDigest digest = getDigest(this, algorithm);
+            if (iterations < 1) {
+                throw raise(ValueError, ErrorMessages.ITERATION_VALUE_MUST_BE_GREATER_THAN_0);
+            }
+            if (iterations > Integer.MAX_VALUE) {
+                throw raise(OverflowError, ErrorMessages.ITERATION_VALUE_IS_TOO_GREAT);
+            }
+            int dklen;
+            if (PGuards.isPNone(dklenObj)) {
+                dklen = digest.getDigestLength();
+            } else {
+                dklen = asSizeNode.executeExact(frame, dklenObj);
+                if (dklen < 1) {
+                    throw raise(ValueError, ErrorMessages.KEY_LENGTH_MUST_BE_GREATER_THAN_0);
+                }
+            }
+            byte[] key;
+            gil.release(true);
+            try {
+                key = pbkdf2(hmacDigests(digest, BLOCK_SIZES[algorithm], password), salt, (int) iterations, dklen);
+            } finally {
+                gil.acquire();
+            }
+            return factory().createBytes(key);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+
+public abstract class HashlibNodes {
+
+    /**
+     * Like CPython's {@code HASHLIB_GIL_MINSIZE}, updates with at least this many bytes release the
+     * GIL.
+     */
+    static final int GIL_MINSIZE = 2048;
+
+    /**
+     * Feeds a bytes-like object into the digest. Bytes, bytearrays and contiguous memoryviews over
+     * them are hashed directly from their storage, other buffers are copied first.
+     */
+    @ImportStatic(PGuards.class)
+    public abstract static class UpdateNode extends PNodeWithRaise {
+
+        public abstract void execute(PHashObject self, Object data);
+
+        @Specialization(guards = "isByteStorage(data)")
+        static void doBytes(PHashObject self, PBytesLike data,
+                        @Shared("gil") @Cached GilNode gil) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) data.getSequenceStorage();
+            update(self, storage.getInternalByteArray(), 0, storage.length(), gil);
+        }
+
+        @Specialization(guards = "isDirectView(data)")
+        static void doMemoryView(PHashObject self, PMemoryView data,
+                        @Shared("gil") @Cached GilNode gil) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) ((PBytesLike) data.getOwner()).getSequenceStorage();
+            update(self, storage.getInternalByteArray(), data.getOffset(), data.getLength(), gil);
+        }
+
+        @Specialization(guards = "isString(data)")
+        void doString(@SuppressWarnings("unused") PHashObject self, @SuppressWarnings("unused") Object data) {
+            throw raise(TypeError, ErrorMessages.UNICODE_OBJECTS_MUST_BE_ENCODED_BEFORE_HASHING);
+        }
+
+        @Specialization(guards = "!isString(data)")
+        static void doGeneric(PHashObject self, Object data,
+                        @Cached("createToBytes()") BytesNodes.ToBytesNode toBytesNode,
+                        @Shared("gil") @Cached GilNode gil) {
+            byte[] bytes = toBytesNode.execute(data);
+            update(self, bytes, 0, bytes.length, gil);
+        }
+
+        static boolean isDirectView(PMemoryView view) {
+            Object owner = view.getOwner();
+            return !view.isReleased() && view.getBufferPointer() == null && view.isCContiguous() && owner instanceof PBytesLike &&
+                            ((PBytesLike) owner).getSequenceStorage() instanceof ByteSequenceStorage;
+        }
+
+        static BytesNodes.ToBytesNode createToBytes() {
+            return BytesNodes.ToBytesNode.create(TypeError, ErrorMessages.OBJECT_SUPPORTING_THE_BUFFER_API_REQUIRED);
+        }
+
+        private static void update(PHashObject self, byte[] data, int offset, int length, GilNode gil) {
+            if (length >= GIL_MINSIZE) {
+                gil.release(true);
+                try {
+                    self.update(data, offset, length);
+                } finally {
+                    gil.acquire();
+                }
+            } else {
+                self.update(data, offset, length);
+            }
+        }
+
+        public static UpdateNode create() {
+            return HashlibNodesFactory.UpdateNodeGen.create();
+        }
+    }
+}
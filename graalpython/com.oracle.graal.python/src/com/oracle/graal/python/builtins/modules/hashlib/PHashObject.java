@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.hashlib;
+
+import java.security.MessageDigest;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code _hashlib.HASH} object wrapping a {@link MessageDigest}. Large updates run without
+ * the GIL, so all access to the digest is synchronized on it.
+ */
+public final class PHashObject extends PythonBuiltinObject {
+    private final String name;
+    private final int blockSize;
+    private final MessageDigest digest;
+
+    public PHashObject(Object cls, Shape instanceShape, String name, int blockSize, MessageDigest digest) {
+        super(cls, instanceShape);
+        this.name = name;
+        this.blockSize = blockSize;
+        this.digest = digest;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getDigestSize() {
+        return digest.getDigestLength();
+    }
+
+    @TruffleBoundary
+    public void update(byte[] data, int offset, int length) {
+        synchronized (digest) {
+            digest.update(data, offset, length);
+        }
+    }
+
+    /**
+     * Returns the digest of the data so far without resetting the state.
+     */
+    @TruffleBoundary
+    public byte[] digest() {
+        return copyDigest().digest();
+    }
+
+    @TruffleBoundary
+    public MessageDigest copyDigest() {
+        synchronized (digest) {
+            try {
+                return (MessageDigest) digest.clone();
+            } catch (CloneNotSupportedException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+    }
+}
@@ -70,6 +70,8 @@ import java.util.List;
 import com.oracle.graal.python.annotations.ArgumentClinic;
 import com.oracle.graal.python.builtins.Builtin;
 import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
 import com.oracle.graal.python.builtins.objects.bytes.BytesUtils;
@@ -84,7 +86,11 @@ import com.oracle.graal.python.nodes.attributes.LookupAttributeInMRONode;
 import com.oracle.graal.python.nodes.call.special.CallUnaryMethodNode;
 import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
 import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
@@ -95,6 +101,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.interop.UnsupportedMessageException;
 import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @CoreFunctions(extendClasses = {PBufferedReader, PBufferedRandom})
@@ -105,22 +112,48 @@ public class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltins {
     }
 
     /**
-     * implementation of cpython/Modules/_io/bufferedio.c:_bufferedreader_raw_read
+     * Special return code of {@link RawReadNode}: a non-blocking stream would have blocked.
      */
+    protected static final int BLOCKED = -2;
 
-    protected static final byte[] BLOCKED = new byte[0];
-
+    /**
+     * implementation of cpython/Modules/_io/bufferedio.c:_bufferedreader_raw_read
+     *
+     * Reads up to {@code len} bytes into {@code dest} at {@code offset} and returns the number of
+     * bytes read or {@link #BLOCKED}. If the raw stream is a builtin {@code FileIO}, the data is
+     * read directly into {@code dest}, otherwise {@code readinto} is called with a temporary
+     * bytearray.
+     */
     abstract static class RawReadNode extends PNodeWithRaise {
 
-        public abstract byte[] execute(VirtualFrame frame, PBuffered self, int len);
+        public abstract int execute(VirtualFrame frame, PBuffered self, byte[] dest, int offset, int len);
+
+        @Specialization(guards = {"isExactFileIO(self.getRaw(), isFileIOProfile)", "isReadableFileIO(self.getRaw())"})
+        static int doFileIO(VirtualFrame frame, PBuffered self, byte[] dest, int offset, int len,
+                        @SuppressWarnings("unused") @Cached IsBuiltinClassProfile isFileIOProfile,
+                        @Cached FileIOBuiltins.ReadintoNode readintoNode,
+                        @Cached PosixModuleBuiltins.ReadNode posixRead,
+                        @Cached BranchProfile readErrorProfile,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile exceptionProfile,
+                        @Cached GilNode gil) {
+            // TODO _PyIO_trap_eintr [GR-23297]
+            Object res = readintoNode.readIntoArray(frame, (PFileIO) self.getRaw(), dest, offset, len, posixRead, readErrorProfile, posixLib, exceptionProfile, gil);
+            if (res == PNone.NONE) {
+                /* Non-blocking stream would have blocked. Special return code! */
+                return BLOCKED;
+            }
+            return updateAbsPos(self, (int) res);
+        }
 
         // This is the spec way
-        @Specialization
-        byte[] bufferedreaderRawRead(VirtualFrame frame, PBuffered self, int len,
-                        @Cached BytesNodes.ToBytesNode toBytes,
+        @Specialization(guards = "!isExactFileIO(self.getRaw(), isFileIOProfile) || !isReadableFileIO(self.getRaw())")
+        int bufferedreaderRawRead(VirtualFrame frame, PBuffered self, byte[] dest, int offset, int len,
+                        @SuppressWarnings("unused") @Cached IsBuiltinClassProfile isFileIOProfile,
                         @Cached PythonObjectFactory factory,
                         @Cached IONodes.CallReadInto readInto,
                         @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached SequenceStorageNodes.GetInternalByteArrayNode getBytes,
                         @Cached ConditionProfile osError) {
             PByteArray memobj = factory.createByteArray(new byte[len]);
             // TODO _PyIO_trap_eintr [GR-23297]
@@ -133,19 +166,27 @@ public class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltins {
             if (osError.profile(n < 0 || n > len)) {
                 throw raise(OSError, IO_S_INVALID_LENGTH, "readinto()", n, len);
             }
+            if (n > 0) {
+                SequenceStorage storage = memobj.getSequenceStorage();
+                PythonUtils.arraycopy(getBytes.execute(storage), 0, dest, offset, Math.min(n, storage.length()));
+            }
+            return updateAbsPos(self, n);
+        }
+
+        static boolean isExactFileIO(Object raw, IsBuiltinClassProfile isFileIOProfile) {
+            return isFileIOProfile.profileObject(raw, PythonBuiltinClassType.PFileIO);
+        }
+
+        static boolean isReadableFileIO(Object raw) {
+            return !((PFileIO) raw).isClosed() && ((PFileIO) raw).isReadable();
+        }
+
+        private static int updateAbsPos(PBuffered self, int n) {
             if (n > 0 && self.getAbsPos() != -1) {
                 self.incAbsPos(n);
             }
-            if (n == 0) {
-                return PythonUtils.EMPTY_BYTE_ARRAY;
-            }
-            byte[] bytes = toBytes.execute(memobj);
-            if (n < len) {
-                return PythonUtils.arrayCopyOf(bytes, n);
-            }
-            return bytes;
+            return n;
         }
-
     }
 
     /**
@@ -165,15 +206,10 @@ public class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltins {
                 start = 0;
             }
             int len = self.getBufferSize() - start;
-            byte[] fill = rawReadNode.execute(frame, self, len);
-            if (fill == BLOCKED) {
-                return -2;
-            }
-            int n = fill.length;
-            if (n == 0) {
+            int n = rawReadNode.execute(frame, self, self.getBuffer(), start, len);
+            if (n <= 0) {
                 return n;
             }
-            PythonUtils.arraycopy(fill, 0, self.getBuffer(), start, n);
             self.setReadEnd(start + n);
             self.setRawPos(start + n);
             return n;
@@ -285,14 +321,8 @@ public class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltins {
                     if (r == 0) {
                         break;
                     }
-                    byte[] fill = rawReadNode.execute(frame, self, r);
-                    if (fill == BLOCKED) {
-                        r = -2;
-                    } else {
-                        r = fill.length;
-                        PythonUtils.arraycopy(fill, 0, res, written, r);
-                    }
-                    if (r == 0 || r == -2) {
+                    r = rawReadNode.execute(frame, self, res, written, r);
+                    if (r == 0 || r == BLOCKED) {
                         /* EOF occurred */
                         if (r == 0 || written > 0) {
                             return factory().createBytes(PythonUtils.arrayCopyOf(res, written));
@@ -480,8 +510,12 @@ public class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltins {
             try {
                 lock.enter(self);
                 self.resetRead(); // _bufferedreader_reset_buf
-                byte[] fill = rawReadNode.execute(frame, self, n);
-                return factory().createBytes(fill == BLOCKED ? PythonUtils.EMPTY_BYTE_ARRAY : fill);
+                byte[] fill = new byte[n];
+                int r = rawReadNode.execute(frame, self, fill, 0, n);
+                if (r <= 0) {
+                    return factory().createBytes(PythonUtils.EMPTY_BYTE_ARRAY);
+                }
+                return factory().createBytes(r < n ? PythonUtils.arrayCopyOf(fill, r) : fill);
             } finally {
                 BufferedIONodes.EnterBufferedNode.leave(self);
             }
@@ -504,7 +538,8 @@ public class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltins {
                         @Cached BufferedIONodes.FlushAndRewindUnlockedNode flushAndRewindUnlockedNode,
                         @Cached RawReadNode rawReadNode,
                         @Cached FillBufferNode fillBufferNode,
-                        @Cached SequenceStorageNodes.BytesMemcpyNode memcpyNode) {
+                        @Cached SequenceStorageNodes.BytesMemcpyNode memcpyNode,
+                        @Cached ConditionProfile isDirectProfile) {
             checkIsClosedNode.execute(frame, self);
             int bufLen = getLen.execute(frame, buffer);
             try {
@@ -531,18 +566,24 @@ public class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltins {
                 self.resetRead(); // _bufferedreader_reset_buf
                 self.setPos(0);
 
+                boolean isDirect = isDirectProfile.profile(IONodes.isDirectWritableBuffer(buffer));
+
                 for (int remaining = bufLen - written; remaining > 0; written += n, remaining -= n) {
                     /*-
                      If remaining bytes is larger than internal buffer size, copy directly into
                      caller's buffer.
                      */
                     if (remaining > self.getBufferSize()) {
-                        byte[] fill = rawReadNode.execute(frame, self, remaining);
-                        if (fill == BLOCKED) {
-                            n = -2;
-                        } else {
-                            n = fill.length;
-                            memcpyNode.execute(frame, buffer, written, fill, 0, n);
+                        // the raw read releases the GIL, so it must not target the bytearray's
+                        // storage, which may be replaced meanwhile
+                        byte[] fill = new byte[remaining];
+                        n = rawReadNode.execute(frame, self, fill, 0, remaining);
+                        if (n > 0) {
+                            if (isDirect) {
+                                IONodes.copyToDirectBuffer(buffer, written, fill, n);
+                            } else {
+                                memcpyNode.execute(frame, buffer, written, fill, 0, n);
+                            }
                         }
                     } else if (!(isReadinto1Mode() && written != 0)) {
                         /*-
@@ -563,10 +604,10 @@ public class BufferedReaderMixinBuiltins extends AbstractBufferedIOBuiltins {
                         n = 0;
                     }
 
-                    if (n == 0 || (n == -2 && written > 0)) {
+                    if (n == 0 || (n == BLOCKED && written > 0)) {
                         break;
                     }
-                    if (n == -2) {
+                    if (n == BLOCKED) {
                         return PNone.NONE;
                     }
                     /* At most one read in readinto1 mode */
@@ -115,6 +115,7 @@ import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
 import com.oracle.graal.python.builtins.objects.type.TypeNodes;
 import com.oracle.graal.python.lib.PyNumberAsSizeNode;
@@ -135,6 +136,7 @@ import com.oracle.graal.python.runtime.AsyncHandler;
 import com.oracle.graal.python.runtime.GilNode;
 import com.oracle.graal.python.runtime.PosixSupportLibrary;
 import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -142,6 +144,7 @@ import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.CachedContext;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
@@ -581,10 +584,55 @@ public class FileIOBuiltins extends PythonBuiltins {
     }
 
     @Builtin(name = READINTO, minNumOfPositionalArgs = 2)
+    @ImportStatic(IONodes.class)
     @GenerateNodeFactory
     abstract static class ReadintoNode extends PythonBinaryBuiltinNode {
 
-        @Specialization(guards = {"!self.isClosed()", "self.isReadable()"})
+        /**
+         * Bytearrays and writable memoryviews over their storage are read into without an
+         * intermediate bytes object.
+         */
+        @Specialization(guards = {"!self.isClosed()", "self.isReadable()", "isDirectWritableBuffer(buffer)"})
+        Object readintoDirect(VirtualFrame frame, PFileIO self, Object buffer,
+                        @Cached PosixModuleBuiltins.ReadNode posixRead,
+                        @Cached BranchProfile readErrorProfile,
+                        @CachedLibrary(limit = "1") PosixSupportLibrary posixLib,
+                        @Cached BranchProfile exceptionProfile,
+                        @Cached GilNode gil) {
+            int length = IONodes.getDirectBufferLength(buffer);
+            byte[] buf = new byte[length];
+            Object n = readIntoArray(frame, self, buf, 0, length, posixRead, readErrorProfile, posixLib, exceptionProfile, gil);
+            if (n instanceof Integer) {
+                IONodes.copyToDirectBuffer(buffer, 0, buf, (int) n);
+            }
+            return n;
+        }
+
+        /**
+         * Reads up to {@code length} bytes into {@code buf} at {@code offset}. Returns the number
+         * of bytes read, or {@code None} if the file is non-blocking and no data is available.
+         */
+        Object readIntoArray(VirtualFrame frame, PFileIO self, byte[] buf, int offset, int length,
+                        PosixModuleBuiltins.ReadNode posixRead,
+                        BranchProfile readErrorProfile,
+                        PosixSupportLibrary posixLib,
+                        BranchProfile exceptionProfile,
+                        GilNode gil) {
+            if (length == 0) {
+                return 0;
+            }
+            try {
+                return posixRead.readInto(self.getFD(), buf, offset, length, posixLib, readErrorProfile, gil);
+            } catch (PosixSupportLibrary.PosixException e) {
+                if (e.getErrorCode() == EAGAIN.getNumber()) {
+                    return PNone.NONE;
+                }
+                exceptionProfile.enter();
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+        }
+
+        @Specialization(guards = {"!self.isClosed()", "self.isReadable()", "!isDirectWritableBuffer(buffer)"})
         Object readinto(VirtualFrame frame, PFileIO self, Object buffer,
                         @Cached PosixModuleBuiltins.ReadNode posixRead,
                         @Cached BranchProfile readErrorProfile,
@@ -724,11 +772,12 @@ public class FileIOBuiltins extends PythonBuiltins {
                     WarningsModuleBuiltins.WarnNode warn,
                     PythonContext context) {
         if (self.getFD() >= 0 && self.isCloseFD()) {
-            PException exc = context.getCurrentException();
+            PythonThreadState threadState = context.getThreadState(PArguments.getThreadStateFromCaller(frame));
+            PException exc = threadState.getCurrentException();
             warn.resourceWarning(frame, self, 1, "unclosed file %r", self);
             /* Spurious errors can appear at shutdown */
             /* (mq) we aren't doing WriteUnraisable as WarnNode will take care of it */
-            context.setCurrentException(exc);
+            threadState.setCurrentException(exc);
         }
     }
 
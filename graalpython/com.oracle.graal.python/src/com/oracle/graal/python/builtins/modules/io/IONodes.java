@@ -57,8 +57,10 @@ import com.oracle.graal.python.annotations.ClinicConverterFactory;
 import com.oracle.graal.python.builtins.modules.WarningsModuleBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
 import com.oracle.graal.python.builtins.objects.str.PString;
@@ -71,6 +73,8 @@ import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.nodes.util.CannotCastException;
 import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.Cached;
 import com.oracle.truffle.api.dsl.ImportStatic;
@@ -140,6 +144,64 @@ public class IONodes {
     public static final String _CHECKWRITABLE = "_checkWritable";
     public static final String _CHUNK_SIZE = "_CHUNK_SIZE";
 
+    /**
+     * Whether {@code buffer} is a bytearray or a writable, contiguous memoryview over the managed
+     * byte storage of a bytearray. Reads can store into such buffers without an intermediate bytes
+     * object, see {@link #copyToDirectBuffer}.
+     */
+    public static boolean isDirectWritableBuffer(Object buffer) {
+        if (buffer instanceof PByteArray) {
+            return PGuards.isByteStorage((PByteArray) buffer);
+        }
+        if (buffer instanceof PMemoryView) {
+            PMemoryView view = (PMemoryView) buffer;
+            Object owner = view.getOwner();
+            return !view.isReleased() && !view.isReadOnly() && view.getBufferPointer() == null && view.isCContiguous() && owner instanceof PByteArray &&
+                            PGuards.isByteStorage((PByteArray) owner);
+        }
+        return false;
+    }
+
+    /**
+     * The storage backing a buffer accepted by {@link #isDirectWritableBuffer}. The buffer covers
+     * {@link #getDirectBufferLength} bytes of it, starting at {@link #getDirectBufferOffset}.
+     */
+    public static ByteSequenceStorage getDirectBufferStorage(Object buffer) {
+        if (buffer instanceof PMemoryView) {
+            return (ByteSequenceStorage) ((PByteArray) ((PMemoryView) buffer).getOwner()).getSequenceStorage();
+        }
+        return (ByteSequenceStorage) ((PByteArray) buffer).getSequenceStorage();
+    }
+
+    public static int getDirectBufferOffset(Object buffer) {
+        return buffer instanceof PMemoryView ? ((PMemoryView) buffer).getOffset() : 0;
+    }
+
+    public static int getDirectBufferLength(Object buffer) {
+        if (buffer instanceof PMemoryView) {
+            return ((PMemoryView) buffer).getLength();
+        }
+        return ((PByteArray) buffer).getSequenceStorage().length();
+    }
+
+    /**
+     * Copies the first {@code count} bytes of {@code src} to position {@code pos} of a buffer
+     * accepted by {@link #isDirectWritableBuffer}. Reads must go to a temporary array first, the
+     * bytearray may be resized while the GIL is released, so the storage is looked up again here
+     * and the copy is clipped to what is left of the buffer.
+     */
+    public static void copyToDirectBuffer(Object buffer, int pos, byte[] src, int count) {
+        if (!isDirectWritableBuffer(buffer)) {
+            return;
+        }
+        ByteSequenceStorage storage = getDirectBufferStorage(buffer);
+        int offset = getDirectBufferOffset(buffer) + pos;
+        int n = Math.min(count, storage.length() - offset);
+        if (n > 0) {
+            PythonUtils.arraycopy(src, 0, storage.getInternalByteArray(), offset, n);
+        }
+    }
+
     @CompilerDirectives.ValueType
     public static class IOMode {
         boolean creating;
@@ -46,6 +46,10 @@ import static com.oracle.graal.python.builtins.objects.bytes.BytesUtils.toByteAr
 
 import java.io.ByteArrayOutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
 
 import com.oracle.graal.python.builtins.objects.ints.IntBuiltins;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
@@ -53,6 +57,7 @@ import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.memory.ByteArraySupport;
 import com.oracle.truffle.api.object.Shape;
 import com.oracle.truffle.api.profiles.ConditionProfile;
@@ -87,6 +92,7 @@ public class PTextIO extends PTextIOBase {
      * Python) becomes a bottleneck for small writes.
      */
     private StringBuilder decodedChars; /* buffer for text returned from decoder */
+    private String decodedCharsView; /* decodedChars as a string, used by readline */
     private int decodedCharsUsed; /* offset into _decoded_chars for read() */
     private ByteArrayOutputStream pendingBytes;       // data waiting to be written.
 
@@ -105,6 +111,15 @@ public class PTextIO extends PTextIOBase {
     /* Cache raw object if it's a FileIO object */
     private PFileIO raw;
 
+    /*
+     * For UTF-8, Latin-1 and ASCII with strict error handling, chunks are decoded with a Java
+     * decoder instead of calling the codec's incremental decoder. The undecoded tail of the input
+     * is kept in fastDecoderPending. If fastDecoderPending is null, the decoder state is held by
+     * the codec's incremental decoder and has to be taken over before the Java decoder is used.
+     */
+    private CharsetDecoder fastDecoder;
+    private byte[] fastDecoderPending;
+
     public PTextIO(Object cls, Shape instanceShape) {
         super(cls, instanceShape);
         pendingBytes = createOutputStream();
@@ -119,6 +134,8 @@ public class PTextIO extends PTextIOBase {
         encoder = null;
         errors = null;
         raw = null;
+        fastDecoder = null;
+        fastDecoderPending = null;
         clearDecodedChars();
         clearPendingBytes();
         clearSnapshot();
@@ -259,6 +276,14 @@ public class PTextIO extends PTextIOBase {
         return decodedChars;
     }
 
+    public String getDecodedCharsString() {
+        /* decodedChars is only ever appended to, so a stale view has a different length */
+        if (decodedCharsView == null || decodedCharsView.length() != decodedChars.length()) {
+            decodedCharsView = PythonUtils.sbToString(decodedChars);
+        }
+        return decodedCharsView;
+    }
+
     public boolean hasDecodedChars() {
         return decodedChars != null;
     }
@@ -266,6 +291,9 @@ public class PTextIO extends PTextIOBase {
     public void appendDecodedChars(String decoded) {
         if (this.decodedChars == null) {
             this.decodedChars = PythonUtils.newStringBuilder();
+            this.decodedCharsView = decoded;
+        } else {
+            this.decodedCharsView = null;
         }
         PythonUtils.append(this.decodedChars, decoded);
     }
@@ -284,9 +312,69 @@ public class PTextIO extends PTextIOBase {
 
     public void clearDecodedChars() {
         this.decodedChars = null;
+        this.decodedCharsView = null;
         this.decodedCharsUsed = 0;
     }
 
+    public boolean hasFastDecoder() {
+        return fastDecoder != null;
+    }
+
+    public void setFastDecoder(CharsetDecoder fastDecoder) {
+        this.fastDecoder = fastDecoder;
+        this.fastDecoderPending = fastDecoder != null ? PythonUtils.EMPTY_BYTE_ARRAY : null;
+    }
+
+    public boolean hasFastDecoderState() {
+        return fastDecoderPending != null;
+    }
+
+    public byte[] getFastDecoderPending() {
+        return fastDecoderPending;
+    }
+
+    public void setFastDecoderPending(byte[] fastDecoderPending) {
+        this.fastDecoderPending = fastDecoderPending;
+    }
+
+    /**
+     * Decodes the pending bytes followed by {@code len} bytes of {@code input} starting at
+     * {@code offset} with the Java decoder. The bytes of an incomplete trailing sequence are kept
+     * pending unless {@code isFinal} is set. Returns {@code null} without changing the state if
+     * the input is malformed, so that the caller can let the codec report the error.
+     */
+    @TruffleBoundary
+    public String fastDecode(byte[] input, int offset, int len, boolean isFinal) {
+        assert fastDecoder != null && fastDecoderPending != null;
+        ByteBuffer in;
+        if (fastDecoderPending.length == 0) {
+            in = ByteBuffer.wrap(input, offset, len);
+        } else {
+            byte[] joined = new byte[fastDecoderPending.length + len];
+            PythonUtils.arraycopy(fastDecoderPending, 0, joined, 0, fastDecoderPending.length);
+            PythonUtils.arraycopy(input, offset, joined, fastDecoderPending.length, len);
+            in = ByteBuffer.wrap(joined);
+        }
+        CharBuffer out = CharBuffer.allocate((int) (in.remaining() * fastDecoder.maxCharsPerByte()) + 1);
+        fastDecoder.reset();
+        CoderResult result = fastDecoder.decode(in, out, isFinal);
+        if (result.isUnderflow() && isFinal) {
+            result = fastDecoder.flush(out);
+        }
+        if (!result.isUnderflow()) {
+            return null;
+        }
+        if (in.hasRemaining()) {
+            byte[] pending = new byte[in.remaining()];
+            in.get(pending);
+            fastDecoderPending = pending;
+        } else {
+            fastDecoderPending = PythonUtils.EMPTY_BYTE_ARRAY;
+        }
+        out.flip();
+        return out.toString();
+    }
+
     public void clearPendingBytes() {
         pendingBytes = createOutputStream();
     }
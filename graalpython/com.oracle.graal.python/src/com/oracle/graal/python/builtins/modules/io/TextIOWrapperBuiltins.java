@@ -400,13 +400,24 @@ public class TextIOWrapperBuiltins extends PythonBuiltins {
         @Specialization(guards = {"checkAttached(self)", "isOpen(frame, self)", "self.hasDecoder()", "n < 0"})
         static Object readAll(VirtualFrame frame, PTextIO self, @SuppressWarnings("unused") int n,
                         @Cached TextIOWrapperNodes.DecodeNode decodeNode,
+                        @Cached TextIOWrapperNodes.FastDecodeNode fastDecodeNode,
+                        @Cached TextIOWrapperNodes.FastDecoderFlushNode flushNode,
                         @Cached TextIOWrapperNodes.WriteFlushNode writeFlushNode,
-                        @Cached IONodes.CallReadNoArg read) {
+                        @Cached IONodes.CallReadNoArg read,
+                        @Cached ConditionProfile fastProfile,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
             writeFlushNode.execute(frame, self);
 
             /* Read everything */
             Object bytes = read.execute(frame, self.getBuffer());
-            String decoded = decodeNode.execute(frame, self.getDecoder(), bytes, true);
+            String decoded;
+            if (fastProfile.profile(self.hasFastDecoder() && lib.isBuffer(bytes))) {
+                byte[] input = getBytes(lib, bytes);
+                decoded = fastDecodeNode.execute(frame, self, input, 0, input.length, true);
+            } else {
+                flushNode.execute(frame, self);
+                decoded = decodeNode.execute(frame, self.getDecoder(), bytes, true);
+            }
             StringBuilder result = getDecodedChars(self, -1);
             PythonUtils.append(result, decoded);
             self.clearDecodedChars();
@@ -832,6 +843,7 @@ public class TextIOWrapperBuiltins extends PythonBuiltins {
         })
         Object tell(VirtualFrame frame, PTextIO self,
                         @Cached TextIOWrapperNodes.WriteFlushNode writeFlushNode,
+                        @Cached TextIOWrapperNodes.FastDecoderFlushNode fastDecoderFlushNode,
                         @Cached TextIOWrapperNodes.DecoderSetStateNode decoderSetStateNode,
                         @Cached SequenceNodes.GetObjectArrayNode getObjectArrayNode,
                         @Cached IONodes.ToStringNode toString,
@@ -849,6 +861,7 @@ public class TextIOWrapperBuiltins extends PythonBuiltins {
             int decodedCharsUsed = self.getDecodedCharsUsed();
 
             /* Decoder state will be restored at the end */
+            fastDecoderFlushNode.execute(frame, self);
             Object savedState = getState.execute(frame, self.getDecoder());
             /* Fast search for an acceptable start point, close to our current pos */
             int skipBytes = (int) (self.getB2cratio() * decodedCharsUsed);
@@ -1124,12 +1137,9 @@ public class TextIOWrapperBuiltins extends PythonBuiltins {
     abstract static class IternextNode extends ClosedCheckPythonUnaryBuiltinNode {
         @Specialization(guards = {"checkAttached(self)", "isOpen(frame, self)"})
         Object doit(VirtualFrame frame, PTextIO self,
-                        @Cached TextIOWrapperNodes.ReadlineNode readlineNode) {
-            self.setTelling(false);
-            String line = readlineNode.execute(frame, self, -1);
+                        @Cached TextIOWrapperNodes.IternextNode iternextNode) {
+            String line = iternextNode.execute(frame, self);
             if (PString.length(line) == 0) {
-                self.clearSnapshot();
-                self.setTelling(self.isSeekable());
                 throw raise(StopIteration);
             }
             return line;
@@ -61,6 +61,11 @@ import static com.oracle.graal.python.runtime.exception.PythonErrorType.OSError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
 import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
 
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
 import com.oracle.graal.python.builtins.modules.CodecsTruffleModuleBuiltins;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.bytes.PBytes;
@@ -74,8 +79,11 @@ import com.oracle.graal.python.nodes.PNodeWithRaise;
 import com.oracle.graal.python.nodes.PRaiseNode;
 import com.oracle.graal.python.nodes.util.CannotCastException;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.util.CharsetMapping;
 import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
@@ -105,7 +113,7 @@ public class TextIOWrapperNodes {
         if (n < 0 || n > avail) {
             n = avail;
         }
-        String chars = PythonUtils.sbToString(self.getDecodedChars());
+        String chars = self.getDecodedCharsString();
         if (usedChars > 0 || n < avail) {
             chars = PString.substring(chars, usedChars, usedChars + n);
         }
@@ -148,7 +156,7 @@ public class TextIOWrapperNodes {
         }
     }
 
-    abstract static class CheckClosedNode extends PNodeWithRaise {
+    public abstract static class CheckClosedNode extends PNodeWithRaise {
 
         public abstract void execute(VirtualFrame frame, PTextIO self);
 
@@ -233,7 +241,7 @@ public class TextIOWrapperNodes {
 
             // Create new encoder & decoder
             Object codecInfo = lookupTextEncoding.execute(frame, encoding, "codecs.open()");
-            setDecoderNode.execute(frame, self, codecInfo, errors);
+            setDecoderNode.execute(frame, self, codecInfo, encoding, errors);
             setEncoderNode.execute(frame, self, codecInfo, errors);
             self.setEncoding(encoding);
             self.setErrors(errors);
@@ -320,8 +328,11 @@ public class TextIOWrapperNodes {
                     break;
                 }
 
+                String lineStr;
                 if (remaining == null) {
                     line = self.getDecodedChars();
+                    /* Don't copy the whole chunk for every line */
+                    lineStr = self.getDecodedCharsString();
                     start = self.getDecodedCharsUsed();
                     offsetToBuffer = 0;
                 } else {
@@ -332,10 +343,10 @@ public class TextIOWrapperNodes {
                     start = 0;
                     offsetToBuffer = PString.length(remaining);
                     remaining = null;
+                    lineStr = PythonUtils.sbToString(line);
                     // TODO: PyUnicode_READY(line)?
                 }
 
-                String lineStr = PythonUtils.sbToString(line);
                 endpos = findLineEnding(self, lineStr, start);
                 /*
                  * ptr = PyUnicode_DATA(line); kind = PyUnicode_KIND(line); endpos =
@@ -410,21 +421,43 @@ public class TextIOWrapperNodes {
         }
     }
 
+    /**
+     * Reads the next line like {@code TextIOWrapper.__next__}, but returns an empty string at the
+     * end of the stream instead of raising {@code StopIteration}. The caller is responsible for
+     * checking that the wrapper is initialized, attached and open.
+     */
+    public abstract static class IternextNode extends PNodeWithRaise {
+
+        public abstract String execute(VirtualFrame frame, PTextIO self);
+
+        @Specialization
+        static String next(VirtualFrame frame, PTextIO self,
+                        @Cached ReadlineNode readlineNode) {
+            self.setTelling(false);
+            String line = readlineNode.execute(frame, self, -1);
+            if (PString.length(line) == 0) {
+                self.clearSnapshot();
+                self.setTelling(self.isSeekable());
+            }
+            return line;
+        }
+    }
+
     /*
      * cpython/Modules/_io/textio.c:textiowrapper_read_chunk
      */
     protected abstract static class ReadChunkNode extends PNodeWithRaise {
         public abstract boolean execute(VirtualFrame frame, PTextIO self, int size_hint);
 
-        @Specialization(guards = "self.hasDecoder()")
+        @Specialization(guards = {"self.hasDecoder()", "!self.hasFastDecoder()"})
         boolean readChunk(VirtualFrame frame, PTextIO self, int hint,
                         @Cached SequenceNodes.GetObjectArrayNode getArray,
                         @Cached DecodeNode decodeNode,
                         @Cached IONodes.CallGetState getState,
-                        @Cached IONodes.CallRead read,
-                        @Cached IONodes.CallRead1 read1,
+                        @Shared("read") @Cached IONodes.CallRead read,
+                        @Shared("read1") @Cached IONodes.CallRead1 read1,
                         @Cached PyNumberAsSizeNode asSizeNode,
-                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+                        @Shared("lib") @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
             /*
              * The return value is True unless EOF was reached. The decoded string is placed in
              * self._decoded_chars (replacing its previous value). The entire input chunk is sent to
@@ -460,12 +493,108 @@ public class TextIOWrapperNodes {
             }
 
             /* Read a chunk, decode it, and put the result in self._decoded_chars. */
+            Object inputChunk = readInputChunk(frame, self, hint, read, read1, lib);
+            byte[] inputChunkBuf = getBytes(lib, inputChunk);
+
+            int nbytes = inputChunkBuf.length;
+            boolean eof = nbytes == 0;
+
+            String decodedChars = decodeNode.execute(frame, self.getDecoder(), inputChunk, eof);
+            eof = setDecodedChunk(self, decodedChars, nbytes, eof);
+
+            if (self.isTelling()) {
+                /*
+                 * At the snapshot point, len(decBuffer) bytes before the read, the next input to be
+                 * decoded is decBuffer + inputChunk.
+                 */
+                byte[] decBuf = getBytes(lib, decBuffer);
+                byte[] nextInput = new byte[decBuf.length + inputChunkBuf.length];
+                PythonUtils.arraycopy(decBuf, 0, nextInput, 0, decBuf.length);
+                PythonUtils.arraycopy(inputChunkBuf, 0, nextInput, decBuf.length, inputChunkBuf.length);
+                self.setSnapshotNextInput(nextInput);
+                self.setSnapshotDecFlags(asSizeNode.executeExact(frame, decFlags));
+            }
+
+            return !eof;
+        }
+
+        /*
+         * Same as above, but the chunk is decoded by the Java decoder of the wrapper. If the
+         * buffer is a builtin buffered reader that already holds some data, the chunk is decoded
+         * straight from its buffer.
+         */
+        @Specialization(guards = {"self.hasDecoder()", "self.hasFastDecoder()"})
+        boolean readChunkFast(VirtualFrame frame, PTextIO self, int hint,
+                        @Cached FastDecoderTakeStateNode takeStateNode,
+                        @Cached FastDecodeNode fastDecodeNode,
+                        @Shared("read") @Cached IONodes.CallRead read,
+                        @Shared("read1") @Cached IONodes.CallRead1 read1,
+                        @Cached ConditionProfile bufferedProfile,
+                        @Shared("lib") @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            takeStateNode.execute(frame, self);
+            /* The state at the snapshot point is (pending bytes, flags) */
+            byte[] decBuf = self.getFastDecoderPending();
+            int decFlags = 0;
+            if (self.getDecoder() instanceof PNLDecoder && ((PNLDecoder) self.getDecoder()).isPendingCR()) {
+                decFlags = 1;
+            }
+
+            byte[] input;
+            int offset;
+            int nbytes;
+            PBuffered buffered = getBufferedWithData(self);
+            if (bufferedProfile.profile(buffered != null)) {
+                input = buffered.getBuffer();
+                offset = buffered.getPos();
+                nbytes = Math.min(BufferedIOUtil.safeDowncast(buffered), getChunkSize(self, hint));
+            } else {
+                input = getBytes(lib, readInputChunk(frame, self, hint, read, read1, lib));
+                offset = 0;
+                nbytes = input.length;
+            }
+            boolean eof = nbytes == 0;
+
+            byte[] nextInput = null;
+            if (self.isTelling()) {
+                /* The next input to be decoded at the snapshot point is decBuf + the chunk. */
+                nextInput = new byte[decBuf.length + nbytes];
+                PythonUtils.arraycopy(decBuf, 0, nextInput, 0, decBuf.length);
+                PythonUtils.arraycopy(input, offset, nextInput, decBuf.length, nbytes);
+            }
+            if (buffered != null) {
+                /* The data stays in the buffer array until the next fill. */
+                buffered.incPos(nbytes);
+            }
+
+            String decodedChars = fastDecodeNode.execute(frame, self, input, offset, nbytes, eof);
+            eof = setDecodedChunk(self, decodedChars, nbytes, eof);
+
+            if (self.isTelling()) {
+                self.setSnapshotNextInput(nextInput);
+                self.setSnapshotDecFlags(decFlags);
+            }
+
+            return !eof;
+        }
+
+        @Specialization(guards = "!self.hasDecoder()")
+        boolean error(@SuppressWarnings("unused") PTextIO self, @SuppressWarnings("unused") int size_hint) {
+            throw raise(IOUnsupportedOperation, NOT_READABLE);
+        }
+
+        private static int getChunkSize(PTextIO self, int hint) {
             int sizeHint = hint;
             if (sizeHint > 0) {
                 sizeHint = (int) (Math.max(self.getB2cratio(), 1.0) * sizeHint);
             }
-            int chunkSize = Math.max(self.getChunkSize(), sizeHint);
+            return Math.max(self.getChunkSize(), sizeHint);
+        }
 
+        private Object readInputChunk(VirtualFrame frame, PTextIO self, int hint,
+                        IONodes.CallRead read,
+                        IONodes.CallRead1 read1,
+                        PythonObjectLibrary lib) {
+            int chunkSize = getChunkSize(self, hint);
             Object inputChunk;
             if (self.isHasRead1()) {
                 inputChunk = read1.execute(frame, self.getBuffer(), chunkSize);
@@ -476,14 +605,24 @@ public class TextIOWrapperNodes {
             if (!lib.isBuffer(inputChunk)) {
                 throw raise(TypeError, S_SHOULD_HAVE_RETURNED_A_BYTES_LIKE_OBJECT_NOT_P, (self.isHasRead1() ? READ1 : READ), inputChunk);
             }
+            return inputChunk;
+        }
 
-            byte[] inputChunkBuf = getBytes(lib, inputChunk);
-
-            int nbytes = inputChunkBuf.length;
-            boolean eof = nbytes == 0;
-
-            String decodedChars = decodeNode.execute(frame, self.getDecoder(), inputChunk, eof);
+        /*
+         * Only builtin buffered readers over a FileIO are read from directly. This is what read1
+         * does when some data is buffered.
+         */
+        private static PBuffered getBufferedWithData(PTextIO self) {
+            if (self.isHasRead1() && self.getBuffer() instanceof PBuffered) {
+                PBuffered buffered = (PBuffered) self.getBuffer();
+                if (buffered.isOK() && buffered.isFastClosedChecks() && BufferedIOUtil.safeDowncast(buffered) > 0) {
+                    return buffered;
+                }
+            }
+            return null;
+        }
 
+        private static boolean setDecodedChunk(PTextIO self, String decodedChars, int nbytes, boolean eof) {
             self.clearDecodedChars();
             self.appendDecodedChars(decodedChars);
             int nchars = PString.length(decodedChars);
@@ -493,28 +632,119 @@ public class TextIOWrapperNodes {
                 self.setB2cratio(0.0);
             }
             if (nchars > 0) {
-                eof = false;
+                return false;
             }
+            return eof;
+        }
+    }
 
-            if (self.isTelling()) {
-                /*
-                 * At the snapshot point, len(decBuffer) bytes before the read, the next input to be
-                 * decoded is decBuffer + inputChunk.
-                 */
-                byte[] decBuf = getBytes(lib, decBuffer);
-                byte[] nextInput = new byte[decBuf.length + inputChunkBuf.length];
-                PythonUtils.arraycopy(decBuf, 0, nextInput, 0, decBuf.length);
-                PythonUtils.arraycopy(inputChunkBuf, 0, nextInput, decBuf.length, inputChunkBuf.length);
-                self.setSnapshotNextInput(nextInput);
-                self.setSnapshotDecFlags(asSizeNode.executeExact(frame, decFlags));
+    static Object getCodecDecoder(PTextIO self) {
+        if (self.getDecoder() instanceof PNLDecoder) {
+            return ((PNLDecoder) self.getDecoder()).getDecoder();
+        }
+        return self.getDecoder();
+    }
+
+    /**
+     * Makes the Java decoder of the wrapper hold the decoder state. The undecoded bytes buffered
+     * by the codec's incremental decoder, if any, are taken over and the incremental decoder is
+     * reset.
+     */
+    protected abstract static class FastDecoderTakeStateNode extends PNodeWithRaise {
+
+        public abstract void execute(VirtualFrame frame, PTextIO self);
+
+        @Specialization(guards = "self.hasFastDecoderState()")
+        static void nothing(@SuppressWarnings("unused") PTextIO self) {
+            // the state is already held by the Java decoder
+        }
+
+        @Specialization(guards = "!self.hasFastDecoderState()")
+        void takeState(VirtualFrame frame, PTextIO self,
+                        @Cached SequenceNodes.GetObjectArrayNode getArray,
+                        @Cached IONodes.CallGetState getState,
+                        @Cached IONodes.CallReset reset,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib) {
+            Object decoder = getCodecDecoder(self);
+            Object state = getState.execute(frame, decoder);
+            if (!(state instanceof PTuple)) {
+                throw raise(TypeError, ILLEGAL_DECODER_STATE);
+            }
+            Object[] array = getArray.execute(state);
+            if (array.length < 2) {
+                throw raise(TypeError, ILLEGAL_DECODER_STATE);
+            }
+            if (!lib.isBuffer(array[0])) {
+                throw raise(TypeError, ILLEGAL_DECODER_STATE_THE_FIRST, array[0]);
             }
+            /* UTF-8, Latin-1 and ASCII decoders have no flags */
+            if (asSizeNode.executeExact(frame, array[1]) != 0) {
+                throw raise(TypeError, ILLEGAL_DECODER_STATE);
+            }
+            byte[] pending = getBytes(lib, array[0]);
+            if (pending.length > 0) {
+                reset.execute(frame, decoder);
+            }
+            self.setFastDecoderPending(pending);
+        }
+    }
 
-            return !eof;
+    /**
+     * Hands the undecoded bytes held by the Java decoder of the wrapper back to the codec's
+     * incremental decoder. This must be done before the decoder object is used directly.
+     */
+    protected abstract static class FastDecoderFlushNode extends PNodeWithRaise {
+
+        public abstract void execute(VirtualFrame frame, PTextIO self);
+
+        @Specialization(guards = "!self.hasFastDecoderState()")
+        static void nothing(@SuppressWarnings("unused") PTextIO self) {
+            // the state is held by the codec's incremental decoder
         }
 
-        @Specialization(guards = "!self.hasDecoder()")
-        boolean error(@SuppressWarnings("unused") PTextIO self, @SuppressWarnings("unused") int size_hint) {
-            throw raise(IOUnsupportedOperation, NOT_READABLE);
+        @Specialization(guards = "self.hasFastDecoderState()")
+        static void flush(VirtualFrame frame, PTextIO self,
+                        @Cached IONodes.CallSetState setState,
+                        @Cached PythonObjectFactory factory) {
+            byte[] pending = self.getFastDecoderPending();
+            self.setFastDecoderPending(null);
+            if (pending.length > 0) {
+                PTuple state = factory.createTuple(new Object[]{factory.createBytes(pending), 0});
+                setState.execute(frame, getCodecDecoder(self), state);
+            }
+        }
+    }
+
+    /**
+     * Decodes {@code len} bytes of {@code input} starting at {@code offset} with the Java decoder
+     * of the wrapper and applies the newline handling of the {@code IncrementalNewlineDecoder}, if
+     * there is one. Malformed input is passed to the decoder object, which raises the appropriate
+     * {@code UnicodeDecodeError}.
+     */
+    protected abstract static class FastDecodeNode extends PNodeWithRaise {
+
+        public abstract String execute(VirtualFrame frame, PTextIO self, byte[] input, int offset, int len, boolean eof);
+
+        @Specialization(guards = "self.hasFastDecoder()")
+        static String decode(VirtualFrame frame, PTextIO self, byte[] input, int offset, int len, boolean eof,
+                        @Cached FastDecoderTakeStateNode takeStateNode,
+                        @Cached FastDecoderFlushNode flushNode,
+                        @Cached DecodeNode decodeNode,
+                        @Cached BranchProfile malformedProfile,
+                        @Cached PythonObjectFactory factory) {
+            takeStateNode.execute(frame, self);
+            String decoded = self.fastDecode(input, offset, len, eof);
+            if (decoded == null) {
+                malformedProfile.enter();
+                flushNode.execute(frame, self);
+                PBytes bytes = factory.createBytes(PythonUtils.arrayCopyOfRange(input, offset, offset + len));
+                return decodeNode.execute(frame, self.getDecoder(), bytes, eof);
+            }
+            if (self.getDecoder() instanceof PNLDecoder) {
+                return IncrementalNewlineDecoderBuiltins.DecodeNode.noDecoder((PNLDecoder) self.getDecoder(), decoded, eof);
+            }
+            return decoded;
         }
     }
 
@@ -555,9 +785,11 @@ public class TextIOWrapperNodes {
 
         @Specialization
         String decode(VirtualFrame frame, PTextIO self, Object o, boolean isFinal,
+                        @Cached FastDecoderFlushNode flushNode,
                         @Cached IONodes.ToStringNode toString,
                         @Cached BranchProfile notString,
                         @Cached IONodes.CallDecode decode) {
+            flushNode.execute(frame, self);
             Object decoded = decode.execute(frame, self.getDecoder(), o, isFinal);
             try {
                 return toString.execute(decoded);
@@ -592,6 +824,7 @@ public class TextIOWrapperNodes {
         static void atInit(VirtualFrame frame, PTextIO self, @SuppressWarnings("unused") PTextIO.CookieType cookie, @SuppressWarnings("unused") PythonObjectFactory factory,
                         @Cached IONodes.CallReset reset) {
             reset.execute(frame, self.getDecoder());
+            self.setFastDecoderPending(null);
         }
 
         @Specialization(guards = {"self.hasDecoder()", "!isAtInit(cookie)"})
@@ -599,7 +832,8 @@ public class TextIOWrapperNodes {
                         @Cached IONodes.CallSetState setState) {
             PTuple tuple = factory.createTuple(new Object[]{factory.createBytes(PythonUtils.EMPTY_BYTE_ARRAY), cookie.decFlags});
             setState.execute(frame, self.getDecoder(), tuple);
-
+            /* The decoder object is used directly afterwards (see seek and tell) */
+            self.setFastDecoderPending(null);
         }
     }
 
@@ -616,6 +850,9 @@ public class TextIOWrapperNodes {
         static void reset(VirtualFrame frame, PTextIO self,
                         @Cached IONodes.CallReset reset) {
             reset.execute(frame, self.getDecoder());
+            if (self.hasFastDecoder()) {
+                self.setFastDecoderPending(PythonUtils.EMPTY_BYTE_ARRAY);
+            }
         }
     }
 
@@ -669,15 +906,16 @@ public class TextIOWrapperNodes {
      * cpython/Modules/_io/textio.c:_textiowrapper_set_decoder
      */
     protected abstract static class SetDecoderNode extends PNodeWithRaise {
-        public abstract void execute(VirtualFrame frame, PTextIO self, Object codecInfo, String errors);
+        public abstract void execute(VirtualFrame frame, PTextIO self, Object codecInfo, String encoding, String errors);
 
         @Specialization
-        static void setDecoder(VirtualFrame frame, PTextIO self, Object codecInfo, String errors,
+        static void setDecoder(VirtualFrame frame, PTextIO self, Object codecInfo, String encoding, String errors,
                         @Cached CodecsTruffleModuleBuiltins.GetIncrementalDecoderNode getIncrementalDecoderNode,
                         @Cached ConditionProfile isTrueProfile,
                         @Cached IONodes.CallReadable readable,
                         @CachedLibrary(limit = "2") PythonObjectLibrary lib,
                         @Cached PythonObjectFactory factory) {
+            self.setFastDecoder(null);
             Object res = readable.execute(frame, self.getBuffer());
             if (isTrueProfile.profile(!lib.isTrue(res, frame))) {
                 return;
@@ -690,6 +928,19 @@ public class TextIOWrapperNodes {
             } else {
                 self.setDecoder(decoder);
             }
+            self.setFastDecoder(createFastDecoder(encoding, errors));
+        }
+
+        @TruffleBoundary
+        private static CharsetDecoder createFastDecoder(String encoding, String errors) {
+            if (!STRICT.equals(errors)) {
+                return null;
+            }
+            Charset charset = CharsetMapping.getCharset(encoding);
+            if (charset == StandardCharsets.UTF_8 || charset == StandardCharsets.ISO_8859_1 || charset == StandardCharsets.US_ASCII) {
+                return charset.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+            }
+            return null;
         }
     }
 
@@ -782,7 +1033,7 @@ public class TextIOWrapperNodes {
             self.setBuffer(buffer);
 
             /* Build the decoder object */
-            setDecoderNode.execute(frame, self, codecInfo, errors);
+            setDecoderNode.execute(frame, self, codecInfo, encoding, errors);
 
             /* Build the encoder object */
             setEncoderNode.execute(frame, self, codecInfo, errors);
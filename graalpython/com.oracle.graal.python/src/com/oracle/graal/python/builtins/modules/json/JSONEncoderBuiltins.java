@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.json;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CALL__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.json.PJSONEncoder.FastEncode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.builtins.ListNodes.ConstructListNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.formatting.FloatFormatter;
+import com.oracle.graal.python.runtime.formatting.InternalFormat.Spec;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PJSONEncoder)
+public final class JSONEncoderBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return JSONEncoderBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Encodes the whole object graph into one string. The result is a 1-tuple so that
+     * {@code json.encoder} can still join the "chunks".
+     */
+    @Builtin(name = __CALL__, minNumOfPositionalArgs = 3, parameterNames = {"$self", "obj", "_current_indent_level"})
+    @ArgumentClinic(name = "_current_indent_level", conversion = ArgumentClinic.ClinicConversion.Index)
+    @GenerateNodeFactory
+    public abstract static class CallEncoderNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return JSONEncoderBuiltinsClinicProviders.CallEncoderNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object call(VirtualFrame frame, PJSONEncoder self, Object obj, @SuppressWarnings("unused") int indentLevel,
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            Object state = IndirectCallContext.enter(frame, context, this);
+            try {
+                return factory().createTuple(new Object[]{encode(self, obj)});
+            } finally {
+                IndirectCallContext.exit(frame, context, state);
+            }
+        }
+
+        @TruffleBoundary
+        private String encode(PJSONEncoder self, Object obj) {
+            StringBuilder builder = new StringBuilder();
+            Set<Object> markers = self.isCheckCircular() ? Collections.newSetFromMap(new IdentityHashMap<>()) : null;
+            appendObject(builder, self, markers, obj);
+            return builder.toString();
+        }
+
+        private void appendObject(StringBuilder builder, PJSONEncoder self, Set<Object> markers, Object obj) {
+            if (obj == PNone.NONE) {
+                builder.append("null");
+            } else if (obj == Boolean.TRUE || obj == getCore().getTrue()) {
+                builder.append("true");
+            } else if (obj == Boolean.FALSE || obj == getCore().getFalse()) {
+                builder.append("false");
+            } else if (obj instanceof String || obj instanceof PString) {
+                appendString(builder, self, obj);
+            } else if (obj instanceof Integer || obj instanceof Long || obj instanceof PInt) {
+                builder.append(intToString(obj));
+            } else if (obj instanceof Double || obj instanceof PFloat) {
+                builder.append(floatToString(self, obj));
+            } else if (obj instanceof PList || obj instanceof PTuple) {
+                appendList(builder, self, markers, obj);
+            } else if (obj instanceof PDict) {
+                appendDict(builder, self, markers, (PDict) obj);
+            } else {
+                enterMarker(markers, obj);
+                Object newObj = CallNode.getUncached().execute(self.getDefaultFn(), obj);
+                appendObject(builder, self, markers, newObj);
+                exitMarker(markers, obj);
+            }
+        }
+
+        private void enterMarker(Set<Object> markers, Object obj) {
+            if (markers != null && !markers.add(obj)) {
+                throw raise(ValueError, ErrorMessages.CIRCULAR_REFERENCE_DETECTED);
+            }
+        }
+
+        private static void exitMarker(Set<Object> markers, Object obj) {
+            if (markers != null) {
+                markers.remove(obj);
+            }
+        }
+
+        private void appendString(StringBuilder builder, PJSONEncoder self, Object obj) {
+            FastEncode fastEncode = self.getFastEncode();
+            if (fastEncode != FastEncode.None) {
+                JSONUtils.appendString(builder, CastToJavaStringNode.getUncached().execute(obj), fastEncode == FastEncode.ASCII);
+                return;
+            }
+            Object encoded = CallNode.getUncached().execute(self.getEncoder(), obj);
+            if (!(encoded instanceof String || encoded instanceof PString)) {
+                throw raise(TypeError, ErrorMessages.ENCODER_MUST_RETURN_STR_NOT_P, encoded);
+            }
+            builder.append(CastToJavaStringNode.getUncached().execute(encoded));
+        }
+
+        private static String intToString(Object obj) {
+            if (obj instanceof PInt) {
+                return ((PInt) obj).getValue().toString();
+            }
+            return obj.toString();
+        }
+
+        private String floatToString(PJSONEncoder self, Object obj) {
+            double d = obj instanceof PFloat ? ((PFloat) obj).getValue() : (double) obj;
+            if (!Double.isFinite(d)) {
+                if (!self.isAllowNan()) {
+                    throw raise(ValueError, ErrorMessages.OUT_OF_RANGE_FLOAT_NOT_JSON_COMPLIANT);
+                }
+                return d > 0 ? "Infinity" : d < 0 ? "-Infinity" : "NaN";
+            }
+            Spec spec = new Spec(' ', '>', Spec.NONE, false, Spec.UNSPECIFIED, Spec.NONE, 0, 'r');
+            FloatFormatter f = new FloatFormatter(getRaiseNode(), spec);
+            f.setMinFracDigits(1);
+            return f.format(d).getResult();
+        }
+
+        private void appendList(StringBuilder builder, PJSONEncoder self, Set<Object> markers, Object seq) {
+            boolean isList = seq instanceof PList;
+            if (getStorage(seq, isList).length() == 0) {
+                builder.append("[]");
+                return;
+            }
+            enterMarker(markers, seq);
+            builder.append('[');
+            // the storage of a list may be replaced or shrink while its items are encoded
+            for (int i = 0; i < getStorage(seq, isList).length(); i++) {
+                if (i > 0) {
+                    builder.append(self.getItemSeparator());
+                }
+                appendObject(builder, self, markers, getStorage(seq, isList).getItemNormalized(i));
+            }
+            builder.append(']');
+            exitMarker(markers, seq);
+        }
+
+        private static SequenceStorage getStorage(Object seq, boolean isList) {
+            return isList ? ((PList) seq).getSequenceStorage() : ((PTuple) seq).getSequenceStorage();
+        }
+
+        private void appendDict(StringBuilder builder, PJSONEncoder self, Set<Object> markers, PDict dict) {
+            HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+            HashingStorage storage = dict.getDictStorage();
+            if (lib.length(storage) == 0) {
+                builder.append("{}");
+                return;
+            }
+            enterMarker(markers, dict);
+            Object[] keys;
+            Object[] values;
+            if (!self.isSortKeys() && IsBuiltinClassProfile.getUncached().profileObject(dict, PythonBuiltinClassType.PDict)) {
+                // take a snapshot, like PyMapping_Items, the default function may modify the dict
+                int len = lib.length(storage);
+                keys = new Object[len];
+                values = new Object[len];
+                int i = 0;
+                for (DictEntry entry : lib.entries(storage)) {
+                    keys[i] = entry.key;
+                    values[i] = entry.value;
+                    i++;
+                }
+            } else {
+                PythonObjectLibrary objLib = PythonObjectLibrary.getUncached();
+                PList items = ConstructListNode.getUncached().execute(null, objLib.lookupAndCallRegularMethod(dict, null, "items"));
+                if (self.isSortKeys()) {
+                    objLib.lookupAndCallRegularMethod(items, null, "sort");
+                }
+                SequenceStorage itemsStorage = items.getSequenceStorage();
+                int len = itemsStorage.length();
+                keys = new Object[len];
+                values = new Object[len];
+                for (int i = 0; i < len; i++) {
+                    Object item = itemsStorage.getItemNormalized(i);
+                    if (!(item instanceof PTuple) || ((PTuple) item).getSequenceStorage().length() != 2) {
+                        throw raise(ValueError, ErrorMessages.ITEMS_MUST_RETURN_2_TUPLES);
+                    }
+                    keys[i] = ((PTuple) item).getSequenceStorage().getItemNormalized(0);
+                    values[i] = ((PTuple) item).getSequenceStorage().getItemNormalized(1);
+                }
+            }
+            builder.append('{');
+            boolean first = true;
+            for (int i = 0; i < keys.length; i++) {
+                Object key = keys[i];
+                Object keyStr;
+                if (key instanceof String || key instanceof PString) {
+                    keyStr = key;
+                } else if (key instanceof Double || key instanceof PFloat) {
+                    keyStr = floatToString(self, key);
+                } else if (key == Boolean.TRUE || key == getCore().getTrue()) {
+                    keyStr = "true";
+                } else if (key == Boolean.FALSE || key == getCore().getFalse()) {
+                    keyStr = "false";
+                } else if (key == PNone.NONE) {
+                    keyStr = "null";
+                } else if (key instanceof Integer || key instanceof Long || key instanceof PInt) {
+                    keyStr = intToString(key);
+                } else if (self.isSkipKeys()) {
+                    continue;
+                } else {
+                    throw raise(TypeError, ErrorMessages.JSON_KEYS_MUST_BE_STR_INT_FLOAT_BOOL_OR_NONE_NOT_P, key);
+                }
+                if (!first) {
+                    builder.append(self.getItemSeparator());
+                }
+                first = false;
+                appendString(builder, self, keyStr);
+                builder.append(self.getKeySeparator());
+                appendObject(builder, self, markers, values[i]);
+            }
+            builder.append('}');
+            exitMarker(markers, dict);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.json;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.json.JSONScannerBuiltins.ScanState;
+import com.oracle.graal.python.builtins.modules.json.PJSONEncoder.FastEncode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
+import com.oracle.graal.python.builtins.objects.method.PBuiltinMethod;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(defineModule = "_json")
+public final class JSONModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return JSONModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        builtinConstants.put("make_scanner", core.lookupType(PythonBuiltinClassType.PJSONScanner));
+        builtinConstants.put("make_encoder", core.lookupType(PythonBuiltinClassType.PJSONEncoder));
+        super.initialize(core);
+    }
+
+    @Builtin(name = "scanstring", minNumOfPositionalArgs = 2, parameterNames = {"s", "end", "strict"})
+    @ArgumentClinic(name = "end", conversion = ArgumentClinic.ClinicConversion.Index)
+    @ArgumentClinic(name = "strict", conversion = ArgumentClinic.ClinicConversion.IntToBoolean, defaultValue = "true")
+    @GenerateNodeFactory
+    public abstract static class ScanStringNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return JSONModuleBuiltinsClinicProviders.ScanStringNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object scanString(VirtualFrame frame, Object string, int end, boolean strict,
+                        @Cached CastToJavaStringNode castStr,
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            String s;
+            try {
+                s = castStr.execute(string);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.FIRST_ARG_MUST_BE_A_STRING_NOT_P, string);
+            }
+            Object state = IndirectCallContext.enter(frame, context, this);
+            try {
+                return scan(s, end, strict);
+            } finally {
+                IndirectCallContext.exit(frame, context, state);
+            }
+        }
+
+        @TruffleBoundary
+        private Object scan(String s, int end, boolean strict) {
+            ScanState state = new ScanState(s, strict);
+            String result = JSONScannerBuiltins.scanString(this, state, end);
+            return factory().createTuple(new Object[]{result, state.next});
+        }
+    }
+
+    abstract static class EncodeBaseStringNode extends PythonUnaryBuiltinNode {
+
+        protected abstract boolean isAsciiOnly();
+
+        @Specialization
+        String encode(Object string,
+                        @Cached CastToJavaStringNode castStr) {
+            try {
+                return encode(castStr.execute(string), isAsciiOnly());
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.FIRST_ARG_MUST_BE_A_STRING_NOT_P, string);
+            }
+        }
+
+        @TruffleBoundary
+        private static String encode(String s, boolean asciiOnly) {
+            StringBuilder builder = new StringBuilder(s.length() + 2);
+            JSONUtils.appendString(builder, s, asciiOnly);
+            return builder.toString();
+        }
+    }
+
+    @Builtin(name = "encode_basestring_ascii", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class EncodeBaseStringAsciiNode extends EncodeBaseStringNode {
+        @Override
+        protected boolean isAsciiOnly() {
+            return true;
+        }
+    }
+
+    @Builtin(name = "encode_basestring", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class EncodeBaseStringUnicodeNode extends EncodeBaseStringNode {
+        @Override
+        protected boolean isAsciiOnly() {
+            return false;
+        }
+    }
+
+    @Builtin(name = "make_scanner", minNumOfPositionalArgs = 2, parameterNames = {"$cls", "context"}, constructsClass = PythonBuiltinClassType.PJSONScanner)
+    @GenerateNodeFactory
+    public abstract static class MakeScannerNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "3")
+        PJSONScanner doNew(VirtualFrame frame, Object cls, Object context,
+                        @CachedLibrary("context") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary strictLib,
+                        @Cached IsBuiltinClassProfile isFloatProfile,
+                        @Cached IsBuiltinClassProfile isIntProfile) {
+            boolean strict = strictLib.isTrue(lib.lookupAttributeStrict(context, frame, "strict"), frame);
+            Object objectHook = lib.lookupAttributeStrict(context, frame, "object_hook");
+            Object objectPairsHook = lib.lookupAttributeStrict(context, frame, "object_pairs_hook");
+            Object parseFloat = lib.lookupAttributeStrict(context, frame, "parse_float");
+            Object parseInt = lib.lookupAttributeStrict(context, frame, "parse_int");
+            Object parseConstant = lib.lookupAttributeStrict(context, frame, "parse_constant");
+            return factory().createJSONScanner(cls, strict, objectHook, objectPairsHook, parseFloat, parseInt, parseConstant,
+                            isFloatProfile.profileClass(parseFloat, PythonBuiltinClassType.PFloat),
+                            isIntProfile.profileClass(parseInt, PythonBuiltinClassType.PInt));
+        }
+    }
+
+    @Builtin(name = "make_encoder", minNumOfPositionalArgs = 10, parameterNames = {"$cls", "markers", "default", "encoder", "indent", "key_separator", "item_separator", "sort_keys",
+                    "skipkeys", "allow_nan"}, constructsClass = PythonBuiltinClassType.PJSONEncoder)
+    @ArgumentClinic(name = "key_separator", conversion = ArgumentClinic.ClinicConversion.String)
+    @ArgumentClinic(name = "item_separator", conversion = ArgumentClinic.ClinicConversion.String)
+    @ArgumentClinic(name = "sort_keys", conversion = ArgumentClinic.ClinicConversion.Boolean)
+    @ArgumentClinic(name = "skipkeys", conversion = ArgumentClinic.ClinicConversion.Boolean)
+    @ArgumentClinic(name = "allow_nan", conversion = ArgumentClinic.ClinicConversion.Boolean)
+    @GenerateNodeFactory
+    public abstract static class MakeEncoderNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return JSONModuleBuiltinsClinicProviders.MakeEncoderNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        PJSONEncoder doNew(Object cls, Object markers, Object defaultFn, Object encoder, Object indent, String keySeparator, String itemSeparator, boolean sortKeys,
+                        boolean skipKeys, boolean allowNan) {
+            if (markers != PNone.NONE && !(markers instanceof PDict)) {
+                throw raise(TypeError, ErrorMessages.MAKE_ENCODER_ARG_1_MUST_BE_DICT, markers);
+            }
+            return factory().createJSONEncoder(cls, markers != PNone.NONE, defaultFn, encoder, indent, keySeparator, itemSeparator, sortKeys, skipKeys, allowNan,
+                            getFastEncode(encoder));
+        }
+
+        private static FastEncode getFastEncode(Object encoder) {
+            PBuiltinFunction function;
+            if (encoder instanceof PBuiltinMethod) {
+                function = ((PBuiltinMethod) encoder).getFunction();
+            } else if (encoder instanceof PBuiltinFunction) {
+                function = (PBuiltinFunction) encoder;
+            } else {
+                return FastEncode.None;
+            }
+            if (function.getBuiltinNodeFactory() == JSONModuleBuiltinsFactory.EncodeBaseStringAsciiNodeFactory.getInstance()) {
+                return FastEncode.ASCII;
+            } else if (function.getBuiltinNodeFactory() == JSONModuleBuiltinsFactory.EncodeBaseStringUnicodeNodeFactory.getInstance()) {
+                return FastEncode.Unicode;
+            }
+            return FastEncode.None;
+        }
+    }
+}
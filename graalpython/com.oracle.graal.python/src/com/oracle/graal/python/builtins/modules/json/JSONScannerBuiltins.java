@@ -0,0 +1,463 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.json;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CALL__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StopIteration;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PJSONScanner)
+public final class JSONScannerBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return JSONScannerBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * The state of a single scan, corresponding to the {@code next_idx_ptr} out-parameter and the
+     * key memo of CPython's {@code _json.c}.
+     */
+    static final class ScanState {
+        final String s;
+        final boolean strict;
+        final HashMap<String, String> memo = new HashMap<>();
+        int next;
+
+        ScanState(String s, boolean strict) {
+            this.s = s;
+            this.strict = strict;
+        }
+    }
+
+    /**
+     * Scans a JSON string starting after the opening quote at {@code end}. The position after the
+     * closing quote is stored in {@link ScanState#next}.
+     */
+    static String scanString(PythonBuiltinBaseNode node, ScanState state, int end) {
+        String s = state.s;
+        int len = s.length();
+        int begin = end - 1;
+        if (end < 0 || len < end) {
+            throw node.raise(ValueError, ErrorMessages.END_IS_OUT_OF_BOUNDS);
+        }
+        StringBuilder builder = null;
+        int pos = end;
+        while (true) {
+            // find the end of the string or the next escape
+            int i = pos;
+            char c = 0;
+            for (; i < len; i++) {
+                c = s.charAt(i);
+                if (c == '"' || c == '\\') {
+                    break;
+                } else if (c <= 0x1f && state.strict) {
+                    throw JSONUtils.decodeError(node, ErrorMessages.INVALID_CONTROL_CHARACTER_AT, s, i);
+                }
+            }
+            if (i == len) {
+                throw JSONUtils.decodeError(node, ErrorMessages.UNTERMINATED_STRING_STARTING_AT, s, begin);
+            }
+            if (c == '"' && builder == null) {
+                // no escapes, which is the common case
+                state.next = i + 1;
+                return s.substring(pos, i);
+            }
+            if (builder == null) {
+                builder = new StringBuilder(i - pos + 16);
+            }
+            builder.append(s, pos, i);
+            i++;
+            if (c == '"') {
+                state.next = i;
+                return builder.toString();
+            }
+            if (i == len) {
+                throw JSONUtils.decodeError(node, ErrorMessages.UNTERMINATED_STRING_STARTING_AT, s, begin);
+            }
+            c = s.charAt(i);
+            if (c != 'u') {
+                pos = i + 1;
+                switch (c) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        break;
+                    case 'b':
+                        c = '\b';
+                        break;
+                    case 'f':
+                        c = '\f';
+                        break;
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    default:
+                        throw JSONUtils.decodeError(node, ErrorMessages.INVALID_ESCAPE, s, pos - 2);
+                }
+                builder.append(c);
+            } else {
+                i++;
+                pos = i + 4;
+                if (pos >= len) {
+                    throw JSONUtils.decodeError(node, ErrorMessages.INVALID_UXXXX_ESCAPE, s, i - 1);
+                }
+                char c1 = decodeHex(node, s, i, i - 1);
+                if (Character.isHighSurrogate(c1) && pos + 6 < len && s.charAt(pos) == '\\' && s.charAt(pos + 1) == 'u') {
+                    char c2 = decodeHex(node, s, pos + 2, pos + 1);
+                    builder.append(c1);
+                    if (Character.isLowSurrogate(c2)) {
+                        builder.append(c2);
+                        pos += 6;
+                    }
+                    // otherwise the second escape is decoded on its own in the next round
+                } else {
+                    builder.append(c1);
+                }
+            }
+        }
+    }
+
+    private static char decodeHex(PythonBuiltinBaseNode node, String s, int start, int errorPos) {
+        int value = 0;
+        for (int i = start; i < start + 4; i++) {
+            char c = s.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else if (c >= 'A' && c <= 'F') {
+                digit = c - 'A' + 10;
+            } else {
+                throw JSONUtils.decodeError(node, ErrorMessages.INVALID_UXXXX_ESCAPE, s, errorPos);
+            }
+            value = (value << 4) | digit;
+        }
+        return (char) value;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    @Builtin(name = __CALL__, minNumOfPositionalArgs = 3, parameterNames = {"$self", "string", "idx"})
+    @ArgumentClinic(name = "idx", conversion = ArgumentClinic.ClinicConversion.Index)
+    @GenerateNodeFactory
+    public abstract static class CallScannerNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return JSONScannerBuiltinsClinicProviders.CallScannerNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object call(VirtualFrame frame, PJSONScanner self, Object string, int idx,
+                        @Cached CastToJavaStringNode castStr,
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            String s;
+            try {
+                s = castStr.execute(string);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.FIRST_ARG_MUST_BE_A_STRING_NOT_P, string);
+            }
+            Object state = IndirectCallContext.enter(frame, context, this);
+            try {
+                return scan(self, s, idx);
+            } finally {
+                IndirectCallContext.exit(frame, context, state);
+            }
+        }
+
+        @TruffleBoundary
+        private Object scan(PJSONScanner self, String s, int idx) {
+            ScanState state = new ScanState(s, self.isStrict());
+            Object result = scanOnce(self, state, idx);
+            return factory().createTuple(new Object[]{result, state.next});
+        }
+
+        private Object scanOnce(PJSONScanner self, ScanState state, int idx) {
+            String s = state.s;
+            if (idx < 0) {
+                throw raise(ValueError, ErrorMessages.IDX_CANNOT_BE_NEGATIVE);
+            }
+            if (idx >= s.length()) {
+                throw raise(StopIteration, new Object[]{idx});
+            }
+            switch (s.charAt(idx)) {
+                case '"':
+                    return scanString(this, state, idx + 1);
+                case '{':
+                    return parseObject(self, state, idx + 1);
+                case '[':
+                    return parseArray(self, state, idx + 1);
+                case 'n':
+                    if (s.startsWith("null", idx)) {
+                        state.next = idx + 4;
+                        return PNone.NONE;
+                    }
+                    break;
+                case 't':
+                    if (s.startsWith("true", idx)) {
+                        state.next = idx + 4;
+                        return true;
+                    }
+                    break;
+                case 'f':
+                    if (s.startsWith("false", idx)) {
+                        state.next = idx + 5;
+                        return false;
+                    }
+                    break;
+                case 'N':
+                    if (s.startsWith("NaN", idx)) {
+                        return parseConstant(self, state, "NaN", idx);
+                    }
+                    break;
+                case 'I':
+                    if (s.startsWith("Infinity", idx)) {
+                        return parseConstant(self, state, "Infinity", idx);
+                    }
+                    break;
+                case '-':
+                    if (s.startsWith("-Infinity", idx)) {
+                        return parseConstant(self, state, "-Infinity", idx);
+                    }
+                    break;
+            }
+            return matchNumber(self, state, idx);
+        }
+
+        private static Object parseConstant(PJSONScanner self, ScanState state, String constant, int idx) {
+            state.next = idx + constant.length();
+            return CallNode.getUncached().execute(self.getParseConstant(), constant);
+        }
+
+        private Object parseObject(PJSONScanner self, ScanState state, int start) {
+            String s = state.s;
+            int len = s.length();
+            boolean hasPairsHook = self.getObjectPairsHook() != PNone.NONE;
+            HashingStorageLibrary lib = HashingStorageLibrary.getUncached();
+            HashingStorage storage = hasPairsHook ? null : EconomicMapStorage.create();
+            List<Object> pairs = hasPairsHook ? new ArrayList<>() : null;
+            int idx = skipWhitespace(s, start);
+            if (idx >= len || s.charAt(idx) != '}') {
+                while (true) {
+                    if (idx >= len || s.charAt(idx) != '"') {
+                        throw JSONUtils.decodeError(this, ErrorMessages.EXPECTING_PROPERTY_NAME, s, idx);
+                    }
+                    String key = scanString(this, state, idx + 1);
+                    String memoKey = state.memo.putIfAbsent(key, key);
+                    if (memoKey != null) {
+                        key = memoKey;
+                    }
+                    idx = skipWhitespace(s, state.next);
+                    if (idx >= len || s.charAt(idx) != ':') {
+                        throw JSONUtils.decodeError(this, ErrorMessages.EXPECTING_COLON_DELIMITER, s, idx);
+                    }
+                    idx = skipWhitespace(s, idx + 1);
+                    Object value = scanOnce(self, state, idx);
+                    if (hasPairsHook) {
+                        pairs.add(factory().createTuple(new Object[]{key, value}));
+                    } else {
+                        storage = lib.setItem(storage, key, value);
+                    }
+                    idx = skipWhitespace(s, state.next);
+                    if (idx < len && s.charAt(idx) == '}') {
+                        break;
+                    }
+                    if (idx >= len || s.charAt(idx) != ',') {
+                        throw JSONUtils.decodeError(this, ErrorMessages.EXPECTING_COMMA_DELIMITER, s, idx);
+                    }
+                    idx = skipWhitespace(s, idx + 1);
+                }
+            }
+            state.next = idx + 1;
+            if (hasPairsHook) {
+                return CallNode.getUncached().execute(self.getObjectPairsHook(), factory().createList(pairs.toArray()));
+            }
+            Object dict = factory().createDict(storage);
+            if (self.getObjectHook() != PNone.NONE) {
+                return CallNode.getUncached().execute(self.getObjectHook(), dict);
+            }
+            return dict;
+        }
+
+        private Object parseArray(PJSONScanner self, ScanState state, int start) {
+            String s = state.s;
+            int len = s.length();
+            List<Object> items = new ArrayList<>();
+            int idx = skipWhitespace(s, start);
+            if (idx >= len || s.charAt(idx) != ']') {
+                while (true) {
+                    items.add(scanOnce(self, state, idx));
+                    idx = skipWhitespace(s, state.next);
+                    if (idx < len && s.charAt(idx) == ']') {
+                        break;
+                    }
+                    if (idx >= len || s.charAt(idx) != ',') {
+                        throw JSONUtils.decodeError(this, ErrorMessages.EXPECTING_COMMA_DELIMITER, s, idx);
+                    }
+                    idx = skipWhitespace(s, idx + 1);
+                }
+            }
+            state.next = idx + 1;
+            // let the factory pick a specialized storage for homogeneous arrays
+            return factory().createList(items.toArray());
+        }
+
+        private Object matchNumber(PJSONScanner self, ScanState state, int start) {
+            String s = state.s;
+            int len = s.length();
+            int idx = start;
+            if (s.charAt(idx) == '-') {
+                idx++;
+                if (idx >= len) {
+                    throw raise(StopIteration, new Object[]{start});
+                }
+            }
+            char c = s.charAt(idx);
+            if (c >= '1' && c <= '9') {
+                idx++;
+                while (idx < len && isDigit(s.charAt(idx))) {
+                    idx++;
+                }
+            } else if (c == '0') {
+                idx++;
+            } else {
+                throw raise(StopIteration, new Object[]{start});
+            }
+            boolean isFloat = false;
+            if (idx < len - 1 && s.charAt(idx) == '.' && isDigit(s.charAt(idx + 1))) {
+                isFloat = true;
+                idx += 2;
+                while (idx < len && isDigit(s.charAt(idx))) {
+                    idx++;
+                }
+            }
+            if (idx < len - 1 && (s.charAt(idx) == 'e' || s.charAt(idx) == 'E')) {
+                int expStart = idx;
+                idx++;
+                if (idx < len - 1 && (s.charAt(idx) == '-' || s.charAt(idx) == '+')) {
+                    idx++;
+                }
+                while (idx < len && isDigit(s.charAt(idx))) {
+                    idx++;
+                }
+                if (isDigit(s.charAt(idx - 1))) {
+                    isFloat = true;
+                } else {
+                    idx = expStart;
+                }
+            }
+            state.next = idx;
+            String numStr = s.substring(start, idx);
+            if (isFloat) {
+                if (self.isParseFloatFloat()) {
+                    return Double.parseDouble(numStr);
+                }
+                return CallNode.getUncached().execute(self.getParseFloat(), numStr);
+            }
+            if (!self.isParseIntInt()) {
+                return CallNode.getUncached().execute(self.getParseInt(), numStr);
+            }
+            if (numStr.length() < 19) {
+                long value = Long.parseLong(numStr);
+                if (value == (int) value) {
+                    return (int) value;
+                }
+                return value;
+            }
+            return factory().createInt(new BigInteger(numStr));
+        }
+
+        private static int skipWhitespace(String s, int start) {
+            int idx = start;
+            while (idx < s.length() && isWhitespace(s.charAt(idx))) {
+                idx++;
+            }
+            return idx;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import java.util.IdentityHashMap;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code _pickle.Pickler} object. It only holds the configuration and the memo, which lives as
+ * long as the pickler so that consecutive {@code dump} calls can refer to earlier objects. The
+ * output buffer and framing state belong to the {@link PickleWriter} of a single {@code dump} call.
+ */
+public final class PPickler extends PythonBuiltinObject {
+    /** The bound {@code write} method of the file, {@code null} before {@code __init__}. */
+    private Object write;
+    private int proto;
+    private boolean fixImports;
+    private Object bufferCallback;
+    private boolean fast;
+    private IdentityHashMap<Object, Integer> memo = new IdentityHashMap<>();
+
+    public PPickler(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    public void init(Object writeMethod, int protocol, boolean fixImportsFlag, Object callback) {
+        this.write = writeMethod;
+        this.proto = protocol;
+        this.fixImports = fixImportsFlag && protocol < 3;
+        this.bufferCallback = callback;
+        this.fast = false;
+        this.memo = new IdentityHashMap<>();
+    }
+
+    public Object getWrite() {
+        return write;
+    }
+
+    public int getProto() {
+        return proto;
+    }
+
+    public boolean isFixImports() {
+        return fixImports;
+    }
+
+    public Object getBufferCallback() {
+        return bufferCallback;
+    }
+
+    public boolean isFast() {
+        return fast;
+    }
+
+    public void setFast(boolean fast) {
+        this.fast = fast;
+    }
+
+    /**
+     * Maps objects to their memo index. The map holds the objects strongly, which keeps their
+     * identity stable for as long as the memo refers to them.
+     */
+    public IdentityHashMap<Object, Integer> getMemo() {
+        return memo;
+    }
+
+    public void setMemo(IdentityHashMap<Object, Integer> memo) {
+        this.memo = memo;
+    }
+}
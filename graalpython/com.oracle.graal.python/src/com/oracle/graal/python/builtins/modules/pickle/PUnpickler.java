@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code _pickle.Unpickler} object. The input buffer and the stack belong to the
+ * {@link PickleReader} of a single {@code load} call, only the memo outlives it.
+ */
+public final class PUnpickler extends PythonBuiltinObject {
+    private Object read;
+    private Object readline;
+    private Object readinto;
+    private boolean fixImports;
+    private String encoding;
+    private String errors;
+    /** Iterator over the out-of-band buffers or {@code null}. */
+    private Object buffers;
+    /** The protocol of the pickle being loaded, as seen by {@code find_class}. */
+    private int proto;
+    private Object[] memo = new Object[0];
+
+    public PUnpickler(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    public void init(Object readMethod, Object readlineMethod, Object readintoMethod, boolean fixImportsFlag, String encodingName, String errorsName, Object buffersIterator) {
+        this.read = readMethod;
+        this.readline = readlineMethod;
+        this.readinto = readintoMethod;
+        this.fixImports = fixImportsFlag;
+        this.encoding = encodingName;
+        this.errors = errorsName;
+        this.buffers = buffersIterator;
+        this.proto = 0;
+        this.memo = new Object[0];
+    }
+
+    public Object getRead() {
+        return read;
+    }
+
+    public Object getReadline() {
+        return readline;
+    }
+
+    /**
+     * The {@code readinto} method of the file or {@code null} if it has none.
+     */
+    public Object getReadinto() {
+        return readinto;
+    }
+
+    public boolean isFixImports() {
+        return fixImports;
+    }
+
+    public String getEncoding() {
+        return encoding;
+    }
+
+    public String getErrors() {
+        return errors;
+    }
+
+    public Object getBuffers() {
+        return buffers;
+    }
+
+    public int getProto() {
+        return proto;
+    }
+
+    public void setProto(int proto) {
+        this.proto = proto;
+    }
+
+    /**
+     * The memo indexed by the {@code PUT} argument; unused slots are {@code null}.
+     */
+    public Object[] getMemo() {
+        return memo;
+    }
+
+    public void setMemo(Object[] memo) {
+        this.memo = memo;
+    }
+}
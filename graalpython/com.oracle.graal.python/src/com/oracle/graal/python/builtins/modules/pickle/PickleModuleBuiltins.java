@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.BuiltinConstructors.MemoryViewNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(defineModule = "_pickle")
+public final class PickleModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PickleModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        builtinConstants.put("HIGHEST_PROTOCOL", PickleUtils.HIGHEST_PROTOCOL);
+        builtinConstants.put("DEFAULT_PROTOCOL", PickleUtils.DEFAULT_PROTOCOL);
+        super.initialize(core);
+    }
+
+    @Builtin(name = "Pickler", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.Pickler)
+    @GenerateNodeFactory
+    abstract static class PicklerNode extends PythonBuiltinNode {
+
+        @Specialization
+        PPickler doNew(Object cls, @SuppressWarnings("unused") Object arg) {
+            // data filled in subsequent __init__ call - see PicklerBuiltins.InitNode
+            return factory().createPickler(cls);
+        }
+    }
+
+    @Builtin(name = "Unpickler", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.Unpickler)
+    @GenerateNodeFactory
+    abstract static class UnpicklerNode extends PythonBuiltinNode {
+
+        @Specialization
+        PUnpickler doNew(Object cls, @SuppressWarnings("unused") Object arg) {
+            // data filled in subsequent __init__ call - see UnpicklerBuiltins.InitNode
+            return factory().createUnpickler(cls);
+        }
+    }
+
+    @Builtin(name = "PickleBuffer", minNumOfPositionalArgs = 2, parameterNames = {"$cls", "buffer"}, constructsClass = PythonBuiltinClassType.PickleBuffer)
+    @GenerateNodeFactory
+    abstract static class PickleBufferNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        PPickleBuffer doNew(VirtualFrame frame, Object cls, Object buffer,
+                        @Cached MemoryViewNode memoryViewNode) {
+            return factory().createPickleBuffer(cls, memoryViewNode.execute(frame, buffer));
+        }
+    }
+
+    @Builtin(name = "dump", minNumOfPositionalArgs = 2, parameterNames = {"obj", "file", "protocol"}, keywordOnlyNames = {"fix_imports", "buffer_callback"})
+    @ArgumentClinic(name = "protocol", conversion = ClinicConversion.Int, defaultValue = "PickleUtils.DEFAULT_PROTOCOL", useDefaultForNone = true)
+    @ArgumentClinic(name = "fix_imports", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @GenerateNodeFactory
+    abstract static class DumpNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PickleModuleBuiltinsClinicProviders.DumpNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        Object dump(VirtualFrame frame, Object obj, Object file, int protocol, boolean fixImports, Object bufferCallback,
+                        @CachedLibrary("file") PythonObjectLibrary lib,
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            int proto = PickleUtils.checkProtocol(this, protocol);
+            Object write = lib.lookupAttribute(file, frame, "write");
+            if (write == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.FILE_MUST_HAVE_WRITE_ATTR);
+            }
+            Object callback = getBufferCallback(this, bufferCallback, proto);
+            Object state = IndirectCallContext.enter(frame, context, this);
+            try {
+                dump(obj, proto, fixImports, write, callback);
+            } finally {
+                IndirectCallContext.exit(frame, context, state);
+            }
+            return PNone.NONE;
+        }
+
+        @TruffleBoundary
+        private void dump(Object obj, int proto, boolean fixImports, Object write, Object callback) {
+            new PickleWriter(this, proto, fixImports && proto < 3, false, write, callback, new IdentityHashMap<>()).dump(obj);
+        }
+    }
+
+    @Builtin(name = "dumps", minNumOfPositionalArgs = 1, parameterNames = {"obj", "protocol"}, keywordOnlyNames = {"fix_imports", "buffer_callback"})
+    @ArgumentClinic(name = "protocol", conversion = ClinicConversion.Int, defaultValue = "PickleUtils.DEFAULT_PROTOCOL", useDefaultForNone = true)
+    @ArgumentClinic(name = "fix_imports", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @GenerateNodeFactory
+    abstract static class DumpsNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PickleModuleBuiltinsClinicProviders.DumpsNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object dumps(VirtualFrame frame, Object obj, int protocol, boolean fixImports, Object bufferCallback,
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            int proto = PickleUtils.checkProtocol(this, protocol);
+            Object callback = getBufferCallback(this, bufferCallback, proto);
+            Object state = IndirectCallContext.enter(frame, context, this);
+            try {
+                return dumps(obj, proto, fixImports, callback);
+            } finally {
+                IndirectCallContext.exit(frame, context, state);
+            }
+        }
+
+        @TruffleBoundary
+        private Object dumps(Object obj, int proto, boolean fixImports, Object callback) {
+            PickleWriter writer = new PickleWriter(this, proto, fixImports && proto < 3, false, null, callback, new IdentityHashMap<>());
+            writer.dump(obj);
+            return writer.getBytes();
+        }
+    }
+
+    @Builtin(name = "load", minNumOfPositionalArgs = 1, parameterNames = {"file"}, keywordOnlyNames = {"fix_imports", "encoding", "errors", "buffers"})
+    @ArgumentClinic(name = "fix_imports", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @ArgumentClinic(name = "encoding", conversion = ClinicConversion.String, defaultValue = "\"ASCII\"")
+    @ArgumentClinic(name = "errors", conversion = ClinicConversion.String, defaultValue = "\"strict\"")
+    @GenerateNodeFactory
+    abstract static class LoadNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PickleModuleBuiltinsClinicProviders.LoadNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        Object load(VirtualFrame frame, Object file, boolean fixImports, String encoding, String errors, Object buffers,
+                        @CachedLibrary("file") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary buffersLib,
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            Object read = lib.lookupAttribute(file, frame, "read");
+            Object readline = lib.lookupAttribute(file, frame, "readline");
+            if (read == PNone.NO_VALUE || readline == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.FILE_MUST_HAVE_READ_AND_READLINE_ATTRS);
+            }
+            Object readinto = lib.lookupAttribute(file, frame, "readinto");
+            Object buffersIterator = PGuards.isPNone(buffers) ? null : buffersLib.getIteratorWithFrame(buffers, frame);
+            Object state = IndirectCallContext.enter(frame, context, this);
+            try {
+                return load(read, readline, readinto == PNone.NO_VALUE ? null : readinto, fixImports, encoding, errors, buffersIterator);
+            } finally {
+                IndirectCallContext.exit(frame, context, state);
+            }
+        }
+
+        @TruffleBoundary
+        private Object load(Object read, Object readline, Object readinto, boolean fixImports, String encoding, String errors, Object buffers) {
+            return PickleReader.forFile(this, read, readline, readinto, fixImports, encoding, errors, buffers).load();
+        }
+    }
+
+    @Builtin(name = "loads", minNumOfPositionalArgs = 1, parameterNames = {"data"}, keywordOnlyNames = {"fix_imports", "encoding", "errors", "buffers"})
+    @ArgumentClinic(name = "fix_imports", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @ArgumentClinic(name = "encoding", conversion = ClinicConversion.String, defaultValue = "\"ASCII\"")
+    @ArgumentClinic(name = "errors", conversion = ClinicConversion.String, defaultValue = "\"strict\"")
+    @GenerateNodeFactory
+    abstract static class LoadsNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PickleModuleBuiltinsClinicProviders.LoadsNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object loads(VirtualFrame frame, Object data, boolean fixImports, String encoding, String errors, Object buffers,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary buffersLib,
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            Object buffersIterator = PGuards.isPNone(buffers) ? null : buffersLib.getIteratorWithFrame(buffers, frame);
+            Object state = IndirectCallContext.enter(frame, context, this);
+            try {
+                return loads(data, fixImports, encoding, errors, buffersIterator);
+            } finally {
+                IndirectCallContext.exit(frame, context, state);
+            }
+        }
+
+        @TruffleBoundary
+        private Object loads(Object data, boolean fixImports, String encoding, String errors, Object buffers) {
+            return PickleReader.forData(this, data, fixImports, encoding, errors, buffers).load();
+        }
+    }
+
+    /**
+     * Returns the {@code buffer_callback} argument or {@code null} if none was given.
+     */
+    static Object getBufferCallback(PythonBuiltinBaseNode node, Object bufferCallback, int proto) {
+        if (PGuards.isPNone(bufferCallback)) {
+            return null;
+        }
+        if (proto < 5) {
+            throw node.raise(ValueError, ErrorMessages.BUFFER_CALLBACK_NEEDS_PROTOCOL_5);
+        }
+        return bufferCallback;
+    }
+}
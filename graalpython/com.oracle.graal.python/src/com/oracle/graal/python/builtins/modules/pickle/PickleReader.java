@@ -0,0 +1,1153 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.EOFError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.KeyError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.UnpicklingError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__DICT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEW__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETATTR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETITEM__;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.IsTypeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.argument.keywords.ExpandKeywordStarargsNodeGen;
+import com.oracle.graal.python.nodes.builtins.ListNodes.AppendNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+
+/**
+ * The state of a single {@code load}, following {@code load} and friends in
+ * {@code Modules/_pickle.c}. When unpickling from bytes the input is read in place. When reading
+ * from a file only the bytes actually needed are requested from it, a whole frame at a time if the
+ * pickle is framed, so the file position ends up right after the {@code STOP} opcode.
+ */
+final class PickleReader {
+    /** Payloads of at least this size are read directly into their object if possible. */
+    private static final int DIRECT_READ_SIZE = PickleUtils.FRAME_SIZE_TARGET;
+
+    private final PythonBuiltinBaseNode node;
+    private final PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+    private final HashingStorageLibrary hlib = HashingStorageLibrary.getUncached();
+    private final PythonObjectFactory factory = PythonObjectFactory.getUncached();
+    private final IsBuiltinClassProfile classProfile = IsBuiltinClassProfile.getUncached();
+    private final CallNode callNode = CallNode.getUncached();
+    private final PythonCore core;
+
+    /** The unpickler this reader works for or {@code null} for {@code loads}. */
+    private final PUnpickler self;
+    private final Object read;
+    private final Object readline;
+    private final Object readinto;
+    private final boolean fixImports;
+    private final String encoding;
+    private final String errors;
+    private final Object buffers;
+    private Object persistentLoad;
+    private Object findClass;
+
+    private int proto;
+    private Object[] memo;
+    private int memoLen;
+
+    private byte[] input;
+    private int pos;
+    private int limit;
+
+    private Object[] stack = new Object[8];
+    private int stackLen;
+    private int[] marks = new int[8];
+    private int marksLen;
+    /** Items below the fence belong to an enclosing {@code MARK}. */
+    private int fence;
+
+    private PickleReader(PythonBuiltinBaseNode node, PUnpickler self, Object read, Object readline, Object readinto, boolean fixImports, String encoding, String errors, Object buffers,
+                    Object[] memo) {
+        this.node = node;
+        this.core = node.getCore();
+        this.self = self;
+        this.read = read;
+        this.readline = readline;
+        this.readinto = readinto;
+        this.fixImports = fixImports;
+        this.encoding = encoding;
+        this.errors = errors;
+        this.buffers = buffers;
+        this.memo = memo;
+        for (Object o : memo) {
+            if (o != null) {
+                memoLen++;
+            }
+        }
+    }
+
+    /**
+     * Creates a reader for {@code loads}. The input is used in place if it is backed by a byte
+     * array.
+     */
+    static PickleReader forData(PythonBuiltinBaseNode node, Object data, boolean fixImports, String encoding, String errors, Object buffers) {
+        PickleReader reader = new PickleReader(node, null, null, null, null, fixImports, encoding, errors, buffers, new Object[0]);
+        reader.setInput(data);
+        return reader;
+    }
+
+    /**
+     * Creates a reader for a {@code load} of an {@code Unpickler}, which may be a subclass
+     * overriding {@code find_class} or providing {@code persistent_load}.
+     */
+    static PickleReader forUnpickler(PythonBuiltinBaseNode node, PUnpickler self, Object findClassMethod, Object persistentLoadMethod) {
+        PickleReader reader = new PickleReader(node, self, self.getRead(), self.getReadline(), self.getReadinto(), self.isFixImports(), self.getEncoding(), self.getErrors(), self.getBuffers(),
+                        self.getMemo());
+        reader.input = new byte[0];
+        reader.findClass = findClassMethod;
+        reader.persistentLoad = persistentLoadMethod;
+        return reader;
+    }
+
+    /**
+     * Creates a reader for the module-level {@code load} function.
+     */
+    static PickleReader forFile(PythonBuiltinBaseNode node, Object read, Object readline, Object readinto, boolean fixImports, String encoding, String errors, Object buffers) {
+        PickleReader reader = new PickleReader(node, null, read, readline, readinto, fixImports, encoding, errors, buffers, new Object[0]);
+        reader.input = new byte[0];
+        return reader;
+    }
+
+    // input
+
+    private void setInput(Object data) {
+        if (data instanceof PBytes || data instanceof PByteArray) {
+            SequenceStorage storage = data instanceof PBytes ? ((PBytes) data).getSequenceStorage() : ((PByteArray) data).getSequenceStorage();
+            if (storage instanceof ByteSequenceStorage) {
+                input = (byte[]) storage.getInternalArrayObject();
+                limit = storage.length();
+                pos = 0;
+                return;
+            }
+        }
+        try {
+            input = lib.getBufferBytes(data);
+        } catch (UnsupportedMessageException e) {
+            throw node.raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, data);
+        }
+        limit = input.length;
+        pos = 0;
+    }
+
+    private PException truncated() {
+        return node.raise(UnpicklingError, ErrorMessages.PICKLE_DATA_WAS_TRUNCATED);
+    }
+
+    /**
+     * Appends {@code n} bytes read from the file to the unread input.
+     */
+    private boolean fetch(int n) {
+        if (read == null) {
+            return false;
+        }
+        Object data = callNode.execute(read, n);
+        int remaining = limit - pos;
+        byte[] array;
+        int length;
+        SequenceStorage storage = data instanceof PBytes ? ((PBytes) data).getSequenceStorage() : null;
+        if (storage instanceof ByteSequenceStorage) {
+            array = (byte[]) storage.getInternalArrayObject();
+            length = storage.length();
+        } else {
+            try {
+                array = lib.getBufferBytes(data);
+            } catch (UnsupportedMessageException e) {
+                throw node.raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, data);
+            }
+            length = array.length;
+        }
+        if (remaining == 0) {
+            input = array;
+            limit = length;
+        } else {
+            byte[] joined = new byte[remaining + length];
+            System.arraycopy(input, pos, joined, 0, remaining);
+            System.arraycopy(array, 0, joined, remaining, length);
+            input = joined;
+            limit = joined.length;
+        }
+        pos = 0;
+        return length >= n;
+    }
+
+    /**
+     * Consumes {@code n} bytes and returns the position of the first one in {@link #input}.
+     */
+    private int need(int n) {
+        int available = limit - pos;
+        if (available < n && !fetch(n - available)) {
+            if (limit - pos < n) {
+                throw truncated();
+            }
+        }
+        int start = pos;
+        pos += n;
+        return start;
+    }
+
+    private long readSize(int n) {
+        int start = need(n);
+        long size = 0;
+        for (int i = 0; i < n; i++) {
+            size |= (input[start + i] & 0xffL) << (8 * i);
+        }
+        return size;
+    }
+
+    /**
+     * Consumes a line and returns its length without the trailing newline. The line starts at
+     * {@code pos - length - 1}.
+     */
+    private int readLine() {
+        for (int i = pos; i < limit; i++) {
+            if (input[i] == '\n') {
+                int length = i - pos;
+                pos = i + 1;
+                return length;
+            }
+        }
+        if (readline == null) {
+            throw truncated();
+        }
+        Object line = callNode.execute(readline);
+        byte[] array;
+        try {
+            array = lib.getBufferBytes(line);
+        } catch (UnsupportedMessageException e) {
+            throw node.raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, line);
+        }
+        if (array.length == 0 || array[array.length - 1] != '\n') {
+            throw truncated();
+        }
+        int remaining = limit - pos;
+        byte[] joined = new byte[remaining + array.length];
+        System.arraycopy(input, pos, joined, 0, remaining);
+        System.arraycopy(array, 0, joined, remaining, array.length);
+        input = joined;
+        limit = joined.length;
+        pos = limit;
+        return limit - 1;
+    }
+
+    private String lineToString(int length, boolean utf8) {
+        return new String(input, pos - length - 1, length, utf8 ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1);
+    }
+
+    private int checkedSize(long size, String opcode) {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw node.raise(UnpicklingError, ErrorMessages.S_EXCEEDS_MAX_SIZE, opcode, Integer.MAX_VALUE - 8);
+        }
+        return (int) size;
+    }
+
+    private int readSignedSize(String opcode) {
+        long size = readSize(4);
+        if ((int) size < 0) {
+            throw node.raise(UnpicklingError, ErrorMessages.S_PICKLE_HAS_NEGATIVE_BYTE_COUNT, opcode);
+        }
+        return (int) size;
+    }
+
+    // stack
+
+    private void push(Object obj) {
+        if (stackLen == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[stackLen++] = obj;
+    }
+
+    private PException stackUnderflow() {
+        if (marksLen > 0) {
+            return node.raise(UnpicklingError, ErrorMessages.UNEXPECTED_MARK_FOUND);
+        }
+        return node.raise(UnpicklingError, ErrorMessages.UNPICKLING_STACK_UNDERFLOW);
+    }
+
+    private Object pop() {
+        if (stackLen <= fence) {
+            throw stackUnderflow();
+        }
+        Object obj = stack[--stackLen];
+        stack[stackLen] = null;
+        return obj;
+    }
+
+    private Object peek() {
+        if (stackLen <= fence) {
+            throw stackUnderflow();
+        }
+        return stack[stackLen - 1];
+    }
+
+    private Object[] popItems(int start) {
+        Object[] items = Arrays.copyOfRange(stack, start, stackLen);
+        Arrays.fill(stack, start, stackLen, null);
+        stackLen = start;
+        return items;
+    }
+
+    private void pushMark() {
+        if (marksLen == marks.length) {
+            marks = Arrays.copyOf(marks, marks.length * 2);
+        }
+        marks[marksLen++] = stackLen;
+        fence = stackLen;
+    }
+
+    private int popMark() {
+        if (marksLen == 0) {
+            throw node.raise(UnpicklingError, ErrorMessages.COULD_NOT_FIND_MARK);
+        }
+        int mark = marks[--marksLen];
+        fence = marksLen > 0 ? marks[marksLen - 1] : 0;
+        return mark;
+    }
+
+    // memo
+
+    private void memoPut(long idx, Object value) {
+        if (idx >= Integer.MAX_VALUE - 8) {
+            throw node.raise(PythonBuiltinClassType.MemoryError);
+        }
+        if (idx >= memo.length) {
+            memo = Arrays.copyOf(memo, (int) Math.max(idx + 1, Math.min(Integer.MAX_VALUE - 8, memo.length * 2L)));
+        }
+        if (memo[(int) idx] == null) {
+            memoLen++;
+        }
+        memo[(int) idx] = value;
+    }
+
+    private void memoGet(long idx) {
+        Object value = idx < memo.length ? memo[(int) idx] : null;
+        if (value == null) {
+            throw node.raise(KeyError, new Object[]{idx});
+        }
+        push(value);
+    }
+
+    private long parseMemoIndex(int length, String opcode) {
+        String s = lineToString(length, false);
+        long idx;
+        try {
+            idx = Long.parseLong(s.trim());
+        } catch (NumberFormatException e) {
+            throw node.raise(ValueError, ErrorMessages.INVALID_LITERAL_FOR_INT_WITH_BASE, 10, PickleUtils.repr(s));
+        }
+        if (idx < 0) {
+            throw node.raise(ValueError, ErrorMessages.NEGATIVE_S_ARGUMENT, opcode);
+        }
+        return idx;
+    }
+
+    // main loop
+
+    @TruffleBoundary
+    Object load() {
+        if (self != null) {
+            self.setProto(0);
+        }
+        try {
+            while (true) {
+                if (pos >= limit && !fetch(1)) {
+                    throw node.raise(EOFError, ErrorMessages.RAN_OUT_OF_INPUT);
+                }
+                byte op = input[pos++];
+                if (op == PickleUtils.STOP) {
+                    return pop();
+                }
+                dispatch(op);
+            }
+        } finally {
+            if (self != null) {
+                self.setMemo(memo);
+            }
+        }
+    }
+
+    private void dispatch(byte op) {
+        switch (op) {
+            case PickleUtils.NONE:
+                push(PNone.NONE);
+                break;
+            case PickleUtils.NEWTRUE:
+                push(true);
+                break;
+            case PickleUtils.NEWFALSE:
+                push(false);
+                break;
+            case PickleUtils.INT:
+                loadInt();
+                break;
+            case PickleUtils.BININT:
+                push((int) readSize(4));
+                break;
+            case PickleUtils.BININT1:
+                push((int) readSize(1));
+                break;
+            case PickleUtils.BININT2:
+                push((int) readSize(2));
+                break;
+            case PickleUtils.LONG:
+                loadLong();
+                break;
+            case PickleUtils.LONG1:
+                loadCountedLong((int) readSize(1));
+                break;
+            case PickleUtils.LONG4:
+                loadCountedLong(readSignedSize("LONG"));
+                break;
+            case PickleUtils.FLOAT:
+                loadFloat();
+                break;
+            case PickleUtils.BINFLOAT: {
+                int start = need(8);
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits = (bits << 8) | (input[start + i] & 0xffL);
+                }
+                push(Double.longBitsToDouble(bits));
+                break;
+            }
+            case PickleUtils.STRING:
+                loadString();
+                break;
+            case PickleUtils.BINSTRING:
+                loadCountedString(readSignedSize("BINSTRING"));
+                break;
+            case PickleUtils.SHORT_BINSTRING:
+                loadCountedString((int) readSize(1));
+                break;
+            case PickleUtils.BINBYTES:
+                loadBytes(readSize(4), "BINBYTES");
+                break;
+            case PickleUtils.SHORT_BINBYTES:
+                loadBytes(readSize(1), "SHORT_BINBYTES");
+                break;
+            case PickleUtils.BINBYTES8:
+                loadBytes(readSize(8), "BINBYTES8");
+                break;
+            case PickleUtils.BYTEARRAY8:
+                loadByteArray(readSize(8));
+                break;
+            case PickleUtils.UNICODE:
+                loadUnicode();
+                break;
+            case PickleUtils.BINUNICODE:
+                loadCountedUnicode(readSize(4), "BINUNICODE");
+                break;
+            case PickleUtils.SHORT_BINUNICODE:
+                loadCountedUnicode(readSize(1), "SHORT_BINUNICODE");
+                break;
+            case PickleUtils.BINUNICODE8:
+                loadCountedUnicode(readSize(8), "BINUNICODE8");
+                break;
+            case PickleUtils.NEXT_BUFFER:
+                loadNextBuffer();
+                break;
+            case PickleUtils.READONLY_BUFFER:
+                loadReadonlyBuffer();
+                break;
+            case PickleUtils.EMPTY_TUPLE:
+                push(factory.createTuple(new Object[0]));
+                break;
+            case PickleUtils.TUPLE:
+                push(factory.createTuple(popItems(popMark())));
+                break;
+            case PickleUtils.TUPLE1:
+            case PickleUtils.TUPLE2:
+            case PickleUtils.TUPLE3: {
+                int n = op - PickleUtils.TUPLE1 + 1;
+                if (stackLen - fence < n) {
+                    throw stackUnderflow();
+                }
+                push(factory.createTuple(popItems(stackLen - n)));
+                break;
+            }
+            case PickleUtils.EMPTY_LIST:
+                push(factory.createList());
+                break;
+            case PickleUtils.LIST:
+                push(factory.createList(popItems(popMark())));
+                break;
+            case PickleUtils.EMPTY_DICT:
+                push(factory.createDict());
+                break;
+            case PickleUtils.DICT:
+                loadDict();
+                break;
+            case PickleUtils.EMPTY_SET:
+                push(factory.createSet(EconomicMapStorage.create()));
+                break;
+            case PickleUtils.FROZENSET: {
+                Object[] items = popItems(popMark());
+                push(factory.createFrozenSet(addToStorage(EconomicMapStorage.create(items.length), items)));
+                break;
+            }
+            case PickleUtils.APPEND:
+                doAppend(stackLen - 1);
+                break;
+            case PickleUtils.APPENDS:
+                doAppend(popMark());
+                break;
+            case PickleUtils.SETITEM:
+                doSetItems(stackLen - 2);
+                break;
+            case PickleUtils.SETITEMS:
+                doSetItems(popMark());
+                break;
+            case PickleUtils.ADDITEMS:
+                doAddItems(popMark());
+                break;
+            case PickleUtils.BUILD:
+                loadBuild();
+                break;
+            case PickleUtils.OBJ: {
+                int mark = popMark();
+                if (stackLen - mark < 1) {
+                    throw stackUnderflow();
+                }
+                Object[] args = popItems(mark + 1);
+                push(instantiate(pop(), args));
+                break;
+            }
+            case PickleUtils.INST: {
+                int moduleLen = readLine();
+                String moduleName = lineToString(moduleLen, true);
+                int nameLen = readLine();
+                String name = lineToString(nameLen, true);
+                Object cls = findClass(moduleName, name);
+                push(instantiate(cls, popItems(popMark())));
+                break;
+            }
+            case PickleUtils.NEWOBJ:
+                loadNewObj(false);
+                break;
+            case PickleUtils.NEWOBJ_EX:
+                loadNewObj(true);
+                break;
+            case PickleUtils.GLOBAL: {
+                int moduleLen = readLine();
+                String moduleName = lineToString(moduleLen, true);
+                int nameLen = readLine();
+                String name = lineToString(nameLen, true);
+                push(findClass(moduleName, name));
+                break;
+            }
+            case PickleUtils.STACK_GLOBAL: {
+                Object name = pop();
+                Object moduleName = pop();
+                if (!PickleUtils.isString(moduleName) || !PickleUtils.isString(name)) {
+                    throw node.raise(UnpicklingError, ErrorMessages.STACK_GLOBAL_REQUIRES_STR);
+                }
+                push(findClass(PickleUtils.castToString(node, moduleName), PickleUtils.castToString(node, name)));
+                break;
+            }
+            case PickleUtils.EXT1:
+                loadExtension(readSize(1));
+                break;
+            case PickleUtils.EXT2:
+                loadExtension(readSize(2));
+                break;
+            case PickleUtils.EXT4:
+                loadExtension(readSize(4));
+                break;
+            case PickleUtils.REDUCE: {
+                Object args = pop();
+                Object callable = pop();
+                if (!(args instanceof PTuple)) {
+                    throw node.raise(TypeError, ErrorMessages.ARG_LIST_MUST_BE_TUPLE);
+                }
+                push(callNode.execute(callable, ((PTuple) args).getSequenceStorage().getCopyOfInternalArray()));
+                break;
+            }
+            case PickleUtils.MARK:
+                pushMark();
+                break;
+            case PickleUtils.POP:
+                if (stackLen > fence) {
+                    pop();
+                } else if (marksLen > 0) {
+                    popMark();
+                } else {
+                    throw stackUnderflow();
+                }
+                break;
+            case PickleUtils.POP_MARK:
+                popItems(popMark());
+                break;
+            case PickleUtils.DUP:
+                push(peek());
+                break;
+            case PickleUtils.GET:
+                memoGet(parseMemoIndex(readLine(), "GET"));
+                break;
+            case PickleUtils.BINGET:
+                memoGet(readSize(1));
+                break;
+            case PickleUtils.LONG_BINGET:
+                memoGet(readSize(4));
+                break;
+            case PickleUtils.PUT:
+                memoPut(parseMemoIndex(readLine(), "PUT"), peek());
+                break;
+            case PickleUtils.BINPUT:
+                memoPut(readSize(1), peek());
+                break;
+            case PickleUtils.LONG_BINPUT:
+                memoPut(readSize(4), peek());
+                break;
+            case PickleUtils.MEMOIZE:
+                memoPut(memoLen, peek());
+                break;
+            case PickleUtils.PERSID: {
+                int length = readLine();
+                String pid = lineToString(length, false);
+                push(callPersistentLoad(pid));
+                break;
+            }
+            case PickleUtils.BINPERSID:
+                push(callPersistentLoad(pop()));
+                break;
+            case PickleUtils.PROTO: {
+                int protocol = (int) readSize(1);
+                if (protocol > PickleUtils.HIGHEST_PROTOCOL) {
+                    throw node.raise(ValueError, ErrorMessages.UNSUPPORTED_PICKLE_PROTOCOL, protocol);
+                }
+                proto = protocol;
+                if (self != null) {
+                    self.setProto(protocol);
+                }
+                break;
+            }
+            case PickleUtils.FRAME:
+                loadFrame(readSize(8));
+                break;
+            default:
+                int c = op & 0xff;
+                if (c >= 0x20 && c < 0x7f && c != '\'' && c != '\\') {
+                    throw node.raise(UnpicklingError, ErrorMessages.INVALID_LOAD_KEY_C, (char) c);
+                }
+                throw node.raise(UnpicklingError, ErrorMessages.INVALID_LOAD_KEY_X, c);
+        }
+    }
+
+    private void loadFrame(long frameLen) {
+        if (frameLen > Integer.MAX_VALUE - 8) {
+            throw node.raise(ValueError, ErrorMessages.FRAME_LENGTH_EXCEEDS_MAX, Integer.MAX_VALUE - 8);
+        }
+        int n = (int) frameLen;
+        if (limit - pos < n && !fetch(n - (limit - pos))) {
+            throw truncated();
+        }
+    }
+
+    // atoms
+
+    private Object parseInt(String s) {
+        String digits = s.trim();
+        try {
+            long value = Long.parseLong(digits);
+            if (value == (int) value) {
+                return (int) value;
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            try {
+                return factory.createInt(new BigInteger(digits));
+            } catch (NumberFormatException e2) {
+                throw node.raise(ValueError, ErrorMessages.INVALID_LITERAL_FOR_INT_WITH_BASE, 0, PickleUtils.repr(s));
+            }
+        }
+    }
+
+    private void loadInt() {
+        int length = readLine();
+        String s = lineToString(length, false);
+        if (length == 2 && s.charAt(0) == '0' && (s.charAt(1) == '0' || s.charAt(1) == '1')) {
+            push(s.charAt(1) == '1');
+        } else {
+            push(parseInt(s));
+        }
+    }
+
+    private void loadLong() {
+        int length = readLine();
+        String s = lineToString(length, false);
+        if (s.endsWith("L")) {
+            s = s.substring(0, s.length() - 1);
+        }
+        push(parseInt(s));
+    }
+
+    private void loadCountedLong(int size) {
+        if (size == 0) {
+            push(0);
+            return;
+        }
+        int start = need(size);
+        byte[] bigEndian = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bigEndian[i] = input[start + size - 1 - i];
+        }
+        BigInteger value = new BigInteger(bigEndian);
+        if (value.bitLength() < 32) {
+            push(value.intValue());
+        } else if (value.bitLength() < 64) {
+            push(value.longValue());
+        } else {
+            push(factory.createInt(value));
+        }
+    }
+
+    private void loadFloat() {
+        int length = readLine();
+        String s = lineToString(length, false).trim();
+        double value;
+        switch (s) {
+            case "inf":
+                value = Double.POSITIVE_INFINITY;
+                break;
+            case "-inf":
+                value = Double.NEGATIVE_INFINITY;
+                break;
+            case "nan":
+            case "-nan":
+                value = Double.NaN;
+                break;
+            default:
+                try {
+                    value = Double.parseDouble(s);
+                } catch (NumberFormatException e) {
+                    throw node.raise(ValueError, ErrorMessages.COULD_NOT_CONVERT_STRING_TO_FLOAT, PickleUtils.repr(s));
+                }
+        }
+        push(value);
+    }
+
+    /**
+     * Decodes a Python 2 {@code str} according to the {@code encoding} argument, where
+     * {@code "bytes"} keeps it as bytes.
+     */
+    private Object decodeString(PBytes bytes) {
+        if ("bytes".equals(encoding)) {
+            return bytes;
+        }
+        return lib.lookupAndCallRegularMethod(bytes, null, "decode", encoding, errors);
+    }
+
+    private void loadString() {
+        int length = readLine();
+        int start = pos - length - 1;
+        // strip trailing whitespace like CPython's line handling
+        while (length > 0 && input[start + length - 1] <= ' ') {
+            length--;
+        }
+        if (length < 2 || input[start] != input[start + length - 1] || (input[start] != '\'' && input[start] != '"')) {
+            throw node.raise(UnpicklingError, ErrorMessages.STRING_OPCODE_ARGUMENT_MUST_BE_QUOTED);
+        }
+        PBytes escaped = factory.createBytes(Arrays.copyOfRange(input, start + 1, start + length - 1));
+        Object decoded = callNode.execute(PickleUtils.getModuleAttribute("_codecs", "escape_decode"), escaped);
+        Object bytes = ((PTuple) decoded).getSequenceStorage().getItemNormalized(0);
+        push(decodeString((PBytes) bytes));
+    }
+
+    private void loadCountedString(int size) {
+        int start = need(size);
+        push(decodeString(factory.createBytes(Arrays.copyOfRange(input, start, start + size))));
+    }
+
+    /**
+     * Reads a large payload straight from the file into a new object if nothing is buffered.
+     * Returns {@code null} if the payload has to be taken from the input buffer.
+     */
+    private Object readDirect(int size, boolean mutable) {
+        if (read == null || size < DIRECT_READ_SIZE || pos != limit) {
+            return null;
+        }
+        if (mutable && readinto != null) {
+            PByteArray result = factory.createByteArray(new byte[size]);
+            Object n = callNode.execute(readinto, result);
+            if (lib.asJavaLong(n) != size) {
+                throw truncated();
+            }
+            return result;
+        }
+        Object data = callNode.execute(read, size);
+        if (!(data instanceof PBytes) || !classProfile.profileObject(data, PythonBuiltinClassType.PBytes)) {
+            // let fetch deal with whatever the file returned
+            return null;
+        }
+        if (((PBytes) data).getSequenceStorage().length() != size) {
+            throw truncated();
+        }
+        if (mutable) {
+            return factory.createByteArray(((PBytes) data).getSequenceStorage().copy());
+        }
+        return data;
+    }
+
+    private void loadBytes(long size, String opcode) {
+        int n = checkedSize(size, opcode);
+        Object direct = readDirect(n, false);
+        if (direct != null) {
+            push(direct);
+            return;
+        }
+        int start = need(n);
+        push(factory.createBytes(Arrays.copyOfRange(input, start, start + n)));
+    }
+
+    private void loadByteArray(long size) {
+        int n = checkedSize(size, "BYTEARRAY8");
+        Object direct = readDirect(n, true);
+        if (direct != null) {
+            push(direct);
+            return;
+        }
+        int start = need(n);
+        push(factory.createByteArray(Arrays.copyOfRange(input, start, start + n)));
+    }
+
+    private void loadUnicode() {
+        int length = readLine();
+        PBytes raw = factory.createBytes(Arrays.copyOfRange(input, pos - length - 1, pos - 1));
+        Object decoded = callNode.execute(PickleUtils.getModuleAttribute("_codecs", "raw_unicode_escape_decode"), raw);
+        push(((PTuple) decoded).getSequenceStorage().getItemNormalized(0));
+    }
+
+    private void loadCountedUnicode(long size, String opcode) {
+        int n = checkedSize(size, opcode);
+        int start = need(n);
+        try {
+            push(StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT).decode(
+                            ByteBuffer.wrap(input, start, n)).toString());
+        } catch (CharacterCodingException e) {
+            // lone surrogates were pickled with surrogatepass, let the codec deal with them
+            PBytes bytes = factory.createBytes(Arrays.copyOfRange(input, start, start + n));
+            push(lib.lookupAndCallRegularMethod(bytes, null, "decode", "utf-8", "surrogatepass"));
+        }
+    }
+
+    private void loadNextBuffer() {
+        if (buffers == null) {
+            throw node.raise(UnpicklingError, ErrorMessages.NO_BUFFERS_ARGUMENT);
+        }
+        try {
+            push(GetNextNode.getUncached().execute(null, buffers));
+        } catch (PException e) {
+            e.expectStopIteration(classProfile);
+            throw node.raise(UnpicklingError, ErrorMessages.NOT_ENOUGH_OUT_OF_BAND_BUFFERS);
+        }
+    }
+
+    private void loadReadonlyBuffer() {
+        Object buffer = peek();
+        Object view = callNode.execute(core.lookupType(PythonBuiltinClassType.PMemoryView), buffer);
+        if (view instanceof PMemoryView && !((PMemoryView) view).isReadOnly()) {
+            stack[stackLen - 1] = lib.lookupAndCallRegularMethod(view, null, "toreadonly");
+        }
+    }
+
+    // containers
+
+    private HashingStorage addToStorage(HashingStorage storage, Object[] items) {
+        HashingStorage result = storage;
+        for (Object item : items) {
+            result = hlib.setItem(result, item, PNone.NONE);
+        }
+        return result;
+    }
+
+    private void loadDict() {
+        int mark = popMark();
+        if ((stackLen - mark) % 2 != 0) {
+            throw node.raise(UnpicklingError, ErrorMessages.ODD_NUMBER_OF_ITEMS_FOR_S, "DICT");
+        }
+        Object[] items = popItems(mark);
+        HashingStorage storage = EconomicMapStorage.create(items.length / 2);
+        for (int i = 0; i < items.length; i += 2) {
+            storage = hlib.setItem(storage, items[i], items[i + 1]);
+        }
+        push(factory.createDict(storage));
+    }
+
+    private void doAppend(int start) {
+        if (start <= fence) {
+            throw stackUnderflow();
+        }
+        Object[] items = popItems(start);
+        Object target = stack[stackLen - 1];
+        if (target instanceof PList && classProfile.profileObject(target, PythonBuiltinClassType.PList)) {
+            AppendNode append = AppendNode.getUncached();
+            for (Object item : items) {
+                append.execute((PList) target, item);
+            }
+            return;
+        }
+        Object extend = lib.lookupAttribute(target, null, "extend");
+        if (extend != PNone.NO_VALUE) {
+            callNode.execute(extend, factory.createList(items));
+            return;
+        }
+        Object append = lib.lookupAttributeStrict(target, null, "append");
+        for (Object item : items) {
+            callNode.execute(append, item);
+        }
+    }
+
+    private void doSetItems(int start) {
+        if (start <= fence) {
+            throw stackUnderflow();
+        }
+        if ((stackLen - start) % 2 != 0) {
+            throw node.raise(UnpicklingError, ErrorMessages.ODD_NUMBER_OF_ITEMS_FOR_S, "SETITEMS");
+        }
+        Object[] items = popItems(start);
+        Object target = stack[stackLen - 1];
+        if (target instanceof PDict && classProfile.profileObject(target, PythonBuiltinClassType.PDict)) {
+            PDict dict = (PDict) target;
+            for (int i = 0; i < items.length; i += 2) {
+                dict.setDictStorage(hlib.setItem(dict.getDictStorage(), items[i], items[i + 1]));
+            }
+            return;
+        }
+        for (int i = 0; i < items.length; i += 2) {
+            lib.lookupAndCallSpecialMethod(target, null, __SETITEM__, items[i], items[i + 1]);
+        }
+    }
+
+    private void doAddItems(int start) {
+        if (start <= fence) {
+            throw stackUnderflow();
+        }
+        Object[] items = popItems(start);
+        Object target = stack[stackLen - 1];
+        if (target instanceof PHashingCollection && classProfile.profileObject(target, PythonBuiltinClassType.PSet)) {
+            PHashingCollection set = (PHashingCollection) target;
+            set.setDictStorage(addToStorage(set.getDictStorage(), items));
+            return;
+        }
+        Object add = lib.lookupAttributeStrict(target, null, "add");
+        for (Object item : items) {
+            callNode.execute(add, item);
+        }
+    }
+
+    // objects
+
+    private void loadBuild() {
+        Object state = pop();
+        Object inst = peek();
+        Object setstate = lib.lookupAttribute(inst, null, "__setstate__");
+        if (setstate != PNone.NO_VALUE) {
+            callNode.execute(setstate, state);
+            return;
+        }
+        Object slotstate = PNone.NONE;
+        if (state instanceof PTuple && ((PTuple) state).getSequenceStorage().length() == 2) {
+            SequenceStorage storage = ((PTuple) state).getSequenceStorage();
+            slotstate = storage.getItemNormalized(1);
+            state = storage.getItemNormalized(0);
+        }
+        if (state != PNone.NONE) {
+            if (!(state instanceof PDict)) {
+                throw node.raise(UnpicklingError, ErrorMessages.STATE_IS_NOT_A_DICTIONARY);
+            }
+            Object dict = lib.lookupAttributeStrict(inst, null, __DICT__);
+            for (DictEntry entry : hlib.entries(((PDict) state).getDictStorage())) {
+                if (dict instanceof PDict) {
+                    ((PDict) dict).setDictStorage(hlib.setItem(((PDict) dict).getDictStorage(), entry.key, entry.value));
+                } else {
+                    lib.lookupAndCallSpecialMethod(dict, null, __SETITEM__, entry.key, entry.value);
+                }
+            }
+        }
+        if (slotstate != PNone.NONE) {
+            if (!(slotstate instanceof PDict)) {
+                throw node.raise(UnpicklingError, ErrorMessages.SLOT_STATE_IS_NOT_A_DICTIONARY);
+            }
+            for (DictEntry entry : hlib.entries(((PDict) slotstate).getDictStorage())) {
+                lib.lookupAndCallSpecialMethod(inst, null, __SETATTR__, entry.key, entry.value);
+            }
+        }
+    }
+
+    private Object instantiate(Object cls, Object[] args) {
+        if (args.length == 0 && IsTypeNode.getUncached().execute(cls)) {
+            if (lib.lookupAttribute(cls, null, "__getinitargs__") == PNone.NO_VALUE) {
+                return callNode.execute(lib.lookupAttributeStrict(cls, null, __NEW__), cls);
+            }
+        }
+        return callNode.execute(cls, args);
+    }
+
+    private void loadNewObj(boolean useKwargs) {
+        String opcode = useKwargs ? "NEWOBJ_EX" : "NEWOBJ";
+        Object kwargs = useKwargs ? pop() : null;
+        Object args = pop();
+        Object cls = pop();
+        if (!IsTypeNode.getUncached().execute(cls)) {
+            throw node.raise(UnpicklingError, ErrorMessages.S_CLASS_ARGUMENT_MUST_BE_TYPE_NOT_P, opcode, cls);
+        }
+        if (!(args instanceof PTuple)) {
+            throw node.raise(UnpicklingError, ErrorMessages.S_ARGS_ARGUMENT_MUST_BE_TUPLE_NOT_P, opcode, args);
+        }
+        PKeyword[] keywords = PKeyword.EMPTY_KEYWORDS;
+        if (useKwargs) {
+            if (!(kwargs instanceof PDict)) {
+                throw node.raise(UnpicklingError, ErrorMessages.NEWOBJ_EX_KWARGS_MUST_BE_DICT_NOT_P, kwargs);
+            }
+            keywords = ExpandKeywordStarargsNodeGen.getUncached().execute(kwargs);
+        }
+        SequenceStorage argsStorage = ((PTuple) args).getSequenceStorage();
+        Object[] newargs = new Object[argsStorage.length() + 1];
+        newargs[0] = cls;
+        for (int i = 1; i < newargs.length; i++) {
+            newargs[i] = argsStorage.getItemNormalized(i - 1);
+        }
+        push(callNode.execute(lib.lookupAttributeStrict(cls, null, __NEW__), newargs, keywords));
+    }
+
+    private Object callPersistentLoad(Object pid) {
+        if (persistentLoad == null) {
+            throw node.raise(UnpicklingError, ErrorMessages.NO_PERSISTENT_LOAD);
+        }
+        return callNode.execute(persistentLoad, pid);
+    }
+
+    private void loadExtension(long code) {
+        if (code <= 0) {
+            throw node.raise(UnpicklingError, ErrorMessages.EXT_SPECIFIES_CODE_LE_0);
+        }
+        Object cache = PickleUtils.getModuleAttribute("copyreg", "_extension_cache");
+        Object obj = PickleUtils.getItem(cache, code);
+        if (obj != null) {
+            push(obj);
+            return;
+        }
+        Object key = PickleUtils.getItem(PickleUtils.getModuleAttribute("copyreg", "_inverted_registry"), code);
+        if (key == null) {
+            throw node.raise(ValueError, ErrorMessages.UNREGISTERED_EXTENSION_CODE, code);
+        }
+        if (!(key instanceof PTuple) || ((PTuple) key).getSequenceStorage().length() != 2) {
+            throw node.raise(UnpicklingError, ErrorMessages.INVERTED_REGISTRY_NOT_2_TUPLE, code);
+        }
+        Object moduleName = ((PTuple) key).getSequenceStorage().getItemNormalized(0);
+        Object name = ((PTuple) key).getSequenceStorage().getItemNormalized(1);
+        if (!PickleUtils.isString(moduleName) || !PickleUtils.isString(name)) {
+            throw node.raise(UnpicklingError, ErrorMessages.INVERTED_REGISTRY_NOT_2_TUPLE, code);
+        }
+        obj = findClass(PickleUtils.castToString(node, moduleName), PickleUtils.castToString(node, name));
+        lib.lookupAndCallSpecialMethod(cache, null, __SETITEM__, code, obj);
+        push(obj);
+    }
+
+    private Object findClass(String moduleName, String name) {
+        if (findClass != null) {
+            return callNode.execute(findClass, moduleName, name);
+        }
+        return findClass(node, proto, fixImports, moduleName, name);
+    }
+
+    /**
+     * The default {@code Unpickler.find_class}.
+     */
+    @TruffleBoundary
+    static Object findClass(PythonBuiltinBaseNode node, int proto, boolean fixImports, String moduleName, String name) {
+        String module = moduleName;
+        String global = name;
+        if (proto < 3 && fixImports) {
+            String[] fixed = PickleUtils.mapCompatName(node, "NAME_MAPPING", "IMPORT_MAPPING", module, global);
+            module = fixed[0];
+            global = fixed[1];
+        }
+        Object mod = PickleUtils.importModule(module);
+        if (proto >= 4) {
+            return PickleUtils.getDeepAttribute(mod, PickleUtils.getDottedPath(node, mod, global), null);
+        }
+        return PythonObjectLibrary.getUncached().lookupAttributeStrict(mod, null, global);
+    }
+
+    int getProto() {
+        return proto;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.AttributeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.KeyError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.RuntimeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.ValueError;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GETITEM__;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.object.ObjectNodes.ReprAsJavaStringNode;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.nodes.statement.AbstractImportNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Opcodes and helpers shared by the {@code _pickle} pickler and unpickler. The opcode names follow
+ * {@code Modules/_pickle.c}.
+ */
+public final class PickleUtils {
+    public static final int HIGHEST_PROTOCOL = 5;
+    public static final int DEFAULT_PROTOCOL = 4;
+
+    /** Number of items written per {@code APPENDS}/{@code SETITEMS}/{@code ADDITEMS} batch. */
+    static final int BATCHSIZE = 1000;
+    /** Frames smaller than this are not worth the 9 bytes of the {@code FRAME} header. */
+    static final int FRAME_SIZE_MIN = 4;
+    static final int FRAME_SIZE_TARGET = 64 * 1024;
+    static final int FRAME_HEADER_SIZE = 9;
+    static final int WRITE_BUF_SIZE = 4096;
+
+    static final byte MARK = '(';
+    static final byte STOP = '.';
+    static final byte POP = '0';
+    static final byte POP_MARK = '1';
+    static final byte DUP = '2';
+    static final byte FLOAT = 'F';
+    static final byte INT = 'I';
+    static final byte BININT = 'J';
+    static final byte BININT1 = 'K';
+    static final byte LONG = 'L';
+    static final byte BININT2 = 'M';
+    static final byte NONE = 'N';
+    static final byte PERSID = 'P';
+    static final byte BINPERSID = 'Q';
+    static final byte REDUCE = 'R';
+    static final byte STRING = 'S';
+    static final byte BINSTRING = 'T';
+    static final byte SHORT_BINSTRING = 'U';
+    static final byte UNICODE = 'V';
+    static final byte BINUNICODE = 'X';
+    static final byte APPEND = 'a';
+    static final byte BUILD = 'b';
+    static final byte GLOBAL = 'c';
+    static final byte DICT = 'd';
+    static final byte EMPTY_DICT = '}';
+    static final byte APPENDS = 'e';
+    static final byte GET = 'g';
+    static final byte BINGET = 'h';
+    static final byte INST = 'i';
+    static final byte LONG_BINGET = 'j';
+    static final byte LIST = 'l';
+    static final byte EMPTY_LIST = ']';
+    static final byte OBJ = 'o';
+    static final byte PUT = 'p';
+    static final byte BINPUT = 'q';
+    static final byte LONG_BINPUT = 'r';
+    static final byte SETITEM = 's';
+    static final byte TUPLE = 't';
+    static final byte EMPTY_TUPLE = ')';
+    static final byte SETITEMS = 'u';
+    static final byte BINFLOAT = 'G';
+
+    // protocol 2
+    static final byte PROTO = (byte) 0x80;
+    static final byte NEWOBJ = (byte) 0x81;
+    static final byte EXT1 = (byte) 0x82;
+    static final byte EXT2 = (byte) 0x83;
+    static final byte EXT4 = (byte) 0x84;
+    static final byte TUPLE1 = (byte) 0x85;
+    static final byte TUPLE2 = (byte) 0x86;
+    static final byte TUPLE3 = (byte) 0x87;
+    static final byte NEWTRUE = (byte) 0x88;
+    static final byte NEWFALSE = (byte) 0x89;
+    static final byte LONG1 = (byte) 0x8a;
+    static final byte LONG4 = (byte) 0x8b;
+
+    // protocol 3
+    static final byte BINBYTES = 'B';
+    static final byte SHORT_BINBYTES = 'C';
+
+    // protocol 4
+    static final byte SHORT_BINUNICODE = (byte) 0x8c;
+    static final byte BINUNICODE8 = (byte) 0x8d;
+    static final byte BINBYTES8 = (byte) 0x8e;
+    static final byte EMPTY_SET = (byte) 0x8f;
+    static final byte ADDITEMS = (byte) 0x90;
+    static final byte FROZENSET = (byte) 0x91;
+    static final byte NEWOBJ_EX = (byte) 0x92;
+    static final byte STACK_GLOBAL = (byte) 0x93;
+    static final byte MEMOIZE = (byte) 0x94;
+    static final byte FRAME = (byte) 0x95;
+
+    // protocol 5
+    static final byte BYTEARRAY8 = (byte) 0x96;
+    static final byte NEXT_BUFFER = (byte) 0x97;
+    static final byte READONLY_BUFFER = (byte) 0x98;
+
+    private PickleUtils() {
+    }
+
+    /**
+     * Equivalent of {@code PyImport_Import}: imports the module and returns the leaf module from
+     * {@code sys.modules} rather than the top-level package.
+     */
+    @TruffleBoundary
+    static Object importModule(String name) {
+        AbstractImportNode.importModule(name);
+        Object module = HashingStorageLibrary.getUncached().getItem(PythonLanguage.getContext().getSysModules().getDictStorage(), name);
+        if (module == null) {
+            // the module removed itself from sys.modules while being imported
+            return AbstractImportNode.importModule(name);
+        }
+        return module;
+    }
+
+    @TruffleBoundary
+    static Object getModuleAttribute(String module, String name) {
+        return PythonObjectLibrary.getUncached().lookupAttributeStrict(importModule(module), null, name);
+    }
+
+    @TruffleBoundary
+    static String repr(Object obj) {
+        return ReprAsJavaStringNode.getUncached().execute(null, obj);
+    }
+
+    /**
+     * Validates a protocol argument, negative values select the highest protocol.
+     */
+    static int checkProtocol(PythonBuiltinBaseNode node, int protocol) {
+        if (protocol < 0) {
+            return HIGHEST_PROTOCOL;
+        } else if (protocol > HIGHEST_PROTOCOL) {
+            throw node.raise(ValueError, ErrorMessages.PICKLE_PROTOCOL_MUST_BE_LE, HIGHEST_PROTOCOL);
+        }
+        return protocol;
+    }
+
+    static boolean isString(Object obj) {
+        return obj instanceof String || obj instanceof PString;
+    }
+
+    @TruffleBoundary
+    static String castToString(PythonBuiltinBaseNode node, Object obj) {
+        try {
+            return CastToJavaStringNode.getUncached().execute(obj);
+        } catch (CannotCastException e) {
+            throw node.raise(TypeError, ErrorMessages.MUST_BE_STR_NOT_P, obj);
+        }
+    }
+
+    /**
+     * Equivalent of {@code PyObject_GetItem} that returns {@code null} on a {@code KeyError}.
+     */
+    @TruffleBoundary
+    static Object getItem(Object mapping, Object key) {
+        if (mapping instanceof PDict) {
+            return HashingStorageLibrary.getUncached().getItem(((PDict) mapping).getDictStorage(), key);
+        }
+        try {
+            return PythonObjectLibrary.getUncached().lookupAndCallSpecialMethod(mapping, null, __GETITEM__, key);
+        } catch (PException e) {
+            e.expect(KeyError, IsBuiltinClassProfile.getUncached());
+            return null;
+        }
+    }
+
+    /**
+     * Splits a qualified name, refusing names of objects local to a function. {@code obj} is only
+     * used for the error message.
+     */
+    @TruffleBoundary
+    static String[] getDottedPath(PythonBuiltinBaseNode node, Object obj, String name) {
+        String[] path = name.split("\\.", -1);
+        for (String subpath : path) {
+            if ("<locals>".equals(subpath)) {
+                if (obj == null) {
+                    throw node.raise(AttributeError, ErrorMessages.CANT_PICKLE_LOCAL_OBJECT_S, repr(name));
+                } else {
+                    throw node.raise(AttributeError, ErrorMessages.CANT_GET_LOCAL_ATTRIBUTE_S_ON_S, repr(name), repr(obj));
+                }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Resolves a dotted path starting at {@code obj}. The object owning the last attribute is
+     * stored into {@code parent[0]} if {@code parent} is given.
+     */
+    @TruffleBoundary
+    static Object getDeepAttribute(Object obj, String[] path, Object[] parent) {
+        PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+        Object current = obj;
+        for (String name : path) {
+            if (parent != null) {
+                parent[0] = current;
+            }
+            current = lib.lookupAttributeStrict(current, null, name);
+        }
+        return current;
+    }
+
+    /**
+     * Translates a global between its Python 2 and Python 3 names using the given mappings of
+     * {@code _compat_pickle}. Returns the module and global name.
+     */
+    @TruffleBoundary
+    static String[] mapCompatName(PythonBuiltinBaseNode node, String nameMappingName, String importMappingName, String moduleName, String globalName) {
+        Object nameMapping = getModuleAttribute("_compat_pickle", nameMappingName);
+        Object item = getItem(nameMapping, PythonObjectFactory.getUncached().createTuple(new Object[]{moduleName, globalName}));
+        if (item != null) {
+            if (!(item instanceof PTuple) || ((PTuple) item).getSequenceStorage().length() != 2) {
+                throw node.raise(RuntimeError, ErrorMessages.COMPAT_PICKLE_S_VALUES_SHOULD_BE_2_TUPLES_NOT_P, nameMappingName, item);
+            }
+            SequenceStorage storage = ((PTuple) item).getSequenceStorage();
+            Object fixedModule = storage.getItemNormalized(0);
+            Object fixedGlobal = storage.getItemNormalized(1);
+            if (!isString(fixedModule) || !isString(fixedGlobal)) {
+                throw node.raise(RuntimeError, ErrorMessages.COMPAT_PICKLE_S_VALUES_SHOULD_BE_PAIRS_OF_STR_NOT_P_P, nameMappingName, fixedModule, fixedGlobal);
+            }
+            return new String[]{castToString(node, fixedModule), castToString(node, fixedGlobal)};
+        }
+        Object importMapping = getModuleAttribute("_compat_pickle", importMappingName);
+        item = getItem(importMapping, moduleName);
+        if (item != null) {
+            if (!isString(item)) {
+                throw node.raise(RuntimeError, ErrorMessages.COMPAT_PICKLE_S_VALUES_SHOULD_BE_STRINGS_NOT_P, importMappingName, item);
+            }
+            return new String[]{castToString(node, item), globalName};
+        }
+        return new String[]{moduleName, globalName};
+    }
+}
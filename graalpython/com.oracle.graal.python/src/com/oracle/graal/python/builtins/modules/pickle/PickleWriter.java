@@ -0,0 +1,1376 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.KeyError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.MemoryError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.PicklingError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.RuntimeError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__CLASS__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__MODULE__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__NAME__;
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__QUALNAME__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEW__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE_EX__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.array.PArray;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.ellipsis.PEllipsis;
+import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.memoryview.MemoryViewNodes;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.IsTypeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.argument.keywords.ExpandKeywordStarargsNodeGen;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+
+/**
+ * The state of a single {@code dump}, following {@code save} and friends in
+ * {@code Modules/_pickle.c}. Opcodes are emitted straight into a growable
+ * {@link ByteSequenceStorage} which {@code dumps} hands out as the resulting bytes object, so the
+ * pickle is never copied after it was written.
+ */
+final class PickleWriter {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final PythonBuiltinBaseNode node;
+    private final PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+    private final HashingStorageLibrary hlib = HashingStorageLibrary.getUncached();
+    private final PythonObjectFactory factory = PythonObjectFactory.getUncached();
+    private final IsBuiltinClassProfile classProfile = IsBuiltinClassProfile.getUncached();
+    private final CallNode callNode = CallNode.getUncached();
+    private final PythonCore core;
+
+    private final int proto;
+    private final boolean bin;
+    private final boolean fixImports;
+    private final boolean fast;
+    /** The {@code write} method of the file or {@code null} when pickling to bytes. */
+    private final Object write;
+    private final Object bufferCallback;
+    private final IdentityHashMap<Object, Integer> memo;
+    private Object persistentId;
+    private Object reducerOverride;
+    private Object dispatchTable;
+
+    private ByteSequenceStorage output = new ByteSequenceStorage(PickleUtils.WRITE_BUF_SIZE);
+    private boolean framing;
+    /** Position of the reserved frame header of the current frame or -1. */
+    private int frameStart = -1;
+
+    PickleWriter(PythonBuiltinBaseNode node, int proto, boolean fixImports, boolean fast, Object write, Object bufferCallback, IdentityHashMap<Object, Integer> memo) {
+        this.node = node;
+        this.core = node.getCore();
+        this.proto = proto;
+        this.bin = proto > 0;
+        this.fixImports = fixImports;
+        this.fast = fast;
+        this.write = write;
+        this.bufferCallback = bufferCallback;
+        this.memo = memo;
+    }
+
+    /**
+     * Picks up the hooks a {@code Pickler} (sub)class or instance may define.
+     */
+    void setHooks(Object persistentIdFn, Object reducerOverrideFn, Object dispatchTableObj) {
+        this.persistentId = persistentIdFn;
+        this.reducerOverride = reducerOverrideFn;
+        this.dispatchTable = dispatchTableObj;
+    }
+
+    @TruffleBoundary
+    void dump(Object obj) {
+        if (proto >= 2) {
+            write(PickleUtils.PROTO);
+            write((byte) proto);
+            if (proto >= 4) {
+                framing = true;
+            }
+        }
+        save(obj, false);
+        write(PickleUtils.STOP);
+        commitFrame();
+        framing = false;
+        if (write != null) {
+            flushToFile();
+        }
+    }
+
+    /**
+     * Returns the pickle written so far as a bytes object sharing the output storage.
+     */
+    PBytes getBytes() {
+        return factory.createBytes(output);
+    }
+
+    // output buffer and framing
+
+    private byte[] outputArray() {
+        return (byte[]) output.getInternalArrayObject();
+    }
+
+    /**
+     * Makes room for {@code n} bytes, starting a new frame if necessary, and returns the position
+     * where they go.
+     */
+    private int reserve(int n) {
+        int len = output.length();
+        int header = framing && frameStart == -1 ? PickleUtils.FRAME_HEADER_SIZE : 0;
+        int newLength;
+        try {
+            newLength = Math.addExact(len, Math.addExact(n, header));
+            output.ensureCapacity(newLength);
+        } catch (ArithmeticException e) {
+            throw node.raise(MemoryError);
+        }
+        if (header != 0) {
+            frameStart = len;
+        }
+        output.setNewLength(newLength);
+        return newLength - n;
+    }
+
+    private void write(byte b) {
+        int pos = reserve(1);
+        outputArray()[pos] = b;
+    }
+
+    private void write(byte[] data, int offset, int length) {
+        int pos = reserve(length);
+        System.arraycopy(data, offset, outputArray(), pos, length);
+    }
+
+    private void write(byte[] data) {
+        write(data, 0, data.length);
+    }
+
+    private void writeAscii(String s) {
+        int pos = reserve(s.length());
+        byte[] array = outputArray();
+        for (int i = 0; i < s.length(); i++) {
+            array[pos + i] = (byte) s.charAt(i);
+        }
+    }
+
+    /**
+     * Writes {@code op} followed by {@code size} as a little-endian integer of {@code n} bytes.
+     */
+    private void writeSized(byte op, long size, int n) {
+        int pos = reserve(n + 1);
+        byte[] array = outputArray();
+        array[pos] = op;
+        for (int i = 0; i < n; i++) {
+            array[pos + 1 + i] = (byte) (size >>> (8 * i));
+        }
+    }
+
+    private void commitFrame() {
+        if (frameStart == -1) {
+            return;
+        }
+        byte[] array = outputArray();
+        int frameLen = output.length() - frameStart - PickleUtils.FRAME_HEADER_SIZE;
+        if (frameLen >= PickleUtils.FRAME_SIZE_MIN) {
+            array[frameStart] = PickleUtils.FRAME;
+            for (int i = 0; i < 8; i++) {
+                array[frameStart + 1 + i] = (byte) ((long) frameLen >>> (8 * i));
+            }
+        } else {
+            // not worth a frame, drop the reserved header
+            System.arraycopy(array, frameStart + PickleUtils.FRAME_HEADER_SIZE, array, frameStart, frameLen);
+            output.setNewLength(output.length() - PickleUtils.FRAME_HEADER_SIZE);
+        }
+        frameStart = -1;
+    }
+
+    private void opcodeBoundary() {
+        if (!framing || frameStart == -1) {
+            return;
+        }
+        int frameLen = output.length() - frameStart - PickleUtils.FRAME_HEADER_SIZE;
+        if (frameLen >= PickleUtils.FRAME_SIZE_TARGET) {
+            commitFrame();
+            if (write != null) {
+                flushToFile();
+            }
+        }
+    }
+
+    /**
+     * Hands the output storage over to the file without copying and starts a fresh one.
+     */
+    private void flushToFile() {
+        if (output.length() == 0) {
+            return;
+        }
+        PBytes chunk = factory.createBytes(output);
+        output = new ByteSequenceStorage(PickleUtils.WRITE_BUF_SIZE);
+        callNode.execute(write, chunk);
+    }
+
+    /**
+     * Writes an opcode header followed by a payload. Payloads of at least a frame's size are not
+     * framed and, when pickling to a file, are passed to {@code write} directly.
+     */
+    private void writeBytes(byte op, long size, int sizeBytes, ByteBuffer data, Object payload) {
+        int length = data.remaining();
+        boolean bypass = length >= PickleUtils.FRAME_SIZE_TARGET;
+        boolean wasFraming = framing;
+        if (bypass) {
+            commitFrame();
+            framing = false;
+        }
+        writeSized(op, size, sizeBytes);
+        if (bypass && write != null) {
+            flushToFile();
+            Object chunk = payload;
+            if (chunk == null) {
+                byte[] copy = new byte[length];
+                data.get(copy);
+                chunk = factory.createBytes(copy);
+            }
+            callNode.execute(write, chunk);
+        } else {
+            write(data.array(), data.arrayOffset() + data.position(), length);
+        }
+        framing = wasFraming;
+    }
+
+    // memo
+
+    private void memoPut(Object obj) {
+        if (fast) {
+            return;
+        }
+        int idx = memo.size();
+        memo.put(obj, idx);
+        if (proto >= 4) {
+            write(PickleUtils.MEMOIZE);
+        } else if (!bin) {
+            write(PickleUtils.PUT);
+            writeAscii(Integer.toString(idx));
+            write((byte) '\n');
+        } else if (idx < 256) {
+            writeSized(PickleUtils.BINPUT, idx, 1);
+        } else {
+            writeSized(PickleUtils.LONG_BINPUT, idx, 4);
+        }
+    }
+
+    private void memoGet(Object obj) {
+        Integer idx = memo.get(obj);
+        if (idx == null) {
+            throw node.raise(KeyError, new Object[]{obj});
+        }
+        if (!bin) {
+            write(PickleUtils.GET);
+            writeAscii(Integer.toString(idx));
+            write((byte) '\n');
+        } else if (idx < 256) {
+            writeSized(PickleUtils.BINGET, idx, 1);
+        } else {
+            writeSized(PickleUtils.LONG_BINGET, idx, 4);
+        }
+    }
+
+    // dispatch
+
+    private boolean isExact(Object type, PythonBuiltinClassType builtinType) {
+        return classProfile.profileClass(type, builtinType);
+    }
+
+    private Object normalizeClass(Object obj) {
+        if (obj instanceof PythonBuiltinClassType) {
+            return core.lookupType((PythonBuiltinClassType) obj);
+        }
+        return obj;
+    }
+
+    private void save(Object object, boolean persSave) {
+        opcodeBoundary();
+        Object obj = normalizeClass(object);
+        if (!persSave && persistentId != null && savePers(obj)) {
+            return;
+        }
+        if (obj == PNone.NONE) {
+            write(PickleUtils.NONE);
+            return;
+        }
+        if (obj instanceof Boolean || obj == core.getTrue() || obj == core.getFalse()) {
+            saveBool(obj == Boolean.TRUE || obj == core.getTrue());
+            return;
+        }
+        if (obj instanceof Integer || obj instanceof Long) {
+            saveLong(((Number) obj).longValue());
+            return;
+        }
+        if (obj instanceof Double) {
+            saveFloat((double) obj);
+            return;
+        }
+        Object type = lib.getLazyPythonClass(obj);
+        if (obj instanceof PInt && isExact(type, PythonBuiltinClassType.PInt)) {
+            saveBigLong(((PInt) obj).getValue());
+            return;
+        }
+        if (obj instanceof PFloat && isExact(type, PythonBuiltinClassType.PFloat)) {
+            saveFloat(((PFloat) obj).getValue());
+            return;
+        }
+        if (!fast && memo.containsKey(obj)) {
+            memoGet(obj);
+            return;
+        }
+        if (obj instanceof PBytes && isExact(type, PythonBuiltinClassType.PBytes)) {
+            saveBytes((PBytes) obj);
+            return;
+        }
+        if (obj instanceof String || (obj instanceof PString && isExact(type, PythonBuiltinClassType.PString))) {
+            saveUnicode(obj);
+            return;
+        }
+        Object reduceValue = null;
+        if (reducerOverride != null) {
+            reduceValue = callNode.execute(reducerOverride, obj);
+            if (reduceValue == PNotImplemented.NOT_IMPLEMENTED) {
+                reduceValue = null;
+            }
+        }
+        if (reduceValue == null) {
+            if (obj instanceof PDict && isExact(type, PythonBuiltinClassType.PDict)) {
+                saveDict((PDict) obj);
+                return;
+            } else if (obj instanceof PHashingCollection && isExact(type, PythonBuiltinClassType.PSet)) {
+                saveSet((PHashingCollection) obj);
+                return;
+            } else if (obj instanceof PHashingCollection && isExact(type, PythonBuiltinClassType.PFrozenSet)) {
+                saveFrozenSet((PHashingCollection) obj);
+                return;
+            } else if (obj instanceof PList && isExact(type, PythonBuiltinClassType.PList)) {
+                saveList((PList) obj);
+                return;
+            } else if (obj instanceof PTuple && isExact(type, PythonBuiltinClassType.PTuple)) {
+                saveTuple((PTuple) obj);
+                return;
+            } else if (obj instanceof PByteArray && isExact(type, PythonBuiltinClassType.PByteArray)) {
+                saveByteArray((PByteArray) obj);
+                return;
+            } else if (obj instanceof PPickleBuffer) {
+                savePickleBuffer((PPickleBuffer) obj);
+                return;
+            } else if (isExact(type, PythonBuiltinClassType.PythonClass)) {
+                saveType(obj);
+                return;
+            } else if (isExact(type, PythonBuiltinClassType.PFunction)) {
+                saveGlobal(obj, null);
+                return;
+            }
+            reduceValue = getReduceValue(obj, type);
+            if (reduceValue == null) {
+                // a type object with a custom metaclass
+                saveGlobal(obj, null);
+                return;
+            }
+        }
+        if (reduceValue instanceof String || reduceValue instanceof PString) {
+            saveGlobal(obj, reduceValue);
+            return;
+        }
+        if (!(reduceValue instanceof PTuple)) {
+            throw node.raise(PicklingError, ErrorMessages.REDUCE_MUST_RETURN_STRING_OR_TUPLE);
+        }
+        saveReduce((PTuple) reduceValue, obj);
+    }
+
+    /**
+     * Calls the reduction function from the dispatch tables or {@code __reduce_ex__}. Returns
+     * {@code null} if the object should be saved as a global instead.
+     */
+    private Object getReduceValue(Object obj, Object type) {
+        Object cls = normalizeClass(type);
+        Object reduceFunc;
+        if (dispatchTable == null) {
+            reduceFunc = PickleUtils.getItem(PickleUtils.getModuleAttribute("copyreg", "dispatch_table"), cls);
+        } else {
+            reduceFunc = PickleUtils.getItem(dispatchTable, cls);
+        }
+        if (reduceFunc != null) {
+            return callNode.execute(reduceFunc, obj);
+        }
+        if (IsTypeNode.getUncached().execute(obj)) {
+            return null;
+        }
+        Object reduceEx = lib.lookupAttribute(obj, null, __REDUCE_EX__);
+        if (reduceEx != PNone.NO_VALUE) {
+            return callNode.execute(reduceEx, proto);
+        }
+        Object reduce = lib.lookupAttribute(obj, null, __REDUCE__);
+        if (reduce != PNone.NO_VALUE) {
+            return callNode.execute(reduce);
+        }
+        throw node.raise(PicklingError, ErrorMessages.CANT_PICKLE_P_OBJECT_S, obj, PickleUtils.repr(obj));
+    }
+
+    private boolean savePers(Object obj) {
+        Object pid = callNode.execute(persistentId, obj);
+        if (pid == PNone.NONE) {
+            return false;
+        }
+        if (bin) {
+            save(pid, true);
+            write(PickleUtils.BINPERSID);
+        } else {
+            String pidStr = PickleUtils.castToString(node, lib.asPString(pid));
+            if (!isAscii(pidStr)) {
+                throw node.raise(PicklingError, ErrorMessages.PERSISTENT_IDS_MUST_BE_ASCII);
+            }
+            write(PickleUtils.PERSID);
+            writeAscii(pidStr);
+            write((byte) '\n');
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (s.charAt(i) > 127) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // atoms
+
+    private void saveBool(boolean value) {
+        if (proto >= 2) {
+            write(value ? PickleUtils.NEWTRUE : PickleUtils.NEWFALSE);
+        } else {
+            writeAscii(value ? "I01\n" : "I00\n");
+        }
+    }
+
+    private void saveLong(long value) {
+        if (value != (int) value) {
+            saveBigLong(BigInteger.valueOf(value));
+            return;
+        }
+        if (bin) {
+            int v = (int) value;
+            if ((v & 0xffff0000) != 0) {
+                writeSized(PickleUtils.BININT, v, 4);
+            } else if ((v & 0xff00) != 0) {
+                writeSized(PickleUtils.BININT2, v, 2);
+            } else {
+                writeSized(PickleUtils.BININT1, v, 1);
+            }
+        } else {
+            write(PickleUtils.INT);
+            writeAscii(Long.toString(value));
+            write((byte) '\n');
+        }
+    }
+
+    private void saveBigLong(BigInteger value) {
+        if (value.bitLength() < 32) {
+            saveLong(value.intValue());
+            return;
+        }
+        if (proto >= 2) {
+            // toByteArray is the minimal big-endian two's complement, the pickle wants it reversed
+            byte[] bytes = value.toByteArray();
+            int n = bytes.length;
+            if (n < 256) {
+                writeSized(PickleUtils.LONG1, n, 1);
+            } else {
+                writeSized(PickleUtils.LONG4, n, 4);
+            }
+            int pos = reserve(n);
+            byte[] array = outputArray();
+            for (int i = 0; i < n; i++) {
+                array[pos + i] = bytes[n - 1 - i];
+            }
+        } else {
+            write(PickleUtils.LONG);
+            writeAscii(value.toString());
+            writeAscii("L\n");
+        }
+    }
+
+    private void saveFloat(double value) {
+        if (bin) {
+            long bits = Double.doubleToRawLongBits(value);
+            int pos = reserve(9);
+            byte[] array = outputArray();
+            array[pos] = PickleUtils.BINFLOAT;
+            for (int i = 0; i < 8; i++) {
+                array[pos + 1 + i] = (byte) (bits >>> (56 - 8 * i));
+            }
+        } else {
+            write(PickleUtils.FLOAT);
+            String repr;
+            if (Double.isNaN(value)) {
+                repr = "nan";
+            } else if (Double.isInfinite(value)) {
+                repr = value > 0 ? "inf" : "-inf";
+            } else {
+                repr = PFloat.doubleToString(value);
+            }
+            writeAscii(repr);
+            write((byte) '\n');
+        }
+    }
+
+    // bytes-like objects
+
+    /**
+     * Returns the content of a bytes-like object, sharing the backing array if possible.
+     */
+    private ByteBuffer getBytesData(PBytesLike obj) {
+        SequenceStorage storage = obj.getSequenceStorage();
+        if (storage instanceof ByteSequenceStorage) {
+            return ByteBuffer.wrap((byte[]) storage.getInternalArrayObject(), 0, storage.length());
+        }
+        try {
+            return ByteBuffer.wrap(lib.getBufferBytes(obj));
+        } catch (UnsupportedMessageException e) {
+            throw node.raise(TypeError, ErrorMessages.BYTESLIKE_OBJ_REQUIRED, obj);
+        }
+    }
+
+    /**
+     * Returns the memory a view refers to. Views of bytes, bytearray and array objects are not
+     * copied.
+     */
+    private static ByteBuffer getViewData(PMemoryView view) {
+        Object owner = view.getOwner();
+        if (view.getBufferPointer() == null && view.isCContiguous()) {
+            if (owner instanceof PBytesLike) {
+                SequenceStorage storage = ((PBytesLike) owner).getSequenceStorage();
+                if (storage instanceof ByteSequenceStorage) {
+                    return ByteBuffer.wrap((byte[]) storage.getInternalArrayObject(), view.getOffset(), view.getLength());
+                }
+            } else if (owner instanceof PArray) {
+                return ByteBuffer.wrap(((PArray) owner).getBuffer(), view.getOffset(), view.getLength());
+            }
+        }
+        return ByteBuffer.wrap(MemoryViewNodes.ToJavaBytesNode.getUncached().execute(view));
+    }
+
+    private void saveBytes(PBytes obj) {
+        if (proto < 3) {
+            // older protocols do not have a bytes opcode, fake the copy protocol like CPython
+            ByteBuffer data = getBytesData(obj);
+            Object reduceValue;
+            if (data.remaining() == 0) {
+                reduceValue = factory.createTuple(new Object[]{core.lookupType(PythonBuiltinClassType.PBytes), factory.createTuple(new Object[0])});
+            } else {
+                String latin1 = new String(data.array(), data.arrayOffset() + data.position(), data.remaining(), StandardCharsets.ISO_8859_1);
+                Object encode = PickleUtils.getModuleAttribute("codecs", "encode");
+                reduceValue = factory.createTuple(new Object[]{encode, factory.createTuple(new Object[]{latin1, "latin1"})});
+            }
+            saveReduce((PTuple) reduceValue, obj);
+        } else {
+            saveBytesData(obj, getBytesData(obj), obj);
+        }
+    }
+
+    private void saveBytesData(Object obj, ByteBuffer data, Object payload) {
+        int size = data.remaining();
+        if (size <= 0xff) {
+            writeBytes(PickleUtils.SHORT_BINBYTES, size, 1, data, payload);
+        } else {
+            writeBytes(PickleUtils.BINBYTES, size, 4, data, payload);
+        }
+        memoPut(obj);
+    }
+
+    private void saveByteArray(PByteArray obj) {
+        if (proto < 5) {
+            ByteBuffer data = getBytesData(obj);
+            Object[] args;
+            if (data.remaining() == 0) {
+                args = new Object[0];
+            } else {
+                byte[] copy = new byte[data.remaining()];
+                data.get(copy);
+                args = new Object[]{factory.createBytes(copy)};
+            }
+            saveReduce(factory.createTuple(new Object[]{core.lookupType(PythonBuiltinClassType.PByteArray), factory.createTuple(args)}), obj);
+        } else {
+            saveByteArrayData(obj, getBytesData(obj), obj);
+        }
+    }
+
+    private void saveByteArrayData(Object obj, ByteBuffer data, Object payload) {
+        writeBytes(PickleUtils.BYTEARRAY8, data.remaining(), 8, data, payload);
+        memoPut(obj);
+    }
+
+    private void savePickleBuffer(PPickleBuffer obj) {
+        if (proto < 5) {
+            throw node.raise(PicklingError, ErrorMessages.PICKLEBUFFER_REQUIRES_PROTOCOL_5);
+        }
+        PMemoryView view = obj.getView();
+        if (view == null) {
+            throw node.raise(PythonBuiltinClassType.ValueError, ErrorMessages.PICKLEBUFFER_RELEASED);
+        }
+        if (view.getBufferSuboffsets() != null || !(view.isCContiguous() || view.isFortranContiguous())) {
+            throw node.raise(PicklingError, ErrorMessages.PICKLEBUFFER_NON_CONTIGUOUS);
+        }
+        boolean inBand = true;
+        if (bufferCallback != null) {
+            inBand = lib.isTrue(callNode.execute(bufferCallback, obj));
+        }
+        if (inBand) {
+            if (view.isReadOnly()) {
+                saveBytesData(obj, getViewData(view), view);
+            } else {
+                saveByteArrayData(obj, getViewData(view), view);
+            }
+        } else {
+            // the buffer is transferred out-of-band, the stream only refers to it
+            write(PickleUtils.NEXT_BUFFER);
+            if (view.isReadOnly()) {
+                write(PickleUtils.READONLY_BUFFER);
+            }
+        }
+    }
+
+    // strings
+
+    private void saveUnicode(Object obj) {
+        String s = PickleUtils.castToString(node, obj);
+        if (bin) {
+            byte[] encoded = encodeUtf8(s);
+            ByteBuffer data = ByteBuffer.wrap(encoded);
+            if (encoded.length <= 0xff && proto >= 4) {
+                writeBytes(PickleUtils.SHORT_BINUNICODE, encoded.length, 1, data, null);
+            } else {
+                writeBytes(PickleUtils.BINUNICODE, encoded.length, 4, data, null);
+            }
+        } else {
+            write(PickleUtils.UNICODE);
+            writeRawUnicodeEscape(s);
+            write((byte) '\n');
+        }
+        memoPut(obj);
+    }
+
+    /**
+     * UTF-8 with the {@code surrogatepass} error handler, lone surrogates are encoded like any
+     * other code point.
+     */
+    private static byte[] encodeUtf8(String s) {
+        boolean hasSurrogates = false;
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isSurrogate(s.charAt(i))) {
+                hasSurrogates = true;
+                break;
+            }
+        }
+        if (!hasSurrogates) {
+            return s.getBytes(StandardCharsets.UTF_8);
+        }
+        ByteSequenceStorage out = new ByteSequenceStorage(s.length() * 3);
+        byte[] array = (byte[]) out.getInternalArrayObject();
+        int pos = 0;
+        for (int i = 0; i < s.length();) {
+            int cp = s.codePointAt(i);
+            i += Character.charCount(cp);
+            if (cp < 0x80) {
+                array[pos++] = (byte) cp;
+            } else if (cp < 0x800) {
+                array[pos++] = (byte) (0xc0 | (cp >> 6));
+                array[pos++] = (byte) (0x80 | (cp & 0x3f));
+            } else if (cp < 0x10000) {
+                array[pos++] = (byte) (0xe0 | (cp >> 12));
+                array[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                array[pos++] = (byte) (0x80 | (cp & 0x3f));
+            } else {
+                array[pos++] = (byte) (0xf0 | (cp >> 18));
+                array[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                array[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                array[pos++] = (byte) (0x80 | (cp & 0x3f));
+            }
+        }
+        out.setNewLength(pos);
+        return out.getInternalByteArray();
+    }
+
+    /**
+     * The {@code raw-unicode-escape} encoding that additionally escapes the characters the text
+     * protocol uses as delimiters.
+     */
+    private void writeRawUnicodeEscape(String s) {
+        for (int i = 0; i < s.length();) {
+            int cp = s.codePointAt(i);
+            i += Character.charCount(cp);
+            if (cp >= 0x10000) {
+                write((byte) '\\');
+                write((byte) 'U');
+                writeHex(cp, 8);
+            } else if (cp >= 256 || cp == '\\' || cp == 0 || cp == '\n' || cp == '\r' || cp == 0x1a) {
+                write((byte) '\\');
+                write((byte) 'u');
+                writeHex(cp, 4);
+            } else {
+                write((byte) cp);
+            }
+        }
+    }
+
+    private void writeHex(int value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            write((byte) HEX_DIGITS[(value >> (4 * i)) & 0xf]);
+        }
+    }
+
+    // containers
+
+    private void saveTuple(PTuple obj) {
+        SequenceStorage storage = obj.getSequenceStorage();
+        int len = storage.length();
+        if (len == 0) {
+            if (proto > 0) {
+                write(PickleUtils.EMPTY_TUPLE);
+            } else {
+                write(PickleUtils.MARK);
+                write(PickleUtils.TUPLE);
+            }
+            return;
+        }
+        boolean short3 = len <= 3 && proto >= 2;
+        if (!short3) {
+            write(PickleUtils.MARK);
+        }
+        for (int i = 0; i < len; i++) {
+            save(storage.getItemNormalized(i), false);
+        }
+        if (!fast && memo.containsKey(obj)) {
+            // the tuple is recursive, throw away its items and fetch it from the memo
+            if (short3) {
+                for (int i = 0; i < len; i++) {
+                    write(PickleUtils.POP);
+                }
+            } else if (bin) {
+                write(PickleUtils.POP_MARK);
+            } else {
+                for (int i = 0; i <= len; i++) {
+                    write(PickleUtils.POP);
+                }
+            }
+            memoGet(obj);
+            return;
+        }
+        if (short3) {
+            write(len == 1 ? PickleUtils.TUPLE1 : len == 2 ? PickleUtils.TUPLE2 : PickleUtils.TUPLE3);
+        } else {
+            write(PickleUtils.TUPLE);
+        }
+        memoPut(obj);
+    }
+
+    private void saveList(PList obj) {
+        if (bin) {
+            write(PickleUtils.EMPTY_LIST);
+        } else {
+            write(PickleUtils.MARK);
+            write(PickleUtils.LIST);
+        }
+        memoPut(obj);
+        if (obj.getSequenceStorage().length() == 0) {
+            return;
+        }
+        if (proto > 0) {
+            batchListExact(obj);
+        } else {
+            batchList(lib.getIterator(obj));
+        }
+    }
+
+    private void batchListExact(PList obj) {
+        // the list may change while its items are saved, so always re-read its storage
+        if (obj.getSequenceStorage().length() == 1) {
+            save(obj.getSequenceStorage().getItemNormalized(0), false);
+            write(PickleUtils.APPEND);
+            return;
+        }
+        int total = 0;
+        do {
+            int thisBatch = 0;
+            write(PickleUtils.MARK);
+            while (total < obj.getSequenceStorage().length()) {
+                save(obj.getSequenceStorage().getItemNormalized(total), false);
+                total++;
+                if (++thisBatch == PickleUtils.BATCHSIZE) {
+                    break;
+                }
+            }
+            write(PickleUtils.APPENDS);
+        } while (total < obj.getSequenceStorage().length());
+    }
+
+    /**
+     * Returns the next item of a Python iterator or {@code null} when it is exhausted.
+     */
+    private Object next(Object iterator) {
+        try {
+            return GetNextNode.getUncached().execute(null, iterator);
+        } catch (PException e) {
+            e.expectStopIteration(classProfile);
+            return null;
+        }
+    }
+
+    private void batchList(Object iterator) {
+        if (proto == 0) {
+            Object item;
+            while ((item = next(iterator)) != null) {
+                save(item, false);
+                write(PickleUtils.APPEND);
+            }
+            return;
+        }
+        int n;
+        do {
+            Object first = next(iterator);
+            if (first == null) {
+                break;
+            }
+            Object item = next(iterator);
+            if (item == null) {
+                save(first, false);
+                write(PickleUtils.APPEND);
+                break;
+            }
+            write(PickleUtils.MARK);
+            save(first, false);
+            n = 1;
+            while (item != null) {
+                save(item, false);
+                n++;
+                if (n == PickleUtils.BATCHSIZE) {
+                    break;
+                }
+                item = next(iterator);
+            }
+            write(PickleUtils.APPENDS);
+        } while (n == PickleUtils.BATCHSIZE);
+    }
+
+    private void saveDict(PDict obj) {
+        if (bin) {
+            write(PickleUtils.EMPTY_DICT);
+        } else {
+            write(PickleUtils.MARK);
+            write(PickleUtils.DICT);
+        }
+        memoPut(obj);
+        if (hlib.length(obj.getDictStorage()) == 0) {
+            return;
+        }
+        if (proto > 0) {
+            batchDictExact(obj);
+        } else {
+            batchDict(lib.getIterator(lib.lookupAndCallRegularMethod(obj, null, "items")));
+        }
+    }
+
+    private void batchDictExact(PDict obj) {
+        HashingStorage storage = obj.getDictStorage();
+        int dictSize = hlib.length(storage);
+        Iterator<DictEntry> entries = hlib.entries(storage).iterator();
+        if (dictSize == 1) {
+            DictEntry entry = entries.next();
+            save(entry.key, false);
+            save(entry.value, false);
+            write(PickleUtils.SETITEM);
+            return;
+        }
+        int i;
+        do {
+            i = 0;
+            write(PickleUtils.MARK);
+            while (entries.hasNext()) {
+                DictEntry entry = entries.next();
+                save(entry.key, false);
+                save(entry.value, false);
+                if (++i == PickleUtils.BATCHSIZE) {
+                    break;
+                }
+            }
+            write(PickleUtils.SETITEMS);
+            if (obj.getDictStorage() != storage || hlib.length(storage) != dictSize) {
+                throw node.raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "dictionary");
+            }
+        } while (i == PickleUtils.BATCHSIZE);
+    }
+
+    private Object[] nextDictItem(Object iterator) {
+        Object item = next(iterator);
+        if (item == null) {
+            return null;
+        }
+        if (!(item instanceof PTuple) || ((PTuple) item).getSequenceStorage().length() != 2) {
+            throw node.raise(TypeError, ErrorMessages.DICT_ITEMS_ITERATOR_MUST_RETURN_2_TUPLES);
+        }
+        SequenceStorage storage = ((PTuple) item).getSequenceStorage();
+        return new Object[]{storage.getItemNormalized(0), storage.getItemNormalized(1)};
+    }
+
+    private void batchDict(Object iterator) {
+        if (proto == 0) {
+            Object[] item;
+            while ((item = nextDictItem(iterator)) != null) {
+                save(item[0], false);
+                save(item[1], false);
+                write(PickleUtils.SETITEM);
+            }
+            return;
+        }
+        int n;
+        do {
+            Object[] first = nextDictItem(iterator);
+            if (first == null) {
+                break;
+            }
+            Object[] item = nextDictItem(iterator);
+            if (item == null) {
+                save(first[0], false);
+                save(first[1], false);
+                write(PickleUtils.SETITEM);
+                break;
+            }
+            write(PickleUtils.MARK);
+            save(first[0], false);
+            save(first[1], false);
+            n = 1;
+            while (item != null) {
+                save(item[0], false);
+                save(item[1], false);
+                n++;
+                if (n == PickleUtils.BATCHSIZE) {
+                    break;
+                }
+                item = nextDictItem(iterator);
+            }
+            write(PickleUtils.SETITEMS);
+        } while (n == PickleUtils.BATCHSIZE);
+    }
+
+    private Object[] getSetItems(PHashingCollection obj) {
+        HashingStorage storage = obj.getDictStorage();
+        Object[] items = new Object[hlib.length(storage)];
+        int i = 0;
+        for (Object key : hlib.keys(storage)) {
+            items[i++] = key;
+        }
+        return items;
+    }
+
+    private void saveSet(PHashingCollection obj) {
+        if (proto < 4) {
+            PTuple args = factory.createTuple(new Object[]{factory.createList(getSetItems(obj))});
+            saveReduce(factory.createTuple(new Object[]{core.lookupType(PythonBuiltinClassType.PSet), args}), obj);
+            return;
+        }
+        write(PickleUtils.EMPTY_SET);
+        memoPut(obj);
+        HashingStorage storage = obj.getDictStorage();
+        int setSize = hlib.length(storage);
+        if (setSize == 0) {
+            return;
+        }
+        Iterator<Object> keys = hlib.keys(storage).iterator();
+        int i;
+        do {
+            i = 0;
+            write(PickleUtils.MARK);
+            while (keys.hasNext()) {
+                save(keys.next(), false);
+                if (++i == PickleUtils.BATCHSIZE) {
+                    break;
+                }
+            }
+            write(PickleUtils.ADDITEMS);
+            if (obj.getDictStorage() != storage || hlib.length(storage) != setSize) {
+                throw node.raise(RuntimeError, ErrorMessages.CHANGED_SIZE_DURING_ITERATION, "set");
+            }
+        } while (i == PickleUtils.BATCHSIZE);
+    }
+
+    private void saveFrozenSet(PHashingCollection obj) {
+        if (proto < 4) {
+            PTuple args = factory.createTuple(new Object[]{factory.createList(getSetItems(obj))});
+            saveReduce(factory.createTuple(new Object[]{core.lookupType(PythonBuiltinClassType.PFrozenSet), args}), obj);
+            return;
+        }
+        write(PickleUtils.MARK);
+        for (Object item : getSetItems(obj)) {
+            save(item, false);
+        }
+        if (!fast && memo.containsKey(obj)) {
+            // the frozenset is recursive, throw away its items and fetch it from the memo
+            write(PickleUtils.POP_MARK);
+            memoGet(obj);
+            return;
+        }
+        write(PickleUtils.FROZENSET);
+        memoPut(obj);
+    }
+
+    // globals and reductions
+
+    private void saveType(Object obj) {
+        Object singleton = null;
+        if (isExact(obj, PythonBuiltinClassType.PNone)) {
+            singleton = PNone.NONE;
+        } else if (isExact(obj, PythonBuiltinClassType.PNotImplemented)) {
+            singleton = PNotImplemented.NOT_IMPLEMENTED;
+        } else if (isExact(obj, PythonBuiltinClassType.PEllipsis)) {
+            singleton = PEllipsis.INSTANCE;
+        }
+        if (singleton != null) {
+            PTuple args = factory.createTuple(new Object[]{singleton});
+            saveReduce(factory.createTuple(new Object[]{core.lookupType(PythonBuiltinClassType.PythonClass), args}), obj);
+        } else {
+            saveGlobal(obj, null);
+        }
+    }
+
+    private String whichModule(Object obj, String[] path) {
+        Object moduleName = lib.lookupAttribute(obj, null, __MODULE__);
+        if (moduleName != PNone.NO_VALUE && moduleName != PNone.NONE) {
+            return PickleUtils.castToString(node, moduleName);
+        }
+        // fall back to searching sys.modules, looking at a snapshot since imports may change it
+        HashingStorage modules = core.getContext().getSysModules().getDictStorage();
+        int size = hlib.length(modules);
+        Object[] names = new Object[size];
+        Object[] values = new Object[size];
+        int n = 0;
+        for (DictEntry entry : hlib.entries(modules)) {
+            if (n == size) {
+                break;
+            }
+            names[n] = entry.key;
+            values[n++] = entry.value;
+        }
+        for (int i = 0; i < n; i++) {
+            if ("__main__".equals(names[i]) || values[i] == PNone.NONE) {
+                continue;
+            }
+            Object candidate;
+            try {
+                candidate = PickleUtils.getDeepAttribute(values[i], path, null);
+            } catch (PException e) {
+                e.expectAttributeError(classProfile);
+                continue;
+            }
+            if (lib.isSame(candidate, obj)) {
+                return PickleUtils.castToString(node, names[i]);
+            }
+        }
+        return "__main__";
+    }
+
+    private void saveGlobal(Object obj, Object name) {
+        Object globalNameObj = name;
+        if (globalNameObj == null) {
+            globalNameObj = lib.lookupAttribute(obj, null, __QUALNAME__);
+            if (globalNameObj == PNone.NO_VALUE) {
+                globalNameObj = lib.lookupAttributeStrict(obj, null, __NAME__);
+            }
+        }
+        String globalName = PickleUtils.castToString(node, globalNameObj);
+        String[] path = PickleUtils.getDottedPath(node, null, globalName);
+        String moduleName = whichModule(obj, path);
+        Object module;
+        try {
+            module = PickleUtils.importModule(moduleName);
+        } catch (PException e) {
+            throw node.raise(PicklingError, ErrorMessages.CANT_PICKLE_S_IMPORT_OF_MODULE_S_FAILED, PickleUtils.repr(obj), PickleUtils.repr(moduleName));
+        }
+        Object[] parent = new Object[1];
+        Object cls;
+        try {
+            cls = PickleUtils.getDeepAttribute(module, path, parent);
+        } catch (PException e) {
+            throw node.raise(PicklingError, ErrorMessages.CANT_PICKLE_S_ATTRIBUTE_LOOKUP_S_ON_S_FAILED, PickleUtils.repr(obj), globalName, moduleName);
+        }
+        if (!lib.isSame(normalizeClass(cls), obj)) {
+            throw node.raise(PicklingError, ErrorMessages.CANT_PICKLE_S_NOT_SAME_OBJECT_AS_S_S, PickleUtils.repr(obj), moduleName, globalName);
+        }
+        String lastName = path[path.length - 1];
+        if (proto >= 2) {
+            Object registry = PickleUtils.getModuleAttribute("copyreg", "_extension_registry");
+            Object code = PickleUtils.getItem(registry, factory.createTuple(new Object[]{moduleName, globalName}));
+            if (code != null) {
+                saveExtension(obj, code);
+                return;
+            }
+        }
+        if (parent[0] == module) {
+            globalName = lastName;
+        }
+        if (proto >= 4) {
+            save(moduleName, false);
+            save(globalName, false);
+            write(PickleUtils.STACK_GLOBAL);
+        } else if (parent[0] != module) {
+            Object getattr = PickleUtils.getModuleAttribute("builtins", "getattr");
+            PTuple args = factory.createTuple(new Object[]{parent[0], lastName});
+            saveReduce(factory.createTuple(new Object[]{getattr, args}), null);
+        } else {
+            if (proto < 3 && fixImports) {
+                String[] fixed = PickleUtils.mapCompatName(node, "REVERSE_NAME_MAPPING", "REVERSE_IMPORT_MAPPING", moduleName, globalName);
+                moduleName = fixed[0];
+                globalName = fixed[1];
+            }
+            write(PickleUtils.GLOBAL);
+            writeIdentifier(moduleName, ErrorMessages.CANT_PICKLE_MODULE_IDENTIFIER_S_USING_PROTOCOL_D);
+            writeIdentifier(globalName, ErrorMessages.CANT_PICKLE_GLOBAL_IDENTIFIER_S_USING_PROTOCOL_D);
+        }
+        memoPut(obj);
+    }
+
+    private void writeIdentifier(String identifier, String errorMessage) {
+        if (proto == 3) {
+            write(encodeUtf8(identifier));
+        } else if (isAscii(identifier)) {
+            writeAscii(identifier);
+        } else {
+            throw node.raise(PicklingError, errorMessage, identifier, proto);
+        }
+        write((byte) '\n');
+    }
+
+    private void saveExtension(Object obj, Object codeObj) {
+        if (!(codeObj instanceof Integer || codeObj instanceof Long || codeObj instanceof PInt)) {
+            throw node.raise(PicklingError, ErrorMessages.CANT_PICKLE_S_EXTENSION_CODE_S_ISNT_AN_INTEGER, PickleUtils.repr(obj), PickleUtils.repr(codeObj));
+        }
+        long code = codeObj instanceof PInt ? ((PInt) codeObj).longValue() : ((Number) codeObj).longValue();
+        if (code <= 0 || code > 0x7fffffffL || (codeObj instanceof PInt && ((PInt) codeObj).bitLength() > 32)) {
+            throw node.raise(PicklingError, ErrorMessages.CANT_PICKLE_S_EXTENSION_CODE_D_OUT_OF_RANGE, PickleUtils.repr(obj), code);
+        }
+        if (code <= 0xff) {
+            writeSized(PickleUtils.EXT1, code, 1);
+        } else if (code <= 0xffff) {
+            writeSized(PickleUtils.EXT2, code, 2);
+        } else {
+            writeSized(PickleUtils.EXT4, code, 4);
+        }
+    }
+
+    private boolean isIterator(Object obj) {
+        return lib.lookupAttributeOnType(obj, __NEXT__) != PNone.NO_VALUE;
+    }
+
+    private void saveReduce(PTuple reduceValue, Object obj) {
+        SequenceStorage storage = reduceValue.getSequenceStorage();
+        int size = storage.length();
+        if (size < 2 || size > 6) {
+            throw node.raise(PicklingError, ErrorMessages.REDUCE_TUPLE_MUST_CONTAIN_2_THROUGH_6_ELEMENTS);
+        }
+        Object callable = storage.getItemNormalized(0);
+        Object argtup = storage.getItemNormalized(1);
+        Object state = size > 2 ? storage.getItemNormalized(2) : PNone.NONE;
+        Object listitems = size > 3 ? storage.getItemNormalized(3) : PNone.NONE;
+        Object dictitems = size > 4 ? storage.getItemNormalized(4) : PNone.NONE;
+        Object stateSetter = size > 5 ? storage.getItemNormalized(5) : PNone.NONE;
+        if (!lib.isCallable(callable)) {
+            throw node.raise(PicklingError, ErrorMessages.REDUCE_FIRST_ITEM_MUST_BE_CALLABLE);
+        }
+        if (!(argtup instanceof PTuple)) {
+            throw node.raise(PicklingError, ErrorMessages.REDUCE_SECOND_ITEM_MUST_BE_TUPLE);
+        }
+        if (listitems != PNone.NONE && !isIterator(listitems)) {
+            throw node.raise(PicklingError, ErrorMessages.REDUCE_FOURTH_ELEMENT_MUST_BE_ITERATOR_NOT_P, listitems);
+        }
+        if (dictitems != PNone.NONE && !isIterator(dictitems)) {
+            throw node.raise(PicklingError, ErrorMessages.REDUCE_FIFTH_ELEMENT_MUST_BE_ITERATOR_NOT_P, dictitems);
+        }
+        if (stateSetter != PNone.NONE && !lib.isCallable(stateSetter)) {
+            throw node.raise(PicklingError, ErrorMessages.REDUCE_SIXTH_ELEMENT_MUST_BE_FUNCTION_NOT_P, stateSetter);
+        }
+        SequenceStorage args = ((PTuple) argtup).getSequenceStorage();
+
+        boolean useNewobj = false;
+        boolean useNewobjEx = false;
+        if (proto >= 2) {
+            Object name = lib.lookupAttribute(callable, null, __NAME__);
+            if (PickleUtils.isString(name)) {
+                String nameStr = PickleUtils.castToString(node, name);
+                useNewobjEx = "__newobj_ex__".equals(nameStr);
+                useNewobj = "__newobj__".equals(nameStr);
+            }
+        }
+        if (useNewobjEx) {
+            if (args.length() != 3) {
+                throw node.raise(PicklingError, ErrorMessages.NEWOBJ_EX_ARGS_MUST_HAVE_LENGTH_3_NOT_D, args.length());
+            }
+            Object cls = args.getItemNormalized(0);
+            Object clsArgs = args.getItemNormalized(1);
+            Object clsKwargs = args.getItemNormalized(2);
+            if (!IsTypeNode.getUncached().execute(cls)) {
+                throw node.raise(PicklingError, ErrorMessages.NEWOBJ_EX_FIRST_ITEM_MUST_BE_CLASS_NOT_P, cls);
+            }
+            if (!(clsArgs instanceof PTuple)) {
+                throw node.raise(PicklingError, ErrorMessages.NEWOBJ_EX_SECOND_ITEM_MUST_BE_TUPLE_NOT_P, clsArgs);
+            }
+            if (!(clsKwargs instanceof PDict)) {
+                throw node.raise(PicklingError, ErrorMessages.NEWOBJ_EX_THIRD_ITEM_MUST_BE_DICT_NOT_P, clsKwargs);
+            }
+            if (proto >= 4) {
+                save(cls, false);
+                save(clsArgs, false);
+                save(clsKwargs, false);
+                write(PickleUtils.NEWOBJ_EX);
+            } else {
+                // emulate it with functools.partial(cls.__new__, cls, *args, **kwargs)()
+                SequenceStorage clsArgsStorage = ((PTuple) clsArgs).getSequenceStorage();
+                Object[] newargs = new Object[clsArgsStorage.length() + 2];
+                newargs[0] = lib.lookupAttributeStrict(cls, null, __NEW__);
+                newargs[1] = cls;
+                for (int i = 0; i < clsArgsStorage.length(); i++) {
+                    newargs[i + 2] = clsArgsStorage.getItemNormalized(i);
+                }
+                PKeyword[] keywords = ExpandKeywordStarargsNodeGen.getUncached().execute(clsKwargs);
+                Object partial = callNode.execute(PickleUtils.getModuleAttribute("functools", "partial"), newargs, keywords);
+                save(partial, false);
+                save(factory.createTuple(new Object[0]), false);
+                write(PickleUtils.REDUCE);
+            }
+        } else if (useNewobj) {
+            if (args.length() < 1) {
+                throw node.raise(PicklingError, ErrorMessages.NEWOBJ_ARGLIST_IS_EMPTY);
+            }
+            Object cls = normalizeClass(args.getItemNormalized(0));
+            if (!IsTypeNode.getUncached().execute(cls)) {
+                throw node.raise(PicklingError, ErrorMessages.NEWOBJ_ARGS0_IS_NOT_A_TYPE);
+            }
+            if (obj != null) {
+                Object objClass = normalizeClass(lib.lookupAttributeStrict(obj, null, __CLASS__));
+                if (!lib.isSame(objClass, cls)) {
+                    throw node.raise(PicklingError, ErrorMessages.NEWOBJ_ARGS0_HAS_WRONG_CLASS);
+                }
+            }
+            save(cls, false);
+            Object[] newargs = new Object[args.length() - 1];
+            for (int i = 0; i < newargs.length; i++) {
+                newargs[i] = args.getItemNormalized(i + 1);
+            }
+            save(factory.createTuple(newargs), false);
+            write(PickleUtils.NEWOBJ);
+        } else {
+            save(callable, false);
+            save(argtup, false);
+            write(PickleUtils.REDUCE);
+        }
+
+        if (obj != null) {
+            if (!fast && memo.containsKey(obj)) {
+                // the object is recursive, throw away what we pushed and fetch it from the memo
+                write(PickleUtils.POP);
+                memoGet(obj);
+                return;
+            }
+            memoPut(obj);
+        }
+        if (listitems != PNone.NONE) {
+            batchList(listitems);
+        }
+        if (dictitems != PNone.NONE) {
+            batchDict(dictitems);
+        }
+        if (state != PNone.NONE) {
+            if (stateSetter == PNone.NONE) {
+                save(state, false);
+                write(PickleUtils.BUILD);
+            } else {
+                // call state_setter(obj, state) and discard its result
+                save(stateSetter, false);
+                save(obj, false);
+                save(state, false);
+                write(PickleUtils.TUPLE2);
+                write(PickleUtils.REDUCE);
+                write(PickleUtils.POP);
+            }
+        }
+    }
+}
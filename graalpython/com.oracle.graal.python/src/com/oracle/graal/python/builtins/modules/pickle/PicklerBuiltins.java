@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.object.ObjectNodesFactory.GetIdNodeGen;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.Pickler)
+public final class PicklerBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PicklerBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "file", "protocol", "fix_imports", "buffer_callback"})
+    @ArgumentClinic(name = "protocol", conversion = ClinicConversion.Int, defaultValue = "PickleUtils.DEFAULT_PROTOCOL", useDefaultForNone = true)
+    @ArgumentClinic(name = "fix_imports", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @GenerateNodeFactory
+    public abstract static class InitNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PicklerBuiltinsClinicProviders.InitNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        PNone init(VirtualFrame frame, PPickler self, Object file, int protocol, boolean fixImports, Object bufferCallback,
+                        @CachedLibrary("file") PythonObjectLibrary lib) {
+            int proto = PickleUtils.checkProtocol(this, protocol);
+            Object write = lib.lookupAttribute(file, frame, "write");
+            if (write == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.FILE_MUST_HAVE_WRITE_ATTR);
+            }
+            self.init(write, proto, fixImports, PickleModuleBuiltins.getBufferCallback(this, bufferCallback, proto));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "dump", minNumOfPositionalArgs = 2, parameterNames = {"$self", "obj"})
+    @GenerateNodeFactory
+    public abstract static class DumpNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        Object dump(VirtualFrame frame, PPickler self, Object obj,
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            if (self.getWrite() == null) {
+                throw raise(PythonBuiltinClassType.PicklingError, ErrorMessages.PICKLER_INIT_NOT_CALLED, self);
+            }
+            Object state = IndirectCallContext.enter(frame, context, this);
+            try {
+                dump(self, obj);
+            } finally {
+                IndirectCallContext.exit(frame, context, state);
+            }
+            return PNone.NONE;
+        }
+
+        @TruffleBoundary
+        private void dump(PPickler self, Object obj) {
+            PickleWriter writer = new PickleWriter(this, self.getProto(), self.isFixImports(), self.isFast(), self.getWrite(), self.getBufferCallback(), self.getMemo());
+            writer.setHooks(lookupHook(self, "persistent_id"), lookupHook(self, "reducer_override"), lookupHook(self, "dispatch_table"));
+            writer.dump(obj);
+        }
+
+        private static Object lookupHook(PPickler self, String name) {
+            Object hook = PythonObjectLibrary.getUncached().lookupAttribute(self, null, name);
+            return hook == PNone.NO_VALUE ? null : hook;
+        }
+    }
+
+    @Builtin(name = "clear_memo", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class ClearMemoNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object clear(PPickler self) {
+            self.setMemo(new IdentityHashMap<>());
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * The memo is exposed as a copy in the shape of CPython's memo proxy, a dict mapping
+     * {@code id(obj)} to {@code (index, obj)}, and can be replaced by such a dict.
+     */
+    @Builtin(name = "memo", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    public abstract static class MemoNode extends PythonBuiltinNode {
+
+        @Specialization(guards = "isNoValue(none)")
+        @TruffleBoundary
+        Object get(PPickler self, @SuppressWarnings("unused") PNone none) {
+            HashingStorageLibrary hlib = HashingStorageLibrary.getUncached();
+            PDict dict = factory().createDict();
+            for (Map.Entry<Object, Integer> entry : self.getMemo().entrySet()) {
+                Object id = GetIdNodeGen.getUncached().execute(entry.getKey());
+                PTuple value = factory().createTuple(new Object[]{entry.getValue(), entry.getKey()});
+                dict.setDictStorage(hlib.setItem(dict.getDictStorage(), id, value));
+            }
+            return dict;
+        }
+
+        @Specialization
+        @TruffleBoundary
+        Object set(PPickler self, PDict memo) {
+            HashingStorageLibrary hlib = HashingStorageLibrary.getUncached();
+            PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+            HashingStorage storage = memo.getDictStorage();
+            IdentityHashMap<Object, Integer> newMemo = new IdentityHashMap<>();
+            for (DictEntry entry : hlib.entries(storage)) {
+                if (!(entry.value instanceof PTuple) || ((PTuple) entry.value).getSequenceStorage().length() != 2) {
+                    throw raise(TypeError, ErrorMessages.MEMO_VALUES_MUST_BE_2_ITEM_TUPLES);
+                }
+                SequenceStorage item = ((PTuple) entry.value).getSequenceStorage();
+                long idx = lib.asJavaLong(item.getItemNormalized(0));
+                if (idx < 0 || idx > Integer.MAX_VALUE) {
+                    throw raise(TypeError, ErrorMessages.MEMO_ID_TOO_LARGE_FOR_S, "Pickler");
+                }
+                newMemo.put(item.getItemNormalized(1), (int) idx);
+            }
+            self.setMemo(newMemo);
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = {"!isNoValue(memo)", "!isDict(memo)"})
+        Object set(@SuppressWarnings("unused") PPickler self, Object memo) {
+            throw raise(TypeError, ErrorMessages.MEMO_MUST_BE_S_OR_DICT_NOT_P, "PicklerMemoProxy", memo);
+        }
+    }
+
+    @Builtin(name = "fast", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    public abstract static class FastNode extends PythonBuiltinNode {
+
+        @Specialization(guards = "isNoValue(none)")
+        static Object get(PPickler self, @SuppressWarnings("unused") PNone none) {
+            return self.isFast();
+        }
+
+        @Specialization(guards = "!isNoValue(value)", limit = "3")
+        static Object set(VirtualFrame frame, PPickler self, Object value,
+                        @CachedLibrary("value") PythonObjectLibrary lib) {
+            self.setFast(lib.isTrue(value, frame));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "bin", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    public abstract static class BinNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static Object get(PPickler self) {
+            return self.getProto() > 0 ? 1 : 0;
+        }
+    }
+}
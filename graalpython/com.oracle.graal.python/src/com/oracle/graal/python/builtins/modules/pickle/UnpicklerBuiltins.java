@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.pickle;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage.DictEntry;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
+import com.oracle.graal.python.builtins.objects.method.PBuiltinMethod;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.ExecutionContext.IndirectCallContext;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.Unpickler)
+public final class UnpicklerBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return UnpicklerBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "file"}, keywordOnlyNames = {"fix_imports", "encoding", "errors", "buffers"})
+    @ArgumentClinic(name = "fix_imports", conversion = ClinicConversion.Boolean, defaultValue = "true")
+    @ArgumentClinic(name = "encoding", conversion = ClinicConversion.String, defaultValue = "\"ASCII\"")
+    @ArgumentClinic(name = "errors", conversion = ClinicConversion.String, defaultValue = "\"strict\"")
+    @GenerateNodeFactory
+    public abstract static class InitNode extends PythonClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnpicklerBuiltinsClinicProviders.InitNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(limit = "3")
+        PNone init(VirtualFrame frame, PUnpickler self, Object file, boolean fixImports, String encoding, String errors, Object buffers,
+                        @CachedLibrary("file") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary buffersLib) {
+            Object read = lib.lookupAttribute(file, frame, "read");
+            Object readline = lib.lookupAttribute(file, frame, "readline");
+            if (read == PNone.NO_VALUE || readline == PNone.NO_VALUE) {
+                throw raise(TypeError, ErrorMessages.FILE_MUST_HAVE_READ_AND_READLINE_ATTRS);
+            }
+            Object readinto = lib.lookupAttribute(file, frame, "readinto");
+            Object buffersIterator = PGuards.isPNone(buffers) ? null : buffersLib.getIteratorWithFrame(buffers, frame);
+            self.init(read, readline, readinto == PNone.NO_VALUE ? null : readinto, fixImports, encoding, errors, buffersIterator);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "load", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class LoadNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        Object load(VirtualFrame frame, PUnpickler self,
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            if (self.getRead() == null) {
+                throw raise(PythonBuiltinClassType.UnpicklingError, ErrorMessages.UNPICKLER_INIT_NOT_CALLED, self);
+            }
+            Object state = IndirectCallContext.enter(frame, context, this);
+            try {
+                return load(self);
+            } finally {
+                IndirectCallContext.exit(frame, context, state);
+            }
+        }
+
+        @TruffleBoundary
+        private Object load(PUnpickler self) {
+            PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+            Object findClass = lib.lookupAttribute(self, null, "find_class");
+            if (isDefaultFindClass(findClass)) {
+                // resolve globals in Java unless a subclass overrides find_class
+                findClass = null;
+            }
+            Object persistentLoad = lib.lookupAttribute(self, null, "persistent_load");
+            return PickleReader.forUnpickler(this, self, findClass, persistentLoad == PNone.NO_VALUE ? null : persistentLoad).load();
+        }
+
+        private static boolean isDefaultFindClass(Object findClass) {
+            PBuiltinFunction function;
+            if (findClass instanceof PBuiltinMethod) {
+                function = ((PBuiltinMethod) findClass).getFunction();
+            } else if (findClass instanceof PBuiltinFunction) {
+                function = (PBuiltinFunction) findClass;
+            } else {
+                return false;
+            }
+            return function.getBuiltinNodeFactory() == UnpicklerBuiltinsFactory.FindClassNodeFactory.getInstance();
+        }
+    }
+
+    @Builtin(name = "find_class", minNumOfPositionalArgs = 3, parameterNames = {"$self", "module_name", "global_name"})
+    @ArgumentClinic(name = "module_name", conversion = ClinicConversion.String)
+    @ArgumentClinic(name = "global_name", conversion = ClinicConversion.String)
+    @GenerateNodeFactory
+    public abstract static class FindClassNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return UnpicklerBuiltinsClinicProviders.FindClassNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        Object findClass(VirtualFrame frame, PUnpickler self, String moduleName, String globalName,
+                        @CachedContext(PythonLanguage.class) PythonContext context) {
+            Object state = IndirectCallContext.enter(frame, context, this);
+            try {
+                return PickleReader.findClass(this, self.getProto(), self.isFixImports(), moduleName, globalName);
+            } finally {
+                IndirectCallContext.exit(frame, context, state);
+            }
+        }
+    }
+
+    /**
+     * The memo is exposed as a copy in the shape of CPython's memo proxy, a dict mapping the memo
+     * index to the object, and can be replaced by such a dict.
+     */
+    @Builtin(name = "memo", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    public abstract static class MemoNode extends PythonBuiltinNode {
+
+        @Specialization(guards = "isNoValue(none)")
+        @TruffleBoundary
+        Object get(PUnpickler self, @SuppressWarnings("unused") PNone none) {
+            HashingStorageLibrary hlib = HashingStorageLibrary.getUncached();
+            PDict dict = factory().createDict();
+            Object[] memo = self.getMemo();
+            for (int i = 0; i < memo.length; i++) {
+                if (memo[i] != null) {
+                    dict.setDictStorage(hlib.setItem(dict.getDictStorage(), i, memo[i]));
+                }
+            }
+            return dict;
+        }
+
+        @Specialization
+        @TruffleBoundary
+        Object set(PUnpickler self, PDict memo) {
+            HashingStorageLibrary hlib = HashingStorageLibrary.getUncached();
+            PythonObjectLibrary lib = PythonObjectLibrary.getUncached();
+            Object[] newMemo = new Object[0];
+            for (DictEntry entry : hlib.entries(memo.getDictStorage())) {
+                if (!PGuards.canBeInteger(entry.key)) {
+                    throw raise(TypeError, ErrorMessages.MEMO_KEY_MUST_BE_INTEGERS);
+                }
+                long idx = lib.asJavaLong(entry.key);
+                if (idx < 0) {
+                    throw raise(ValueError, ErrorMessages.MEMO_KEY_MUST_BE_POSITIVE_INTEGERS);
+                } else if (idx >= Integer.MAX_VALUE - 8) {
+                    throw raise(PythonBuiltinClassType.MemoryError);
+                }
+                if (idx >= newMemo.length) {
+                    newMemo = Arrays.copyOf(newMemo, (int) idx + 1);
+                }
+                newMemo[(int) idx] = entry.value;
+            }
+            self.setMemo(newMemo);
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = {"!isNoValue(memo)", "!isDict(memo)"})
+        Object set(@SuppressWarnings("unused") PUnpickler self, Object memo) {
+            throw raise(TypeError, ErrorMessages.MEMO_MUST_BE_S_OR_DICT_NOT_P, "UnpicklerMemoProxy", memo);
+        }
+    }
+}
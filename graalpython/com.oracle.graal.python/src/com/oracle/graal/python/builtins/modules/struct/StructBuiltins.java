@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SIZEOF__;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PStruct)
+public final class StructBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return StructBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "format"})
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonBinaryBuiltinNode {
+
+        @Specialization(guards = "format == cachedFormat", limit = "3")
+        static PNone doCached(PStruct self, @SuppressWarnings("unused") String format,
+                        @Cached("format") @SuppressWarnings("unused") String cachedFormat,
+                        @Cached("parse(format)") StructFormat cachedResult) {
+            self.setFormat(cachedResult);
+            return PNone.NONE;
+        }
+
+        @Specialization(replaces = "doCached")
+        PNone doGeneric(PStruct self, Object format,
+                        @Cached StructNodes.FormatAsStringNode formatAsStringNode) {
+            self.setFormat(parse(formatAsStringNode.execute(format)));
+            return PNone.NONE;
+        }
+
+        StructFormat parse(String format) {
+            return StructFormat.parse(this, format);
+        }
+    }
+
+    @Builtin(name = "format", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class FormatNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static String get(PStruct self) {
+            return self.getFormat().getFormat();
+        }
+    }
+
+    @Builtin(name = "size", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class SizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int get(PStruct self) {
+            return self.getFormat().getSize();
+        }
+    }
+
+    @Builtin(name = __SIZEOF__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class SizeOfNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static long sizeof(PStruct self) {
+            return self.getFormat().getSizeof();
+        }
+    }
+
+    @Builtin(name = "pack", minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    abstract static class PackNode extends PythonBuiltinNode {
+
+        @Specialization
+        PBytes pack(VirtualFrame frame, PStruct self, Object[] args,
+                        @Cached StructNodes.PackNode packNode) {
+            return StructModuleBuiltins.pack(frame, this, self.getFormat(), args, 0, packNode, factory());
+        }
+    }
+
+    @Builtin(name = "pack_into", minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    abstract static class PackIntoNode extends PythonBuiltinNode {
+
+        @Specialization
+        PNone packInto(VirtualFrame frame, PStruct self, Object[] args,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached StructNodes.PackIntoNode packIntoNode) {
+            StructModuleBuiltins.packInto(frame, this, self.getFormat(), args, 0, asSizeNode, packIntoNode);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unpack", minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer"})
+    @GenerateNodeFactory
+    abstract static class UnpackNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static PTuple unpack(PStruct self, Object buffer,
+                        @Cached StructNodes.UnpackBufferNode unpackNode) {
+            return unpackNode.execute(self.getFormat(), buffer, 0, false);
+        }
+    }
+
+    @Builtin(name = "unpack_from", minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer", "offset"})
+    @ArgumentClinic(name = "offset", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class UnpackFromNode extends PythonTernaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructBuiltinsClinicProviders.UnpackFromNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static PTuple unpackFrom(PStruct self, Object buffer, int offset,
+                        @Cached StructNodes.UnpackBufferNode unpackNode) {
+            return unpackNode.execute(self.getFormat(), buffer, offset, true);
+        }
+    }
+
+    @Builtin(name = "iter_unpack", minNumOfPositionalArgs = 2, parameterNames = {"$self", "buffer"})
+    @GenerateNodeFactory
+    abstract static class IterUnpackNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static PStructUnpackIterator iterUnpack(PStruct self, Object buffer,
+                        @Cached StructNodes.IterUnpackNode iterUnpackNode) {
+            return iterUnpackNode.execute(self.getFormat(), buffer);
+        }
+    }
+}
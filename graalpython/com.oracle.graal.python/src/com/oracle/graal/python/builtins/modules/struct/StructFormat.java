@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StructError;
+
+import java.util.ArrayList;
+
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.memory.ByteArraySupport;
+
+/**
+ * A parsed struct format string. Like CPython's {@code prepare_s}, the format is compiled once into
+ * a list of {@link FormatCode}s with precomputed offsets, so packing and unpacking only walk that
+ * list. Instances are immutable and do not reference any context, so they can be shared freely.
+ */
+public final class StructFormat {
+
+    /**
+     * One run of values of the same code. For {@code 's'} and {@code 'p'} the repeat count is the
+     * size of the single string value, otherwise {@code size} is the size of one value.
+     */
+    static final class FormatCode {
+        final char code;
+        final int offset;
+        final int size;
+        final int repeat;
+
+        FormatCode(char code, int offset, int size, int repeat) {
+            this.code = code;
+            this.offset = offset;
+            this.size = size;
+            this.repeat = repeat;
+        }
+    }
+
+    static final StructFormat EMPTY = new StructFormat("", true, PythonUtils.arrayAccessor, 0, 0, new FormatCode[0]);
+
+    private final String format;
+    private final boolean nativeMode;
+    private final ByteArraySupport byteOrder;
+    private final int size;
+    private final int len;
+    @CompilationFinal(dimensions = 1) private final FormatCode[] codes;
+
+    private StructFormat(String format, boolean nativeMode, ByteArraySupport byteOrder, int size, int len, FormatCode[] codes) {
+        this.format = format;
+        this.nativeMode = nativeMode;
+        this.byteOrder = byteOrder;
+        this.size = size;
+        this.len = len;
+        this.codes = codes;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    /**
+     * Whether the format uses native sizes and alignment, i.e., it starts with {@code '@'} or has
+     * no byte order character.
+     */
+    boolean isNativeMode() {
+        return nativeMode;
+    }
+
+    ByteArraySupport getByteOrder() {
+        return byteOrder;
+    }
+
+    /**
+     * The number of bytes of a packed struct.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * The number of values of a struct.
+     */
+    public int getLen() {
+        return len;
+    }
+
+    FormatCode[] getCodes() {
+        return codes;
+    }
+
+    /**
+     * Parses a format string, raising {@code struct.error} for malformed formats. A NUL character
+     * ends the format like in CPython.
+     */
+    @TruffleBoundary
+    static StructFormat parse(PNodeWithRaise node, String format) {
+        int i = 0;
+        boolean nativeMode = false;
+        ByteArraySupport byteOrder;
+        char first = format.isEmpty() ? '\0' : format.charAt(0);
+        switch (first) {
+            case '<':
+                byteOrder = ByteArraySupport.littleEndian();
+                i++;
+                break;
+            case '>':
+            case '!':
+                byteOrder = ByteArraySupport.bigEndian();
+                i++;
+                break;
+            case '=':
+                byteOrder = PythonUtils.arrayAccessor;
+                i++;
+                break;
+            case '@':
+                i++;
+                // fall through
+            default:
+                byteOrder = PythonUtils.arrayAccessor;
+                nativeMode = true;
+                break;
+        }
+        ArrayList<FormatCode> codes = new ArrayList<>();
+        long size = 0;
+        long len = 0;
+        while (i < format.length()) {
+            char c = format.charAt(i++);
+            if (c == '\0') {
+                break;
+            }
+            if (isSpace(c)) {
+                continue;
+            }
+            long num = 1;
+            if (c >= '0' && c <= '9') {
+                num = c - '0';
+                while (true) {
+                    c = i < format.length() ? format.charAt(i++) : '\0';
+                    if (c < '0' || c > '9') {
+                        break;
+                    }
+                    if (num > (Integer.MAX_VALUE - (c - '0')) / 10) {
+                        throw node.raise(StructError, ErrorMessages.STRUCT_SIZE_TOO_LONG);
+                    }
+                    num = num * 10 + (c - '0');
+                }
+                if (c == '\0') {
+                    throw node.raise(StructError, ErrorMessages.STRUCT_REPEAT_COUNT_WITHOUT_FMT);
+                }
+            }
+            int itemSize = itemSize(c, nativeMode);
+            if (itemSize < 0) {
+                throw node.raise(StructError, ErrorMessages.STRUCT_BAD_CHAR_IN_FORMAT);
+            }
+            if (nativeMode && itemSize > 1 && size > 0) {
+                size += (itemSize - 1) - (size - 1) % itemSize;
+            }
+            if (num > (Integer.MAX_VALUE - size) / itemSize) {
+                throw node.raise(StructError, ErrorMessages.STRUCT_SIZE_TOO_LONG);
+            }
+            if (c == 's' || c == 'p') {
+                codes.add(new FormatCode(c, (int) size, (int) num, 1));
+                len++;
+            } else if (c != 'x' && num > 0) {
+                codes.add(new FormatCode(c, (int) size, itemSize, (int) num));
+                len += num;
+            }
+            size += num * itemSize;
+        }
+        return new StructFormat(format, nativeMode, byteOrder, (int) size, (int) len, codes.toArray(new FormatCode[codes.size()]));
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\u000b' || c == '\f';
+    }
+
+    /**
+     * Returns the size of a value of the given code, which is also its alignment in native mode, or
+     * {@code -1} for an unknown code. The sizes in native mode are those of a 64-bit platform.
+     */
+    private static int itemSize(char c, boolean nativeMode) {
+        switch (c) {
+            case 'x':
+            case 'c':
+            case 'b':
+            case 'B':
+            case '?':
+            case 's':
+            case 'p':
+                return 1;
+            case 'h':
+            case 'H':
+            case 'e':
+                return 2;
+            case 'i':
+            case 'I':
+            case 'f':
+                return 4;
+            case 'l':
+            case 'L':
+                return nativeMode ? 8 : 4;
+            case 'q':
+            case 'Q':
+            case 'd':
+                return 8;
+            case 'n':
+            case 'N':
+            case 'P':
+                return nativeMode ? 8 : -1;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * The value of {@code __sizeof__} of a {@code Struct}, computed like CPython's {@code s_sizeof}
+     * for a 64-bit platform.
+     */
+    long getSizeof() {
+        return 56 + 32L * (codes.length + 1);
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StructError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.SpecialAttributeNames;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.object.HiddenKey;
+
+@CoreFunctions(defineModule = StructModuleBuiltins.MODULE_NAME)
+public final class StructModuleBuiltins extends PythonBuiltins {
+
+    static final String MODULE_NAME = "_struct";
+
+    private static final HiddenKey CACHE = new HiddenKey("formatCache");
+
+    /**
+     * Same limit as CPython's {@code MAXCACHE}.
+     */
+    private static final int MAX_CACHE_SIZE = 100;
+
+    /**
+     * The per-context cache of parsed formats used by the module level functions. It evicts the
+     * least recently used format instead of clearing everything like CPython, so that a program
+     * alternating between many formats keeps its most frequent ones.
+     */
+    public static final class FormatCache {
+        private final LinkedHashMap<String, StructFormat> map = new LinkedHashMap<String, StructFormat>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StructFormat> eldest) {
+                return size() > MAX_CACHE_SIZE;
+            }
+        };
+
+        @TruffleBoundary
+        synchronized StructFormat get(String format) {
+            return map.get(format);
+        }
+
+        @TruffleBoundary
+        synchronized void put(String format, StructFormat value) {
+            map.put(format, value);
+        }
+
+        @TruffleBoundary
+        synchronized void clear() {
+            map.clear();
+        }
+    }
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return StructModuleBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        builtinConstants.put(SpecialAttributeNames.__DOC__, //
+                        "Functions to convert between Python values and C structs.\n" +
+                                        "Python bytes objects are used to hold the data representing the C struct\n" +
+                                        "and also as format strings (explained below) to describe the layout of data\n" +
+                                        "in the C struct.\n" +
+                                        "\n" +
+                                        "The optional first format char indicates byte order, size and alignment:\n" +
+                                        "  @: native order, size & alignment (default)\n" +
+                                        "  =: native order, std. size & alignment\n" +
+                                        "  <: little-endian, std. size & alignment\n" +
+                                        "  >: big-endian, std. size & alignment\n" +
+                                        "  !: same as >\n" +
+                                        "\n" +
+                                        "The remaining chars indicate types of args and must match exactly;\n" +
+                                        "these can be preceded by a decimal repeat count:\n" +
+                                        "  x: pad byte (no data); c:char; b:signed byte; B:unsigned byte;\n" +
+                                        "  ?: _Bool (requires C99; if not available, char is used instead)\n" +
+                                        "  h:short; H:unsigned short; i:int; I:unsigned int;\n" +
+                                        "  l:long; L:unsigned long; f:float; d:double; e:half-float.\n" +
+                                        "Special cases (preceding decimal count indicates length):\n" +
+                                        "  s:string (array of char); p: pascal string (with count byte).\n" +
+                                        "Special cases (only available in native format):\n" +
+                                        "  n:ssize_t; N:size_t;\n" +
+                                        "  P:an integer type that is wide enough to hold a pointer.\n" +
+                                        "Special case (not in native mode unless 'long long' in platform C):\n" +
+                                        "  q:long long; Q:unsigned long long\n" +
+                                        "Whitespace between formats is ignored.\n" +
+                                        "\n" +
+                                        "The variable struct.error is an exception raised on errors.\n");
+        builtinConstants.put("error", core.lookupType(StructError));
+        super.initialize(core);
+    }
+
+    @Override
+    public void postInitialize(PythonCore core) {
+        super.postInitialize(core);
+        core.lookupBuiltinModule(MODULE_NAME).setAttribute(CACHE, new FormatCache());
+    }
+
+    static FormatCache getCache(PythonModule module, ReadAttributeFromObjectNode readNode) {
+        return (FormatCache) readNode.execute(module, CACHE);
+    }
+
+    /**
+     * Packs {@code args[argsOffset:]} into a new bytes object, like CPython's {@code s_pack}.
+     */
+    static PBytes pack(VirtualFrame frame, PNodeWithRaise node, StructFormat format, Object[] args, int argsOffset, StructNodes.PackNode packNode, PythonObjectFactory factory) {
+        if (args.length - argsOffset != format.getLen()) {
+            throw node.raise(StructError, ErrorMessages.STRUCT_PACK_EXPECTED_D_ITEMS_GOT_D, format.getLen(), args.length - argsOffset);
+        }
+        byte[] data = new byte[format.getSize()];
+        packNode.execute(frame, format, args, argsOffset, data, 0);
+        return factory.createBytes(data);
+    }
+
+    /**
+     * Implements {@code pack_into} for the arguments {@code (buffer, offset, *values)} starting at
+     * {@code args[argsOffset]}, like CPython's {@code s_pack_into}.
+     */
+    static void packInto(VirtualFrame frame, PNodeWithRaise node, StructFormat format, Object[] args, int argsOffset, PyNumberAsSizeNode asSizeNode, StructNodes.PackIntoNode packIntoNode) {
+        int nargs = args.length - argsOffset;
+        if (nargs != format.getLen() + 2) {
+            if (nargs == 0) {
+                throw node.raise(TypeError, ErrorMessages.STRUCT_PACK_INTO_EXPECTED_BUFFER_ARG);
+            } else if (nargs == 1) {
+                throw node.raise(TypeError, ErrorMessages.STRUCT_PACK_INTO_EXPECTED_OFFSET_ARG);
+            }
+            throw node.raise(StructError, ErrorMessages.STRUCT_PACK_INTO_EXPECTED_D_ITEMS_GOT_D, format.getLen(), nargs - 2);
+        }
+        int offset = asSizeNode.executeExact(frame, args[argsOffset + 1], PythonBuiltinClassType.IndexError);
+        packIntoNode.execute(frame, format, args[argsOffset], offset, args, argsOffset + 2);
+    }
+
+    @Builtin(name = "Struct", minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true, constructsClass = PythonBuiltinClassType.PStruct)
+    @GenerateNodeFactory
+    abstract static class StructNode extends PythonBuiltinNode {
+
+        @Specialization
+        PStruct doNew(Object cls, @SuppressWarnings("unused") Object[] args, @SuppressWarnings("unused") PKeyword[] kwargs) {
+            // the format is set by the subsequent __init__ call - see StructBuiltins.InitNode
+            return factory().createStruct(cls);
+        }
+    }
+
+    @Builtin(name = "calcsize", minNumOfPositionalArgs = 2, parameterNames = {"$mod", "format"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class CalcSizeNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static int calcsize(PythonModule self, Object format,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode) {
+            return getFormatNode.execute(self, format).getSize();
+        }
+    }
+
+    @Builtin(name = "pack", minNumOfPositionalArgs = 2, parameterNames = {"$mod", "format"}, takesVarArgs = true, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class PackNode extends PythonBuiltinNode {
+
+        @Specialization
+        PBytes pack(VirtualFrame frame, PythonModule self, Object format, Object[] args,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode,
+                        @Cached StructNodes.PackNode packNode) {
+            return StructModuleBuiltins.pack(frame, this, getFormatNode.execute(self, format), args, 0, packNode, factory());
+        }
+    }
+
+    @Builtin(name = "pack_into", minNumOfPositionalArgs = 2, parameterNames = {"$mod", "format"}, takesVarArgs = true, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class PackIntoNode extends PythonBuiltinNode {
+
+        @Specialization
+        PNone packInto(VirtualFrame frame, PythonModule self, Object format, Object[] args,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached StructNodes.PackIntoNode packIntoNode) {
+            StructModuleBuiltins.packInto(frame, this, getFormatNode.execute(self, format), args, 0, asSizeNode, packIntoNode);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "unpack", minNumOfPositionalArgs = 3, parameterNames = {"$mod", "format", "buffer"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class UnpackNode extends PythonTernaryBuiltinNode {
+
+        @Specialization
+        static PTuple unpack(PythonModule self, Object format, Object buffer,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode,
+                        @Cached StructNodes.UnpackBufferNode unpackNode) {
+            return unpackNode.execute(getFormatNode.execute(self, format), buffer, 0, false);
+        }
+    }
+
+    @Builtin(name = "unpack_from", minNumOfPositionalArgs = 3, parameterNames = {"$mod", "format", "buffer", "offset"}, declaresExplicitSelf = true)
+    @ArgumentClinic(name = "offset", conversion = ArgumentClinic.ClinicConversion.Index, defaultValue = "0")
+    @GenerateNodeFactory
+    abstract static class UnpackFromNode extends PythonQuaternaryClinicBuiltinNode {
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return StructModuleBuiltinsClinicProviders.UnpackFromNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization
+        static PTuple unpackFrom(PythonModule self, Object format, Object buffer, int offset,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode,
+                        @Cached StructNodes.UnpackBufferNode unpackNode) {
+            return unpackNode.execute(getFormatNode.execute(self, format), buffer, offset, true);
+        }
+    }
+
+    @Builtin(name = "iter_unpack", minNumOfPositionalArgs = 3, parameterNames = {"$mod", "format", "buffer"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class IterUnpackNode extends PythonTernaryBuiltinNode {
+
+        @Specialization
+        static PStructUnpackIterator iterUnpack(PythonModule self, Object format, Object buffer,
+                        @Cached StructNodes.GetStructFormatNode getFormatNode,
+                        @Cached StructNodes.IterUnpackNode iterUnpackNode) {
+            return iterUnpackNode.execute(getFormatNode.execute(self, format), buffer);
+        }
+    }
+
+    @Builtin(name = "_clearcache", minNumOfPositionalArgs = 1, parameterNames = {"$mod"}, declaresExplicitSelf = true)
+    @GenerateNodeFactory
+    abstract static class ClearCacheNode extends PythonUnaryBuiltinNode {
+
+        @Specialization
+        static PNone clearCache(PythonModule self,
+                        @Cached ReadAttributeFromObjectNode readNode) {
+            getCache(self, readNode).clear();
+            return PNone.NONE;
+        }
+    }
+}
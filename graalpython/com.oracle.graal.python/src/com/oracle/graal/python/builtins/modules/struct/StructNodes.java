@@ -0,0 +1,715 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.modules.struct;
+
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.OverflowError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.StructError;
+import static com.oracle.graal.python.builtins.PythonBuiltinClassType.TypeError;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.modules.struct.StructFormat.FormatCode;
+import com.oracle.graal.python.builtins.objects.bytes.BytesNodes;
+import com.oracle.graal.python.builtins.objects.bytes.BytesNodesFactory;
+import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
+import com.oracle.graal.python.builtins.objects.bytes.PBytes;
+import com.oracle.graal.python.builtins.objects.bytes.PBytesLike;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.memoryview.PMemoryView;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.lib.PyIndexCheckNode;
+import com.oracle.graal.python.lib.PyNumberIndexNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.PNodeWithRaise;
+import com.oracle.graal.python.nodes.attributes.ReadAttributeFromObjectNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.runtime.object.PythonObjectFactory;
+import com.oracle.graal.python.runtime.sequence.storage.ByteSequenceStorage;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.graal.python.util.OverflowException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.ImportStatic;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.memory.ByteArraySupport;
+
+public abstract class StructNodes {
+
+    static boolean isDirectView(PMemoryView view) {
+        Object owner = view.getOwner();
+        return !view.isReleased() && view.getBufferPointer() == null && view.isCContiguous() && owner instanceof PBytesLike &&
+                        ((PBytesLike) owner).getSequenceStorage() instanceof ByteSequenceStorage;
+    }
+
+    static boolean isDirectWritableView(PMemoryView view) {
+        return !view.isReadOnly() && isDirectView(view);
+    }
+
+    static boolean isDirectBuffer(Object buffer) {
+        if (buffer instanceof PBytesLike) {
+            return PGuards.isByteStorage((PBytesLike) buffer);
+        }
+        return buffer instanceof PMemoryView && isDirectView((PMemoryView) buffer);
+    }
+
+    static boolean isDirectWritableBuffer(Object buffer) {
+        if (buffer instanceof PByteArray) {
+            return PGuards.isByteStorage((PByteArray) buffer);
+        }
+        return buffer instanceof PMemoryView && isDirectWritableView((PMemoryView) buffer);
+    }
+
+    static boolean isSharedBytes(Object buffer) {
+        return buffer instanceof PBytes && PGuards.isByteStorage((PBytes) buffer);
+    }
+
+    static BytesNodes.ToBytesNode createToBytes() {
+        return BytesNodes.ToBytesNode.create(TypeError, ErrorMessages.A_BYTES_LIKE_OBJECT_IS_REQUIRED_NOT_P);
+    }
+
+    /**
+     * Converts the format argument of {@code Struct()} and the module functions, which may be a
+     * {@code str} or {@code bytes}, to a Java string.
+     */
+    @ImportStatic(PGuards.class)
+    public abstract static class FormatAsStringNode extends PNodeWithRaise {
+
+        public abstract String execute(Object format);
+
+        @Specialization
+        static String doString(String format) {
+            return format;
+        }
+
+        @Specialization
+        static String doBytes(PBytes format,
+                        @Cached SequenceStorageNodes.GetInternalByteArrayNode getBytes) {
+            SequenceStorage storage = format.getSequenceStorage();
+            return decode(getBytes.execute(storage), storage.length());
+        }
+
+        @Specialization(guards = {"!isString(format)", "!isPBytes(format)"})
+        String doGeneric(Object format,
+                        @Cached CastToJavaStringNode castToStringNode) {
+            try {
+                return castToStringNode.execute(format);
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.STRUCT_ARG_1_MUST_BE_STR_OR_BYTES_NOT_P, format);
+            }
+        }
+
+        @TruffleBoundary
+        private static String decode(byte[] bytes, int length) {
+            return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * Looks up the parsed format for the module level functions. Call sites that always use the
+     * same format string keep the parsed format in the AST, all others go through the per-context
+     * cache of the module.
+     */
+    public abstract static class GetStructFormatNode extends PNodeWithRaise {
+
+        public abstract StructFormat execute(PythonModule module, Object format);
+
+        @Specialization(guards = "format == cachedFormat", limit = "3")
+        StructFormat doCached(@SuppressWarnings("unused") PythonModule module, @SuppressWarnings("unused") String format,
+                        @Cached("format") @SuppressWarnings("unused") String cachedFormat,
+                        @Cached("parse(format)") StructFormat cachedResult) {
+            return cachedResult;
+        }
+
+        @Specialization(replaces = "doCached")
+        StructFormat doGeneric(PythonModule module, Object format,
+                        @Cached FormatAsStringNode formatAsStringNode,
+                        @Cached ReadAttributeFromObjectNode readNode) {
+            String fmt = formatAsStringNode.execute(format);
+            StructModuleBuiltins.FormatCache cache = StructModuleBuiltins.getCache(module, readNode);
+            StructFormat result = cache.get(fmt);
+            if (result == null) {
+                result = parse(fmt);
+                cache.put(fmt, result);
+            }
+            return result;
+        }
+
+        StructFormat parse(String format) {
+            return StructFormat.parse(this, format);
+        }
+    }
+
+    /**
+     * Packs the values {@code args[argsOffset:]} into {@code buffer} at {@code offset}. The caller
+     * checks the number of values and the size of the buffer. Pad bytes are not written.
+     */
+    public abstract static class PackNode extends PNodeWithRaise {
+
+        public abstract void execute(VirtualFrame frame, StructFormat format, Object[] args, int argsOffset, byte[] buffer, int offset);
+
+        @Specialization
+        void pack(VirtualFrame frame, StructFormat format, Object[] args, int argsOffset, byte[] buffer, int offset,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached PyIndexCheckNode indexCheckNode,
+                        @Cached PyNumberIndexNode indexNode,
+                        @Cached SequenceStorageNodes.GetInternalByteArrayNode getBytes) {
+            ByteArraySupport access = format.getByteOrder();
+            boolean nativeMode = format.isNativeMode();
+            int argIndex = argsOffset;
+            for (FormatCode code : format.getCodes()) {
+                int pos = offset + code.offset;
+                for (int i = 0; i < code.repeat; i++) {
+                    Object value = args[argIndex++];
+                    switch (code.code) {
+                        case 'c':
+                            if (!(value instanceof PBytes) || ((PBytes) value).getSequenceStorage().length() != 1) {
+                                throw raise(StructError, ErrorMessages.STRUCT_CHAR_FMT_REQUIRES_BYTES_OF_LEN_1);
+                            }
+                            buffer[pos] = getBytes.execute(((PBytes) value).getSequenceStorage())[0];
+                            break;
+                        case 's':
+                        case 'p':
+                            packString(code, value, buffer, pos, getBytes);
+                            break;
+                        case '?':
+                            buffer[pos] = (byte) (lib.isTrue(value, frame) ? 1 : 0);
+                            break;
+                        case 'e':
+                            access.putShort(buffer, pos, packHalfFloat(asDouble(frame, value, lib)));
+                            break;
+                        case 'f':
+                            access.putInt(buffer, pos, Float.floatToRawIntBits(packFloat(asDouble(frame, value, lib), nativeMode)));
+                            break;
+                        case 'd':
+                            access.putLong(buffer, pos, Double.doubleToRawLongBits(asDouble(frame, value, lib)));
+                            break;
+                        default:
+                            putInteger(access, buffer, pos, code.size, packInteger(code, nativeMode, asInteger(frame, value, indexCheckNode, indexNode)));
+                            break;
+                    }
+                    pos += code.size;
+                }
+            }
+        }
+
+        private void packString(FormatCode code, Object value, byte[] buffer, int pos, SequenceStorageNodes.GetInternalByteArrayNode getBytes) {
+            if (!(value instanceof PBytesLike)) {
+                throw raise(StructError, ErrorMessages.STRUCT_ARG_FOR_S_MUST_BE_BYTES, code.code);
+            }
+            SequenceStorage storage = ((PBytesLike) value).getSequenceStorage();
+            byte[] bytes = getBytes.execute(storage);
+            int n = storage.length();
+            if (code.code == 's') {
+                PythonUtils.arraycopy(bytes, 0, buffer, pos, Math.min(n, code.size));
+            } else if (code.size > 0) {
+                n = Math.min(n, code.size - 1);
+                PythonUtils.arraycopy(bytes, 0, buffer, pos + 1, n);
+                buffer[pos] = (byte) Math.min(n, 255);
+            }
+        }
+
+        private Object asInteger(VirtualFrame frame, Object value, PyIndexCheckNode indexCheckNode, PyNumberIndexNode indexNode) {
+            if (value instanceof Integer || value instanceof Long || value instanceof Boolean || value instanceof PInt) {
+                return value;
+            }
+            if (!indexCheckNode.execute(value)) {
+                throw raise(StructError, ErrorMessages.STRUCT_REQUIRED_ARG_NOT_AN_INTEGER);
+            }
+            return indexNode.execute(frame, value);
+        }
+
+        private double asDouble(VirtualFrame frame, Object value, PythonObjectLibrary lib) {
+            if (value instanceof Double) {
+                return (double) value;
+            }
+            if (!lib.canBeJavaDouble(value)) {
+                throw raise(StructError, ErrorMessages.STRUCT_REQUIRED_ARG_NOT_A_FLOAT);
+            }
+            return lib.asJavaDoubleWithFrame(value, frame);
+        }
+
+        /**
+         * Range checks an integer like the {@code np_*} and {@code lp_*}/{@code bp_*} functions of
+         * CPython, including their error messages, and returns the bits to store.
+         */
+        private long packInteger(FormatCode code, boolean nativeMode, Object value) {
+            char c = code.code;
+            long v;
+            switch (c) {
+                case 'b':
+                    return checkRange(asSignedLong(value), "byte", -128, 127);
+                case 'B':
+                    return checkRange(asSignedLong(value), "ubyte", 0, 255);
+                case 'h':
+                    if (nativeMode) {
+                        return checkRange(asSignedLong(value), "short", Short.MIN_VALUE, Short.MAX_VALUE);
+                    }
+                    return checkRange(asSignedLong(value), c, Short.MIN_VALUE, Short.MAX_VALUE);
+                case 'H':
+                    if (nativeMode) {
+                        return checkRange(asSignedLong(value), "ushort", 0, 0xffff);
+                    }
+                    return checkUnsignedRange(asUnsignedLong(value), c, 2);
+                case 'i':
+                case 'l':
+                    v = asSignedLong(value);
+                    if (code.size == 4) {
+                        return checkRange(v, c, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                    }
+                    return v;
+                case 'I':
+                case 'L':
+                    return checkUnsignedRange(asUnsignedLong(value), c, code.size);
+                case 'q':
+                case 'n':
+                    return asSignedLong(value);
+                case 'Q':
+                case 'N':
+                    return asUnsignedLong(value);
+                case 'P':
+                    if (value instanceof PInt && !((PInt) value).isNegative()) {
+                        return asUnsignedLong(value);
+                    }
+                    return asSignedLong(value);
+                default:
+                    throw raise(StructError, ErrorMessages.STRUCT_BAD_CHAR_IN_FORMAT);
+            }
+        }
+
+        private long checkRange(long value, String name, long min, long max) {
+            if (value < min || value > max) {
+                throw raise(StructError, ErrorMessages.STRUCT_S_FORMAT_REQUIRES_D_TO_D, name, min, max);
+            }
+            return value;
+        }
+
+        private long checkRange(long value, char c, long min, long max) {
+            if (value < min || value > max) {
+                throw raise(StructError, ErrorMessages.STRUCT_C_FORMAT_REQUIRES_D_TO_D, c, min, max);
+            }
+            return value;
+        }
+
+        private long checkUnsignedRange(long value, char c, int size) {
+            if (size < 8) {
+                long max = (1L << (size * 8)) - 1;
+                if (value > max) {
+                    throw raise(StructError, ErrorMessages.STRUCT_C_FORMAT_REQUIRES_D_TO_D, c, 0, max);
+                }
+            }
+            return value;
+        }
+
+        private long asSignedLong(Object value) {
+            if (value instanceof Integer) {
+                return (int) value;
+            } else if (value instanceof Long) {
+                return (long) value;
+            } else if (value instanceof Boolean) {
+                return (boolean) value ? 1 : 0;
+            } else if (value instanceof PInt) {
+                try {
+                    return ((PInt) value).longValueExact();
+                } catch (OverflowException e) {
+                    throw raise(StructError, ErrorMessages.STRUCT_ARG_OUT_OF_RANGE);
+                }
+            }
+            throw raise(StructError, ErrorMessages.STRUCT_REQUIRED_ARG_NOT_AN_INTEGER);
+        }
+
+        private long asUnsignedLong(Object value) {
+            if (value instanceof PInt) {
+                BigInteger big = ((PInt) value).getValue();
+                if (((PInt) value).isNegative() || PInt.bitLength(big) > Long.SIZE) {
+                    throw raise(StructError, ErrorMessages.STRUCT_ARG_OUT_OF_RANGE);
+                }
+                return PInt.longValue(big);
+            }
+            long v = asSignedLong(value);
+            if (v < 0) {
+                throw raise(StructError, ErrorMessages.STRUCT_ARG_OUT_OF_RANGE);
+            }
+            return v;
+        }
+
+        private float packFloat(double value, boolean nativeMode) {
+            float f = (float) value;
+            if (!nativeMode && Float.isInfinite(f) && !Double.isInfinite(value)) {
+                throw raise(OverflowError, ErrorMessages.STRUCT_FLOAT_TOO_LARGE_TO_PACK_WITH_S_FORMAT, "f");
+            }
+            return f;
+        }
+
+        /**
+         * Converts to IEEE 754 binary16 with round-half-even, following CPython's
+         * {@code _PyFloat_Pack2}.
+         */
+        private short packHalfFloat(double value) {
+            int sign = Math.copySign(1.0, value) < 0 ? 1 : 0;
+            int e;
+            int bits;
+            if (value == 0.0) {
+                e = 0;
+                bits = 0;
+            } else if (Double.isInfinite(value)) {
+                e = 0x1f;
+                bits = 0;
+            } else if (Double.isNaN(value)) {
+                e = 0x1f;
+                bits = 512;
+            } else {
+                double x = Math.abs(value);
+                // x = f * 2**e with 1 <= f < 2
+                e = Math.getExponent(x);
+                double f = Math.scalb(x, -e);
+                if (e >= 16) {
+                    throw raise(OverflowError, ErrorMessages.STRUCT_FLOAT_TOO_LARGE_TO_PACK_WITH_S_FORMAT, "e");
+                } else if (e < -25) {
+                    // |x| < 2**-25, underflow to zero
+                    f = 0.0;
+                    e = 0;
+                } else if (e < -14) {
+                    // |x| < 2**-14, a subnormal
+                    f = Math.scalb(f, 14 + e);
+                    e = 0;
+                } else {
+                    e += 15;
+                    f -= 1.0;
+                }
+                f *= 1024.0;
+                bits = (int) f;
+                f -= bits;
+                if (f > 0.5 || (f == 0.5 && bits % 2 == 1)) {
+                    bits++;
+                    if (bits == 1024) {
+                        bits = 0;
+                        e++;
+                        if (e == 31) {
+                            throw raise(OverflowError, ErrorMessages.STRUCT_FLOAT_TOO_LARGE_TO_PACK_WITH_S_FORMAT, "e");
+                        }
+                    }
+                }
+            }
+            return (short) (bits | (e << 10) | (sign << 15));
+        }
+
+        private static void putInteger(ByteArraySupport access, byte[] buffer, int pos, int size, long value) {
+            switch (size) {
+                case 1:
+                    buffer[pos] = (byte) value;
+                    break;
+                case 2:
+                    access.putShort(buffer, pos, (short) value);
+                    break;
+                case 4:
+                    access.putInt(buffer, pos, (int) value);
+                    break;
+                default:
+                    access.putLong(buffer, pos, value);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Unpacks one struct from {@code data} at {@code offset}. The caller checks the size of the
+     * data.
+     */
+    public abstract static class UnpackNode extends PNodeWithContext {
+
+        public abstract PTuple execute(StructFormat format, byte[] data, int offset);
+
+        @Specialization
+        static PTuple unpack(StructFormat format, byte[] data, int offset,
+                        @Cached PythonObjectFactory factory) {
+            ByteArraySupport access = format.getByteOrder();
+            Object[] values = new Object[format.getLen()];
+            int valueIndex = 0;
+            for (FormatCode code : format.getCodes()) {
+                int pos = offset + code.offset;
+                for (int i = 0; i < code.repeat; i++) {
+                    values[valueIndex++] = unpackValue(code, access, data, pos, factory);
+                    pos += code.size;
+                }
+            }
+            return factory.createTuple(values);
+        }
+
+        private static Object unpackValue(FormatCode code, ByteArraySupport access, byte[] data, int pos, PythonObjectFactory factory) {
+            switch (code.code) {
+                case 'c':
+                    return factory.createBytes(new byte[]{data[pos]});
+                case 's':
+                    return factory.createBytes(PythonUtils.arrayCopyOfRange(data, pos, pos + code.size));
+                case 'p': {
+                    int n = Math.max(0, Math.min(Byte.toUnsignedInt(data[pos]), code.size - 1));
+                    return factory.createBytes(PythonUtils.arrayCopyOfRange(data, pos + 1, pos + 1 + n));
+                }
+                case '?':
+                    return data[pos] != 0;
+                case 'b':
+                    return (int) data[pos];
+                case 'B':
+                    return Byte.toUnsignedInt(data[pos]);
+                case 'h':
+                    return (int) access.getShort(data, pos);
+                case 'H':
+                    return Short.toUnsignedInt(access.getShort(data, pos));
+                case 'e':
+                    return unpackHalfFloat(access.getShort(data, pos));
+                case 'f':
+                    return (double) Float.intBitsToFloat(access.getInt(data, pos));
+                case 'd':
+                    return Double.longBitsToDouble(access.getLong(data, pos));
+                case 'i':
+                case 'l':
+                case 'q':
+                case 'n':
+                    if (code.size == 4) {
+                        return access.getInt(data, pos);
+                    }
+                    return access.getLong(data, pos);
+                default:
+                    // 'I', 'L', 'Q', 'N' and 'P'
+                    if (code.size == 4) {
+                        return Integer.toUnsignedLong(access.getInt(data, pos));
+                    }
+                    long v = access.getLong(data, pos);
+                    if (v < 0) {
+                        return factory.createInt(PInt.longToUnsignedBigInteger(v));
+                    }
+                    return v;
+            }
+        }
+
+        private static double unpackHalfFloat(short value) {
+            int sign = (value >> 15) & 1;
+            int e = (value >> 10) & 0x1f;
+            int f = value & 0x3ff;
+            if (e == 0x1f) {
+                if (f == 0) {
+                    return sign == 0 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+                }
+                return sign == 0 ? Double.NaN : -Double.NaN;
+            }
+            double x = f / 1024.0;
+            if (e == 0) {
+                e = -14;
+            } else {
+                x += 1.0;
+                e -= 15;
+            }
+            x = Math.scalb(x, e);
+            return sign == 0 ? x : -x;
+        }
+    }
+
+    /**
+     * Implements {@code unpack} and {@code unpack_from}. Bytes, bytearrays and contiguous
+     * memoryviews over them are unpacked from their storage, other buffers are copied first.
+     */
+    @ImportStatic({PGuards.class, StructNodes.class})
+    public abstract static class UnpackBufferNode extends PNodeWithRaise {
+
+        /**
+         * @param fromOffset {@code false} for {@code unpack}, which requires the buffer to have the
+         *            size of the struct and ignores the offset
+         */
+        public abstract PTuple execute(StructFormat format, Object buffer, int offset, boolean fromOffset);
+
+        @Specialization(guards = "isByteStorage(buffer)")
+        PTuple doBytes(StructFormat format, PBytesLike buffer, int offset, boolean fromOffset,
+                        @Shared("unpack") @Cached UnpackNode unpackNode) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) buffer.getSequenceStorage();
+            return unpack(format, storage.getInternalByteArray(), 0, storage.length(), offset, fromOffset, unpackNode);
+        }
+
+        @Specialization(guards = "isDirectView(buffer)")
+        PTuple doMemoryView(StructFormat format, PMemoryView buffer, int offset, boolean fromOffset,
+                        @Shared("unpack") @Cached UnpackNode unpackNode) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) ((PBytesLike) buffer.getOwner()).getSequenceStorage();
+            return unpack(format, storage.getInternalByteArray(), buffer.getOffset(), buffer.getLength(), offset, fromOffset, unpackNode);
+        }
+
+        @Specialization(guards = "!isDirectBuffer(buffer)")
+        PTuple doGeneric(StructFormat format, Object buffer, int offset, boolean fromOffset,
+                        @Cached("createToBytes()") BytesNodes.ToBytesNode toBytesNode,
+                        @Shared("unpack") @Cached UnpackNode unpackNode) {
+            byte[] bytes = toBytesNode.execute(buffer);
+            return unpack(format, bytes, 0, bytes.length, offset, fromOffset, unpackNode);
+        }
+
+        private PTuple unpack(StructFormat format, byte[] data, int start, int length, int offsetArg, boolean fromOffset, UnpackNode unpackNode) {
+            int size = format.getSize();
+            if (!fromOffset) {
+                if (length != size) {
+                    throw raise(StructError, ErrorMessages.STRUCT_UNPACK_REQUIRES_BUFFER_OF_D_BYTES, size);
+                }
+                return unpackNode.execute(format, data, start);
+            }
+            int offset = offsetArg;
+            if (offset < 0) {
+                if (offset + length < 0) {
+                    throw raise(StructError, ErrorMessages.STRUCT_OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER, offset, length);
+                }
+                offset += length;
+            }
+            if (length - offset < size) {
+                throw raise(StructError, ErrorMessages.STRUCT_UNPACK_FROM_REQUIRES_BUFFER_OF_AT_LEAST_D, (long) size + offset, size, offset, length);
+            }
+            return unpackNode.execute(format, data, start + offset);
+        }
+    }
+
+    /**
+     * Implements {@code pack_into}. Bytearrays and writable contiguous memoryviews over byte storage
+     * are packed into directly, other writable buffers receive a copy.
+     */
+    @ImportStatic(StructNodes.class)
+    public abstract static class PackIntoNode extends PNodeWithRaise {
+
+        public abstract void execute(VirtualFrame frame, StructFormat format, Object buffer, int offset, Object[] args, int argsOffset);
+
+        @Specialization(guards = "isDirectWritableBuffer(buffer)")
+        void doDirect(VirtualFrame frame, StructFormat format, Object buffer, int offset, Object[] args, int argsOffset,
+                        @Shared("pack") @Cached PackNode packNode) {
+            byte[] data;
+            int start;
+            int length;
+            if (buffer instanceof PMemoryView) {
+                PMemoryView view = (PMemoryView) buffer;
+                data = ((ByteSequenceStorage) ((PBytesLike) view.getOwner()).getSequenceStorage()).getInternalByteArray();
+                start = view.getOffset();
+                length = view.getLength();
+            } else {
+                ByteSequenceStorage storage = (ByteSequenceStorage) ((PByteArray) buffer).getSequenceStorage();
+                data = storage.getInternalByteArray();
+                start = 0;
+                length = storage.length();
+            }
+            int pos = start + checkOffset(format, offset, length);
+            Arrays.fill(data, pos, pos + format.getSize(), (byte) 0);
+            packNode.execute(frame, format, args, argsOffset, data, pos);
+        }
+
+        @Specialization(guards = "!isDirectWritableBuffer(buffer)")
+        void doGeneric(VirtualFrame frame, StructFormat format, Object buffer, int offset, Object[] args, int argsOffset,
+                        @Cached("createGetLength()") BytesNodes.GetByteLengthIfWritableNode getLengthNode,
+                        @Cached SequenceStorageNodes.BytesMemcpyNode memcpyNode,
+                        @Shared("pack") @Cached PackNode packNode) {
+            int pos = checkOffset(format, offset, getLengthNode.execute(frame, buffer));
+            byte[] data = new byte[format.getSize()];
+            packNode.execute(frame, format, args, argsOffset, data, 0);
+            memcpyNode.execute(frame, buffer, pos, data, 0, data.length);
+        }
+
+        private int checkOffset(StructFormat format, int offsetArg, int length) {
+            int size = format.getSize();
+            int offset = offsetArg;
+            if (offset < 0) {
+                if (offset + size > 0) {
+                    throw raise(StructError, ErrorMessages.STRUCT_NO_SPACE_TO_PACK_D_BYTES_AT_OFFSET_D, size, offset);
+                }
+                if (offset + length < 0) {
+                    throw raise(StructError, ErrorMessages.STRUCT_OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER, offset, length);
+                }
+                offset += length;
+            }
+            if (length - offset < size) {
+                throw raise(StructError, ErrorMessages.STRUCT_PACK_INTO_REQUIRES_BUFFER_OF_AT_LEAST_D, (long) size + offset, size, offset, length);
+            }
+            return offset;
+        }
+
+        static BytesNodes.GetByteLengthIfWritableNode createGetLength() {
+            return BytesNodesFactory.GetByteLengthIfWritableNodeGen.create("pack_into", "argument");
+        }
+    }
+
+    /**
+     * Creates the iterator of {@code iter_unpack}. The bytes of immutable buffers are shared, all
+     * other buffers are copied so that later modifications do not affect the iteration.
+     */
+    @ImportStatic({PGuards.class, StructNodes.class})
+    public abstract static class IterUnpackNode extends PNodeWithRaise {
+
+        public abstract PStructUnpackIterator execute(StructFormat format, Object buffer);
+
+        @Specialization(guards = {"format.getSize() > 0", "isByteStorage(buffer)"})
+        PStructUnpackIterator doBytes(StructFormat format, PBytes buffer,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            ByteSequenceStorage storage = (ByteSequenceStorage) buffer.getSequenceStorage();
+            return create(format, storage.getInternalByteArray(), storage.length(), factory);
+        }
+
+        @Specialization(guards = {"format.getSize() > 0", "!isSharedBytes(buffer)"})
+        PStructUnpackIterator doGeneric(StructFormat format, Object buffer,
+                        @Cached("createToBytes()") BytesNodes.ToBytesNode toBytesNode,
+                        @Shared("factory") @Cached PythonObjectFactory factory) {
+            byte[] bytes = toBytesNode.execute(buffer);
+            return create(format, bytes, bytes.length, factory);
+        }
+
+        @Specialization(guards = "format.getSize() == 0")
+        PStructUnpackIterator doEmpty(@SuppressWarnings("unused") StructFormat format, @SuppressWarnings("unused") Object buffer) {
+            throw raise(StructError, ErrorMessages.STRUCT_CANNOT_ITER_UNPACK_WITH_SIZE_D, 0);
+        }
+
+        private PStructUnpackIterator create(StructFormat format, byte[] data, int length, PythonObjectFactory factory) {
+            if (length % format.getSize() != 0) {
+                throw raise(StructError, ErrorMessages.STRUCT_ITER_UNPACK_REQUIRES_MULTIPLE_OF_D, format.getSize());
+            }
+            return factory.createStructUnpackIterator(format, data, length);
+        }
+    }
+}
@@ -173,21 +173,14 @@ public final class CApiContext extends CExtContext {
         }
 
         context.registerAsyncAction(() -> {
-            Reference<?> reference = null;
-            try {
-                reference = nativeObjectsQueue.remove();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-
             ArrayList<NativeObjectReference> refs = new ArrayList<>();
-            do {
+            Reference<?> reference;
+            // consume all
+            while ((reference = nativeObjectsQueue.poll()) != null) {
                 if (reference instanceof NativeObjectReference) {
                     refs.add((NativeObjectReference) reference);
                 }
-                // consume all
-                reference = nativeObjectsQueue.poll();
-            } while (reference != null);
+            }
 
             if (!refs.isEmpty()) {
                 return new CApiReferenceCleanerAction(refs.toArray(new NativeObjectReference[0]));
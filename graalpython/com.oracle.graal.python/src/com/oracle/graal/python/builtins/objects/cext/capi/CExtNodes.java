@@ -106,6 +106,7 @@ import com.oracle.graal.python.builtins.objects.cext.common.GetVaArgsNodeGen;
 import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
 import com.oracle.graal.python.builtins.objects.complex.PComplex;
 import com.oracle.graal.python.builtins.objects.floats.PFloat;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.DescriptorDeleteMarker;
 import com.oracle.graal.python.builtins.objects.ints.PInt;
@@ -2719,7 +2720,7 @@ public abstract class CExtNodes {
                         @Shared("context") @CachedContext(PythonLanguage.class) PythonContext context) {
             // TODO connect f_back
             getCurrentFrameRef.execute(frame).markAsEscaped();
-            context.setCurrentException(e);
+            context.setCurrentException(PArguments.getThreadStateFromCaller(frame), e);
         }
     }
 
@@ -1045,6 +1045,10 @@ public abstract class DynamicObjectNativeWrapper extends PythonNativeWrapper {
         }
 
         protected static DateTimeMode getDateTimeMode(PythonObject object, GetClassNode getClassNode, GetNameNode getNameNode) {
+            DateTimeMode mode = PyDateTimeMRNode.getModeFromObject(object);
+            if (mode != null) {
+                return mode;
+            }
             return PyDateTimeMRNode.getModeFromTypeName(getNameNode.execute(getClassNode.execute(object)));
         }
 
@@ -40,6 +40,9 @@
  */
 package com.oracle.graal.python.builtins.objects.cext.capi;
 
+import com.oracle.graal.python.builtins.modules.datetime.PDate;
+import com.oracle.graal.python.builtins.modules.datetime.PDateTime;
+import com.oracle.graal.python.builtins.modules.datetime.PTime;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PythonAbstractObject.PInteropGetAttributeNode;
 import com.oracle.graal.python.builtins.objects.cext.capi.CArrayWrappers.CByteArrayWrapper;
@@ -65,6 +68,17 @@ public abstract class PyDateTimeMRNode extends Node {
         DATE_TIME
     }
 
+    static DateTimeMode getModeFromObject(PythonObject object) {
+        if (object instanceof PDateTime) {
+            return DateTimeMode.DATE_TIME;
+        } else if (object instanceof PDate) {
+            return DateTimeMode.DATE;
+        } else if (object instanceof PTime) {
+            return DateTimeMode.TIME;
+        }
+        return null;
+    }
+
     static DateTimeMode getModeFromTypeName(String typeName) {
         if ("date".equals(typeName)) {
             return DateTimeMode.DATE;
@@ -126,7 +140,27 @@ public abstract class PyDateTimeMRNode extends Node {
      * 10
      * </pre>
      */
-    @Specialization(guards = {"eq(DATETIME_DATA, key)", "cachedMode == mode", "cachedMode != null"}, limit = "1")
+    @Specialization(guards = "eq(DATETIME_DATA, key)")
+    static Object doDateTimeData(PDateTime object, @SuppressWarnings("unused") String key, @SuppressWarnings("unused") DateTimeMode mode) {
+        int year = object.getYear();
+        int usec = object.getMicrosecond();
+        return new CByteArrayWrapper(new byte[]{(byte) (year >> 8), (byte) year, (byte) object.getMonth(), (byte) object.getDay(), (byte) object.getHour(), (byte) object.getMinute(),
+                        (byte) object.getSecond(), (byte) (usec >> 16), (byte) (usec >> 8), (byte) usec});
+    }
+
+    @Specialization(guards = {"eq(DATETIME_DATA, key)", "!isDateTime(object)"})
+    static Object doDateData(PDate object, @SuppressWarnings("unused") String key, @SuppressWarnings("unused") DateTimeMode mode) {
+        int year = object.getYear();
+        return new CByteArrayWrapper(new byte[]{(byte) (year >> 8), (byte) year, (byte) object.getMonth(), (byte) object.getDay()});
+    }
+
+    @Specialization(guards = "eq(DATETIME_DATA, key)")
+    static Object doTimeData(PTime object, @SuppressWarnings("unused") String key, @SuppressWarnings("unused") DateTimeMode mode) {
+        int usec = object.getMicrosecond();
+        return new CByteArrayWrapper(new byte[]{(byte) object.getHour(), (byte) object.getMinute(), (byte) object.getSecond(), (byte) (usec >> 16), (byte) (usec >> 8), (byte) usec});
+    }
+
+    @Specialization(guards = {"eq(DATETIME_DATA, key)", "cachedMode == mode", "cachedMode != null", "!isBuiltinDateTimeObject(object)"}, limit = "1")
     static Object doData(PythonObject object, @SuppressWarnings("unused") String key, @SuppressWarnings("unused") DateTimeMode mode,
                     @Cached("mode") DateTimeMode cachedMode,
                     @Cached PInteropGetAttributeNode getYearNode,
@@ -183,6 +217,18 @@ public abstract class PyDateTimeMRNode extends Node {
     }
 
     @Specialization(guards = "eq(DATETIME_TZINFO, key)")
+    static Object doDateTimeTzinfo(PDateTime object, @SuppressWarnings("unused") String key, @SuppressWarnings("unused") DateTimeMode mode,
+                    @Cached ToSulongNode toSulongNode) {
+        return toSulongNode.execute(object.getTzInfo());
+    }
+
+    @Specialization(guards = "eq(DATETIME_TZINFO, key)")
+    static Object doTimeTzinfo(PTime object, @SuppressWarnings("unused") String key, @SuppressWarnings("unused") DateTimeMode mode,
+                    @Cached ToSulongNode toSulongNode) {
+        return toSulongNode.execute(object.getTzInfo());
+    }
+
+    @Specialization(guards = {"eq(DATETIME_TZINFO, key)", "!isBuiltinDateTimeObject(object)"})
     static Object doTzinfo(PythonObject object, @SuppressWarnings("unused") String key, @SuppressWarnings("unused") DateTimeMode mode,
                     @Cached ReadAttributeFromObjectNode getTzinfoNode,
                     @Cached ToSulongNode toSulongNode) {
@@ -193,6 +239,14 @@ public abstract class PyDateTimeMRNode extends Node {
         throw CompilerDirectives.shouldNotReachHere();
     }
 
+    protected static boolean isDateTime(PythonObject object) {
+        return object instanceof PDateTime;
+    }
+
+    protected static boolean isBuiltinDateTimeObject(PythonObject object) {
+        return object instanceof PDate || object instanceof PTime;
+    }
+
     protected static boolean eq(NativeMember expected, String actual) {
         return expected.getMemberName().equals(actual);
     }
@@ -1350,21 +1350,14 @@ public final class GraalHPyContext extends CExtContext implements TruffleObject
             hpyReferenceCleanerThread = thread;
         } else {
             getContext().registerAsyncAction(() -> {
-                Reference<?> reference = null;
-                try {
-                    reference = referenceQueue.remove();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-
                 ArrayList<GraalHPyHandleReference> refs = new ArrayList<>();
-                do {
+                Reference<?> reference;
+                // consume all
+                while ((reference = referenceQueue.poll()) != null) {
                     if (reference instanceof GraalHPyHandleReference) {
                         refs.add((GraalHPyHandleReference) reference);
                     }
-                    // consume all
-                    reference = referenceQueue.poll();
-                } while (reference != null);
+                }
 
                 if (!refs.isEmpty()) {
                     return new GraalHPyHandleReferenceCleanerAction(refs.toArray(new GraalHPyHandleReference[0]));
@@ -0,0 +1,823 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.deque;
+
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__DICT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CONTAINS__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DELITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GETITEM__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__IADD__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__IMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LEN__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__MUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REVERSED__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__RMUL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETITEM__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.IndexError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.MemoryError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.RuntimeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.PNotImplemented;
+import com.oracle.graal.python.builtins.objects.common.SequenceStorageNodes;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetNameNode;
+import com.oracle.graal.python.lib.PyNumberAsSizeNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.runtime.sequence.storage.ObjectSequenceStorage;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDeque)
+public final class DequeBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DequeBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        super.initialize(core);
+        builtinConstants.put(__HASH__, PNone.NONE);
+    }
+
+    static boolean itemEquals(VirtualFrame frame, Object item, Object value, PythonObjectLibrary lib, ConditionProfile hasFrame) {
+        if (hasFrame.profile(frame != null)) {
+            return lib.equalsWithState(item, value, lib, PArguments.getThreadState(frame));
+        } else {
+            return lib.equals(item, value, lib);
+        }
+    }
+
+    static ObjectSequenceStorage asStorage(PDeque self) {
+        return new ObjectSequenceStorage(self.toArray());
+    }
+
+    // deque([iterable[, maxlen]])
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 1, parameterNames = {"self", "iterable", "maxlen"})
+    @GenerateNodeFactory
+    public abstract static class DequeInitNode extends PythonTernaryBuiltinNode {
+
+        @Specialization
+        PNone init(VirtualFrame frame, PDeque self, Object iterable, Object maxlen,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached DequeExtendNode extendNode) {
+            int maxLength = -1;
+            if (!PGuards.isPNone(maxlen)) {
+                maxLength = asSizeNode.executeExact(frame, maxlen);
+                if (maxLength < 0) {
+                    throw raise(ValueError, ErrorMessages.MUST_BE_NON_NEGATIVE, "maxlen");
+                }
+            }
+            self.clear();
+            self.setMaxLength(maxLength);
+            if (iterable != PNone.NO_VALUE) {
+                extendNode.execute(frame, self, iterable);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "maxlen", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class MaxLenNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object maxlen(PDeque self) {
+            return self.isBounded() ? self.getMaxLength() : PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "append", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class AppendNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone append(PDeque self, Object value) {
+            self.append(value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "appendleft", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class AppendLeftNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone appendLeft(PDeque self, Object value) {
+            self.appendLeft(value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "pop", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class PopNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object pop(PDeque self) {
+            Object value = self.pop();
+            if (value == null) {
+                throw raise(IndexError, ErrorMessages.POP_FROM_EMPTY_DEQUE);
+            }
+            return value;
+        }
+    }
+
+    @Builtin(name = "popleft", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class PopLeftNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object popLeft(PDeque self) {
+            Object value = self.popLeft();
+            if (value == null) {
+                throw raise(IndexError, ErrorMessages.POP_FROM_EMPTY_DEQUE);
+            }
+            return value;
+        }
+    }
+
+    @Builtin(name = "extend", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeExtendNode extends PythonBinaryBuiltinNode {
+
+        public abstract PNone execute(VirtualFrame frame, PDeque self, Object iterable);
+
+        @Specialization
+        static PNone extendDeque(PDeque self, PDeque other) {
+            // take a snapshot first, so that 'd.extend(d)' terminates
+            for (Object item : other.toArray()) {
+                self.append(item);
+            }
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isDeque(iterable)", limit = "getCallSiteInlineCacheMaxDepth()")
+        static PNone extend(VirtualFrame frame, PDeque self, Object iterable,
+                        @CachedLibrary("iterable") PythonObjectLibrary lib,
+                        @Cached GetNextNode nextNode,
+                        @Cached IsBuiltinClassProfile errorProfile) {
+            Object iterator = lib.getIteratorWithState(iterable, PArguments.getThreadState(frame));
+            while (true) {
+                Object value;
+                try {
+                    value = nextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(errorProfile);
+                    return PNone.NONE;
+                }
+                self.append(value);
+            }
+        }
+
+        protected static boolean isDeque(Object object) {
+            return object instanceof PDeque;
+        }
+
+        public static DequeExtendNode create() {
+            return DequeBuiltinsFactory.DequeExtendNodeFactory.create();
+        }
+    }
+
+    @Builtin(name = "extendleft", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ExtendLeftNode extends PythonBinaryBuiltinNode {
+
+        @Specialization
+        static PNone extendDeque(PDeque self, PDeque other) {
+            for (Object item : other.toArray()) {
+                self.appendLeft(item);
+            }
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isDeque(iterable)", limit = "getCallSiteInlineCacheMaxDepth()")
+        static PNone extend(VirtualFrame frame, PDeque self, Object iterable,
+                        @CachedLibrary("iterable") PythonObjectLibrary lib,
+                        @Cached GetNextNode nextNode,
+                        @Cached IsBuiltinClassProfile errorProfile) {
+            Object iterator = lib.getIteratorWithState(iterable, PArguments.getThreadState(frame));
+            while (true) {
+                Object value;
+                try {
+                    value = nextNode.execute(frame, iterator);
+                } catch (PException e) {
+                    e.expectStopIteration(errorProfile);
+                    return PNone.NONE;
+                }
+                self.appendLeft(value);
+            }
+        }
+
+        protected static boolean isDeque(Object object) {
+            return object instanceof PDeque;
+        }
+    }
+
+    @Builtin(name = "clear", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ClearNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone clear(PDeque self) {
+            self.clear();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DequeCopyNode extends PythonUnaryBuiltinNode {
+
+        public abstract PDeque execute(VirtualFrame frame, PDeque self);
+
+        @Specialization(guards = "isBuiltinDeque(self, lib)", limit = "1")
+        PDeque copyBuiltin(PDeque self,
+                        @SuppressWarnings("unused") @CachedLibrary("self") PythonObjectLibrary lib) {
+            PDeque copy = factory().createDeque(PythonBuiltinClassType.PDeque);
+            copy.setMaxLength(self.getMaxLength());
+            for (Object item : self.toArray()) {
+                copy.append(item);
+            }
+            return copy;
+        }
+
+        @Specialization(guards = "!isBuiltinDeque(self, lib)", limit = "1")
+        PDeque copySubclass(VirtualFrame frame, PDeque self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached CallNode callNode) {
+            Object cls = lib.getLazyPythonClass(self);
+            Object copy;
+            if (self.isBounded()) {
+                copy = callNode.execute(frame, cls, self, self.getMaxLength());
+            } else {
+                copy = callNode.execute(frame, cls, self);
+            }
+            if (copy instanceof PDeque) {
+                return (PDeque) copy;
+            }
+            throw raise(TypeError, ErrorMessages.S_MUST_RETURN_S_NOT_P, "copy()", "deque", copy);
+        }
+
+        protected static boolean isBuiltinDeque(PDeque self, PythonObjectLibrary lib) {
+            return lib.getLazyPythonClass(self) == PythonBuiltinClassType.PDeque;
+        }
+
+        public static DequeCopyNode create() {
+            return DequeBuiltinsFactory.DequeCopyNodeFactory.create();
+        }
+    }
+
+    @Builtin(name = __COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PDeque copy(VirtualFrame frame, PDeque self,
+                        @Cached DequeCopyNode copyNode) {
+            return copyNode.execute(frame, self);
+        }
+    }
+
+    @Builtin(name = "count", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class CountNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        int count(VirtualFrame frame, PDeque self, Object value,
+                        @Cached ConditionProfile hasFrame,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            int state = self.getState();
+            int count = 0;
+            for (int i = 0; i < self.getSize(); i++) {
+                boolean found = itemEquals(frame, self.get(i), value, lib, hasFrame);
+                if (self.getState() != state) {
+                    throw raise(RuntimeError, ErrorMessages.DEQUE_MUTATED_DURING_ITERATION);
+                }
+                if (found) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    @Builtin(name = __CONTAINS__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class ContainsNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        boolean contains(VirtualFrame frame, PDeque self, Object value,
+                        @Cached ConditionProfile hasFrame,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            int state = self.getState();
+            for (int i = 0; i < self.getSize(); i++) {
+                boolean found = itemEquals(frame, self.get(i), value, lib, hasFrame);
+                if (self.getState() != state) {
+                    throw raise(RuntimeError, ErrorMessages.DEQUE_MUTATED_DURING_ITERATION);
+                }
+                if (found) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // deque.index(x[, start[, stop]])
+    @Builtin(name = "index", minNumOfPositionalArgs = 2, parameterNames = {"self", "value", "start", "stop"})
+    @GenerateNodeFactory
+    abstract static class IndexNode extends PythonQuaternaryBuiltinNode {
+        @Specialization
+        int index(VirtualFrame frame, PDeque self, Object value, Object start, Object stop,
+                        @Cached PyNumberAsSizeNode asSizeNode,
+                        @Cached ConditionProfile hasFrame,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode) {
+            int size = self.getSize();
+            int from = normalize(start == PNone.NO_VALUE ? 0 : asSizeNode.executeLossy(frame, start), size);
+            int to = normalize(stop == PNone.NO_VALUE ? size : asSizeNode.executeLossy(frame, stop), size);
+            int state = self.getState();
+            for (int i = from; i < to && i < self.getSize(); i++) {
+                boolean found = itemEquals(frame, self.get(i), value, lib, hasFrame);
+                if (self.getState() != state) {
+                    throw raise(RuntimeError, ErrorMessages.DEQUE_MUTATED_DURING_ITERATION);
+                }
+                if (found) {
+                    return i;
+                }
+            }
+            throw raise(ValueError, ErrorMessages.S_IS_NOT_IN_DEQUE, reprNode.executeObject(frame, value));
+        }
+
+        private static int normalize(int index, int size) {
+            if (index < 0) {
+                return Math.max(index + size, 0);
+            }
+            return Math.min(index, size);
+        }
+    }
+
+    // deque.insert(i, x)
+    @Builtin(name = "insert", minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class InsertNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PNone insert(VirtualFrame frame, PDeque self, Object index, Object value,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            int i = asSizeNode.executeExact(frame, index);
+            int size = self.getSize();
+            if (size == self.getMaxLength()) {
+                throw raise(IndexError, ErrorMessages.DEQUE_ALREADY_AT_MAX_SIZE);
+            }
+            if (i >= size) {
+                self.append(value);
+            } else if (i <= -size) {
+                self.appendLeft(value);
+            } else {
+                self.insert(i < 0 ? i + size : i, value);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "remove", minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class RemoveNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PNone remove(VirtualFrame frame, PDeque self, Object value,
+                        @Cached ConditionProfile hasFrame,
+                        @CachedLibrary(limit = "getCallSiteInlineCacheMaxDepth()") PythonObjectLibrary lib) {
+            int state = self.getState();
+            for (int i = 0; i < self.getSize(); i++) {
+                boolean found = itemEquals(frame, self.get(i), value, lib, hasFrame);
+                if (self.getState() != state) {
+                    throw raise(IndexError, ErrorMessages.DEQUE_MUTATED_DURING_REMOVE);
+                }
+                if (found) {
+                    self.delete(i);
+                    return PNone.NONE;
+                }
+            }
+            throw raise(ValueError, ErrorMessages.DEQUE_REMOVE_X_NOT_IN_DEQUE);
+        }
+    }
+
+    @Builtin(name = "reverse", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReverseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone reverse(PDeque self) {
+            self.reverse();
+            return PNone.NONE;
+        }
+    }
+
+    // deque.rotate(n=1)
+    @Builtin(name = "rotate", minNumOfPositionalArgs = 1, parameterNames = {"self", "n"})
+    @GenerateNodeFactory
+    abstract static class RotateNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone rotate(PDeque self, @SuppressWarnings("unused") PNone n) {
+            self.rotate(1);
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isPNone(n)")
+        static PNone rotate(VirtualFrame frame, PDeque self, Object n,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            self.rotate(asSizeNode.executeExact(frame, n));
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __LEN__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class LenNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int len(PDeque self) {
+            return self.getSize();
+        }
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDequeIter iter(PDeque self) {
+            return factory().createDequeIter(self);
+        }
+    }
+
+    @Builtin(name = __REVERSED__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReversedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PDequeIter reversed(PDeque self) {
+            return factory().createDequeRevIter(self);
+        }
+    }
+
+    @Builtin(name = __GETITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GetItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object getItem(VirtualFrame frame, PDeque self, Object index,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            return self.get(checkIndex(this, self, asSizeNode.executeExact(frame, index, IndexError)));
+        }
+    }
+
+    @Builtin(name = __SETITEM__, minNumOfPositionalArgs = 3)
+    @GenerateNodeFactory
+    abstract static class SetItemNode extends PythonTernaryBuiltinNode {
+        @Specialization
+        PNone setItem(VirtualFrame frame, PDeque self, Object index, Object value,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            self.set(checkIndex(this, self, asSizeNode.executeExact(frame, index, IndexError)), value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __DELITEM__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DelItemNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PNone delItem(VirtualFrame frame, PDeque self, Object index,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            self.delete(checkIndex(this, self, asSizeNode.executeExact(frame, index, IndexError)));
+            return PNone.NONE;
+        }
+    }
+
+    static int checkIndex(PythonBuiltinBaseNode node, PDeque self, int index) {
+        int i = index < 0 ? index + self.getSize() : index;
+        if (i < 0 || i >= self.getSize()) {
+            throw node.raise(IndexError, ErrorMessages.DEQUE_INDEX_OUT_OF_RANGE);
+        }
+        return i;
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object repr(VirtualFrame frame, PDeque self,
+                        @CachedContext(PythonLanguage.class) PythonContext ctxt,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached GetNameNode getNameNode,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode) {
+            String name = getNameNode.execute(lib.getLazyPythonClass(self));
+            if (!ctxt.reprEnter(self)) {
+                return PythonUtils.format("%s([...])", name);
+            }
+            try {
+                StringBuilder result = PythonUtils.newStringBuilder(name);
+                PythonUtils.append(result, "([");
+                Object[] items = self.toArray();
+                for (int i = 0; i < items.length; i++) {
+                    if (i > 0) {
+                        PythonUtils.append(result, ", ");
+                    }
+                    Object reprString = reprNode.executeObject(frame, items[i]);
+                    if (reprString instanceof PString) {
+                        reprString = ((PString) reprString).getValue();
+                    }
+                    if (!(reprString instanceof String)) {
+                        throw raise(TypeError, ErrorMessages.RETURNED_NON_STRING, "__repr__", reprString);
+                    }
+                    PythonUtils.append(result, (String) reprString);
+                }
+                PythonUtils.append(result, "]");
+                if (self.isBounded()) {
+                    PythonUtils.append(result, PythonUtils.format(", maxlen=%d", self.getMaxLength()));
+                }
+                return PythonUtils.sbToString(PythonUtils.append(result, ")"));
+            } finally {
+                ctxt.reprLeave(self);
+            }
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object reduce(VirtualFrame frame, PDeque self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            Object contents = factory().createList(self.toArray());
+            Object args;
+            if (self.isBounded()) {
+                args = factory().createTuple(new Object[]{contents, self.getMaxLength()});
+            } else {
+                args = factory().createTuple(new Object[]{contents});
+            }
+            Object dict = lib.lookupAttribute(self, frame, __DICT__);
+            if (dict == PNone.NO_VALUE) {
+                dict = PNone.NONE;
+            }
+            return factory().createTuple(new Object[]{lib.getLazyPythonClass(self), args, dict});
+        }
+    }
+
+    @Builtin(name = __EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean eq(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createEq()") SequenceStorageNodes.CmpNode cmpNode) {
+            return cmpNode.execute(frame, asStorage(self), asStorage(other));
+        }
+
+        @Fallback
+        static PNotImplemented eq(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean ne(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createEq()") SequenceStorageNodes.CmpNode cmpNode) {
+            return !cmpNode.execute(frame, asStorage(self), asStorage(other));
+        }
+
+        @Fallback
+        static PNotImplemented ne(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean lt(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createLt()") SequenceStorageNodes.CmpNode cmpNode) {
+            return cmpNode.execute(frame, asStorage(self), asStorage(other));
+        }
+
+        @Fallback
+        static PNotImplemented lt(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean le(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createLe()") SequenceStorageNodes.CmpNode cmpNode) {
+            return cmpNode.execute(frame, asStorage(self), asStorage(other));
+        }
+
+        @Fallback
+        static PNotImplemented le(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean gt(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createGt()") SequenceStorageNodes.CmpNode cmpNode) {
+            return cmpNode.execute(frame, asStorage(self), asStorage(other));
+        }
+
+        @Fallback
+        static PNotImplemented gt(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static boolean ge(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached("createGe()") SequenceStorageNodes.CmpNode cmpNode) {
+            return cmpNode.execute(frame, asStorage(self), asStorage(other));
+        }
+
+        @Fallback
+        static PNotImplemented ge(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object other) {
+            return PNotImplemented.NOT_IMPLEMENTED;
+        }
+    }
+
+    @Builtin(name = __ADD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class AddNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PDeque add(VirtualFrame frame, PDeque self, PDeque other,
+                        @Cached DequeCopyNode copyNode,
+                        @Cached DequeExtendNode extendNode) {
+            PDeque result = copyNode.execute(frame, self);
+            extendNode.execute(frame, result, other);
+            return result;
+        }
+
+        @Fallback
+        Object add(@SuppressWarnings("unused") Object self, Object other) {
+            throw raise(TypeError, ErrorMessages.CAN_ONLY_CONCAT_S_NOT_P_TO_S, "deque", other, "deque");
+        }
+    }
+
+    @Builtin(name = __IADD__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class IAddNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PDeque iadd(VirtualFrame frame, PDeque self, Object other,
+                        @Cached DequeExtendNode extendNode) {
+            extendNode.execute(frame, self, other);
+            return self;
+        }
+    }
+
+    @Builtin(name = __IMUL__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeIMulNode extends PythonBinaryBuiltinNode {
+
+        public abstract PDeque execute(VirtualFrame frame, PDeque self, Object times);
+
+        @Specialization
+        PDeque imul(VirtualFrame frame, PDeque self, Object times,
+                        @Cached PyNumberAsSizeNode asSizeNode) {
+            int n = asSizeNode.executeExact(frame, times);
+            if (n <= 0) {
+                self.clear();
+                return self;
+            }
+            Object[] items = self.toArray();
+            if (n == 1 || items.length == 0) {
+                return self;
+            }
+            long repeats = n - 1;
+            if (self.isBounded()) {
+                // older items fall off the left end anyway, one more round than fits is enough
+                repeats = Math.min(repeats, self.getMaxLength() / items.length + 1);
+            } else if ((long) items.length * n > Integer.MAX_VALUE) {
+                throw raise(MemoryError);
+            }
+            for (long r = 0; r < repeats; r++) {
+                for (Object item : items) {
+                    self.append(item);
+                }
+            }
+            return self;
+        }
+
+        public static DequeIMulNode create() {
+            return DequeBuiltinsFactory.DequeIMulNodeFactory.create();
+        }
+    }
+
+    @Builtin(name = __MUL__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DequeMulNode extends PythonBinaryBuiltinNode {
+
+        public abstract PDeque execute(VirtualFrame frame, PDeque self, Object times);
+
+        @Specialization
+        static PDeque mul(VirtualFrame frame, PDeque self, Object times,
+                        @Cached DequeCopyNode copyNode,
+                        @Cached DequeIMulNode imulNode) {
+            return imulNode.execute(frame, copyNode.execute(frame, self), times);
+        }
+
+        public static DequeMulNode create() {
+            return DequeBuiltinsFactory.DequeMulNodeFactory.create();
+        }
+    }
+
+    @Builtin(name = __RMUL__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class RMulNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PDeque rmul(VirtualFrame frame, PDeque self, Object times,
+                        @Cached DequeMulNode mulNode) {
+            return mulNode.execute(frame, self, times);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.deque;
+
+import java.util.Arrays;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code _collections.deque}. The items are kept in a circular array whose capacity is always
+ * a power of two, so that both ends can be pushed and popped in amortized constant time and
+ * indexing is a single masked array access. The {@link #getState() state} is bumped on every
+ * structural change and is used by iterators and searches to detect concurrent mutation.
+ */
+public final class PDeque extends PythonBuiltinObject {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] items = new Object[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    private int maxLength = -1;
+    private int state;
+
+    public PDeque(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the maximal length or {@code -1} if the deque is unbounded.
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public void setMaxLength(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    public boolean isBounded() {
+        return maxLength >= 0;
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    private int mask() {
+        return items.length - 1;
+    }
+
+    private int physical(int index) {
+        return (head + index) & mask();
+    }
+
+    public Object get(int index) {
+        assert 0 <= index && index < size;
+        return items[physical(index)];
+    }
+
+    public void set(int index, Object value) {
+        assert 0 <= index && index < size;
+        items[physical(index)] = value;
+    }
+
+    /**
+     * Appends to the right end. If the deque is bounded and full, the leftmost item is discarded
+     * and returned, otherwise the result is {@code null}.
+     */
+    public Object append(Object value) {
+        if (maxLength == 0) {
+            return null;
+        }
+        Object discarded = null;
+        if (size == maxLength) {
+            discarded = popLeft();
+        }
+        ensureCapacity();
+        items[physical(size)] = value;
+        size++;
+        state++;
+        return discarded;
+    }
+
+    /**
+     * Appends to the left end. If the deque is bounded and full, the rightmost item is discarded
+     * and returned, otherwise the result is {@code null}.
+     */
+    public Object appendLeft(Object value) {
+        if (maxLength == 0) {
+            return null;
+        }
+        Object discarded = null;
+        if (size == maxLength) {
+            discarded = pop();
+        }
+        ensureCapacity();
+        head = (head - 1) & mask();
+        items[head] = value;
+        size++;
+        state++;
+        return discarded;
+    }
+
+    /**
+     * Removes and returns the rightmost item or returns {@code null} if the deque is empty.
+     */
+    public Object pop() {
+        if (size == 0) {
+            return null;
+        }
+        int idx = physical(size - 1);
+        Object value = items[idx];
+        items[idx] = null;
+        size--;
+        state++;
+        return value;
+    }
+
+    /**
+     * Removes and returns the leftmost item or returns {@code null} if the deque is empty.
+     */
+    public Object popLeft() {
+        if (size == 0) {
+            return null;
+        }
+        Object value = items[head];
+        items[head] = null;
+        head = (head + 1) & mask();
+        size--;
+        state++;
+        return value;
+    }
+
+    public void clear() {
+        items = new Object[INITIAL_CAPACITY];
+        head = 0;
+        size = 0;
+        state++;
+    }
+
+    /**
+     * Inserts the value before {@code index}, which must be in the range {@code [0, size]}. Only
+     * the shorter side of the deque is moved.
+     */
+    @TruffleBoundary
+    public void insert(int index, Object value) {
+        assert 0 <= index && index <= size;
+        ensureCapacity();
+        if (index < size / 2) {
+            head = (head - 1) & mask();
+            for (int i = 0; i < index; i++) {
+                items[physical(i)] = items[physical(i + 1)];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                items[physical(i)] = items[physical(i - 1)];
+            }
+        }
+        items[physical(index)] = value;
+        size++;
+        state++;
+    }
+
+    /**
+     * Removes the item at {@code index}, which must be in the range {@code [0, size)}. Only the
+     * shorter side of the deque is moved.
+     */
+    @TruffleBoundary
+    public Object delete(int index) {
+        assert 0 <= index && index < size;
+        Object value = items[physical(index)];
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--) {
+                items[physical(i)] = items[physical(i - 1)];
+            }
+            items[head] = null;
+            head = (head + 1) & mask();
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                items[physical(i)] = items[physical(i + 1)];
+            }
+            items[physical(size - 1)] = null;
+        }
+        size--;
+        state++;
+        return value;
+    }
+
+    /**
+     * Rotates the deque {@code n} steps to the right, or to the left if {@code n} is negative.
+     */
+    @TruffleBoundary
+    public void rotate(long n) {
+        if (size <= 1) {
+            return;
+        }
+        int steps = (int) (n % size);
+        if (steps < 0) {
+            steps += size;
+        }
+        if (steps == 0) {
+            return;
+        }
+        if (size == items.length) {
+            // the ring is full, so rotating is only moving the head
+            head = (head - steps) & mask();
+        } else if (steps <= size / 2) {
+            for (int i = 0; i < steps; i++) {
+                int last = physical(size - 1);
+                head = (head - 1) & mask();
+                items[head] = items[last];
+                items[last] = null;
+            }
+        } else {
+            for (int i = 0; i < size - steps; i++) {
+                items[physical(size)] = items[head];
+                items[head] = null;
+                head = (head + 1) & mask();
+            }
+        }
+        state++;
+    }
+
+    @TruffleBoundary
+    public void reverse() {
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int a = physical(i);
+            int b = physical(j);
+            Object tmp = items[a];
+            items[a] = items[b];
+            items[b] = tmp;
+        }
+        state++;
+    }
+
+    @TruffleBoundary
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        int firstChunk = Math.min(size, items.length - head);
+        System.arraycopy(items, head, result, 0, firstChunk);
+        System.arraycopy(items, 0, result, firstChunk, size - firstChunk);
+        return result;
+    }
+
+    private void ensureCapacity() {
+        if (size == items.length) {
+            grow();
+        }
+    }
+
+    @TruffleBoundary
+    private void grow() {
+        Object[] newItems = toArray();
+        items = Arrays.copyOf(newItems, Math.multiplyExact(items.length, 2));
+        head = 0;
+    }
+}
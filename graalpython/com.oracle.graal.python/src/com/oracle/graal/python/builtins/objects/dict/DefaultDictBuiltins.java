@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.dict;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__INIT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__MISSING__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.KeyError;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetNameNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.attributes.LookupAttributeInMRONode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.subscript.SetItemNode;
+import com.oracle.graal.python.nodes.util.CannotCastException;
+import com.oracle.graal.python.nodes.util.CastToJavaStringNode;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PDefaultDict)
+public final class DefaultDictBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return DefaultDictBuiltinsFactory.getFactories();
+    }
+
+    // defaultdict([default_factory[, ...]])
+    @Builtin(name = __INIT__, minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    abstract static class InitNode extends PythonBuiltinNode {
+        @Specialization(limit = "1")
+        Object init(VirtualFrame frame, PDefaultDict self, Object[] args, PKeyword[] kwargs,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached LookupAttributeInMRONode.Dynamic lookupDictInit,
+                        @Cached CallNode callNode) {
+            Object factory = PNone.NONE;
+            Object[] dictArgs;
+            if (args.length > 0) {
+                factory = args[0];
+                if (factory != PNone.NONE && !lib.isCallable(factory)) {
+                    throw raise(TypeError, ErrorMessages.FIRST_ARG_MUST_BE_CALLABLE_OR_NONE);
+                }
+                dictArgs = new Object[args.length];
+                PythonUtils.arraycopy(args, 1, dictArgs, 1, args.length - 1);
+            } else {
+                dictArgs = new Object[1];
+            }
+            self.setDefaultFactory(factory);
+            dictArgs[0] = self;
+            return callNode.execute(frame, lookupDictInit.execute(PythonBuiltinClassType.PDict, __INIT__), dictArgs, kwargs);
+        }
+    }
+
+    @Builtin(name = "default_factory", minNumOfPositionalArgs = 1, maxNumOfPositionalArgs = 2, isGetter = true, isSetter = true)
+    @GenerateNodeFactory
+    abstract static class DefaultFactoryNode extends PythonBinaryBuiltinNode {
+        @Specialization(guards = "isNoValue(noValue)")
+        static Object get(PDefaultDict self, @SuppressWarnings("unused") PNone noValue) {
+            return self.getDefaultFactory();
+        }
+
+        @Specialization(guards = "!isNoValue(value)")
+        static Object set(PDefaultDict self, Object value) {
+            self.setDefaultFactory(value);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __MISSING__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    public abstract static class DefaultDictMissingNode extends PythonBinaryBuiltinNode {
+
+        public abstract Object execute(VirtualFrame frame, PDefaultDict self, Object key);
+
+        @Specialization(guards = "isNone(self.getDefaultFactory())")
+        Object noFactory(@SuppressWarnings("unused") PDefaultDict self, Object key) {
+            throw raise(KeyError, new Object[]{key});
+        }
+
+        @Specialization(guards = "!isNone(self.getDefaultFactory())")
+        static Object missing(VirtualFrame frame, PDefaultDict self, Object key,
+                        @Cached CallNode callNode,
+                        @Cached SetItemNode setItemNode) {
+            Object value = callNode.execute(frame, self.getDefaultFactory());
+            setItemNode.executeWith(frame, self, key, value);
+            return value;
+        }
+
+        public static DefaultDictMissingNode create() {
+            return DefaultDictBuiltinsFactory.DefaultDictMissingNodeFactory.create();
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object repr(VirtualFrame frame, PDefaultDict self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached GetNameNode getNameNode,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode factoryRepr,
+                        @Cached("createDictRepr()") PythonUnaryBuiltinNode dictRepr,
+                        @Cached CastToJavaStringNode castStr) {
+            String name = getNameNode.execute(lib.getLazyPythonClass(self));
+            Object factory = factoryRepr.executeObject(frame, self.getDefaultFactory());
+            try {
+                return PythonUtils.format("%s(%s, %s)", name, castStr.execute(factory), castStr.execute(dictRepr.call(frame, self)));
+            } catch (CannotCastException e) {
+                throw raise(TypeError, ErrorMessages.RETURNED_NON_STRING, "__repr__", factory);
+            }
+        }
+
+        protected static PythonUnaryBuiltinNode createDictRepr() {
+            return DictReprBuiltinFactory.ReprNodeFactory.create();
+        }
+    }
+
+    @Builtin(name = "copy", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    public abstract static class DefaultDictCopyNode extends PythonUnaryBuiltinNode {
+
+        public abstract Object execute(VirtualFrame frame, PDefaultDict self);
+
+        @Specialization(guards = "isBuiltinDefaultDict(self, lib)", limit = "1")
+        PDefaultDict copyBuiltin(PDefaultDict self,
+                        @SuppressWarnings("unused") @CachedLibrary("self") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "1") HashingStorageLibrary storageLib) {
+            PDefaultDict copy = factory().createDefaultDict(PythonBuiltinClassType.PDefaultDict);
+            copy.setDefaultFactory(self.getDefaultFactory());
+            copy.setDictStorage(storageLib.copy(self.getDictStorage()));
+            return copy;
+        }
+
+        @Specialization(guards = "!isBuiltinDefaultDict(self, lib)", limit = "1")
+        static Object copySubclass(VirtualFrame frame, PDefaultDict self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached CallNode callNode) {
+            return callNode.execute(frame, lib.getLazyPythonClass(self), self.getDefaultFactory(), self);
+        }
+
+        protected static boolean isBuiltinDefaultDict(PDefaultDict self, PythonObjectLibrary lib) {
+            return lib.getLazyPythonClass(self) == PythonBuiltinClassType.PDefaultDict;
+        }
+
+        public static DefaultDictCopyNode create() {
+            return DefaultDictBuiltinsFactory.DefaultDictCopyNodeFactory.create();
+        }
+    }
+
+    @Builtin(name = __COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object copy(VirtualFrame frame, PDefaultDict self,
+                        @Cached DefaultDictCopyNode copyNode) {
+            return copyNode.execute(frame, self);
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object reduce(VirtualFrame frame, PDefaultDict self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "1") PythonObjectLibrary itemsLib) {
+            Object factory = self.getDefaultFactory();
+            Object args = factory == PNone.NONE ? factory().createEmptyTuple() : factory().createTuple(new Object[]{factory});
+            Object items = itemsLib.getIteratorWithState(factory().createDictItemsView(self), PArguments.getThreadState(frame));
+            return factory().createTuple(new Object[]{lib.getLazyPythonClass(self), args, PNone.NONE, PNone.NONE, items});
+        }
+    }
+}
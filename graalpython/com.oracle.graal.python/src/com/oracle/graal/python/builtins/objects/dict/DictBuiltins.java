@@ -61,6 +61,7 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorage.StorageSup
 import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
 import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary.HashingStorageIterator;
 import com.oracle.graal.python.builtins.objects.common.SequenceNodes;
+import com.oracle.graal.python.builtins.objects.dict.DefaultDictBuiltins.DefaultDictMissingNode;
 import com.oracle.graal.python.builtins.objects.dict.DictBuiltinsFactory.DispatchMissingNodeGen;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
 import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
@@ -328,6 +329,16 @@ public final class DictBuiltins extends PythonBuiltins {
 
         protected abstract Object execute(VirtualFrame frame, Object self, Object key);
 
+        /**
+         * A builtin {@code defaultdict} does not need the {@code __missing__} lookup and call.
+         */
+        @Specialization(guards = "isBuiltinDefaultDict(self, lib)", limit = "1")
+        protected static Object defaultDictMissing(VirtualFrame frame, PDefaultDict self, Object key,
+                        @SuppressWarnings("unused") @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached DefaultDictMissingNode missing) {
+            return missing.execute(frame, self, key);
+        }
+
         @Specialization(guards = "hasMissing(self, lib)", limit = "1")
         protected static Object misssing(VirtualFrame frame, Object self, Object key,
                         @CachedLibrary("self") PythonObjectLibrary lib) {
@@ -344,6 +355,10 @@ public final class DictBuiltins extends PythonBuiltins {
         protected static boolean hasMissing(Object self, PythonObjectLibrary lib) {
             return lib.lookupAttributeOnType(self, __MISSING__) != NO_VALUE;
         }
+
+        protected static boolean isBuiltinDefaultDict(PDefaultDict self, PythonObjectLibrary lib) {
+            return lib.getLazyPythonClass(self) == PythonBuiltinClassType.PDefaultDict;
+        }
     }
 
     protected abstract static class DefaultMissingNode extends PythonBinaryBuiltinNode {
@@ -59,7 +59,7 @@ import com.oracle.truffle.api.profiles.BranchProfile;
 import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @ExportLibrary(PythonObjectLibrary.class)
-public final class PDict extends PHashingCollection {
+public class PDict extends PHashingCollection {
 
     public PDict(PythonLanguage lang) {
         this(PythonBuiltinClassType.PDict, PythonBuiltinClassType.PDict.getInstanceShape(lang));
@@ -31,6 +31,8 @@ import com.oracle.graal.python.builtins.objects.frame.PFrame;
 import com.oracle.graal.python.builtins.objects.generator.GeneratorControlData;
 import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.nodes.function.ClassBodyRootNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.graal.python.util.PythonUtils;
 import com.oracle.truffle.api.CompilerDirectives.ValueType;
@@ -64,6 +66,8 @@ import com.oracle.truffle.api.profiles.ConditionProfile;
  *                                         +-------------------+
  * INDEX_CURRENT_EXCEPTION              -> | PException        |
  *                                         +-------------------+
+ * INDEX_THREAD_STATE                   -> | PythonThreadState |
+ *                                         +-------------------+
  * USER_ARGUMENTS                       -> | arg_0             |
  *                                         | arg_1             |
  *                                         | ...               |
@@ -101,7 +105,8 @@ public final class PArguments {
     private static final int INDEX_CALLER_FRAME_INFO = 6;
     private static final int INDEX_CURRENT_FRAME_INFO = 7;
     private static final int INDEX_CURRENT_EXCEPTION = 8;
-    public static final int USER_ARGUMENTS_OFFSET = 9;
+    private static final int INDEX_THREAD_STATE = 9;
+    public static final int USER_ARGUMENTS_OFFSET = 10;
 
     public static boolean isPythonFrame(Frame frame) {
         return frame != null && isPythonFrame(frame.getArguments());
@@ -271,6 +276,27 @@ public final class PArguments {
         arguments[INDEX_CURRENT_EXCEPTION] = exc;
     }
 
+    /**
+     * The thread state of the thread that made the call, if the caller passed it along. It may be
+     * {@code null} or stale (e.g. for a generator resumed on another thread), so use
+     * {@link PythonContext#getThreadState(PythonThreadState)} to validate it.
+     */
+    public static PythonThreadState getThreadStateFromCaller(Object[] arguments) {
+        return (PythonThreadState) arguments[INDEX_THREAD_STATE];
+    }
+
+    /**
+     * Like {@link #getThreadStateFromCaller(Object[])}, but {@code null} if there is no Python
+     * frame.
+     */
+    public static PythonThreadState getThreadStateFromCaller(Frame frame) {
+        return isPythonFrame(frame) ? getThreadStateFromCaller(frame.getArguments()) : null;
+    }
+
+    public static void setThreadStateFromCaller(Object[] arguments, PythonThreadState threadState) {
+        arguments[INDEX_THREAD_STATE] = threadState;
+    }
+
     public static void setClosure(Object[] arguments, PCell[] closure) {
         arguments[INDEX_CLOSURE] = closure;
     }
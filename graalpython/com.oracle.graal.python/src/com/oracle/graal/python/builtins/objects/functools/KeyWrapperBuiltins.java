@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.functools;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CALL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EQ__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__HASH__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__LT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NE__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.expression.BinaryComparisonNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.runtime.PythonCore;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PKeyWrapper)
+public final class KeyWrapperBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return KeyWrapperBuiltinsFactory.getFactories();
+    }
+
+    @Override
+    public void initialize(PythonCore core) {
+        super.initialize(core);
+        builtinConstants.put(__HASH__, PNone.NONE);
+    }
+
+    /**
+     * Calls the comparison function on the wrapped objects. Its result is then compared to zero.
+     */
+    static Object callCmp(VirtualFrame frame, PKeyWrapper self, PKeyWrapper other, CallNode callNode) {
+        return callNode.execute(frame, self.getCmp(), wrapped(self), wrapped(other));
+    }
+
+    private static Object wrapped(PKeyWrapper wrapper) {
+        Object object = wrapper.getObject();
+        return object != null ? object : PNone.NONE;
+    }
+
+    @Builtin(name = __CALL__, minNumOfPositionalArgs = 2, parameterNames = {"$self", "obj"})
+    @GenerateNodeFactory
+    abstract static class CallKeyNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PKeyWrapper call(PKeyWrapper self, Object obj) {
+            return factory().createKeyWrapper(self.getCmp(), obj);
+        }
+    }
+
+    @Builtin(name = "obj", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ObjNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object obj(PKeyWrapper self) {
+            return wrapped(self);
+        }
+    }
+
+    abstract static class KeyWrapperCmpNode extends PythonBinaryBuiltinNode {
+        @Fallback
+        Object other(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object other) {
+            throw raise(TypeError, ErrorMessages.OTHER_ARG_MUST_BE_KEY_WRAPPER);
+        }
+    }
+
+    @Builtin(name = __LT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LtNode extends KeyWrapperCmpNode {
+        @Specialization
+        static Object lt(VirtualFrame frame, PKeyWrapper self, PKeyWrapper other,
+                        @Cached CallNode callNode,
+                        @Cached BinaryComparisonNode.LtNode compNode) {
+            return compNode.executeWith(frame, callCmp(frame, self, other, callNode), 0);
+        }
+    }
+
+    @Builtin(name = __LE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class LeNode extends KeyWrapperCmpNode {
+        @Specialization
+        static Object le(VirtualFrame frame, PKeyWrapper self, PKeyWrapper other,
+                        @Cached CallNode callNode,
+                        @Cached BinaryComparisonNode.LeNode compNode) {
+            return compNode.executeWith(frame, callCmp(frame, self, other, callNode), 0);
+        }
+    }
+
+    @Builtin(name = __EQ__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class EqNode extends KeyWrapperCmpNode {
+        @Specialization
+        static Object eq(VirtualFrame frame, PKeyWrapper self, PKeyWrapper other,
+                        @Cached CallNode callNode,
+                        @Cached BinaryComparisonNode.EqNode compNode) {
+            return compNode.executeWith(frame, callCmp(frame, self, other, callNode), 0);
+        }
+    }
+
+    @Builtin(name = __NE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class NeNode extends KeyWrapperCmpNode {
+        @Specialization
+        static Object ne(VirtualFrame frame, PKeyWrapper self, PKeyWrapper other,
+                        @Cached CallNode callNode,
+                        @Cached BinaryComparisonNode.NeNode compNode) {
+            return compNode.executeWith(frame, callCmp(frame, self, other, callNode), 0);
+        }
+    }
+
+    @Builtin(name = __GT__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GtNode extends KeyWrapperCmpNode {
+        @Specialization
+        static Object gt(VirtualFrame frame, PKeyWrapper self, PKeyWrapper other,
+                        @Cached CallNode callNode,
+                        @Cached BinaryComparisonNode.GtNode compNode) {
+            return compNode.executeWith(frame, callCmp(frame, self, other, callNode), 0);
+        }
+    }
+
+    @Builtin(name = __GE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class GeNode extends KeyWrapperCmpNode {
+        @Specialization
+        static Object ge(VirtualFrame frame, PKeyWrapper self, PKeyWrapper other,
+                        @Cached CallNode callNode,
+                        @Cached BinaryComparisonNode.GeNode compNode) {
+            return compNode.executeWith(frame, callCmp(frame, self, other, callNode), 0);
+        }
+    }
+}
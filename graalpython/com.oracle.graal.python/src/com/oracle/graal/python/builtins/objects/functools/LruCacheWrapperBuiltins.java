@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.functools;
+
+import static com.oracle.graal.python.nodes.SpecialAttributeNames.__QUALNAME__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CALL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__COPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__DEEPCOPY__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__GET__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.functools.PLruCacheWrapper.Link;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.attributes.GetAttributeNode.GetFixedAttributeNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PLruCacheWrapper)
+public final class LruCacheWrapperBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return LruCacheWrapperBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __CALL__, minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    public abstract static class LruCacheCallNode extends PythonVarargsBuiltinNode {
+
+        @Specialization(guards = "self.getMaxSize() == 0")
+        static Object uncached(VirtualFrame frame, PLruCacheWrapper self, Object[] arguments, PKeyword[] keywords,
+                        @Shared("callNode") @Cached CallNode callNode) {
+            self.miss();
+            return callNode.execute(frame, self.getFunction(), arguments, keywords);
+        }
+
+        @Specialization(guards = "self.getMaxSize() < 0")
+        Object unbounded(VirtualFrame frame, PLruCacheWrapper self, Object[] arguments, PKeyword[] keywords,
+                        @Shared("callNode") @Cached CallNode callNode,
+                        @Shared("lib") @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Shared("hlib") @CachedLibrary(limit = "2") HashingStorageLibrary hlib,
+                        @Shared("hasFrame") @Cached ConditionProfile hasFrame) {
+            Object key = makeKey(self, arguments, keywords, lib);
+            Object result = hlib.getItemWithFrame(self.getCache(), key, hasFrame, frame);
+            if (result != null) {
+                self.hit();
+                return result;
+            }
+            self.miss();
+            result = callNode.execute(frame, self.getFunction(), arguments, keywords);
+            self.setCache(hlib.setItemWithFrame(self.getCache(), key, result, hasFrame, frame));
+            return result;
+        }
+
+        @Specialization(guards = "self.getMaxSize() > 0")
+        Object bounded(VirtualFrame frame, PLruCacheWrapper self, Object[] arguments, PKeyword[] keywords,
+                        @Shared("callNode") @Cached CallNode callNode,
+                        @Shared("lib") @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Shared("hlib") @CachedLibrary(limit = "2") HashingStorageLibrary hlib,
+                        @Shared("hasFrame") @Cached ConditionProfile hasFrame,
+                        @Cached ConditionProfile fullProfile) {
+            Object key = makeKey(self, arguments, keywords, lib);
+            Object link = hlib.getItemWithFrame(self.getCache(), key, hasFrame, frame);
+            if (link != null) {
+                self.touch((Link) link);
+                self.hit();
+                return ((Link) link).getResult();
+            }
+            self.miss();
+            Object result = callNode.execute(frame, self.getFunction(), arguments, keywords);
+            HashingStorage cache = self.getCache();
+            // the call may have re-entered the wrapper and already cached the same key
+            if (!hlib.hasKeyWithFrame(cache, key, hasFrame, frame)) {
+                if (fullProfile.profile(hlib.length(cache) >= self.getMaxSize())) {
+                    Link oldest = self.removeOldest();
+                    cache = hlib.delItemWithFrame(cache, oldest.getKey(), hasFrame, frame);
+                }
+                self.setCache(hlib.setItemWithFrame(cache, key, self.addLink(key, result), hasFrame, frame));
+            }
+            return result;
+        }
+
+        /**
+         * Builds the cache key like {@code functools._make_key}: the positional arguments, a marker
+         * and the keyword items, followed by the argument types if the cache is typed. A single
+         * {@code int} or {@code str} argument is used as the key directly.
+         */
+        private Object makeKey(PLruCacheWrapper self, Object[] arguments, PKeyword[] keywords, PythonObjectLibrary lib) {
+            boolean typed = self.isTyped();
+            if (keywords.length == 0 && !typed && arguments.length == 1) {
+                Object cls = lib.getLazyPythonClass(arguments[0]);
+                if (cls == PythonBuiltinClassType.PInt || cls == PythonBuiltinClassType.PString) {
+                    return arguments[0];
+                }
+            }
+            int length = arguments.length;
+            if (keywords.length > 0) {
+                length += 1 + 2 * keywords.length;
+            }
+            if (typed) {
+                length += arguments.length + keywords.length;
+            }
+            Object[] key = new Object[length];
+            PythonUtils.arraycopy(arguments, 0, key, 0, arguments.length);
+            int i = arguments.length;
+            if (keywords.length > 0) {
+                key[i++] = self.getKwdMark();
+                for (PKeyword keyword : keywords) {
+                    key[i++] = keyword.getName();
+                    key[i++] = keyword.getValue();
+                }
+            }
+            if (typed) {
+                for (Object arg : arguments) {
+                    key[i++] = lib.getLazyPythonClass(arg);
+                }
+                for (PKeyword keyword : keywords) {
+                    key[i++] = lib.getLazyPythonClass(keyword.getValue());
+                }
+            }
+            return factory().createTuple(key);
+        }
+
+        @Override
+        public Object varArgExecute(VirtualFrame frame, @SuppressWarnings("unused") Object self, Object[] arguments, PKeyword[] keywords) throws VarargsBuiltinDirectInvocationNotSupported {
+            Object[] argsWithoutSelf = new Object[arguments.length - 1];
+            PythonUtils.arraycopy(arguments, 1, argsWithoutSelf, 0, argsWithoutSelf.length);
+            return execute(frame, arguments[0], argsWithoutSelf, keywords);
+        }
+    }
+
+    @Builtin(name = "cache_info", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CacheInfoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object cacheInfo(VirtualFrame frame, PLruCacheWrapper self,
+                        @CachedLibrary(limit = "2") HashingStorageLibrary hlib,
+                        @Cached CallNode callNode) {
+            Object maxSize = self.getMaxSize() < 0 ? PNone.NONE : self.getMaxSize();
+            return callNode.execute(frame, self.getCacheInfoType(), self.getHits(), self.getMisses(), maxSize, hlib.length(self.getCache()));
+        }
+    }
+
+    @Builtin(name = "cache_clear", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CacheClearNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone cacheClear(PLruCacheWrapper self) {
+            self.clear(EconomicMapStorage.create());
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = __GET__, minNumOfPositionalArgs = 2, parameterNames = {"self", "obj", "type"})
+    @GenerateNodeFactory
+    abstract static class GetNode extends PythonTernaryBuiltinNode {
+        @Specialization(guards = "isPNone(obj)")
+        static Object getUnbound(PLruCacheWrapper self, @SuppressWarnings("unused") Object obj, @SuppressWarnings("unused") Object type) {
+            return self;
+        }
+
+        @Specialization(guards = "!isPNone(obj)")
+        Object getBound(PLruCacheWrapper self, Object obj, @SuppressWarnings("unused") Object type) {
+            return factory().createMethod(obj, self);
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object reduce(VirtualFrame frame, PLruCacheWrapper self,
+                        @Cached("create(__QUALNAME__)") GetFixedAttributeNode getQualNameNode) {
+            return getQualNameNode.executeObject(frame, self);
+        }
+    }
+
+    @Builtin(name = __COPY__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CopyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object copy(PLruCacheWrapper self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __DEEPCOPY__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class DeepCopyNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static Object deepcopy(PLruCacheWrapper self, @SuppressWarnings("unused") Object memo) {
+            return self;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.functools;
+
+import com.oracle.graal.python.builtins.objects.common.EconomicMapStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code functools._lru_cache_wrapper}. The cache maps keys to {@link Link links} of an
+ * intrusive circular doubly linked list ordered from the least to the most recently used entry.
+ * The {@link #root} link is a sentinel, its successor is the oldest entry.
+ */
+public final class PLruCacheWrapper extends PythonBuiltinObject {
+
+    public static final class Link {
+        Link prev;
+        Link next;
+        final Object key;
+        final Object result;
+
+        Link(Object key, Object result) {
+            this.key = key;
+            this.result = result;
+        }
+
+        public Object getKey() {
+            return key;
+        }
+
+        public Object getResult() {
+            return result;
+        }
+    }
+
+    private final Object function;
+    private final int maxSize;
+    private final boolean typed;
+    private final Object cacheInfoType;
+    private final Object kwdMark;
+    private final Link root = new Link(null, null);
+    private HashingStorage cache = EconomicMapStorage.create();
+    private long hits;
+    private long misses;
+
+    public PLruCacheWrapper(Object cls, Shape instanceShape, Object function, int maxSize, boolean typed, Object cacheInfoType, Object kwdMark) {
+        super(cls, instanceShape);
+        this.function = function;
+        this.maxSize = maxSize;
+        this.typed = typed;
+        this.cacheInfoType = cacheInfoType;
+        this.kwdMark = kwdMark;
+        root.prev = root;
+        root.next = root;
+    }
+
+    public Object getFunction() {
+        return function;
+    }
+
+    /**
+     * Returns the maximal number of entries or {@code -1} if the cache is unbounded.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public boolean isTyped() {
+        return typed;
+    }
+
+    public Object getCacheInfoType() {
+        return cacheInfoType;
+    }
+
+    public Object getKwdMark() {
+        return kwdMark;
+    }
+
+    public HashingStorage getCache() {
+        return cache;
+    }
+
+    public void setCache(HashingStorage cache) {
+        this.cache = cache;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void hit() {
+        hits++;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void miss() {
+        misses++;
+    }
+
+    /**
+     * Moves the link to the most recently used end of the list.
+     */
+    public void touch(Link link) {
+        unlink(link);
+        append(link);
+    }
+
+    /**
+     * Creates a link for a new cache entry at the most recently used end of the list.
+     */
+    public Link addLink(Object key, Object result) {
+        Link link = new Link(key, result);
+        append(link);
+        return link;
+    }
+
+    /**
+     * Removes and returns the least recently used link.
+     */
+    public Link removeOldest() {
+        Link oldest = root.next;
+        assert oldest != root;
+        unlink(oldest);
+        return oldest;
+    }
+
+    public void clear(HashingStorage emptyCache) {
+        cache = emptyCache;
+        root.prev = root;
+        root.next = root;
+        hits = 0;
+        misses = 0;
+    }
+
+    private void append(Link link) {
+        Link last = root.prev;
+        last.next = link;
+        link.prev = last;
+        link.next = root;
+        root.prev = link;
+    }
+
+    private static void unlink(Link link) {
+        link.prev.next = link.next;
+        link.next.prev = link.prev;
+    }
+}
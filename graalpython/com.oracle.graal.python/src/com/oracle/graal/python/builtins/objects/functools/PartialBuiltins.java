@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.functools;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__CALL__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REPR__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETSTATE__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes.GetObjectArrayNode;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.function.PKeyword;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.str.PString;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.builtins.objects.type.TypeNodes.GetNameNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.argument.keywords.ExpandKeywordStarargsNode;
+import com.oracle.graal.python.nodes.call.CallNode;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonVarargsBuiltinNode;
+import com.oracle.graal.python.runtime.PythonContext;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.CachedContext;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.interop.UnsupportedMessageException;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PPartial)
+public final class PartialBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PartialBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Returns the stored positional arguments followed by the call-site arguments.
+     */
+    public static Object[] concatArgs(Object[] stored, Object[] args) {
+        if (stored.length == 0) {
+            return args;
+        } else if (args.length == 0) {
+            return stored;
+        }
+        Object[] result = new Object[stored.length + args.length];
+        PythonUtils.arraycopy(stored, 0, result, 0, stored.length);
+        PythonUtils.arraycopy(args, 0, result, stored.length, args.length);
+        return result;
+    }
+
+    /**
+     * Merges the keywords like {@code {**stored, **keywords}} would, i.e., the call-site keywords
+     * override the stored ones.
+     */
+    public static PKeyword[] mergeKeywords(PKeyword[] stored, PKeyword[] keywords) {
+        if (stored.length == 0) {
+            return keywords;
+        } else if (keywords.length == 0) {
+            return stored;
+        }
+        return mergeKeywordsBoundary(stored, keywords);
+    }
+
+    @TruffleBoundary
+    private static PKeyword[] mergeKeywordsBoundary(PKeyword[] stored, PKeyword[] keywords) {
+        PKeyword[] result = new PKeyword[stored.length + keywords.length];
+        PythonUtils.arraycopy(stored, 0, result, 0, stored.length);
+        int length = stored.length;
+        outer: for (PKeyword keyword : keywords) {
+            for (int i = 0; i < stored.length; i++) {
+                if (stored[i].getName().equals(keyword.getName())) {
+                    result[i] = keyword;
+                    continue outer;
+                }
+            }
+            result[length++] = keyword;
+        }
+        return length == result.length ? result : PythonUtils.arrayCopyOf(result, length);
+    }
+
+    @Builtin(name = __CALL__, minNumOfPositionalArgs = 1, takesVarArgs = true, takesVarKeywordArgs = true)
+    @GenerateNodeFactory
+    public abstract static class PartialCallNode extends PythonVarargsBuiltinNode {
+        @Specialization
+        static Object call(VirtualFrame frame, PPartial self, Object[] arguments, PKeyword[] keywords,
+                        @Cached ExpandKeywordStarargsNode expandKeywordsNode,
+                        @Cached CallNode callNode) {
+            PKeyword[] callKeywords = mergeKeywords(expandKeywordsNode.execute(self.getKw()), keywords);
+            return callNode.execute(frame, self.getFn(), concatArgs(self.getArgs(), arguments), callKeywords);
+        }
+
+        @Override
+        public Object varArgExecute(VirtualFrame frame, @SuppressWarnings("unused") Object self, Object[] arguments, PKeyword[] keywords) throws VarargsBuiltinDirectInvocationNotSupported {
+            Object[] argsWithoutSelf = new Object[arguments.length - 1];
+            PythonUtils.arraycopy(arguments, 1, argsWithoutSelf, 0, argsWithoutSelf.length);
+            return execute(frame, arguments[0], argsWithoutSelf, keywords);
+        }
+    }
+
+    @Builtin(name = "func", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class FuncNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static Object func(PPartial self) {
+            return self.getFn();
+        }
+    }
+
+    @Builtin(name = "args", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ArgsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PTuple args(PPartial self) {
+            return factory().createTuple(self.getArgs());
+        }
+    }
+
+    @Builtin(name = "keywords", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class KeywordsNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PDict keywords(PPartial self) {
+            return self.getKw();
+        }
+    }
+
+    @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object repr(VirtualFrame frame, PPartial self,
+                        @CachedContext(PythonLanguage.class) PythonContext ctxt,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @Cached GetNameNode getNameNode,
+                        @Cached ExpandKeywordStarargsNode expandKeywordsNode,
+                        @Cached("create(__REPR__)") LookupAndCallUnaryNode reprNode) {
+            Object cls = lib.getLazyPythonClass(self);
+            String name = cls == PythonBuiltinClassType.PPartial ? "functools.partial" : getNameNode.execute(cls);
+            if (!ctxt.reprEnter(self)) {
+                return "...";
+            }
+            try {
+                StringBuilder result = PythonUtils.newStringBuilder(name);
+                PythonUtils.append(result, "(");
+                PythonUtils.append(result, reprString(frame, self.getFn(), reprNode));
+                for (Object arg : self.getArgs()) {
+                    PythonUtils.append(result, ", ");
+                    PythonUtils.append(result, reprString(frame, arg, reprNode));
+                }
+                for (PKeyword keyword : expandKeywordsNode.execute(self.getKw())) {
+                    PythonUtils.append(result, ", ");
+                    PythonUtils.append(result, keyword.getName());
+                    PythonUtils.append(result, "=");
+                    PythonUtils.append(result, reprString(frame, keyword.getValue(), reprNode));
+                }
+                return PythonUtils.sbToString(PythonUtils.append(result, ")"));
+            } finally {
+                ctxt.reprLeave(self);
+            }
+        }
+
+        private String reprString(VirtualFrame frame, Object obj, LookupAndCallUnaryNode reprNode) {
+            Object reprString = reprNode.executeObject(frame, obj);
+            if (reprString instanceof PString) {
+                return ((PString) reprString).getValue();
+            } else if (reprString instanceof String) {
+                return (String) reprString;
+            }
+            throw raise(TypeError, ErrorMessages.RETURNED_NON_STRING, "__repr__", reprString);
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object reduce(PPartial self,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "2") HashingStorageLibrary hlib) {
+            Object kw = hlib.length(self.getKw().getDictStorage()) == 0 ? PNone.NONE : self.getKw();
+            Object dict = lib.getDict(self);
+            if (dict == null || hlib.length(((PDict) dict).getDictStorage()) == 0) {
+                dict = PNone.NONE;
+            }
+            Object[] state = new Object[]{self.getFn(), factory().createTuple(self.getArgs()), kw, dict};
+            return factory().createTuple(new Object[]{lib.getLazyPythonClass(self), factory().createTuple(new Object[]{self.getFn()}), factory().createTuple(state)});
+        }
+    }
+
+    @Builtin(name = __SETSTATE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class SetStateNode extends PythonBinaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object setState(PPartial self, PTuple state,
+                        @CachedLibrary("self") PythonObjectLibrary lib,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary stateLib,
+                        @CachedLibrary(limit = "2") HashingStorageLibrary hlib,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @Cached ConditionProfile exactDictProfile) {
+            Object[] items = getObjectArrayNode.execute(state);
+            if (items.length != 4) {
+                throw raise(TypeError, ErrorMessages.EXPECTED_D_ITEMS_IN_STATE_GOT_D, 4, items.length);
+            }
+            Object fn = items[0];
+            Object args = items[1];
+            Object kw = items[2];
+            Object dict = items[3];
+            if (!stateLib.isCallable(fn) || !(args instanceof PTuple) || (kw != PNone.NONE && !(kw instanceof PDict)) || (dict != PNone.NONE && !(dict instanceof PDict))) {
+                throw raise(TypeError, ErrorMessages.INVALID_PARTIAL_STATE);
+            }
+            PDict kwDict;
+            if (kw == PNone.NONE) {
+                kwDict = factory().createDict();
+            } else if (exactDictProfile.profile(stateLib.getLazyPythonClass(kw) == PythonBuiltinClassType.PDict)) {
+                kwDict = (PDict) kw;
+            } else {
+                kwDict = factory().createDict(hlib.copy(((PDict) kw).getDictStorage()));
+            }
+            try {
+                lib.setDict(self, dict == PNone.NONE ? factory().createDict() : (PDict) dict);
+            } catch (UnsupportedMessageException e) {
+                throw raise(TypeError, ErrorMessages.INVALID_PARTIAL_STATE);
+            }
+            self.setState(fn, getObjectArrayNode.execute(args), kwDict);
+            return PNone.NONE;
+        }
+
+        @Specialization(guards = "!isPTuple(state)")
+        Object setState(@SuppressWarnings("unused") PPartial self, @SuppressWarnings("unused") Object state) {
+            throw raise(TypeError, ErrorMessages.ARG_TO_SETSTATE_MUST_BE_TUPLE);
+        }
+    }
+}
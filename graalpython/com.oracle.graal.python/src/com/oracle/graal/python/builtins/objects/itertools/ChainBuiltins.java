@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ITER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__NEXT__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__REDUCE__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__SETSTATE__;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.StopIteration;
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.TypeError;
+
+import java.util.List;
+
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.common.SequenceNodes.GetObjectArrayNode;
+import com.oracle.graal.python.builtins.objects.iterator.IteratorNodes.IsIteratorObjectNode;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.control.GetNextNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Fallback;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PChain)
+public final class ChainBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return ChainBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = __ITER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class IterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PChain iter(PChain self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = __NEXT__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class NextNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object next(VirtualFrame frame, PChain self,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib,
+                        @Cached GetNextNode nextNode,
+                        @Cached IsBuiltinClassProfile stopIterationProfile) {
+            while (self.getSource() != null) {
+                if (self.getActive() == null) {
+                    try {
+                        self.setActive(lib.getIteratorWithFrame(nextNode.execute(frame, self.getSource()), frame));
+                    } catch (PException e) {
+                        self.setSource(null);
+                        throw e;
+                    }
+                }
+                try {
+                    return nextNode.execute(frame, self.getActive());
+                } catch (PException e) {
+                    e.expectStopIteration(stopIterationProfile);
+                    self.setActive(null);
+                }
+            }
+            throw raise(StopIteration);
+        }
+    }
+
+    @Builtin(name = "from_iterable", minNumOfPositionalArgs = 2, parameterNames = {"cls", "iterable"}, isClassmethod = true)
+    @GenerateNodeFactory
+    abstract static class FromIterableNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PChain fromIterable(VirtualFrame frame, Object cls, Object iterable,
+                        @CachedLibrary(limit = "3") PythonObjectLibrary lib) {
+            PChain chain = factory().createChain(cls);
+            chain.setSource(lib.getIteratorWithFrame(iterable, frame));
+            return chain;
+        }
+    }
+
+    @Builtin(name = __REDUCE__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class ReduceNode extends PythonUnaryBuiltinNode {
+        @Specialization(limit = "1")
+        Object reduce(PChain self,
+                        @CachedLibrary("self") PythonObjectLibrary lib) {
+            Object type = lib.getLazyPythonClass(self);
+            PTuple empty = factory().createEmptyTuple();
+            if (self.getSource() == null) {
+                return factory().createTuple(new Object[]{type, empty});
+            }
+            Object[] state = self.getActive() == null ? new Object[]{self.getSource()} : new Object[]{self.getSource(), self.getActive()};
+            return factory().createTuple(new Object[]{type, empty, factory().createTuple(state)});
+        }
+    }
+
+    @Builtin(name = __SETSTATE__, minNumOfPositionalArgs = 2)
+    @GenerateNodeFactory
+    abstract static class SetStateNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        Object setState(PChain self, PTuple state,
+                        @Cached GetObjectArrayNode getObjectArrayNode,
+                        @Cached IsIteratorObjectNode isIteratorNode) {
+            Object[] items = getObjectArrayNode.execute(state);
+            if (items.length != 1 && items.length != 2) {
+                throw raise(TypeError, ErrorMessages.STATE_IS_NOT_A_LENGTH_1_OR_2_TUPLE);
+            }
+            Object source = items[0];
+            Object active = items.length == 2 ? items[1] : null;
+            if (!isIteratorNode.execute(source) || (active != null && !isIteratorNode.execute(active))) {
+                throw raise(TypeError, ErrorMessages.ARGUMENTS_MUST_BE_ITERATORS);
+            }
+            self.setSource(source);
+            self.setActive(active);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        Object notTuple(@SuppressWarnings("unused") Object self, @SuppressWarnings("unused") Object state) {
+            throw raise(TypeError, ErrorMessages.STATE_IS_NOT_A_LENGTH_1_OR_2_TUPLE);
+        }
+    }
+}
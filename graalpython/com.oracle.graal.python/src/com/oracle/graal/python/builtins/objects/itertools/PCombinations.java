@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code itertools.combinations} and {@code itertools.combinations_with_replacement} iterators.
+ * They only differ in the maximal value of each index and how the indices to the right of an
+ * advanced one are reset.
+ */
+public final class PCombinations extends PythonBuiltinObject {
+    private final boolean withReplacement;
+    private Object[] pool;
+    private int r;
+    private int[] indices;
+    private Object[] lastResult;
+    private boolean stopped;
+
+    public PCombinations(Object cls, Shape instanceShape, boolean withReplacement) {
+        super(cls, instanceShape);
+        this.withReplacement = withReplacement;
+    }
+
+    public void init(Object[] newPool, int newR) {
+        this.pool = newPool;
+        this.r = newR;
+        this.indices = new int[newR];
+        if (withReplacement) {
+            stopped = newPool.length == 0 && newR > 0;
+        } else {
+            for (int i = 0; i < newR; i++) {
+                indices[i] = i;
+            }
+            stopped = newR > newPool.length;
+        }
+    }
+
+    private int getMaximum(int i) {
+        return withReplacement ? pool.length - 1 : i + pool.length - r;
+    }
+
+    private int getResetIndex(int j) {
+        return withReplacement ? indices[j - 1] : indices[j - 1] + 1;
+    }
+
+    /**
+     * Returns the next combination or {@code null} if there are no more.
+     */
+    public Object[] next() {
+        if (stopped) {
+            return null;
+        }
+        Object[] result;
+        if (lastResult == null) {
+            result = new Object[r];
+            for (int i = 0; i < r; i++) {
+                result[i] = pool[indices[i]];
+            }
+        } else {
+            result = PythonUtils.arrayCopyOf(lastResult, r);
+            // scan indices right-to-left until finding one that is not at its maximum
+            int i = r - 1;
+            while (i >= 0 && indices[i] == getMaximum(i)) {
+                i--;
+            }
+            if (i < 0) {
+                stopped = true;
+                return null;
+            }
+            // increment it and reset all indices to its right to their lowest possible value
+            indices[i]++;
+            for (int j = i + 1; j < r; j++) {
+                indices[j] = getResetIndex(j);
+            }
+            for (int j = i; j < r; j++) {
+                result[j] = pool[indices[j]];
+            }
+        }
+        // the result is never modified afterwards, so it can be shared with the returned tuple
+        lastResult = result;
+        return result;
+    }
+}
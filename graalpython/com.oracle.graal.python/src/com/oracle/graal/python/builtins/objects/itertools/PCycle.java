@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code itertools.cycle} iterator. Items are saved while the underlying iterator is consumed
+ * for the first time and are replayed from the saved array afterwards.
+ */
+public final class PCycle extends PythonBuiltinObject {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Object iterable;
+    private Object[] saved = PythonUtils.EMPTY_OBJECT_ARRAY;
+    private int savedSize;
+    private int index;
+    private boolean firstPass;
+
+    public PCycle(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    /**
+     * Returns the underlying iterator or {@code null} once it has been exhausted.
+     */
+    public Object getIterable() {
+        return iterable;
+    }
+
+    public void setIterable(Object iterable) {
+        this.iterable = iterable;
+    }
+
+    /**
+     * Returns {@code true} if the items produced by the underlying iterator are already part of
+     * the saved items and must not be saved again.
+     */
+    public boolean isFirstPass() {
+        return firstPass;
+    }
+
+    public void setFirstPass(boolean firstPass) {
+        this.firstPass = firstPass;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getSavedSize() {
+        return savedSize;
+    }
+
+    public void save(Object item) {
+        if (savedSize == saved.length) {
+            saved = PythonUtils.arrayCopyOf(saved, Math.max(INITIAL_CAPACITY, savedSize * 2));
+        }
+        saved[savedSize++] = item;
+    }
+
+    /**
+     * Returns the next saved item. The caller must check that there is at least one.
+     */
+    public Object nextSaved() {
+        assert savedSize > 0;
+        Object item = saved[index++];
+        if (index >= savedSize) {
+            index = 0;
+        }
+        return item;
+    }
+
+    /**
+     * Returns a copy of the saved items in the range {@code [from, savedSize)}.
+     */
+    public Object[] getSaved(int from) {
+        return PythonUtils.arrayCopyOfRange(saved, from, savedSize);
+    }
+
+    public void setSaved(Object[] items) {
+        saved = items;
+        savedSize = items.length;
+        index = 0;
+    }
+}
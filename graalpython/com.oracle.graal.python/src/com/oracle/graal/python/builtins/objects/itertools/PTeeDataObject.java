@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.itertools;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * A fixed size block of the values read by a {@link PTee} from the underlying iterator. Full blocks
+ * are linked to the next one, blocks that no tee refers to anymore are garbage collected.
+ */
+public final class PTeeDataObject extends PythonBuiltinObject {
+    public static final int LINKCELLS = 128;
+
+    private final Object[] values = new Object[LINKCELLS];
+    private Object iterable;
+    private int numRead;
+    private boolean running;
+    private PTeeDataObject nextLink;
+
+    public PTeeDataObject(Object cls, Shape instanceShape) {
+        super(cls, instanceShape);
+    }
+
+    public Object getIterable() {
+        return iterable;
+    }
+
+    public void setIterable(Object iterable) {
+        this.iterable = iterable;
+    }
+
+    public int getNumRead() {
+        return numRead;
+    }
+
+    public Object getValue(int i) {
+        assert i < numRead;
+        return values[i];
+    }
+
+    public Object[] getValues() {
+        Object[] result = new Object[numRead];
+        PythonUtils.arraycopy(values, 0, result, 0, numRead);
+        return result;
+    }
+
+    public void setValues(Object[] newValues) {
+        assert newValues.length <= LINKCELLS;
+        PythonUtils.arraycopy(newValues, 0, values, 0, newValues.length);
+        numRead = newValues.length;
+    }
+
+    public void addValue(Object value) {
+        assert numRead < LINKCELLS;
+        values[numRead++] = value;
+    }
+
+    /**
+     * Returns {@code true} while a value is being read from the underlying iterator.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    public PTeeDataObject getNextLink() {
+        return nextLink;
+    }
+
+    public void setNextLink(PTeeDataObject nextLink) {
+        this.nextLink = nextLink;
+    }
+}
@@ -87,7 +87,6 @@ import com.oracle.graal.python.builtins.objects.str.StringUtils;
 import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PGuards;
-import com.oracle.graal.python.nodes.attributes.GetAttributeNode;
 import com.oracle.graal.python.nodes.builtins.ListNodes;
 import com.oracle.graal.python.nodes.builtins.ListNodes.AppendNode;
 import com.oracle.graal.python.nodes.builtins.ListNodes.IndexNode;
@@ -870,8 +869,6 @@ public class ListBuiltins extends PythonBuiltins {
 
     abstract static class SimpleSortNode extends Node {
 
-        protected static final String SORT = "_sort";
-
         protected abstract void execute(VirtualFrame frame, PList list, SequenceStorage storage);
 
         @Specialization
@@ -944,14 +941,6 @@ public class ListBuiltins extends PythonBuiltins {
             return storage instanceof BoolSequenceStorage || storage instanceof ByteSequenceStorage || storage instanceof IntSequenceStorage || storage instanceof LongSequenceStorage ||
                             storage instanceof DoubleSequenceStorage || (storage instanceof ObjectSequenceStorage && isStringOnly((ObjectSequenceStorage) storage));
         }
-
-        @Specialization(guards = "!isSimpleType(storage)")
-        void defaultSort(VirtualFrame frame, PList list, @SuppressWarnings("unused") SequenceStorage storage,
-                        @Cached("create(SORT)") GetAttributeNode sort,
-                        @Cached CallNode callSort) {
-            Object sortMethod = sort.executeObject(frame, list);
-            callSort.execute(frame, sortMethod, PythonUtils.EMPTY_OBJECT_ARRAY, PKeyword.EMPTY_KEYWORDS);
-        }
     }
 
     // list.sort(key=, reverse=)
@@ -959,26 +948,15 @@ public class ListBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class ListSortNode extends PythonVarargsBuiltinNode {
 
-        protected static final String SORT = "_sort";
         protected static final String KEY = "key";
+        protected static final String REVERSE = "reverse";
 
         protected static boolean isSortable(PList list, SequenceStorageNodes.LenNode lenNode) {
             return lenNode.execute(list.getSequenceStorage()) > 1;
         }
 
-        protected static boolean maySideEffect(PList list, PKeyword[] keywords) {
-            if (PGuards.isObjectStorage(list)) {
-                return true;
-            }
-            if (keywords.length > 0) {
-                if (KEY.equals(keywords[0].getName())) {
-                    return true;
-                }
-                if (keywords.length > 1 && KEY.equals(keywords[1].getName())) {
-                    return true;
-                }
-            }
-            return false;
+        protected static boolean isSimpleSort(PList list, Object[] arguments, PKeyword[] keywords) {
+            return arguments.length == 0 && keywords.length == 0 && SimpleSortNode.isSimpleType(list.getSequenceStorage());
         }
 
         public final Object sort(VirtualFrame frame, PList list) {
@@ -994,7 +972,7 @@ public class ListBuiltins extends PythonBuiltins {
             return PNone.NONE;
         }
 
-        @Specialization(guards = {"isSortable(list, lenNode)", "arguments.length == 0", "keywords.length == 0", "!maySideEffect(list, keywords)"})
+        @Specialization(guards = {"isSortable(list, lenNode)", "isSimpleSort(list, arguments, keywords)"})
         Object simple(VirtualFrame frame, PList list, @SuppressWarnings("unused") Object[] arguments, @SuppressWarnings("unused") PKeyword[] keywords,
                         @Cached SimpleSortNode simpleSort,
                         @SuppressWarnings("unused") @Cached SequenceStorageNodes.LenNode lenNode) {
@@ -1002,28 +980,69 @@ public class ListBuiltins extends PythonBuiltins {
             return PNone.NONE;
         }
 
-        @Specialization(guards = {"isSortable(list, lenNode)", "maySideEffect(list, keywords)"})
-        Object withKey(VirtualFrame frame, PList list, Object[] arguments, PKeyword[] keywords,
-                        @Cached("create(SORT)") GetAttributeNode sort,
-                        @Cached CallNode callSort,
+        /**
+         * Like CPython, the list is emptied while it is being sorted, so that the key function and
+         * the comparisons cannot observe or corrupt the intermediate state. Any mutation of the
+         * list in the meantime is detected and reported afterwards.
+         */
+        @Specialization(guards = {"isSortable(list, lenNode)", "!isSimpleSort(list, arguments, keywords)"})
+        Object sort(VirtualFrame frame, PList list, Object[] arguments, PKeyword[] keywords,
+                        @Cached SequenceStorageNodes.ToArrayNode toArrayNode,
+                        @Cached CallNode keyCallNode,
+                        @Cached TimSortNode timSortNode,
+                        @Cached ConditionProfile hasKeyProfile,
+                        @CachedLibrary(limit = "2") PythonObjectLibrary lib,
                         @SuppressWarnings("unused") @Cached SequenceStorageNodes.LenNode lenNode) {
-            list.getSequenceStorage().setLock();
+            if (arguments.length > 0) {
+                throw raise(TypeError, ErrorMessages.S_TAKES_NO_POSITIONAL_ARGS, "sort");
+            }
+            Object key = PNone.NONE;
+            boolean reverse = false;
+            for (PKeyword keyword : keywords) {
+                if (KEY.equals(keyword.getName())) {
+                    key = keyword.getValue();
+                } else if (REVERSE.equals(keyword.getName())) {
+                    reverse = lib.isTrue(keyword.getValue(), frame);
+                } else {
+                    throw raise(TypeError, ErrorMessages.GOT_UNEXPECTED_KEYWORD_ARG, "sort", keyword.getName());
+                }
+            }
+            Object[] values = toArrayNode.execute(list.getSequenceStorage());
+            int length = values.length;
+            ObjectSequenceStorage sortingStorage = new ObjectSequenceStorage(0);
+            list.setSequenceStorage(sortingStorage);
+            boolean modified;
             try {
-                defaultSort(frame, list, arguments, keywords, sort, callSort, lenNode);
+                Object[] keys = values;
+                if (hasKeyProfile.profile(key != PNone.NONE)) {
+                    keys = new Object[length];
+                    for (int i = 0; i < length; i++) {
+                        keys[i] = keyCallNode.execute(frame, key, values[i]);
+                    }
+                }
+                // reversing before and after the sort keeps equal elements in their original order
+                if (reverse) {
+                    reverse(keys, values, length);
+                }
+                timSortNode.execute(frame, keys, keys != values ? values : null, length);
+                if (reverse) {
+                    reverse(keys, values, length);
+                }
             } finally {
-                list.getSequenceStorage().releaseLock();
+                modified = list.getSequenceStorage() != sortingStorage || sortingStorage.length() != 0;
+                list.setSequenceStorage(SequenceStorageFactory.createStorage(values));
+            }
+            if (modified) {
+                throw raise(PythonErrorType.ValueError, ErrorMessages.LIST_MODIFIED_DURING_SORT);
             }
             return PNone.NONE;
         }
 
-        @Specialization(guards = {"isSortable(list, lenNode)", "!maySideEffect(list, keywords)"})
-        Object defaultSort(VirtualFrame frame, PList list, Object[] arguments, PKeyword[] keywords,
-                        @Cached("create(SORT)") GetAttributeNode sort,
-                        @Cached CallNode callSort,
-                        @SuppressWarnings("unused") @Cached SequenceStorageNodes.LenNode lenNode) {
-            Object sortMethod = sort.executeObject(frame, list);
-            callSort.execute(frame, sortMethod, arguments, keywords);
-            return PNone.NONE;
+        private static void reverse(Object[] keys, Object[] values, int length) {
+            TimSortNode.reverseRange(keys, 0, length);
+            if (keys != values) {
+                TimSortNode.reverseRange(values, 0, length);
+            }
         }
 
         public static ListSortNode create() {
@@ -0,0 +1,647 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.list;
+
+import com.oracle.graal.python.builtins.objects.str.StringUtils;
+import com.oracle.graal.python.nodes.PNodeWithContext;
+import com.oracle.graal.python.nodes.builtins.ListNodes.ItemLessThanNode;
+import com.oracle.graal.python.runtime.exception.PException;
+import com.oracle.graal.python.util.PythonUtils;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+/**
+ * A stable, adaptive merge sort (TimSort) over an array of keys, modelled after CPython's
+ * {@code listsort} (see {@code lib-graalpython/listsort.txt}). If a key function was used, the
+ * values are permuted along with their keys.
+ *
+ * Before sorting, the keys are checked for a common type. Lists of {@code int}, {@code float} or
+ * {@code str} keys are compared without going through {@code __lt__}. Everything else is compared
+ * by {@link ItemLessThanNode}, which also handles tuples with such first items directly. The arrays
+ * always remain a permutation of the input, even if a comparison raises.
+ */
+public final class TimSortNode extends PNodeWithContext {
+
+    private static final int MIN_MERGE = 64;
+    private static final int MIN_GALLOP = 7;
+    private static final int MAX_MERGE_PENDING = 85;
+
+    private static final int KIND_GENERIC = 0;
+    private static final int KIND_LONG = 1;
+    private static final int KIND_DOUBLE = 2;
+    private static final int KIND_STRING = 3;
+
+    @Child private ItemLessThanNode ltNode;
+
+    private static final class SortState {
+        final Object[] keys;
+        final Object[] values;
+        final int kind;
+        final int[] runBase = new int[MAX_MERGE_PENDING];
+        final int[] runLen = new int[MAX_MERGE_PENDING];
+        int stackSize;
+        int minGallop = MIN_GALLOP;
+        Object[] tmpKeys = PythonUtils.EMPTY_OBJECT_ARRAY;
+        Object[] tmpValues;
+
+        SortState(Object[] keys, Object[] values, int kind) {
+            this.keys = keys;
+            this.values = values;
+            this.kind = kind;
+        }
+
+        void ensureTmp(int length) {
+            if (tmpKeys.length < length) {
+                tmpKeys = new Object[length];
+                if (values != null) {
+                    tmpValues = new Object[length];
+                }
+            }
+        }
+    }
+
+    public static TimSortNode create() {
+        return new TimSortNode();
+    }
+
+    /**
+     * Sorts the first {@code length} keys in ascending order. If {@code values} is not
+     * {@code null}, it is permuted the same way.
+     */
+    public void execute(VirtualFrame frame, Object[] keys, Object[] values, int length) {
+        if (length < 2) {
+            return;
+        }
+        SortState s = new SortState(keys, values, keyKind(keys, length));
+        int minRun = minRunLength(length);
+        int lo = 0;
+        int remaining = length;
+        do {
+            int runLen = countRunAndMakeAscending(frame, s, lo, lo + remaining);
+            if (runLen < minRun) {
+                int force = Math.min(remaining, minRun);
+                binarySort(frame, s, lo, lo + force, lo + runLen);
+                runLen = force;
+            }
+            s.runBase[s.stackSize] = lo;
+            s.runLen[s.stackSize] = runLen;
+            s.stackSize++;
+            mergeCollapse(frame, s);
+            lo += runLen;
+            remaining -= runLen;
+        } while (remaining != 0);
+        mergeForceCollapse(frame, s);
+    }
+
+    private static int keyKind(Object[] keys, int length) {
+        Object first = keys[0];
+        int kind;
+        if (first instanceof Integer || first instanceof Long) {
+            kind = KIND_LONG;
+        } else if (first instanceof Double) {
+            kind = KIND_DOUBLE;
+        } else if (first instanceof String) {
+            kind = KIND_STRING;
+        } else {
+            return KIND_GENERIC;
+        }
+        for (int i = 1; i < length; i++) {
+            if (kindOf(keys[i], kind) != kind) {
+                return KIND_GENERIC;
+            }
+        }
+        return kind;
+    }
+
+    private static int kindOf(Object key, int expected) {
+        switch (expected) {
+            case KIND_LONG:
+                return key instanceof Integer || key instanceof Long ? KIND_LONG : KIND_GENERIC;
+            case KIND_DOUBLE:
+                return key instanceof Double ? KIND_DOUBLE : KIND_GENERIC;
+            case KIND_STRING:
+                return key instanceof String ? KIND_STRING : KIND_GENERIC;
+            default:
+                return KIND_GENERIC;
+        }
+    }
+
+    private static long asLong(Object key) {
+        return key instanceof Integer ? (int) key : (long) key;
+    }
+
+    private boolean lt(VirtualFrame frame, SortState s, Object a, Object b) {
+        switch (s.kind) {
+            case KIND_LONG:
+                return asLong(a) < asLong(b);
+            case KIND_DOUBLE:
+                return (double) a < (double) b;
+            case KIND_STRING:
+                return StringUtils.compareToUnicodeAware((String) a, (String) b) < 0;
+            default:
+                return genericLt(frame, a, b);
+        }
+    }
+
+    private boolean genericLt(VirtualFrame frame, Object a, Object b) {
+        if (ltNode == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            ltNode = insert(ItemLessThanNode.create());
+        }
+        return ltNode.execute(frame, a, b);
+    }
+
+    private static int minRunLength(int length) {
+        int n = length;
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /**
+     * Returns the length of the run starting at {@code lo}. A strictly descending run is reversed
+     * in place, which keeps the sort stable.
+     */
+    private int countRunAndMakeAscending(VirtualFrame frame, SortState s, int lo, int hi) {
+        Object[] a = s.keys;
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (lt(frame, s, a[runHi++], a[lo])) {
+            while (runHi < hi && lt(frame, s, a[runHi], a[runHi - 1])) {
+                runHi++;
+            }
+            reverseRange(s, lo, runHi);
+        } else {
+            while (runHi < hi && !lt(frame, s, a[runHi], a[runHi - 1])) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    private static void reverseRange(SortState s, int lo, int hi) {
+        reverseRange(s.keys, lo, hi);
+        if (s.values != null) {
+            reverseRange(s.values, lo, hi);
+        }
+    }
+
+    static void reverseRange(Object[] array, int from, int to) {
+        int lo = from;
+        int hi = to - 1;
+        while (lo < hi) {
+            Object tmp = array[lo];
+            array[lo++] = array[hi];
+            array[hi--] = tmp;
+        }
+    }
+
+    /**
+     * Sorts {@code [lo, hi)} by binary insertion, where {@code [lo, start)} is already sorted.
+     */
+    private void binarySort(VirtualFrame frame, SortState s, int lo, int hi, int start) {
+        Object[] a = s.keys;
+        Object[] v = s.values;
+        for (int i = start; i < hi; i++) {
+            Object pivot = a[i];
+            int left = lo;
+            int right = i;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (lt(frame, s, pivot, a[mid])) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            PythonUtils.arraycopy(a, left, a, left + 1, i - left);
+            a[left] = pivot;
+            if (v != null) {
+                Object pivotValue = v[i];
+                PythonUtils.arraycopy(v, left, v, left + 1, i - left);
+                v[left] = pivotValue;
+            }
+        }
+    }
+
+    /**
+     * Merges runs until the stack invariants {@code runLen[i - 2] > runLen[i - 1] + runLen[i]} and
+     * {@code runLen[i - 1] > runLen[i]} hold for the topmost runs.
+     */
+    private void mergeCollapse(VirtualFrame frame, SortState s) {
+        int[] runLen = s.runLen;
+        while (s.stackSize > 1) {
+            int n = s.stackSize - 2;
+            if ((n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1]) || (n > 1 && runLen[n - 2] <= runLen[n - 1] + runLen[n])) {
+                if (runLen[n - 1] < runLen[n + 1]) {
+                    n--;
+                }
+            } else if (runLen[n] > runLen[n + 1]) {
+                break;
+            }
+            mergeAt(frame, s, n);
+        }
+    }
+
+    private void mergeForceCollapse(VirtualFrame frame, SortState s) {
+        int[] runLen = s.runLen;
+        while (s.stackSize > 1) {
+            int n = s.stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1]) {
+                n--;
+            }
+            mergeAt(frame, s, n);
+        }
+    }
+
+    private void mergeAt(VirtualFrame frame, SortState s, int i) {
+        int base1 = s.runBase[i];
+        int len1 = s.runLen[i];
+        int base2 = s.runBase[i + 1];
+        int len2 = s.runLen[i + 1];
+        s.runLen[i] = len1 + len2;
+        if (i == s.stackSize - 3) {
+            s.runBase[i + 1] = s.runBase[i + 2];
+            s.runLen[i + 1] = s.runLen[i + 2];
+        }
+        s.stackSize--;
+
+        // elements of run1 that are not greater than the first element of run2 are in place
+        int k = gallopRight(frame, s, s.keys[base2], s.keys, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0) {
+            return;
+        }
+        // elements of run2 that are not less than the last element of run1 are in place
+        len2 = gallopLeft(frame, s, s.keys[base1 + len1 - 1], s.keys, base2, len2, len2 - 1);
+        if (len2 == 0) {
+            return;
+        }
+        if (len1 <= len2) {
+            mergeLo(frame, s, base1, len1, base2, len2);
+        } else {
+            mergeHi(frame, s, base1, len1, base2, len2);
+        }
+    }
+
+    /**
+     * Returns {@code k} such that {@code a[base + k - 1] < key <= a[base + k]}, starting the search
+     * at {@code base + hint}.
+     */
+    private int gallopLeft(VirtualFrame frame, SortState s, Object key, Object[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (lt(frame, s, a[base + hint], key)) {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && lt(frame, s, a[base + hint + ofs], key)) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && !lt(frame, s, a[base + hint - ofs], key)) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (lt(frame, s, a[base + m], key)) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * Returns {@code k} such that {@code a[base + k - 1] <= key < a[base + k]}, starting the search
+     * at {@code base + hint}.
+     */
+    private int gallopRight(VirtualFrame frame, SortState s, Object key, Object[] a, int base, int len, int hint) {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (lt(frame, s, key, a[base + hint])) {
+            int maxOfs = hint + 1;
+            while (ofs < maxOfs && lt(frame, s, key, a[base + hint - ofs])) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            int tmp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - tmp;
+        } else {
+            int maxOfs = len - hint;
+            while (ofs < maxOfs && !lt(frame, s, key, a[base + hint + ofs])) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            if (ofs > maxOfs) {
+                ofs = maxOfs;
+            }
+            lastOfs += hint;
+            ofs += hint;
+        }
+        lastOfs++;
+        while (lastOfs < ofs) {
+            int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (lt(frame, s, key, a[base + m])) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    private static void copy(Object[] srcKeys, Object[] srcValues, int srcPos, Object[] dstKeys, Object[] dstValues, int dstPos, int length) {
+        PythonUtils.arraycopy(srcKeys, srcPos, dstKeys, dstPos, length);
+        if (srcValues != null) {
+            PythonUtils.arraycopy(srcValues, srcPos, dstValues, dstPos, length);
+        }
+    }
+
+    private static void move(Object[] srcKeys, Object[] srcValues, int srcPos, Object[] dstKeys, Object[] dstValues, int dstPos) {
+        dstKeys[dstPos] = srcKeys[srcPos];
+        if (srcValues != null) {
+            dstValues[dstPos] = srcValues[srcPos];
+        }
+    }
+
+    /**
+     * Merges two adjacent runs where the first one is not longer than the second one. The first
+     * run is copied to the temporary arrays and merged from the left.
+     */
+    private void mergeLo(VirtualFrame frame, SortState s, int base1, int len1In, int base2, int len2In) {
+        int len1 = len1In;
+        int len2 = len2In;
+        Object[] a = s.keys;
+        Object[] v = s.values;
+        s.ensureTmp(len1);
+        Object[] tmp = s.tmpKeys;
+        Object[] tmpV = s.tmpValues;
+        copy(a, v, base1, tmp, tmpV, 0, len1);
+
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        move(a, v, cursor2++, a, v, dest++);
+        if (--len2 == 0) {
+            copy(tmp, tmpV, cursor1, a, v, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            copy(a, v, cursor2, a, v, dest, len2);
+            move(tmp, tmpV, cursor1, a, v, dest + len2);
+            return;
+        }
+        int minGallop = s.minGallop;
+        try {
+            outer: while (true) {
+                int count1 = 0;
+                int count2 = 0;
+                do {
+                    if (lt(frame, s, a[cursor2], tmp[cursor1])) {
+                        move(a, v, cursor2++, a, v, dest++);
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        move(tmp, tmpV, cursor1++, a, v, dest++);
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = gallopRight(frame, s, a[cursor2], tmp, cursor1, len1, 0);
+                    if (count1 != 0) {
+                        copy(tmp, tmpV, cursor1, a, v, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        len1 -= count1;
+                        if (len1 <= 1) {
+                            break outer;
+                        }
+                    }
+                    move(a, v, cursor2++, a, v, dest++);
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                    count2 = gallopLeft(frame, s, tmp[cursor1], a, cursor2, len2, 0);
+                    if (count2 != 0) {
+                        copy(a, v, cursor2, a, v, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        len2 -= count2;
+                        if (len2 == 0) {
+                            break outer;
+                        }
+                    }
+                    move(tmp, tmpV, cursor1++, a, v, dest++);
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) {
+                    minGallop = 0;
+                }
+                minGallop += 2;
+            }
+        } catch (PException e) {
+            // put the remaining elements of the first run back into the gap
+            copy(tmp, tmpV, cursor1, a, v, dest, len1);
+            throw e;
+        }
+        s.minGallop = minGallop < 1 ? 1 : minGallop;
+        if (len1 == 1) {
+            copy(a, v, cursor2, a, v, dest, len2);
+            move(tmp, tmpV, cursor1, a, v, dest + len2);
+        } else {
+            // len1 == 0 is only possible with an inconsistent comparison
+            copy(tmp, tmpV, cursor1, a, v, dest, len1);
+        }
+    }
+
+    /**
+     * Merges two adjacent runs where the first one is longer than the second one. The second run
+     * is copied to the temporary arrays and merged from the right.
+     */
+    private void mergeHi(VirtualFrame frame, SortState s, int base1, int len1In, int base2, int len2In) {
+        int len1 = len1In;
+        int len2 = len2In;
+        Object[] a = s.keys;
+        Object[] v = s.values;
+        s.ensureTmp(len2);
+        Object[] tmp = s.tmpKeys;
+        Object[] tmpV = s.tmpValues;
+        copy(a, v, base2, tmp, tmpV, 0, len2);
+
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+        move(a, v, cursor1--, a, v, dest--);
+        if (--len1 == 0) {
+            copy(tmp, tmpV, 0, a, v, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            copy(a, v, cursor1 + 1, a, v, dest + 1, len1);
+            move(tmp, tmpV, cursor2, a, v, dest);
+            return;
+        }
+        int minGallop = s.minGallop;
+        try {
+            outer: while (true) {
+                int count1 = 0;
+                int count2 = 0;
+                do {
+                    if (lt(frame, s, tmp[cursor2], a[cursor1])) {
+                        move(a, v, cursor1--, a, v, dest--);
+                        count1++;
+                        count2 = 0;
+                        if (--len1 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        move(tmp, tmpV, cursor2--, a, v, dest--);
+                        count2++;
+                        count1 = 0;
+                        if (--len2 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                do {
+                    count1 = len1 - gallopRight(frame, s, tmp[cursor2], a, base1, len1, len1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        len1 -= count1;
+                        copy(a, v, cursor1 + 1, a, v, dest + 1, count1);
+                        if (len1 == 0) {
+                            break outer;
+                        }
+                    }
+                    move(tmp, tmpV, cursor2--, a, v, dest--);
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                    count2 = len2 - gallopLeft(frame, s, a[cursor1], tmp, 0, len2, len2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        len2 -= count2;
+                        copy(tmp, tmpV, cursor2 + 1, a, v, dest + 1, count2);
+                        if (len2 <= 1) {
+                            break outer;
+                        }
+                    }
+                    move(a, v, cursor1--, a, v, dest--);
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                if (minGallop < 0) {
+                    minGallop = 0;
+                }
+                minGallop += 2;
+            }
+        } catch (PException e) {
+            // put the remaining elements of the second run back into the gap
+            copy(tmp, tmpV, 0, a, v, dest - (len2 - 1), len2);
+            throw e;
+        }
+        s.minGallop = minGallop < 1 ? 1 : minGallop;
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            copy(a, v, cursor1 + 1, a, v, dest + 1, len1);
+            move(tmp, tmpV, cursor2, a, v, dest);
+        } else if (len2 > 1) {
+            copy(tmp, tmpV, 0, a, v, dest - (len2 - 1), len2);
+        }
+    }
+}
@@ -614,6 +614,10 @@ public class MemoryViewNodes {
         public static ToJavaBytesNode create() {
             return MemoryViewNodesFactory.ToJavaBytesNodeGen.create();
         }
+
+        public static ToJavaBytesNode getUncached() {
+            return MemoryViewNodesFactory.ToJavaBytesNodeGen.getUncached();
+        }
     }
 
     @GenerateUncached
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.queue;
+
+import static com.oracle.graal.python.runtime.exception.PythonErrorType.ValueError;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.function.PArguments;
+import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.Cached.Shared;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PSimpleQueue)
+public final class SimpleQueueBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return SimpleQueueBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "qsize", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class QSizeNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static int qsize(PSimpleQueue self) {
+            return self.size();
+        }
+    }
+
+    @Builtin(name = "empty", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EmptyNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean empty(PSimpleQueue self) {
+            return self.size() == 0;
+        }
+    }
+
+    @Builtin(name = "put", minNumOfPositionalArgs = 2, parameterNames = {"self", "item", "block", "timeout"})
+    @GenerateNodeFactory
+    abstract static class PutNode extends PythonQuaternaryBuiltinNode {
+        // the queue is unbounded, so 'block' and 'timeout' are ignored like in CPython
+        @Specialization
+        static PNone put(PSimpleQueue self, Object item, @SuppressWarnings("unused") Object block, @SuppressWarnings("unused") Object timeout) {
+            self.put(item);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "put_nowait", minNumOfPositionalArgs = 2, parameterNames = {"self", "item"})
+    @GenerateNodeFactory
+    abstract static class PutNoWaitNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        static PNone putNoWait(PSimpleQueue self, Object item) {
+            self.put(item);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "get", minNumOfPositionalArgs = 1, parameterNames = {"self", "block", "timeout"})
+    @ArgumentClinic(name = "block", conversion = ArgumentClinic.ClinicConversion.Boolean, defaultValue = "true")
+    @GenerateNodeFactory
+    abstract static class GetNode extends PythonTernaryClinicBuiltinNode {
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return SimpleQueueBuiltinsClinicProviders.GetNodeClinicProviderGen.INSTANCE;
+        }
+
+        @Specialization(guards = "!block")
+        Object nonBlocking(PSimpleQueue self, @SuppressWarnings("unused") boolean block, @SuppressWarnings("unused") Object timeout) {
+            Object item = self.poll();
+            if (item == null) {
+                throw raise(PythonBuiltinClassType.QueueEmpty);
+            }
+            return item;
+        }
+
+        @Specialization(guards = "block")
+        Object blocking(PSimpleQueue self, @SuppressWarnings("unused") boolean block, @SuppressWarnings("unused") PNone timeout,
+                        @Shared("gil") @Cached GilNode gil,
+                        @Shared("available") @Cached ConditionProfile availableProfile) {
+            // only give up the GIL if we actually have to wait for a producer
+            Object item = self.poll();
+            if (availableProfile.profile(item == null)) {
+                while (true) {
+                    gil.release(true);
+                    try {
+                        return self.get();
+                    } catch (InterruptedException e) {
+                        // acquiring the GIL kills the thread if it was interrupted on shutdown
+                        interrupt();
+                    } finally {
+                        gil.acquire();
+                    }
+                    // like an EINTR in CPython: run the pending actions, which may raise (e.g.
+                    // KeyboardInterrupt), and wait again
+                    clearInterrupt();
+                    getContext().triggerAsyncActions();
+                }
+            }
+            return item;
+        }
+
+        @Specialization(guards = {"block", "!isPNone(timeout)"}, limit = "3")
+        Object withTimeout(VirtualFrame frame, PSimpleQueue self, @SuppressWarnings("unused") boolean block, Object timeout,
+                        @CachedLibrary("timeout") PythonObjectLibrary lib,
+                        @Shared("gil") @Cached GilNode gil,
+                        @Shared("available") @Cached ConditionProfile availableProfile) {
+            double seconds = lib.asJavaDoubleWithState(timeout, PArguments.getThreadState(frame));
+            if (seconds < 0) {
+                throw raise(ValueError, ErrorMessages.TIMEOUT_MUST_BE_NON_NEG_NUMBER);
+            }
+            Object item = self.poll();
+            if (availableProfile.profile(item == null)) {
+                long timeoutNanos = (long) (seconds * 1e9);
+                long deadline = nanoTime() + timeoutNanos;
+                while (item == null && timeoutNanos > 0) {
+                    gil.release(true);
+                    try {
+                        item = self.get(timeoutNanos);
+                    } catch (InterruptedException e) {
+                        // acquiring the GIL kills the thread if it was interrupted on shutdown
+                        interrupt();
+                    } finally {
+                        gil.acquire();
+                    }
+                    if (item == null) {
+                        // interrupted or timed out: run the pending actions and wait for the rest
+                        clearInterrupt();
+                        getContext().triggerAsyncActions();
+                        timeoutNanos = deadline - nanoTime();
+                    }
+                }
+                if (item == null) {
+                    throw raise(PythonBuiltinClassType.QueueEmpty);
+                }
+            }
+            return item;
+        }
+
+        @TruffleBoundary
+        private static void interrupt() {
+            Thread.currentThread().interrupt();
+        }
+
+        /**
+         * Without a GIL, nothing consumed the interrupt and the next wait would fail right away.
+         */
+        @TruffleBoundary
+        private static void clearInterrupt() {
+            Thread.interrupted();
+        }
+
+        @TruffleBoundary
+        private static long nanoTime() {
+            return System.nanoTime();
+        }
+    }
+
+    @Builtin(name = "get_nowait", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class GetNoWaitNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object getNoWait(PSimpleQueue self) {
+            Object item = self.poll();
+            if (item == null) {
+                throw raise(PythonBuiltinClassType.QueueEmpty);
+            }
+            return item;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import static com.oracle.graal.python.builtins.modules.SelectModuleBuiltins.MS_TO_NS;
+import static com.oracle.graal.python.builtins.modules.SelectModuleBuiltins.SEC_TO_NS;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__ENTER__;
+import static com.oracle.graal.python.nodes.SpecialMethodNames.__EXIT__;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLPRI;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_ADD;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_DEL;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_MOD;
+import static com.oracle.graal.python.runtime.PosixConstants.FD_SETSIZE;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.annotations.ArgumentClinic.PrimitiveType;
+import com.oracle.graal.python.annotations.ClinicConverterFactory;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins.FileDescriptorConversionNode;
+import com.oracle.graal.python.builtins.modules.SelectModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.SelectModuleBuiltins.PyTimeFromObjectNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyNumberIndexNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.PythonBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentCastNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.EmulatedPosixSupport;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.BranchProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PEpoll)
+public class EpollBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return EpollBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Emulates CPython's {@code unsigned_int(bitwise=True)} converter used for epoll event masks.
+     * The value is truncated to 32 bits, so masks with {@code EPOLLET} set are accepted.
+     */
+    public abstract static class EventMaskConversionNode extends ArgumentCastNode {
+
+        @Specialization
+        static int doInt(int value) {
+            return value;
+        }
+
+        @Specialization
+        static int doLong(long value) {
+            return (int) value;
+        }
+
+        @Specialization
+        static int doBoolean(boolean value) {
+            return value ? 1 : 0;
+        }
+
+        @Specialization
+        static int doPInt(PInt value) {
+            return value.intValue();
+        }
+
+        @Specialization(guards = {"!isInteger(value)", "!isBoolean(value)", "!isPInt(value)"})
+        static int doOther(VirtualFrame frame, Object value,
+                        @Cached PyNumberIndexNode indexNode,
+                        @Cached EventMaskConversionNode recursive) {
+            return (int) recursive.execute(frame, indexNode.execute(frame, value));
+        }
+
+        @ClinicConverterFactory(shortCircuitPrimitive = PrimitiveType.Int)
+        public static EventMaskConversionNode create() {
+            return EpollBuiltinsFactory.EventMaskConversionNodeGen.create();
+        }
+    }
+
+    @Builtin(name = "close", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CloseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PNone close(VirtualFrame frame, PEpoll self,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib) {
+            if (self.isClosed()) {
+                return PNone.NONE;
+            }
+            int epfd = self.getEpfd();
+            self.markClosed();
+            if (self.isEmulated()) {
+                getContext().getResources().closeChannel(epfd);
+            } else {
+                try {
+                    posixLib.close(getPosixSupport(), epfd);
+                } catch (PosixException e) {
+                    throw raiseOSErrorFromPosixException(frame, e);
+                }
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "closed", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ClosedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean closed(PEpoll self) {
+            return self.isClosed();
+        }
+    }
+
+    @Builtin(name = "fileno", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class FilenoNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        int fileno(PEpoll self) {
+            checkOpen(self, this);
+            return self.getEpfd();
+        }
+    }
+
+    @Builtin(name = __ENTER__, minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class EnterNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        Object enter(PEpoll self) {
+            checkOpen(self, this);
+            return self;
+        }
+    }
+
+    @Builtin(name = __EXIT__, minNumOfPositionalArgs = 1, takesVarArgs = true)
+    @GenerateNodeFactory
+    abstract static class ExitNode extends PythonBuiltinNode {
+        protected static final String CLOSE = "close";
+
+        @Specialization
+        static Object exit(VirtualFrame frame, PEpoll self, @SuppressWarnings("unused") Object[] args,
+                        @Cached("create(CLOSE)") LookupAndCallUnaryNode callCloseNode) {
+            return callCloseNode.executeObject(frame, self);
+        }
+    }
+
+    @Builtin(name = "register", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd", "eventmask"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @ArgumentClinic(name = "eventmask", conversionClass = EventMaskConversionNode.class, defaultValue = "DEFAULT_EVENTS")
+    @GenerateNodeFactory
+    abstract static class RegisterNode extends PythonTernaryClinicBuiltinNode {
+        static final int DEFAULT_EVENTS = EPOLLIN.getValueIfDefined() | EPOLLPRI.getValueIfDefined() | EPOLLOUT.getValueIfDefined();
+
+        @Specialization
+        PNone register(VirtualFrame frame, PEpoll self, int fd, int eventmask,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib) {
+            ctl(frame, self, EPOLL_CTL_ADD.getValueIfDefined(), fd, eventmask, posixLib, this);
+            self.incRegisteredCount();
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return EpollBuiltinsClinicProviders.RegisterNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "modify", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "eventmask"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @ArgumentClinic(name = "eventmask", conversionClass = EventMaskConversionNode.class)
+    @GenerateNodeFactory
+    abstract static class ModifyNode extends PythonTernaryClinicBuiltinNode {
+        @Specialization
+        PNone modify(VirtualFrame frame, PEpoll self, int fd, int eventmask,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib) {
+            ctl(frame, self, EPOLL_CTL_MOD.getValueIfDefined(), fd, eventmask, posixLib, this);
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return EpollBuiltinsClinicProviders.ModifyNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "unregister", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @GenerateNodeFactory
+    abstract static class UnregisterNode extends PythonBinaryClinicBuiltinNode {
+        @Specialization
+        PNone unregister(VirtualFrame frame, PEpoll self, int fd,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib) {
+            ctl(frame, self, EPOLL_CTL_DEL.getValueIfDefined(), fd, 0, posixLib, this);
+            self.decRegisteredCount();
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return EpollBuiltinsClinicProviders.UnregisterNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "poll", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timeout", "maxevents"})
+    @ArgumentClinic(name = "maxevents", conversion = ClinicConversion.Int, defaultValue = "-1")
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonTernaryClinicBuiltinNode {
+        @Specialization
+        PList poll(VirtualFrame frame, PEpoll self, Object timeout, int maxevents,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached PyTimeFromObjectNode pyTimeFromObjectNode,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            checkOpen(self, this);
+            int timeoutMs = -1;
+            if (!PGuards.isPNone(timeout)) {
+                timeoutMs = PollBuiltins.timeoutToMs(pyTimeFromObjectNode.execute(frame, timeout, SEC_TO_NS), this);
+            }
+            int max = maxevents;
+            if (max == -1) {
+                max = FD_SETSIZE.value - 1;
+            } else if (max < 1) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.MAXEVENTS_MUST_BE_GREATER_THAN_0_GOT_D, max);
+            }
+            int[] fds = new int[max];
+            int[] events = new int[max];
+            long deadline = timeoutMs > 0 ? System.nanoTime() + timeoutMs * MS_TO_NS : 0;
+            int count;
+            try {
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            if (self.isEmulated()) {
+                                // TODO remove this once native sockets are supported
+                                count = PosixSupportLibrary.getUncached().epollWait(getContext().getResources(), self.getEpfd(), fds, events, timeoutMs);
+                            } else {
+                                count = posixLib.epollWait(getPosixSupport(), self.getEpfd(), fds, events, timeoutMs);
+                            }
+                            break;
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                gil.acquire(); // need gil to trigger actions or construct OSError
+                                getContext().triggerAsyncActions();
+                                gil.release(true);
+                                if (timeoutMs > 0) {
+                                    timeoutMs = (int) Math.max(0, PollBuiltins.nsToMs(deadline - System.nanoTime()));
+                                }
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            }
+            Object[] result = new Object[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = factory().createTuple(new Object[]{fds[i], SelectModuleBuiltins.toUnsignedMask(events[i])});
+            }
+            return factory().createList(result);
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return EpollBuiltinsClinicProviders.PollNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    static void checkOpen(PEpoll self, PythonBuiltinBaseNode node) {
+        if (self.isClosed()) {
+            throw node.raise(PythonBuiltinClassType.ValueError, ErrorMessages.IO_ON_CLOSED_EPOLL);
+        }
+    }
+
+    static void ctl(VirtualFrame frame, PEpoll self, int op, int fd, int events, PosixSupportLibrary posixLib, PythonBuiltinBaseNode node) {
+        checkOpen(self, node);
+        EmulatedPosixSupport emulatedPosixSupport = node.getContext().getResources();
+        try {
+            if (!self.isEmulated() && emulatedPosixSupport.isSocket(fd) && !isEmulatedBackend(posixLib, node.getPosixSupport())) {
+                // TODO remove this once native sockets are supported
+                // Sockets only exist in the emulated backend, so the epoll instance has to be
+                // moved there before any other file descriptor is registered.
+                if (self.getRegisteredCount() != 0) {
+                    throw node.raiseOSError(frame, OSErrorEnum.EPERM);
+                }
+                int emulatedEpfd = PosixSupportLibrary.getUncached().epollCreate(emulatedPosixSupport);
+                posixLib.close(node.getPosixSupport(), self.getEpfd());
+                self.switchToEmulated(emulatedEpfd);
+            }
+            if (self.isEmulated()) {
+                PosixSupportLibrary.getUncached().epollCtl(emulatedPosixSupport, self.getEpfd(), op, fd, events);
+            } else {
+                posixLib.epollCtl(node.getPosixSupport(), self.getEpfd(), op, fd, events);
+            }
+        } catch (PosixException e) {
+            throw node.raiseOSErrorFromPosixException(frame, e);
+        }
+    }
+
+    @TruffleBoundary
+    private static boolean isEmulatedBackend(PosixSupportLibrary posixLib, Object posixSupport) {
+        return "java".equals(posixLib.getBackend(posixSupport));
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import static com.oracle.graal.python.builtins.modules.SelectModuleBuiltins.SEC_TO_NS;
+
+import java.io.IOException;
+import java.nio.channels.SelectableChannel;
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ArgumentClinic.ClinicConversion;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins.FileDescriptorConversionNode;
+import com.oracle.graal.python.builtins.modules.SelectModuleBuiltins.PyTimeFromObjectNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonQuaternaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonUnaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.ChannelNotSelectableException;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PNioSelector)
+public class NioSelectorBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return NioSelectorBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "register", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "events", "data"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @ArgumentClinic(name = "events", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    abstract static class RegisterNode extends PythonQuaternaryClinicBuiltinNode {
+        @Specialization
+        PNone register(VirtualFrame frame, PNioSelector self, int fd, int events, Object data) {
+            checkOpen(self, this);
+            try {
+                SelectableChannel channel = getContext().getResources().getSelectableChannel(fd);
+                self.register(fd, channel, events, PGuards.isNoValue(data) ? PNone.NONE : data);
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            } catch (ChannelNotSelectableException e) {
+                throw raiseOSError(frame, OSErrorEnum.EPERM);
+            } catch (IOException e) {
+                throw raiseOSError(frame, e);
+            }
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return NioSelectorBuiltinsClinicProviders.RegisterNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "modify", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "events", "data"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @ArgumentClinic(name = "events", conversion = ClinicConversion.Int)
+    @GenerateNodeFactory
+    abstract static class ModifyNode extends PythonQuaternaryClinicBuiltinNode {
+        @Specialization
+        PNone modify(PNioSelector self, int fd, int events, Object data) {
+            checkOpen(self, this);
+            if (!self.modify(fd, events, PGuards.isNoValue(data) ? PNone.NONE : data)) {
+                throw raise(PythonBuiltinClassType.KeyError, new Object[]{fd});
+            }
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return NioSelectorBuiltinsClinicProviders.ModifyNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "unregister", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @GenerateNodeFactory
+    abstract static class UnregisterNode extends PythonBinaryClinicBuiltinNode {
+        @Specialization
+        PNone unregister(PNioSelector self, int fd) {
+            checkOpen(self, this);
+            if (!self.unregister(fd)) {
+                throw raise(PythonBuiltinClassType.KeyError, new Object[]{fd});
+            }
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return NioSelectorBuiltinsClinicProviders.UnregisterNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "select", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timeout"})
+    @GenerateNodeFactory
+    abstract static class SelectNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PList select(VirtualFrame frame, PNioSelector self, Object timeout,
+                        @Cached PyTimeFromObjectNode pyTimeFromObjectNode,
+                        @Cached GilNode gil) {
+            checkOpen(self, this);
+            long timeoutMs = -1;
+            if (!PGuards.isPNone(timeout)) {
+                timeoutMs = Math.max(0, PollBuiltins.nsToMs(pyTimeFromObjectNode.execute(frame, timeout, SEC_TO_NS)));
+            }
+            int size = self.getRegisteredCount();
+            Object[] data = new Object[size];
+            int[] events = new int[size];
+            int count;
+            try {
+                gil.release(true);
+                try {
+                    count = self.select(timeoutMs, data, events);
+                } finally {
+                    gil.acquire();
+                }
+            } catch (IOException e) {
+                throw raiseOSError(frame, e);
+            }
+            Object[] result = new Object[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = factory().createTuple(new Object[]{data[i], events[i]});
+            }
+            return factory().createList(result);
+        }
+    }
+
+    @Builtin(name = "wakeup", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class WakeupNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static PNone wakeup(PNioSelector self) {
+            self.wakeup();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "close", minNumOfPositionalArgs = 1)
+    @GenerateNodeFactory
+    abstract static class CloseNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        PNone close(VirtualFrame frame, PNioSelector self) {
+            try {
+                self.close();
+            } catch (IOException e) {
+                throw raiseOSError(frame, e);
+            }
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "closed", minNumOfPositionalArgs = 1, isGetter = true)
+    @GenerateNodeFactory
+    abstract static class ClosedNode extends PythonUnaryBuiltinNode {
+        @Specialization
+        static boolean closed(PNioSelector self) {
+            return self.isClosed();
+        }
+    }
+
+    static void checkOpen(PNioSelector self, PythonBuiltinBaseNode node) {
+        if (self.isClosed()) {
+            throw node.raise(PythonBuiltinClassType.ValueError, ErrorMessages.IO_ON_CLOSED_SELECTOR);
+        }
+    }
+}
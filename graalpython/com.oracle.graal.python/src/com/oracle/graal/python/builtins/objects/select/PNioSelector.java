@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.oracle.graal.python.builtins.objects.object.PythonBuiltinObject;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.object.Shape;
+
+/**
+ * The {@code _nio_selector.Selector} object. Unlike {@link PEpoll}, which has to follow the
+ * {@code epoll(7)} interface, this object keeps one {@link Selector} for the whole lifetime of an
+ * event loop and stores the Python-level selector key of each registration directly in the
+ * {@link SelectionKey}, so that a call of {@link #select} produces all ready keys in one batch
+ * without any lookups on the Python side.
+ */
+public final class PNioSelector extends PythonBuiltinObject {
+    /** Same values as {@code selectors.EVENT_READ} and {@code selectors.EVENT_WRITE}. */
+    public static final int EVENT_READ = 1;
+    public static final int EVENT_WRITE = 2;
+
+    private static final class Registration {
+        private final int events;
+        private final Object data;
+
+        Registration(int events, Object data) {
+            this.events = events;
+            this.data = data;
+        }
+    }
+
+    private final Selector selector;
+    private final Map<Integer, SelectionKey> keys = new HashMap<>();
+
+    public PNioSelector(Object cls, Shape instanceShape, Selector selector) {
+        super(cls, instanceShape);
+        this.selector = selector;
+    }
+
+    public boolean isClosed() {
+        return !selector.isOpen();
+    }
+
+    @TruffleBoundary
+    public int getRegisteredCount() {
+        return keys.size();
+    }
+
+    /**
+     * Registers {@code channel} under {@code fd}, replacing any stale registration left behind by
+     * a file descriptor that was closed without being unregistered.
+     */
+    @TruffleBoundary
+    public void register(int fd, SelectableChannel channel, int events, Object data) throws IOException {
+        SelectionKey old = keys.remove(fd);
+        if (old != null) {
+            old.cancel();
+        }
+        channel.configureBlocking(false);
+        SelectionKey key = channel.keyFor(selector);
+        if (key != null && !key.isValid()) {
+            // the cancelled key is only dropped by the next selection operation
+            selector.selectNow();
+        }
+        keys.put(fd, channel.register(selector, toInterestOps(events, channel), new Registration(events, data)));
+    }
+
+    /**
+     * @return {@code false} if {@code fd} is not registered
+     */
+    @TruffleBoundary
+    public boolean modify(int fd, int events, Object data) {
+        SelectionKey key = keys.get(fd);
+        if (key == null) {
+            return false;
+        }
+        try {
+            key.interestOps(toInterestOps(events, key.channel()));
+        } catch (CancelledKeyException e) {
+            keys.remove(fd);
+            return false;
+        }
+        key.attach(new Registration(events, data));
+        return true;
+    }
+
+    /**
+     * @return {@code false} if {@code fd} is not registered
+     */
+    @TruffleBoundary
+    public boolean unregister(int fd) {
+        SelectionKey key = keys.remove(fd);
+        if (key == null) {
+            return false;
+        }
+        key.cancel();
+        return true;
+    }
+
+    /**
+     * Waits until at least one registered channel is ready or the timeout expires and stores the
+     * data of the ready registrations in {@code dataOut} together with the ready events, masked by
+     * the registered events, in {@code eventsOut}. Both arrays must be at least
+     * {@link #getRegisteredCount()} long. Must be called without holding the GIL.
+     *
+     * @param timeoutMs a negative value means no timeout
+     * @return the number of ready registrations
+     */
+    @TruffleBoundary
+    public int select(long timeoutMs, Object[] dataOut, int[] eventsOut) throws IOException {
+        if (timeoutMs == 0) {
+            selector.selectNow();
+        } else {
+            // Java uses 0 to wait indefinitely
+            selector.select(timeoutMs < 0 ? 0 : timeoutMs);
+        }
+        int count = 0;
+        Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+            SelectionKey key = it.next();
+            it.remove();
+            if (!key.isValid() || count == dataOut.length) {
+                continue;
+            }
+            Registration reg = (Registration) key.attachment();
+            int events = fromReadyOps(key.readyOps()) & reg.events;
+            if (events != 0) {
+                dataOut[count] = reg.data;
+                eventsOut[count] = events;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Wakes up a thread blocked in {@link #select}.
+     */
+    @TruffleBoundary
+    public void wakeup() {
+        selector.wakeup();
+    }
+
+    @TruffleBoundary
+    public void close() throws IOException {
+        keys.clear();
+        selector.close();
+    }
+
+    private static int toInterestOps(int events, SelectableChannel channel) {
+        int ops = 0;
+        if ((events & EVENT_READ) != 0) {
+            ops |= SelectionKey.OP_READ | SelectionKey.OP_ACCEPT;
+        }
+        if ((events & EVENT_WRITE) != 0) {
+            ops |= SelectionKey.OP_WRITE | SelectionKey.OP_CONNECT;
+        }
+        return ops & channel.validOps();
+    }
+
+    private static int fromReadyOps(int readyOps) {
+        int events = 0;
+        if ((readyOps & (SelectionKey.OP_READ | SelectionKey.OP_ACCEPT)) != 0) {
+            events |= EVENT_READ;
+        }
+        if ((readyOps & (SelectionKey.OP_WRITE | SelectionKey.OP_CONNECT)) != 0) {
+            events |= EVENT_WRITE;
+        }
+        return events;
+    }
+}
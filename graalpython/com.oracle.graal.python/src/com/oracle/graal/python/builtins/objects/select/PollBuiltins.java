@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.select;
+
+import static com.oracle.graal.python.builtins.modules.SelectModuleBuiltins.MS_TO_NS;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLPRI;
+
+import java.util.List;
+
+import com.oracle.graal.python.annotations.ArgumentClinic;
+import com.oracle.graal.python.annotations.ClinicConverterFactory;
+import com.oracle.graal.python.builtins.Builtin;
+import com.oracle.graal.python.builtins.CoreFunctions;
+import com.oracle.graal.python.builtins.PythonBuiltinClassType;
+import com.oracle.graal.python.builtins.PythonBuiltins;
+import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins.FileDescriptorConversionNode;
+import com.oracle.graal.python.builtins.modules.SelectModuleBuiltins.PyTimeFromObjectNode;
+import com.oracle.graal.python.builtins.objects.PNone;
+import com.oracle.graal.python.builtins.objects.exception.OSErrorEnum;
+import com.oracle.graal.python.builtins.objects.ints.PInt;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.lib.PyNumberIndexNode;
+import com.oracle.graal.python.nodes.ErrorMessages;
+import com.oracle.graal.python.nodes.PGuards;
+import com.oracle.graal.python.nodes.function.PythonBuiltinBaseNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonBinaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.PythonTernaryClinicBuiltinNode;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentCastNode.ArgumentCastNodeWithRaise;
+import com.oracle.graal.python.nodes.function.builtins.clinic.ArgumentClinicProvider;
+import com.oracle.graal.python.runtime.EmulatedPosixSupport;
+import com.oracle.graal.python.runtime.GilNode;
+import com.oracle.graal.python.runtime.PosixSupportLibrary;
+import com.oracle.graal.python.runtime.PosixSupportLibrary.PosixException;
+import com.oracle.truffle.api.dsl.Cached;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.NodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.BranchProfile;
+
+@CoreFunctions(extendClasses = PythonBuiltinClassType.PPoll)
+public class PollBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinBaseNode>> getNodeFactories() {
+        return PollBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * Emulates CPython's {@code unsigned_short} converter used for poll event masks.
+     */
+    public abstract static class EventMaskConversionNode extends ArgumentCastNodeWithRaise {
+
+        @Specialization
+        int doInt(int value) {
+            return check(value);
+        }
+
+        @Specialization
+        int doLong(long value) {
+            return check(value);
+        }
+
+        @Specialization
+        int doBoolean(boolean value) {
+            return value ? 1 : 0;
+        }
+
+        @Specialization
+        int doPInt(PInt value) {
+            if (value.isNegative()) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.VALUE_MUST_BE_POSITIVE);
+            }
+            if (value.compareTo(0xFFFF) > 0) {
+                throw raise(PythonBuiltinClassType.OverflowError, ErrorMessages.PYTHON_INT_TOO_LARGE_FOR_C_UNSIGNED_SHORT);
+            }
+            return value.intValue();
+        }
+
+        @Specialization(guards = {"!isInteger(value)", "!isBoolean(value)", "!isPInt(value)"})
+        int doOther(VirtualFrame frame, Object value,
+                        @Cached PyNumberIndexNode indexNode,
+                        @Cached EventMaskConversionNode recursive) {
+            return (int) recursive.execute(frame, indexNode.execute(frame, value));
+        }
+
+        private int check(long value) {
+            if (value < 0) {
+                throw raise(PythonBuiltinClassType.ValueError, ErrorMessages.VALUE_MUST_BE_POSITIVE);
+            }
+            if (value > 0xFFFF) {
+                throw raise(PythonBuiltinClassType.OverflowError, ErrorMessages.PYTHON_INT_TOO_LARGE_FOR_C_UNSIGNED_SHORT);
+            }
+            return (int) value;
+        }
+
+        @ClinicConverterFactory
+        public static EventMaskConversionNode create() {
+            return PollBuiltinsFactory.EventMaskConversionNodeGen.create();
+        }
+    }
+
+    @Builtin(name = "register", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd", "eventmask"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @ArgumentClinic(name = "eventmask", conversionClass = EventMaskConversionNode.class, defaultValue = "DEFAULT_EVENTS")
+    @GenerateNodeFactory
+    abstract static class RegisterNode extends PythonTernaryClinicBuiltinNode {
+        static final int DEFAULT_EVENTS = POLLIN.value | POLLPRI.value | POLLOUT.value;
+
+        @Specialization
+        static PNone register(PPoll self, int fd, int eventmask) {
+            self.register(fd, eventmask);
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PollBuiltinsClinicProviders.RegisterNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "modify", minNumOfPositionalArgs = 3, parameterNames = {"$self", "fd", "eventmask"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @ArgumentClinic(name = "eventmask", conversionClass = EventMaskConversionNode.class)
+    @GenerateNodeFactory
+    abstract static class ModifyNode extends PythonTernaryClinicBuiltinNode {
+        @Specialization
+        PNone modify(VirtualFrame frame, PPoll self, int fd, int eventmask) {
+            if (!self.modify(fd, eventmask)) {
+                throw raiseOSError(frame, OSErrorEnum.ENOENT);
+            }
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PollBuiltinsClinicProviders.ModifyNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "unregister", minNumOfPositionalArgs = 2, parameterNames = {"$self", "fd"})
+    @ArgumentClinic(name = "fd", conversionClass = FileDescriptorConversionNode.class)
+    @GenerateNodeFactory
+    abstract static class UnregisterNode extends PythonBinaryClinicBuiltinNode {
+        @Specialization
+        PNone unregister(PPoll self, int fd) {
+            if (!self.unregister(fd)) {
+                throw raise(PythonBuiltinClassType.KeyError, new Object[]{fd});
+            }
+            return PNone.NONE;
+        }
+
+        @Override
+        protected ArgumentClinicProvider getArgumentClinic() {
+            return PollBuiltinsClinicProviders.UnregisterNodeClinicProviderGen.INSTANCE;
+        }
+    }
+
+    @Builtin(name = "poll", minNumOfPositionalArgs = 1, parameterNames = {"$self", "timeout"})
+    @GenerateNodeFactory
+    abstract static class PollNode extends PythonBinaryBuiltinNode {
+        @Specialization
+        PList poll(VirtualFrame frame, PPoll self, Object timeout,
+                        @CachedLibrary("getPosixSupport()") PosixSupportLibrary posixLib,
+                        @Cached PyTimeFromObjectNode pyTimeFromObjectNode,
+                        @Cached BranchProfile errorProfile,
+                        @Cached GilNode gil) {
+            int timeoutMs = -1;
+            if (!PGuards.isPNone(timeout)) {
+                timeoutMs = timeoutToMs(pyTimeFromObjectNode.execute(frame, timeout, MS_TO_NS), this);
+            }
+            if (self.isPolling()) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.CONCURRENT_POLL_INVOCATION);
+            }
+            int[] fds = self.getFds();
+            int[] events = self.getEvents();
+            int[] revents = new int[fds.length];
+            EmulatedPosixSupport emulatedPosixSupport = getContext().getResources();
+            boolean containsSocket = false;
+            for (int fd : fds) {
+                containsSocket |= emulatedPosixSupport.isSocket(fd);
+            }
+            long deadline = timeoutMs > 0 ? System.nanoTime() + timeoutMs * MS_TO_NS : 0;
+            int count;
+            self.setPolling(true);
+            try {
+                gil.release(true);
+                try {
+                    while (true) {
+                        try {
+                            if (containsSocket) {
+                                // TODO remove this once native sockets are supported
+                                count = PosixSupportLibrary.getUncached().poll(emulatedPosixSupport, fds, events, revents, timeoutMs);
+                            } else {
+                                count = posixLib.poll(getPosixSupport(), fds, events, revents, timeoutMs);
+                            }
+                            break;
+                        } catch (PosixException e) {
+                            errorProfile.enter();
+                            if (e.getErrorCode() == OSErrorEnum.EINTR.getNumber()) {
+                                gil.acquire(); // need gil to trigger actions or construct OSError
+                                getContext().triggerAsyncActions();
+                                gil.release(true);
+                                if (timeoutMs > 0) {
+                                    timeoutMs = (int) Math.max(0, nsToMs(deadline - System.nanoTime()));
+                                }
+                            } else {
+                                throw e;
+                            }
+                        }
+                    }
+                } finally {
+                    gil.acquire();
+                }
+            } catch (PosixException e) {
+                throw raiseOSErrorFromPosixException(frame, e);
+            } finally {
+                self.setPolling(false);
+            }
+            Object[] result = new Object[count];
+            int resultIdx = 0;
+            for (int i = 0; i < fds.length && resultIdx < count; i++) {
+                if (revents[i] != 0) {
+                    result[resultIdx++] = factory().createTuple(new Object[]{fds[i], revents[i]});
+                }
+            }
+            return factory().createList(result);
+        }
+    }
+
+    /**
+     * Rounds the timeout away from zero like {@code _PyTime_ROUND_TIMEOUT}.
+     */
+    static long nsToMs(long ns) {
+        return ns >= 0 ? (ns + MS_TO_NS - 1) / MS_TO_NS : (ns - (MS_TO_NS - 1)) / MS_TO_NS;
+    }
+
+    /**
+     * Converts a timeout to milliseconds as accepted by {@code poll(2)}, where any negative value
+     * means an infinite timeout.
+     */
+    static int timeoutToMs(long ns, PythonBuiltinBaseNode node) {
+        long ms = nsToMs(ns);
+        if (ms > Integer.MAX_VALUE || ms < Integer.MIN_VALUE) {
+            throw node.raise(PythonBuiltinClassType.OverflowError, ErrorMessages.TIMEOUT_IS_TOO_LARGE);
+        }
+        return ms < 0 ? -1 : (int) ms;
+    }
+}
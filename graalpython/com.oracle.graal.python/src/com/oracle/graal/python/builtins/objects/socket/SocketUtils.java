@@ -58,11 +58,13 @@ public class SocketUtils {
     @TruffleBoundary
     public static void setBlocking(PSocket socket, boolean blocking) throws IOException {
         socket.setBlocking(blocking);
-        if (socket.getSocket() != null) {
+        // channels registered with an emulated epoll instance must stay non-blocking,
+        // handleTimeout then waits on behalf of blocking sockets
+        if (socket.getSocket() != null && !socket.getSocket().isRegistered()) {
             socket.getSocket().configureBlocking(blocking);
         }
 
-        if (socket.getServerSocket() != null) {
+        if (socket.getServerSocket() != null && !socket.getServerSocket().isRegistered()) {
             socket.getServerSocket().configureBlocking(blocking);
         }
     }
@@ -74,7 +76,7 @@ public class SocketUtils {
     @TruffleBoundary
     public static int recv(PNodeWithRaise node, PSocket socket, ByteBuffer target, long timeoutMilliseconds) throws IOException {
         SocketChannel nativeSocket = socket.getSocket();
-        handleTimeout(node, nativeSocket, SelectionKey.OP_READ, timeoutMilliseconds);
+        handleTimeout(node, socket, nativeSocket, SelectionKey.OP_READ, timeoutMilliseconds);
         int length = nativeSocket.read(target);
         if (length < 0) {
             return 0; // EOF, but Python expects 0-bytes
@@ -90,7 +92,7 @@ public class SocketUtils {
     @TruffleBoundary
     public static int send(PNodeWithRaise node, PSocket socket, ByteBuffer source, long timeoutMilliseconds) throws IOException {
         SocketChannel nativeSocket = socket.getSocket();
-        handleTimeout(node, nativeSocket, SelectionKey.OP_WRITE, timeoutMilliseconds);
+        handleTimeout(node, socket, nativeSocket, SelectionKey.OP_WRITE, timeoutMilliseconds);
         return nativeSocket.write(source);
     }
 
@@ -101,11 +103,11 @@ public class SocketUtils {
     @TruffleBoundary
     public static SocketChannel accept(PNodeWithRaise node, PSocket socket, long timeoutMillisedonds) throws IOException {
         ServerSocketChannel nativeSocket = socket.getServerSocket();
-        handleTimeout(node, nativeSocket, SelectionKey.OP_ACCEPT, timeoutMillisedonds);
+        handleTimeout(node, socket, nativeSocket, SelectionKey.OP_ACCEPT, timeoutMillisedonds);
         return nativeSocket.accept();
     }
 
-    private static void handleTimeout(PNodeWithRaise node, SelectableChannel nativeSocket, int op, long timeoutMilliseconds) throws IOException {
+    private static void handleTimeout(PNodeWithRaise node, PSocket socket, SelectableChannel nativeSocket, int op, long timeoutMilliseconds) throws IOException {
         if (!nativeSocket.isBlocking() && timeoutMilliseconds > 0) {
             try (Selector selector = Selector.open()) {
                 SelectionKey key = nativeSocket.register(selector, op);
@@ -114,6 +116,12 @@ public class SocketUtils {
                     throw node.raise(SocketTimeout, ErrorMessages.TIMED_OUT);
                 }
             }
+        } else if (!nativeSocket.isBlocking() && socket.isBlocking()) {
+            // the channel was made non-blocking by an emulated epoll, wait until it is ready
+            try (Selector selector = Selector.open()) {
+                nativeSocket.register(selector, op);
+                selector.select();
+            }
         }
     }
 
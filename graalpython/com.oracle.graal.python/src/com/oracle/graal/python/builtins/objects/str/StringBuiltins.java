@@ -224,7 +224,7 @@ public final class StringBuiltins extends PythonBuiltins {
 
     @Builtin(name = __REPR__, minNumOfPositionalArgs = 1)
     @GenerateNodeFactory
-    abstract static class ReprNode extends PythonUnaryBuiltinNode {
+    public abstract static class ReprNode extends PythonUnaryBuiltinNode {
 
         @Specialization
         static String doGeneric(Object self,
@@ -233,7 +233,7 @@ public final class StringBuiltins extends PythonBuiltins {
         }
 
         @TruffleBoundary
-        static String repr(String self) {
+        public static String repr(String self) {
             boolean hasSingleQuote = self.contains("'");
             boolean hasDoubleQuote = self.contains("\"");
             boolean useDoubleQuotes = hasSingleQuote && !hasDoubleQuote;
@@ -73,6 +73,7 @@ import com.oracle.truffle.api.dsl.NodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.library.CachedLibrary;
+import com.oracle.truffle.api.profiles.ConditionProfile;
 
 @CoreFunctions(extendClasses = {PythonBuiltinClassType.PLock, PythonBuiltinClassType.PRLock})
 public class LockBuiltins extends PythonBuiltins {
@@ -116,8 +117,12 @@ public class LockBuiltins extends PythonBuiltins {
 
         @Specialization(guards = {"!invalidArgs(blocking, timeout)", "timeout == UNSET_TIMEOUT", "blocking"})
         static boolean acBlocking(PLock self, @SuppressWarnings("unused") boolean blocking, @SuppressWarnings("unused") double timeout,
-                        @Cached.Shared("g") @Cached GilNode gil) {
-            // acquire lock
+                        @Cached.Shared("g") @Cached GilNode gil,
+                        @Cached.Shared("c") @Cached ConditionProfile uncontendedProfile) {
+            // uncontended fast path: only give up the GIL if we actually have to wait
+            if (uncontendedProfile.profile(self.acquireNonBlocking())) {
+                return true;
+            }
             gil.release(true);
             try {
                 return self.acquireBlocking();
@@ -128,8 +133,12 @@ public class LockBuiltins extends PythonBuiltins {
 
         @Specialization(guards = {"!invalidArgs(blocking, timeout)", "timeout == UNSET_TIMEOUT", "blocking"})
         static boolean acBlocking(PRLock self, @SuppressWarnings("unused") boolean blocking, @SuppressWarnings("unused") double timeout,
-                        @Cached.Shared("g") @Cached GilNode gil) {
-            // acquire lock
+                        @Cached.Shared("g") @Cached GilNode gil,
+                        @Cached.Shared("c") @Cached ConditionProfile uncontendedProfile) {
+            // uncontended fast path: only give up the GIL if we actually have to wait
+            if (uncontendedProfile.profile(self.acquireNonBlocking())) {
+                return true;
+            }
             gil.release(true);
             try {
                 return self.acquireBlocking();
@@ -152,8 +161,11 @@ public class LockBuiltins extends PythonBuiltins {
 
         @Specialization(guards = {"!invalidArgs(blocking, timeout)", "timeout != UNSET_TIMEOUT", "blocking"})
         static boolean acTimeOut(AbstractPythonLock self, @SuppressWarnings("unused") boolean blocking, double timeout,
-                        @Cached.Shared("g") @Cached GilNode gil) {
-            // acquire lock
+                        @Cached.Shared("g") @Cached GilNode gil,
+                        @Cached.Shared("c") @Cached ConditionProfile uncontendedProfile) {
+            if (uncontendedProfile.profile(self.acquireNonBlocking())) {
+                return true;
+            }
             gil.release(true);
             try {
                 return self.acquireTimeout(timeout);
@@ -214,6 +226,9 @@ public class LockBuiltins extends PythonBuiltins {
     abstract static class ReleaseLockNode extends PythonUnaryBuiltinNode {
         @Specialization
         Object doRelease(PLock self) {
+            if (!self.locked()) {
+                throw raise(PythonBuiltinClassType.RuntimeError, ErrorMessages.RELEASE_UNLOCKED_LOCK);
+            }
             self.release();
             return PNone.NONE;
         }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.builtins.objects.thread;
+
+import java.util.concurrent.TimeUnit;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * The contended path of {@link PLock} and {@link PRLock}. A thread that could not get the lock with
+ * a CAS first spins for a short while (the owner usually releases it quickly, e.g. in a
+ * producer/consumer hand-off) and then waits on a monitor. Waiting does not allocate and a release
+ * only touches the monitor if there actually are waiters.
+ */
+final class LockWaitQueue {
+    private static final int SPIN_COUNT = 64;
+
+    /* number of threads waiting on the monitor; only modified while holding the monitor */
+    private volatile int waiters;
+
+    boolean hasWaiters() {
+        return waiters != 0;
+    }
+
+    /**
+     * Acquires {@code lock} by repeatedly calling {@link AbstractPythonLock#acquireNonBlocking()}.
+     * A negative {@code timeoutMillis} means to wait forever.
+     */
+    @TruffleBoundary
+    boolean acquire(AbstractPythonLock lock, long timeoutMillis) {
+        for (int i = 0; i < SPIN_COUNT; i++) {
+            if (lock.acquireNonBlocking()) {
+                return true;
+            }
+            Thread.yield();
+        }
+        long deadline = timeoutMillis < 0 ? 0 : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (this) {
+            waiters++;
+            try {
+                // The release side first frees the lock and then reads 'waiters', so after
+                // incrementing 'waiters' we either see the lock free or we get notified.
+                while (!lock.acquireNonBlocking()) {
+                    if (timeoutMillis < 0) {
+                        wait();
+                    } else {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            passOnWakeup(lock);
+                            return false;
+                        }
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                passOnWakeup(lock);
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                waiters--;
+            }
+        }
+    }
+
+    /**
+     * Must be called after the lock was freed.
+     */
+    void wakeUpWaiter() {
+        if (waiters != 0) {
+            notifyWaiter();
+        }
+    }
+
+    @TruffleBoundary
+    private synchronized void notifyWaiter() {
+        notify();
+    }
+
+    /*
+     * A waiter that gives up may have consumed the notification of a release. If the lock is free,
+     * hand the notification on to the next waiter so that it does not sleep forever.
+     */
+    private void passOnWakeup(AbstractPythonLock lock) {
+        if (waiters > 1 && !lock.locked()) {
+            notify();
+        }
+    }
+}
@@ -40,59 +40,44 @@
  */
 package com.oracle.graal.python.builtins.objects.thread;
 
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.Shape;
 
 public final class PLock extends AbstractPythonLock {
-    private final Semaphore semaphore;
+    private static final int UNLOCKED = 0;
+    private static final int LOCKED = 1;
+
+    private final AtomicInteger state = new AtomicInteger(UNLOCKED);
+    private final LockWaitQueue waitQueue = new LockWaitQueue();
 
-    @TruffleBoundary
     public PLock(Object cls, Shape instanceShape) {
         super(cls, instanceShape);
-        semaphore = new Semaphore(1);
     }
 
     @Override
-    @TruffleBoundary
     public boolean acquireNonBlocking() {
-        return semaphore.tryAcquire();
+        return state.get() == UNLOCKED && state.compareAndSet(UNLOCKED, LOCKED);
     }
 
     @Override
-    @TruffleBoundary
     public boolean acquireBlocking() {
-        try {
-            semaphore.acquire();
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        }
+        return acquireNonBlocking() || waitQueue.acquire(this, -1);
     }
 
     @Override
-    @TruffleBoundary
     public boolean acquireTimeout(long timeout) {
-        try {
-            return semaphore.tryAcquire(timeout, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        }
+        return acquireNonBlocking() || waitQueue.acquire(this, timeout);
     }
 
     @Override
-    @TruffleBoundary
     public void release() {
-        semaphore.release();
+        state.set(UNLOCKED);
+        waitQueue.wakeUpWaiter();
     }
 
     @Override
-    @TruffleBoundary
     public boolean locked() {
-        return semaphore.availablePermits() == 0;
+        return state.get() == LOCKED;
     }
 }
@@ -40,92 +40,103 @@
  */
 package com.oracle.graal.python.builtins.objects.thread;
 
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.object.Shape;
 
 public final class PRLock extends AbstractPythonLock {
-    private static class InternalReentrantLock extends ReentrantLock {
-        private static final long serialVersionUID = 2531000884985514112L;
-
-        @TruffleBoundary
-        long getOwnerId() {
-            Thread owner = getOwner();
-            if (owner != null) {
-                return owner.getId();
-            }
-            return 0;
-        }
-    }
+    private final AtomicReference<Thread> owner = new AtomicReference<>();
+    private final LockWaitQueue waitQueue = new LockWaitQueue();
 
-    private final InternalReentrantLock lock;
+    /* the recursion count; only accessed by the owning thread */
+    private int count;
 
     public PRLock(Object cls, Shape instanceShape) {
         super(cls, instanceShape);
-        this.lock = allocateLock();
-    }
-
-    @TruffleBoundary
-    private static InternalReentrantLock allocateLock() {
-        return new InternalReentrantLock();
     }
 
     @TruffleBoundary
     public boolean isOwned() {
-        return lock.isHeldByCurrentThread();
+        return owner.get() == Thread.currentThread();
     }
 
-    @TruffleBoundary
     public int getCount() {
-        return lock.getHoldCount();
+        return isOwned() ? count : 0;
+    }
+
+    /**
+     * Sets the recursion count of a lock owned by the current thread (see
+     * {@code RLock._acquire_restore}).
+     */
+    public void setCount(int count) {
+        assert isOwned();
+        this.count = count;
     }
 
     public long getOwnerId() {
-        return lock.getOwnerId();
+        Thread thread = owner.get();
+        if (thread != null) {
+            return getThreadId(thread);
+        }
+        return 0;
     }
 
     @TruffleBoundary
+    private static long getThreadId(Thread thread) {
+        return thread.getId();
+    }
+
     public void releaseAll() {
-        while (lock.getHoldCount() > 0) {
-            lock.unlock();
+        if (isOwned()) {
+            count = 0;
+            unlock();
         }
     }
 
     @Override
     @TruffleBoundary
     protected boolean acquireNonBlocking() {
-        return lock.tryLock();
+        Thread current = Thread.currentThread();
+        Thread currentOwner = owner.get();
+        if (currentOwner == current) {
+            count++;
+            return true;
+        }
+        if (currentOwner == null && owner.compareAndSet(null, current)) {
+            count = 1;
+            return true;
+        }
+        return false;
     }
 
     @Override
-    @TruffleBoundary
     protected boolean acquireBlocking() {
-        lock.lock();
-        return true;
+        return acquireNonBlocking() || waitQueue.acquire(this, -1);
     }
 
     @Override
-    @TruffleBoundary
     protected boolean acquireTimeout(long timeout) {
-        try {
-            return lock.tryLock(timeout, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return false;
-        }
+        return acquireNonBlocking() || waitQueue.acquire(this, timeout);
     }
 
     @Override
-    @TruffleBoundary
     public void release() {
-        lock.unlock();
+        if (!isOwned()) {
+            throw new IllegalMonitorStateException();
+        }
+        if (--count == 0) {
+            unlock();
+        }
+    }
+
+    private void unlock() {
+        owner.set(null);
+        waitQueue.wakeUpWaiter();
     }
 
     @Override
-    @TruffleBoundary
     public boolean locked() {
-        return lock.isLocked();
+        return owner.get() != null;
     }
 }
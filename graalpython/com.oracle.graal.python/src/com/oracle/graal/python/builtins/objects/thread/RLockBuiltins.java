@@ -94,16 +94,10 @@ public class RLockBuiltins extends PythonBuiltins {
                     gil.acquire();
                 }
             }
-            // ignore owner, we use the Java lock and cannot set it
+            // ignore owner, it is always the current thread
             long count = castLong.execute(getItemNode.execute(state.getSequenceStorage(), 0));
-            long actualCount = self.getCount();
-            while (count > actualCount) {
-                self.acquireBlocking(); // we already own it at this point
-                actualCount++;
-            }
-            while (count < actualCount) {
-                self.release();
-                actualCount--;
+            if (count > 1) {
+                self.setCount((int) count);
             }
             return PNone.NONE;
         }
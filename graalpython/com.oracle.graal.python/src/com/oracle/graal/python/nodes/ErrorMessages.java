@@ -43,6 +43,10 @@ package com.oracle.graal.python.nodes;
 public abstract class ErrorMessages {
 
     public static final String ABSOLUTE_VALUE_TOO_LARGE = "absolute value too large";
+    public static final String ARGUMENT_MUST_BE_A_CONTEXT = "argument must be a context";
+    public static final String ARGUMENT_MUST_BE_A_SEQUENCE_OF_LENGTH_3 = "argument must be a sequence of length 3";
+    public static final String ARGUMENT_MUST_BE_A_SIGNAL_DICT = "argument must be a signal dict";
+    public static final String ARGUMENT_MUST_BE_INT_OR_FLOAT = "argument must be int or float";
     public static final String ARG_AFTER_MUST_BE_ITERABLE = "argument after * must be an iterable, not %p";
     public static final String ARG_AFTER_MUST_BE_MAPPING = "%s() argument after ** must be a mapping, not %p";
     public static final String ARG_CONVERTED_NOT_EXECUTABLE = "argument converted is not executable";
@@ -52,6 +56,7 @@ public abstract class ErrorMessages {
     public static final String ARG_D_MUST_BE_S_OR_S = "%s argument %d must be '%s' or '%s'";
     public static final String ARG_S_MUST_BE_A_LIST_OR_TUPLE = "%s must be a list or tuple";
     public static final String ARG_IS_EMPTY_SEQ = "%s() arg is an empty sequence";
+    public static final String ARG_LIST_MUST_BE_TUPLE = "argument list must be a tuple";
     public static final String ARG_MUST_BE_INT_OR_HAVE_FILENO_METHOD = "argument must be an int, or have a fileno() method.";
     public static final String ARG_MUST_BE_NUMBER = "%s argument must be a number, not '%p'";
     public static final String ARG_MUST_BE_S_NOT_P = "%s argument must be a %s, not %p";
@@ -64,14 +69,19 @@ public abstract class ErrorMessages {
     public static final String ARG_SHOULD_BE_INT_BYTESLIKE_OBJ = "argument should be integer or bytes-like object, not '%p'";
     public static final String ARG_SHOULD_BE_INT_OR_NONE = "argument should be integer or None, not %p";
     public static final String ARG_SHOULD_NOT_EXCEED = "%s argument should not exceed %d";
+    public static final String ARG_TO_SETSTATE_MUST_BE_TUPLE = "argument to __setstate__ must be a tuple";
     public static final String ARGS_CHANGED_DURING_ITERATION = "args changed during iteration";
     public static final String ARGS_MUST_HAVE_SAME_LENGTH = "%s arguments must have same length";
+    public static final String ARGUMENTS_MUST_BE_ITERATORS = "Arguments must be iterators";
+    public static final String ARG_1_MUST_BE_AN_ITERATOR = "argument 1 must be an iterator";
+    public static final String ARG_1_MUST_HAVE_A_WRITE_METHOD = "argument 1 must have a \"write\" method";
     public static final String ARRAY_ASSIGN_OUT_OF_BOUNDS = "array assignment index out of range";
     public static final String ARRAY_OUT_OF_BOUNDS = "array index out of range";
     public static final String ARRAY_SIZE_TOO_LARGE = "array size too large";
     public static final String ATTEMP_TO_RELEASE_RECURSIVE_LOCK = "attempt to release recursive lock not owned by thread";
     public static final String ATTEMPT_TO_ASSIGN_SEQ_OF_SIZE_TO_SLICE_OF_SIZE = "attempt to assign sequence of size %d to extended slice of size %d";
     public static final String KEY_IN_S_MUST_BE_STRING = "Key in %s.%s must be str, not %p";
+    public static final String KEY_LENGTH_MUST_BE_GREATER_THAN_0 = "key length must be greater than 0.";
     public static final String ITEM_IN_S_MUST_BE_STRING = "Item in %s.%s must be str, not %p";
     public static final String ATTR_NAME_MUST_BE_STRING = "attribute name must be string, not '%p'";
     public static final String ATTR_S_OF_S_IS_NOT_READABLE = "attribute %s of %s objects is not readable";
@@ -89,19 +99,28 @@ public abstract class ErrorMessages {
     public static final String BAD_MARSHAL_DATA = "bad marshal data";
     public static final String BAD_MEMBER_DESCR_TYPE_FOR_P = "bad memberdescr type for %p";
     public static final String BAD_OPERAND_FOR = "bad operand type for %s%s: '%p'";
+    public static final String BAD_QUOTING_VALUE = "bad \"quoting\" value";
+    public static final String BAD_TZINFO_STATE_ARG = "bad tzinfo state arg";
     public static final String BAD_VALUES_IN_FDS_TO_KEEP = "bad value(s) in fds_to_keep";
     public static final String BASE_OUT_OF_RANGE_FOR_INT = "base is out of range for int()";
     public static final String BASES_MUST_BE_TYPES = "bases must be types";
     public static final String BASES_ITEM_CAUSES_INHERITANCE_CYCLE = "a __bases__ item causes an inheritance cycle";
     public static final String BOOL_SHOULD_RETURN_BOOL = "__bool__ should return bool, returned %p";
     public static final String BOTH_POINTS_MUST_HAVE_THE_SAME_NUMBER_OF_DIMENSIONS = "both points must have the same number of dimensions";
+    public static final String BUFFER_CALLBACK_NEEDS_PROTOCOL_5 = "buffer_callback needs protocol >= 5";
     public static final String BUFFER_INDICES_MUST_BE_INTS = "buffer indices must be integers, not %p";
     public static final String BYTE_STR_IS_TOO_LARGE = "byte string is too large";
     public static final String BYTEARRAY_OUT_OF_BOUNDS = "bytearray index out of range";
     public static final String BYTEORDER_MUST_BE_LITTLE_OR_BIG = "byteorder must be either 'little' or 'big'";
     public static final String BYTESLIKE_OBJ_REQUIRED = "a bytes-like object is required, not '%p'";
+    public static final String RW_BYTESLIKE_OBJ_REQUIRED = "a read-write bytes-like object is required, not '%p'";
     public static final String BYTE_STRING_OF_LEN_ONE_ONLY = "%s argument 2 must be a byte string of length 1, not %s";
     public static final String BYTE_MUST_BE_IN_RANGE = "byte must be in range(0, 256)";
+    public static final String CANNOT_CONVERT_SIGNALING_NAN_TO_FLOAT = "cannot convert signaling NaN to float";
+    public static final String CANNOT_HASH_A_SIGNALING_NAN_VALUE = "Cannot hash a signaling NaN value";
+    public static final String COEFFICIENT_MUST_BE_A_TUPLE_OF_DIGITS = "coefficient must be a tuple of digits";
+    public static final String CONTEXT_ATTRIBUTES_CANNOT_BE_DELETED = "context attributes cannot be deleted";
+    public static final String CONVERSION_FROM_P_TO_DECIMAL_IS_NOT_SUPPORTED = "conversion from %p to Decimal is not supported";
     public static final String C_ARG_NOT_IN_RANGE = "%%c arg not in range(0x%s)";
     public static final String CALL_STACK_NOT_DEEP_ENOUGH = "call stack is not deep enough";
     public static final String CALLING_ARG_CONVERTER_FAIL_EXPECTED_D_GOT_P = "calling argument converter failed; expected %d but got %d parameters.";
@@ -118,6 +137,7 @@ public abstract class ErrorMessages {
     public static final String CANNOT_ASSIGN_TO_COMPREHENSION = "cannot assign to %s comprehension";
     public static final String CANNOT_BE_INTEPRETED_AS_LONG = "%s cannot be interpreted as long (type %p)";
     public static final String S_CANNOT_BE_NEGATIVE_INTEGER_D = "%s cannot be negative integer (%d)";
+    public static final String S_CLASS_ARGUMENT_MUST_BE_TYPE_NOT_P = "%s class argument must be a type, not %p";
     public static final String CANNOT_CALL_CTOR_OF = "cannot call constructor of %s";
     public static final String CANNOT_CLOSE_EXPORTED_PTRS_EXIST = "cannot close exported pointers exist";
     public static final String CANNOT_CONVERT_DICT_UPDATE_SEQ = "cannot convert dictionary update sequence element #%d to a sequence";
@@ -135,6 +155,7 @@ public abstract class ErrorMessages {
     public static final String CANNOT_DELETE_MEMORY = "cannot delete memory";
     public static final String CANNOT_MODIFY_READONLY_MEMORY = "cannot modify read-only memory";
     public static final String CANNOT_EXTEND_INCOMPLETE_P = "Cannot extend an incomplete type '%p'";
+    public static final String CANNOT_EXTRACT_RAW_BUFFER = "cannot extract raw buffer from non-contiguous buffer";
     public static final String CANNOT_FIT_P_INTO_INDEXSIZED_INT = "cannot fit '%p' into an index-sized integer";
     public static final String CANNOT_GET_SHAPE_OF_NATIVE_CLS = "cannot get shape of native class";
     public static final String CANNOT_GET_CONSISTEMT_METHOD_RESOLUTION = "Cannot create a consistent method resolution\norder (MRO) for bases %s";
@@ -148,6 +169,8 @@ public abstract class ErrorMessages {
     public static final String CANNOT_LOAD = "cannot load %s: %s";
     public static final String CANNOT_LOAD_M = "cannot load %s: %m";
     public static final String CANNOT_RELEASE_UNAQUIRED_LOCK = "cannot release un-acquired lock";
+    public static final String CANNOT_RESET_CONTEXT_WITH_THREADS = "cannot reset the context while other threads are running";
+    public static final String CANNOT_START_THREAD_IN_ISOLATED_CONTEXT = "cannot start new threads in a context that is isolated to a single thread";
     public static final String CANNOT_SPECIFY_BOTH_COMMA_AND_UNDERSCORE = "Cannot specify both ',' and '_'.";
     public static final String CANNOT_SPECIFY_C_WITH_C = "Cannot specify '%c' with '%c'.";
     public static final String CANNOT_USE_FD_AND_FOLLOW_SYMLINKS_TOGETHER = "%s: cannot use fd and follow_symlinks together";
@@ -155,17 +178,30 @@ public abstract class ErrorMessages {
     public static final String CANT_CONVERT_TO_FLOAT = "can't convert %s to float";
     public static final String CANT_CONVERT_TO_STR_EXPLICITELY = "Can't convert '%p' object to str implicitly";
     public static final String CANT_COMPARE = "Can't compare %p and %p";
+    public static final String CANT_COMPARE_OFFSET_NAIVE_AND_OFFSET_AWARE_S = "can't compare offset-naive and offset-aware %s";
+    public static final String CANT_COMPARE_P_TO_P = "can't compare %p to %p";
     public static final String CANT_DELETE = "can't delete '%s'";
     public static final String CAN_T_DELETE_NUMERIC_CHAR_ATTRIBUTE = "can't delete numeric/char attribute";
     public static final String CANT_EXTEND_JAVA_CLASS_NOT_JVM = "Java Class can be extended only in JVM mode.";
     public static final String CANT_EXTEND_JAVA_CLASS_NOT_TYPE = "Function extend needs a Java type as its argument not %p";
     public static final String CANT_FIND_MODULE = "can't find module '%s'";
+    public static final String CANT_GET_LOCAL_ATTRIBUTE_S_ON_S = "Can't get local attribute %s on %s";
     public static final String CANT_MULTIPLY_SEQ_BY_NON_INT = "can't multiply sequence by non-int of type '%p'";
+    public static final String CANT_PICKLE_GLOBAL_IDENTIFIER_S_USING_PROTOCOL_D = "can't pickle global identifier '%s' using pickle protocol %d";
+    public static final String CANT_PICKLE_LOCAL_OBJECT_S = "Can't pickle local object %s";
+    public static final String CANT_PICKLE_MODULE_IDENTIFIER_S_USING_PROTOCOL_D = "can't pickle module identifier '%s' using pickle protocol %d";
+    public static final String CANT_PICKLE_P_OBJECT_S = "can't pickle '%p' object: %s";
+    public static final String CANT_PICKLE_S_ATTRIBUTE_LOOKUP_S_ON_S_FAILED = "Can't pickle %s: attribute lookup %s on %s failed";
+    public static final String CANT_PICKLE_S_EXTENSION_CODE_D_OUT_OF_RANGE = "Can't pickle %s: extension code %d is out of range";
+    public static final String CANT_PICKLE_S_EXTENSION_CODE_S_ISNT_AN_INTEGER = "Can't pickle %s: extension code %s isn't an integer";
+    public static final String CANT_PICKLE_S_IMPORT_OF_MODULE_S_FAILED = "Can't pickle %s: import of module %s failed";
+    public static final String CANT_PICKLE_S_NOT_SAME_OBJECT_AS_S_S = "Can't pickle %s: it's not the same object as %s.%s";
     public static final String CANT_SET_S_S = "can't set %s.%s";
     public static final String CANT_SET_ATTRIBUTES_OF_TYPE = "can't set attributes of %s";
     public static final String CANT_SET_ATTRIBUTES_OF_TYPE_S = "can't set attributes of built-in/extension type '%s'";
     public static final String CANT_SPECIFY_DIRFD_WITHOUT_PATH = "%s: can't specify dir_fd without matching path";
     public static final String CANT_SPECIFY_TIMEOUT_FOR_NONBLOCKING = "can't specify a timeout for a non-blocking call";
+    public static final String CANT_SUBTRACT_OFFSET_NAIVE_AND_OFFSET_AWARE_DATETIMES = "can't subtract offset-naive and offset-aware datetimes";
     public static final String CANT_SUM_BYTEARRAY = "sum() can't sum bytearray [use b''.join(seq) instead]";
     public static final String CANT_SUM_BYTES = "sum() can't sum bytes [use b''.join(seq) instead]";
     public static final String CANT_SUM_STRINGS = "sum() can't sum strings [use ''.join(seq) instead]";
@@ -182,6 +218,9 @@ public abstract class ErrorMessages {
     public static final String MUST_BE_SET_TO_S_NOT_P = "%s must be set to a %s, not a '%p'";
     public static final String CLASSPATH_ARG_MUST_BE_STRING = "classpath argument %d must be string, not %p";
     public static final String CODE_OBJ_NO_FREE_VARIABLES = "code object passed to %s may not contain free variables";
+    public static final String COMPAT_PICKLE_S_VALUES_SHOULD_BE_2_TUPLES_NOT_P = "_compat_pickle.%s values should be 2-tuples, not %p";
+    public static final String COMPAT_PICKLE_S_VALUES_SHOULD_BE_PAIRS_OF_STR_NOT_P_P = "_compat_pickle.%s values should be pairs of str, not (%p, %p)";
+    public static final String COMPAT_PICKLE_S_VALUES_SHOULD_BE_STRINGS_NOT_P = "_compat_pickle.%s values should be strings, not %p";
     public static final String COMPILE_MUST_BE = "compile() mode must be 'exec', 'eval' or 'single'";
     public static final String COMPLEX_ARG_IS_MALFORMED_STR = "complex() arg is a malformed string";
     public static final String COMPLEX_CANT_TAKE_ARG = "complex() can't take second arg if first is a string";
@@ -195,14 +234,21 @@ public abstract class ErrorMessages {
     public static final String CORRUPTED_CAPI_LIB_OBJ = "corrupted C API library object: %s";
     public static final String COULD_NOT_CONVERT_STRING_TO_COMPLEX = "could not convert string to complex: %s";
     public static final String COULD_NOT_CONVERT_STRING_TO_FLOAT = "could not convert string to float: %s";
+    public static final String COULD_NOT_FIND_MARK = "could not find MARK";
     public static final String COUNT_FUNC_MATH = "count function in Math";
     public static final String COVERAGE_TRACKER_NOT_RUNNING = "coverage tracker not running";
     public static final String CREATING_SOCKETS_NOT_ALLOWED = "creating sockets not allowed";
     public static final String DEFAULT_EXCEPT_MUST_BE_LAST = "default 'except:' must be last";
+    public static final String DEQUE_ALREADY_AT_MAX_SIZE = "deque already at its maximum size";
+    public static final String DEQUE_INDEX_OUT_OF_RANGE = "deque index out of range";
+    public static final String DEQUE_MUTATED_DURING_ITERATION = "deque mutated during iteration";
+    public static final String DEQUE_MUTATED_DURING_REMOVE = "deque mutated during remove().";
+    public static final String DEQUE_REMOVE_X_NOT_IN_DEQUE = "deque.remove(x): x not in deque";
     public static final String DESC_S_FOR_S_DOESNT_APPLY_TO_S = "descriptor '%s' for '%s' objects doesn't apply to '%s' object";
     public static final String DESCRIPTOR_REQUIRES_OBJ = "descriptor '%s' requires a '%s' object but received a '%p'";
     public static final String DESCRIPTOR_NEED_OBJ = "descriptor '%s' of '%s' object needs an argument";
     public static final String DICT_CHANGED_DURING_COMPARISON = "dictionary changed during comparison operation";
+    public static final String DICT_ITEMS_ITERATOR_MUST_RETURN_2_TUPLES = "dict items iterator must return 2-tuples";
     public static final String CHANGED_SIZE_DURING_ITERATION = "%s changed size during iteration";
     public static final String DICT_MUST_BE_SET_TO_DICT = "__dict__ must be set to a dictionary, not a '%p'";
     public static final String DICT_OF_P_OBJECTS_HAS_NO_ATTR = "'%p' dict of '%p' object has no attribute '__setitem__'";
@@ -210,6 +256,7 @@ public abstract class ErrorMessages {
     public static final String DIVISION_BY_ZERO = "division by zero";
     public static final String S_DIVISION_BY_ZERO = "%s division by zero";
     public static final String S_DIVISION_OR_MODULO_BY_ZERO = "%s division or modulo by zero";
+    public static final String S_DT_ARGUMENT_MUST_BE_A_DATETIME_INSTANCE_OR_NONE_NOT_P = "%s(dt) argument must be a datetime instance or None, not %p";
     public static final String SUPER_NO_CLASS = "super(): no arguments";
     public static final String SUPER_EMPTY_CLASS = "super(): empty __class__ cell";
     public static final String EMPTY_SEPARATOR = "empty separator";
@@ -218,6 +265,7 @@ public abstract class ErrorMessages {
     public static final String ERROR_WRITING_FORKEXEC = "there was an error writing the fork_exec error to the error pipe";
     public static final String ERROR_CALLING_SET_NAME = "Error calling __set_name__ on '%p' instance '%s' in '%N'";
     public static final String ERRORS_WITHOUT_STR_ARG = "errors without a string argument";
+    public static final String EXPONENT_MUST_BE_AN_INTEGER = "exponent must be an integer";
     public static final String EXPORTS_CANNOT_RESIZE = "Existing exports of data: object cannot be re-sized";
     public static final String ESTAR_FORMAT_SPECIFIERS_NOT_ALLOWED = "'e*' format specifiers are not supported";
     public static final String EXCEPTION_CAUSE_MUST_BE_NONE_OR_DERIVE_FROM_BASE_EX = "exception cause must be None or derive from BaseException";
@@ -229,7 +277,9 @@ public abstract class ErrorMessages {
     public static final String EXPECTED_AT_MOST_D_ARGS_GOT_D = "%s expected at most %d arguments, got %d";
     public static final String EXPECTED_BYTESLIKE_GOT_P = "expected a bytes-like object, %p found";
     public static final String EXPECTED_CHARACTER_BUT_STRING_FOUND = "%s expected a character, but string of length %d found";
+    public static final String EXPECTED_D_ITEMS_IN_STATE_GOT_D = "expected %d items in state, got %d";
     public static final String EXPECTED_FSPATH_TO_RETURN_STR_OR_BYTES = "expected %p.__fspath__() to return str or bytes, not %p";
+    public static final String EXPECTED_INT_AS_R = "Expected int as r";
     public static final String EXPECTED_OBJ_TYPE_S_GOT_P = "expected object of type %s, got %p";
     public static final String EXPECTED_S_GOT_P = "expected %s, got %p";
     public static final String EXPECTED_S_NOT_P = "expected %s, not %p";
@@ -237,25 +287,35 @@ public abstract class ErrorMessages {
     public static final String EXPECTED_STR_BYTE_OSPATHLIKE_OBJ = "expected str, bytes or os.PathLike object, not %p";
     public static final String S_EXPECTED_STRING_OF_LEN_BUT_P = "%s expected string of length %s, but %p found";
     public static final String EXPECTED_UNICODE_CHAR_NOT_P = "expected a unicode character, not %p";
+    public static final String EXPECTING_COLON_DELIMITER = "Expecting ':' delimiter";
+    public static final String EXPECTING_COMMA_DELIMITER = "Expecting ',' delimiter";
+    public static final String EXPECTING_PROPERTY_NAME = "Expecting property name enclosed in double quotes";
     public static final String EXPONENT_TOO_LARGE = "exponent too large";
+    public static final String EXT_SPECIFIES_CODE_LE_0 = "EXT specifies code <= 0";
     public static final String FACTORIAL_NOT_DEFINED_FOR_NEGATIVE = "factorial() not defined for negative values";
     public static final String FD_IS_GREATER_THAN_MAXIMUM = "fd is greater than maximum";
     public static final String FD_IS_LESS_THAN_MINIMUM = "fd is less than minimum";
+    public static final String FIELD_LARGER_THAN_FIELD_LIMIT = "field larger than field limit (%d)";
     public static final String FILE_NOT_OPENED_FOR_READING = "file not opened for reading";
     public static final String FILE_OR_STREAM_IS_NOT_READABLE = "File or stream is not readable.";
     public static final String FILE_OR_STREAM_IS_NOT_SEEKABLE = "File or stream is not seekable.";
     public static final String FILE_OR_STREAM_IS_NOT_WRITABLE = "File or stream is not writable.";
     public static final String FILE_DESCRIPTOR_OUT_OF_RANGE_IN_SELECT = "filedescriptor out of range in select()";
+    public static final String FILE_MUST_HAVE_READ_AND_READLINE_ATTRS = "file must have 'read' and 'readline' attributes";
+    public static final String FILE_MUST_HAVE_WRITE_ATTR = "file must have a 'write' attribute";
     public static final String FILL_CHAR_MUST_BE_LENGTH_1 = "The fill character must be exactly one character long";
     public static final String FILTER_SPEC_MUST_BE_DICT = "Filter specifier must be a dict or dict-like object";
     public static final String FILTER_SPECIFIER_MUST_HAVE = "Filter specifier must have an \"id\" entry";
+    public static final String FIRST_ARG_MUST_BE_A_STRING_NOT_P = "first argument must be a string, not %p";
     public static final String FIRST_ARG_MUST_BE_CALLABLE = "first argument must be callable";
+    public static final String FIRST_ARG_MUST_BE_CALLABLE_OR_NONE = "first argument must be callable or None";
     public static final String FIRST_ARG_MUST_BE_S_OR_TUPLE_NOT_P = "%s first arg must be %s or a tuple of str, not %p";
     public static final String FIRST_TWO_MAKETRANS_ARGS_MUST_HAVE_EQ_LENGTH = "the first two maketrans arguments must have equal length";
     public static final String FLOAT_ARG_REQUIRED = "float argument required, not %p";
     public static final String FOREIGN_INVOCATION_DOESNT_SUPPORT_KEYWORD_ARG = "foreign invocation does not support keyword arguments";
     public static final String FOREIGN_OBJ_HAS_NO_ATTR_S = "foreign object has no attribute '%s'";
     public static final String FOREIGN_OBJ_ISNT_ITERABLE = "foreign object is not iterable";
+    public static final String FORMAT_ARG_MUST_BE_STR = "format arg must be str";
     public static final String FORMAT_REQUIRES_MAPPING = "format requires a mapping";
     public static final String FORMATED_S_TOO_LONG = "formatted %s is too long (precision too large?)";
     public static final String FREE_VAR_REFERENCED_BEFORE_ASSIGMENT = "free variable '%s' referenced before assignment in enclosing scope";
@@ -275,11 +335,14 @@ public abstract class ErrorMessages {
     public static final String GOT_UNEXPECTED_KEYWORD_ARG = "%s() got an unexpected keyword argument '%s'";
     public static final String HAS_NO_ATTR = "%s has no attribute %s";
     public static final String HASH_SHOULD_RETURN_INTEGER = "__hash__ method should return an integer";
+    public static final String HEAP_ARGUMENT_MUST_BE_A_LIST = "heap argument must be a list";
     public static final String HEX_VALUE_TOO_LARGE_AS_FLOAT = "hexadecimal value too large to represent as a float";
     public static final String HOST_ACCESS_NOT_ALLOWED = "host access is not allowed";
     public static final String HOST_LOOKUP_NOT_ALLOWED = "host lookup is not allowed";
     public static final String HOST_SYM_NOT_DEFINED = "host symbol %s is not defined or access has been denied";
+    public static final String HOUR_MUST_BE_IN_0_23 = "hour must be in 0..23";
     public static final String IDN_ENC_FAILED = "IDN encoding failed: %s";
+    public static final String IDX_CANNOT_BE_NEGATIVE = "idx cannot be negative";
     public static final String IF_YOU_GIVE_ONLY_ONE_ARG_TO_DICT = "if you give only one argument to maketrans it must be a dict";
     public static final String INVALID_INDEXING_OF_0_DIM_MEMORY = "invalid indexing of 0-dim memory";
     public static final String ILLEGAL_ENVIRONMENT_VARIABLE_NAME = "illegal environment variable name";
@@ -287,6 +350,7 @@ public abstract class ErrorMessages {
     public static final String ILLEGAL_IP_STRING_PASSED_TO = "illegal IP address string passed to %s";
     public static final String ILLEGAL_SOCKET_ADDR_ARG = "%s: illegal sockaddr argument";
     public static final String S_ILLEGAL_TIME_TUPLE_ARG = "%s: illegal time tuple argument";
+    public static final String S_IS_NOT_IN_DEQUE = "%s is not in deque";
     public static final String IMPORT_STAR_ONLY_ALLOWED_AT_MODULE_LEVEL = "import * only allowed at module level";
     public static final String INCOMPLETE_FORMAT = "incomplete format";
     public static final String INDEX_NOT_INT = "%s: index not int";
@@ -313,18 +377,24 @@ public abstract class ErrorMessages {
     public static final String INVALID_ARGS_FOR_FASTCALL_METHOD = "invalid arguments for fastcall method (expected 3 but got %s)";
     public static final String INVALID_ARGS_FOR_FASTCALL_W_KEYWORDS_METHOD = "invalid arguments for fastcall_with_keywords method (expected 4 but got %s)";
     public static final String INVALID_ARGS_FOR_METHOD = "invalid arguments for method (expected 3 but got %s)";
+    public static final String INVALID_ARGUMENTS = "invalid arguments";
     public static final String INVALID_BASE_TYPE_OBJ_FOR_CLASS = "Invalid base type object for class %s (base type was '%p' object).";
     public static final String INVALID_CAPI_FUNC = "invalid C API function: %s";
     public static final String INVALID_CONTAINER_FORMAT = "Invalid container format: %d";
+    public static final String INVALID_CONTROL_CHARACTER_AT = "Invalid control character at";
     public static final String INVALID_ESCAPE_AT = "invalid %s escape at position %d";
     public static final String INVALID_ESCAPE_SEQ_AT = "invalid escape sequence '\\%s' at position %d";
     public static final String INVALID_FILTER = "Invalid filter ID: %d";
     public static final String INVALID_FILTER_CHAIN_FOR_FORMAT = "Invalid filter chain for FORMAT_ALONE - must be a single LZMA1 filter";
+    public static final String INVALID_FORMAT_STRING = "invalid format string";
     public static final String INVALID_INDEX_S = "invalid index %s";
     public static final String INVALID_INPUT_ELEM_TYPE = "Invalid input element type '%p'";
     public static final String INVALID_INSTANTIATION_OF_FOREIGN_OBJ = "invalid instantiation of foreign object";
+    public static final String INVALID_ISOFORMAT_STRING_S = "Invalid isoformat string: %s";
     public static final String INVALID_ITEM_RETURNED_FROM_NATIVE_SEQ = "Invalid item type %s returned from native sequence storage (expected: %s)";
     public static final String INVALID_LITERAL_FOR_INT_WITH_BASE = "invalid literal for int() with base %s: %s";
+    public static final String INVALID_LOAD_KEY_C = "invalid load key, '%c'.";
+    public static final String INVALID_LOAD_KEY_X = "invalid load key, '\\x%02x'.";
     public static final String INVALID_LOCALE_CATEGORY = "invalid locale category";
     public static final String INVALID_MRO_OBJ = "invalid mro object";
     public static final String INVALID_NORMALIZATION_FORM = "invalid normalization form";
@@ -332,10 +402,15 @@ public abstract class ErrorMessages {
     public static final String INVALID_OBJ_FROM_NATIVE = "invalid object from native: %s";
     public static final String INVALID_OPTIMIZE_VALUE = "compile(): invalid optimize value";
     public static final String INVALID_PARAMS = "invalid parameters";
+    public static final String INVALID_PARTIAL_STATE = "invalid partial state";
     public static final String INVALID_PTR_OBJ = "invalid pointer object: %s";
+    public static final String INVALID_SIGNAL_DICT = "invalid signal dict";
     public static final String INVALID_SYNTAX = "invalid syntax";
     public static final String INVALID_USE_OF_W_FORMAT_CHAR = "invalid use of 'w' format character";
+    public static final String INVALID_UXXXX_ESCAPE = "Invalid \\uXXXX escape";
     public static final String INVALID_BUFFER_ACCESS = "invalid buffer access";
+    public static final String INVALID_ESCAPE = "Invalid \\escape";
+    public static final String INVALID_STATE_TUPLE = "invalid state tuple";
     public static final String IS_EMPTY = "%s is empty";
     public static final String IS_NOT_A_DICTIONARY = "%s is not a dictionary";
     public static final String IS_NOT_IN_RANGE = "%s is not in range";
@@ -348,11 +423,19 @@ public abstract class ErrorMessages {
     public static final String D_IS_NOT_IN_RANGE = "%d is not in range";
     public static final String INIT_TAKES_ONE_ARG = "%N.__init__() takes exactly one argument (the instance to initialize)";
     public static final String INIT_TAKES_ONE_ARG_OBJECT = "object.__init__() takes exactly one argument (the instance to initialize)";
+    public static final String INTEGER_ARG_EXPECTED_GOT_P = "integer argument expected, got %p";
     public static final String INVALID_VALUE_NAN = "Invalid value NaN (not a number)";
+    public static final String INVALID_WEEKDAY_D_RANGE_IS_1_7 = "Invalid weekday: %d (range is [1, 7])";
+    public static final String INVALID_WEEK_D = "Invalid week: %d";
+    public static final String INVERTED_REGISTRY_NOT_2_TUPLE = "_inverted_registry[%d] isn't a 2-tuple of strings";
     public static final String IS_NOT_SUBTYPE_OF = "%s.__new__(%N): %N is not a subtype of %s";
     public static final String IS_NOT_TYPE_OBJ = "%s is not a type object (%p)";
     public static final String ISINSTANCE_ARG_2_MUST_BE_TYPE_OR_TUPLE_OF_CLSS_WAS = "issubclass() arg 2 must be a class or tuple of classes";
     public static final String ISINSTANCE_ARG_2_MUST_BE_TYPE_OR_TUPLE_OF_TYPE = "isinstance() arg 2 must be a type or tuple of types (was: %s)";
+    public static final String ISLICE_INDICES_MUST_BE_NONE_OR_INT = "Indices for islice() must be None or an integer: 0 <= x <= sys.maxsize.";
+    public static final String ISLICE_STEP_MUST_BE_POSITIVE = "Step for islice() must be a positive integer or None.";
+    public static final String ISLICE_STOP_MUST_BE_NONE_OR_INT = "Stop argument for islice() must be None or an integer: 0 <= x <= sys.maxsize.";
+    public static final String ISLICE_WRONG_ARGS = "islice(seq, stop) or islice(seq, start, stop[, step])";
     public static final String ISSUBCLASS_MUST_BE_CLASS_OR_TUPLE = "issubclass() arg 2 must be a class or tuple of classes";
     public static final String ITER_V_MUST_BE_CALLABLE = "iter(v, w): v must be callable";
     public static final String KEYWORD_NAMES_MUST_BE_STR_GOT_P = "keyword names must be str, get %p";
@@ -365,12 +448,17 @@ public abstract class ErrorMessages {
     public static final String LIST_ASSIGMENT_INDEX_OUT_OF_RANGE = "list assignment index out of range";
     public static final String LIST_INDEX_OUT_OF_RANGE = "list index out of range";
     public static final String LIST_LENGTH_OUT_OF_RANGE = "list length out of range";
+    public static final String LIST_MODIFIED_DURING_SORT = "list modified during sort";
     public static final String LOCAL_VAR_REFERENCED_BEFORE_ASSIGMENT = "local variable '%s' referenced before assignment";
     public static final String LOCALS_MUST_BE_MAPPING = "%s() locals must be a mapping or None, not %p";
     public static final String LOST_SYSBREAKPOINTHOOK = "lost sys.breakpointhook";
     public static final String LOST_SYSDISPLAYHOOK = "lost sys.displayhook";
     public static final String LOST_SYSSTDOUT = "lost sys.stdout";
     public static final String LENGTH_SHOULD_NOT_BE_NEG = "length should not be negative";
+    public static final String LEN_OF_UNSIZED_OBJ = "len() of unsized object";
+    public static final String LIMIT_MUST_BE_AN_INTEGER = "limit must be an integer";
+    public static final String LINETERMINATOR_MUST_BE_SET = "lineterminator must be set";
+    public static final String LINE_CONTAINS_NUL = "line contains NUL";
     public static final String MATH_DOMAIN_ERROR = "math domain error";
     public static final String MATH_RANGE_ERROR = "math range error";
     public static final String MAX_MARSHAL_STACK_DEPTH = "Maximum marshal stack depth";
@@ -391,6 +479,11 @@ public abstract class ErrorMessages {
     public static final String MEMORYVIEW_CAST_ELEMENTS_MUST_BE_POSITIVE_INTEGERS = "memoryview.cast(): elements of shape must be integers > 0";
     public static final String MEMORYVIEW_HAS_D_EXPORTED_BUFFERS = "memoryview has %d exported buffers";
     public static final String MEMORYVIEW_FORMAT_S_NOT_SUPPORTED = "memoryview: format %s not supported";
+    public static final String MEMO_ID_TOO_LARGE_FOR_S = "memo id too large for %s";
+    public static final String MEMO_KEY_MUST_BE_INTEGERS = "memo key must be integers";
+    public static final String MEMO_KEY_MUST_BE_POSITIVE_INTEGERS = "memo key must be positive integers.";
+    public static final String MEMO_MUST_BE_S_OR_DICT_NOT_P = "'memo' attribute must be a %s object or dict, not %p";
+    public static final String MEMO_VALUES_MUST_BE_2_ITEM_TUPLES = "'memo' values must be 2-item tuples";
     public static final String METACLASS_CONFLICT = "metaclass conflict: the metaclass of a derived class must be a (non-strict) subclass of the metaclasses of all its bases";
     public static final String METHOD_NAME_MUST_BE = "method name must be string, not %p";
     public static final String MISSING_D_REQUIRED_S_ARGUMENT_S_POS = "%s() missing required argument '%s' (pos %d)";
@@ -399,6 +492,7 @@ public abstract class ErrorMessages {
     public static final String MODULE_HAS_NO_ATTR_S = "module has no attribute '%s'";
     public static final String MODULE_PARTIALLY_INITIALIZED_S_HAS_NO_ATTR_S = "partially initialized module '%s' has no attribute '%s' (most likely due to a circular import)";
     public static final String MODULE_S_HAS_NO_ATTR_S = "module '%s' has no attribute '%s'";
+    public static final String MONTH_MUST_BE_IN_1_12 = "month must be in 1..12";
     public static final String MULTI_DIMENSIONAL_SUB_VIEWS_NOT_IMPLEMENTED = "multi-dimensional sub-views are not implemented";
     public static final String MULTIPLE_BASES_LAYOUT_CONFLICT = "multiple bases have instance lay-out conflict";
     public static final String MUST_BE = "%s: '%s' must be %s";
@@ -426,18 +520,32 @@ public abstract class ErrorMessages {
     public static final String NAME_NOT_DEFINED = "name '%s' is not defined";
     public static final String NAMELESS_MODULE = "nameless module";
     public static final String NEED_BYTELIKE_OBJ = "decoding to str: need a bytes-like object, %p found";
+    public static final String NEED_TO_ESCAPE_NO_ESCAPECHAR_SET = "need to escape, but no escapechar set";
     public static final String NEG_INF_PLUS_INF_IN = "-inf + inf in fsum";
     public static final String NEGATIVE_COUNT = "negative count";
     public static final String NEGATIVE_DATA_SIZE = "negative data size";
     public static final String NEGATIVE_SHIFT_COUNT = "negative shift count";
+    public static final String NEGATIVE_S_ARGUMENT = "negative %s argument";
+    public static final String NEWOBJ_ARGLIST_IS_EMPTY = "__newobj__ arglist is empty";
+    public static final String NEWOBJ_ARGS0_HAS_WRONG_CLASS = "args[0] from __newobj__ args has the wrong class";
+    public static final String NEWOBJ_ARGS0_IS_NOT_A_TYPE = "args[0] from __newobj__ args is not a type";
+    public static final String NEWOBJ_EX_ARGS_MUST_HAVE_LENGTH_3_NOT_D = "length of the NEWOBJ_EX argument tuple must be exactly 3, not %d";
+    public static final String NEWOBJ_EX_FIRST_ITEM_MUST_BE_CLASS_NOT_P = "first item from NEWOBJ_EX argument tuple must be a class, not %p";
+    public static final String NEWOBJ_EX_KWARGS_MUST_BE_DICT_NOT_P = "NEWOBJ_EX kwargs argument must be a dict, not %p";
+    public static final String NEWOBJ_EX_SECOND_ITEM_MUST_BE_TUPLE_NOT_P = "second item from NEWOBJ_EX argument tuple must be a tuple, not %p";
+    public static final String NEWOBJ_EX_THIRD_ITEM_MUST_BE_DICT_NOT_P = "third item from NEWOBJ_EX argument tuple must be a dict, not %p";
+    public static final String NEW_LINE_IN_UNQUOTED_FIELD = "new-line character seen in unquoted field - do you need to open the file in universal-newline mode?";
     public static final String NEW_TAKES_ONE_ARG = "object.__new__() takes exactly one argument (the type to instantiate)";
     public static final String NEW_TAKES_NO_ARGS = "%N() takes no arguments";
     public static final String NO_ACTIVE_EX_TO_RERAISE = "No active exception to reraise";
     public static final String NO_ARGS = "%s: no arguments";
     public static final String NO_BINDING_FOR_NON_LOCAL = "no binding for nonlocal variable \"%s\" found";
+    public static final String NO_BUFFERS_ARGUMENT = "pickle stream refers to out-of-band data but no *buffers* argument was given";
     public static final String NO_CACHED_CODE = "no cached code for %s";
+    public static final String NO_CONTEXT_SNAPSHOT = "no context snapshot was taken";
     public static final String NO_CURRENT_FRAME = "%s: no current frame";
     public static final String NO_FUNCTION_FOUND = "no function %s%s found in %s";
+    public static final String NO_PERSISTENT_LOAD = "A load persistent id instruction was encountered,\nbut no persistent_load function was specified.";
     public static final String NO_SUCH_FILE_OR_DIR = "No such file or directory: '%s:/%s'";
     public static final String NO_SUCH_NAME = "no such name";
     public static final String NONEMPTY_SLOTS_NOT_ALLOWED_FOR_SUBTYPE_OF_S = "nonempty __slots__ not supported for subtype of '%s'";
@@ -447,6 +555,7 @@ public abstract class ErrorMessages {
     public static final String NOT_A_ZIP_FILE = "not a Zip file: '%s'";
     public static final String NOT_ALL_ARGS_CONVERTED_DURING_FORMATTING = "not all arguments converted during %s formatting";
     public static final String NOT_ENOUGH_ARGS_FOR_FORMAT_STRING = "not enough arguments for format string";
+    public static final String NOT_ENOUGH_OUT_OF_BAND_BUFFERS = "not enough out-of-band buffers";
     public static final String NOT_ENOUGH_VALUES_TO_UNPACK = "not enough values to unpack (expected %d, got %d)";
     public static final String NOT_SUPPORTED_BETWEEN_INSTANCES = "'%s' not supported between instances of '%p' and '%p'";
     public static final String NUMBER_S_CANNOT_FIT_INTO_INDEXSIZED_INT = "number %s cannot fit into index-sized integer";
@@ -466,16 +575,28 @@ public abstract class ErrorMessages {
     public static final String OBJ_P_HAS_NO_ATTR_S = "'%p' object has no attribute '%s'";
     public static final String OBJ_S_HAS_NO_ATTR_S = "'%s' object has no attribute '%s'";
     public static final String ODD_LENGTH_STRING = "Odd-length string";
+    public static final String ODD_NUMBER_OF_ITEMS_FOR_S = "odd number of items for %s";
     public static final String ONLY_ACCEPTS_INTEGRAL_VALUES = "%s only accepts integral values";
     public static final String ONLY_DEFLATED_ALLOWED_AS_METHOD = "only DEFLATED (%d) allowed as method, got %d";
+    public static final String OPTIONAL_ARGUMENT_MUST_BE_A_CONTEXT = "optional argument must be a context";
+    public static final String OPTIONAL_ARG_MUST_BE_AN_INTEGER = "optional arg must be an integer";
     public static final String ORDER_MUST_BE_C_F_OR_A = "order must be 'C', 'F' or 'A'";
+    public static final String ORDINAL_MUST_BE_GE_1 = "ordinal must be >= 1";
     public static final String PATH_SHOULD_BE_STR_BYTES_PATHLIKE_NOT_P = "path should be string, bytes, or os.PathLike, not %p";
     public static final String PACKED_IP_WRONG_LENGTH = "packed IP wrong length for %s";
     public static final String PACKET_IP_WRONG_LENGTH_FOR = "packed IP wrong length for %s";
     public static final String PATCHED_DATETIME_CLASS = "patched datetime class: %r";
+    public static final String PERSISTENT_IDS_MUST_BE_ASCII = "persistent IDs in protocol 0 must be ASCII strings";
+    public static final String PICKLEBUFFER_NON_CONTIGUOUS = "PickleBuffer can not be pickled when pointing to a non-contiguous buffer";
+    public static final String PICKLEBUFFER_RELEASED = "operation forbidden on released PickleBuffer object";
+    public static final String PICKLEBUFFER_REQUIRES_PROTOCOL_5 = "PickleBuffer can only pickled with protocol >= 5";
+    public static final String PICKLER_INIT_NOT_CALLED = "Pickler.__init__() was not called by %p.__init__()";
+    public static final String PICKLE_DATA_WAS_TRUNCATED = "pickle data was truncated";
+    public static final String PICKLE_PROTOCOL_MUST_BE_LE = "pickle protocol must be <= %d";
     public static final String POLYGLOT_ACCESS_NOT_ALLOWED = "polyglot access is not allowed";
     public static final String POLYGLOT_EVAL_MUST_PASS_STRINGS = "polyglot.eval must pass strings as either 'path' or a 'string' keyword";
     public static final String POLYGLOT_EVAL_WITH_STRING_MUST_PASS_LANG = "polyglot.eval with a string argument must pass a language or mime-type";
+    public static final String POP_FROM_EMPTY_DEQUE = "pop from an empty deque";
     public static final String POP_FROM_EMPTY_SET = "pop from an emtpy set";
     public static final String POP_INDEX_OUT_OF_RANGE = "pop index out of range";
     public static final String PORT_PROTO_NOT_FOUND = "port/proto not found";
@@ -484,9 +605,20 @@ public abstract class ErrorMessages {
     public static final String PYTHON_INT_TOO_LARGE_TO_CONV_TO = "Python int too large to convert to %s";
     public static final String PYTHON_INT_TOO_LARGE_TO_CONV_TO_C_TYPE = "Python int too large to convert to %s-byte C type";
     public static final String RANGE_OUT_OF_BOUNDS = "range index out of range";
+    public static final String RAN_OUT_OF_INPUT = "Ran out of input";
     public static final String READ_BYTE_OUT_OF_RANGE = "read byte out of range";
     public static final String READ_WRITE_BYTELIKE_OBJ = "read-write bytes-like object";
     public static final String READONLY_ATTRIBUTE = "readonly attribute";
+    public static final String REDUCE_EMPTY_SEQ = "reduce() of empty sequence with no initial value";
+    public static final String REDUCE_FIFTH_ELEMENT_MUST_BE_ITERATOR_NOT_P = "fifth element of the tuple returned by __reduce__ must be an iterator, not %p";
+    public static final String REDUCE_FIRST_ITEM_MUST_BE_CALLABLE = "first item of the tuple returned by __reduce__ must be callable";
+    public static final String REDUCE_FOURTH_ELEMENT_MUST_BE_ITERATOR_NOT_P = "fourth element of the tuple returned by __reduce__ must be an iterator, not %p";
+    public static final String REDUCE_MUST_RETURN_STRING_OR_TUPLE = "__reduce__ must return a string or tuple";
+    public static final String REDUCE_SECOND_ITEM_MUST_BE_TUPLE = "second item of the tuple returned by __reduce__ must be a tuple";
+    public static final String REDUCE_SIXTH_ELEMENT_MUST_BE_FUNCTION_NOT_P = "sixth element of the tuple returned by __reduce__ must be a function, not %p";
+    public static final String REDUCE_TUPLE_MUST_CONTAIN_2_THROUGH_6_ELEMENTS = "tuple returned by __reduce__ must contain 2 through 6 elements";
+    public static final String RELEASE_UNLOCKED_LOCK = "release unlocked lock";
+    public static final String REPEAT_ARG_CANNOT_BE_NEGATIVE = "repeat argument cannot be negative";
     public static final String REQUIRES_CODE_OBJ = "%s() requires a code object with %d free vars, not %d";
     public static final String REQUIRES_INT_OR_CHAR = "%%%c requires int or char";
     public static final String ROUNDED_VALUE_TOO_LARGE = "rounded value too large to represent";
@@ -513,6 +645,8 @@ public abstract class ErrorMessages {
     public static final String RETURNED_UNEXPECTE_RET_CODE_EXPECTED_INT_BUT_WAS_S = "%s returned an unexpected return code; expected 'int' but was %s";
     public static final String EMBEDDED_NULL_CHARACTER = "embedded null character";
     public static final String S_EMBEDDED_NULL_CHARACTER_IN_S = "%sembedded null character in %s";
+    public static final String S_EXCEEDS_MAX_SIZE = "%s exceeds system's maximum size of %d bytes";
+    public static final String S_EXPECTED_AFTER_S = "'%s' expected after '%s'";
     public static final String S_MUST_BE_S = "%s must be %s";
     public static final String S_NOT_SUPPORTED = "%s not supported";
     public static final String S_S_SHOULD_BE_S_NOT_P = "%s%s should be %s, not %p";
@@ -528,6 +662,8 @@ public abstract class ErrorMessages {
     public static final String SET_DOES_NOT_SUPPORT_ITERABLE_OBJ = "set does not support iterable object %s";
     public static final String SHOULD_RETURN = "%s should return %s";
     public static final String SHOULD_RETURN_NONE = "%s should return None";
+    public static final String SIGN_MUST_BE_AN_INTEGER_WITH_THE_VALUE_0_OR_1 = "sign must be an integer with the value 0 or 1";
+    public static final String SIGNAL_KEYS_CANNOT_BE_DELETED = "signal keys cannot be deleted";
     public static final String SIGNAL_MUST_BE_SIGIGN_SIGDFL_OR_CALLABLE_OBJ = "signal handler must be signal.SIG_IGN, signal.SIG_DFL, or a callable object";
     public static final String SIGNED_INT_GREATER_THAN_MAX = "signed integer is greater than maximum";
     public static final String SIGNED_INT_LESS_THAN_MIN = "signed integer is less than minimum";
@@ -542,19 +678,27 @@ public abstract class ErrorMessages {
     public static final String STAR_WANTS_INT = "* wants int";
     public static final String TOO_MANY_DECIMAL_DIGITS_IN_FORMAT_STRING = "Too many decimal digits in format string";
     public static final String SLOTS_MUST_BE_IDENTIFIERS = "__slots__ must be identifiers";
+    public static final String SLOT_STATE_IS_NOT_A_DICTIONARY = "slot state is not a dictionary";
     public static final String STARRED_ASSIGMENT_MUST_BE_IN_LIST_OR_TUPLE = "starred assignment target must be in a list or tuple";
+    public static final String STATE_IS_NOT_A_2_TUPLE = "state is not a 2-tuple";
+    public static final String STATE_IS_NOT_A_DICTIONARY = "state is not a dictionary";
+    public static final String STATE_IS_NOT_A_LENGTH_1_OR_2_TUPLE = "state is not a length 1 or 2 tuple";
+    public static final String STATE_IS_NOT_A_TEE_DATAOBJECT = "state is not a _tee_dataobject";
     public static final String STATE_VECTOR_INVALID = "state vector invalid.";
+    public static final String STRING_ARG_IN_THIRD_POSITION_MUST_BE_F_N_OR_N = "string argument in the third position must be 'F', 'n' or 'N'";
     public static final String STATE_VECTOR_MUST_BE_A_TUPLE = "state vector must be a tuple";
     public static final String STEP_1_NOT_SUPPORTED = "step != 1 not supported";
     public static final String STRING_ARG_WO_ENCODING = "string argument without an encoding";
     public static final String ENCODING_ARG_WO_STRING = "encoding without a string argument";
     public static final String ENCODING_ERROR_WITH_CODE = "decoding error; unknown error handling code: %s";
+    public static final String END_IS_OUT_OF_BOUNDS = "end is out of bounds";
     public static final String S_SHOULD_BE_A_VALID_FILESYSTEMPATH = "%s should be a valid filesystem path";
     public static final String SIZE_SHOULD_NOT_BE_NEGATIVE = "size should not be negative";
     public static final String STRING_INDEX_OUT_OF_RANGE = "IndexError: string index out of range";
     public static final String SUBSTRING_NOT_FOUND = "substring not found";
     public static final String SUBSECTION_NOT_FOUND = "subsection not found";
     public static final String SUB_VIEWS_NOT_IMPLEMENTED = "sub-views are not implemented";
+    public static final String SWITCH_INTERVAL_MUST_BE_POSITIVE = "switch interval must be strictly positive";
     public static final String SUPER_OBJ_MUST_BE_INST_SUB_OR_TYPE = "super(type, obj): obj must be an instance or subtype of type";
     public static final String TAKES_A_DICT_AS_SECOND_ARG_IF_ANY = "%s() takes a dict as second arg, if any";
     public static final String TAKES_A_D_SEQUENCE = "%s() takes a %d-sequence (%d-sequence given)";
@@ -567,8 +711,13 @@ public abstract class ErrorMessages {
     public static final String TAKES_FROM_D_TO_D_POS_ARG_S_BUT_D_S_GIVEN_S = "%s() takes from %d to %d positional argument%s but %d %s given%s";
     public static final String TAKES_EXACTLY_D_ARGUMENTS_D_GIVEN = "%s() takes exactly %d arguments (%d given)";
     public static final String TAKES_NO_KEYWORD_ARGS = "%s takes no keyword arguments";
+    public static final String TEE_DATAOBJECT_NEXT_MUST_BE_TEE_DATAOBJECT = "_tee_dataobject next link must be a _tee_dataobject";
+    public static final String TEE_DATAOBJECT_SHOULD_NOT_HAVE_MORE_LINKS = "_tee_dataobject should not have more than %d links";
+    public static final String TEE_DATAOBJECT_SHOULD_NOT_HAVE_NEXT = "_tee_dataobject shouldn't have a next if not full";
+    public static final String THE_FIRST_ARG_MUST_BE_CALLABLE = "the first argument must be callable";
     public static final String THROW_THIRD_ARG_MUST_BE_TRACEBACK = "throw() third argument must be a traceback object";
     public static final String TIMED_OUT = "timed out";
+    public static final String TIMEOUT_MUST_BE_NON_NEG_NUMBER = "'timeout' must be a non-negative number";
     public static final String TIMEOUT_VALUE_MUST_BE_POSITIVE = "timeout value must be positive";
     public static final String TIMEOUT_VALUE_TOO_LARGE = "timeout value is too large";
     public static final String TIMESTAMP_OUT_OF_RANGE = "timestamp out of range for platform time_t";
@@ -587,20 +736,30 @@ public abstract class ErrorMessages {
     public static final String TYPE_NAME_NO_NULL_CHARS = "type name must not contain null characters";
     public static final String TYPE_P_NOT_SUPPORTED_BY_FOREIGN_OBJ = "type '%p' is not supported by the foreign object";
     public static final String TYPE_DOESNT_SUPPORT_MRO_ENTRY_RESOLUTION = "type() doesn't support MRO entry resolution; use types.new_class()";
+    public static final String TYPE_S_TAKES_AT_LEAST_ONE_ARG = "type '%s' takes at least one argument";
+    public static final String TZINFO_ARGUMENT_MUST_BE_NONE_OR_OF_A_TZINFO_SUBCLASS_NOT_TYPE_P = "tzinfo argument must be None or of a tzinfo subclass, not type '%p'";
+    public static final String TZINFO_S_MUST_RETURN_NONE_OR_TIMEDELTA_NOT_P = "tzinfo.%s() must return None or timedelta, not '%p'";
+    public static final String TZINFO_TZNAME_MUST_RETURN_NONE_OR_A_STRING_NOT_P = "tzinfo.tzname() must return None or a string, not '%p'";
     public static final String UNAVAILABLE_ON_THIS_PLATFORM = "%s: %s unavailable on this platform";
     public static final String UNAVAILABLE_ON_THIS_PLATFORM_NO_FUNC = "%s unavailable on this platform";
+    public static final String UNEXPECTED_END_OF_DATA = "unexpected end of data";
     public static final String UNEXPECTED_KEYWORD_ARGS = "%s: unexpected keyword arguments";
+    public static final String UNEXPECTED_MARK_FOUND = "unexpected MARK found";
     public static final String UNHASHABLE_TYPE = "unhashable type: '%p'";
+    public static final String UNICODE_OBJECTS_MUST_BE_ENCODED_BEFORE_HASHING = "Unicode-objects must be encoded before hashing";
     public static final String UNINITIALIZED_S_OBJECT = "uninitialized classmethod object";
     public static final String UNKNOWN_ADDR_FAMILY = "unknown address family %d";
     public static final String UNKNOWN_ATTR = "Unknown attribute: '%s'";
+    public static final String UNKNOWN_DIALECT = "unknown dialect";
     public static final String UNKNOWN_ENCODING = "unknown encoding %s";
     public static final String UNKNOWN_ERROR_HANDLER = "unknown error handler name '%s'";
     public static final String UNKNOWN_FORMAT_CODE = "Unknown format code '%c' for object of type '%s'";
     public static final String UNKNOWN_S_TYPE = "unknown %s type";
+    public static final String UNKNOWN_TIMESPEC_VALUE = "Unknown timespec value";
     public static final String UNRECOGNIZED_FLAGS = "compile(): unrecognised flags";
     public static final String UNRECOGNIZED_FORMAT_CHAR = "unrecognized format char in arguments parsing: %c";
     public static final String UNRECOGNIZED_KIND = "unrecognized kind";
+    public static final String UNREGISTERED_EXTENSION_CODE = "unregistered extension code %d";
     public static final String UNSIGNED_BYTE_INT_GREATER_THAN_MAX = "unsigned byte integer is greater than maximum";
     public static final String UNSIGNED_BYTE_INT_LESS_THAN_MIN = "unsigned byte integer is less than minimum";
     public static final String UNSUPPORTED_FORMAT_CHAR_AT_INDEX = "unsupported format character '%c' (0x%x) at index %d";
@@ -615,12 +774,21 @@ public abstract class ErrorMessages {
     public static final String UNSUPPORTED_SIZE_WAS = "unsupported %s size; was: %d";
     public static final String UNSUPPORTED_STR_TYPE = "unsupported string type: %s";
     public static final String UNSUPPORTED_TARGET_SIZE = "Unsupported target size: %d";
+    public static final String UNSUPPORTED_TYPE_FOR_TIMEDELTA_S_COMPONENT_P = "unsupported type for timedelta %s component: %p";
     public static final String UNSUPPORTED_USE_OF_SYS_EXECUTABLE = "internal error: unsupported use of sys.executable";
     public static final String UTIME_CANNOT_USE_DIR_FD_AND_FOLLOW_SYMLINKS = "utime: cannot use dir_fd and follow_symlinks together on this platform";
+    public static final String VALID_RANGE_FOR_EMAX = "valid range for Emax is [0, MAX_EMAX]";
+    public static final String VALID_RANGE_FOR_EMIN = "valid range for Emin is [MIN_EMIN, 0]";
+    public static final String VALID_RANGE_FOR_PREC = "valid range for prec is [1, MAX_PREC]";
+    public static final String VALID_VALUES_FOR_CAPITALS = "valid values for capitals are 0 or 1";
+    public static final String VALID_VALUES_FOR_CLAMP = "valid values for clamp are 0 or 1";
+    public static final String VALID_VALUES_FOR_ROUNDING = "valid values for rounding are:\n  [ROUND_CEILING, ROUND_FLOOR, ROUND_UP, ROUND_DOWN,\n   ROUND_HALF_UP, ROUND_HALF_DOWN, ROUND_HALF_EVEN,\n   ROUND_05UP]";
+    public static final String VALID_VALUES_FOR_SIGNALS = "valid values for signals are:\n  [InvalidOperation, FloatOperation, DivisionByZero,\n   Overflow, Underflow, Subnormal, Inexact, Rounded,\n   Clamped]";
     public static final String VALUE_TOO_LARGE_TO_FIT_INTO_INDEX = "value too large to fit into index-sized integer";
     public static final String WAS_NOT_POSSIBLE_TO_MARSHAL = "Was not possible to marshal";
     public static final String WAS_NOT_POSSIBLE_TO_MARSHAL_P = "Was not possible to marshal %p";
     public static final String WEAK_OBJ_GONE_AWAY = "weak object has gone away";
+    public static final String WRITEROWS_ARG_MUST_BE_ITERABLE = "writerows() argument must be iterable";
     public static final String X_NOT_IN_LIST = "x not in list";
     public static final String X_NOT_IN_TUPLE = "tuple.index(x): x not in tuple";
     public static final String YOU_MAY_SPECIFY_EITHER_OR_BUT_NOT_BOTH = "%s: you may specify either '%s' or '%s' but not both";
@@ -631,6 +799,8 @@ public abstract class ErrorMessages {
     public static final String POW_BASE_NOT_INVERTIBLE = "base is not invertible for the given modulus";
     public static final String POW_ZERO_CANNOT_RAISE_TO_NEGATIVE_POWER = "0.0 cannot be raised to a negative power";
     public static final String S_ALIGNMENT_FLAG_NOT_ALLOWED_FOR_COMPLEX_FMT = "'%c' alignment flag is not allowed in complex format specifier";
+    public static final String S_ARGS_ARGUMENT_MUST_BE_TUPLE_NOT_P = "%s args argument must be a tuple, not %p";
+    public static final String S_PICKLE_HAS_NEGATIVE_BYTE_COUNT = "%s pickle has negative byte count";
     public static final String EQUALS_ALIGNMENT_FLAG_NOT_ALLOWED_FOR_STRING_FMT = "'=' alignment not allowed in string format specifier";
     public static final String SIGN_NOT_ALLOWED_FOR_STRING_FMT = "Sign not allowed in string format specifier";
     public static final String ZERO_PADDING_NOT_ALLOWED_FOR_COMPLEX_FMT = "Zero padding is not allowed in complex format specifier";
@@ -639,29 +809,101 @@ public abstract class ErrorMessages {
     public static final String CANNOT_ENCODE_DOCSTR = "'utf-8' codec can't encode docstring '%s'";
     public static final String PRECISION_NOT_ALLOWED_FOR_INT = "Precision not allowed in integer format specifier";
     public static final String SIGN_NOT_ALLOWED_WITH_C_FOR_INT = "Sign not allowed with integer format specifier 'c'";
+    public static final String SINGLE_EMPTY_FIELD_RECORD_MUST_BE_QUOTED = "single empty field record must be quoted";
     public static final String ALTERNATE_NOT_ALLOWED_WITH_C_FOR_INT = "Alternate form (#) not allowed with integer format specifier 'c'";
     public static final String ALTERNATE_NOT_ALLOWED_WITH_STRING_FMT = "Alternate form (#) not allowed in string format specifier";
     public static final String CAPI_LOAD_ERROR = "Could not load C API from %s.";
     public static final String NATIVE_ACCESS_NOT_ALLOWED = "Cannot run any C extensions because native access is not allowed.";
+    public static final String N_MUST_BE_AT_LEAST_ZERO = "n must be >= 0";
     public static final String HPY_LOAD_ERROR = "Could not load HPy C API from %s.";
     public static final String CANNOT_CONVERT_NEGATIVE_VALUE_TO_UNSIGNED_INT = "can't convert negative value to unsigned int";
     public static final String SEND_NON_NONE_TO_UNSTARTED_GENERATOR = "can't send non-None value to a just-started generator";
     public static final String UNSUPPORTED_FORMAT_STRING_PASSED_TO_P_FORMAT = "unsupported format string passed to %p.__format__";
+    public static final String UNSUPPORTED_HASH_TYPE = "unsupported hash type";
+    public static final String UNSUPPORTED_PICKLE_PROTOCOL = "unsupported pickle protocol: %d";
     public static final String ONLY_SINGLE_TARGET_CAN_BE_ANNOTATED = "only single target (not %s) can be annotated";
+    public static final String OTHER_ARG_MUST_BE_KEY_WRAPPER = "other argument must be K instance";
+    public static final String OUT_OF_RANGE_FLOAT_NOT_JSON_COMPLIANT = "Out of range float values are not JSON compliant";
     public static final String ILLEGAL_TARGET_FOR_ANNOTATION = "illegal target for annotation";
+    public static final String ITEMS_MUST_RETURN_2_TUPLES = "items must return 2-tuples";
+    public static final String ITERABLE_EXPECTED_NOT_P = "iterable expected, not %p";
+    public static final String ITERATION_VALUE_IS_TOO_GREAT = "iteration value is too great.";
+    public static final String ITERATION_VALUE_MUST_BE_GREATER_THAN_0 = "iteration value must be greater than 0.";
+    public static final String ITERATOR_SHOULD_RETURN_STRINGS_NOT_P = "iterator should return strings, not %p (did you open the file in text mode?)";
     public static final String SLICE_INDICES_TYPE_ERROR = "slice indices must be integers or have an __index__ method";
     public static final String UNMAPPABLE_CHARACTER = "unmappable character";
+    public static final String UNPICKLER_INIT_NOT_CALLED = "Unpickler.__init__() was not called by %p.__init__()";
+    public static final String UNPICKLING_STACK_UNDERFLOW = "unpickling stack underflow";
+    public static final String UNTERMINATED_STRING_STARTING_AT = "Unterminated string starting at";
     public static final String MALFORMED_INPUT = "malformed input";
+    public static final String MAXSIZE_SHOULD_BE_INTEGER_OR_NONE = "maxsize should be integer or None";
     public static final String SHOULD_HAVE_RETURNED_EXCEPTION = "calling %N should have returned an instance of BaseException, not %p";
+    public static final String STACK_GLOBAL_REQUIRES_STR = "STACK_GLOBAL requires str";
     public static final String STRING_KEYS_MUST_BE_LENGTH_1 = "string keys in translate table must be of length 1";
+    public static final String STRING_OPCODE_ARGUMENT_MUST_BE_QUOTED = "the STRING opcode argument must be quoted";
+    public static final String STRUCT_ARG_1_MUST_BE_STR_OR_BYTES_NOT_P = "Struct() argument 1 must be a str or bytes object, not %p";
+    public static final String STRUCT_ARG_FOR_S_MUST_BE_BYTES = "argument for '%s' must be a bytes object";
+    public static final String STRUCT_ARG_OUT_OF_RANGE = "argument out of range";
+    public static final String STRUCT_BAD_CHAR_IN_FORMAT = "bad char in struct format";
+    public static final String STRUCT_CANNOT_ITER_UNPACK_WITH_SIZE_D = "cannot iteratively unpack with a struct of length %d";
+    public static final String STRUCT_CHAR_FMT_REQUIRES_BYTES_OF_LEN_1 = "char format requires a bytes object of length 1";
+    public static final String STRUCT_C_FORMAT_REQUIRES_D_TO_D = "'%s' format requires %d <= number <= %d";
+    public static final String STRUCT_FLOAT_TOO_LARGE_TO_PACK_WITH_S_FORMAT = "float too large to pack with %s format";
+    public static final String STRUCT_ITER_UNPACK_REQUIRES_MULTIPLE_OF_D = "iterative unpacking requires a buffer of a multiple of %d bytes";
+    public static final String STRUCT_NO_SPACE_TO_PACK_D_BYTES_AT_OFFSET_D = "no space to pack %d bytes at offset %d";
+    public static final String STRUCT_OFFSET_D_OUT_OF_RANGE_FOR_D_BYTE_BUFFER = "offset %d out of range for %d-byte buffer";
+    public static final String STRUCT_PACK_EXPECTED_D_ITEMS_GOT_D = "pack expected %d items for packing (got %d)";
+    public static final String STRUCT_PACK_INTO_EXPECTED_BUFFER_ARG = "pack_into expected buffer argument";
+    public static final String STRUCT_PACK_INTO_EXPECTED_D_ITEMS_GOT_D = "pack_into expected %d items for packing (got %d)";
+    public static final String STRUCT_PACK_INTO_EXPECTED_OFFSET_ARG = "pack_into expected offset argument";
+    public static final String STRUCT_PACK_INTO_REQUIRES_BUFFER_OF_AT_LEAST_D = "pack_into requires a buffer of at least %d bytes for packing %d bytes at offset %d (actual buffer size is %d)";
+    public static final String STRUCT_REPEAT_COUNT_WITHOUT_FMT = "repeat count given without format specifier";
+    public static final String STRUCT_REQUIRED_ARG_NOT_AN_INTEGER = "required argument is not an integer";
+    public static final String STRUCT_REQUIRED_ARG_NOT_A_FLOAT = "required argument is not a float";
+    public static final String STRUCT_SIZE_TOO_LONG = "total struct size too long";
+    public static final String STRUCT_S_FORMAT_REQUIRES_D_TO_D = "%s format requires %d <= number <= %d";
+    public static final String STRUCT_UNPACK_FROM_REQUIRES_BUFFER_OF_AT_LEAST_D = "unpack_from requires a buffer of at least %d bytes for unpacking %d bytes at offset %d (actual buffer size is %d)";
+    public static final String STRUCT_UNPACK_REQUIRES_BUFFER_OF_D_BYTES = "unpack requires a buffer of %d bytes";
     public static final String KEYS_IN_TRANSLATE_TABLE_MUST_BE_STRINGS_OR_INTEGERS = "keys in translate table must be strings or integers";
     public static final String EMBEDDED_NULL_BYTE = "embedded null byte";
+    public static final String ENCODER_MUST_RETURN_STR_NOT_P = "encoder() must return a string, not %p";
     public static final String CANNOT_INTERN_P = "can't intern %p";
+    public static final String CANNOT_REENTER_TEE_ITERATOR = "cannot re-enter the tee iterator";
+    public static final String CIRCULAR_REFERENCE_DETECTED = "Circular reference detected";
+    public static final String CSV_MUST_BE_1_CHAR_STRING = "\"%s\" must be a 1-character string";
+    public static final String CSV_MUST_BE_AN_INTEGER = "\"%s\" must be an integer";
+    public static final String CSV_MUST_BE_A_STRING = "\"%s\" must be a string";
+    public static final String CSV_MUST_BE_STRING_NOT_P = "\"%s\" must be string, not %p";
     public static final String METHOD_REQUIRES_A_BYTES_OBJECT_GOT_P = "Method requires a 'bytes' object, got '%p'";
     public static final String FIRST_ARG_MUST_BE_BYTES_OR_A_TUPLE_OF_BYTES_NOT_P = "first arg must be bytes or a tuple of bytes, not %p";
+    public static final String FOLD_MUST_BE_EITHER_0_OR_1 = "fold must be either 0 or 1";
+    public static final String FRAME_LENGTH_EXCEEDS_MAX = "FRAME length exceeds system's maximum of %d bytes";
+    public static final String FROMISOFORMAT_ARGUMENT_MUST_BE_STR = "fromisoformat: argument must be str";
+    public static final String FROMUTC_ARGUMENT_MUST_BE_A_DATETIME = "fromutc: argument must be a datetime";
+    public static final String FROMUTC_DT_TZINFO_IS_NOT_SELF = "fromutc: dt.tzinfo is not self";
+    public static final String FROMUTC_NON_NONE_S_RESULT_REQUIRED = "fromutc: non-None %s() result required";
+    public static final String FROMUTC_TZ_DST_GAVE_INCONSISTENT_RESULTS = "fromutc: tz.dst() gave inconsistent results; cannot convert";
     public static final String A_BYTES_LIKE_OBJECT_IS_REQUIRED_NOT_P = "a bytes-like object is required, not '%p'";
+    public static final String A_NUMBER_IS_REQUIRED = "a number is required";
+    public static final String A_TZINFO_SUBCLASS_MUST_IMPLEMENT_S = "a tzinfo subclass must implement %s()";
+    public static final String DATE_VALUE_OUT_OF_RANGE = "date value out of range";
+    public static final String DAYS_D_MUST_HAVE_MAGNITUDE_LE_999999999 = "days=%d; must have magnitude <= 999999999";
+    public static final String DAY_IS_OUT_OF_RANGE_FOR_MONTH = "day is out of range for month";
+    public static final String DIALECT_NAME_MUST_BE_A_STRING = "dialect name must be a string";
+    public static final String JSON_KEYS_MUST_BE_STR_INT_FLOAT_BOOL_OR_NONE_NOT_P = "keys must be str, int, float, bool or None, not %p";
+    public static final String MAKE_ENCODER_ARG_1_MUST_BE_DICT = "make_encoder() argument 1 must be dict or None, not %p";
+    public static final String MICROSECOND_MUST_BE_IN_0_999999 = "microsecond must be in 0..999999";
+    public static final String MINUTE_MUST_BE_IN_0_59 = "minute must be in 0..59";
+    public static final String OBJECT_SUPPORTING_THE_BUFFER_API_REQUIRED = "object supporting the buffer API required";
+    public static final String OFFSET_MUST_BE_A_TIMEDELTA_STRICTLY_BETWEEN = "offset must be a timedelta strictly between -timedelta(hours=24) and timedelta(hours=24).";
+    public static final String OFFSET_MUST_BE_A_TIMEDELTA_STRICTLY_BETWEEN_NOT_S = "offset must be a timedelta strictly between -timedelta(hours=24) and timedelta(hours=24), not %s.";
+    public static final String QUOTECHAR_MUST_BE_SET_IF_QUOTING_ENABLED = "quotechar must be set if quoting enabled";
+    public static final String SECOND_MUST_BE_IN_0_59 = "second must be in 0..59";
     public static final String S_TAKES_AT_LEAST_D_ARGUMENTS_D_GIVEN = "%s() takes at least %d arguments (%d given)";
     public static final String S_TAKES_AT_MOST_D_ARGUMENTS_D_GIVEN = "%s() takes at most %d arguments (%d given)";
+    public static final String S_TAKES_NO_POSITIONAL_ARGS = "%s() takes no positional arguments";
+    public static final String YEAR_D_IS_OUT_OF_RANGE = "year %d is out of range";
+    public static final String YEAR_IS_OUT_OF_RANGE_D = "Year is out of range: %d";
 
     // SSL errors
     public static final String SSL_SESSION_CLOSED = "SSL/TLS session closed cleanly.";
@@ -813,4 +1055,14 @@ public abstract class ErrorMessages {
                     "The ability to return an instance of a strict subclass of %s " +
                     "is deprecated, and may be removed in a future version of Python.";
     public static final String MULTI_PHASE_INIT_OF_EXTENSION_MODULE_S = "multi-phase init of extension module %s";
+
+    // select errors
+    public static final String CONCURRENT_POLL_INVOCATION = "concurrent poll() invocation";
+    public static final String IO_ON_CLOSED_EPOLL = "I/O operation on closed epoll object";
+    public static final String IO_ON_CLOSED_SELECTOR = "I/O operation on closed selector";
+    public static final String MAXEVENTS_MUST_BE_GREATER_THAN_0_GOT_D = "maxevents must be greater than 0, got %d";
+    public static final String NEGATIVE_SIZEHINT = "negative sizehint";
+    public static final String PYTHON_INT_TOO_LARGE_FOR_C_UNSIGNED_SHORT = "Python int too large for C unsigned short";
+    public static final String TIMEOUT_IS_TOO_LARGE = "timeout is too large";
+    public static final String VALUE_MUST_BE_POSITIVE = "value must be positive";
 }
@@ -53,6 +53,7 @@ import com.oracle.graal.python.builtins.objects.list.PList;
 import com.oracle.graal.python.builtins.objects.object.PythonObjectLibrary;
 import com.oracle.graal.python.builtins.objects.slice.PSlice;
 import com.oracle.graal.python.builtins.objects.str.StringUtils;
+import com.oracle.graal.python.builtins.objects.tuple.PTuple;
 import com.oracle.graal.python.nodes.ErrorMessages;
 import com.oracle.graal.python.nodes.PGuards;
 import com.oracle.graal.python.nodes.PNodeWithContext;
@@ -61,8 +62,12 @@ import com.oracle.graal.python.nodes.builtins.ListNodesFactory.AppendNodeGen;
 import com.oracle.graal.python.nodes.builtins.ListNodesFactory.ConstructListNodeGen;
 import com.oracle.graal.python.nodes.builtins.ListNodesFactory.FastConstructListNodeGen;
 import com.oracle.graal.python.nodes.builtins.ListNodesFactory.IndexNodeGen;
+import com.oracle.graal.python.nodes.builtins.ListNodesFactory.ItemLessThanNodeGen;
 import com.oracle.graal.python.nodes.call.special.LookupAndCallUnaryNode;
+import com.oracle.graal.python.nodes.expression.BinaryComparisonNode;
+import com.oracle.graal.python.nodes.expression.CoerceToBooleanNode;
 import com.oracle.graal.python.nodes.literal.ListLiteralNode;
+import com.oracle.graal.python.nodes.object.IsBuiltinClassProfile;
 import com.oracle.graal.python.nodes.truffle.PythonArithmeticTypes;
 import com.oracle.graal.python.runtime.PythonOptions;
 import com.oracle.graal.python.runtime.object.PythonObjectFactory;
@@ -313,4 +318,70 @@ public abstract class ListNodes {
             return AppendNodeGen.getUncached();
         }
     }
+
+    /**
+     * Evaluates {@code a < b} for two items of a list, as done by {@code list.sort}, {@code heapq}
+     * and {@code bisect}. Tuples whose first items are ints, floats or strings are compared by those
+     * items if they differ, which is the common case for {@code (priority, value)} entries in
+     * heaps and sorted lists. Everything else goes through the rich comparison.
+     */
+    public abstract static class ItemLessThanNode extends PNodeWithContext {
+
+        public abstract boolean execute(VirtualFrame frame, Object a, Object b);
+
+        @Specialization
+        static boolean doTuple(VirtualFrame frame, PTuple a, PTuple b,
+                        @Cached IsBuiltinClassProfile aProfile,
+                        @Cached IsBuiltinClassProfile bProfile,
+                        @Cached SequenceStorageNodes.GetItemScalarNode getItemNode,
+                        @Shared("lt") @Cached BinaryComparisonNode.LtNode ltNode,
+                        @Shared("coerce") @Cached("createIfTrueNode()") CoerceToBooleanNode castToBooleanNode) {
+            SequenceStorage aStorage = a.getSequenceStorage();
+            SequenceStorage bStorage = b.getSequenceStorage();
+            if (aProfile.profileObject(a, PythonBuiltinClassType.PTuple) && bProfile.profileObject(b, PythonBuiltinClassType.PTuple) && aStorage.length() > 0 && bStorage.length() > 0) {
+                Object a0 = getItemNode.execute(aStorage, 0);
+                Object b0 = getItemNode.execute(bStorage, 0);
+                if (isIntegral(a0) && isIntegral(b0)) {
+                    long l = asLong(a0);
+                    long r = asLong(b0);
+                    if (l != r) {
+                        return l < r;
+                    }
+                } else if (a0 instanceof Double && b0 instanceof Double) {
+                    double l = (double) a0;
+                    double r = (double) b0;
+                    if (l < r) {
+                        return true;
+                    } else if (r < l) {
+                        return false;
+                    }
+                } else if (a0 instanceof String && b0 instanceof String) {
+                    int cmp = StringUtils.compareToUnicodeAware((String) a0, (String) b0);
+                    if (cmp != 0) {
+                        return cmp < 0;
+                    }
+                }
+            }
+            return castToBooleanNode.executeBoolean(frame, ltNode.executeWith(frame, a, b));
+        }
+
+        @Specialization(replaces = "doTuple")
+        static boolean doGeneric(VirtualFrame frame, Object a, Object b,
+                        @Shared("lt") @Cached BinaryComparisonNode.LtNode ltNode,
+                        @Shared("coerce") @Cached("createIfTrueNode()") CoerceToBooleanNode castToBooleanNode) {
+            return castToBooleanNode.executeBoolean(frame, ltNode.executeWith(frame, a, b));
+        }
+
+        private static boolean isIntegral(Object item) {
+            return item instanceof Integer || item instanceof Long;
+        }
+
+        private static long asLong(Object item) {
+            return item instanceof Integer ? (int) item : (long) item;
+        }
+
+        public static ItemLessThanNode create() {
+            return ItemLessThanNodeGen.create();
+        }
+    }
 }
@@ -123,7 +123,7 @@ public abstract class CallTargetInvokeNode extends DirectInvokeNode {
             try {
                 return callNode.call(arguments);
             } finally {
-                IndirectCalleeContext.exit(context, frameInfo);
+                IndirectCalleeContext.exit(context, arguments, frameInfo);
             }
         } else {
             callContext.prepareCall(frame, arguments, ct, this);
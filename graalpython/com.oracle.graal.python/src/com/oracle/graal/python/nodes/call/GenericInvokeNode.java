@@ -127,7 +127,7 @@ public abstract class GenericInvokeNode extends InvokeNode {
             try {
                 return callNode.call(callTarget, arguments);
             } finally {
-                IndirectCalleeContext.exit(context, frameInfo);
+                IndirectCalleeContext.exit(context, arguments, frameInfo);
             }
         } else {
             assert frame instanceof VirtualFrame : "GenericInvokeNode should not be executed with non-virtual frames";
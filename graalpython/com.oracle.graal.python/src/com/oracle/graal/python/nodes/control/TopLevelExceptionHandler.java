@@ -262,7 +262,7 @@ public class TopLevelExceptionHandler extends RootNode {
         try {
             return innerCallTarget.call(arguments);
         } finally {
-            IndirectCalleeContext.exit(pythonContext, frameInfo);
+            IndirectCalleeContext.exit(pythonContext, arguments, frameInfo);
         }
     }
 
@@ -256,9 +256,9 @@ public abstract class ExceptionStateNodes {
         }
 
         @Specialization(guards = "fromContext(e)")
-        void doContext(@SuppressWarnings("unused") VirtualFrame frame, ExceptionState e,
+        void doContext(VirtualFrame frame, ExceptionState e,
                         @Shared("context") @CachedContext(PythonLanguage.class) PythonContext context) {
-            context.setCaughtException(e.exc);
+            context.setCaughtException(PArguments.getThreadStateFromCaller(frame), e.exc);
         }
 
         @Specialization(replaces = {"doNothing", "doArgs", "doContext"})
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.oracle.graal.python.PythonLanguage;
+import com.oracle.truffle.api.TruffleLogger;
+
+/**
+ * An engine-wide scheduler for the periodic work of the {@link AsyncHandler}s of all contexts,
+ * i.e., polling for weakref callbacks, finalizers, and the like. Instead of a thread pool per
+ * context, all contexts share a single timer thread driving a hashed timer wheel, and a small set
+ * of worker threads that run the due tasks. The threads are started on demand and go away when
+ * there is nothing left to schedule, so idle engines do not keep any threads around.
+ *
+ * Tasks have fixed-delay semantics: a task is put back into the wheel only after it finished
+ * running, so a slow task never runs concurrently with itself.
+ */
+public final class AsyncActionScheduler {
+    private static final TruffleLogger LOGGER = PythonLanguage.getLogger(AsyncActionScheduler.class);
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final int WHEEL_SIZE = 64; // must be a power of 2
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int MAX_WORKERS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    private static final long WORKER_KEEP_ALIVE_MS = 1000;
+
+    /**
+     * A periodic task. Tasks are only ever touched by the timer thread while they sit in the wheel
+     * and only by a single worker while they run.
+     */
+    public static final class Task {
+        private final AsyncActionScheduler scheduler;
+        private final Runnable runnable;
+        private final long periodNanos;
+        private long deadline;
+        private volatile boolean cancelled;
+
+        private Task(AsyncActionScheduler scheduler, Runnable runnable, long periodNanos) {
+            this.scheduler = scheduler;
+            this.runnable = runnable;
+            this.periodNanos = periodNanos;
+        }
+
+        /**
+         * Stops any further executions of this task. An execution that is already running is not
+         * interrupted.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void run() {
+            try {
+                if (!cancelled) {
+                    runnable.run();
+                }
+            } catch (Throwable t) {
+                LOGGER.severe(String.format("Error during async action task %s: %s", runnable, t));
+            } finally {
+                scheduler.reschedule(this);
+            }
+        }
+    }
+
+    /** Newly scheduled and rescheduled tasks, handed over to the timer thread. */
+    private final ConcurrentLinkedQueue<Task> pendingTasks = new ConcurrentLinkedQueue<>();
+
+    /** The number of tasks that were scheduled and not yet dropped after cancellation. */
+    private int liveTasks; // guarded by this
+    private Thread timerThread; // guarded by this
+    private ThreadPoolExecutor workers; // guarded by this
+
+    /**
+     * Runs {@code runnable} every {@code periodMs} milliseconds, starting {@code periodMs}
+     * milliseconds from now, until the returned task is {@link Task#cancel() cancelled}. The
+     * runnable is executed on a shared worker thread and must not block.
+     */
+    public Task schedule(Runnable runnable, long periodMs) {
+        Task task = new Task(this, runnable, TimeUnit.MILLISECONDS.toNanos(periodMs));
+        task.deadline = System.nanoTime() + task.periodNanos;
+        synchronized (this) {
+            liveTasks++;
+            pendingTasks.add(task);
+            if (timerThread == null) {
+                startThreads();
+            }
+        }
+        return task;
+    }
+
+    private void startThreads() {
+        assert Thread.holdsLock(this);
+        if (workers == null) {
+            workers = new ThreadPoolExecutor(MAX_WORKERS, MAX_WORKERS, WORKER_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread t = new Thread(r, "python-async-worker");
+                t.setDaemon(true);
+                return t;
+            });
+            workers.allowCoreThreadTimeOut(true);
+        }
+        Thread t = new Thread(this::runTimer, "python-async-timer");
+        t.setDaemon(true);
+        timerThread = t;
+        t.start();
+    }
+
+    private void reschedule(Task task) {
+        if (task.cancelled) {
+            taskDropped();
+        } else {
+            task.deadline = System.nanoTime() + task.periodNanos;
+            pendingTasks.add(task);
+        }
+    }
+
+    private synchronized void taskDropped() {
+        liveTasks--;
+        assert liveTasks >= 0;
+    }
+
+    /**
+     * The timer loop. Each slot of the wheel holds the tasks whose deadline falls into that tick
+     * modulo the wheel size; tasks further in the future just stay in their slot for another round.
+     */
+    private void runTimer() {
+        @SuppressWarnings("unchecked")
+        ArrayList<Task>[] wheel = new ArrayList[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        ThreadPoolExecutor executor;
+        synchronized (this) {
+            executor = workers;
+        }
+        final long start = System.nanoTime();
+        long tick = 0;
+        while (true) {
+            long tickEnd = start + (tick + 1) * TICK_NANOS;
+            long delay = tickEnd - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(this, delay);
+                continue;
+            }
+            transferPendingTasks(pendingTasks, wheel, start, tick);
+            ArrayList<Task> bucket = wheel[(int) (tick & WHEEL_MASK)];
+            for (int i = bucket.size() - 1; i >= 0; i--) {
+                Task task = bucket.get(i);
+                if (task.cancelled) {
+                    removeAt(bucket, i);
+                    taskDropped();
+                } else if (task.deadline - tickEnd < 0) {
+                    removeAt(bucket, i);
+                    executor.execute(task::run);
+                }
+            }
+            tick++;
+            synchronized (this) {
+                if (liveTasks == 0) {
+                    assert pendingTasks.isEmpty();
+                    timerThread = null;
+                    workers = null;
+                    executor.shutdown();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void transferPendingTasks(ConcurrentLinkedQueue<Task> pending, ArrayList<Task>[] wheel, long start, long currentTick) {
+        Task task;
+        while ((task = pending.poll()) != null) {
+            // a task that is already due goes into the current slot
+            long ticks = Math.max(currentTick, (task.deadline - start) / TICK_NANOS);
+            wheel[(int) (ticks & WHEEL_MASK)].add(task);
+        }
+    }
+
+    private static void removeAt(ArrayList<Task> bucket, int i) {
+        // order within a bucket does not matter
+        int last = bucket.size() - 1;
+        bucket.set(i, bucket.get(last));
+        bucket.remove(last);
+    }
+}
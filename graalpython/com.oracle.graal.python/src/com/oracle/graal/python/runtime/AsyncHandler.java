@@ -44,14 +44,16 @@ import java.lang.ref.PhantomReference;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.objects.function.PArguments;
@@ -130,15 +132,6 @@ public class AsyncHandler {
         }
     }
 
-    private final ScheduledExecutorService executorService = Executors.newScheduledThreadPool(6, new ThreadFactory() {
-        @Override
-        public Thread newThread(Runnable r) {
-            Thread t = Executors.defaultThreadFactory().newThread(r);
-            t.setDaemon(true);
-            return t;
-        }
-    });
-
     private static final byte HAS_SCHEDULED_ACTION = 1;
     private static final byte SHOULD_RELEASE_GIL = 2;
 
@@ -156,25 +149,34 @@ public class AsyncHandler {
     private volatile boolean needsAdditionalSafepointExecution = false;
 
     private final WeakReference<PythonContext> context;
-    private final ConcurrentLinkedQueue<AsyncAction> scheduledActions = new ConcurrentLinkedQueue<>();
-    private ThreadLocal<Boolean> recursionGuard = new ThreadLocal<>();
+    private final ConcurrentLinkedQueue<ScheduledAction> scheduledActions = new ConcurrentLinkedQueue<>();
     private static final int ASYNC_ACTION_DELAY = 15; // chosen by a fair D20 dice roll
-    private static final int GIL_RELEASE_DELAY = 10;
 
-    private class AsyncRunnable implements Runnable {
-        private final Supplier<AsyncAction> actionSupplier;
-
-        public AsyncRunnable(Supplier<AsyncAction> actionSupplier) {
-            this.actionSupplier = actionSupplier;
-        }
+    /**
+     * The suppliers are polled by the engine-wide {@link AsyncActionScheduler} every
+     * {@link #ASYNC_ACTION_DELAY} milliseconds.
+     */
+    private final CopyOnWriteArrayList<Supplier<AsyncAction>> actionSuppliers = new CopyOnWriteArrayList<>();
+    private volatile AsyncActionScheduler.Task pollTask;
 
-        @Override
-        public void run() {
-            AsyncAction asyncAction = actionSupplier.get();
-            if (asyncAction != null) {
-                scheduledActions.add(asyncAction);
-                scheduledActionsFlags |= HAS_SCHEDULED_ACTION;
-            }
+    /*
+     * Statistics, see __graalpython__.async_action_statistics. The queue depth is tracked
+     * separately, because ConcurrentLinkedQueue#size is not a constant time operation.
+     */
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final LongAdder postedCount = new LongAdder();
+    private final LongAdder processedCount = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    private static final class ScheduledAction {
+        final AsyncAction action;
+        final long postedAt;
+
+        ScheduledAction(AsyncAction action, long postedAt) {
+            this.action = action;
+            this.postedAt = postedAt;
         }
     }
 
@@ -232,23 +234,88 @@ public class AsyncHandler {
         this.callTarget = context.getLanguage().createCachedCallTarget(l -> new CallRootNode(l), CallRootNode.class);
     }
 
+    /**
+     * Registers a supplier that is polled periodically on a shared scheduler thread. The supplier
+     * must not block; it returns {@code null} if there is nothing to do. Sources that need to
+     * report many events at once should batch them into a single action (see
+     * {@link #batch(List)}).
+     */
     void registerAction(Supplier<AsyncAction> actionSupplier) {
         CompilerAsserts.neverPartOfCompilation();
-        if (PythonLanguage.getContext().getOption(PythonOptions.NoAsyncActions)) {
+        PythonContext ctx = context.get();
+        if (ctx == null || ctx.getOption(PythonOptions.NoAsyncActions)) {
             return;
         }
-        executorService.scheduleWithFixedDelay(new AsyncRunnable(actionSupplier), ASYNC_ACTION_DELAY, ASYNC_ACTION_DELAY, TimeUnit.MILLISECONDS);
+        actionSuppliers.add(actionSupplier);
+        if (pollTask == null) {
+            synchronized (this) {
+                if (pollTask == null) {
+                    pollTask = ctx.getLanguage().getAsyncActionScheduler().schedule(this::pollActionSuppliers, ASYNC_ACTION_DELAY);
+                }
+            }
+        }
     }
 
-    void activateGIL() {
-        CompilerAsserts.neverPartOfCompilation();
-        executorService.scheduleWithFixedDelay(() -> {
-            if ((scheduledActionsFlags & SHOULD_RELEASE_GIL) != 0) {
-                // didn't release the gil at all in the last GIL_RELEASE_DELAY timeframe. Panic.
-                needsAdditionalSafepointExecution = true;
+    private void pollActionSuppliers() {
+        for (Supplier<AsyncAction> supplier : actionSuppliers) {
+            AsyncAction action = supplier.get();
+            if (action != null) {
+                postAction(action);
             }
-            scheduledActionsFlags |= SHOULD_RELEASE_GIL;
-        }, GIL_RELEASE_DELAY, GIL_RELEASE_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Queues an action to be run by a Python thread at its next safepoint. This is lock-free and
+     * may be called from any thread, e.g., a signal handler.
+     */
+    public void postAction(AsyncAction action) {
+        scheduledActions.add(new ScheduledAction(action, System.nanoTime()));
+        postedCount.increment();
+        int depth = queueDepth.incrementAndGet();
+        if (depth > maxQueueDepth.get()) {
+            maxQueueDepth.accumulateAndGet(depth, Math::max);
+        }
+        scheduledActionsFlags |= HAS_SCHEDULED_ACTION;
+    }
+
+    /**
+     * Combines several actions into one, so that a supplier can hand over everything that
+     * accumulated since the last poll in one go.
+     */
+    public static AsyncAction batch(List<AsyncAction> actions) {
+        if (actions.isEmpty()) {
+            return null;
+        } else if (actions.size() == 1) {
+            return actions.get(0);
+        }
+        AsyncAction[] array = actions.toArray(new AsyncAction[0]);
+        return ctx -> {
+            for (AsyncAction action : array) {
+                action.execute(ctx);
+            }
+        };
+    }
+
+    /**
+     * Returns {@code [current queue depth, maximal queue depth, posted actions, processed actions,
+     * total latency (ns), maximal latency (ns)]}, where the latency is the time between posting an
+     * action and starting to execute it.
+     */
+    public long[] getStatistics() {
+        return new long[]{queueDepth.get(), maxQueueDepth.get(), postedCount.sum(), processedCount.sum(), totalLatencyNanos.sum(), maxLatencyNanos.get()};
+    }
+
+    /**
+     * Called by the {@link GlobalInterpreterLock} when a thread waited for the GIL for a whole
+     * switch interval. The current holder will drop the GIL at its next safepoint.
+     */
+    void requestGilDrop(boolean alreadyRequested) {
+        if (alreadyRequested) {
+            // didn't release the gil at all in the last switch interval. Panic.
+            needsAdditionalSafepointExecution = true;
+        }
+        scheduledActionsFlags |= SHOULD_RELEASE_GIL;
     }
 
     void triggerAsyncActions() {
@@ -282,11 +349,11 @@ public class AsyncHandler {
     @SuppressWarnings("try")
     private final void doReleaseGIL() {
         PythonContext ctx = context.get();
-        if (ctx == null) {
+        if (ctx == null || !ctx.getGlobalInterpreterLock().isDropRequested()) {
             return;
         }
         try (GilNode.UncachedRelease gil = GilNode.uncachedRelease()) {
-            Thread.yield();
+            // GlobalInterpreterLock#release waits until the waiting thread took over the GIL
         }
     }
 
@@ -304,7 +371,8 @@ public class AsyncHandler {
      * method after getting the GIL back, but may not get any more actions from the queue, so it
      * leaves and continues running.
      *
-     * We use a recursion guard to ensure that we don't recursively process during processing.
+     * We use a recursion guard in the thread state to ensure that we don't recursively process
+     * during processing.
      */
     @TruffleBoundary
     private void processAsyncActions() {
@@ -312,23 +380,34 @@ public class AsyncHandler {
         if (ctx == null) {
             return;
         }
-        if (recursionGuard.get() == Boolean.TRUE) {
+        PythonContext.PythonThreadState threadState = ctx.getThreadState();
+        if (threadState.isProcessingAsyncActions()) {
             return;
         }
-        recursionGuard.set(true);
+        threadState.setProcessingAsyncActions(true);
         try {
-            ConcurrentLinkedQueue<AsyncAction> actions = scheduledActions;
-            AsyncAction action;
-            while ((action = actions.poll()) != null) {
-                action.execute(ctx);
+            ConcurrentLinkedQueue<ScheduledAction> actions = scheduledActions;
+            ScheduledAction scheduled;
+            while ((scheduled = actions.poll()) != null) {
+                queueDepth.decrementAndGet();
+                long latency = System.nanoTime() - scheduled.postedAt;
+                totalLatencyNanos.add(latency);
+                if (latency > maxLatencyNanos.get()) {
+                    maxLatencyNanos.accumulateAndGet(latency, Math::max);
+                }
+                processedCount.increment();
+                scheduled.action.execute(ctx);
             }
         } finally {
-            recursionGuard.set(false);
+            threadState.setProcessingAsyncActions(false);
         }
     }
 
     public void shutdown() {
-        executorService.shutdownNow();
+        AsyncActionScheduler.Task task = pollTask;
+        if (task != null) {
+            task.cancel();
+        }
     }
 
     public static class SharedFinalizer {
@@ -421,25 +500,25 @@ public class AsyncHandler {
          */
         public void registerAsyncAction() {
             pythonContext.registerAsyncAction(() -> {
-                Reference<? extends Object> reference = null;
-                try {
-                    reference = queue.remove();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-                if (reference instanceof FinalizableReference) {
-                    FinalizableReference object = (FinalizableReference) reference;
-                    try {
-                        liveReferencesSet.remove(object);
-                        if (object.isReleased()) {
-                            return null;
+                ArrayList<AsyncAction> actions = new ArrayList<>();
+                Reference<? extends Object> reference;
+                while ((reference = queue.poll()) != null) {
+                    if (reference instanceof FinalizableReference) {
+                        FinalizableReference object = (FinalizableReference) reference;
+                        try {
+                            liveReferencesSet.remove(object);
+                            if (!object.isReleased()) {
+                                AsyncAction action = object.release();
+                                if (action != null) {
+                                    actions.add(action);
+                                }
+                            }
+                        } catch (Exception e) {
+                            actions.add(new SharedFinalizerErrorCallback(object, e));
                         }
-                        return object.release();
-                    } catch (Exception e) {
-                        return new SharedFinalizerErrorCallback(object, e);
                     }
                 }
-                return null;
+                return batch(actions);
             });
 
         }
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.oracle.graal.python.builtins.objects.common.DynamicObjectStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorage;
+import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary;
+import com.oracle.graal.python.builtins.objects.dict.PDict;
+import com.oracle.graal.python.builtins.objects.list.PList;
+import com.oracle.graal.python.builtins.objects.module.PythonModule;
+import com.oracle.graal.python.runtime.sequence.storage.SequenceStorage;
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.object.DynamicObjectLibrary;
+
+/**
+ * A snapshot of the module state of a context. Embedders that want to reuse a warmed-up context for
+ * many isolated requests take a snapshot once the context is initialized (see
+ * {@code __graalpython__.snapshot_context}) and reset the context to it after each request (see
+ * {@code __graalpython__.reset_context}), which is much cheaper than creating a new context.
+ *
+ * The snapshot is shallow: it restores the set of loaded modules, all module attributes, and the
+ * contents of lists and dicts directly referenced by module attributes (e.g., {@code sys.path},
+ * {@code sys.meta_path} or {@code sys.path_importer_cache}). Objects deeper in the heap, like class
+ * attributes or instances reachable from modules, are not restored.
+ */
+final class ContextSnapshot {
+    private final HashingStorage sysModules;
+    private final PythonModule[] modules;
+    private final Object[][] attributeKeys;
+    private final List<Set<Object>> attributeKeySets;
+    private final Object[][] attributeValues;
+    private final Map<PList, SequenceStorage> lists = new IdentityHashMap<>();
+    private final Map<PDict, HashingStorage> dicts = new IdentityHashMap<>();
+    private final int atExitHookCount;
+
+    private ContextSnapshot(PythonContext context) {
+        CompilerAsserts.neverPartOfCompilation();
+        HashingStorageLibrary hlib = HashingStorageLibrary.getUncached();
+        DynamicObjectLibrary dylib = DynamicObjectLibrary.getUncached();
+        PDict sysModulesDict = context.getSysModules();
+        sysModules = hlib.copy(sysModulesDict.getDictStorage());
+
+        ArrayList<PythonModule> moduleList = new ArrayList<>();
+        for (Object value : sysModulesDict.values()) {
+            if (value instanceof PythonModule) {
+                moduleList.add((PythonModule) value);
+            }
+        }
+        modules = moduleList.toArray(new PythonModule[0]);
+        attributeKeys = new Object[modules.length][];
+        attributeKeySets = new ArrayList<>(modules.length);
+        attributeValues = new Object[modules.length][];
+        for (int i = 0; i < modules.length; i++) {
+            Object[] keys = dylib.getKeyArray(modules[i]);
+            Object[] values = new Object[keys.length];
+            for (int j = 0; j < keys.length; j++) {
+                values[j] = dylib.getOrDefault(modules[i], keys[j], null);
+                recordContainer(values[j], hlib);
+            }
+            attributeKeys[i] = keys;
+            attributeKeySets.add(new HashSet<>(Arrays.asList(keys)));
+            attributeValues[i] = values;
+        }
+        atExitHookCount = context.getAtexitHookCount();
+    }
+
+    private void recordContainer(Object value, HashingStorageLibrary hlib) {
+        if (value instanceof PList) {
+            PList list = (PList) value;
+            if (!lists.containsKey(list)) {
+                lists.put(list, list.getSequenceStorage().copy());
+            }
+        } else if (value instanceof PDict) {
+            PDict dict = (PDict) value;
+            // dicts backed by an object's storage are restored with the object
+            if (!(dict.getDictStorage() instanceof DynamicObjectStorage) && !dicts.containsKey(dict)) {
+                dicts.put(dict, hlib.copy(dict.getDictStorage()));
+            }
+        }
+    }
+
+    static ContextSnapshot capture(PythonContext context) {
+        return new ContextSnapshot(context);
+    }
+
+    /**
+     * Restores the state of the snapshot. The snapshot's own copies are never handed out, so a
+     * snapshot can be restored any number of times.
+     */
+    void restore(PythonContext context) {
+        CompilerAsserts.neverPartOfCompilation();
+        HashingStorageLibrary hlib = HashingStorageLibrary.getUncached();
+        DynamicObjectLibrary dylib = DynamicObjectLibrary.getUncached();
+        context.getSysModules().setDictStorage(hlib.copy(sysModules));
+        for (int i = 0; i < modules.length; i++) {
+            PythonModule module = modules[i];
+            Object[] keys = attributeKeys[i];
+            Set<Object> keySet = attributeKeySets.get(i);
+            for (Object key : dylib.getKeyArray(module)) {
+                if (!keySet.contains(key)) {
+                    dylib.removeKey(module, key);
+                }
+            }
+            Object[] values = attributeValues[i];
+            for (int j = 0; j < keys.length; j++) {
+                dylib.put(module, keys[j], values[j]);
+            }
+        }
+        for (Map.Entry<PList, SequenceStorage> entry : lists.entrySet()) {
+            entry.getKey().setSequenceStorage(entry.getValue().copy());
+        }
+        for (Map.Entry<PDict, HashingStorage> entry : dicts.entrySet()) {
+            entry.getKey().setDictStorage(hlib.copy(entry.getValue()));
+        }
+        context.truncateAtexitHooks(atExitHookCount);
+    }
+}
@@ -45,6 +45,13 @@ import static com.oracle.graal.python.runtime.PosixConstants.DT_DIR;
 import static com.oracle.graal.python.runtime.PosixConstants.DT_LNK;
 import static com.oracle.graal.python.runtime.PosixConstants.DT_REG;
 import static com.oracle.graal.python.runtime.PosixConstants.DT_UNKNOWN;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLET;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLONESHOT;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLLOUT;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_ADD;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_DEL;
+import static com.oracle.graal.python.runtime.PosixConstants.EPOLL_CTL_MOD;
 import static com.oracle.graal.python.runtime.PosixConstants.F_OK;
 import static com.oracle.graal.python.runtime.PosixConstants.LOCK_EX;
 import static com.oracle.graal.python.runtime.PosixConstants.LOCK_NB;
@@ -63,6 +70,9 @@ import static com.oracle.graal.python.runtime.PosixConstants.O_SYNC;
 import static com.oracle.graal.python.runtime.PosixConstants.O_TMPFILE;
 import static com.oracle.graal.python.runtime.PosixConstants.O_TRUNC;
 import static com.oracle.graal.python.runtime.PosixConstants.O_WRONLY;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLIN;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLNVAL;
+import static com.oracle.graal.python.runtime.PosixConstants.POLLOUT;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_EXEC;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_NONE;
 import static com.oracle.graal.python.runtime.PosixConstants.PROT_READ;
@@ -112,10 +122,13 @@ import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
 import java.nio.channels.Channel;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ScatteringByteChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
@@ -379,17 +392,23 @@ public final class EmulatedPosixSupport extends PosixResources {
     @ExportMessage
     public long write(int fd, Buffer data,
                     @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
-                    @Shared("errorBranch") @Cached BranchProfile errorBranch) throws PosixException {
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("gil") @Cached GilNode gil) throws PosixException {
         Channel channel = getFileChannel(fd, channelClassProfile);
         if (!(channel instanceof WritableByteChannel)) {
             errorBranch.enter();
             throw posixException(OSErrorEnum.EBADF);
         }
+        boolean released = gil.releaseIfOwned();
         try {
             return doWriteOp(data.getByteBuffer(), (WritableByteChannel) channel);
         } catch (Exception e) {
             errorBranch.enter();
             throw posixException(OSErrorEnum.fromException(e));
+        } finally {
+            if (released) {
+                gil.acquire();
+            }
         }
     }
 
@@ -403,16 +422,275 @@ public final class EmulatedPosixSupport extends PosixResources {
     public Buffer read(int fd, long length,
                     @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
                     @Cached ReadFromChannelNode readNode,
-                    @Shared("errorBranch") @Cached BranchProfile errorBranch) throws PosixException {
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("gil") @Cached GilNode gil) throws PosixException {
         Channel channel = getFileChannel(fd, channelClassProfile);
         if (channel == null) {
             errorBranch.enter();
             throw posixException(OSErrorEnum.EBADF);
         }
-        ByteSequenceStorage array = readNode.execute(channel, (int) length);
+        ByteSequenceStorage array;
+        boolean released = gil.releaseIfOwned();
+        try {
+            array = readNode.execute(channel, (int) length);
+        } finally {
+            if (released) {
+                gil.acquire();
+            }
+        }
         return new Buffer(array.getInternalByteArray(), array.length());
     }
 
+    @ExportMessage
+    public long readInto(int fd, byte[] buf, int offset, long length,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("gil") @Cached GilNode gil) throws PosixException {
+        Channel channel = getFileChannel(fd, channelClassProfile);
+        if (!(channel instanceof ReadableByteChannel)) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        boolean released = gil.releaseIfOwned();
+        try {
+            int n = doReadOp(buf, offset, (int) Math.min(length, ReadFromChannelNode.MAX_READ), (ReadableByteChannel) channel);
+            return n < 0 ? 0 : n;
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e));
+        } finally {
+            if (released) {
+                gil.acquire();
+            }
+        }
+    }
+
+    @TruffleBoundary(allowInlining = true)
+    private static int doReadOp(byte[] buf, int offset, int length, ReadableByteChannel channel) throws IOException {
+        return channel.read(ByteBuffer.wrap(buf, offset, length));
+    }
+
+    @ExportMessage
+    public Buffer pread(int fd, long length, long offset,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("gil") @Cached GilNode gil) throws PosixException {
+        SeekableByteChannel channel = getSeekableChannel(fd, channelClassProfile, errorBranch);
+        if (offset < 0) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        Buffer buffer = Buffer.wrap(new byte[(int) Math.min(length, ReadFromChannelNode.MAX_READ)]);
+        boolean released = gil.releaseIfOwned();
+        try {
+            int n = doPositionalOp(buffer.getByteBuffer(), offset, channel, false);
+            return buffer.withLength(n < 0 ? 0 : n);
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e));
+        } finally {
+            if (released) {
+                gil.acquire();
+            }
+        }
+    }
+
+    @ExportMessage
+    public long pwrite(int fd, Buffer data, long offset,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("gil") @Cached GilNode gil) throws PosixException {
+        SeekableByteChannel channel = getSeekableChannel(fd, channelClassProfile, errorBranch);
+        if (offset < 0) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        boolean released = gil.releaseIfOwned();
+        try {
+            return doPositionalOp(data.getByteBuffer(), offset, channel, true);
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e));
+        } finally {
+            if (released) {
+                gil.acquire();
+            }
+        }
+    }
+
+    private SeekableByteChannel getSeekableChannel(int fd, ValueProfile channelClassProfile, BranchProfile errorBranch) throws PosixException {
+        Channel channel = getFileChannel(fd, channelClassProfile);
+        if (channel == null) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (!(channel instanceof SeekableByteChannel)) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.ESPIPE);
+        }
+        return (SeekableByteChannel) channel;
+    }
+
+    /**
+     * Reads or writes at the given position without moving the file position. A
+     * {@link FileChannel} does this natively and lets concurrent callers proceed in parallel;
+     * other seekable channels are emulated by saving and restoring the position under the
+     * channel's lock.
+     */
+    @TruffleBoundary
+    private static int doPositionalOp(ByteBuffer data, long offset, SeekableByteChannel channel, boolean write) throws IOException {
+        if (channel instanceof FileChannel) {
+            FileChannel fc = (FileChannel) channel;
+            return write ? fc.write(data, offset) : fc.read(data, offset);
+        }
+        synchronized (channel) {
+            long oldPos = channel.position();
+            try {
+                channel.position(offset);
+                return write ? channel.write(data) : channel.read(data);
+            } finally {
+                channel.position(oldPos);
+            }
+        }
+    }
+
+    @ExportMessage
+    public long readv(int fd, Buffer[] buffers,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("gil") @Cached GilNode gil) throws PosixException {
+        Channel channel = getFileChannel(fd, channelClassProfile);
+        if (!(channel instanceof ReadableByteChannel)) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        boolean released = gil.releaseIfOwned();
+        try {
+            long n = doScatterRead(toByteBuffers(buffers), (ReadableByteChannel) channel);
+            return n < 0 ? 0 : n;
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e));
+        } finally {
+            if (released) {
+                gil.acquire();
+            }
+        }
+    }
+
+    @ExportMessage
+    public long writev(int fd, Buffer[] buffers,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("gil") @Cached GilNode gil) throws PosixException {
+        Channel channel = getFileChannel(fd, channelClassProfile);
+        if (!(channel instanceof WritableByteChannel)) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        boolean released = gil.releaseIfOwned();
+        try {
+            return doGatherWrite(toByteBuffers(buffers), (WritableByteChannel) channel);
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e));
+        } finally {
+            if (released) {
+                gil.acquire();
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static ByteBuffer[] toByteBuffers(Buffer[] buffers) {
+        ByteBuffer[] result = new ByteBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            result[i] = buffers[i].getByteBuffer();
+        }
+        return result;
+    }
+
+    @TruffleBoundary
+    private static long doScatterRead(ByteBuffer[] buffers, ReadableByteChannel channel) throws IOException {
+        if (channel instanceof ScatteringByteChannel) {
+            return ((ScatteringByteChannel) channel).read(buffers);
+        }
+        long total = 0;
+        for (ByteBuffer b : buffers) {
+            int n = channel.read(b);
+            if (n < 0) {
+                return total == 0 ? -1 : total;
+            }
+            total += n;
+            if (b.hasRemaining()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @TruffleBoundary
+    private static long doGatherWrite(ByteBuffer[] buffers, WritableByteChannel channel) throws IOException {
+        if (channel instanceof GatheringByteChannel) {
+            return ((GatheringByteChannel) channel).write(buffers);
+        }
+        long total = 0;
+        for (ByteBuffer b : buffers) {
+            total += channel.write(b);
+            if (b.hasRemaining()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    @ExportMessage
+    public long sendfile(int outFd, int inFd, long offset, long count,
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("errorBranch") @Cached BranchProfile errorBranch,
+                    @Shared("gil") @Cached GilNode gil) throws PosixException {
+        Channel out = getFileChannel(outFd, channelClassProfile);
+        if (!(out instanceof WritableByteChannel)) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        SeekableByteChannel in = getSeekableChannel(inFd, channelClassProfile, errorBranch);
+        boolean released = gil.releaseIfOwned();
+        try {
+            return doTransfer(in, (WritableByteChannel) out, offset, count);
+        } catch (Exception e) {
+            errorBranch.enter();
+            throw posixException(OSErrorEnum.fromException(e));
+        } finally {
+            if (released) {
+                gil.acquire();
+            }
+        }
+    }
+
+    @TruffleBoundary
+    private static long doTransfer(SeekableByteChannel in, WritableByteChannel out, long offset, long count) throws IOException {
+        long pos = offset < 0 ? in.position() : offset;
+        long n;
+        if (in instanceof FileChannel) {
+            n = ((FileChannel) in).transferTo(pos, count, out);
+        } else {
+            // sendfile may transfer fewer bytes than requested, so one chunk is enough
+            ByteBuffer buf = ByteBuffer.allocate((int) Math.min(count, 64 * 1024));
+            int read = doPositionalOp(buf, pos, in, false);
+            if (read <= 0) {
+                n = 0;
+            } else {
+                buf.flip();
+                n = out.write(buf);
+            }
+        }
+        if (offset < 0) {
+            in.position(pos + n);
+        }
+        return n;
+    }
+
     @Override
     @ExportMessage
     public int dup(int fd) {
@@ -517,7 +795,20 @@ public final class EmulatedPosixSupport extends PosixResources {
                     useSelectNow = true;
                 }
             }
-            int selected = useSelectNow ? selector.selectNow() : selector.select(timeoutMs);
+            int selected;
+            if (useSelectNow) {
+                selected = selector.selectNow();
+            } else {
+                GilNode gil = GilNode.getUncached();
+                boolean released = gil.releaseIfOwned();
+                try {
+                    selected = selector.select(timeoutMs);
+                } finally {
+                    if (released) {
+                        gil.acquire();
+                    }
+                }
+            }
 
             // remove non-selected channels from given lists
             boolean[] resReadfds = createSelectedMap(readfds, readChannels, selector, readOps);
@@ -574,24 +865,292 @@ public final class EmulatedPosixSupport extends PosixResources {
             if (ch == null) {
                 throw posixException(OSErrorEnum.EBADF);
             }
-            if (ch instanceof SelectableChannel) {
-                channels[i] = (SelectableChannel) ch;
-            } else if (ch instanceof PSocket) {
-                PSocket socket = (PSocket) ch;
-                if (socket.getSocket() != null) {
-                    channels[i] = socket.getSocket();
-                } else if (socket.getServerSocket() != null) {
-                    channels[i] = socket.getServerSocket();
-                } else {
-                    throw posixException(OSErrorEnum.EBADF);
-                }
-            } else {
+            channels[i] = toSelectableChannel(ch);
+            if (channels[i] == null) {
                 throw ChannelNotSelectableException.INSTANCE;
             }
         }
         return channels;
     }
 
+    /**
+     * Returns the channel backing {@code fd} that can be registered with a {@link Selector}.
+     *
+     * @throws ChannelNotSelectableException if {@code fd} is not selectable (e.g. a regular file)
+     */
+    @TruffleBoundary
+    public SelectableChannel getSelectableChannel(int fd) throws PosixException {
+        return getSelectableChannels(new int[]{fd})[0];
+    }
+
+    /**
+     * Returns the channel that can be registered with a {@link Selector} on behalf of {@code ch},
+     * or {@code null} if {@code ch} is not selectable (e.g. a regular file).
+     */
+    private static SelectableChannel toSelectableChannel(Channel ch) throws PosixException {
+        if (ch instanceof SelectableChannel) {
+            return (SelectableChannel) ch;
+        } else if (ch instanceof PSocket) {
+            PSocket socket = (PSocket) ch;
+            if (socket.getSocket() != null) {
+                return socket.getSocket();
+            } else if (socket.getServerSocket() != null) {
+                return socket.getServerSocket();
+            } else {
+                throw posixException(OSErrorEnum.EBADF);
+            }
+        }
+        return null;
+    }
+
+    private static int eventsToInterestOps(int events, int in, int out, SelectableChannel channel) {
+        int ops = 0;
+        if ((events & in) != 0) {
+            ops |= SelectionKey.OP_READ | SelectionKey.OP_ACCEPT;
+        }
+        if ((events & out) != 0) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        return ops & channel.validOps();
+    }
+
+    private static int readyOpsToEvents(int readyOps, int in, int out) {
+        int events = 0;
+        if ((readyOps & (SelectionKey.OP_READ | SelectionKey.OP_ACCEPT)) != 0) {
+            events |= in;
+        }
+        if ((readyOps & SelectionKey.OP_WRITE) != 0) {
+            events |= out;
+        }
+        return events;
+    }
+
+    private static int doSelect(Selector selector, int timeoutMs) throws IOException {
+        if (timeoutMs == 0) {
+            return selector.selectNow();
+        }
+        GilNode gil = GilNode.getUncached();
+        boolean released = gil.releaseIfOwned();
+        try {
+            // Java uses 0 to wait indefinitely
+            return selector.select(timeoutMs < 0 ? 0 : timeoutMs);
+        } finally {
+            if (released) {
+                gil.acquire();
+            }
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int poll(int[] fds, int[] events, int[] revents, int timeoutMs) throws PosixException {
+        final int in = POLLIN.value;
+        final int out = POLLOUT.value;
+        SelectableChannel[] channels = new SelectableChannel[fds.length];
+        boolean[] wasBlocking = new boolean[fds.length];
+        int ready = 0;
+        try (Selector selector = Selector.open()) {
+            try {
+                for (int i = 0; i < fds.length; i++) {
+                    revents[i] = 0;
+                    if (fds[i] < 0) {
+                        continue;
+                    }
+                    Channel ch = getFileChannel(fds[i]);
+                    if (ch == null) {
+                        revents[i] = POLLNVAL.value;
+                        ready++;
+                        continue;
+                    }
+                    SelectableChannel sc = toSelectableChannel(ch);
+                    if (sc == null) {
+                        // like poll(2), regular files are always ready
+                        revents[i] = events[i] & (in | out);
+                        if (revents[i] != 0) {
+                            ready++;
+                        }
+                        continue;
+                    }
+                    channels[i] = sc;
+                    wasBlocking[i] = sc.isBlocking();
+                    sc.configureBlocking(false);
+                    SelectionKey key = sc.keyFor(selector);
+                    int ops = eventsToInterestOps(events[i], in, out, sc);
+                    if (key == null) {
+                        sc.register(selector, ops);
+                    } else {
+                        // the same channel was passed more than once
+                        key.interestOps(key.interestOps() | ops);
+                    }
+                }
+                doSelect(selector, ready > 0 ? 0 : timeoutMs);
+                for (int i = 0; i < fds.length; i++) {
+                    if (channels[i] != null) {
+                        SelectionKey key = channels[i].keyFor(selector);
+                        revents[i] = readyOpsToEvents(key.readyOps() & eventsToInterestOps(events[i], in, out, channels[i]), in, out);
+                        if (revents[i] != 0) {
+                            ready++;
+                        }
+                    }
+                }
+                return ready;
+            } finally {
+                // channels must be deregistered before they can be made blocking again
+                selector.close();
+                for (int i = 0; i < fds.length; i++) {
+                    if (channels[i] != null && wasBlocking[i]) {
+                        channels[i].configureBlocking(true);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e));
+        }
+    }
+
+    /**
+     * Emulation of an epoll instance. Channels stay registered with the {@link Selector} between
+     * calls of {@code epollWait}, so waiting does not depend on the number of registered channels.
+     * Each key is attached the file descriptor and event mask it was registered with.
+     */
+    private static final class EpollChannel implements Channel {
+        private final Selector selector;
+        private final Map<Integer, SelectionKey> keys = new HashMap<>();
+
+        EpollChannel(Selector selector) {
+            this.selector = selector;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return selector.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            selector.close();
+        }
+    }
+
+    private EpollChannel getEpollChannel(int epfd) throws PosixException {
+        Channel ch = getFileChannel(epfd);
+        if (ch == null) {
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        if (!(ch instanceof EpollChannel)) {
+            throw posixException(OSErrorEnum.EINVAL);
+        }
+        return (EpollChannel) ch;
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int epollCreate() throws PosixException {
+        try {
+            return openChannel(new EpollChannel(Selector.open()));
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e));
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public void epollCtl(int epfd, int op, int fd, int events) throws PosixException {
+        EpollChannel epoll = getEpollChannel(epfd);
+        Channel ch = getFileChannel(fd);
+        if (ch == null) {
+            throw posixException(OSErrorEnum.EBADF);
+        }
+        final int in = EPOLLIN.getValueIfDefined();
+        final int out = EPOLLOUT.getValueIfDefined();
+        synchronized (epoll) {
+            SelectionKey key = epoll.keys.get(fd);
+            try {
+                if (op == EPOLL_CTL_ADD.getValueIfDefined()) {
+                    if (key != null) {
+                        throw posixException(OSErrorEnum.EEXIST);
+                    }
+                    SelectableChannel sc = toSelectableChannel(ch);
+                    if (sc == null) {
+                        // epoll does not support regular files either
+                        throw posixException(OSErrorEnum.EPERM);
+                    }
+                    if ((events & EPOLLET.getValueIfDefined()) != 0) {
+                        compatibilityIgnored("POSIX emulation layer doesn't support edge-triggered epoll, using level-triggered mode");
+                    }
+                    // Java requires non-blocking mode for registered channels. Blocking sockets
+                    // keep working because SocketUtils waits for readiness on their behalf.
+                    sc.configureBlocking(false);
+                    epoll.keys.put(fd, sc.register(epoll.selector, eventsToInterestOps(events, in, out, sc), new int[]{fd, events}));
+                } else if (op == EPOLL_CTL_MOD.getValueIfDefined()) {
+                    if (key == null) {
+                        throw posixException(OSErrorEnum.ENOENT);
+                    }
+                    key.interestOps(eventsToInterestOps(events, in, out, key.channel()));
+                    key.attach(new int[]{fd, events});
+                } else if (op == EPOLL_CTL_DEL.getValueIfDefined()) {
+                    if (key == null) {
+                        throw posixException(OSErrorEnum.ENOENT);
+                    }
+                    key.cancel();
+                    epoll.keys.remove(fd);
+                } else {
+                    throw posixException(OSErrorEnum.EINVAL);
+                }
+            } catch (IOException | CancelledKeyException e) {
+                throw posixException(OSErrorEnum.fromException(e));
+            }
+        }
+    }
+
+    @ExportMessage
+    @TruffleBoundary
+    public int epollWait(int epfd, int[] fds, int[] events, int timeoutMs) throws PosixException {
+        EpollChannel epoll = getEpollChannel(epfd);
+        final int in = EPOLLIN.getValueIfDefined();
+        final int out = EPOLLOUT.getValueIfDefined();
+        final int oneShot = EPOLLONESHOT.getValueIfDefined();
+        try {
+            // keys left over from the previous call are reported first
+            boolean pending;
+            synchronized (epoll) {
+                pending = !epoll.selector.selectedKeys().isEmpty();
+                if (pending) {
+                    epoll.selector.selectNow();
+                }
+            }
+            if (!pending) {
+                // not holding the lock, since registering a channel blocks during a select
+                doSelect(epoll.selector, timeoutMs);
+            }
+            synchronized (epoll) {
+                int n = 0;
+                Iterator<SelectionKey> it = epoll.selector.selectedKeys().iterator();
+                while (n < fds.length && it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    int[] registration = (int[]) key.attachment();
+                    int ready = readyOpsToEvents(key.readyOps(), in, out) & registration[1];
+                    if (ready == 0) {
+                        continue;
+                    }
+                    fds[n] = registration[0];
+                    events[n] = ready;
+                    n++;
+                    if ((registration[1] & oneShot) != 0) {
+                        key.interestOps(0);
+                    }
+                }
+                return n;
+            }
+        } catch (IOException e) {
+            throw posixException(OSErrorEnum.fromException(e));
+        }
+    }
+
     @ExportMessage
     public long lseek(int fd, long offset, int how,
                     @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
@@ -678,7 +1237,8 @@ public final class EmulatedPosixSupport extends PosixResources {
     @ExportMessage
     final void flock(int fd, int operation,
                     @Shared("errorBranch") @Cached BranchProfile errorBranch,
-                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile) throws PosixException {
+                    @Shared("channelClass") @Cached("createClassProfile()") ValueProfile channelClassProfile,
+                    @Shared("gil") @Cached GilNode gil) throws PosixException {
         Channel channel = getFileChannel(fd, channelClassProfile);
         if (channel == null) {
             errorBranch.enter();
@@ -688,10 +1248,16 @@ public final class EmulatedPosixSupport extends PosixResources {
         if (channel instanceof FileChannel) {
             FileChannel fc = (FileChannel) channel;
             FileLock lock = getFileLock(fd);
+            // only a blocking lock operation is worth giving up the GIL
+            boolean released = (operation & (LOCK_NB.value | LOCK_UN.value)) == 0 && gil.releaseIfOwned();
             try {
                 lock = doLockOperation(operation, fc, lock);
             } catch (IOException e) {
                 throw posixException(OSErrorEnum.fromException(e));
+            } finally {
+                if (released) {
+                    gil.acquire();
+                }
             }
             setFileLock(fd, lock);
         }
@@ -1555,10 +2121,19 @@ public final class EmulatedPosixSupport extends PosixResources {
     }
 
     @ExportMessage
-    public long[] waitpid(long pid, int options) throws PosixException {
+    public long[] waitpid(long pid, int options,
+                    @Shared("gil") @Cached GilNode gil) throws PosixException {
         try {
             if (options == 0) {
-                int exitStatus = waitpid((int) pid);
+                int exitStatus;
+                boolean released = gil.releaseIfOwned();
+                try {
+                    exitStatus = waitpid((int) pid);
+                } finally {
+                    if (released) {
+                        gil.acquire();
+                    }
+                }
                 return new long[]{pid, exitStatus};
             } else if (options == WNOHANG.value) {
                 // TODO: simplify once the super class is merged with this class
@@ -53,6 +53,7 @@ import com.oracle.graal.python.nodes.frame.MaterializeFrameNodeGen;
 import com.oracle.graal.python.nodes.frame.ReadCallerFrameNode;
 import com.oracle.graal.python.nodes.frame.ReadCallerFrameNode.FrameSelector;
 import com.oracle.graal.python.nodes.util.ExceptionStateNodes.GetCaughtExceptionNode;
+import com.oracle.graal.python.runtime.PythonContext.PythonThreadState;
 import com.oracle.graal.python.runtime.exception.PException;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
@@ -158,6 +159,11 @@ public abstract class ExecutionContext {
                 }
                 PArguments.setException(callArguments, curExc);
             }
+            if (PArguments.isPythonFrame(frame)) {
+                // hand on the thread state such that indirect calls in the callee do not need to
+                // look it up
+                PArguments.setThreadStateFromCaller(callArguments, PArguments.getThreadStateFromCaller(frame));
+            }
         }
 
         private PFrame materialize(VirtualFrame frame, Node callNode, boolean markAsEscaped, boolean forceSync) {
@@ -301,10 +307,12 @@ public abstract class ExecutionContext {
 
     @ValueType
     private static final class IndirectCallState {
+        private final PythonThreadState threadState;
         private final PFrame.Reference info;
         private final PException curExc;
 
-        private IndirectCallState(PFrame.Reference info, PException curExc) {
+        private IndirectCallState(PythonThreadState threadState, PFrame.Reference info, PException curExc) {
+            this.threadState = threadState;
             this.info = info;
             this.curExc = curExc;
         }
@@ -353,25 +361,32 @@ public abstract class ExecutionContext {
                 return null;
             }
             PFrame.Reference info = null;
-            if (callNode.calleeNeedsCallerFrame()) {
-                PFrame.Reference prev = context.popTopFrameInfo();
-                assert prev == null : "trying to call from Python to a foreign function, but we didn't clear the topframeref. " +
-                                "This indicates that a call into Python code happened without a proper enter through ForeignToPythonCallContext";
-                info = PArguments.getCurrentFrameInfo(frame);
-                info.setCallNode((Node) callNode);
-                context.setTopFrameInfo(info);
-            }
             PException curExc = null;
-            if (callNode.calleeNeedsExceptionState()) {
-                PException exceptionState = PArguments.getException(frame);
-                curExc = context.getCaughtException();
-                context.setCaughtException(exceptionState);
+            PythonThreadState threadState = null;
+            boolean needsCallerFrame = callNode.calleeNeedsCallerFrame();
+            boolean needsExceptionState = callNode.calleeNeedsExceptionState();
+            if (needsCallerFrame || needsExceptionState) {
+                // look up the thread state only once for both transfers and the exit
+                threadState = context.getThreadState(PArguments.getThreadStateFromCaller(frame));
+                if (needsCallerFrame) {
+                    PFrame.Reference prev = threadState.topframeref;
+                    assert prev == null : "trying to call from Python to a foreign function, but we didn't clear the topframeref. " +
+                                    "This indicates that a call into Python code happened without a proper enter through ForeignToPythonCallContext";
+                    info = PArguments.getCurrentFrameInfo(frame);
+                    info.setCallNode((Node) callNode);
+                    threadState.topframeref = info;
+                }
+                if (needsExceptionState) {
+                    PException exceptionState = PArguments.getException(frame);
+                    curExc = threadState.caughtException;
+                    threadState.caughtException = exceptionState;
+                }
             }
 
             if (curExc == null && info == null) {
                 return null;
             } else {
-                return new IndirectCallState(info, curExc);
+                return new IndirectCallState(threadState, info, curExc);
             }
         }
 
@@ -384,10 +399,10 @@ public abstract class ExecutionContext {
             }
             IndirectCallState state = (IndirectCallState) savedState;
             if (state.info != null) {
-                context.popTopFrameInfo();
+                state.threadState.topframeref = null;
             }
             if (state.curExc != null) {
-                context.setCaughtException(state.curExc);
+                state.threadState.caughtException = state.curExc;
             }
         }
     }
@@ -409,29 +424,32 @@ public abstract class ExecutionContext {
         }
 
         private static PFrame.Reference enter(PythonContext context, Object[] pArguments, boolean needsExceptionState) {
-            Reference popTopFrameInfo = context.popTopFrameInfo();
+            PythonThreadState threadState = context.getThreadState();
+            Reference popTopFrameInfo = threadState.topframeref;
+            threadState.topframeref = null;
             PArguments.setCallerFrameInfo(pArguments, popTopFrameInfo);
+            PArguments.setThreadStateFromCaller(pArguments, threadState);
 
             if (needsExceptionState) {
-                PException curExc = context.getCaughtException();
+                PException curExc = threadState.caughtException;
                 if (curExc == null) {
                     CompilerDirectives.transferToInterpreter();
                     PException fromStackWalk = GetCaughtExceptionNode.fullStackWalk();
                     curExc = fromStackWalk != null ? fromStackWalk : PException.NO_EXCEPTION;
                     // now, set in our args, such that we won't do this again
-                    context.setCaughtException(curExc);
+                    threadState.caughtException = curExc;
                 }
                 PArguments.setException(pArguments, curExc);
             }
             return popTopFrameInfo;
         }
 
-        public static void exit(PythonContext context, PFrame.Reference frameInfo) {
+        public static void exit(PythonContext context, Object[] pArguments, PFrame.Reference frameInfo) {
             // Note that the Python callee, if it escaped, has already been
             // materialized due to a CalleeContext in its RootNode. If this
             // topframeref was marked as escaped, it'll be materialized at the
             // latest needed time
-            context.setTopFrameInfo(frameInfo);
+            context.setTopFrameInfo(PArguments.getThreadStateFromCaller(pArguments), frameInfo);
         }
     }
 }
@@ -56,6 +56,7 @@ public abstract class GilNode extends Node {
         @CompilationFinal ContextReference<PythonContext> contextRef;
         @CompilationFinal LanguageReference<PythonLanguage> languageRef;
         private final ConditionProfile binaryProfile = ConditionProfile.createBinaryProfile();
+        private final ConditionProfile ownedProfile = ConditionProfile.createBinaryProfile();
 
         @Override
         public boolean isAdoptable() {
@@ -73,13 +74,16 @@ public abstract class GilNode extends Node {
             // to acquire the GIL at all until the first one has finished sleeping and actually runs
             // into the next (e.g. regular) GIL release. So we need to always have this ownsGil
             // check.
-            if (binaryProfile.profile(wasAcquired)) {
+            if (!isGilFree() && binaryProfile.profile(wasAcquired)) {
                 getContext().releaseGil();
             }
         }
 
         @Override
         public boolean acquire() {
+            if (isGilFree()) {
+                return false;
+            }
             PythonContext context = getContext();
             if (binaryProfile.profile(!context.ownsGil())) {
                 context.acquireGil();
@@ -88,6 +92,28 @@ public abstract class GilNode extends Node {
             return false;
         }
 
+        @Override
+        public boolean releaseIfOwned() {
+            if (isGilFree()) {
+                return false;
+            }
+            PythonContext context = getContext();
+            if (ownedProfile.profile(context.ownsGil())) {
+                context.releaseGil();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean isGilFree() {
+            if (languageRef == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                languageRef = lookupLanguageReference(PythonLanguage.class);
+            }
+            // this is an engine option, so it is a constant in compiled code
+            return languageRef.get().isGilFree();
+        }
+
         private final PythonContext getContext() {
             if (contextRef == null) {
                 CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -122,6 +148,17 @@ public abstract class GilNode extends Node {
             }
         }
 
+        @Override
+        @TruffleBoundary
+        public final boolean releaseIfOwned() {
+            PythonContext context = PythonLanguage.getContext();
+            if (!context.isGilFree() && context.ownsGil()) {
+                context.releaseGil();
+                return true;
+            }
+            return false;
+        }
+
         public abstract void close();
     }
 
@@ -168,6 +205,14 @@ public abstract class GilNode extends Node {
      */
     public abstract void release(boolean wasAcquired);
 
+    /**
+     * Releases the GIL if the current thread holds it. Returns {@code true} if the GIL was
+     * released, in which case the caller must re-{@link #acquire} it afterwards. This is meant for
+     * code that may or may not run with the GIL held, like the blocking messages of the POSIX
+     * backends, which are also called from builtins that already released the GIL themselves.
+     */
+    public abstract boolean releaseIfOwned();
+
     public static GilNode create() {
         return new Cached();
     }
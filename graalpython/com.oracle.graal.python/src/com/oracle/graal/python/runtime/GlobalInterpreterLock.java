@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * The Universal Permissive License (UPL), Version 1.0
+ *
+ * Subject to the condition set forth below, permission is hereby granted to any
+ * person obtaining a copy of this software, associated documentation and/or
+ * data (collectively the "Software"), free of charge and under any and all
+ * copyright rights in the Software, and any and all patent rights owned or
+ * freely licensable by each licensor hereunder covering either (i) the
+ * unmodified Software as contributed to or provided by such licensor, or (ii)
+ * the Larger Works (as defined below), to deal in both
+ *
+ * (a) the Software, and
+ *
+ * (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+ * one is included with the Software each a "Larger Work" to which the Software
+ * is contributed by such licensors),
+ *
+ * without restriction, including without limitation the rights to copy, create
+ * derivative works of, display, perform, and distribute the Software and make,
+ * use, sell, offer for sale, import, export, have made, and have sold the
+ * Software and the Larger Work(s), and to sublicense the foregoing rights on
+ * either these or other terms.
+ *
+ * This license is subject to the following condition:
+ *
+ * The above copyright notice and either this complete permission notice or at a
+ * minimum a reference to the UPL must be included in all copies or substantial
+ * portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.oracle.graal.python.runtime;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * The global interpreter lock. This follows the design of CPython's {@code ceval_gil.h}: a thread
+ * that wants the GIL waits for at most one switch interval. If the GIL was not handed over to
+ * anybody in that time, the waiting thread sets the <em>drop request</em> which the holder checks
+ * at its next safepoint (see {@link AsyncHandler}). A holder that drops the GIL in response to a
+ * drop request then waits until some other thread actually took the GIL before it tries to
+ * re-acquire it. This hand-off guarantee prevents a hot thread from immediately re-acquiring the
+ * lock and starving the others, which a plain {@link ReentrantLock} does not prevent.
+ */
+public final class GlobalInterpreterLock {
+    /** The default switch interval of 5ms, see {@code sys.getswitchinterval}. */
+    public static final long DEFAULT_SWITCH_INTERVAL_NS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final ReentrantLock mutex = new ReentrantLock();
+    /** Signalled whenever the GIL is released. */
+    private final Condition released = mutex.newCondition();
+    /** Signalled whenever the GIL is taken by a thread. */
+    private final Condition switched = mutex.newCondition();
+
+    /**
+     * Called by a waiting thread (while holding {@link #mutex}) whenever it sets the drop request,
+     * so it must not block. The argument is {@code true} if the drop request was already set
+     * before, i.e., the holder did not reach a safepoint for a whole switch interval.
+     */
+    private final DropRequestListener dropRequestListener;
+
+    private volatile Thread owner;
+    private volatile boolean dropRequest;
+    private volatile long switchIntervalNanos = DEFAULT_SWITCH_INTERVAL_NS;
+
+    // all fields below are guarded by 'mutex'
+    private long switchNumber;
+    private int waiters;
+
+    // statistics, guarded by 'mutex'
+    private long acquireCount;
+    private long waitCount;
+    private long dropRequestCount;
+    private long handOffCount;
+
+    interface DropRequestListener {
+        void onDropRequest(boolean alreadyRequested);
+    }
+
+    GlobalInterpreterLock(DropRequestListener dropRequestListener) {
+        this.dropRequestListener = dropRequestListener;
+    }
+
+    boolean isHeldByCurrentThread() {
+        return owner == Thread.currentThread();
+    }
+
+    /**
+     * Returns {@code true} if the current owner was asked to drop the GIL.
+     */
+    boolean isDropRequested() {
+        return dropRequest;
+    }
+
+    public long getSwitchIntervalNanos() {
+        return switchIntervalNanos;
+    }
+
+    public void setSwitchIntervalNanos(long switchIntervalNanos) {
+        assert switchIntervalNanos > 0;
+        this.switchIntervalNanos = switchIntervalNanos;
+    }
+
+    @TruffleBoundary
+    void acquire() throws InterruptedException {
+        assert owner != Thread.currentThread() : "trying to acquire the GIL more than once";
+        mutex.lockInterruptibly();
+        try {
+            if (owner != null) {
+                waitCount++;
+                waiters++;
+                try {
+                    while (owner != null) {
+                        long prevSwitchNumber = switchNumber;
+                        long remaining = released.awaitNanos(switchIntervalNanos);
+                        if (remaining <= 0 && owner != null && switchNumber == prevSwitchNumber) {
+                            // the holder did not give up the GIL for a whole interval
+                            boolean alreadyRequested = dropRequest;
+                            dropRequest = true;
+                            dropRequestCount++;
+                            dropRequestListener.onDropRequest(alreadyRequested);
+                        }
+                    }
+                } finally {
+                    waiters--;
+                    // a thread waiting for the hand-off in 'release' may need to re-check
+                    switched.signalAll();
+                }
+            }
+            owner = Thread.currentThread();
+            acquireCount++;
+            switchNumber++;
+            if (dropRequest) {
+                dropRequest = false;
+                handOffCount++;
+            }
+            // wake up the thread that dropped the GIL because we asked it to
+            switched.signalAll();
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    @TruffleBoundary
+    void release() {
+        assert owner == Thread.currentThread() : "trying to release the GIL from a thread that does not own it";
+        mutex.lock();
+        try {
+            owner = null;
+            released.signal();
+            if (dropRequest && waiters > 0) {
+                // Forced switching: we were asked to drop the GIL, so wait until another thread
+                // took it to make sure we don't immediately grab it back.
+                long prevSwitchNumber = switchNumber;
+                while (switchNumber == prevSwitchNumber && waiters > 0) {
+                    switched.awaitUninterruptibly();
+                }
+            }
+        } finally {
+            mutex.unlock();
+        }
+    }
+
+    /**
+     * Returns the statistics of this lock as array of {@code [acquires, waits, drop requests,
+     * hand-offs]}.
+     */
+    @TruffleBoundary
+    public long[] getStatistics() {
+        mutex.lock();
+        try {
+            return new long[]{acquireCount, waitCount, dropRequestCount, handOffCount};
+        } finally {
+            mutex.unlock();
+        }
+    }
+}
@@ -47,6 +47,8 @@ import static com.oracle.graal.python.runtime.PosixConstants.AF_UNSPEC;
 import static com.oracle.graal.python.runtime.PosixConstants.HOST_NAME_MAX;
 import static com.oracle.graal.python.runtime.PosixConstants.INET6_ADDRSTRLEN;
 import static com.oracle.graal.python.runtime.PosixConstants.INET_ADDRSTRLEN;
+import static com.oracle.graal.python.runtime.PosixConstants.LOCK_NB;
+import static com.oracle.graal.python.runtime.PosixConstants.LOCK_UN;
 import static com.oracle.graal.python.runtime.PosixConstants.L_ctermid;
 import static com.oracle.graal.python.runtime.PosixConstants.NI_MAXHOST;
 import static com.oracle.graal.python.runtime.PosixConstants.NI_MAXSERV;
@@ -54,6 +56,7 @@ import static com.oracle.graal.python.runtime.PosixConstants.PATH_MAX;
 import static com.oracle.graal.python.runtime.PosixConstants.SIZEOF_STRUCT_SOCKADDR_IN;
 import static com.oracle.graal.python.runtime.PosixConstants.SIZEOF_STRUCT_SOCKADDR_IN6;
 import static com.oracle.graal.python.runtime.PosixConstants.SIZEOF_STRUCT_SOCKADDR_STORAGE;
+import static com.oracle.graal.python.runtime.PosixConstants.WNOHANG;
 import static com.oracle.graal.python.runtime.PosixConstants._POSIX_HOST_NAME_MAX;
 import static com.oracle.truffle.api.CompilerDirectives.SLOWPATH_PROBABILITY;
 import static com.oracle.truffle.api.CompilerDirectives.injectBranchProbability;
@@ -153,16 +156,23 @@ public final class NFIPosixSupport extends PosixSupport {
         call_umask("(sint32):sint32"),
         call_openat("(sint32, [sint8], sint32, sint32):sint32"),
         call_close("(sint32):sint32"),
-        call_read("(sint32, [sint8], uint64):sint64"),
-        call_write("(sint32, [sint8], uint64):sint64"),
+        call_read("(sint32, [sint8], uint64):sint64", true),
+        call_write("(sint32, [sint8], uint64):sint64", true),
+        call_pread("(sint32, [sint8], uint64, sint64):sint64", true),
+        call_pwrite("(sint32, [sint8], uint64, sint64):sint64", true),
+        call_sendfile("(sint32, sint32, sint64, uint64):sint64", true),
         call_dup("(sint32):sint32"),
         call_dup2("(sint32, sint32, sint32):sint32"),
         call_pipe2("([sint32]):sint32"),
-        call_select("(sint32, [sint32], sint32, [sint32], sint32, [sint32], sint32, sint64, sint64, [sint8]):sint32"),
+        call_select("(sint32, [sint32], sint32, [sint32], sint32, [sint32], sint32, sint64, sint64, [sint8]):sint32", true),
+        call_poll("([sint32], [sint32], [sint32], sint32, sint32):sint32", true),
+        call_epoll_create("():sint32"),
+        call_epoll_ctl("(sint32, sint32, sint32, sint32):sint32"),
+        call_epoll_wait("(sint32, [sint32], [sint32], sint32, sint32):sint32", true),
         call_lseek("(sint32, sint64, sint32):sint64"),
         call_ftruncate("(sint32, sint64):sint32"),
-        call_fsync("(sint32):sint32"),
-        call_flock("(sint32, sint32):sint32"),
+        call_fsync("(sint32):sint32", true),
+        call_flock("(sint32, sint32):sint32", true),
         call_fstatat("(sint32, [sint8], sint32, [sint64]):sint32"),
         call_fstat("(sint32, [sint64]):sint32"),
         call_uname("([sint8], [sint8], [sint8], [sint8], [sint8], sint32):sint32"),
@@ -193,7 +203,7 @@ public final class NFIPosixSupport extends PosixSupport {
         set_blocking("(sint32, sint32):sint32"),
         get_terminal_size("(sint32, [sint32]):sint32"),
         call_kill("(sint64, sint32):sint32"),
-        call_waitpid("(sint64, [sint32], sint32):sint64"),
+        call_waitpid("(sint64, [sint32], sint32):sint64", true),
         call_wcoredump("(sint32):sint32"),
         call_wifcontinued("(sint32):sint32"),
         call_wifstopped("(sint32):sint32"),
@@ -209,19 +219,19 @@ public final class NFIPosixSupport extends PosixSupport {
         call_setenv("([sint8], [sint8], sint32):sint32"),
         fork_exec("([sint8], [sint64], sint32, sint32, sint32, sint32, sint32, sint32, sint32, sint32, sint32, sint32, sint32, sint32, sint32, sint32, sint32, [sint32], sint64):sint32"),
         call_execv("([sint8], [sint64], sint32):void"),
-        call_system("([sint8]):sint32"),
+        call_system("([sint8]):sint32", true),
 
         call_socket("(sint32, sint32, sint32):sint32"),
-        call_accept("(sint32, [sint8], [sint32]):sint32"),
+        call_accept("(sint32, [sint8], [sint32]):sint32", true),
         call_bind("(sint32, [sint8], sint32):sint32"),
-        call_connect("(sint32, [sint8], sint32):sint32"),
+        call_connect("(sint32, [sint8], sint32):sint32", true),
         call_listen("(sint32, sint32):sint32"),
         call_getpeername("(sint32, [sint8], [sint32]):sint32"),
         call_getsockname("(sint32, [sint8], [sint32]):sint32"),
-        call_send("(sint32, [sint8], sint32, sint32):sint32"),
-        call_sendto("(sint32, [sint8], sint32, sint32, [sint8], sint32):sint32"),
-        call_recv("(sint32, [sint8], sint32, sint32):sint32"),
-        call_recvfrom("(sint32, [sint8], sint32, sint32, [sint8], [sint32]):sint32"),
+        call_send("(sint32, [sint8], sint32, sint32):sint32", true),
+        call_sendto("(sint32, [sint8], sint32, sint32, [sint8], sint32):sint32", true),
+        call_recv("(sint32, [sint8], sint32, sint32):sint32", true),
+        call_recvfrom("(sint32, [sint8], sint32, sint32, [sint8], [sint32]):sint32", true),
         call_shutdown("(sint32, sint32): sint32"),
         call_getsockopt("(sint32, sint32, sint32, [sint8], [sint32]):sint32"),
         call_setsockopt("(sint32, sint32, sint32, [sint8], sint32):sint32"),
@@ -248,24 +258,37 @@ public final class NFIPosixSupport extends PosixSupport {
 
         private final String signature;
 
+        /**
+         * Functions that may block indefinitely (on I/O, on a child process, on a lock...) are
+         * invoked without holding the GIL, so that other Python threads can run in the meantime.
+         */
+        private final boolean blocking;
+
         PosixNativeFunction(String signature) {
+            this(signature, false);
+        }
+
+        PosixNativeFunction(String signature, boolean blocking) {
             this.signature = signature;
+            this.blocking = blocking;
         }
     }
 
     protected static final class InvokeNativeFunction extends Node {
-        private static final InvokeNativeFunction UNCACHED = new InvokeNativeFunction(InteropLibrary.getUncached(), InteropLibrary.getUncached());
+        private static final InvokeNativeFunction UNCACHED = new InvokeNativeFunction(InteropLibrary.getUncached(), InteropLibrary.getUncached(), GilNode.getUncached());
 
         @Child private InteropLibrary functionInterop;
         @Child private InteropLibrary resultInterop;
+        @Child private GilNode gil;
 
-        public InvokeNativeFunction(InteropLibrary functionInterop, InteropLibrary resultInterop) {
+        public InvokeNativeFunction(InteropLibrary functionInterop, InteropLibrary resultInterop, GilNode gil) {
             this.functionInterop = functionInterop;
             this.resultInterop = resultInterop;
+            this.gil = gil;
         }
 
         public static InvokeNativeFunction create() {
-            return new InvokeNativeFunction(InteropLibrary.getFactory().createDispatched(2), null);
+            return new InvokeNativeFunction(InteropLibrary.getFactory().createDispatched(2), null, null);
         }
 
         public static InvokeNativeFunction getUncached() {
@@ -273,6 +296,20 @@ public final class NFIPosixSupport extends PosixSupport {
         }
 
         public Object call(NFIPosixSupport posix, PosixNativeFunction function, Object... args) {
+            return invoke(posix, function, function.blocking, args);
+        }
+
+        /**
+         * Like {@link #call}, but never releases the GIL, not even for
+         * {@link PosixNativeFunction#blocking blocking} functions. Callers use this when they know
+         * from the arguments that the call returns immediately (e.g. {@code WNOHANG} or a zero
+         * timeout), in which case giving up the GIL would only cost a thread switch.
+         */
+        public Object callNonBlocking(NFIPosixSupport posix, PosixNativeFunction function, Object... args) {
+            return invoke(posix, function, false, args);
+        }
+
+        private Object invoke(NFIPosixSupport posix, PosixNativeFunction function, boolean releaseGil, Object[] args) {
             if (injectBranchProbability(SLOWPATH_PROBABILITY, posix.nfiLibrary == null)) {
                 loadLibrary(posix);
             }
@@ -281,12 +318,41 @@ public final class NFIPosixSupport extends PosixSupport {
             }
             Object funObject = posix.cachedFunctions.get(function.ordinal());
             try {
+                if (releaseGil) {
+                    return executeWithoutGil(posix, funObject, args);
+                }
                 return functionInterop.execute(funObject, args);
             } catch (UnsupportedTypeException | ArityException | UnsupportedMessageException e) {
                 throw CompilerDirectives.shouldNotReachHere(e);
             }
         }
 
+        private Object executeWithoutGil(NFIPosixSupport posix, Object funObject, Object[] args) throws UnsupportedTypeException, ArityException, UnsupportedMessageException {
+            GilNode gilNode = getGil();
+            if (!gilNode.releaseIfOwned()) {
+                // the caller already released the GIL (or there is none)
+                return functionInterop.execute(funObject, args);
+            }
+            Object result;
+            int errno = 0;
+            boolean failed = false;
+            try {
+                result = functionInterop.execute(funObject, args);
+                // all blocking functions signal errors with a negative result; re-acquiring the
+                // GIL may park this thread, which can clobber errno, so save it now
+                if (getResultInterop().fitsInLong(result) && getResultInterop().asLong(result) < 0) {
+                    failed = true;
+                    errno = getResultInterop().asInt(invoke(posix, PosixNativeFunction.get_errno, false, PythonUtils.EMPTY_OBJECT_ARRAY));
+                }
+            } finally {
+                gilNode.acquire();
+            }
+            if (failed) {
+                invoke(posix, PosixNativeFunction.set_errno, false, new Object[]{errno});
+            }
+            return result;
+        }
+
         public long callLong(NFIPosixSupport posix, PosixNativeFunction function, Object... args) {
             try {
                 return getResultInterop().asLong(call(posix, function, args));
@@ -295,6 +361,14 @@ public final class NFIPosixSupport extends PosixSupport {
             }
         }
 
+        public long callLongNonBlocking(NFIPosixSupport posix, PosixNativeFunction function, Object... args) {
+            try {
+                return getResultInterop().asLong(callNonBlocking(posix, function, args));
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
         public int callInt(NFIPosixSupport posix, PosixNativeFunction function, Object... args) {
             try {
                 return getResultInterop().asInt(call(posix, function, args));
@@ -303,6 +377,14 @@ public final class NFIPosixSupport extends PosixSupport {
             }
         }
 
+        public int callIntNonBlocking(NFIPosixSupport posix, PosixNativeFunction function, Object... args) {
+            try {
+                return getResultInterop().asInt(callNonBlocking(posix, function, args));
+            } catch (UnsupportedMessageException e) {
+                throw CompilerDirectives.shouldNotReachHere(e);
+            }
+        }
+
         public byte callByte(NFIPosixSupport posix, PosixNativeFunction function, Object... args) {
             try {
                 return getResultInterop().asByte(call(posix, function, args));
@@ -373,6 +455,14 @@ public final class NFIPosixSupport extends PosixSupport {
             }
             return resultInterop;
         }
+
+        private GilNode getGil() {
+            if (gil == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                gil = insert(GilNode.create());
+            }
+            return gil;
+        }
     }
 
     private final PythonContext context;
@@ -474,6 +564,24 @@ public final class NFIPosixSupport extends PosixSupport {
         return buffer.withLength(n);
     }
 
+    @ExportMessage
+    public long readInto(int fd, byte[] buf, int offset, long length,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        if (offset != 0) {
+            // NFI can only pass whole arrays, so read into a temporary one
+            Buffer buffer = read(fd, length, invokeNode);
+            PythonUtils.arraycopy(buffer.data, 0, buf, offset, (int) buffer.length);
+            return buffer.length;
+        }
+        long count = Math.min(Math.min(length, buf.length), MAX_READ);
+        setErrno(invokeNode, 0);        // TODO CPython does this, but do we need it?
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_read, fd, wrap(buf), count);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
     @ExportMessage
     public long write(int fd, Buffer data,
                     @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
@@ -485,6 +593,96 @@ public final class NFIPosixSupport extends PosixSupport {
         return n;
     }
 
+    @ExportMessage
+    public Buffer pread(int fd, long length, long offset,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        long count = Math.min(length, MAX_READ);
+        Buffer buffer = Buffer.allocate(count);
+        setErrno(invokeNode, 0);
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_pread, fd, wrap(buffer), count, offset);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return buffer.withLength(n);
+    }
+
+    @ExportMessage
+    public long pwrite(int fd, Buffer data, long offset,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        setErrno(invokeNode, 0);
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_pwrite, fd, wrap(data), data.length, offset);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
+    @ExportMessage
+    public long readv(int fd, Buffer[] buffers,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        // NFI cannot pass an array of arrays, so we issue a single read(2) into a temporary array
+        // and scatter it afterwards; this keeps the atomicity of readv(2)
+        long total = 0;
+        for (Buffer b : buffers) {
+            total += b.length;
+        }
+        long count = Math.min(total, MAX_READ);
+        Buffer tmp = Buffer.allocate(count);
+        setErrno(invokeNode, 0);
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_read, fd, wrap(tmp), count);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        scatter(tmp.data, (int) n, buffers);
+        return n;
+    }
+
+    @ExportMessage
+    public long writev(int fd, Buffer[] buffers,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        // see readv
+        Buffer tmp = gather(buffers);
+        setErrno(invokeNode, 0);
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_write, fd, wrap(tmp), tmp.length);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
+    private static void scatter(byte[] src, int length, Buffer[] buffers) {
+        int pos = 0;
+        for (int i = 0; i < buffers.length && pos < length; i++) {
+            int len = Math.min((int) buffers[i].length, length - pos);
+            PythonUtils.arraycopy(src, pos, buffers[i].data, 0, len);
+            pos += len;
+        }
+    }
+
+    private static Buffer gather(Buffer[] buffers) {
+        long total = 0;
+        for (Buffer b : buffers) {
+            total += b.length;
+        }
+        Buffer result = Buffer.allocate(total);
+        int pos = 0;
+        for (Buffer b : buffers) {
+            PythonUtils.arraycopy(b.data, 0, result.data, pos, (int) b.length);
+            pos += (int) b.length;
+        }
+        return result.withLength(total);
+    }
+
+    @ExportMessage
+    public long sendfile(int outFd, int inFd, long offset, long count,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        long n = invokeNode.callLong(this, PosixNativeFunction.call_sendfile, outFd, inFd, offset, count);
+        if (n < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return n;
+    }
+
     @ExportMessage
     public int dup(int fd,
                     @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
@@ -548,11 +746,18 @@ public final class NFIPosixSupport extends PosixSupport {
             secs = timeout.getSeconds();
             usecs = timeout.getMicroseconds();
         }
-        int result = invokeNode.callInt(this, PosixNativeFunction.call_select, nfds,
+        Object[] args = {nfds,
                         wrap(readfds), readfds.length,
                         wrap(writefds), writefds.length,
                         wrap(errorfds), errorfds.length,
-                        secs, usecs, wrap(selected));
+                        secs, usecs, wrap(selected)};
+        int result;
+        if (secs == 0 && usecs == 0) {
+            // polling, no need to give up the GIL
+            result = invokeNode.callIntNonBlocking(this, PosixNativeFunction.call_select, args);
+        } else {
+            result = invokeNode.callInt(this, PosixNativeFunction.call_select, args);
+        }
         if (result < 0) {
             throw getErrnoAndThrowPosixException(invokeNode);
         }
@@ -563,6 +768,57 @@ public final class NFIPosixSupport extends PosixSupport {
 
     }
 
+    @ExportMessage
+    public int poll(int[] fds, int[] events, int[] revents, int timeoutMs,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        Object[] args = {wrap(fds), wrap(events), wrap(revents), fds.length, timeoutMs};
+        int result;
+        if (timeoutMs == 0) {
+            result = invokeNode.callIntNonBlocking(this, PosixNativeFunction.call_poll, args);
+        } else {
+            result = invokeNode.callInt(this, PosixNativeFunction.call_poll, args);
+        }
+        if (result < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return result;
+    }
+
+    @ExportMessage
+    public int epollCreate(
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        int epfd = invokeNode.callInt(this, PosixNativeFunction.call_epoll_create);
+        if (epfd < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return epfd;
+    }
+
+    @ExportMessage
+    public void epollCtl(int epfd, int op, int fd, int events,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        int res = invokeNode.callInt(this, PosixNativeFunction.call_epoll_ctl, epfd, op, fd, events);
+        if (res < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+    }
+
+    @ExportMessage
+    public int epollWait(int epfd, int[] fds, int[] events, int timeoutMs,
+                    @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
+        Object[] args = {epfd, wrap(fds), wrap(events), fds.length, timeoutMs};
+        int result;
+        if (timeoutMs == 0) {
+            result = invokeNode.callIntNonBlocking(this, PosixNativeFunction.call_epoll_wait, args);
+        } else {
+            result = invokeNode.callInt(this, PosixNativeFunction.call_epoll_wait, args);
+        }
+        if (result < 0) {
+            throw getErrnoAndThrowPosixException(invokeNode);
+        }
+        return result;
+    }
+
     private static boolean[] selectFillInResult(int[] fds, byte[] selected, int selectedOffset) {
         boolean[] res = new boolean[fds.length];
         for (int i = 0; i < fds.length; i++) {
@@ -617,7 +873,12 @@ public final class NFIPosixSupport extends PosixSupport {
     @ExportMessage
     final void flock(int fd, int operation,
                     @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
-        int res = invokeNode.callInt(this, PosixNativeFunction.call_flock, fd, operation);
+        int res;
+        if ((operation & (LOCK_NB.value | LOCK_UN.value)) != 0) {
+            res = invokeNode.callIntNonBlocking(this, PosixNativeFunction.call_flock, fd, operation);
+        } else {
+            res = invokeNode.callInt(this, PosixNativeFunction.call_flock, fd, operation);
+        }
         if (res != 0) {
             throw getErrnoAndThrowPosixException(invokeNode);
         }
@@ -988,7 +1249,12 @@ public final class NFIPosixSupport extends PosixSupport {
     public long[] waitpid(long pid, int options,
                     @Shared("invoke") @Cached InvokeNativeFunction invokeNode) throws PosixException {
         int[] status = new int[1];
-        long res = invokeNode.callLong(this, PosixNativeFunction.call_waitpid, pid, wrap(status), options);
+        long res;
+        if ((options & WNOHANG.value) != 0) {
+            res = invokeNode.callLongNonBlocking(this, PosixNativeFunction.call_waitpid, pid, wrap(status), options);
+        } else {
+            res = invokeNode.callLong(this, PosixNativeFunction.call_waitpid, pid, wrap(status), options);
+        }
         if (res < 0) {
             throw getErrnoAndThrowPosixException(invokeNode);
         }
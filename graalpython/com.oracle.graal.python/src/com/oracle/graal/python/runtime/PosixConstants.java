@@ -70,6 +70,10 @@ public final class PosixConstants {
     public static final MandatoryIntConstant SEEK_END;
     public static final OptionalIntConstant SEEK_DATA;
     public static final OptionalIntConstant SEEK_HOLE;
+    public static final OptionalIntConstant EPOLL_CTL_ADD;
+    public static final OptionalIntConstant EPOLL_CTL_MOD;
+    public static final OptionalIntConstant EPOLL_CTL_DEL;
+    public static final OptionalIntConstant EPOLL_CLOEXEC;
     public static final MandatoryIntConstant O_ACCMODE;
     public static final MandatoryIntConstant O_RDONLY;
     public static final MandatoryIntConstant O_WRONLY;
@@ -242,6 +246,32 @@ public final class PosixConstants {
     public static final OptionalIntConstant TCP_CONGESTION;
     public static final OptionalIntConstant TCP_USER_TIMEOUT;
     public static final OptionalIntConstant TCP_NOTSENT_LOWAT;
+    public static final MandatoryIntConstant POLLIN;
+    public static final MandatoryIntConstant POLLPRI;
+    public static final MandatoryIntConstant POLLOUT;
+    public static final MandatoryIntConstant POLLERR;
+    public static final MandatoryIntConstant POLLHUP;
+    public static final MandatoryIntConstant POLLNVAL;
+    public static final OptionalIntConstant POLLRDNORM;
+    public static final OptionalIntConstant POLLRDBAND;
+    public static final OptionalIntConstant POLLWRNORM;
+    public static final OptionalIntConstant POLLWRBAND;
+    public static final OptionalIntConstant POLLMSG;
+    public static final OptionalIntConstant POLLRDHUP;
+    public static final OptionalIntConstant EPOLLIN;
+    public static final OptionalIntConstant EPOLLPRI;
+    public static final OptionalIntConstant EPOLLOUT;
+    public static final OptionalIntConstant EPOLLERR;
+    public static final OptionalIntConstant EPOLLHUP;
+    public static final OptionalIntConstant EPOLLRDHUP;
+    public static final OptionalIntConstant EPOLLET;
+    public static final OptionalIntConstant EPOLLONESHOT;
+    public static final OptionalIntConstant EPOLLEXCLUSIVE;
+    public static final OptionalIntConstant EPOLLRDNORM;
+    public static final OptionalIntConstant EPOLLRDBAND;
+    public static final OptionalIntConstant EPOLLWRNORM;
+    public static final OptionalIntConstant EPOLLWRBAND;
+    public static final OptionalIntConstant EPOLLMSG;
     public static final MandatoryIntConstant SIZEOF_STRUCT_SOCKADDR_STORAGE;
     public static final MandatoryIntConstant SIZEOF_STRUCT_SOCKADDR_IN;
     public static final MandatoryIntConstant OFFSETOF_STRUCT_SOCKADDR_IN_SIN_FAMILY;
@@ -271,6 +301,8 @@ public final class PosixConstants {
     public static final IntConstant[] shutdownHow;
     public static final IntConstant[] socketOptions;
     public static final IntConstant[] tcpOptions;
+    public static final IntConstant[] pollEvents;
+    public static final IntConstant[] epollEvents;
 
     static {
         Registry reg = Registry.create();
@@ -292,6 +324,10 @@ public final class PosixConstants {
         SEEK_END = reg.createMandatoryInt("SEEK_END");
         SEEK_DATA = reg.createOptionalInt("SEEK_DATA");
         SEEK_HOLE = reg.createOptionalInt("SEEK_HOLE");
+        EPOLL_CTL_ADD = reg.createOptionalInt("EPOLL_CTL_ADD");
+        EPOLL_CTL_MOD = reg.createOptionalInt("EPOLL_CTL_MOD");
+        EPOLL_CTL_DEL = reg.createOptionalInt("EPOLL_CTL_DEL");
+        EPOLL_CLOEXEC = reg.createOptionalInt("EPOLL_CLOEXEC");
         O_ACCMODE = reg.createMandatoryInt("O_ACCMODE");
         O_RDONLY = reg.createMandatoryInt("O_RDONLY");
         O_WRONLY = reg.createMandatoryInt("O_WRONLY");
@@ -464,6 +500,32 @@ public final class PosixConstants {
         TCP_CONGESTION = reg.createOptionalInt("TCP_CONGESTION");
         TCP_USER_TIMEOUT = reg.createOptionalInt("TCP_USER_TIMEOUT");
         TCP_NOTSENT_LOWAT = reg.createOptionalInt("TCP_NOTSENT_LOWAT");
+        POLLIN = reg.createMandatoryInt("POLLIN");
+        POLLPRI = reg.createMandatoryInt("POLLPRI");
+        POLLOUT = reg.createMandatoryInt("POLLOUT");
+        POLLERR = reg.createMandatoryInt("POLLERR");
+        POLLHUP = reg.createMandatoryInt("POLLHUP");
+        POLLNVAL = reg.createMandatoryInt("POLLNVAL");
+        POLLRDNORM = reg.createOptionalInt("POLLRDNORM");
+        POLLRDBAND = reg.createOptionalInt("POLLRDBAND");
+        POLLWRNORM = reg.createOptionalInt("POLLWRNORM");
+        POLLWRBAND = reg.createOptionalInt("POLLWRBAND");
+        POLLMSG = reg.createOptionalInt("POLLMSG");
+        POLLRDHUP = reg.createOptionalInt("POLLRDHUP");
+        EPOLLIN = reg.createOptionalInt("EPOLLIN");
+        EPOLLPRI = reg.createOptionalInt("EPOLLPRI");
+        EPOLLOUT = reg.createOptionalInt("EPOLLOUT");
+        EPOLLERR = reg.createOptionalInt("EPOLLERR");
+        EPOLLHUP = reg.createOptionalInt("EPOLLHUP");
+        EPOLLRDHUP = reg.createOptionalInt("EPOLLRDHUP");
+        EPOLLET = reg.createOptionalInt("EPOLLET");
+        EPOLLONESHOT = reg.createOptionalInt("EPOLLONESHOT");
+        EPOLLEXCLUSIVE = reg.createOptionalInt("EPOLLEXCLUSIVE");
+        EPOLLRDNORM = reg.createOptionalInt("EPOLLRDNORM");
+        EPOLLRDBAND = reg.createOptionalInt("EPOLLRDBAND");
+        EPOLLWRNORM = reg.createOptionalInt("EPOLLWRNORM");
+        EPOLLWRBAND = reg.createOptionalInt("EPOLLWRBAND");
+        EPOLLMSG = reg.createOptionalInt("EPOLLMSG");
         SIZEOF_STRUCT_SOCKADDR_STORAGE = reg.createMandatoryInt("SIZEOF_STRUCT_SOCKADDR_STORAGE");
         SIZEOF_STRUCT_SOCKADDR_IN = reg.createMandatoryInt("SIZEOF_STRUCT_SOCKADDR_IN");
         OFFSETOF_STRUCT_SOCKADDR_IN_SIN_FAMILY = reg.createMandatoryInt("OFFSETOF_STRUCT_SOCKADDR_IN_SIN_FAMILY");
@@ -498,6 +560,9 @@ public final class PosixConstants {
                         SO_PRIORITY, SO_MARK, SO_DOMAIN, SO_PROTOCOL};
         tcpOptions = new IntConstant[]{TCP_NODELAY, TCP_MAXSEG, TCP_CORK, TCP_KEEPIDLE, TCP_KEEPINTVL, TCP_KEEPCNT, TCP_SYNCNT, TCP_LINGER2, TCP_DEFER_ACCEPT, TCP_WINDOW_CLAMP, TCP_INFO, TCP_QUICKACK,
                         TCP_FASTOPEN, TCP_CONGESTION, TCP_USER_TIMEOUT, TCP_NOTSENT_LOWAT};
+        pollEvents = new IntConstant[]{POLLIN, POLLPRI, POLLOUT, POLLERR, POLLHUP, POLLNVAL, POLLRDNORM, POLLRDBAND, POLLWRNORM, POLLWRBAND, POLLMSG, POLLRDHUP};
+        epollEvents = new IntConstant[]{EPOLLIN, EPOLLPRI, EPOLLOUT, EPOLLERR, EPOLLHUP, EPOLLRDHUP, EPOLLET, EPOLLONESHOT, EPOLLEXCLUSIVE, EPOLLRDNORM, EPOLLRDBAND, EPOLLWRNORM, EPOLLWRBAND,
+                        EPOLLMSG};
     }
     // end generated by gen_native_cfg.py
     // @formatter:on
@@ -346,31 +346,33 @@ public class PosixResources extends PosixSupport {
     @TruffleBoundary
     public int openSocket(PSocket socket) {
         synchronized (files) {
-            int fd;
-            if (!useNfiForSocketFd) {
-                // using emulated backend
-                fd = nextFreeFd();
-            } else {
-                // using nfi backend
-                try {
-                    Object posixSupport = context.getPosixSupport();
-                    PosixSupportLibrary posixLib = PosixSupportLibrary.getUncached();
-                    if (nativeFdForSockets == -1) {
-                        int[] fds = posixLib.pipe(posixSupport);
-                        nativeFdForSockets = fds[0];
-                        fd = fds[1];
-                    } else {
-                        fd = posixLib.dup(posixSupport, nativeFdForSockets);
-                    }
-                } catch (PosixException e) {
-                    throw CompilerDirectives.shouldNotReachHere("Unable to assign native fd to a socket", e);
-                }
-            }
+            int fd = nextEmulatedFd();
             addFD(fd, socket);
             return fd;
         }
     }
 
+    private int nextEmulatedFd() {
+        if (!useNfiForSocketFd) {
+            // using emulated backend
+            return nextFreeFd();
+        }
+        // using nfi backend
+        try {
+            Object posixSupport = context.getPosixSupport();
+            PosixSupportLibrary posixLib = PosixSupportLibrary.getUncached();
+            if (nativeFdForSockets == -1) {
+                int[] fds = posixLib.pipe(posixSupport);
+                nativeFdForSockets = fds[0];
+                return fds[1];
+            } else {
+                return posixLib.dup(posixSupport, nativeFdForSockets);
+            }
+        } catch (PosixException e) {
+            throw CompilerDirectives.shouldNotReachHere("Unable to assign native fd to a socket", e);
+        }
+    }
+
     @TruffleBoundary
     public void closeSocket(PSocket socket) {
         int fd = socket.getFileno();
@@ -419,6 +421,32 @@ public class PosixResources extends PosixSupport {
         }
     }
 
+    /**
+     * Registers a channel that is not backed by a file, e.g. an emulated epoll instance. Like for
+     * sockets, a native fd is reserved for the channel when running with the NFI backend, it must
+     * be released using {@link #closeChannel(int)}.
+     */
+    @TruffleBoundary
+    protected int openChannel(Channel channel) {
+        synchronized (files) {
+            int fd = nextEmulatedFd();
+            addFD(fd, channel);
+            return fd;
+        }
+    }
+
+    @TruffleBoundary
+    public void closeChannel(int fd) {
+        close(fd);
+        if (useNfiForSocketFd) {
+            try {
+                PosixSupportLibrary.getUncached().close(context.getPosixSupport(), fd);
+            } catch (PosixException e) {
+                throw CompilerDirectives.shouldNotReachHere("Unable to close native fd", e);
+            }
+        }
+    }
+
     @TruffleBoundary
     public int dup(int fd) {
         synchronized (files) {
@@ -91,8 +91,45 @@ public abstract class PosixSupportLibrary extends Library {
 
     public abstract Buffer read(Object receiver, int fd, long length) throws PosixException;
 
+    /**
+     * Like {@link #read(Object, int, long)}, but stores the data in {@code buf[offset:offset +
+     * length]} instead of a new buffer and returns the number of bytes read.
+     */
+    public abstract long readInto(Object receiver, int fd, byte[] buf, int offset, long length) throws PosixException;
+
     public abstract long write(Object receiver, int fd, Buffer data) throws PosixException;
 
+    /**
+     * Reads at most {@code length} bytes starting at file offset {@code offset}. The file position
+     * of {@code fd} is left unchanged, so concurrent callers can share one descriptor.
+     */
+    public abstract Buffer pread(Object receiver, int fd, long length, long offset) throws PosixException;
+
+    /**
+     * Writes {@code data} at file offset {@code offset} without changing the file position of
+     * {@code fd}.
+     */
+    public abstract long pwrite(Object receiver, int fd, Buffer data, long offset) throws PosixException;
+
+    /**
+     * Scatter read: fills {@code buffers[i].data[0:buffers[i].length]} in order, moving to the next
+     * buffer only when the previous one is full. Returns the total number of bytes read.
+     */
+    public abstract long readv(Object receiver, int fd, Buffer[] buffers) throws PosixException;
+
+    /**
+     * Gather write: writes the buffers in order as if they were concatenated. Returns the total
+     * number of bytes written.
+     */
+    public abstract long writev(Object receiver, int fd, Buffer[] buffers) throws PosixException;
+
+    /**
+     * Copies up to {@code count} bytes from {@code inFd} starting at {@code offset} to
+     * {@code outFd}. If {@code offset} is negative, the current file position of {@code inFd} is
+     * used and advanced instead.
+     */
+    public abstract long sendfile(Object receiver, int outFd, int inFd, long offset, long count) throws PosixException;
+
     public abstract int dup(Object receiver, int fd) throws PosixException;
 
     public abstract int dup2(Object receiver, int fd, int fd2, boolean inheritable) throws PosixException;
@@ -105,6 +142,31 @@ public abstract class PosixSupportLibrary extends Library {
 
     public abstract SelectResult select(Object receiver, int[] readfds, int[] writefds, int[] errorfds, Timeval timeout) throws PosixException;
 
+    /**
+     * Equivalent of {@code poll(2)}. The requested event masks are given in {@code events}, the
+     * returned ones are stored in {@code revents}. A negative {@code timeoutMs} waits
+     * indefinitely.
+     *
+     * @return the number of file descriptors with non-zero {@code revents}
+     */
+    public abstract int poll(Object receiver, int[] fds, int[] events, int[] revents, int timeoutMs) throws PosixException;
+
+    /**
+     * Creates an epoll instance with {@code O_CLOEXEC} set and returns its file descriptor, which
+     * is released using {@link #close}.
+     */
+    public abstract int epollCreate(Object receiver) throws PosixException;
+
+    public abstract void epollCtl(Object receiver, int epfd, int op, int fd, int events) throws PosixException;
+
+    /**
+     * Waits for events on an epoll instance. At most {@code fds.length} ready file descriptors are
+     * stored in {@code fds}, their events in the corresponding elements of {@code events}.
+     *
+     * @return the number of ready file descriptors
+     */
+    public abstract int epollWait(Object receiver, int epfd, int[] fds, int[] events, int timeoutMs) throws PosixException;
+
     public abstract long lseek(Object receiver, int fd, long offset, int how) throws PosixException;
 
     public abstract void ftruncate(Object receiver, int fd, long length) throws PosixException;
@@ -59,6 +59,7 @@ import org.graalvm.options.OptionKey;
 import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.Python3Core;
 import com.oracle.graal.python.builtins.modules.GraalPythonModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.decimal.PDecimalContext;
 import com.oracle.graal.python.builtins.objects.PNone;
 import com.oracle.graal.python.builtins.objects.PythonAbstractObject;
 import com.oracle.graal.python.builtins.objects.PythonAbstractObjectFactory.PInteropGetAttributeNodeGen;
@@ -129,6 +130,9 @@ public final class PythonContext {
     public static final class PythonThreadState {
         private boolean shuttingDown = false;
 
+        /* the thread this state belongs to, see PythonContext#getThreadState */
+        final Thread owner;
+
         /*
          * The reference to the last top frame on the Python stack during interop calls. Initially,
          * this is EMPTY representing the top frame.
@@ -157,12 +161,19 @@ public final class PythonContext {
          */
         PThreadState nativeWrapper;
 
+        /* set while this thread runs async actions, see AsyncHandler#processAsyncActions */
+        boolean processingAsyncActions;
+
+        /* the current context of the decimal module, created on first use */
+        PDecimalContext decimalContext;
+
         /*
          * The constructor needs to have this particular signature such that we can use it for
          * ContextThreadLocal.
          */
         @SuppressWarnings("unused")
         public PythonThreadState(PythonContext context, Thread owner) {
+            this.owner = owner;
         }
 
         void shutdown() {
@@ -218,6 +229,22 @@ public final class PythonContext {
             this.nativeWrapper = nativeWrapper;
         }
 
+        boolean isProcessingAsyncActions() {
+            return processingAsyncActions;
+        }
+
+        void setProcessingAsyncActions(boolean processingAsyncActions) {
+            this.processingAsyncActions = processingAsyncActions;
+        }
+
+        public PDecimalContext getDecimalContext() {
+            return decimalContext;
+        }
+
+        public void setDecimalContext(PDecimalContext decimalContext) {
+            this.decimalContext = decimalContext;
+        }
+
         public void dispose() {
             // This method may be called twice on the same object.
             ReleaseHandleNode releaseHandleNode = ReleaseHandleNodeGen.getUncached();
@@ -260,6 +287,12 @@ public final class PythonContext {
     private final Python3Core core;
     private final List<ShutdownHook> shutdownHooks = new ArrayList<>();
     private final List<AtExitHook> atExitHooks = new ArrayList<>();
+
+    /* see captureSnapshot and resetToSnapshot; guarded by the GIL */
+    private ContextSnapshot snapshot;
+    private long resetCount;
+    private long resetTotalNanos;
+    private long resetMaxNanos;
     private final HashMap<PythonNativeClass, CyclicAssumption> nativeClassStableAssumptions = new HashMap<>();
     private final ThreadGroup threadGroup = new ThreadGroup(GRAALPYTHON_THREADS);
     private final IDUtils idUtils = new IDUtils();
@@ -278,6 +311,13 @@ public final class PythonContext {
     /* for fast access to the PythonThreadState object by the owning thread */
     private final ContextThreadLocal<PythonThreadState> threadState;
 
+    /*
+     * The thread state of the first thread attached to this context. As long as the language is
+     * single-threaded, it is used instead of the context thread local such that compiled code does
+     * not need to do a thread-local lookup.
+     */
+    private PythonThreadState firstThreadState;
+
     /* map of thread IDs to the corresponding 'threadStates' */
     private final Map<Thread, PythonThreadState> threadStateMapping = Collections.synchronizedMap(new WeakHashMap<>());
 
@@ -297,7 +337,9 @@ public final class PythonContext {
 
     private static final Assumption singleNativeContext = Truffle.getRuntime().createAssumption("single native context assumption");
 
-    private final ReentrantLock globalInterpreterLock = new ReentrantLock();
+    private final GlobalInterpreterLock globalInterpreterLock;
+    /** @see PythonOptions#IsolatedThreadContexts */
+    private final boolean gilFree;
 
     /** Native wrappers for context-insensitive singletons like {@link PNone#NONE}. */
     @CompilationFinal(dimensions = 1) private final PythonNativeWrapper[] singletonNativePtrs = new PythonNativeWrapper[PythonLanguage.getNumberOfSpecialSingletons()];
@@ -336,6 +378,8 @@ public final class PythonContext {
         this.core = core;
         this.env = env;
         this.handler = new AsyncHandler(this);
+        this.globalInterpreterLock = new GlobalInterpreterLock(handler::requestGilDrop);
+        this.gilFree = env.getOptions().get(PythonOptions.IsolatedThreadContexts);
         this.sharedFinalizer = new AsyncHandler.SharedFinalizer(this);
         this.optionValues = PythonOptions.createOptionValuesStorage(env);
         this.in = env.in();
@@ -477,6 +521,14 @@ public final class PythonContext {
         getThreadState().currentException = e;
     }
 
+    /**
+     * Like {@link #setCurrentException(PException)}, but uses the thread state passed along the call
+     * path if it is valid (see {@link #getThreadState(PythonThreadState)}).
+     */
+    public void setCurrentException(PythonThreadState fromCaller, PException e) {
+        getThreadState(fromCaller).currentException = e;
+    }
+
     public PException getCurrentException() {
         return getThreadState().currentException;
     }
@@ -485,14 +537,26 @@ public final class PythonContext {
         getThreadState().caughtException = e;
     }
 
+    public void setCaughtException(PythonThreadState fromCaller, PException e) {
+        getThreadState(fromCaller).caughtException = e;
+    }
+
     public PException getCaughtException() {
         return getThreadState().caughtException;
     }
 
+    public PException getCaughtException(PythonThreadState fromCaller) {
+        return getThreadState(fromCaller).caughtException;
+    }
+
     public void setTopFrameInfo(PFrame.Reference topframeref) {
         getThreadState().topframeref = topframeref;
     }
 
+    public void setTopFrameInfo(PythonThreadState fromCaller, PFrame.Reference topframeref) {
+        getThreadState(fromCaller).topframeref = topframeref;
+    }
+
     public PFrame.Reference popTopFrameInfo() {
         PythonThreadState ts = getThreadState();
         PFrame.Reference ref = ts.topframeref;
@@ -889,6 +953,48 @@ public final class PythonContext {
         return atExitHooks.size();
     }
 
+    void truncateAtexitHooks(int count) {
+        while (atExitHooks.size() > count) {
+            atExitHooks.remove(atExitHooks.size() - 1);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the current module state, replacing any previous one.
+     *
+     * @see ContextSnapshot
+     */
+    @TruffleBoundary
+    public void captureSnapshot() {
+        snapshot = ContextSnapshot.capture(this);
+    }
+
+    public boolean hasSnapshot() {
+        return snapshot != null;
+    }
+
+    /**
+     * Resets the module state to the last snapshot. Returns the time this took in nanoseconds.
+     */
+    @TruffleBoundary
+    public long resetToSnapshot() {
+        assert snapshot != null;
+        long start = System.nanoTime();
+        snapshot.restore(this);
+        long duration = System.nanoTime() - start;
+        resetCount++;
+        resetTotalNanos += duration;
+        resetMaxNanos = Math.max(resetMaxNanos, duration);
+        return duration;
+    }
+
+    /**
+     * Returns {@code [number of resets, total reset time (ns), maximal reset time (ns)]}.
+     */
+    public long[] getResetStatistics() {
+        return new long[]{resetCount, resetTotalNanos, resetMaxNanos};
+    }
+
     @TruffleBoundary
     public void runAtexitHooks() {
         // run atExitHooks in reverse order they were registered
@@ -1097,7 +1203,16 @@ public final class PythonContext {
     }
 
     boolean ownsGil() {
-        return globalInterpreterLock.isHeldByCurrentThread();
+        // a GIL-free context is only ever entered by one thread, which conceptually owns the GIL
+        return gilFree || globalInterpreterLock.isHeldByCurrentThread();
+    }
+
+    public boolean isGilFree() {
+        return gilFree;
+    }
+
+    public GlobalInterpreterLock getGlobalInterpreterLock() {
+        return globalInterpreterLock;
     }
 
     /**
@@ -1107,9 +1222,12 @@ public final class PythonContext {
      */
     @TruffleBoundary
     void acquireGil() {
+        if (gilFree) {
+            return;
+        }
         assert !ownsGil() : "trying to acquire the GIL more than once";
         try {
-            globalInterpreterLock.lockInterruptibly();
+            globalInterpreterLock.acquire();
         } catch (InterruptedException e) {
             if (!ImageInfo.inImageBuildtimeCode() && threadState.get().isShuttingDown()) {
                 // This is a thread being killed during normal context shutdown. This thread
@@ -1136,8 +1254,10 @@ public final class PythonContext {
      */
     @TruffleBoundary
     void releaseGil() {
-        assert globalInterpreterLock.getHoldCount() == 1 : "trying to release the GIL with invalid hold count " + globalInterpreterLock.getHoldCount();
-        globalInterpreterLock.unlock();
+        if (gilFree) {
+            return;
+        }
+        globalInterpreterLock.release();
     }
 
     /**
@@ -1222,7 +1342,10 @@ public final class PythonContext {
     }
 
     public PythonThreadState getThreadState() {
-        PythonThreadState curThreadState = threadState.get();
+        PythonThreadState curThreadState = firstThreadState;
+        if (!language.singleThreadedAssumption.isValid() || curThreadState == null || curThreadState.owner != Thread.currentThread()) {
+            curThreadState = threadState.get();
+        }
         if (curThreadState.isShuttingDown()) {
             // we're shutting down, just release and die
             if (ownsGil()) {
@@ -1233,6 +1356,18 @@ public final class PythonContext {
         return curThreadState;
     }
 
+    /**
+     * Like {@link #getThreadState()}, but returns the thread state passed along the call path if it
+     * belongs to the current thread. This avoids the thread-local lookup also when several threads
+     * are running.
+     */
+    public PythonThreadState getThreadState(PythonThreadState fromCaller) {
+        if (fromCaller != null && fromCaller.owner == Thread.currentThread() && !fromCaller.isShuttingDown()) {
+            return fromCaller;
+        }
+        return getThreadState();
+    }
+
     private void applyToAllThreadStates(Consumer<PythonThreadState> action) {
         if (language.singleThreadedAssumption.isValid()) {
             action.accept(threadState.get());
@@ -1249,14 +1384,13 @@ public final class PythonContext {
         getThreadState().sentinelLock = sentinelLock;
     }
 
-    @TruffleBoundary
-    public void initializeMultiThreading() {
-        handler.activateGIL();
-    }
-
     public synchronized void attachThread(Thread thread) {
         CompilerAsserts.neverPartOfCompilation();
-        threadStateMapping.put(thread, threadState.get(thread));
+        PythonThreadState ts = threadState.get(thread);
+        threadStateMapping.put(thread, ts);
+        if (firstThreadState == null) {
+            firstThreadState = ts;
+        }
     }
 
     public synchronized void disposeThread(Thread thread) {
@@ -1269,6 +1403,9 @@ public final class PythonContext {
         }
         ts.shutdown();
         threadStateMapping.remove(thread);
+        if (firstThreadState == ts) {
+            firstThreadState = null;
+        }
         ts.dispose();
         releaseSentinelLock(ts.sentinelLock);
     }
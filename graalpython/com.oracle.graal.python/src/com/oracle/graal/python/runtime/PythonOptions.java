@@ -220,6 +220,9 @@ public final class PythonOptions {
     @EngineOption @Option(category = OptionCategory.EXPERT, help = "Stop inlining of builtins if caller's cumulative tree size would exceed this limit") //
     public static final OptionKey<Integer> BuiltinsInliningMaxCallerSize = new OptionKey<>(2250);
 
+    @EngineOption @Option(category = OptionCategory.EXPERT, help = "Embedder option: every thread runs in its own context of a shared engine. Contexts are then strictly single-threaded and do not use a GIL.") //
+    public static final OptionKey<Boolean> IsolatedThreadContexts = new OptionKey<>(false);
+
     @Option(category = OptionCategory.EXPERT, help = "Disable weakref callback processing, signal handling, and other periodic async actions.") //
     public static final OptionKey<Boolean> NoAsyncActions = new OptionKey<>(false);
 
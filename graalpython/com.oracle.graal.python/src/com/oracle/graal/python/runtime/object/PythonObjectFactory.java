@@ -27,6 +27,8 @@ package com.oracle.graal.python.runtime.object;
 
 import java.lang.ref.ReferenceQueue;
 import java.math.BigInteger;
+import java.nio.channels.Selector;
+import java.security.MessageDigest;
 import java.util.LinkedHashMap;
 import java.util.concurrent.Semaphore;
 
@@ -37,6 +39,20 @@ import com.oracle.graal.python.PythonLanguage;
 import com.oracle.graal.python.builtins.PythonBuiltinClassType;
 import com.oracle.graal.python.builtins.modules.PosixModuleBuiltins.PosixFileHandle;
 import com.oracle.graal.python.builtins.modules.bz2.BZ2Object;
+import com.oracle.graal.python.builtins.modules.csv.CSVModuleBuiltins;
+import com.oracle.graal.python.builtins.modules.csv.PCSVDialect;
+import com.oracle.graal.python.builtins.modules.csv.PCSVReader;
+import com.oracle.graal.python.builtins.modules.csv.PCSVWriter;
+import com.oracle.graal.python.builtins.modules.datetime.PDate;
+import com.oracle.graal.python.builtins.modules.datetime.PDateTime;
+import com.oracle.graal.python.builtins.modules.datetime.PTime;
+import com.oracle.graal.python.builtins.modules.datetime.PTimeDelta;
+import com.oracle.graal.python.builtins.modules.datetime.PTimeZone;
+import com.oracle.graal.python.builtins.modules.decimal.PDecimal;
+import com.oracle.graal.python.builtins.modules.decimal.PDecimalContext;
+import com.oracle.graal.python.builtins.modules.decimal.PDecimalContextManager;
+import com.oracle.graal.python.builtins.modules.decimal.PDecimalSignalDict;
+import com.oracle.graal.python.builtins.modules.hashlib.PHashObject;
 import com.oracle.graal.python.builtins.modules.io.PBuffered;
 import com.oracle.graal.python.builtins.modules.io.PBytesIO;
 import com.oracle.graal.python.builtins.modules.io.PBytesIOBuffer;
@@ -45,7 +61,15 @@ import com.oracle.graal.python.builtins.modules.io.PNLDecoder;
 import com.oracle.graal.python.builtins.modules.io.PRWPair;
 import com.oracle.graal.python.builtins.modules.io.PStringIO;
 import com.oracle.graal.python.builtins.modules.io.PTextIO;
+import com.oracle.graal.python.builtins.modules.json.PJSONEncoder;
+import com.oracle.graal.python.builtins.modules.json.PJSONScanner;
 import com.oracle.graal.python.builtins.modules.lzma.LZMAObject;
+import com.oracle.graal.python.builtins.modules.pickle.PPickleBuffer;
+import com.oracle.graal.python.builtins.modules.pickle.PPickler;
+import com.oracle.graal.python.builtins.modules.pickle.PUnpickler;
+import com.oracle.graal.python.builtins.modules.struct.PStruct;
+import com.oracle.graal.python.builtins.modules.struct.PStructUnpackIterator;
+import com.oracle.graal.python.builtins.modules.struct.StructFormat;
 import com.oracle.graal.python.builtins.modules.zlib.ZLibCompObject;
 import com.oracle.graal.python.builtins.objects.array.PArray;
 import com.oracle.graal.python.builtins.objects.bytes.PByteArray;
@@ -61,6 +85,9 @@ import com.oracle.graal.python.builtins.objects.common.HashingStorageLibrary.Has
 import com.oracle.graal.python.builtins.objects.common.LocalsStorage;
 import com.oracle.graal.python.builtins.objects.common.PHashingCollection;
 import com.oracle.graal.python.builtins.objects.complex.PComplex;
+import com.oracle.graal.python.builtins.objects.deque.PDeque;
+import com.oracle.graal.python.builtins.objects.deque.PDequeIter;
+import com.oracle.graal.python.builtins.objects.dict.PDefaultDict;
 import com.oracle.graal.python.builtins.objects.dict.PDict;
 import com.oracle.graal.python.builtins.objects.dict.PDictView;
 import com.oracle.graal.python.builtins.objects.dict.PDictView.PDictItemIterator;
@@ -77,6 +104,28 @@ import com.oracle.graal.python.builtins.objects.function.PBuiltinFunction;
 import com.oracle.graal.python.builtins.objects.function.PFunction;
 import com.oracle.graal.python.builtins.objects.function.PKeyword;
 import com.oracle.graal.python.builtins.objects.function.Signature;
+import com.oracle.graal.python.builtins.objects.functools.PKeyWrapper;
+import com.oracle.graal.python.builtins.objects.functools.PLruCacheWrapper;
+import com.oracle.graal.python.builtins.objects.functools.PPartial;
+import com.oracle.graal.python.builtins.objects.itertools.PAccumulate;
+import com.oracle.graal.python.builtins.objects.itertools.PChain;
+import com.oracle.graal.python.builtins.objects.itertools.PCombinations;
+import com.oracle.graal.python.builtins.objects.itertools.PCompress;
+import com.oracle.graal.python.builtins.objects.itertools.PCount;
+import com.oracle.graal.python.builtins.objects.itertools.PCycle;
+import com.oracle.graal.python.builtins.objects.itertools.PDropwhile;
+import com.oracle.graal.python.builtins.objects.itertools.PFilterfalse;
+import com.oracle.graal.python.builtins.objects.itertools.PGroupBy;
+import com.oracle.graal.python.builtins.objects.itertools.PGrouper;
+import com.oracle.graal.python.builtins.objects.itertools.PIslice;
+import com.oracle.graal.python.builtins.objects.itertools.PPermutations;
+import com.oracle.graal.python.builtins.objects.itertools.PProduct;
+import com.oracle.graal.python.builtins.objects.itertools.PRepeat;
+import com.oracle.graal.python.builtins.objects.itertools.PStarmap;
+import com.oracle.graal.python.builtins.objects.itertools.PTakewhile;
+import com.oracle.graal.python.builtins.objects.itertools.PTee;
+import com.oracle.graal.python.builtins.objects.itertools.PTeeDataObject;
+import com.oracle.graal.python.builtins.objects.itertools.PZipLongest;
 import com.oracle.graal.python.builtins.objects.generator.PGenerator;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.GetSetDescriptor;
 import com.oracle.graal.python.builtins.objects.getsetdescriptor.HiddenKeyDescriptor;
@@ -108,12 +157,16 @@ import com.oracle.graal.python.builtins.objects.object.PythonObject;
 import com.oracle.graal.python.builtins.objects.posix.PDirEntry;
 import com.oracle.graal.python.builtins.objects.posix.PScandirIterator;
 import com.oracle.graal.python.builtins.objects.property.PProperty;
+import com.oracle.graal.python.builtins.objects.queue.PSimpleQueue;
 import com.oracle.graal.python.builtins.objects.random.PRandom;
 import com.oracle.graal.python.builtins.objects.range.PBigRange;
 import com.oracle.graal.python.builtins.objects.range.PIntRange;
 import com.oracle.graal.python.builtins.objects.referencetype.PReferenceType;
 import com.oracle.graal.python.builtins.objects.reversed.PSequenceReverseIterator;
 import com.oracle.graal.python.builtins.objects.reversed.PStringReverseIterator;
+import com.oracle.graal.python.builtins.objects.select.PEpoll;
+import com.oracle.graal.python.builtins.objects.select.PNioSelector;
+import com.oracle.graal.python.builtins.objects.select.PPoll;
 import com.oracle.graal.python.builtins.objects.set.PBaseSet;
 import com.oracle.graal.python.builtins.objects.set.PFrozenSet;
 import com.oracle.graal.python.builtins.objects.set.PSet;
@@ -623,6 +676,10 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PDict(cls, getShape(cls)));
     }
 
+    public final PDefaultDict createDefaultDict(Object cls) {
+        return trace(new PDefaultDict(cls, getShape(cls)));
+    }
+
     @SuppressWarnings("unchecked")
     public final PDict createDictFromMap(LinkedHashMap<?, ?> map) {
         return createDict(new HashMapStorage((LinkedHashMap<Object, Object>) map));
@@ -960,6 +1017,128 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PRLock(cls, getShape(cls)));
     }
 
+    public final PSimpleQueue createSimpleQueue(Object cls) {
+        return trace(new PSimpleQueue(cls, getShape(cls)));
+    }
+
+    public final PDeque createDeque(Object cls) {
+        return trace(new PDeque(cls, getShape(cls)));
+    }
+
+    public final PDequeIter createDequeIter(PDeque deque) {
+        return trace(new PDequeIter(PythonBuiltinClassType.PDequeIter, PythonBuiltinClassType.PDequeIter.getInstanceShape(getLanguage()), deque, false));
+    }
+
+    public final PDequeIter createDequeRevIter(PDeque deque) {
+        return trace(new PDequeIter(PythonBuiltinClassType.PDequeRevIter, PythonBuiltinClassType.PDequeRevIter.getInstanceShape(getLanguage()), deque, true));
+    }
+
+    public final PPartial createPartial(Object cls, Object function, Object[] args, PDict kwDict) {
+        return trace(new PPartial(cls, getShape(cls), function, args, kwDict));
+    }
+
+    public final PKeyWrapper createKeyWrapper(Object cmp, Object object) {
+        return trace(new PKeyWrapper(PythonBuiltinClassType.PKeyWrapper, PythonBuiltinClassType.PKeyWrapper.getInstanceShape(getLanguage()), cmp, object));
+    }
+
+    public final PLruCacheWrapper createLruCacheWrapper(Object cls, Object function, int maxSize, boolean typed, Object cacheInfoType) {
+        return trace(new PLruCacheWrapper(cls, getShape(cls), function, maxSize, typed, cacheInfoType, createPythonObject(PythonBuiltinClassType.PythonObject)));
+    }
+
+    public final PRepeat createRepeat(Object cls) {
+        return trace(new PRepeat(cls, getShape(cls)));
+    }
+
+    public final PChain createChain(Object cls) {
+        return trace(new PChain(cls, getShape(cls)));
+    }
+
+    public final PStarmap createStarmap(Object cls) {
+        return trace(new PStarmap(cls, getShape(cls)));
+    }
+
+    public final PIslice createIslice(Object cls) {
+        return trace(new PIslice(cls, getShape(cls)));
+    }
+
+    public final PCount createCount(Object cls) {
+        return trace(new PCount(cls, getShape(cls)));
+    }
+
+    public final PAccumulate createAccumulate(Object cls) {
+        return trace(new PAccumulate(cls, getShape(cls)));
+    }
+
+    public final PDropwhile createDropwhile(Object cls) {
+        return trace(new PDropwhile(cls, getShape(cls)));
+    }
+
+    public final PTakewhile createTakewhile(Object cls) {
+        return trace(new PTakewhile(cls, getShape(cls)));
+    }
+
+    public final PFilterfalse createFilterfalse(Object cls) {
+        return trace(new PFilterfalse(cls, getShape(cls)));
+    }
+
+    public final PCompress createCompress(Object cls) {
+        return trace(new PCompress(cls, getShape(cls)));
+    }
+
+    public final PZipLongest createZipLongest(Object cls) {
+        return trace(new PZipLongest(cls, getShape(cls)));
+    }
+
+    public final PCycle createCycle(Object cls) {
+        return trace(new PCycle(cls, getShape(cls)));
+    }
+
+    public final PProduct createProduct(Object cls) {
+        return trace(new PProduct(cls, getShape(cls)));
+    }
+
+    public final PPermutations createPermutations(Object cls) {
+        return trace(new PPermutations(cls, getShape(cls)));
+    }
+
+    public final PCombinations createCombinations(Object cls) {
+        return trace(new PCombinations(cls, getShape(cls), false));
+    }
+
+    public final PCombinations createCombinationsWithReplacement(Object cls) {
+        return trace(new PCombinations(cls, getShape(cls), true));
+    }
+
+    public final PGroupBy createGroupBy(Object cls) {
+        return trace(new PGroupBy(cls, getShape(cls)));
+    }
+
+    public final PGrouper createGrouper(PGroupBy parent, Object tgtKey) {
+        PGrouper grouper = trace(new PGrouper(PythonBuiltinClassType.PGrouper, PythonBuiltinClassType.PGrouper.getInstanceShape(getLanguage())));
+        grouper.setParent(parent);
+        grouper.setTgtKey(tgtKey);
+        return grouper;
+    }
+
+    public final PTee createTee(PTeeDataObject dataObj, int index) {
+        PTee tee = trace(new PTee(PythonBuiltinClassType.PTee, PythonBuiltinClassType.PTee.getInstanceShape(getLanguage())));
+        tee.setDataObj(dataObj);
+        tee.setIndex(index);
+        return tee;
+    }
+
+    public final PTee createTee(Object cls) {
+        return trace(new PTee(cls, getShape(cls)));
+    }
+
+    public final PTeeDataObject createTeeDataObject() {
+        return trace(new PTeeDataObject(PythonBuiltinClassType.PTeeDataObject, PythonBuiltinClassType.PTeeDataObject.getInstanceShape(getLanguage())));
+    }
+
+    public final PTeeDataObject createTeeDataObject(Object cls) {
+        return trace(new PTeeDataObject(cls, getShape(cls)));
+    }
+
     public final PThread createPythonThread(Thread thread) {
         return trace(new PThread(PythonBuiltinClassType.PThread, PythonBuiltinClassType.PThread.getInstanceShape(getLanguage()), thread));
     }
@@ -984,6 +1163,18 @@ public abstract class PythonObjectFactory extends Node {
         return trace(new PMMap(clazz, getShape(clazz), mmapHandle, fd, length, access));
     }
 
+    public final PPoll createPoll() {
+        return trace(new PPoll(PythonBuiltinClassType.PPoll, PythonBuiltinClassType.PPoll.getInstanceShape(getLanguage())));
+    }
+
+    public final PEpoll createEpoll(Object clazz, int epfd) {
+        return trace(new PEpoll(clazz, getShape(clazz), epfd));
+    }
+
+    public final PNioSelector createNioSelector(Object clazz, Selector selector) {
+        return trace(new PNioSelector(clazz, getShape(clazz), selector));
+    }
+
     public final BZ2Object.BZ2Compressor createBZ2Compressor(Object clazz) {
         return trace(BZ2Object.createCompressor(clazz, getShape(clazz)));
     }
@@ -1004,6 +1195,105 @@ public abstract class PythonObjectFactory extends Node {
         return trace(ZLibCompObject.createNative(clazz, getShape(clazz), zst, zlibSupport));
     }
 
+    public final PJSONScanner createJSONScanner(Object clazz, boolean strict, Object objectHook, Object objectPairsHook, Object parseFloat, Object parseInt, Object parseConstant,
+                    boolean parseFloatIsFloat, boolean parseIntIsInt) {
+        return trace(new PJSONScanner(clazz, getShape(clazz), strict, objectHook, objectPairsHook, parseFloat, parseInt, parseConstant, parseFloatIsFloat, parseIntIsInt));
+    }
+
+    public final PJSONEncoder createJSONEncoder(Object clazz, boolean checkCircular, Object defaultFn, Object encoder, Object indent, String keySeparator, String itemSeparator,
+                    boolean sortKeys, boolean skipKeys, boolean allowNan, PJSONEncoder.FastEncode fastEncode) {
+        return trace(new PJSONEncoder(clazz, getShape(clazz), checkCircular, defaultFn, encoder, indent, keySeparator, itemSeparator, sortKeys, skipKeys, allowNan, fastEncode));
+    }
+
+    public final PCSVDialect createCSVDialect(Object clazz, int delimiter, boolean doublequote, int escapechar, String lineterminator, int quotechar, int quoting, boolean skipinitialspace,
+                    boolean strict) {
+        return trace(new PCSVDialect(clazz, getShape(clazz), delimiter, doublequote, escapechar, lineterminator, quotechar, quoting, skipinitialspace, strict));
+    }
+
+    public final PCSVReader createCSVReader(Object inputIter, PCSVDialect dialect, CSVModuleBuiltins.ModuleState moduleState) {
+        return trace(new PCSVReader(PythonBuiltinClassType.CSVReader, PythonBuiltinClassType.CSVReader.getInstanceShape(getLanguage()), inputIter, dialect, moduleState));
+    }
+
+    public final PCSVWriter createCSVWriter(Object write, PCSVDialect dialect) {
+        return trace(new PCSVWriter(PythonBuiltinClassType.CSVWriter, PythonBuiltinClassType.CSVWriter.getInstanceShape(getLanguage()), write, dialect));
+    }
+
+    public final PPickler createPickler(Object clazz) {
+        return trace(new PPickler(clazz, getShape(clazz)));
+    }
+
+    public final PUnpickler createUnpickler(Object clazz) {
+        return trace(new PUnpickler(clazz, getShape(clazz)));
+    }
+
+    public final PPickleBuffer createPickleBuffer(Object clazz, PMemoryView view) {
+        return trace(new PPickleBuffer(clazz, getShape(clazz), view));
+    }
+
+    public final PStruct createStruct(Object clazz) {
+        return trace(new PStruct(clazz, getShape(clazz)));
+    }
+
+    public final PStructUnpackIterator createStructUnpackIterator(StructFormat format, byte[] data, int length) {
+        return trace(new PStructUnpackIterator(PythonBuiltinClassType.PStructUnpackIterator, PythonBuiltinClassType.PStructUnpackIterator.getInstanceShape(getLanguage()), format, data, length));
+    }
+
+    public final PHashObject createHashObject(Object clazz, String name, int blockSize, MessageDigest digest) {
+        return trace(new PHashObject(clazz, getShape(clazz), name, blockSize, digest));
+    }
+
+    public final PTimeDelta createTimeDelta(int days, int seconds, int microseconds) {
+        return createTimeDelta(PythonBuiltinClassType.PTimeDelta, days, seconds, microseconds);
+    }
+
+    public final PTimeDelta createTimeDelta(Object clazz, int days, int seconds, int microseconds) {
+        return trace(new PTimeDelta(clazz, getShape(clazz), days, seconds, microseconds));
+    }
+
+    public final PDate createDate(Object clazz, int year, int month, int day) {
+        return trace(new PDate(clazz, getShape(clazz), year, month, day));
+    }
+
+    public final PDateTime createDateTime(Object clazz, int year, int month, int day, int hour, int minute, int second, int microsecond, Object tzInfo, int fold) {
+        return trace(new PDateTime(clazz, getShape(clazz), year, month, day, hour, minute, second, microsecond, tzInfo, fold));
+    }
+
+    public final PTime createTime(Object clazz, int hour, int minute, int second, int microsecond, Object tzInfo, int fold) {
+        return trace(new PTime(clazz, getShape(clazz), hour, minute, second, microsecond, tzInfo, fold));
+    }
+
+    public final PTimeZone createTimeZone(PTimeDelta offset, String name) {
+        return trace(new PTimeZone(PythonBuiltinClassType.PTimeZone, PythonBuiltinClassType.PTimeZone.getInstanceShape(getLanguage()), offset, name));
+    }
+
+    public final PDecimal createDecimal(int sign, long coefficient, long exponent, byte kind) {
+        return createDecimal(PythonBuiltinClassType.PDecimal, sign, coefficient, exponent, kind);
+    }
+
+    public final PDecimal createDecimal(int sign, BigInteger coefficient, long exponent, byte kind) {
+        return createDecimal(PythonBuiltinClassType.PDecimal, sign, coefficient, exponent, kind);
+    }
+
+    public final PDecimal createDecimal(Object clazz, int sign, long coefficient, long exponent, byte kind) {
+        return trace(new PDecimal(clazz, getShape(clazz), sign, coefficient, exponent, kind));
+    }
+
+    public final PDecimal createDecimal(Object clazz, int sign, BigInteger coefficient, long exponent, byte kind) {
+        return trace(new PDecimal(clazz, getShape(clazz), sign, coefficient, exponent, kind));
+    }
+
+    public final PDecimalContext createDecimalContext(Object clazz) {
+        return trace(new PDecimalContext(clazz, getShape(clazz)));
+    }
+
+    public final PDecimalSignalDict createDecimalSignalDict(PDecimalContext context, boolean traps) {
+        return trace(new PDecimalSignalDict(PythonBuiltinClassType.PDecimalSignalDict, PythonBuiltinClassType.PDecimalSignalDict.getInstanceShape(getLanguage()), context, traps));
+    }
+
+    public final PDecimalContextManager createDecimalContextManager(PDecimalContext local, PDecimalContext global) {
+        return trace(new PDecimalContextManager(PythonBuiltinClassType.PDecimalContextManager, PythonBuiltinClassType.PDecimalContextManager.getInstanceShape(getLanguage()), local, global));
+    }
+
     public final LZMAObject.LZMADecompressor createLZMADecompressor(Object clazz, boolean isNative) {
         return trace(LZMAObject.createDecompressor(clazz, getShape(clazz), isNative));
     }
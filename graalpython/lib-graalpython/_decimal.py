@@ -1,4 +1,4 @@
-# Copyright (c) 2018, 2021, Oracle and/or its affiliates. All rights reserved.
+# Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
 # DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
 #
 # The Universal Permissive License (UPL), Version 1.0
@@ -38,22 +38,39 @@
 # SOFTWARE.
 
 
-def _sort(self, key=None, reverse=False):
-    if reverse:
-        if key:
-            lt = lambda a,b: key(a) > key(b)
-        else:
-            lt = lambda a,b: a > b
-    else:
-        if key:
-            lt = lambda a,b: key(a) < key(b)
-        else:
-            lt = lambda a,b: a < b
-    origLen = len(self)
-    TimSort(self, lt=lt).sort()
-    if(origLen != len(self)):
-        raise ValueError("list modified during sort")
-    return None
-
-
-list._sort = _sort
+# Decimal, Context and the functions of this module are builtin, defined in
+# DecimalModuleBuiltins. Only the result type of Decimal.as_tuple is defined
+# here, like the one collections.namedtuple creates for CPython's _decimal.
+
+
+class DecimalTuple(tuple):
+    """DecimalTuple(sign, digits, exponent)"""
+
+    __slots__ = ()
+
+    _fields = ('sign', 'digits', 'exponent')
+
+    def __new__(cls, sign, digits, exponent):
+        return tuple.__new__(cls, (sign, digits, exponent))
+
+    def __repr__(self):
+        return 'DecimalTuple(sign=%r, digits=%r, exponent=%r)' % self
+
+    def __getnewargs__(self):
+        return tuple(self)
+
+    def _asdict(self):
+        return dict(zip(self._fields, self))
+
+    def _replace(self, **kwargs):
+        result = DecimalTuple(*map(kwargs.pop, self._fields, self))
+        if kwargs:
+            raise ValueError('Got unexpected field names: %r' % list(kwargs))
+        return result
+
+    sign = property(lambda self: self[0], doc='Alias for field number 0')
+    digits = property(lambda self: self[1], doc='Alias for field number 1')
+    exponent = property(lambda self: self[2], doc='Alias for field number 2')
+
+
+DecimalTuple.__module__ = 'decimal'
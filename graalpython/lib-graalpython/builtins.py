@@ -79,4 +79,3 @@ __import__("%s/functions.py", "builtins")
 __import__("%s/exceptions.py", "builtins")
 __import__("%s/super.py", "builtins")
 __import__("%s/ellipsis.py", "builtins")
-__import__("%s/timsort.py", "builtins")
@@ -0,0 +1,144 @@
+# Copyright (c) 2021, Oracle and/or its affiliates. All rights reserved.
+# DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+#
+# The Universal Permissive License (UPL), Version 1.0
+#
+# Subject to the condition set forth below, permission is hereby granted to any
+# person obtaining a copy of this software, associated documentation and/or
+# data (collectively the "Software"), free of charge and under any and all
+# copyright rights in the Software, and any and all patent rights owned or
+# freely licensable by each licensor hereunder covering either (i) the
+# unmodified Software as contributed to or provided by such licensor, or (ii)
+# the Larger Works (as defined below), to deal in both
+#
+# (a) the Software, and
+#
+# (b) any piece of software and/or hardware listed in the lrgrwrks.txt file if
+# one is included with the Software each a "Larger Work" to which the Software
+# is contributed by such licensors),
+#
+# without restriction, including without limitation the rights to copy, create
+# derivative works of, display, perform, and distribute the Software and make,
+# use, sell, offer for sale, import, export, have made, and have sold the
+# Software and the Larger Work(s), and to sublicense the foregoing rights on
+# either these or other terms.
+#
+# This license is subject to the following condition:
+#
+# The above copyright notice and either this complete permission notice or at a
+# minimum a reference to the UPL must be included in all copies or substantial
+# portions of the Software.
+#
+# THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+# IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+# FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+# AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+# LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+# OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+# SOFTWARE.
+"""An asyncio event loop that registers emulated sockets with a single Java NIO selector.
+
+The default selectors are built on top of select(), poll() or epoll(), which
+the emulated socket implementation can only approximate by registering every
+channel with a fresh selector on each call. The loop provided here keeps all
+channels registered with one java.nio.channels.Selector for its whole
+lifetime, the ready keys of each tick are collected in a single call that does
+not hold the GIL, and cross-thread wakeups do not go through the self-pipe.
+
+Usage:
+
+    import asyncio, nio_asyncio
+    asyncio.set_event_loop_policy(nio_asyncio.NioEventLoopPolicy())
+
+With the native posix backend, only sockets can be registered with the loop.
+"""
+
+import asyncio
+import selectors
+
+import _nio_selector
+
+__all__ = ['NioSelector', 'NioEventLoop', 'NioEventLoopPolicy']
+
+
+class NioSelector(selectors._BaseSelectorImpl):
+    """Selector backed by a java.nio.channels.Selector."""
+
+    def __init__(self):
+        super().__init__()
+        self._selector = _nio_selector.Selector()
+
+    def register(self, fileobj, events, data=None):
+        key = super().register(fileobj, events, data)
+        try:
+            self._selector.register(key.fd, events, key)
+        except:
+            super().unregister(fileobj)
+            raise
+        return key
+
+    def unregister(self, fileobj):
+        key = super().unregister(fileobj)
+        try:
+            self._selector.unregister(key.fd)
+        except KeyError:
+            # the fd was closed and reused since it was registered
+            pass
+        return key
+
+    def modify(self, fileobj, events, data=None):
+        try:
+            key = self._fd_to_key[self._fileobj_lookup(fileobj)]
+        except KeyError:
+            raise KeyError(f"{fileobj!r} is not registered") from None
+        if (not events) or (events & ~(selectors.EVENT_READ | selectors.EVENT_WRITE)):
+            raise ValueError(f"Invalid events: {events!r}")
+        if events != key.events or data != key.data:
+            key = key._replace(events=events, data=data)
+            try:
+                self._selector.modify(key.fd, events, key)
+            except:
+                super().unregister(fileobj)
+                raise
+            self._fd_to_key[key.fd] = key
+        return key
+
+    def select(self, timeout=None):
+        if timeout is not None and timeout < 0:
+            timeout = 0
+        try:
+            # the keys are stored in the Java selector, so the result is
+            # already a list of (key, events) pairs
+            return self._selector.select(timeout)
+        except InterruptedError:
+            return []
+
+    def wakeup(self):
+        self._selector.wakeup()
+
+    def close(self):
+        self._selector.close()
+        super().close()
+
+
+class NioEventLoop(asyncio.SelectorEventLoop):
+    """Selector event loop using a NioSelector by default."""
+
+    def __init__(self, selector=None):
+        if selector is None:
+            selector = NioSelector()
+        super().__init__(selector)
+
+    def _write_to_self(self):
+        # May be called from another thread, possibly after the loop was
+        # closed. Waking up the Java selector directly avoids writing to the
+        # self-pipe and running its reader callback under the GIL.
+        selector = self._selector
+        if isinstance(selector, NioSelector):
+            selector.wakeup()
+        else:
+            super()._write_to_self()
+
+
+class NioEventLoopPolicy(asyncio.DefaultEventLoopPolicy):
+    _loop_factory = NioEventLoop
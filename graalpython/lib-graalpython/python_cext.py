@@ -1302,7 +1302,7 @@ def initialize_datetime_capi():
 
         @staticmethod
         def DateTime_FromDateAndTimeAndFold(y, mon, d, h, m, s, usec, tz, fold, typ):
-            return typ(y, month=mon, day=d, hour=h, minute=m, second=s, microseconds=usec, tzinfo=tz, fold=fold)
+            return typ(y, month=mon, day=d, hour=h, minute=m, second=s, microsecond=usec, tzinfo=tz, fold=fold)
 
         @staticmethod
         def Time_FromTimeAndFold(h, m, s, us, tz, fold, typ):
@@ -1310,10 +1310,6 @@ def initialize_datetime_capi():
 
     import_c_func("set_PyDateTime_typeids")(PyDateTime_CAPI, PyDateTime_CAPI.DateType, PyDateTime_CAPI.DateTimeType, PyDateTime_CAPI.TimeType, PyDateTime_CAPI.DeltaType, PyDateTime_CAPI.TZInfoType)
     datetime.datetime_CAPI = PyCapsule("datetime.datetime_CAPI", wrap_PyDateTime_CAPI(PyDateTime_CAPI()), None)
-    datetime.date.__basicsize__ = import_c_func("get_PyDateTime_Date_basicsize")()
-    datetime.time.__basicsize__ = import_c_func("get_PyDateTime_Time_basicsize")()
-    datetime.datetime.__basicsize__ = import_c_func("get_PyDateTime_DateTime_basicsize")()
-    datetime.timedelta.__basicsize__ = import_c_func("get_PyDateTime_Delta_basicsize")()
 
 
 @may_raise
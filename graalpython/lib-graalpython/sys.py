@@ -236,18 +236,6 @@ def setcheckinterval(value):
         raise TypeError("an integer is required")
     __graalpython__.sys_state.checkinterval = value
 
-@__graalpython__.builtin
-def getswitchinterval():
-    return __graalpython__.sys_state.switchinterval
-
-@__graalpython__.builtin
-def setswitchinterval(value):
-    if not isinstance(value, (int, float)):
-        raise TypeError("must be real number, not str")
-    if value <= 0:
-        raise ValueError("switch interval must be strictly positive")
-    __graalpython__.sys_state.switchinterval = value
-
 @__graalpython__.builtin
 def displayhook(value):
     if value is None:
@@ -4,6 +4,10 @@ try:
     from _decimal import __doc__
     from _decimal import __version__
     from _decimal import __libmpdec_version__
+    # Truffle change: our _decimal is set up before numbers can be imported
+    import numbers as _numbers
+    _numbers.Number.register(Decimal)
+    del _numbers
 except ImportError:
     from _pydecimal import *
     from _pydecimal import __doc__
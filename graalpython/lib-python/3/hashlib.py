@@ -72,7 +72,8 @@ __all__ = __always_supported + ('new', 'algorithms_guaranteed',
 __builtin_constructor_cache = {}
 
 __block_openssl_constructor = {
-    'sha3_224', 'sha3_256', 'sha3_384', 'sha3_512',
+    # Truffle change: sha3 is provided by our Java _hashlib
+    # 'sha3_224', 'sha3_256', 'sha3_384', 'sha3_512',
     'shake_128', 'shake_256',
     'blake2b', 'blake2s',
 }
@@ -70,10 +70,14 @@ includes = '''
 #include <netdb.h>
 #include <netinet/in.h>
 #include <netinet/tcp.h>
+#include <poll.h>
 #include <stddef.h>
 #include <stdio.h>
 #include <sys/mman.h>
 #include <sys/select.h>
+#ifdef __linux__
+#include <sys/epoll.h>
+#endif
 #include <sys/socket.h>
 #include <sys/types.h>
 #include <sys/unistd.h>
@@ -111,6 +115,11 @@ constant_defs = '''
 * i SEEK_DATA
 * i SEEK_HOLE
 
+* i EPOLL_CTL_ADD
+* i EPOLL_CTL_MOD
+* i EPOLL_CTL_DEL
+* x EPOLL_CLOEXEC
+
 [openFlags]
   x O_ACCMODE
   x O_RDONLY
@@ -322,6 +331,36 @@ constant_defs = '''
 * i TCP_CONGESTION
 * i TCP_USER_TIMEOUT
 * i TCP_NOTSENT_LOWAT
+
+[pollEvents]
+  x POLLIN
+  x POLLPRI
+  x POLLOUT
+  x POLLERR
+  x POLLHUP
+  x POLLNVAL
+* x POLLRDNORM
+* x POLLRDBAND
+* x POLLWRNORM
+* x POLLWRBAND
+* x POLLMSG
+* x POLLRDHUP
+
+[epollEvents]
+* x EPOLLIN
+* x EPOLLPRI
+* x EPOLLOUT
+* x EPOLLERR
+* x EPOLLHUP
+* x EPOLLRDHUP
+* x EPOLLET
+* x EPOLLONESHOT
+* x EPOLLEXCLUSIVE
+* x EPOLLRDNORM
+* x EPOLLRDBAND
+* x EPOLLWRNORM
+* x EPOLLWRBAND
+* x EPOLLMSG
 '''
 
 layout_defs = '''